@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.api.factory.list;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+
+/**
+ * The builder returned by the default {@link ImmutableListFactory#builder()}. It fills a mutable list and copies it
+ * on every {@link #toImmutable()}, for factories that have no builder of their own.
+ *
+ * @since 11.1
+ */
+final class CopyingImmutableListBuilder<T> implements ImmutableListBuilder<T>
+{
+    private final MutableList<T> list;
+
+    CopyingImmutableListBuilder(MutableList<T> list)
+    {
+        this.list = list;
+    }
+
+    @Override
+    public ImmutableListBuilder<T> with(T element)
+    {
+        this.list.add(element);
+        return this;
+    }
+
+    @Override
+    public ImmutableListBuilder<T> withAll(Iterable<? extends T> elements)
+    {
+        this.list.addAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.list.size();
+    }
+
+    @Override
+    public ImmutableList<T> toImmutable()
+    {
+        return this.list.toImmutable();
+    }
+}
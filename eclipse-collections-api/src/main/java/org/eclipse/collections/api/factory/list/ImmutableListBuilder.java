@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.api.factory.list;
+
+import org.eclipse.collections.api.list.ImmutableList;
+
+/**
+ * A builder which collects elements for the {@link ImmutableList} returned by {@link #toImmutable()}. The builders of
+ * the default {@link ImmutableListFactory} share their array with the list they return instead of copying it, unlike
+ * filling a mutable list and calling toImmutable() on it.
+ * <p>
+ * A builder may be used again after {@link #toImmutable()}. Lists already returned are never modified, because a
+ * builder only writes past the elements they hold. A builder is not thread-safe.
+ *
+ * @see ImmutableListFactory#builder()
+ * @since 11.1
+ */
+public interface ImmutableListBuilder<T>
+{
+    ImmutableListBuilder<T> with(T element);
+
+    ImmutableListBuilder<T> withAll(Iterable<? extends T> elements);
+
+    int size();
+
+    ImmutableList<T> toImmutable();
+}
@@ -144,4 +144,26 @@ public interface ImmutableListFactory
         MutableList<T> list = (MutableList<T>) items.toSortedList(comparator);
         return list.toImmutable();
     }
+
+    /**
+     * Returns a builder for an {@link ImmutableList}. The default builder copies its elements on every
+     * {@link ImmutableListBuilder#toImmutable()}; implementations override it with one that shares its array with the
+     * list it returns.
+     *
+     * @since 11.1
+     */
+    default <T> ImmutableListBuilder<T> builder()
+    {
+        return new CopyingImmutableListBuilder<>(Lists.mutable.empty());
+    }
+
+    /**
+     * Same as {@link #builder()}, but sized for {@code expectedSize} elements.
+     *
+     * @since 11.1
+     */
+    default <T> ImmutableListBuilder<T> builder(int expectedSize)
+    {
+        return new CopyingImmutableListBuilder<>(Lists.mutable.withInitialCapacity(expectedSize));
+    }
 }
@@ -17,6 +17,9 @@
  *          {@link org.eclipse.collections.api.factory.list.FixedSizeListFactory} - a factory which creates instances of type {@link org.eclipse.collections.api.list.FixedSizeList}.
  *     </li>
  *     <li>
+ *          {@link org.eclipse.collections.api.factory.list.ImmutableListBuilder} - a builder which creates instances of type {@link org.eclipse.collections.api.list.ImmutableList} without copying its elements on completion.
+ *     </li>
+ *     <li>
  *          {@link org.eclipse.collections.api.factory.list.ImmutableListFactory} - a factory which creates instances of type {@link org.eclipse.collections.api.list.ImmutableList}.
  *     </li>
  *     <li>
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.api.factory.map;
+
+import java.util.Map;
+
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.tuple.Pair;
+
+/**
+ * The builder returned by the default {@link ImmutableMapFactory#builder()}. It fills a mutable map and copies it
+ * on every {@link #toImmutable()}, for factories that have no builder of their own.
+ *
+ * @since 11.1
+ */
+final class CopyingImmutableMapBuilder<K, V> implements ImmutableMapBuilder<K, V>
+{
+    private final MutableMap<K, V> map;
+
+    CopyingImmutableMapBuilder(MutableMap<K, V> map)
+    {
+        this.map = map;
+    }
+
+    @Override
+    public ImmutableMapBuilder<K, V> withKeyValue(K key, V value)
+    {
+        this.map.put(key, value);
+        return this;
+    }
+
+    @Override
+    public ImmutableMapBuilder<K, V> withAllKeyValues(Iterable<? extends Pair<? extends K, ? extends V>> keyValues)
+    {
+        for (Pair<? extends K, ? extends V> keyValue : keyValues)
+        {
+            this.map.putPair(keyValue);
+        }
+        return this;
+    }
+
+    @Override
+    public ImmutableMapBuilder<K, V> withMap(Map<? extends K, ? extends V> map)
+    {
+        this.map.putAll(map);
+        return this;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.map.size();
+    }
+
+    @Override
+    public ImmutableMap<K, V> toImmutable()
+    {
+        return this.map.toImmutable();
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.api.factory.map;
+
+import java.util.Map;
+
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.tuple.Pair;
+
+/**
+ * A builder which collects key/value pairs into a hash table it owns and hands it to the {@link ImmutableMap} returned
+ * by {@link #toImmutable()} without copying it again, unlike filling a mutable map and calling toImmutable() on it. A
+ * key added twice keeps the last value added for it.
+ * <p>
+ * A builder may be used again after {@link #toImmutable()}. The next change copies the pairs first, so maps already
+ * returned are never modified. A builder is not thread-safe.
+ *
+ * @see ImmutableMapFactory#builder()
+ * @since 11.1
+ */
+public interface ImmutableMapBuilder<K, V>
+{
+    ImmutableMapBuilder<K, V> withKeyValue(K key, V value);
+
+    ImmutableMapBuilder<K, V> withAllKeyValues(Iterable<? extends Pair<? extends K, ? extends V>> keyValues);
+
+    ImmutableMapBuilder<K, V> withMap(Map<? extends K, ? extends V> map);
+
+    int size();
+
+    ImmutableMap<K, V> toImmutable();
+}
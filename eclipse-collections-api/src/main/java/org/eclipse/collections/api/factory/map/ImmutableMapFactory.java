@@ -12,6 +12,7 @@ package org.eclipse.collections.api.factory.map;
 
 import java.util.Map;
 
+import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.map.ImmutableMap;
 
 public interface ImmutableMapFactory
@@ -67,4 +68,26 @@ public interface ImmutableMapFactory
     <K, V> ImmutableMap<K, V> ofAll(Map<K, V> map);
 
     <K, V> ImmutableMap<K, V> withAll(Map<K, V> map);
+
+    /**
+     * Returns a builder for an {@link ImmutableMap}. The default builder copies its pairs on every
+     * {@link ImmutableMapBuilder#toImmutable()}; implementations override it with one that hands its hash table to
+     * the map it returns.
+     *
+     * @since 11.1
+     */
+    default <K, V> ImmutableMapBuilder<K, V> builder()
+    {
+        return new CopyingImmutableMapBuilder<>(Maps.mutable.empty());
+    }
+
+    /**
+     * Same as {@link #builder()}, but sized for {@code expectedSize} keys.
+     *
+     * @since 11.1
+     */
+    default <K, V> ImmutableMapBuilder<K, V> builder(int expectedSize)
+    {
+        return new CopyingImmutableMapBuilder<>(Maps.mutable.withInitialCapacity(expectedSize));
+    }
 }
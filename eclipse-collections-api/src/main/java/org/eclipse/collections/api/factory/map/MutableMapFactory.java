@@ -77,4 +77,26 @@ public interface MutableMapFactory
     <K, V> MutableMap<K, V> ofMapIterable(MapIterable<? extends K, ? extends V> mapIterable);
 
     <K, V> MutableMap<K, V> withMapIterable(MapIterable<? extends K, ? extends V> mapIterable);
+
+    /**
+     * Same as {@link #empty()}, but returns a map that resolves hash collisions by open addressing instead of
+     * chaining. Implementations without an open addressing map fall back to {@link #empty()}.
+     *
+     * @since 11.1
+     */
+    default <K, V> MutableMap<K, V> emptyOpenAddressing()
+    {
+        return this.empty();
+    }
+
+    /**
+     * Same as {@link #withInitialCapacity(int)}, but returns a map that resolves hash collisions by open addressing
+     * instead of chaining. Implementations without an open addressing map fall back to {@link #withInitialCapacity(int)}.
+     *
+     * @since 11.1
+     */
+    default <K, V> MutableMap<K, V> withInitialCapacityOpenAddressing(int capacity)
+    {
+        return this.withInitialCapacity(capacity);
+    }
 }
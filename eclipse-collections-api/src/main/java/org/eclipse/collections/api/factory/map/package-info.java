@@ -11,12 +11,15 @@
 /**
  * This package contains factory API for creating instances of type {@link org.eclipse.collections.api.map.MapIterable}.
  * <p>
- *     This package contains 3 interfaces:
+ *     This package contains 4 interfaces:
  * <ul>
  *     <li>
  *          {@link org.eclipse.collections.api.factory.map.FixedSizeMapFactory} - a factory which creates instances of type {@link org.eclipse.collections.api.map.FixedSizeMap}.
  *     </li>
  *     <li>
+ *          {@link org.eclipse.collections.api.factory.map.ImmutableMapBuilder} - a builder which creates instances of type {@link org.eclipse.collections.api.map.ImmutableMap} without copying its entries on completion.
+ *     </li>
+ *     <li>
  *          {@link org.eclipse.collections.api.factory.map.ImmutableMapFactory} - a factory which creates instances of type {@link org.eclipse.collections.api.map.ImmutableMap}.
  *     </li>
  *     <li>
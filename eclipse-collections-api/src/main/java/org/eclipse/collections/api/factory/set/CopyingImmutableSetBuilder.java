@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.api.factory.set;
+
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.MutableSet;
+
+/**
+ * The builder returned by the default {@link ImmutableSetFactory#builder()}. It fills a mutable set and copies it
+ * on every {@link #toImmutable()}, for factories that have no builder of their own.
+ *
+ * @since 11.1
+ */
+final class CopyingImmutableSetBuilder<T> implements ImmutableSetBuilder<T>
+{
+    private final MutableSet<T> set;
+
+    CopyingImmutableSetBuilder(MutableSet<T> set)
+    {
+        this.set = set;
+    }
+
+    @Override
+    public ImmutableSetBuilder<T> with(T element)
+    {
+        this.set.add(element);
+        return this;
+    }
+
+    @Override
+    public ImmutableSetBuilder<T> withAll(Iterable<? extends T> elements)
+    {
+        this.set.addAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.set.size();
+    }
+
+    @Override
+    public ImmutableSet<T> toImmutable()
+    {
+        return this.set.toImmutable();
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.api.factory.set;
+
+import org.eclipse.collections.api.set.ImmutableSet;
+
+/**
+ * A builder which collects elements into a hash table it owns and hands it to the {@link ImmutableSet} returned by
+ * {@link #toImmutable()} without copying it again, unlike filling a mutable set and calling toImmutable() on it.
+ * <p>
+ * A builder may be used again after {@link #toImmutable()}. The next change copies the elements first, so sets
+ * already returned are never modified. A builder is not thread-safe.
+ *
+ * @see ImmutableSetFactory#builder()
+ * @since 11.1
+ */
+public interface ImmutableSetBuilder<T>
+{
+    ImmutableSetBuilder<T> with(T element);
+
+    ImmutableSetBuilder<T> withAll(Iterable<? extends T> elements);
+
+    int size();
+
+    ImmutableSet<T> toImmutable();
+}
@@ -81,4 +81,26 @@ public interface ImmutableSetFactory
     {
         return Sets.mutable.<T>fromStream(stream).toImmutable();
     }
+
+    /**
+     * Returns a builder for an {@link ImmutableSet}. The default builder copies its elements on every
+     * {@link ImmutableSetBuilder#toImmutable()}; implementations override it with one that hands its hash table to
+     * the set it returns.
+     *
+     * @since 11.1
+     */
+    default <T> ImmutableSetBuilder<T> builder()
+    {
+        return new CopyingImmutableSetBuilder<>(Sets.mutable.empty());
+    }
+
+    /**
+     * Same as {@link #builder()}, but sized for {@code expectedSize} elements.
+     *
+     * @since 11.1
+     */
+    default <T> ImmutableSetBuilder<T> builder(int expectedSize)
+    {
+        return new CopyingImmutableSetBuilder<>(Sets.mutable.withInitialCapacity(expectedSize));
+    }
 }
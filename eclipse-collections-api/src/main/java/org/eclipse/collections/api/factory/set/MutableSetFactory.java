@@ -74,4 +74,26 @@ public interface MutableSetFactory
      * @since 10.0.
      */
     <T> MutableSet<T> fromStream(Stream<? extends T> stream);
+
+    /**
+     * Same as {@link #empty()}, but returns a set that resolves hash collisions by open addressing instead of
+     * chaining. Implementations without an open addressing set fall back to {@link #empty()}.
+     *
+     * @since 11.1
+     */
+    default <T> MutableSet<T> emptyOpenAddressing()
+    {
+        return this.empty();
+    }
+
+    /**
+     * Same as {@link #withInitialCapacity(int)}, but returns a set that resolves hash collisions by open addressing
+     * instead of chaining. Implementations without an open addressing set fall back to {@link #withInitialCapacity(int)}.
+     *
+     * @since 11.1
+     */
+    default <T> MutableSet<T> withInitialCapacityOpenAddressing(int capacity)
+    {
+        return this.withInitialCapacity(capacity);
+    }
 }
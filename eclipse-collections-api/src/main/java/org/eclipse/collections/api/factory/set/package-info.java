@@ -11,12 +11,15 @@
 /**
  * This package contains Factory API for {@link org.eclipse.collections.api.set.FixedSizeSet}, {@link org.eclipse.collections.api.set.ImmutableSet} and {@link org.eclipse.collections.api.set.MutableSet}.
  * <p>
- *     This package contains 3 interfaces:
+ *     This package contains 4 interfaces:
  * <ul>
  *     <li>
  *          {@link org.eclipse.collections.api.factory.set.FixedSizeSetFactory} - Contains Factory API for {@link org.eclipse.collections.api.set.FixedSizeSet}.
  *     </li>
  *     <li>
+ *          {@link org.eclipse.collections.api.factory.set.ImmutableSetBuilder} - a builder which creates instances of type {@link org.eclipse.collections.api.set.ImmutableSet} without copying its elements on completion.
+ *     </li>
+ *     <li>
  *          {@link org.eclipse.collections.api.factory.set.ImmutableSetFactory} - Contains Factory API for {@link org.eclipse.collections.api.set.ImmutableSet}.
  *     </li>
  *     <li>
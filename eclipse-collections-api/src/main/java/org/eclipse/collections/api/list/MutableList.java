@@ -15,6 +15,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Executor;
 
 import org.eclipse.collections.api.block.HashingStrategy;
 import org.eclipse.collections.api.block.factory.SerializableComparators;
@@ -260,6 +261,18 @@ public interface MutableList<T>
         return this.sortThis(null);
     }
 
+    /**
+     * Sorts the internal data structure of this list like {@link #sortThis(Comparator)}, with a stable merge sort
+     * whose work is split into tasks that run on {@code executor}. Returns the list itself as a convenience. Array
+     * backed lists sort in parallel; other lists fall back to {@code sortThis(comparator)}.
+     *
+     * @since 11.1
+     */
+    default MutableList<T> sortThisParallel(Comparator<? super T> comparator, Executor executor)
+    {
+        return this.sortThis(comparator);
+    }
+
     /**
      * Sorts the internal data structure of this list based on the natural order of the attribute returned by {@code
      * function}.
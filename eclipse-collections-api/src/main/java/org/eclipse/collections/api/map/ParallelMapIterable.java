@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.api.map;
+
+import org.eclipse.collections.api.ParallelIterable;
+import org.eclipse.collections.api.annotation.Beta;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+
+/**
+ * A ParallelMapIterable is a ParallelIterable over the values of a map which can also traverse its key/value pairs.
+ * It is split into batches over index ranges of the backing hash table, so no entries are copied before the batches
+ * are processed. All code blocks passed in must be stateless or thread-safe.
+ *
+ * @since 11.1
+ */
+@Beta
+public interface ParallelMapIterable<K, V>
+        extends ParallelIterable<V>
+{
+    void forEachKeyValue(Procedure2<? super K, ? super V> procedure);
+
+    /**
+     * Returns a new map with the same keys, and the values transformed by the function.
+     */
+    <R> MapIterable<K, R> collectValues(Function2<? super K, ? super V, ? extends R> function);
+}
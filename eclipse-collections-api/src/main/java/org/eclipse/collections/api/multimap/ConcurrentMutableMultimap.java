@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.api.multimap;
+
+/**
+ * A ConcurrentMutableMultimap is a MutableMultimap that is safe for concurrent reads and writes without external
+ * synchronization. Writers to different keys do not contend with each other. {@link #putAll(Object, Iterable)},
+ * {@link #removeAll(Object)} and {@link #replaceValues(Object, Iterable)} are atomic with respect to other writers of
+ * the same key. Iteration is weakly consistent: it never throws ConcurrentModificationException, and it may or may not
+ * reflect modifications made after it started.
+ *
+ * @since 11.1
+ */
+public interface ConcurrentMutableMultimap<K, V>
+        extends MutableMultimap<K, V>
+{
+}
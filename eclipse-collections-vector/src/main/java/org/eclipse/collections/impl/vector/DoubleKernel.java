@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+/**
+ * The scalar loops behind the {@code double} operations of {@link VectorIterate} and {@link VectorDoubleArrayList}.
+ * The multi-release jar overrides them with Vector API loops on JDK 17 and later. Ranges are already checked by the
+ * caller and are never empty for {@link #min} and {@link #max}.
+ * <p>
+ * As in {@code DoubleArrayList}, {@link #sum} uses compensated summation, while {@link #min}, {@link #max} and
+ * {@link #contains} follow {@link Double#compare(double, double)}.
+ */
+class DoubleKernel
+{
+    double sum(double[] array, int fromIndex, int toIndex)
+    {
+        double result = 0.0;
+        double compensation = 0.0;
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            double adjustedValue = array[i] - compensation;
+            double nextSum = result + adjustedValue;
+            compensation = nextSum - result - adjustedValue;
+            result = nextSum;
+        }
+        return result;
+    }
+
+    double min(double[] array, int fromIndex, int toIndex)
+    {
+        double min = array[fromIndex];
+        for (int i = fromIndex + 1; i < toIndex; i++)
+        {
+            double value = array[i];
+            if (Double.compare(value, min) < 0)
+            {
+                min = value;
+            }
+        }
+        return min;
+    }
+
+    double max(double[] array, int fromIndex, int toIndex)
+    {
+        double max = array[fromIndex];
+        for (int i = fromIndex + 1; i < toIndex; i++)
+        {
+            double value = array[i];
+            if (Double.compare(max, value) < 0)
+            {
+                max = value;
+            }
+        }
+        return max;
+    }
+
+    boolean contains(double[] array, int fromIndex, int toIndex, double value)
+    {
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            if (Double.compare(array[i], value) == 0)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int count(double[] array, int fromIndex, int toIndex, VectorComparison comparison, double value)
+    {
+        int count = 0;
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            if (comparison.accept(array[i], value))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Copies the elements that satisfy the comparison to {@code target}, starting at {@code targetIndex}, and returns
+     * the index after the last one copied. The target must have room for the whole range.
+     */
+    int select(double[] array, int fromIndex, int toIndex, VectorComparison comparison, double value, double[] target, int targetIndex)
+    {
+        int index = targetIndex;
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            if (comparison.accept(array[i], value))
+            {
+                target[index++] = array[i];
+            }
+        }
+        return index;
+    }
+
+    double dotProduct(double[] left, double[] right, int fromIndex, int toIndex)
+    {
+        double sum = 0.0;
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            sum += left[i] * right[i];
+        }
+        return sum;
+    }
+
+    void add(double[] left, double[] right, double[] target, int fromIndex, int toIndex)
+    {
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            target[i] = left[i] + right[i];
+        }
+    }
+
+    void multiply(double[] left, double[] right, double[] target, int fromIndex, int toIndex)
+    {
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            target[i] = left[i] * right[i];
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+/**
+ * Chooses the kernels used by this package. This is the Java 8 version, which always uses the scalar kernels; the
+ * multi-release jar replaces it on JDK 17 and later.
+ */
+final class Kernels
+{
+    static final IntKernel INT = new IntKernel();
+    static final LongKernel LONG = new LongKernel();
+    static final DoubleKernel DOUBLE = new DoubleKernel();
+
+    private Kernels()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    static boolean isVectorized()
+    {
+        return false;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+/**
+ * The scalar loops behind the {@code long} operations of {@link VectorIterate} and {@link VectorLongArrayList}. The
+ * multi-release jar overrides them with Vector API loops on JDK 17 and later. Ranges are already checked by the caller
+ * and are never empty for {@link #min} and {@link #max}.
+ */
+class LongKernel
+{
+    long sum(long[] array, int fromIndex, int toIndex)
+    {
+        long result = 0L;
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            result += array[i];
+        }
+        return result;
+    }
+
+    long min(long[] array, int fromIndex, int toIndex)
+    {
+        long min = array[fromIndex];
+        for (int i = fromIndex + 1; i < toIndex; i++)
+        {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    long max(long[] array, int fromIndex, int toIndex)
+    {
+        long max = array[fromIndex];
+        for (int i = fromIndex + 1; i < toIndex; i++)
+        {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    boolean contains(long[] array, int fromIndex, int toIndex, long value)
+    {
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            if (array[i] == value)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int count(long[] array, int fromIndex, int toIndex, VectorComparison comparison, long value)
+    {
+        int count = 0;
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            if (comparison.accept(array[i], value))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Copies the elements that satisfy the comparison to {@code target}, starting at {@code targetIndex}, and returns
+     * the index after the last one copied. The target must have room for the whole range.
+     */
+    int select(long[] array, int fromIndex, int toIndex, VectorComparison comparison, long value, long[] target, int targetIndex)
+    {
+        int index = targetIndex;
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            if (comparison.accept(array[i], value))
+            {
+                target[index++] = array[i];
+            }
+        }
+        return index;
+    }
+
+    long dotProduct(long[] left, long[] right, int fromIndex, int toIndex)
+    {
+        long sum = 0L;
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            sum += left[i] * right[i];
+        }
+        return sum;
+    }
+
+    void add(long[] left, long[] right, long[] target, int fromIndex, int toIndex)
+    {
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            target[i] = left[i] + right[i];
+        }
+    }
+
+    void multiply(long[] left, long[] right, long[] target, int fromIndex, int toIndex)
+    {
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            target[i] = left[i] * right[i];
+        }
+    }
+}
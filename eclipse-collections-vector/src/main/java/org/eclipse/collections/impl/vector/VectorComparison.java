@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+/**
+ * The comparisons that {@link VectorIterate} and the vector primitive lists can count and select by. Each element is
+ * compared with a single value exactly as the corresponding Java operator would, so for {@code double} any comparison
+ * with {@code NaN} other than {@link #NOT_EQUAL} is false.
+ *
+ * @since 11.1
+ */
+public enum VectorComparison
+{
+    EQUAL
+    {
+        @Override
+        public boolean accept(long element, long value)
+        {
+            return element == value;
+        }
+
+        @Override
+        public boolean accept(double element, double value)
+        {
+            return element == value;
+        }
+    },
+    NOT_EQUAL
+    {
+        @Override
+        public boolean accept(long element, long value)
+        {
+            return element != value;
+        }
+
+        @Override
+        public boolean accept(double element, double value)
+        {
+            return element != value;
+        }
+    },
+    LESS_THAN
+    {
+        @Override
+        public boolean accept(long element, long value)
+        {
+            return element < value;
+        }
+
+        @Override
+        public boolean accept(double element, double value)
+        {
+            return element < value;
+        }
+    },
+    LESS_THAN_OR_EQUAL
+    {
+        @Override
+        public boolean accept(long element, long value)
+        {
+            return element <= value;
+        }
+
+        @Override
+        public boolean accept(double element, double value)
+        {
+            return element <= value;
+        }
+    },
+    GREATER_THAN
+    {
+        @Override
+        public boolean accept(long element, long value)
+        {
+            return element > value;
+        }
+
+        @Override
+        public boolean accept(double element, double value)
+        {
+            return element > value;
+        }
+    },
+    GREATER_THAN_OR_EQUAL
+    {
+        @Override
+        public boolean accept(long element, long value)
+        {
+            return element >= value;
+        }
+
+        @Override
+        public boolean accept(double element, double value)
+        {
+            return element >= value;
+        }
+    };
+
+    /**
+     * Compares integral elements; {@code int} arguments are widened without changing the result.
+     */
+    public abstract boolean accept(long element, long value);
+
+    public abstract boolean accept(double element, double value);
+}
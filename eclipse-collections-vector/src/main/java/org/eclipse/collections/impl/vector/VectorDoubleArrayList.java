@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.DoubleIterable;
+import org.eclipse.collections.api.list.primitive.DoubleList;
+import org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList;
+
+/**
+ * A {@link DoubleArrayList} whose bulk operations run through the same kernels as {@link VectorIterate}, and so use
+ * the Vector API when it is available. It adds counting and selecting by a {@link VectorComparison}, and element-wise
+ * {@link #plus(DoubleList) addition} and {@link #times(DoubleList) multiplication}. Operations with another list are
+ * fastest when that list is also a {@code VectorDoubleArrayList}; any other list is copied to an array first.
+ *
+ * @since 11.1
+ */
+public class VectorDoubleArrayList extends DoubleArrayList
+{
+    private static final long serialVersionUID = 1L;
+
+    public VectorDoubleArrayList()
+    {
+    }
+
+    public VectorDoubleArrayList(int initialCapacity)
+    {
+        super(initialCapacity);
+    }
+
+    public VectorDoubleArrayList(double... array)
+    {
+        super(array);
+    }
+
+    /**
+     * Creates a new list using the passed {@code elements} argument as the backing store.
+     * <p>
+     * !!! WARNING: This method uses the passed in array, so can be very unsafe if the original
+     * array is held onto anywhere else. !!!
+     */
+    public static VectorDoubleArrayList newListWith(double... elements)
+    {
+        return new VectorDoubleArrayList(elements);
+    }
+
+    public static VectorDoubleArrayList newList(DoubleIterable source)
+    {
+        return VectorDoubleArrayList.newListWith(source.toArray());
+    }
+
+    @Override
+    public boolean contains(double value)
+    {
+        return Kernels.DOUBLE.contains(this.items, 0, this.size, value);
+    }
+
+    @Override
+    public double sum()
+    {
+        return Kernels.DOUBLE.sum(this.items, 0, this.size);
+    }
+
+    @Override
+    public double min()
+    {
+        if (this.isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        return Kernels.DOUBLE.min(this.items, 0, this.size);
+    }
+
+    @Override
+    public double max()
+    {
+        if (this.isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        return Kernels.DOUBLE.max(this.items, 0, this.size);
+    }
+
+    @Override
+    public double dotProduct(DoubleList list)
+    {
+        if (this.size != list.size())
+        {
+            throw new IllegalArgumentException("Lists used in dotProduct must be the same size");
+        }
+        return Kernels.DOUBLE.dotProduct(this.items, VectorDoubleArrayList.itemsOf(list), 0, this.size);
+    }
+
+    public int count(VectorComparison comparison, double value)
+    {
+        return Kernels.DOUBLE.count(this.items, 0, this.size, comparison, value);
+    }
+
+    /**
+     * Returns a new list with the elements that satisfy the comparison, in their original order.
+     */
+    public VectorDoubleArrayList select(VectorComparison comparison, double value)
+    {
+        VectorDoubleArrayList result = new VectorDoubleArrayList(this.size);
+        result.size = Kernels.DOUBLE.select(this.items, 0, this.size, comparison, value, result.items, 0);
+        return result;
+    }
+
+    /**
+     * Returns a new list with the element-wise sums of this list and {@code list}.
+     */
+    public VectorDoubleArrayList plus(DoubleList list)
+    {
+        this.checkSameSize(list, "plus");
+        VectorDoubleArrayList result = new VectorDoubleArrayList(this.size);
+        Kernels.DOUBLE.add(this.items, VectorDoubleArrayList.itemsOf(list), result.items, 0, this.size);
+        result.size = this.size;
+        return result;
+    }
+
+    /**
+     * Returns a new list with the element-wise products of this list and {@code list}.
+     */
+    public VectorDoubleArrayList times(DoubleList list)
+    {
+        this.checkSameSize(list, "times");
+        VectorDoubleArrayList result = new VectorDoubleArrayList(this.size);
+        Kernels.DOUBLE.multiply(this.items, VectorDoubleArrayList.itemsOf(list), result.items, 0, this.size);
+        result.size = this.size;
+        return result;
+    }
+
+    private void checkSameSize(DoubleList list, String operation)
+    {
+        if (this.size != list.size())
+        {
+            throw new IllegalArgumentException("Lists used in " + operation + " must be the same size");
+        }
+    }
+
+    /**
+     * Returns an array whose first {@code list.size()} elements are those of the list, without copying when possible.
+     */
+    private static double[] itemsOf(DoubleList list)
+    {
+        if (list instanceof VectorDoubleArrayList)
+        {
+            return ((VectorDoubleArrayList) list).items;
+        }
+        return list.toArray();
+    }
+}
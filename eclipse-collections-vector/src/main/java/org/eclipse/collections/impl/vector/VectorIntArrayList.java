@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.IntIterable;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+
+/**
+ * A {@link IntArrayList} whose bulk operations run through the same kernels as {@link VectorIterate}, and so use
+ * the Vector API when it is available. It adds counting and selecting by a {@link VectorComparison}, and element-wise
+ * {@link #plus(IntList) addition} and {@link #times(IntList) multiplication}. Operations with another list are
+ * fastest when that list is also a {@code VectorIntArrayList}; any other list is copied to an array first.
+ *
+ * @since 11.1
+ */
+public class VectorIntArrayList extends IntArrayList
+{
+    private static final long serialVersionUID = 1L;
+
+    public VectorIntArrayList()
+    {
+    }
+
+    public VectorIntArrayList(int initialCapacity)
+    {
+        super(initialCapacity);
+    }
+
+    public VectorIntArrayList(int... array)
+    {
+        super(array);
+    }
+
+    /**
+     * Creates a new list using the passed {@code elements} argument as the backing store.
+     * <p>
+     * !!! WARNING: This method uses the passed in array, so can be very unsafe if the original
+     * array is held onto anywhere else. !!!
+     */
+    public static VectorIntArrayList newListWith(int... elements)
+    {
+        return new VectorIntArrayList(elements);
+    }
+
+    public static VectorIntArrayList newList(IntIterable source)
+    {
+        return VectorIntArrayList.newListWith(source.toArray());
+    }
+
+    @Override
+    public boolean contains(int value)
+    {
+        return Kernels.INT.contains(this.items, 0, this.size, value);
+    }
+
+    @Override
+    public long sum()
+    {
+        return Kernels.INT.sum(this.items, 0, this.size);
+    }
+
+    @Override
+    public int min()
+    {
+        if (this.isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        return Kernels.INT.min(this.items, 0, this.size);
+    }
+
+    @Override
+    public int max()
+    {
+        if (this.isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        return Kernels.INT.max(this.items, 0, this.size);
+    }
+
+    @Override
+    public long dotProduct(IntList list)
+    {
+        if (this.size != list.size())
+        {
+            throw new IllegalArgumentException("Lists used in dotProduct must be the same size");
+        }
+        return Kernels.INT.dotProduct(this.items, VectorIntArrayList.itemsOf(list), 0, this.size);
+    }
+
+    public int count(VectorComparison comparison, int value)
+    {
+        return Kernels.INT.count(this.items, 0, this.size, comparison, value);
+    }
+
+    /**
+     * Returns a new list with the elements that satisfy the comparison, in their original order.
+     */
+    public VectorIntArrayList select(VectorComparison comparison, int value)
+    {
+        VectorIntArrayList result = new VectorIntArrayList(this.size);
+        result.size = Kernels.INT.select(this.items, 0, this.size, comparison, value, result.items, 0);
+        return result;
+    }
+
+    /**
+     * Returns a new list with the element-wise sums of this list and {@code list}.
+     */
+    public VectorIntArrayList plus(IntList list)
+    {
+        this.checkSameSize(list, "plus");
+        VectorIntArrayList result = new VectorIntArrayList(this.size);
+        Kernels.INT.add(this.items, VectorIntArrayList.itemsOf(list), result.items, 0, this.size);
+        result.size = this.size;
+        return result;
+    }
+
+    /**
+     * Returns a new list with the element-wise products of this list and {@code list}.
+     */
+    public VectorIntArrayList times(IntList list)
+    {
+        this.checkSameSize(list, "times");
+        VectorIntArrayList result = new VectorIntArrayList(this.size);
+        Kernels.INT.multiply(this.items, VectorIntArrayList.itemsOf(list), result.items, 0, this.size);
+        result.size = this.size;
+        return result;
+    }
+
+    private void checkSameSize(IntList list, String operation)
+    {
+        if (this.size != list.size())
+        {
+            throw new IllegalArgumentException("Lists used in " + operation + " must be the same size");
+        }
+    }
+
+    /**
+     * Returns an array whose first {@code list.size()} elements are those of the list, without copying when possible.
+     */
+    private static int[] itemsOf(IntList list)
+    {
+        if (list instanceof VectorIntArrayList)
+        {
+            return ((VectorIntArrayList) list).items;
+        }
+        return list.toArray();
+    }
+}
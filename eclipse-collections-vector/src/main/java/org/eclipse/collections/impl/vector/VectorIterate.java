@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Bulk reductions, comparisons and element-wise arithmetic over {@code int}, {@code long} and {@code double} arrays.
+ * When the incubating {@code jdk.incubator.vector} module is available, on JDK 17 and later with
+ * {@code --add-modules jdk.incubator.vector}, each operation processes as many elements per instruction as the
+ * hardware allows; otherwise it falls back to a scalar loop with the same results.
+ * <p>
+ * Integral results are exactly those of the scalar loops, including overflow. For {@code double}, {@link #sum(double[])}
+ * is compensated and {@link #dotProduct(double[], double[])} is not, as in {@code DoubleArrayList}, but the vector
+ * versions add the elements in a different order, so their results may differ in the last bits.
+ *
+ * @since 11.1
+ */
+public final class VectorIterate
+{
+    private VectorIterate()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Returns true if the operations of this package use the Vector API in this JVM.
+     */
+    public static boolean isVectorized()
+    {
+        return Kernels.isVectorized();
+    }
+
+    public static long sum(int[] array)
+    {
+        return Kernels.INT.sum(array, 0, array.length);
+    }
+
+    /**
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static int min(int[] array)
+    {
+        VectorIterate.checkNotEmpty(array.length);
+        return Kernels.INT.min(array, 0, array.length);
+    }
+
+    /**
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static int max(int[] array)
+    {
+        VectorIterate.checkNotEmpty(array.length);
+        return Kernels.INT.max(array, 0, array.length);
+    }
+
+    /**
+     * @throws ArithmeticException if the array is empty
+     */
+    public static double average(int[] array)
+    {
+        if (array.length == 0)
+        {
+            throw new ArithmeticException();
+        }
+        return (double) VectorIterate.sum(array) / (double) array.length;
+    }
+
+    public static boolean contains(int[] array, int value)
+    {
+        return Kernels.INT.contains(array, 0, array.length, value);
+    }
+
+    public static int count(int[] array, VectorComparison comparison, int value)
+    {
+        return Kernels.INT.count(array, 0, array.length, comparison, value);
+    }
+
+    /**
+     * Returns a new array with the elements that satisfy the comparison, in their original order.
+     */
+    public static int[] select(int[] array, VectorComparison comparison, int value)
+    {
+        int[] target = new int[array.length];
+        int count = Kernels.INT.select(array, 0, array.length, comparison, value, target, 0);
+        return count == target.length ? target : Arrays.copyOf(target, count);
+    }
+
+    public static long dotProduct(int[] left, int[] right)
+    {
+        VectorIterate.checkSameLength(left.length, right.length, "dotProduct");
+        return Kernels.INT.dotProduct(left, right, 0, left.length);
+    }
+
+    /**
+     * Returns a new array with the element-wise sums of the two arrays.
+     */
+    public static int[] add(int[] left, int[] right)
+    {
+        VectorIterate.checkSameLength(left.length, right.length, "add");
+        int[] target = new int[left.length];
+        Kernels.INT.add(left, right, target, 0, left.length);
+        return target;
+    }
+
+    /**
+     * Returns a new array with the element-wise products of the two arrays.
+     */
+    public static int[] multiply(int[] left, int[] right)
+    {
+        VectorIterate.checkSameLength(left.length, right.length, "multiply");
+        int[] target = new int[left.length];
+        Kernels.INT.multiply(left, right, target, 0, left.length);
+        return target;
+    }
+
+    public static long sum(long[] array)
+    {
+        return Kernels.LONG.sum(array, 0, array.length);
+    }
+
+    /**
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static long min(long[] array)
+    {
+        VectorIterate.checkNotEmpty(array.length);
+        return Kernels.LONG.min(array, 0, array.length);
+    }
+
+    /**
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static long max(long[] array)
+    {
+        VectorIterate.checkNotEmpty(array.length);
+        return Kernels.LONG.max(array, 0, array.length);
+    }
+
+    /**
+     * @throws ArithmeticException if the array is empty
+     */
+    public static double average(long[] array)
+    {
+        if (array.length == 0)
+        {
+            throw new ArithmeticException();
+        }
+        return (double) VectorIterate.sum(array) / (double) array.length;
+    }
+
+    public static boolean contains(long[] array, long value)
+    {
+        return Kernels.LONG.contains(array, 0, array.length, value);
+    }
+
+    public static int count(long[] array, VectorComparison comparison, long value)
+    {
+        return Kernels.LONG.count(array, 0, array.length, comparison, value);
+    }
+
+    /**
+     * Returns a new array with the elements that satisfy the comparison, in their original order.
+     */
+    public static long[] select(long[] array, VectorComparison comparison, long value)
+    {
+        long[] target = new long[array.length];
+        int count = Kernels.LONG.select(array, 0, array.length, comparison, value, target, 0);
+        return count == target.length ? target : Arrays.copyOf(target, count);
+    }
+
+    public static long dotProduct(long[] left, long[] right)
+    {
+        VectorIterate.checkSameLength(left.length, right.length, "dotProduct");
+        return Kernels.LONG.dotProduct(left, right, 0, left.length);
+    }
+
+    /**
+     * Returns a new array with the element-wise sums of the two arrays.
+     */
+    public static long[] add(long[] left, long[] right)
+    {
+        VectorIterate.checkSameLength(left.length, right.length, "add");
+        long[] target = new long[left.length];
+        Kernels.LONG.add(left, right, target, 0, left.length);
+        return target;
+    }
+
+    /**
+     * Returns a new array with the element-wise products of the two arrays.
+     */
+    public static long[] multiply(long[] left, long[] right)
+    {
+        VectorIterate.checkSameLength(left.length, right.length, "multiply");
+        long[] target = new long[left.length];
+        Kernels.LONG.multiply(left, right, target, 0, left.length);
+        return target;
+    }
+
+    public static double sum(double[] array)
+    {
+        return Kernels.DOUBLE.sum(array, 0, array.length);
+    }
+
+    /**
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static double min(double[] array)
+    {
+        VectorIterate.checkNotEmpty(array.length);
+        return Kernels.DOUBLE.min(array, 0, array.length);
+    }
+
+    /**
+     * @throws NoSuchElementException if the array is empty
+     */
+    public static double max(double[] array)
+    {
+        VectorIterate.checkNotEmpty(array.length);
+        return Kernels.DOUBLE.max(array, 0, array.length);
+    }
+
+    /**
+     * @throws ArithmeticException if the array is empty
+     */
+    public static double average(double[] array)
+    {
+        if (array.length == 0)
+        {
+            throw new ArithmeticException();
+        }
+        return VectorIterate.sum(array) / (double) array.length;
+    }
+
+    public static boolean contains(double[] array, double value)
+    {
+        return Kernels.DOUBLE.contains(array, 0, array.length, value);
+    }
+
+    public static int count(double[] array, VectorComparison comparison, double value)
+    {
+        return Kernels.DOUBLE.count(array, 0, array.length, comparison, value);
+    }
+
+    /**
+     * Returns a new array with the elements that satisfy the comparison, in their original order.
+     */
+    public static double[] select(double[] array, VectorComparison comparison, double value)
+    {
+        double[] target = new double[array.length];
+        int count = Kernels.DOUBLE.select(array, 0, array.length, comparison, value, target, 0);
+        return count == target.length ? target : Arrays.copyOf(target, count);
+    }
+
+    public static double dotProduct(double[] left, double[] right)
+    {
+        VectorIterate.checkSameLength(left.length, right.length, "dotProduct");
+        return Kernels.DOUBLE.dotProduct(left, right, 0, left.length);
+    }
+
+    /**
+     * Returns a new array with the element-wise sums of the two arrays.
+     */
+    public static double[] add(double[] left, double[] right)
+    {
+        VectorIterate.checkSameLength(left.length, right.length, "add");
+        double[] target = new double[left.length];
+        Kernels.DOUBLE.add(left, right, target, 0, left.length);
+        return target;
+    }
+
+    /**
+     * Returns a new array with the element-wise products of the two arrays.
+     */
+    public static double[] multiply(double[] left, double[] right)
+    {
+        VectorIterate.checkSameLength(left.length, right.length, "multiply");
+        double[] target = new double[left.length];
+        Kernels.DOUBLE.multiply(left, right, target, 0, left.length);
+        return target;
+    }
+
+    static void checkNotEmpty(int size)
+    {
+        if (size == 0)
+        {
+            throw new NoSuchElementException();
+        }
+    }
+
+    static void checkSameLength(int leftLength, int rightLength, String operation)
+    {
+        if (leftLength != rightLength)
+        {
+            throw new IllegalArgumentException("Arrays used in " + operation + " must be the same length");
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.LongIterable;
+import org.eclipse.collections.api.list.primitive.LongList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+
+/**
+ * A {@link LongArrayList} whose bulk operations run through the same kernels as {@link VectorIterate}, and so use
+ * the Vector API when it is available. It adds counting and selecting by a {@link VectorComparison}, and element-wise
+ * {@link #plus(LongList) addition} and {@link #times(LongList) multiplication}. Operations with another list are
+ * fastest when that list is also a {@code VectorLongArrayList}; any other list is copied to an array first.
+ *
+ * @since 11.1
+ */
+public class VectorLongArrayList extends LongArrayList
+{
+    private static final long serialVersionUID = 1L;
+
+    public VectorLongArrayList()
+    {
+    }
+
+    public VectorLongArrayList(int initialCapacity)
+    {
+        super(initialCapacity);
+    }
+
+    public VectorLongArrayList(long... array)
+    {
+        super(array);
+    }
+
+    /**
+     * Creates a new list using the passed {@code elements} argument as the backing store.
+     * <p>
+     * !!! WARNING: This method uses the passed in array, so can be very unsafe if the original
+     * array is held onto anywhere else. !!!
+     */
+    public static VectorLongArrayList newListWith(long... elements)
+    {
+        return new VectorLongArrayList(elements);
+    }
+
+    public static VectorLongArrayList newList(LongIterable source)
+    {
+        return VectorLongArrayList.newListWith(source.toArray());
+    }
+
+    @Override
+    public boolean contains(long value)
+    {
+        return Kernels.LONG.contains(this.items, 0, this.size, value);
+    }
+
+    @Override
+    public long sum()
+    {
+        return Kernels.LONG.sum(this.items, 0, this.size);
+    }
+
+    @Override
+    public long min()
+    {
+        if (this.isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        return Kernels.LONG.min(this.items, 0, this.size);
+    }
+
+    @Override
+    public long max()
+    {
+        if (this.isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        return Kernels.LONG.max(this.items, 0, this.size);
+    }
+
+    @Override
+    public long dotProduct(LongList list)
+    {
+        if (this.size != list.size())
+        {
+            throw new IllegalArgumentException("Lists used in dotProduct must be the same size");
+        }
+        return Kernels.LONG.dotProduct(this.items, VectorLongArrayList.itemsOf(list), 0, this.size);
+    }
+
+    public int count(VectorComparison comparison, long value)
+    {
+        return Kernels.LONG.count(this.items, 0, this.size, comparison, value);
+    }
+
+    /**
+     * Returns a new list with the elements that satisfy the comparison, in their original order.
+     */
+    public VectorLongArrayList select(VectorComparison comparison, long value)
+    {
+        VectorLongArrayList result = new VectorLongArrayList(this.size);
+        result.size = Kernels.LONG.select(this.items, 0, this.size, comparison, value, result.items, 0);
+        return result;
+    }
+
+    /**
+     * Returns a new list with the element-wise sums of this list and {@code list}.
+     */
+    public VectorLongArrayList plus(LongList list)
+    {
+        this.checkSameSize(list, "plus");
+        VectorLongArrayList result = new VectorLongArrayList(this.size);
+        Kernels.LONG.add(this.items, VectorLongArrayList.itemsOf(list), result.items, 0, this.size);
+        result.size = this.size;
+        return result;
+    }
+
+    /**
+     * Returns a new list with the element-wise products of this list and {@code list}.
+     */
+    public VectorLongArrayList times(LongList list)
+    {
+        this.checkSameSize(list, "times");
+        VectorLongArrayList result = new VectorLongArrayList(this.size);
+        Kernels.LONG.multiply(this.items, VectorLongArrayList.itemsOf(list), result.items, 0, this.size);
+        result.size = this.size;
+        return result;
+    }
+
+    private void checkSameSize(LongList list, String operation)
+    {
+        if (this.size != list.size())
+        {
+            throw new IllegalArgumentException("Lists used in " + operation + " must be the same size");
+        }
+    }
+
+    /**
+     * Returns an array whose first {@code list.size()} elements are those of the list, without copying when possible.
+     */
+    private static long[] itemsOf(LongList list)
+    {
+        if (list instanceof VectorLongArrayList)
+        {
+            return ((VectorLongArrayList) list).items;
+        }
+        return list.toArray();
+    }
+}
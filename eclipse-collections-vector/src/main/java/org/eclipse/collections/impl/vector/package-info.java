@@ -0,0 +1,16 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+/**
+ * This package contains bulk operations over {@code int}, {@code long} and {@code double} arrays and array lists which
+ * use the incubating Vector API when it is available. On JDK 17 and later, run with
+ * {@code --add-modules jdk.incubator.vector} to enable it; otherwise the same operations run as scalar loops.
+ */
+package org.eclipse.collections.impl.vector;
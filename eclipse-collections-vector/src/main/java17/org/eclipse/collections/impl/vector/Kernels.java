@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+/**
+ * Chooses the kernels used by this package. This is the JDK 17 version from the multi-release jar, which uses the
+ * Vector API kernels when the {@code jdk.incubator.vector} module has been added to the boot layer, and the scalar
+ * kernels otherwise.
+ */
+final class Kernels
+{
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    static final IntKernel INT = VECTORIZED ? new VectorIntKernel() : new IntKernel();
+    static final LongKernel LONG = VECTORIZED ? new VectorLongKernel() : new LongKernel();
+    static final DoubleKernel DOUBLE = VECTORIZED ? new VectorDoubleKernel() : new DoubleKernel();
+
+    private Kernels()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    static boolean isVectorized()
+    {
+        return VECTORIZED;
+    }
+}
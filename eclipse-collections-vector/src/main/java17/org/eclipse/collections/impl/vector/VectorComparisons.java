@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+import jdk.incubator.vector.VectorOperators;
+
+/**
+ * Maps each {@link VectorComparison} to the Vector API operator with the same meaning.
+ */
+final class VectorComparisons
+{
+    private VectorComparisons()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    static VectorOperators.Comparison operator(VectorComparison comparison)
+    {
+        switch (comparison)
+        {
+            case EQUAL:
+                return VectorOperators.EQ;
+            case NOT_EQUAL:
+                return VectorOperators.NE;
+            case LESS_THAN:
+                return VectorOperators.LT;
+            case LESS_THAN_OR_EQUAL:
+                return VectorOperators.LE;
+            case GREATER_THAN:
+                return VectorOperators.GT;
+            case GREATER_THAN_OR_EQUAL:
+                return VectorOperators.GE;
+            default:
+                throw new AssertionError(comparison);
+        }
+    }
+}
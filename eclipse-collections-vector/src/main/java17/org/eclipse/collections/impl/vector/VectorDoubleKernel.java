@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@code double} kernel using the preferred vector shape of the platform. Each loop handles whole vectors and
+ * leaves the remaining elements to the scalar loop of {@link DoubleKernel}.
+ * <p>
+ * The sum keeps a separate compensated sum in every lane and finishes with a scalar compensated sum of the lanes and
+ * the remaining elements. Lane-wise minimum and maximum propagate {@code NaN}, which matches
+ * {@link Double#compare(double, double)} for the maximum but not for the minimum, so a minimum of {@code NaN} is
+ * recomputed by the scalar loop. The search in {@link #contains} compares bits to match {@code Double.compare} for
+ * {@code NaN} and signed zeros.
+ */
+final class VectorDoubleKernel extends DoubleKernel
+{
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LENGTH = SPECIES.length();
+
+    private static int upperBound(int fromIndex, int toIndex)
+    {
+        return fromIndex + SPECIES.loopBound(toIndex - fromIndex);
+    }
+
+    private static double compareMin(double first, double second)
+    {
+        return Double.compare(second, first) < 0 ? second : first;
+    }
+
+    private static double compareMax(double first, double second)
+    {
+        return Double.compare(first, second) < 0 ? second : first;
+    }
+
+    @Override
+    double sum(double[] array, int fromIndex, int toIndex)
+    {
+        DoubleVector result = DoubleVector.zero(SPECIES);
+        DoubleVector compensation = DoubleVector.zero(SPECIES);
+        int index = fromIndex;
+        int upperBound = VectorDoubleKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            DoubleVector adjustedValue = DoubleVector.fromArray(SPECIES, array, index).sub(compensation);
+            DoubleVector nextSum = result.add(adjustedValue);
+            compensation = nextSum.sub(result).sub(adjustedValue);
+            result = nextSum;
+            index += LENGTH;
+        }
+        double[] remaining = new double[2 * LENGTH + toIndex - index];
+        result.intoArray(remaining, 0);
+        compensation.neg().intoArray(remaining, LENGTH);
+        System.arraycopy(array, index, remaining, 2 * LENGTH, toIndex - index);
+        return super.sum(remaining, 0, remaining.length);
+    }
+
+    @Override
+    double min(double[] array, int fromIndex, int toIndex)
+    {
+        int upperBound = VectorDoubleKernel.upperBound(fromIndex, toIndex);
+        if (upperBound == fromIndex)
+        {
+            return super.min(array, fromIndex, toIndex);
+        }
+        DoubleVector accumulator = DoubleVector.fromArray(SPECIES, array, fromIndex);
+        int index = fromIndex + LENGTH;
+        while (index < upperBound)
+        {
+            accumulator = accumulator.min(DoubleVector.fromArray(SPECIES, array, index));
+            index += LENGTH;
+        }
+        double min = accumulator.reduceLanes(VectorOperators.MIN);
+        if (Double.isNaN(min))
+        {
+            return super.min(array, fromIndex, toIndex);
+        }
+        return index < toIndex ? VectorDoubleKernel.compareMin(min, super.min(array, index, toIndex)) : min;
+    }
+
+    @Override
+    double max(double[] array, int fromIndex, int toIndex)
+    {
+        int upperBound = VectorDoubleKernel.upperBound(fromIndex, toIndex);
+        if (upperBound == fromIndex)
+        {
+            return super.max(array, fromIndex, toIndex);
+        }
+        DoubleVector accumulator = DoubleVector.fromArray(SPECIES, array, fromIndex);
+        int index = fromIndex + LENGTH;
+        while (index < upperBound)
+        {
+            accumulator = accumulator.max(DoubleVector.fromArray(SPECIES, array, index));
+            index += LENGTH;
+        }
+        double max = accumulator.reduceLanes(VectorOperators.MAX);
+        return index < toIndex ? VectorDoubleKernel.compareMax(max, super.max(array, index, toIndex)) : max;
+    }
+
+    @Override
+    boolean contains(double[] array, int fromIndex, int toIndex, double value)
+    {
+        boolean nan = Double.isNaN(value);
+        long bits = Double.doubleToLongBits(value);
+        int index = fromIndex;
+        int upperBound = VectorDoubleKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            DoubleVector vector = DoubleVector.fromArray(SPECIES, array, index);
+            if (nan ? vector.test(VectorOperators.IS_NAN).anyTrue() : vector.reinterpretAsLongs().eq(bits).anyTrue())
+            {
+                return true;
+            }
+            index += LENGTH;
+        }
+        return super.contains(array, index, toIndex, value);
+    }
+
+    @Override
+    int count(double[] array, int fromIndex, int toIndex, VectorComparison comparison, double value)
+    {
+        VectorOperators.Comparison operator = VectorComparisons.operator(comparison);
+        int count = 0;
+        int index = fromIndex;
+        int upperBound = VectorDoubleKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            count += DoubleVector.fromArray(SPECIES, array, index).compare(operator, value).trueCount();
+            index += LENGTH;
+        }
+        return count + super.count(array, index, toIndex, comparison, value);
+    }
+
+    @Override
+    int select(double[] array, int fromIndex, int toIndex, VectorComparison comparison, double value, double[] target, int targetIndex)
+    {
+        VectorOperators.Comparison operator = VectorComparisons.operator(comparison);
+        int next = targetIndex;
+        int index = fromIndex;
+        int upperBound = VectorDoubleKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            long lanes = DoubleVector.fromArray(SPECIES, array, index).compare(operator, value).toLong();
+            while (lanes != 0L)
+            {
+                target[next++] = array[index + Long.numberOfTrailingZeros(lanes)];
+                lanes &= lanes - 1L;
+            }
+            index += LENGTH;
+        }
+        return super.select(array, index, toIndex, comparison, value, target, next);
+    }
+
+    @Override
+    double dotProduct(double[] left, double[] right, int fromIndex, int toIndex)
+    {
+        DoubleVector accumulator = DoubleVector.zero(SPECIES);
+        int index = fromIndex;
+        int upperBound = VectorDoubleKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            accumulator = accumulator.add(DoubleVector.fromArray(SPECIES, left, index).mul(DoubleVector.fromArray(SPECIES, right, index)));
+            index += LENGTH;
+        }
+        return accumulator.reduceLanes(VectorOperators.ADD) + super.dotProduct(left, right, index, toIndex);
+    }
+
+    @Override
+    void add(double[] left, double[] right, double[] target, int fromIndex, int toIndex)
+    {
+        int index = fromIndex;
+        int upperBound = VectorDoubleKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            DoubleVector.fromArray(SPECIES, left, index).add(DoubleVector.fromArray(SPECIES, right, index)).intoArray(target, index);
+            index += LENGTH;
+        }
+        super.add(left, right, target, index, toIndex);
+    }
+
+    @Override
+    void multiply(double[] left, double[] right, double[] target, int fromIndex, int toIndex)
+    {
+        int index = fromIndex;
+        int upperBound = VectorDoubleKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            DoubleVector.fromArray(SPECIES, left, index).mul(DoubleVector.fromArray(SPECIES, right, index)).intoArray(target, index);
+            index += LENGTH;
+        }
+        super.multiply(left, right, target, index, toIndex);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@code int} kernel using the preferred vector shape of the platform. Each loop handles whole vectors and leaves
+ * the remaining elements to the scalar loop of {@link IntKernel}. Sums and dot products widen every vector into two
+ * {@code long} vectors of the same shape, so they overflow exactly like the scalar versions.
+ */
+final class VectorIntKernel extends IntKernel
+{
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int LENGTH = SPECIES.length();
+
+    private static int upperBound(int fromIndex, int toIndex)
+    {
+        return fromIndex + SPECIES.loopBound(toIndex - fromIndex);
+    }
+
+    private static LongVector widen(IntVector vector, int part)
+    {
+        return (LongVector) vector.convertShape(VectorOperators.I2L, LONG_SPECIES, part);
+    }
+
+    @Override
+    long sum(int[] array, int fromIndex, int toIndex)
+    {
+        LongVector accumulator = LongVector.zero(LONG_SPECIES);
+        int index = fromIndex;
+        int upperBound = VectorIntKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            IntVector vector = IntVector.fromArray(SPECIES, array, index);
+            accumulator = accumulator.add(VectorIntKernel.widen(vector, 0)).add(VectorIntKernel.widen(vector, 1));
+            index += LENGTH;
+        }
+        return accumulator.reduceLanes(VectorOperators.ADD) + super.sum(array, index, toIndex);
+    }
+
+    @Override
+    int min(int[] array, int fromIndex, int toIndex)
+    {
+        int upperBound = VectorIntKernel.upperBound(fromIndex, toIndex);
+        if (upperBound == fromIndex)
+        {
+            return super.min(array, fromIndex, toIndex);
+        }
+        IntVector accumulator = IntVector.fromArray(SPECIES, array, fromIndex);
+        int index = fromIndex + LENGTH;
+        while (index < upperBound)
+        {
+            accumulator = accumulator.min(IntVector.fromArray(SPECIES, array, index));
+            index += LENGTH;
+        }
+        int min = accumulator.reduceLanes(VectorOperators.MIN);
+        return index < toIndex ? Math.min(min, super.min(array, index, toIndex)) : min;
+    }
+
+    @Override
+    int max(int[] array, int fromIndex, int toIndex)
+    {
+        int upperBound = VectorIntKernel.upperBound(fromIndex, toIndex);
+        if (upperBound == fromIndex)
+        {
+            return super.max(array, fromIndex, toIndex);
+        }
+        IntVector accumulator = IntVector.fromArray(SPECIES, array, fromIndex);
+        int index = fromIndex + LENGTH;
+        while (index < upperBound)
+        {
+            accumulator = accumulator.max(IntVector.fromArray(SPECIES, array, index));
+            index += LENGTH;
+        }
+        int max = accumulator.reduceLanes(VectorOperators.MAX);
+        return index < toIndex ? Math.max(max, super.max(array, index, toIndex)) : max;
+    }
+
+    @Override
+    boolean contains(int[] array, int fromIndex, int toIndex, int value)
+    {
+        int index = fromIndex;
+        int upperBound = VectorIntKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            if (IntVector.fromArray(SPECIES, array, index).eq(value).anyTrue())
+            {
+                return true;
+            }
+            index += LENGTH;
+        }
+        return super.contains(array, index, toIndex, value);
+    }
+
+    @Override
+    int count(int[] array, int fromIndex, int toIndex, VectorComparison comparison, int value)
+    {
+        VectorOperators.Comparison operator = VectorComparisons.operator(comparison);
+        int count = 0;
+        int index = fromIndex;
+        int upperBound = VectorIntKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            count += IntVector.fromArray(SPECIES, array, index).compare(operator, value).trueCount();
+            index += LENGTH;
+        }
+        return count + super.count(array, index, toIndex, comparison, value);
+    }
+
+    @Override
+    int select(int[] array, int fromIndex, int toIndex, VectorComparison comparison, int value, int[] target, int targetIndex)
+    {
+        VectorOperators.Comparison operator = VectorComparisons.operator(comparison);
+        int next = targetIndex;
+        int index = fromIndex;
+        int upperBound = VectorIntKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            long lanes = IntVector.fromArray(SPECIES, array, index).compare(operator, value).toLong();
+            while (lanes != 0L)
+            {
+                target[next++] = array[index + Long.numberOfTrailingZeros(lanes)];
+                lanes &= lanes - 1L;
+            }
+            index += LENGTH;
+        }
+        return super.select(array, index, toIndex, comparison, value, target, next);
+    }
+
+    @Override
+    long dotProduct(int[] left, int[] right, int fromIndex, int toIndex)
+    {
+        LongVector accumulator = LongVector.zero(LONG_SPECIES);
+        int index = fromIndex;
+        int upperBound = VectorIntKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            IntVector leftVector = IntVector.fromArray(SPECIES, left, index);
+            IntVector rightVector = IntVector.fromArray(SPECIES, right, index);
+            accumulator = accumulator
+                    .add(VectorIntKernel.widen(leftVector, 0).mul(VectorIntKernel.widen(rightVector, 0)))
+                    .add(VectorIntKernel.widen(leftVector, 1).mul(VectorIntKernel.widen(rightVector, 1)));
+            index += LENGTH;
+        }
+        return accumulator.reduceLanes(VectorOperators.ADD) + super.dotProduct(left, right, index, toIndex);
+    }
+
+    @Override
+    void add(int[] left, int[] right, int[] target, int fromIndex, int toIndex)
+    {
+        int index = fromIndex;
+        int upperBound = VectorIntKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            IntVector.fromArray(SPECIES, left, index).add(IntVector.fromArray(SPECIES, right, index)).intoArray(target, index);
+            index += LENGTH;
+        }
+        super.add(left, right, target, index, toIndex);
+    }
+
+    @Override
+    void multiply(int[] left, int[] right, int[] target, int fromIndex, int toIndex)
+    {
+        int index = fromIndex;
+        int upperBound = VectorIntKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            IntVector.fromArray(SPECIES, left, index).mul(IntVector.fromArray(SPECIES, right, index)).intoArray(target, index);
+            index += LENGTH;
+        }
+        super.multiply(left, right, target, index, toIndex);
+    }
+}
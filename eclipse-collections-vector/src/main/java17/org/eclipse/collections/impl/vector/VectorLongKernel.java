@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@code long} kernel using the preferred vector shape of the platform. Each loop handles whole vectors and leaves
+ * the remaining elements to the scalar loop of {@link LongKernel}.
+ */
+final class VectorLongKernel extends LongKernel
+{
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int LENGTH = SPECIES.length();
+
+    private static int upperBound(int fromIndex, int toIndex)
+    {
+        return fromIndex + SPECIES.loopBound(toIndex - fromIndex);
+    }
+
+    @Override
+    long sum(long[] array, int fromIndex, int toIndex)
+    {
+        LongVector accumulator = LongVector.zero(SPECIES);
+        int index = fromIndex;
+        int upperBound = VectorLongKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            accumulator = accumulator.add(LongVector.fromArray(SPECIES, array, index));
+            index += LENGTH;
+        }
+        return accumulator.reduceLanes(VectorOperators.ADD) + super.sum(array, index, toIndex);
+    }
+
+    @Override
+    long min(long[] array, int fromIndex, int toIndex)
+    {
+        int upperBound = VectorLongKernel.upperBound(fromIndex, toIndex);
+        if (upperBound == fromIndex)
+        {
+            return super.min(array, fromIndex, toIndex);
+        }
+        LongVector accumulator = LongVector.fromArray(SPECIES, array, fromIndex);
+        int index = fromIndex + LENGTH;
+        while (index < upperBound)
+        {
+            accumulator = accumulator.min(LongVector.fromArray(SPECIES, array, index));
+            index += LENGTH;
+        }
+        long min = accumulator.reduceLanes(VectorOperators.MIN);
+        return index < toIndex ? Math.min(min, super.min(array, index, toIndex)) : min;
+    }
+
+    @Override
+    long max(long[] array, int fromIndex, int toIndex)
+    {
+        int upperBound = VectorLongKernel.upperBound(fromIndex, toIndex);
+        if (upperBound == fromIndex)
+        {
+            return super.max(array, fromIndex, toIndex);
+        }
+        LongVector accumulator = LongVector.fromArray(SPECIES, array, fromIndex);
+        int index = fromIndex + LENGTH;
+        while (index < upperBound)
+        {
+            accumulator = accumulator.max(LongVector.fromArray(SPECIES, array, index));
+            index += LENGTH;
+        }
+        long max = accumulator.reduceLanes(VectorOperators.MAX);
+        return index < toIndex ? Math.max(max, super.max(array, index, toIndex)) : max;
+    }
+
+    @Override
+    boolean contains(long[] array, int fromIndex, int toIndex, long value)
+    {
+        int index = fromIndex;
+        int upperBound = VectorLongKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            if (LongVector.fromArray(SPECIES, array, index).eq(value).anyTrue())
+            {
+                return true;
+            }
+            index += LENGTH;
+        }
+        return super.contains(array, index, toIndex, value);
+    }
+
+    @Override
+    int count(long[] array, int fromIndex, int toIndex, VectorComparison comparison, long value)
+    {
+        VectorOperators.Comparison operator = VectorComparisons.operator(comparison);
+        int count = 0;
+        int index = fromIndex;
+        int upperBound = VectorLongKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            count += LongVector.fromArray(SPECIES, array, index).compare(operator, value).trueCount();
+            index += LENGTH;
+        }
+        return count + super.count(array, index, toIndex, comparison, value);
+    }
+
+    @Override
+    int select(long[] array, int fromIndex, int toIndex, VectorComparison comparison, long value, long[] target, int targetIndex)
+    {
+        VectorOperators.Comparison operator = VectorComparisons.operator(comparison);
+        int next = targetIndex;
+        int index = fromIndex;
+        int upperBound = VectorLongKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            long lanes = LongVector.fromArray(SPECIES, array, index).compare(operator, value).toLong();
+            while (lanes != 0L)
+            {
+                target[next++] = array[index + Long.numberOfTrailingZeros(lanes)];
+                lanes &= lanes - 1L;
+            }
+            index += LENGTH;
+        }
+        return super.select(array, index, toIndex, comparison, value, target, next);
+    }
+
+    @Override
+    long dotProduct(long[] left, long[] right, int fromIndex, int toIndex)
+    {
+        LongVector accumulator = LongVector.zero(SPECIES);
+        int index = fromIndex;
+        int upperBound = VectorLongKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            accumulator = accumulator.add(LongVector.fromArray(SPECIES, left, index).mul(LongVector.fromArray(SPECIES, right, index)));
+            index += LENGTH;
+        }
+        return accumulator.reduceLanes(VectorOperators.ADD) + super.dotProduct(left, right, index, toIndex);
+    }
+
+    @Override
+    void add(long[] left, long[] right, long[] target, int fromIndex, int toIndex)
+    {
+        int index = fromIndex;
+        int upperBound = VectorLongKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            LongVector.fromArray(SPECIES, left, index).add(LongVector.fromArray(SPECIES, right, index)).intoArray(target, index);
+            index += LENGTH;
+        }
+        super.add(left, right, target, index, toIndex);
+    }
+
+    @Override
+    void multiply(long[] left, long[] right, long[] target, int fromIndex, int toIndex)
+    {
+        int index = fromIndex;
+        int upperBound = VectorLongKernel.upperBound(fromIndex, toIndex);
+        while (index < upperBound)
+        {
+            LongVector.fromArray(SPECIES, left, index).mul(LongVector.fromArray(SPECIES, right, index)).intoArray(target, index);
+            index += LENGTH;
+        }
+        super.multiply(left, right, target, index, toIndex);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link VectorIterate}.
+ */
+public class VectorIterateTest
+{
+    private static final int SIZE = 1_003;
+
+    private static int[] randomInts(Random random)
+    {
+        int[] array = new int[SIZE];
+        for (int i = 0; i < SIZE; i++)
+        {
+            array[i] = random.nextInt();
+        }
+        return array;
+    }
+
+    private static long[] randomLongs(Random random)
+    {
+        long[] array = new long[SIZE];
+        for (int i = 0; i < SIZE; i++)
+        {
+            array[i] = random.nextLong();
+        }
+        return array;
+    }
+
+    private static double[] randomDoubles(Random random)
+    {
+        double[] array = new double[SIZE];
+        for (int i = 0; i < SIZE; i++)
+        {
+            array[i] = random.nextGaussian() * 1_000.0;
+        }
+        return array;
+    }
+
+    @Test
+    public void intOperations()
+    {
+        Random random = new Random(1L);
+        int[] array = VectorIterateTest.randomInts(random);
+        int[] other = VectorIterateTest.randomInts(random);
+        IntArrayList list = IntArrayList.newListWith(array);
+        IntArrayList otherList = IntArrayList.newListWith(other);
+
+        Assert.assertEquals(list.sum(), VectorIterate.sum(array));
+        Assert.assertEquals(list.min(), VectorIterate.min(array));
+        Assert.assertEquals(list.max(), VectorIterate.max(array));
+        Assert.assertEquals(list.average(), VectorIterate.average(array), 0.0);
+        Assert.assertTrue(VectorIterate.contains(array, array[SIZE - 1]));
+        Assert.assertEquals(list.contains(12345), VectorIterate.contains(array, 12345));
+        Assert.assertEquals(list.count(each -> each > 0), VectorIterate.count(array, VectorComparison.GREATER_THAN, 0));
+        Assert.assertArrayEquals(list.select(each -> each <= 0).toArray(), VectorIterate.select(array, VectorComparison.LESS_THAN_OR_EQUAL, 0));
+        Assert.assertEquals(list.dotProduct(otherList), VectorIterate.dotProduct(array, other));
+
+        int[] sums = VectorIterate.add(array, other);
+        int[] products = VectorIterate.multiply(array, other);
+        for (int i = 0; i < SIZE; i++)
+        {
+            Assert.assertEquals(array[i] + other[i], sums[i]);
+            Assert.assertEquals(array[i] * other[i], products[i]);
+        }
+    }
+
+    @Test
+    public void longOperations()
+    {
+        Random random = new Random(2L);
+        long[] array = VectorIterateTest.randomLongs(random);
+        long[] other = VectorIterateTest.randomLongs(random);
+        LongArrayList list = LongArrayList.newListWith(array);
+        LongArrayList otherList = LongArrayList.newListWith(other);
+
+        Assert.assertEquals(list.sum(), VectorIterate.sum(array));
+        Assert.assertEquals(list.min(), VectorIterate.min(array));
+        Assert.assertEquals(list.max(), VectorIterate.max(array));
+        Assert.assertEquals(list.average(), VectorIterate.average(array), 0.0);
+        Assert.assertTrue(VectorIterate.contains(array, array[SIZE / 2]));
+        Assert.assertEquals(list.contains(12345L), VectorIterate.contains(array, 12345L));
+        Assert.assertEquals(list.count(each -> each != array[0]), VectorIterate.count(array, VectorComparison.NOT_EQUAL, array[0]));
+        Assert.assertArrayEquals(list.select(each -> each >= 0L).toArray(), VectorIterate.select(array, VectorComparison.GREATER_THAN_OR_EQUAL, 0L));
+        Assert.assertEquals(list.dotProduct(otherList), VectorIterate.dotProduct(array, other));
+
+        long[] sums = VectorIterate.add(array, other);
+        long[] products = VectorIterate.multiply(array, other);
+        for (int i = 0; i < SIZE; i++)
+        {
+            Assert.assertEquals(array[i] + other[i], sums[i]);
+            Assert.assertEquals(array[i] * other[i], products[i]);
+        }
+    }
+
+    @Test
+    public void doubleOperations()
+    {
+        Random random = new Random(3L);
+        double[] array = VectorIterateTest.randomDoubles(random);
+        double[] other = VectorIterateTest.randomDoubles(random);
+        DoubleArrayList list = DoubleArrayList.newListWith(array);
+        DoubleArrayList otherList = DoubleArrayList.newListWith(other);
+
+        Assert.assertEquals(list.sum(), VectorIterate.sum(array), 1.0e-9);
+        Assert.assertEquals(list.min(), VectorIterate.min(array), 0.0);
+        Assert.assertEquals(list.max(), VectorIterate.max(array), 0.0);
+        Assert.assertEquals(list.average(), VectorIterate.average(array), 1.0e-12);
+        Assert.assertTrue(VectorIterate.contains(array, array[0]));
+        Assert.assertFalse(VectorIterate.contains(array, Double.NaN));
+        Assert.assertEquals(list.count(each -> each < 1.0), VectorIterate.count(array, VectorComparison.LESS_THAN, 1.0));
+        Assert.assertArrayEquals(list.select(each -> each == array[7]).toArray(), VectorIterate.select(array, VectorComparison.EQUAL, array[7]), 0.0);
+        Assert.assertEquals(list.dotProduct(otherList), VectorIterate.dotProduct(array, other), 1.0e-3);
+
+        double[] sums = VectorIterate.add(array, other);
+        double[] products = VectorIterate.multiply(array, other);
+        for (int i = 0; i < SIZE; i++)
+        {
+            Assert.assertEquals(array[i] + other[i], sums[i], 0.0);
+            Assert.assertEquals(array[i] * other[i], products[i], 0.0);
+        }
+    }
+
+    @Test
+    public void emptyArrays()
+    {
+        Assert.assertEquals(0L, VectorIterate.sum(new int[0]));
+        Assert.assertEquals(0L, VectorIterate.sum(new long[0]));
+        Assert.assertEquals(0.0, VectorIterate.sum(new double[0]), 0.0);
+        Assert.assertFalse(VectorIterate.contains(new int[0], 0));
+        Assert.assertEquals(0, VectorIterate.count(new long[0], VectorComparison.EQUAL, 0L));
+        Assert.assertArrayEquals(new double[0], VectorIterate.select(new double[0], VectorComparison.EQUAL, 0.0), 0.0);
+        Assert.assertEquals(0L, VectorIterate.dotProduct(new int[0], new int[0]));
+
+        Assert.assertThrows(NoSuchElementException.class, () -> VectorIterate.min(new int[0]));
+        Assert.assertThrows(NoSuchElementException.class, () -> VectorIterate.max(new long[0]));
+        Assert.assertThrows(NoSuchElementException.class, () -> VectorIterate.min(new double[0]));
+        Assert.assertThrows(ArithmeticException.class, () -> VectorIterate.average(new int[0]));
+        Assert.assertThrows(ArithmeticException.class, () -> VectorIterate.average(new double[0]));
+    }
+
+    @Test
+    public void differentLengths()
+    {
+        Assert.assertThrows(IllegalArgumentException.class, () -> VectorIterate.dotProduct(new int[2], new int[3]));
+        Assert.assertThrows(IllegalArgumentException.class, () -> VectorIterate.add(new long[2], new long[1]));
+        Assert.assertThrows(IllegalArgumentException.class, () -> VectorIterate.multiply(new double[0], new double[1]));
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that the Vector API kernels from {@code META-INF/versions/17} give the same results as the scalar kernels.
+ * They are loaded reflectively, since the Java 8 versions of the package shadow them on the test classpath, and the
+ * tests are skipped when the build did not compile them.
+ */
+public class VectorKernelsTest
+{
+    private static final int[] SIZES = {0, 1, 2, 3, 7, 8, 9, 15, 16, 17, 31, 32, 33, 63, 64, 65, 100, 1_000, 10_007};
+
+    private static final double[] SPECIAL_VALUES = {
+            Double.NaN,
+            Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY,
+            Double.MIN_VALUE,
+            Double.MAX_VALUE,
+            -Double.MAX_VALUE,
+            0.0,
+            -0.0};
+
+    private final IntKernel scalarInt = new IntKernel();
+    private final LongKernel scalarLong = new LongKernel();
+    private final DoubleKernel scalarDouble = new DoubleKernel();
+
+    private IntKernel vectorInt;
+    private LongKernel vectorLong;
+    private DoubleKernel vectorDouble;
+
+    @Before
+    public void setUp()
+    {
+        this.vectorInt = VectorKernelsTest.newKernel("VectorIntKernel");
+        this.vectorLong = VectorKernelsTest.newKernel("VectorLongKernel");
+        this.vectorDouble = VectorKernelsTest.newKernel("VectorDoubleKernel");
+    }
+
+    @Test
+    public void suitesRunAgainstTheVectorKernels()
+    {
+        Assert.assertTrue(Kernels.isVectorized());
+        Assert.assertSame(this.vectorInt.getClass(), Kernels.INT.getClass());
+        Assert.assertSame(this.vectorLong.getClass(), Kernels.LONG.getClass());
+        Assert.assertSame(this.vectorDouble.getClass(), Kernels.DOUBLE.getClass());
+    }
+
+    private static <T> T newKernel(String className)
+    {
+        try
+        {
+            return (T) Class.forName(VectorKernelsTest.class.getPackage().getName() + '.' + className).getDeclaredConstructor().newInstance();
+        }
+        catch (ClassNotFoundException e)
+        {
+            Assume.assumeNoException("The Vector API kernels are only compiled on JDK 17 and later", e);
+            return null;
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static int[] randomInts(Random random, int size, int bound)
+    {
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            array[i] = bound == 0 ? random.nextInt() : random.nextInt(bound) - bound / 2;
+        }
+        return array;
+    }
+
+    private static long[] randomLongs(Random random, int size, int bound)
+    {
+        long[] array = new long[size];
+        for (int i = 0; i < size; i++)
+        {
+            array[i] = bound == 0 ? random.nextLong() : random.nextInt(bound) - bound / 2;
+        }
+        return array;
+    }
+
+    private static double[] randomDoubles(Random random, int size, boolean special)
+    {
+        double[] array = new double[size];
+        for (int i = 0; i < size; i++)
+        {
+            array[i] = special && random.nextInt(8) == 0
+                    ? SPECIAL_VALUES[random.nextInt(SPECIAL_VALUES.length)]
+                    : random.nextInt(201) - 100.0 + random.nextDouble();
+        }
+        return array;
+    }
+
+    private static void assertSameDouble(double expected, double actual)
+    {
+        Assert.assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+    }
+
+    @Test
+    public void intReductions()
+    {
+        Random random = new Random(1L);
+        for (int size : SIZES)
+        {
+            int[] array = VectorKernelsTest.randomInts(random, size + 5, 0);
+            int to = size + 3;
+            Assert.assertEquals(this.scalarInt.sum(array, 3, to), this.vectorInt.sum(array, 3, to));
+            Assert.assertEquals(this.scalarInt.dotProduct(array, array, 3, to), this.vectorInt.dotProduct(array, array, 3, to));
+            if (size > 0)
+            {
+                Assert.assertEquals(this.scalarInt.min(array, 3, to), this.vectorInt.min(array, 3, to));
+                Assert.assertEquals(this.scalarInt.max(array, 3, to), this.vectorInt.max(array, 3, to));
+            }
+            for (int value : new int[]{array[0], array[size / 2 + 2], array[array.length - 1], 0})
+            {
+                Assert.assertEquals(this.scalarInt.contains(array, 3, to, value), this.vectorInt.contains(array, 3, to, value));
+            }
+        }
+    }
+
+    @Test
+    public void intComparisons()
+    {
+        Random random = new Random(2L);
+        for (int size : SIZES)
+        {
+            int[] array = VectorKernelsTest.randomInts(random, size, 10);
+            for (VectorComparison comparison : VectorComparison.values())
+            {
+                Assert.assertEquals(this.scalarInt.count(array, 0, size, comparison, 2), this.vectorInt.count(array, 0, size, comparison, 2));
+                int[] expected = new int[size + 1];
+                int[] actual = new int[size + 1];
+                Assert.assertEquals(
+                        this.scalarInt.select(array, 0, size, comparison, 2, expected, 1),
+                        this.vectorInt.select(array, 0, size, comparison, 2, actual, 1));
+                Assert.assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void intElementwise()
+    {
+        Random random = new Random(3L);
+        for (int size : SIZES)
+        {
+            int[] left = VectorKernelsTest.randomInts(random, size, 0);
+            int[] right = VectorKernelsTest.randomInts(random, size, 0);
+            int[] expected = new int[size];
+            int[] actual = new int[size];
+            this.scalarInt.add(left, right, expected, 0, size);
+            this.vectorInt.add(left, right, actual, 0, size);
+            Assert.assertArrayEquals(expected, actual);
+            this.scalarInt.multiply(left, right, expected, 0, size);
+            this.vectorInt.multiply(left, right, actual, 0, size);
+            Assert.assertArrayEquals(expected, actual);
+            Assert.assertEquals(this.scalarInt.dotProduct(left, right, 0, size), this.vectorInt.dotProduct(left, right, 0, size));
+        }
+    }
+
+    @Test
+    public void longReductions()
+    {
+        Random random = new Random(4L);
+        for (int size : SIZES)
+        {
+            long[] array = VectorKernelsTest.randomLongs(random, size + 5, 0);
+            int to = size + 3;
+            Assert.assertEquals(this.scalarLong.sum(array, 3, to), this.vectorLong.sum(array, 3, to));
+            Assert.assertEquals(this.scalarLong.dotProduct(array, array, 3, to), this.vectorLong.dotProduct(array, array, 3, to));
+            if (size > 0)
+            {
+                Assert.assertEquals(this.scalarLong.min(array, 3, to), this.vectorLong.min(array, 3, to));
+                Assert.assertEquals(this.scalarLong.max(array, 3, to), this.vectorLong.max(array, 3, to));
+            }
+            for (long value : new long[]{array[0], array[size / 2 + 2], array[array.length - 1], 0L})
+            {
+                Assert.assertEquals(this.scalarLong.contains(array, 3, to, value), this.vectorLong.contains(array, 3, to, value));
+            }
+        }
+    }
+
+    @Test
+    public void longComparisons()
+    {
+        Random random = new Random(5L);
+        for (int size : SIZES)
+        {
+            long[] array = VectorKernelsTest.randomLongs(random, size, 10);
+            for (VectorComparison comparison : VectorComparison.values())
+            {
+                Assert.assertEquals(this.scalarLong.count(array, 0, size, comparison, -1L), this.vectorLong.count(array, 0, size, comparison, -1L));
+                long[] expected = new long[size + 1];
+                long[] actual = new long[size + 1];
+                Assert.assertEquals(
+                        this.scalarLong.select(array, 0, size, comparison, -1L, expected, 1),
+                        this.vectorLong.select(array, 0, size, comparison, -1L, actual, 1));
+                Assert.assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void longElementwise()
+    {
+        Random random = new Random(6L);
+        for (int size : SIZES)
+        {
+            long[] left = VectorKernelsTest.randomLongs(random, size, 0);
+            long[] right = VectorKernelsTest.randomLongs(random, size, 0);
+            long[] expected = new long[size];
+            long[] actual = new long[size];
+            this.scalarLong.add(left, right, expected, 0, size);
+            this.vectorLong.add(left, right, actual, 0, size);
+            Assert.assertArrayEquals(expected, actual);
+            this.scalarLong.multiply(left, right, expected, 0, size);
+            this.vectorLong.multiply(left, right, actual, 0, size);
+            Assert.assertArrayEquals(expected, actual);
+            Assert.assertEquals(this.scalarLong.dotProduct(left, right, 0, size), this.vectorLong.dotProduct(left, right, 0, size));
+        }
+    }
+
+    @Test
+    public void doubleReductions()
+    {
+        Random random = new Random(7L);
+        for (int size : SIZES)
+        {
+            double[] finite = VectorKernelsTest.randomDoubles(random, size + 5, false);
+            int to = size + 3;
+            double tolerance = 1.0e-12 * size * 101.0;
+            Assert.assertEquals(this.scalarDouble.sum(finite, 3, to), this.vectorDouble.sum(finite, 3, to), tolerance);
+            Assert.assertEquals(
+                    this.scalarDouble.dotProduct(finite, finite, 3, to),
+                    this.vectorDouble.dotProduct(finite, finite, 3, to),
+                    tolerance * 101.0);
+
+            double[] array = VectorKernelsTest.randomDoubles(random, size + 5, true);
+            if (size > 0)
+            {
+                VectorKernelsTest.assertSameDouble(this.scalarDouble.min(array, 3, to), this.vectorDouble.min(array, 3, to));
+                VectorKernelsTest.assertSameDouble(this.scalarDouble.max(array, 3, to), this.vectorDouble.max(array, 3, to));
+            }
+            for (double value : SPECIAL_VALUES)
+            {
+                Assert.assertEquals(this.scalarDouble.contains(array, 3, to, value), this.vectorDouble.contains(array, 3, to, value));
+            }
+            double present = array[size / 2 + 2];
+            Assert.assertEquals(this.scalarDouble.contains(array, 3, to, present), this.vectorDouble.contains(array, 3, to, present));
+        }
+    }
+
+    @Test
+    public void doubleMinAndMaxWithSignedZerosAndNaN()
+    {
+        double[] array = new double[100];
+        Arrays.fill(array, 0.0);
+        array[37] = -0.0;
+        VectorKernelsTest.assertSameDouble(-0.0, this.vectorDouble.min(array, 0, array.length));
+        VectorKernelsTest.assertSameDouble(0.0, this.vectorDouble.max(array, 0, array.length));
+        array[5] = Double.NaN;
+        VectorKernelsTest.assertSameDouble(-0.0, this.vectorDouble.min(array, 0, array.length));
+        VectorKernelsTest.assertSameDouble(Double.NaN, this.vectorDouble.max(array, 0, array.length));
+        Assert.assertTrue(this.vectorDouble.contains(array, 0, array.length, Double.NaN));
+        Assert.assertTrue(this.vectorDouble.contains(array, 0, array.length, -0.0));
+        Assert.assertFalse(this.vectorDouble.contains(array, 0, 30, -0.0));
+    }
+
+    @Test
+    public void doubleComparisons()
+    {
+        Random random = new Random(8L);
+        for (int size : SIZES)
+        {
+            double[] array = VectorKernelsTest.randomDoubles(random, size, true);
+            for (VectorComparison comparison : VectorComparison.values())
+            {
+                for (double value : new double[]{1.5, Double.NaN, 0.0})
+                {
+                    Assert.assertEquals(
+                            this.scalarDouble.count(array, 0, size, comparison, value),
+                            this.vectorDouble.count(array, 0, size, comparison, value));
+                    double[] expected = new double[size + 1];
+                    double[] actual = new double[size + 1];
+                    Assert.assertEquals(
+                            this.scalarDouble.select(array, 0, size, comparison, value, expected, 1),
+                            this.vectorDouble.select(array, 0, size, comparison, value, actual, 1));
+                    Assert.assertArrayEquals(expected, actual, 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void doubleElementwise()
+    {
+        Random random = new Random(9L);
+        for (int size : SIZES)
+        {
+            double[] left = VectorKernelsTest.randomDoubles(random, size, true);
+            double[] right = VectorKernelsTest.randomDoubles(random, size, true);
+            double[] expected = new double[size];
+            double[] actual = new double[size];
+            this.scalarDouble.add(left, right, expected, 0, size);
+            this.vectorDouble.add(left, right, actual, 0, size);
+            Assert.assertArrayEquals(expected, actual, 0.0);
+            this.scalarDouble.multiply(left, right, expected, 0, size);
+            this.vectorDouble.multiply(left, right, actual, 0, size);
+            Assert.assertArrayEquals(expected, actual, 0.0);
+        }
+    }
+}
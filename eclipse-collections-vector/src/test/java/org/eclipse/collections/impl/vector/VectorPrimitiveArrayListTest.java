@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.vector;
+
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link VectorIntArrayList}, {@link VectorLongArrayList} and {@link VectorDoubleArrayList}.
+ */
+public class VectorPrimitiveArrayListTest
+{
+    @Test
+    public void intList()
+    {
+        VectorIntArrayList list = VectorIntArrayList.newListWith(5, -3, 8, 0, 8, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13);
+        list.add(-7);
+        Assert.assertEquals(102L, list.sum());
+        Assert.assertEquals(-7, list.min());
+        Assert.assertEquals(13, list.max());
+        Assert.assertEquals(102.0 / 19.0, list.average(), 0.0);
+        Assert.assertTrue(list.contains(-7));
+        Assert.assertFalse(list.contains(14));
+        Assert.assertEquals(3, list.count(VectorComparison.EQUAL, 8));
+        Assert.assertEquals(2, list.count(VectorComparison.LESS_THAN, 0));
+        Assert.assertEquals(IntArrayList.newListWith(-3, 0, -7), list.select(VectorComparison.LESS_THAN_OR_EQUAL, 0));
+        Verify.assertInstanceOf(VectorIntArrayList.class, list.select(VectorComparison.GREATER_THAN, 100));
+
+        VectorIntArrayList other = VectorIntArrayList.newListWith(1, 2, 3);
+        Assert.assertEquals(IntArrayList.newListWith(2, 4, 6), other.plus(other));
+        Assert.assertEquals(IntArrayList.newListWith(1, 4, 9), other.times(IntArrayList.newListWith(1, 2, 3)));
+        Assert.assertEquals(14L, other.dotProduct(other));
+        Assert.assertEquals(14L, other.dotProduct(IntArrayList.newListWith(1, 2, 3)));
+        Assert.assertEquals(IntArrayList.newListWith(1, 2, 3), VectorIntArrayList.newList(other));
+        Assert.assertThrows(IllegalArgumentException.class, () -> other.plus(list));
+        Assert.assertThrows(IllegalArgumentException.class, () -> other.dotProduct(list));
+        Assert.assertThrows(NoSuchElementException.class, () -> new VectorIntArrayList().min());
+    }
+
+    @Test
+    public void longList()
+    {
+        VectorLongArrayList list = new VectorLongArrayList(20);
+        for (long i = 1L; i <= 20L; i++)
+        {
+            list.add(i * 1_000_000_000_000L);
+        }
+        Assert.assertEquals(210_000_000_000_000L, list.sum());
+        Assert.assertEquals(1_000_000_000_000L, list.min());
+        Assert.assertEquals(20_000_000_000_000L, list.max());
+        Assert.assertTrue(list.contains(7_000_000_000_000L));
+        Assert.assertFalse(list.contains(7L));
+        Assert.assertEquals(5, list.count(VectorComparison.GREATER_THAN_OR_EQUAL, 16_000_000_000_000L));
+        Assert.assertEquals(
+                LongArrayList.newListWith(1_000_000_000_000L, 2_000_000_000_000L),
+                list.select(VectorComparison.LESS_THAN, 3_000_000_000_000L));
+
+        VectorLongArrayList other = VectorLongArrayList.newListWith(1L, 2L, 3L);
+        Assert.assertEquals(LongArrayList.newListWith(2L, 4L, 6L), other.plus(other));
+        Assert.assertEquals(LongArrayList.newListWith(1L, 4L, 9L), other.times(other));
+        Assert.assertEquals(14L, other.dotProduct(LongArrayList.newListWith(1L, 2L, 3L)));
+        Assert.assertThrows(IllegalArgumentException.class, () -> other.times(list));
+        Assert.assertThrows(NoSuchElementException.class, () -> new VectorLongArrayList().max());
+    }
+
+    @Test
+    public void doubleList()
+    {
+        VectorDoubleArrayList list = VectorDoubleArrayList.newListWith(0.5, -1.5, 2.0, Double.NaN, -0.0, 0.0, 3.0, 4.0, 5.0, 6.0);
+        Assert.assertTrue(Double.isNaN(list.sum()));
+        Assert.assertEquals(-1.5, list.min(), 0.0);
+        Assert.assertTrue(Double.isNaN(list.max()));
+        Assert.assertTrue(list.contains(Double.NaN));
+        Assert.assertTrue(list.contains(-0.0));
+        Assert.assertFalse(list.contains(1.0));
+        Assert.assertEquals(9, list.count(VectorComparison.NOT_EQUAL, 6.0));
+        Assert.assertEquals(DoubleArrayList.newListWith(-1.5, -0.0, 0.0), list.select(VectorComparison.LESS_THAN_OR_EQUAL, 0.0));
+
+        VectorDoubleArrayList other = VectorDoubleArrayList.newListWith(1.0, 2.0, 3.0);
+        Assert.assertEquals(DoubleArrayList.newListWith(2.0, 4.0, 6.0), other.plus(other));
+        Assert.assertEquals(DoubleArrayList.newListWith(1.0, 4.0, 9.0), other.times(DoubleArrayList.newListWith(1.0, 2.0, 3.0)));
+        Assert.assertEquals(14.0, other.dotProduct(other), 0.0);
+        Assert.assertEquals(6.0, other.sum(), 0.0);
+        Assert.assertEquals(2.0, other.average(), 0.0);
+        Assert.assertThrows(IllegalArgumentException.class, () -> other.dotProduct(list));
+        Assert.assertThrows(NoSuchElementException.class, () -> new VectorDoubleArrayList().min());
+    }
+}
@@ -12,8 +12,11 @@ package org.eclipse.collections.impl.bag.immutable;
 
 import org.eclipse.collections.api.bag.Bag;
 import org.eclipse.collections.api.bag.ImmutableBag;
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.factory.Bags;
 import org.eclipse.collections.api.factory.bag.ImmutableBagFactory;
 import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.internal.ImmutableThresholds;
 
 public class ImmutableBagFactoryImpl implements ImmutableBagFactory
 {
@@ -70,6 +73,11 @@ public class ImmutableBagFactoryImpl implements ImmutableBagFactory
         {
             return ImmutableArrayBag.newBagWith(elements);
         }
+        if (elements.length >= ImmutableThresholds.PERSISTENT_SIZE)
+        {
+            MutableBag<T> bag = Bags.mutable.with(elements);
+            return bag.sizeDistinct() >= ImmutableThresholds.PERSISTENT_SIZE ? new ImmutableHashTrieBag<>(bag) : new ImmutableHashBag<>(bag);
+        }
         return ImmutableHashBag.newBagWith(elements);
     }
 
@@ -101,6 +109,10 @@ public class ImmutableBagFactoryImpl implements ImmutableBagFactory
             {
                 return ImmutableArrayBag.copyFrom(bag);
             }
+            if (bag.sizeDistinct() >= ImmutableThresholds.PERSISTENT_SIZE)
+            {
+                return new ImmutableHashTrieBag<>(bag);
+            }
             return new ImmutableHashBag<>(bag);
         }
         return this.of((T[]) Iterate.toArray(items));
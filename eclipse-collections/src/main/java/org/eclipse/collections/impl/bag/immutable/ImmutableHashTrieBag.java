@@ -0,0 +1,1263 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.immutable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.ImmutableBag;
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.primitive.IntPredicate;
+import org.eclipse.collections.api.block.predicate.primitive.ObjectIntPredicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.factory.Bags;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.multimap.bag.ImmutableBagMultimap;
+import org.eclipse.collections.api.ordered.OrderedIterable;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.bag.mutable.HashBag;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.multimap.bag.HashBagMultimap;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * An ImmutableBag backed by a compressed hash array mapped trie of distinct elements and their occurrences. Each node
+ * of the trie consumes five bits of the spread hash code of an element and holds up to 32 slots, each of which is
+ * either an inlined element with its count or a child node.
+ * <p>
+ * newWith and newWithout copy only the nodes on the path from the root to the changed element, and share every other
+ * node with the original bag, so that evolving a large bag one element at a time costs O(log32 n) rather than the
+ * O(n) copy of an {@link ImmutableHashBag}. When both bags are ImmutableHashTrieBags, newWithAll adds the counts of the
+ * two tries side by side and newWithoutAll removes the elements of one trie from the other, adopting the subtrees that
+ * only one of the bags has without visiting their elements.
+ * <p>
+ * {@link org.eclipse.collections.api.factory.Bags#immutable} returns this implementation for bags of at least
+ * {@link org.eclipse.collections.impl.utility.internal.ImmutableThresholds#PERSISTENT_SIZE} distinct elements.
+ *
+ * @since 11.1
+ */
+public class ImmutableHashTrieBag<T>
+        extends AbstractImmutableBag<T>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int BITS = 5;
+    private static final int HASH_BITS = 32;
+    private static final int MAX_DEPTH = 8;
+    private static final Object NOT_FOUND = new Object();
+
+    private final Node<T> root;
+
+    public ImmutableHashTrieBag(Iterable<? extends T> source)
+    {
+        this.root = ImmutableHashTrieBag.<T>emptyNode().withAll(new Object(), source);
+    }
+
+    private ImmutableHashTrieBag(Node<T> root)
+    {
+        this.root = root;
+    }
+
+    public static <T> ImmutableHashTrieBag<T> newBag(Iterable<? extends T> source)
+    {
+        return new ImmutableHashTrieBag<>(source);
+    }
+
+    public static <T> ImmutableHashTrieBag<T> newBagWith(T... elements)
+    {
+        return new ImmutableHashTrieBag<>(Arrays.asList(elements));
+    }
+
+    private static <T> Node<T> emptyNode()
+    {
+        return (Node<T>) Node.EMPTY;
+    }
+
+    private static int spread(Object element)
+    {
+        // The same spread as UnifiedMap, so that hash codes that differ only in their high bits still diverge in the
+        // five bit chunks consumed by the first levels of the trie.
+        int h = element == null ? 0 : element.hashCode();
+        h ^= h >>> 20 ^ h >>> 12;
+        return h ^ h >>> 7 ^ h >>> 4;
+    }
+
+    private static int bit(int hash, int shift)
+    {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    private static boolean nullSafeEquals(Object element, Object other)
+    {
+        return element == other || element != null && element.equals(other);
+    }
+
+    @Override
+    public ImmutableBag<T> newWith(T element)
+    {
+        return this.withRoot(this.root.added(null, element, ImmutableHashTrieBag.spread(element), 0, 1));
+    }
+
+    @Override
+    public ImmutableBag<T> newWithout(T element)
+    {
+        return this.withRoot(this.root.removed(null, element, ImmutableHashTrieBag.spread(element), 0, 1));
+    }
+
+    @Override
+    public ImmutableBag<T> newWithAll(Iterable<? extends T> elements)
+    {
+        if (elements instanceof ImmutableHashTrieBag<?>)
+        {
+            return this.withRoot(Node.sum(this.root, ((ImmutableHashTrieBag<T>) elements).root, 0));
+        }
+        return this.withRoot(this.root.withAll(new Object(), elements));
+    }
+
+    @Override
+    public ImmutableBag<T> newWithoutAll(Iterable<? extends T> elements)
+    {
+        if (elements instanceof ImmutableHashTrieBag<?>)
+        {
+            return this.withRoot(Node.difference(this.root, ((ImmutableHashTrieBag<T>) elements).root, 0));
+        }
+        Object owner = new Object();
+        Node<T> newRoot = this.root;
+        for (T element : elements)
+        {
+            newRoot = newRoot.removed(owner, element, ImmutableHashTrieBag.spread(element), 0, Integer.MAX_VALUE);
+        }
+        return this.withRoot(newRoot);
+    }
+
+    private ImmutableBag<T> withRoot(Node<T> newRoot)
+    {
+        if (newRoot == this.root)
+        {
+            return this;
+        }
+        return newRoot.size == 0 ? Bags.immutable.empty() : new ImmutableHashTrieBag<>(newRoot);
+    }
+
+    @Override
+    public int size()
+    {
+        return this.root.size;
+    }
+
+    @Override
+    public int sizeDistinct()
+    {
+        return this.root.distinct;
+    }
+
+    @Override
+    public int occurrencesOf(Object item)
+    {
+        return this.root.occurrencesOf(item, ImmutableHashTrieBag.spread(item), 0);
+    }
+
+    @Override
+    public boolean contains(Object object)
+    {
+        return this.occurrencesOf(object) > 0;
+    }
+
+    @Override
+    public void forEachWithOccurrences(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        this.root.forEachWithOccurrences(objectIntProcedure);
+    }
+
+    @Override
+    public boolean anySatisfyWithOccurrences(ObjectIntPredicate<? super T> predicate)
+    {
+        return this.root.detectWithOccurrences(predicate) != NOT_FOUND;
+    }
+
+    @Override
+    public boolean allSatisfyWithOccurrences(ObjectIntPredicate<? super T> predicate)
+    {
+        return this.root.detectWithOccurrences((each, occurrences) -> !predicate.accept(each, occurrences)) == NOT_FOUND;
+    }
+
+    @Override
+    public boolean noneSatisfyWithOccurrences(ObjectIntPredicate<? super T> predicate)
+    {
+        return this.root.detectWithOccurrences(predicate) == NOT_FOUND;
+    }
+
+    @Override
+    public T detectWithOccurrences(ObjectIntPredicate<? super T> predicate)
+    {
+        Object result = this.root.detectWithOccurrences(predicate);
+        return result == NOT_FOUND ? null : (T) result;
+    }
+
+    @Override
+    public MutableMap<T, Integer> toMapOfItemToCount()
+    {
+        MutableMap<T, Integer> map = UnifiedMap.newMap(this.sizeDistinct());
+        this.forEachWithOccurrences(map::put);
+        return map;
+    }
+
+    @Override
+    public ImmutableBag<T> selectByOccurrences(IntPredicate predicate)
+    {
+        MutableBag<T> result = HashBag.newBag();
+        this.forEachWithOccurrences((each, occurrences) -> {
+            if (predicate.accept(occurrences))
+            {
+                result.addOccurrences(each, occurrences);
+            }
+        });
+        return result.toImmutable();
+    }
+
+    @Override
+    public <S> ImmutableBag<S> selectInstancesOf(Class<S> clazz)
+    {
+        MutableBag<S> result = HashBag.newBag();
+        this.forEachWithOccurrences((each, occurrences) -> {
+            if (clazz.isInstance(each))
+            {
+                result.addOccurrences((S) each, occurrences);
+            }
+        });
+        return result.toImmutable();
+    }
+
+    @Override
+    public <V> ImmutableBagMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.groupBy(function, HashBagMultimap.<V, T>newMultimap()).toImmutable();
+    }
+
+    @Override
+    public <V> ImmutableBagMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.groupByEach(function, HashBagMultimap.newMultimap()).toImmutable();
+    }
+
+    @Override
+    public T getFirst()
+    {
+        return this.root.size == 0 ? null : this.root.first();
+    }
+
+    @Override
+    public T getLast()
+    {
+        return this.root.size == 0 ? null : this.root.last();
+    }
+
+    @Override
+    public T getOnly()
+    {
+        if (this.root.size == 0)
+        {
+            throw new IllegalStateException("Size must be 1 but was 0");
+        }
+        if (this.root.size > 1)
+        {
+            throw new IllegalStateException("Size must be 1 but was greater than 1");
+        }
+        return this.getFirst();
+    }
+
+    @Override
+    public ImmutableBag<T> select(Predicate<? super T> predicate)
+    {
+        return this.select(predicate, HashBag.newBag()).toImmutable();
+    }
+
+    @Override
+    public ImmutableBag<T> reject(Predicate<? super T> predicate)
+    {
+        return this.reject(predicate, HashBag.newBag()).toImmutable();
+    }
+
+    @Override
+    public <V> ImmutableBag<V> collect(Function<? super T, ? extends V> function)
+    {
+        return this.collect(function, HashBag.<V>newBag()).toImmutable();
+    }
+
+    @Override
+    public <V> ImmutableBag<V> collectIf(
+            Predicate<? super T> predicate,
+            Function<? super T, ? extends V> function)
+    {
+        return this.collectIf(predicate, function, HashBag.<V>newBag()).toImmutable();
+    }
+
+    @Override
+    public <V> ImmutableBag<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.flatCollect(function, HashBag.<V>newBag()).toImmutable();
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof Bag))
+        {
+            return false;
+        }
+        Bag<?> bag = (Bag<?>) other;
+        if (this.size() != bag.size() || this.sizeDistinct() != bag.sizeDistinct())
+        {
+            return false;
+        }
+        return this.allSatisfyWithOccurrences((each, occurrences) -> occurrences == bag.occurrencesOf(each));
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.root.elementHashCode();
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        this.root.forEachWithOccurrences((each, occurrences) -> {
+            for (int i = 0; i < occurrences; i++)
+            {
+                procedure.value(each);
+            }
+        });
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new TrieIterator<>(this.root);
+    }
+
+    /**
+     * @deprecated in 6.0. Use {@link OrderedIterable#zip(Iterable)} instead.
+     */
+    @Override
+    @Deprecated
+    public <S> ImmutableBag<Pair<T, S>> zip(Iterable<S> that)
+    {
+        if (that instanceof Collection || that instanceof RichIterable)
+        {
+            int thatSize = Iterate.sizeOf(that);
+            HashBag<Pair<T, S>> target = HashBag.newBag(Math.min(this.size(), thatSize));
+            return this.zip(that, target).toImmutable();
+        }
+        return this.zip(that, HashBag.newBag()).toImmutable();
+    }
+
+    /**
+     * @deprecated in 6.0. Use {@link OrderedIterable#zipWithIndex()} instead.
+     */
+    @Override
+    @Deprecated
+    public ImmutableSet<Pair<T, Integer>> zipWithIndex()
+    {
+        return this.zipWithIndex(Sets.mutable.withInitialCapacity(this.size())).toImmutable();
+    }
+
+    protected Object writeReplace()
+    {
+        return new ImmutableBagSerializationProxy<>(this);
+    }
+
+    @Override
+    public RichIterable<T> distinctView()
+    {
+        MutableSet<T> distinct = Sets.mutable.withInitialCapacity(this.sizeDistinct());
+        this.forEachWithOccurrences((each, occurrences) -> distinct.add(each));
+        return distinct.asUnmodifiable();
+    }
+
+    /**
+     * A node of the trie. The content array holds the inlined elements, in the order of their bits in the data map,
+     * followed by the child nodes, in the order of their bits in the node map, and the counts array holds the
+     * occurrences of each inlined element. A node below the last level that hash bits can address is a collision node:
+     * both its maps are zero and its content holds only elements, all of which have the same spread hash code. Each
+     * node records the occurrences and the distinct elements below it, so that the bag operations can adopt a subtree
+     * whole.
+     * <p>
+     * The trie is kept canonical: a subtree holding a single distinct element is always inlined into its parent as that
+     * element and its count.
+     * <p>
+     * A node is edited in place only by the operation that owns it, which is the one that created it with the same
+     * owner token. Every node reachable from a published bag has an owner that no operation still holds.
+     */
+    private static final class Node<T>
+    {
+        private static final Node<?> EMPTY = new Node<>(null, 0, 0, new Object[0], new int[0], 0, 0);
+
+        private final Object owner;
+        private int dataMap;
+        private int nodeMap;
+        private Object[] content;
+        private int[] counts;
+        private int size;
+        private int distinct;
+
+        private Node(Object owner, int dataMap, int nodeMap, Object[] content, int[] counts, int size, int distinct)
+        {
+            this.owner = owner;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+            this.counts = counts;
+            this.size = size;
+            this.distinct = distinct;
+        }
+
+        private int elementArity()
+        {
+            return this.counts.length;
+        }
+
+        private int elementIndex(int bit)
+        {
+            return Integer.bitCount(this.dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit)
+        {
+            return Integer.bitCount(this.dataMap) + Integer.bitCount(this.nodeMap & (bit - 1));
+        }
+
+        private Node<T> nodeAt(int bit)
+        {
+            return (Node<T>) this.content[this.nodeIndex(bit)];
+        }
+
+        private int collisionIndex(Object element)
+        {
+            for (int i = 0; i < this.content.length; i++)
+            {
+                if (ImmutableHashTrieBag.nullSafeEquals(element, this.content[i]))
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int occurrencesOf(Object element, int hash, int startShift)
+        {
+            Node<T> node = this;
+            for (int shift = startShift; shift < HASH_BITS; shift += BITS)
+            {
+                int bit = ImmutableHashTrieBag.bit(hash, shift);
+                if ((node.dataMap & bit) != 0)
+                {
+                    int index = node.elementIndex(bit);
+                    return ImmutableHashTrieBag.nullSafeEquals(element, node.content[index]) ? node.counts[index] : 0;
+                }
+                if ((node.nodeMap & bit) == 0)
+                {
+                    return 0;
+                }
+                node = node.nodeAt(bit);
+            }
+            int index = node.collisionIndex(element);
+            return index < 0 ? 0 : node.counts[index];
+        }
+
+        private boolean isOwnedBy(Object owner)
+        {
+            return owner != null && this.owner == owner;
+        }
+
+        private Node<T> withContent(
+                Object owner,
+                int newDataMap,
+                int newNodeMap,
+                Object[] newContent,
+                int[] newCounts,
+                int newSize,
+                int newDistinct)
+        {
+            if (this.isOwnedBy(owner))
+            {
+                this.dataMap = newDataMap;
+                this.nodeMap = newNodeMap;
+                this.content = newContent;
+                this.counts = newCounts;
+                this.size = newSize;
+                this.distinct = newDistinct;
+                return this;
+            }
+            return new Node<>(owner, newDataMap, newNodeMap, newContent, newCounts, newSize, newDistinct);
+        }
+
+        /**
+         * Changes the count of the element at index. A copy shares the content array of this node unless the copy is
+         * owned, and so may be edited in place.
+         */
+        private Node<T> withCount(Object owner, int index, int count)
+        {
+            int newSize = this.size + count - this.counts[index];
+            if (this.isOwnedBy(owner))
+            {
+                this.counts[index] = count;
+                this.size = newSize;
+                return this;
+            }
+            int[] newCounts = this.counts.clone();
+            newCounts[index] = count;
+            Object[] newContent = owner == null ? this.content : this.content.clone();
+            return new Node<>(owner, this.dataMap, this.nodeMap, newContent, newCounts, newSize, this.distinct);
+        }
+
+        private Node<T> withSlot(Object owner, int index, Node<T> child, int newSize, int newDistinct)
+        {
+            if (this.isOwnedBy(owner))
+            {
+                this.content[index] = child;
+                this.size = newSize;
+                this.distinct = newDistinct;
+                return this;
+            }
+            Object[] newContent = this.content.clone();
+            newContent[index] = child;
+            int[] newCounts = owner == null ? this.counts : this.counts.clone();
+            return new Node<>(owner, this.dataMap, this.nodeMap, newContent, newCounts, newSize, newDistinct);
+        }
+
+        private Node<T> withAll(Object owner, Iterable<? extends T> elements)
+        {
+            if (elements instanceof Bag<?>)
+            {
+                Node<T>[] result = new Node[]{this};
+                ((Bag<T>) elements).forEachWithOccurrences((each, occurrences) ->
+                        result[0] = result[0].added(owner, each, ImmutableHashTrieBag.spread(each), 0, occurrences));
+                return result[0];
+            }
+            Node<T> result = this;
+            for (T element : elements)
+            {
+                result = result.added(owner, element, ImmutableHashTrieBag.spread(element), 0, 1);
+            }
+            return result;
+        }
+
+        private Node<T> added(Object owner, T element, int hash, int shift, int occurrences)
+        {
+            if (shift >= HASH_BITS)
+            {
+                int index = this.collisionIndex(element);
+                if (index >= 0)
+                {
+                    return this.withCount(owner, index, this.counts[index] + occurrences);
+                }
+                int length = this.content.length;
+                return this.withContent(
+                        owner,
+                        0,
+                        0,
+                        Node.insert(this.content, length, element),
+                        Node.insert(this.counts, length, occurrences),
+                        this.size + occurrences,
+                        this.distinct + 1);
+            }
+            int bit = ImmutableHashTrieBag.bit(hash, shift);
+            if ((this.dataMap & bit) != 0)
+            {
+                int index = this.elementIndex(bit);
+                Object existing = this.content[index];
+                if (ImmutableHashTrieBag.nullSafeEquals(element, existing))
+                {
+                    return this.withCount(owner, index, this.counts[index] + occurrences);
+                }
+                Node<T> child = Node.mergeTwo(
+                        owner,
+                        existing,
+                        ImmutableHashTrieBag.spread(existing),
+                        this.counts[index],
+                        element,
+                        hash,
+                        occurrences,
+                        shift + BITS);
+                return this.withContent(
+                        owner,
+                        this.dataMap ^ bit,
+                        this.nodeMap | bit,
+                        Node.migrateInlineToNode(this.content, index, this.nodeIndex(bit), child),
+                        Node.remove(this.counts, index),
+                        this.size + occurrences,
+                        this.distinct + 1);
+            }
+            if ((this.nodeMap & bit) != 0)
+            {
+                int index = this.nodeIndex(bit);
+                Node<T> child = (Node<T>) this.content[index];
+                int childSize = child.size;
+                int childDistinct = child.distinct;
+                Node<T> newChild = child.added(owner, element, hash, shift + BITS, occurrences);
+                return this.withSlot(
+                        owner,
+                        index,
+                        newChild,
+                        this.size + newChild.size - childSize,
+                        this.distinct + newChild.distinct - childDistinct);
+            }
+            int index = this.elementIndex(bit);
+            return this.withContent(
+                    owner,
+                    this.dataMap | bit,
+                    this.nodeMap,
+                    Node.insert(this.content, index, element),
+                    Node.insert(this.counts, index, occurrences),
+                    this.size + occurrences,
+                    this.distinct + 1);
+        }
+
+        /**
+         * Removes up to the given number of occurrences of the element, and the element itself when none remain.
+         */
+        private Node<T> removed(Object owner, Object element, int hash, int shift, int occurrences)
+        {
+            if (shift >= HASH_BITS)
+            {
+                int index = this.collisionIndex(element);
+                if (index < 0)
+                {
+                    return this;
+                }
+                if (this.counts[index] > occurrences)
+                {
+                    return this.withCount(owner, index, this.counts[index] - occurrences);
+                }
+                if (this.content.length == 2)
+                {
+                    // The single remaining element is given its bit for the root level, so that it is valid wherever
+                    // the parents inline it, or as the root itself
+                    return Node.singleton(owner, this.content[1 - index], this.counts[1 - index], hash);
+                }
+                return this.withContent(
+                        owner,
+                        0,
+                        0,
+                        Node.remove(this.content, index),
+                        Node.remove(this.counts, index),
+                        this.size - this.counts[index],
+                        this.distinct - 1);
+            }
+            int bit = ImmutableHashTrieBag.bit(hash, shift);
+            if ((this.dataMap & bit) != 0)
+            {
+                int index = this.elementIndex(bit);
+                if (!ImmutableHashTrieBag.nullSafeEquals(element, this.content[index]))
+                {
+                    return this;
+                }
+                if (this.counts[index] > occurrences)
+                {
+                    return this.withCount(owner, index, this.counts[index] - occurrences);
+                }
+                if (shift > 0 && this.nodeMap == 0 && this.counts.length == 2)
+                {
+                    Object remaining = this.content[1 - index];
+                    return Node.singleton(owner, remaining, this.counts[1 - index], ImmutableHashTrieBag.spread(remaining));
+                }
+                return this.withContent(
+                        owner,
+                        this.dataMap ^ bit,
+                        this.nodeMap,
+                        Node.remove(this.content, index),
+                        Node.remove(this.counts, index),
+                        this.size - this.counts[index],
+                        this.distinct - 1);
+            }
+            if ((this.nodeMap & bit) != 0)
+            {
+                int index = this.nodeIndex(bit);
+                Node<T> child = (Node<T>) this.content[index];
+                int childSize = child.size;
+                int childDistinct = child.distinct;
+                Node<T> newChild = child.removed(owner, element, hash, shift + BITS, occurrences);
+                if (newChild.size == childSize)
+                {
+                    return this;
+                }
+                int newSize = this.size + newChild.size - childSize;
+                int newDistinct = this.distinct + newChild.distinct - childDistinct;
+                if (newChild.distinct == 1)
+                {
+                    if (this.dataMap == 0 && Integer.bitCount(this.nodeMap) == 1)
+                    {
+                        return newChild;
+                    }
+                    int elementIndex = this.elementIndex(bit);
+                    return this.withContent(
+                            owner,
+                            this.dataMap | bit,
+                            this.nodeMap ^ bit,
+                            Node.migrateNodeToInline(this.content, index, elementIndex, newChild.content[0]),
+                            Node.insert(this.counts, elementIndex, newChild.counts[0]),
+                            newSize,
+                            newDistinct);
+                }
+                return this.withSlot(owner, index, newChild, newSize, newDistinct);
+            }
+            return this;
+        }
+
+        private static <T> Node<T> singleton(Object owner, Object element, int count, int hash)
+        {
+            return new Node<>(owner, ImmutableHashTrieBag.bit(hash, 0), 0, new Object[]{element}, new int[]{count}, count, 1);
+        }
+
+        private static <T> Node<T> mergeTwo(
+                Object owner,
+                Object element1,
+                int hash1,
+                int count1,
+                Object element2,
+                int hash2,
+                int count2,
+                int shift)
+        {
+            int size = count1 + count2;
+            if (shift >= HASH_BITS)
+            {
+                return new Node<>(owner, 0, 0, new Object[]{element1, element2}, new int[]{count1, count2}, size, 2);
+            }
+            int mask1 = (hash1 >>> shift) & 31;
+            int mask2 = (hash2 >>> shift) & 31;
+            if (mask1 != mask2)
+            {
+                int dataMap = (1 << mask1) | (1 << mask2);
+                return mask1 < mask2
+                        ? new Node<>(owner, dataMap, 0, new Object[]{element1, element2}, new int[]{count1, count2}, size, 2)
+                        : new Node<>(owner, dataMap, 0, new Object[]{element2, element1}, new int[]{count2, count1}, size, 2);
+            }
+            Node<T> child = Node.mergeTwo(owner, element1, hash1, count1, element2, hash2, count2, shift + BITS);
+            return new Node<>(owner, 0, 1 << mask1, new Object[]{child}, new int[0], size, 2);
+        }
+
+        /**
+         * Returns a node with the occurrences of both nodes at the given shift.
+         */
+        private static <T> Node<T> sum(Node<T> first, Node<T> second, int shift)
+        {
+            if (second.size == 0)
+            {
+                return first;
+            }
+            if (first.size == 0)
+            {
+                return second;
+            }
+            if (shift >= HASH_BITS)
+            {
+                int length = first.content.length + second.content.length;
+                Object[] elements = Arrays.copyOf(first.content, length);
+                int[] counts = Arrays.copyOf(first.counts, length);
+                int distinct = first.content.length;
+                for (int i = 0; i < second.content.length; i++)
+                {
+                    int index = first.collisionIndex(second.content[i]);
+                    if (index >= 0)
+                    {
+                        counts[index] += second.counts[i];
+                    }
+                    else
+                    {
+                        elements[distinct] = second.content[i];
+                        counts[distinct] = second.counts[i];
+                        distinct++;
+                    }
+                }
+                return new Node<>(
+                        null,
+                        0,
+                        0,
+                        Arrays.copyOf(elements, distinct),
+                        Arrays.copyOf(counts, distinct),
+                        first.size + second.size,
+                        distinct);
+            }
+            Builder<T> builder = new Builder<>(first);
+            builder.same = false;
+            int bits = first.dataMap | first.nodeMap | second.dataMap | second.nodeMap;
+            while (bits != 0)
+            {
+                int bit = Integer.lowestOneBit(bits);
+                bits ^= bit;
+                if ((first.dataMap & bit) != 0)
+                {
+                    int index = first.elementIndex(bit);
+                    T element = (T) first.content[index];
+                    int count = first.counts[index];
+                    if ((second.dataMap & bit) != 0)
+                    {
+                        int otherIndex = second.elementIndex(bit);
+                        Object other = second.content[otherIndex];
+                        int otherCount = second.counts[otherIndex];
+                        if (ImmutableHashTrieBag.nullSafeEquals(element, other))
+                        {
+                            builder.addElement(bit, element, count + otherCount, false);
+                        }
+                        else
+                        {
+                            builder.addNode(bit, Node.mergeTwo(
+                                    null,
+                                    element,
+                                    ImmutableHashTrieBag.spread(element),
+                                    count,
+                                    other,
+                                    ImmutableHashTrieBag.spread(other),
+                                    otherCount,
+                                    shift + BITS), false);
+                        }
+                    }
+                    else if ((second.nodeMap & bit) != 0)
+                    {
+                        Node<T> child = second.nodeAt(bit);
+                        builder.addNode(bit, child.added(null, element, ImmutableHashTrieBag.spread(element), shift + BITS, count), false);
+                    }
+                    else
+                    {
+                        builder.addElement(bit, element, count, false);
+                    }
+                }
+                else if ((first.nodeMap & bit) != 0)
+                {
+                    Node<T> child = first.nodeAt(bit);
+                    if ((second.dataMap & bit) != 0)
+                    {
+                        int otherIndex = second.elementIndex(bit);
+                        T other = (T) second.content[otherIndex];
+                        int hash = ImmutableHashTrieBag.spread(other);
+                        builder.addNode(bit, child.added(null, other, hash, shift + BITS, second.counts[otherIndex]), false);
+                    }
+                    else if ((second.nodeMap & bit) != 0)
+                    {
+                        builder.addNode(bit, Node.sum(child, second.nodeAt(bit), shift + BITS), false);
+                    }
+                    else
+                    {
+                        builder.addNode(bit, child, false);
+                    }
+                }
+                else if ((second.dataMap & bit) != 0)
+                {
+                    int otherIndex = second.elementIndex(bit);
+                    builder.addElement(bit, second.content[otherIndex], second.counts[otherIndex], false);
+                }
+                else
+                {
+                    builder.addNode(bit, second.nodeAt(bit), false);
+                }
+            }
+            return builder.build();
+        }
+
+        /**
+         * Returns the elements of the first node at the given shift, with their counts, that the second node does not
+         * contain.
+         */
+        private static <T> Node<T> difference(Node<T> first, Node<T> second, int shift)
+        {
+            if (first == second)
+            {
+                return ImmutableHashTrieBag.emptyNode();
+            }
+            if (first.size == 0 || second.size == 0)
+            {
+                return first;
+            }
+            if (shift >= HASH_BITS)
+            {
+                Object[] elements = new Object[first.content.length];
+                int[] counts = new int[first.content.length];
+                int distinct = 0;
+                int size = 0;
+                for (int i = 0; i < first.content.length; i++)
+                {
+                    if (second.collisionIndex(first.content[i]) < 0)
+                    {
+                        elements[distinct] = first.content[i];
+                        counts[distinct] = first.counts[i];
+                        size += first.counts[i];
+                        distinct++;
+                    }
+                }
+                if (distinct == first.content.length)
+                {
+                    return first;
+                }
+                return new Node<>(null, 0, 0, Arrays.copyOf(elements, distinct), Arrays.copyOf(counts, distinct), size, distinct);
+            }
+            Builder<T> builder = new Builder<>(first);
+            int bits = first.dataMap | first.nodeMap;
+            while (bits != 0)
+            {
+                int bit = Integer.lowestOneBit(bits);
+                bits ^= bit;
+                if ((first.dataMap & bit) != 0)
+                {
+                    int index = first.elementIndex(bit);
+                    Object element = first.content[index];
+                    if (second.occurrencesOf(element, ImmutableHashTrieBag.spread(element), shift) == 0)
+                    {
+                        builder.addElement(bit, element, first.counts[index], true);
+                    }
+                    else
+                    {
+                        builder.same = false;
+                    }
+                }
+                else
+                {
+                    Node<T> child = first.nodeAt(bit);
+                    Node<T> newChild = child;
+                    if ((second.dataMap & bit) != 0)
+                    {
+                        Object other = second.content[second.elementIndex(bit)];
+                        newChild = child.removed(null, other, ImmutableHashTrieBag.spread(other), shift + BITS, Integer.MAX_VALUE);
+                    }
+                    else if ((second.nodeMap & bit) != 0)
+                    {
+                        newChild = Node.difference(child, second.nodeAt(bit), shift + BITS);
+                    }
+                    builder.addChild(bit, child, newChild);
+                }
+            }
+            return builder.build();
+        }
+
+        private static Object[] insert(Object[] source, int index, Object element)
+        {
+            Object[] result = new Object[source.length + 1];
+            System.arraycopy(source, 0, result, 0, index);
+            result[index] = element;
+            System.arraycopy(source, index, result, index + 1, source.length - index);
+            return result;
+        }
+
+        private static int[] insert(int[] source, int index, int count)
+        {
+            int[] result = new int[source.length + 1];
+            System.arraycopy(source, 0, result, 0, index);
+            result[index] = count;
+            System.arraycopy(source, index, result, index + 1, source.length - index);
+            return result;
+        }
+
+        private static Object[] remove(Object[] source, int index)
+        {
+            Object[] result = new Object[source.length - 1];
+            System.arraycopy(source, 0, result, 0, index);
+            System.arraycopy(source, index + 1, result, index, source.length - index - 1);
+            return result;
+        }
+
+        private static int[] remove(int[] source, int index)
+        {
+            int[] result = new int[source.length - 1];
+            System.arraycopy(source, 0, result, 0, index);
+            System.arraycopy(source, index + 1, result, index, source.length - index - 1);
+            return result;
+        }
+
+        /**
+         * Removes the element at elementIndex and inserts the node before the element at nodeIndex of the source.
+         */
+        private static Object[] migrateInlineToNode(Object[] source, int elementIndex, int nodeIndex, Object node)
+        {
+            Object[] result = new Object[source.length];
+            System.arraycopy(source, 0, result, 0, elementIndex);
+            System.arraycopy(source, elementIndex + 1, result, elementIndex, nodeIndex - elementIndex - 1);
+            result[nodeIndex - 1] = node;
+            System.arraycopy(source, nodeIndex, result, nodeIndex, source.length - nodeIndex);
+            return result;
+        }
+
+        /**
+         * Removes the node at nodeIndex and inserts the element before the element at elementIndex of the source.
+         */
+        private static Object[] migrateNodeToInline(Object[] source, int nodeIndex, int elementIndex, Object element)
+        {
+            Object[] result = new Object[source.length];
+            System.arraycopy(source, 0, result, 0, elementIndex);
+            result[elementIndex] = element;
+            System.arraycopy(source, elementIndex, result, elementIndex + 1, nodeIndex - elementIndex);
+            System.arraycopy(source, nodeIndex + 1, result, nodeIndex + 1, source.length - nodeIndex - 1);
+            return result;
+        }
+
+        private void forEachWithOccurrences(ObjectIntProcedure<? super T> procedure)
+        {
+            int elements = this.elementArity();
+            for (int i = 0; i < elements; i++)
+            {
+                procedure.value((T) this.content[i], this.counts[i]);
+            }
+            for (int i = elements; i < this.content.length; i++)
+            {
+                ((Node<T>) this.content[i]).forEachWithOccurrences(procedure);
+            }
+        }
+
+        private Object detectWithOccurrences(ObjectIntPredicate<? super T> predicate)
+        {
+            int elements = this.elementArity();
+            for (int i = 0; i < elements; i++)
+            {
+                if (predicate.accept((T) this.content[i], this.counts[i]))
+                {
+                    return this.content[i];
+                }
+            }
+            for (int i = elements; i < this.content.length; i++)
+            {
+                Object result = ((Node<T>) this.content[i]).detectWithOccurrences(predicate);
+                if (result != NOT_FOUND)
+                {
+                    return result;
+                }
+            }
+            return NOT_FOUND;
+        }
+
+        private T first()
+        {
+            Node<T> node = this;
+            while (node.elementArity() == 0)
+            {
+                node = (Node<T>) node.content[0];
+            }
+            return (T) node.content[0];
+        }
+
+        private T last()
+        {
+            Node<T> node = this;
+            while (node.elementArity() < node.content.length)
+            {
+                node = (Node<T>) node.content[node.content.length - 1];
+            }
+            return (T) node.content[node.content.length - 1];
+        }
+
+        private int elementHashCode()
+        {
+            int result = 0;
+            int elements = this.elementArity();
+            for (int i = 0; i < elements; i++)
+            {
+                Object element = this.content[i];
+                result += (element == null ? 0 : element.hashCode()) ^ this.counts[i];
+            }
+            for (int i = elements; i < this.content.length; i++)
+            {
+                result += ((Node<T>) this.content[i]).elementHashCode();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Collects the slots of a node built by a bag operation, in increasing bit order, and tracks whether they are the
+     * same as the slots of the original node, so that the operation can return the original node instead of a copy.
+     */
+    private static final class Builder<T>
+    {
+        private final Node<T> original;
+        private final Object[] elements = new Object[32];
+        private final int[] counts = new int[32];
+        private final Object[] nodes = new Object[32];
+        private int elementCount;
+        private int nodeCount;
+        private int dataMap;
+        private int nodeMap;
+        private int size;
+        private int distinct;
+        private boolean same = true;
+
+        private Builder(Node<T> original)
+        {
+            this.original = original;
+        }
+
+        private void addElement(int bit, Object element, int count, boolean fromOriginal)
+        {
+            this.elements[this.elementCount] = element;
+            this.counts[this.elementCount] = count;
+            this.elementCount++;
+            this.dataMap |= bit;
+            this.size += count;
+            this.distinct++;
+            this.same &= fromOriginal;
+        }
+
+        private void addNode(int bit, Node<T> node, boolean fromOriginal)
+        {
+            this.nodes[this.nodeCount++] = node;
+            this.nodeMap |= bit;
+            this.size += node.size;
+            this.distinct += node.distinct;
+            this.same &= fromOriginal;
+        }
+
+        /**
+         * Adds the result of an operation on a child of the original node, inlining it if it holds a single element.
+         */
+        private void addChild(int bit, Node<T> originalChild, Node<T> newChild)
+        {
+            if (newChild == originalChild)
+            {
+                this.addNode(bit, newChild, true);
+            }
+            else if (newChild.distinct == 1)
+            {
+                this.addElement(bit, newChild.content[0], newChild.counts[0], false);
+            }
+            else if (newChild.distinct > 1)
+            {
+                this.addNode(bit, newChild, false);
+            }
+            else
+            {
+                this.same = false;
+            }
+        }
+
+        private Node<T> build()
+        {
+            if (this.same)
+            {
+                return this.original;
+            }
+            Object[] content = new Object[this.elementCount + this.nodeCount];
+            System.arraycopy(this.elements, 0, content, 0, this.elementCount);
+            System.arraycopy(this.nodes, 0, content, this.elementCount, this.nodeCount);
+            return new Node<>(
+                    null,
+                    this.dataMap,
+                    this.nodeMap,
+                    content,
+                    Arrays.copyOf(this.counts, this.elementCount),
+                    this.size,
+                    this.distinct);
+        }
+    }
+
+    /**
+     * Iterates the occurrences of a trie depth first, visiting the elements inlined in each node before its children.
+     */
+    private static final class TrieIterator<T> implements Iterator<T>
+    {
+        private final Node<T>[] nodes = new Node[MAX_DEPTH];
+        private final int[] nextChildren = new int[MAX_DEPTH];
+        private int depth;
+        private Node<T> payload;
+        private int payloadIndex;
+        private int remainingOccurrences;
+
+        private TrieIterator(Node<T> root)
+        {
+            this.nodes[0] = root;
+            this.nextChildren[0] = root.elementArity();
+            this.payload = root;
+            this.remainingOccurrences = root.elementArity() > 0 ? root.counts[0] : 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (this.remainingOccurrences == 0)
+            {
+                if (this.payloadIndex + 1 < this.payload.elementArity())
+                {
+                    this.payloadIndex++;
+                    this.remainingOccurrences = this.payload.counts[this.payloadIndex];
+                }
+                else if (!this.advance())
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean advance()
+        {
+            while (this.depth >= 0)
+            {
+                Node<T> node = this.nodes[this.depth];
+                int next = this.nextChildren[this.depth];
+                if (next < node.content.length)
+                {
+                    this.nextChildren[this.depth] = next + 1;
+                    Node<T> child = (Node<T>) node.content[next];
+                    int elements = child.elementArity();
+                    if (elements < child.content.length)
+                    {
+                        this.depth++;
+                        this.nodes[this.depth] = child;
+                        this.nextChildren[this.depth] = elements;
+                    }
+                    if (elements > 0)
+                    {
+                        this.payload = child;
+                        this.payloadIndex = 0;
+                        this.remainingOccurrences = child.counts[0];
+                        return true;
+                    }
+                }
+                else
+                {
+                    this.nodes[this.depth] = null;
+                    this.depth--;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.remainingOccurrences--;
+            return (T) this.payload.content[this.payloadIndex];
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an immutable bag");
+        }
+    }
+}
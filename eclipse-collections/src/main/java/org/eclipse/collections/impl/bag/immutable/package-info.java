@@ -13,7 +13,7 @@
  * <p>
  *     An {@link org.eclipse.collections.api.bag.ImmutableBag} is an immutable collection which contains elements that are unordered, and may contain duplicate entries.
  * <p>
- *     This package contains 4 immutable bag implementations:
+ *     This package contains 5 immutable bag implementations:
  * <ul>
  *     <li>
  *          {@link org.eclipse.collections.impl.bag.immutable.ImmutableArrayBag} - an {@link org.eclipse.collections.api.bag.ImmutableBag} which uses an array as its underlying data store.
@@ -25,6 +25,9 @@
  *          {@link org.eclipse.collections.impl.bag.immutable.ImmutableHashBag} - an {@link org.eclipse.collections.api.bag.ImmutableBag} which uses a hashtable as its underlying data store.
  *     </li>
  *     <li>
+ *          {@link org.eclipse.collections.impl.bag.immutable.ImmutableHashTrieBag} - an {@link org.eclipse.collections.api.bag.ImmutableBag} which uses a persistent hash trie as its underlying data store.
+ *     </li>
+ *     <li>
  *          {@link org.eclipse.collections.impl.bag.immutable.ImmutableSingletonBag} - an {@link org.eclipse.collections.api.bag.ImmutableBag} which contains only one element.
  *     </li>
  * </ul>
@@ -0,0 +1,818 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.ImmutableBag;
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.predicate.primitive.IntPredicate;
+import org.eclipse.collections.api.block.predicate.primitive.ObjectIntPredicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.Counter;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.multimap.bag.HashBagMultimap;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.utility.ArrayIterate;
+
+/**
+ * A ConcurrentHashBag is a MutableBag that can be updated by many threads at once without a global lock. The items are
+ * the keys of a {@link ConcurrentHashMap}, and the occurrences of each item are held in a counter cell that starts as a
+ * single field and is split into padded per-thread stripes the first time two threads collide on it, in the same way
+ * as {@link java.util.concurrent.atomic.LongAdder}. Adding occurrences never blocks. Removals of the same item are
+ * serialized on its cell, so the count of an item never drops below zero and no update is lost.
+ * <p>
+ * {@link #size()}, {@link #sizeDistinct()} and {@link #occurrencesOf(Object)} read the cells without blocking writers,
+ * so they are approximate while the bag is being updated and exact once the writers are done. Iteration and bulk reads
+ * are weakly consistent in the same way. {@link #snapshot()} and {@link #toImmutable()} read the count of each item
+ * exactly, as it was at one moment during the call, and size the result from those counts. Compound operations such as
+ * {@link #setOccurrences(Object, int)} are not atomic with respect to other writers.
+ *
+ * @since 11.1.
+ */
+public class ConcurrentHashBag<T>
+        extends AbstractMutableBag<T>
+        implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Object NULL_ITEM = new Object();
+
+    private ConcurrentHashMap<Object, OccurrenceCell> items;
+    private LongAdder size = new LongAdder();
+    private LongAdder sizeDistinct = new LongAdder();
+
+    public ConcurrentHashBag()
+    {
+        this.items = ConcurrentHashMap.newMap();
+    }
+
+    public ConcurrentHashBag(int sizeDistinct)
+    {
+        this.items = ConcurrentHashMap.newMap(sizeDistinct);
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag()
+    {
+        return new ConcurrentHashBag<>();
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag(int sizeDistinct)
+    {
+        return new ConcurrentHashBag<>(sizeDistinct);
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag(Iterable<? extends E> source)
+    {
+        ConcurrentHashBag<E> result = ConcurrentHashBag.newBag();
+        result.addAllIterable(source);
+        return result;
+    }
+
+    public static <E> ConcurrentHashBag<E> newBagWith(E... elements)
+    {
+        ConcurrentHashBag<E> result = ConcurrentHashBag.newBag();
+        ArrayIterate.addAllTo(elements, result);
+        return result;
+    }
+
+    private static Object toKey(Object item)
+    {
+        return item == null ? NULL_ITEM : item;
+    }
+
+    private static <T> T toItem(Object key)
+    {
+        return key == NULL_ITEM ? null : (T) key;
+    }
+
+    @Override
+    public int addOccurrences(T item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot add a negative number of occurrences");
+        }
+        if (occurrences > 0)
+        {
+            Object key = ConcurrentHashBag.toKey(item);
+            OccurrenceCell cell = this.addToCell(key, occurrences);
+            this.size.add(occurrences);
+            return cell.sum();
+        }
+        return this.occurrencesOf(item);
+    }
+
+    @Override
+    public boolean add(T item)
+    {
+        this.addToCell(ConcurrentHashBag.toKey(item), 1);
+        this.size.increment();
+        return true;
+    }
+
+    private OccurrenceCell addToCell(Object key, int occurrences)
+    {
+        while (true)
+        {
+            OccurrenceCell cell = this.items.get(key);
+            if (cell == null)
+            {
+                OccurrenceCell newCell = new OccurrenceCell(occurrences);
+                if (this.items.putIfAbsent(key, newCell) == null)
+                {
+                    this.sizeDistinct.increment();
+                    return newCell;
+                }
+            }
+            else if (cell.add(occurrences))
+            {
+                return cell;
+            }
+            else if (this.items.get(key) == cell)
+            {
+                // another thread is retiring the cell, which is removed from the map as soon as it is dead
+                Thread.yield();
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(Object item)
+    {
+        return this.removeFromCell(ConcurrentHashBag.toKey(item), 1) > 0;
+    }
+
+    @Override
+    public boolean removeOccurrences(Object item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot remove a negative number of occurrences");
+        }
+        if (occurrences == 0)
+        {
+            return false;
+        }
+        return this.removeFromCell(ConcurrentHashBag.toKey(item), occurrences) > 0;
+    }
+
+    private int removeFromCell(Object key, int occurrences)
+    {
+        while (true)
+        {
+            OccurrenceCell cell = this.items.get(key);
+            if (cell == null)
+            {
+                return 0;
+            }
+            synchronized (cell)
+            {
+                if (!cell.isDead())
+                {
+                    int removed = cell.remove(occurrences);
+                    this.size.add(-removed);
+                    if (cell.sum() == 0 && cell.kill())
+                    {
+                        this.items.remove(key, cell);
+                        this.sizeDistinct.decrement();
+                    }
+                    return removed;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean setOccurrences(T item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot set a negative number of occurrences");
+        }
+        int originalOccurrences = this.occurrencesOf(item);
+        if (originalOccurrences == occurrences)
+        {
+            return false;
+        }
+        if (occurrences > originalOccurrences)
+        {
+            this.addOccurrences(item, occurrences - originalOccurrences);
+        }
+        else
+        {
+            this.removeOccurrences(item, originalOccurrences - occurrences);
+        }
+        return true;
+    }
+
+    @Override
+    public int occurrencesOf(Object item)
+    {
+        OccurrenceCell cell = this.items.get(ConcurrentHashBag.toKey(item));
+        return cell == null ? 0 : cell.sum();
+    }
+
+    @Override
+    public int size()
+    {
+        return (int) this.size.sum();
+    }
+
+    @Override
+    public int sizeDistinct()
+    {
+        return (int) this.sizeDistinct.sum();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return this.occurrencesOf(o) > 0;
+    }
+
+    @Override
+    public void clear()
+    {
+        this.items.forEachKey(key -> this.removeFromCell(key, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public void forEachWithOccurrences(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        this.items.forEachKeyValue((key, cell) ->
+        {
+            int count = cell.sum();
+            if (count > 0)
+            {
+                objectIntProcedure.value(ConcurrentHashBag.toItem(key), count);
+            }
+        });
+    }
+
+    @Override
+    public boolean anySatisfyWithOccurrences(ObjectIntPredicate<? super T> predicate)
+    {
+        return this.items.keyValuesView().anySatisfy(each -> this.acceptWithOccurrences(predicate, each.getOne(), each.getTwo()));
+    }
+
+    @Override
+    public boolean allSatisfyWithOccurrences(ObjectIntPredicate<? super T> predicate)
+    {
+        return this.items.keyValuesView().allSatisfy(each -> each.getTwo().sum() == 0 || this.acceptWithOccurrences(predicate, each.getOne(), each.getTwo()));
+    }
+
+    @Override
+    public boolean noneSatisfyWithOccurrences(ObjectIntPredicate<? super T> predicate)
+    {
+        return !this.anySatisfyWithOccurrences(predicate);
+    }
+
+    @Override
+    public T detectWithOccurrences(ObjectIntPredicate<? super T> predicate)
+    {
+        Object key = this.items.keysView().detect(each -> this.acceptWithOccurrences(predicate, each, this.items.get(each)));
+        return ConcurrentHashBag.toItem(key);
+    }
+
+    private boolean acceptWithOccurrences(ObjectIntPredicate<? super T> predicate, Object key, OccurrenceCell cell)
+    {
+        if (cell == null)
+        {
+            return false;
+        }
+        int count = cell.sum();
+        return count > 0 && predicate.accept(ConcurrentHashBag.toItem(key), count);
+    }
+
+    /**
+     * Returns an immutable copy of this bag in which the count of each item is exact. The count of an item is read while
+     * holding its cell, so no removal or retirement of the item runs during the read, and the stripes are summed until
+     * two passes agree, so an add is either counted in full or not at all. Items are read one after another, so the
+     * result is not an atomic copy of the whole bag while writers are active.
+     */
+    public ImmutableBag<T> snapshot()
+    {
+        HashBag<T> result = HashBag.newBag(this.sizeDistinct());
+        this.snapshotInto(result);
+        return result.toImmutable();
+    }
+
+    private void snapshotInto(HashBag<T> target)
+    {
+        this.items.forEachKeyValue((key, cell) ->
+        {
+            int count;
+            synchronized (cell)
+            {
+                count = cell.exactSum();
+            }
+            if (count > 0)
+            {
+                target.addOccurrences(ConcurrentHashBag.toItem(key), count);
+            }
+        });
+    }
+
+    @Override
+    public ImmutableBag<T> toImmutable()
+    {
+        return this.snapshot();
+    }
+
+    @Override
+    public MutableMap<T, Integer> toMapOfItemToCount()
+    {
+        MutableMap<T, Integer> map = UnifiedMap.newMap(this.sizeDistinct());
+        this.forEachWithOccurrences(map::put);
+        return map;
+    }
+
+    @Override
+    protected RichIterable<T> getKeysView()
+    {
+        return this.items.keysView().collect(ConcurrentHashBag::<T>toItem);
+    }
+
+    @Override
+    public RichIterable<T> distinctView()
+    {
+        MutableSet<T> result = UnifiedSet.newSet(this.sizeDistinct());
+        this.forEachWithOccurrences((each, count) -> result.add(each));
+        return result.asUnmodifiable();
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        this.forEachWithOccurrences((each, count) ->
+        {
+            for (int i = 0; i < count; i++)
+            {
+                procedure.value(each);
+            }
+        });
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        Counter index = new Counter();
+        this.forEachWithOccurrences((each, count) ->
+        {
+            for (int i = 0; i < count; i++)
+            {
+                objectIntProcedure.value(each, index.getCount());
+                index.increment();
+            }
+        });
+    }
+
+    @Override
+    public <P> void forEachWith(Procedure2<? super T, ? super P> procedure, P parameter)
+    {
+        this.forEachWithOccurrences((each, count) ->
+        {
+            for (int i = 0; i < count; i++)
+            {
+                procedure.value(each, parameter);
+            }
+        });
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new InternalIterator();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> predicate)
+    {
+        boolean changed = false;
+        for (Object key : this.items.keySet())
+        {
+            if (predicate.accept(ConcurrentHashBag.toItem(key)))
+            {
+                changed |= this.removeFromCell(key, Integer.MAX_VALUE) > 0;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public <P> boolean removeIfWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        boolean changed = false;
+        for (Object key : this.items.keySet())
+        {
+            if (predicate.accept(ConcurrentHashBag.toItem(key), parameter))
+            {
+                changed |= this.removeFromCell(key, Integer.MAX_VALUE) > 0;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeAllIterable(Iterable<?> iterable)
+    {
+        boolean changed = false;
+        Iterable<?> distinctItems = iterable instanceof Bag ? ((Bag<?>) iterable).distinctView() : iterable;
+        for (Object each : distinctItems)
+        {
+            changed |= this.removeFromCell(ConcurrentHashBag.toKey(each), Integer.MAX_VALUE) > 0;
+        }
+        return changed;
+    }
+
+    @Override
+    public MutableBag<T> selectByOccurrences(IntPredicate predicate)
+    {
+        MutableBag<T> result = HashBag.newBag();
+        this.forEachWithOccurrences((each, count) ->
+        {
+            if (predicate.accept(count))
+            {
+                result.addOccurrences(each, count);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public <V> HashBagMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.groupBy(function, HashBagMultimap.newMultimap());
+    }
+
+    @Override
+    public <V> HashBagMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.groupByEach(function, HashBagMultimap.newMultimap());
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof Bag))
+        {
+            return false;
+        }
+        Bag<?> bag = (Bag<?>) other;
+        if (this.sizeDistinct() != bag.sizeDistinct())
+        {
+            return false;
+        }
+        return this.allSatisfyWithOccurrences((each, count) -> bag.occurrencesOf(each) == count);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        Counter counter = new Counter();
+        this.forEachWithOccurrences((each, count) -> counter.add((each == null ? 0 : each.hashCode()) ^ count));
+        return counter.getCount();
+    }
+
+    @Override
+    public MutableBag<T> newEmpty()
+    {
+        return ConcurrentHashBag.newBag();
+    }
+
+    @Override
+    public ConcurrentHashBag<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    public ConcurrentHashBag<T> with(T... elements)
+    {
+        this.addAll(Arrays.asList(elements));
+        return this;
+    }
+
+    @Override
+    public ConcurrentHashBag<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public ConcurrentHashBag<T> withAll(Iterable<? extends T> iterable)
+    {
+        this.addAllIterable(iterable);
+        return this;
+    }
+
+    @Override
+    public ConcurrentHashBag<T> withoutAll(Iterable<? extends T> iterable)
+    {
+        this.removeAllIterable(iterable);
+        return this;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        HashBag<T> snapshot = HashBag.newBag(this.sizeDistinct());
+        this.snapshotInto(snapshot);
+        snapshot.writeExternal(out);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        HashBag<T> snapshot = HashBag.newBag();
+        snapshot.readExternal(in);
+        this.items = ConcurrentHashMap.newMap(snapshot.sizeDistinct());
+        this.size = new LongAdder();
+        this.sizeDistinct = new LongAdder();
+        snapshot.forEachWithOccurrences(this::addOccurrences);
+    }
+
+    /**
+     * The occurrences of one item. The count lives in {@code base} until two threads contend for it; from then on each
+     * thread adds to its own stripe, and the count is the sum of the base and the stripes. A cell is retired by marking
+     * the base and every stripe {@link #DEAD} while they all hold zero, after which adds fail and the caller starts
+     * a new cell for the item.
+     */
+    private static final class OccurrenceCell
+    {
+        private static final int DEAD = Integer.MIN_VALUE;
+        private static final int PADDING = 16;
+        private static final int STRIPES = Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors() - 1, 1)) << 1;
+        private static final AtomicIntegerArray DEAD_STRIPES = new AtomicIntegerArray(0);
+
+        private static final AtomicIntegerFieldUpdater<OccurrenceCell> BASE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(OccurrenceCell.class, "base");
+        private static final AtomicReferenceFieldUpdater<OccurrenceCell, AtomicIntegerArray> STRIPES_UPDATER = AtomicReferenceFieldUpdater.newUpdater(OccurrenceCell.class, AtomicIntegerArray.class, "stripes");
+
+        private volatile int base;
+        private volatile AtomicIntegerArray stripes;
+
+        private OccurrenceCell(int occurrences)
+        {
+            this.base = occurrences;
+        }
+
+        private static int stripeIndex()
+        {
+            int hash = (int) Thread.currentThread().getId() * 0x9E3779B9;
+            return (hash >>> 16 & STRIPES - 1) * PADDING;
+        }
+
+        /**
+         * Returns false if the cell is dead or being retired.
+         */
+        private boolean add(int occurrences)
+        {
+            AtomicIntegerArray currentStripes = this.stripes;
+            if (currentStripes == null)
+            {
+                int currentBase = this.base;
+                if (currentBase == DEAD)
+                {
+                    return false;
+                }
+                if (BASE_UPDATER.compareAndSet(this, currentBase, currentBase + occurrences))
+                {
+                    return true;
+                }
+                currentStripes = this.inflate();
+            }
+            if (currentStripes == DEAD_STRIPES)
+            {
+                return false;
+            }
+            int index = OccurrenceCell.stripeIndex();
+            while (true)
+            {
+                int current = currentStripes.get(index);
+                if (current == DEAD)
+                {
+                    return false;
+                }
+                if (currentStripes.compareAndSet(index, current, current + occurrences))
+                {
+                    return true;
+                }
+            }
+        }
+
+        private AtomicIntegerArray inflate()
+        {
+            AtomicIntegerArray newStripes = new AtomicIntegerArray(STRIPES * PADDING);
+            if (STRIPES_UPDATER.compareAndSet(this, null, newStripes))
+            {
+                return newStripes;
+            }
+            return this.stripes;
+        }
+
+        private int sum()
+        {
+            int currentBase = this.base;
+            int sum = currentBase == DEAD ? 0 : currentBase;
+            AtomicIntegerArray currentStripes = this.stripes;
+            if (currentStripes != null)
+            {
+                for (int i = 0; i < currentStripes.length(); i += PADDING)
+                {
+                    int stripe = currentStripes.get(i);
+                    if (stripe != DEAD)
+                    {
+                        sum += stripe;
+                    }
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * Sums the base and the stripes until two passes agree. Must be called while holding the monitor of the cell, so
+         * that the slots can only grow during the read; two equal passes then mean that no slot changed between them,
+         * and the sum is the count the cell held at the moment the first pass ended.
+         */
+        private int exactSum()
+        {
+            int sum = this.sum();
+            while (true)
+            {
+                int next = this.sum();
+                if (next == sum)
+                {
+                    return sum;
+                }
+                sum = next;
+            }
+        }
+
+        private boolean isDead()
+        {
+            return this.base == DEAD;
+        }
+
+        /**
+         * Removes up to {@code occurrences} and returns how many were removed. Must be called while holding the
+         * monitor of the cell, so that removals never race with each other or with {@link #kill()}.
+         */
+        private int remove(int occurrences)
+        {
+            int remaining = occurrences;
+            while (remaining > 0)
+            {
+                int currentBase = this.base;
+                if (currentBase <= 0)
+                {
+                    break;
+                }
+                int taken = Math.min(currentBase, remaining);
+                if (BASE_UPDATER.compareAndSet(this, currentBase, currentBase - taken))
+                {
+                    remaining -= taken;
+                }
+            }
+            AtomicIntegerArray currentStripes = this.stripes;
+            if (currentStripes != null)
+            {
+                for (int i = 0; i < currentStripes.length() && remaining > 0; i += PADDING)
+                {
+                    while (remaining > 0)
+                    {
+                        int current = currentStripes.get(i);
+                        if (current <= 0)
+                        {
+                            break;
+                        }
+                        int taken = Math.min(current, remaining);
+                        if (currentStripes.compareAndSet(i, current, current - taken))
+                        {
+                            remaining -= taken;
+                        }
+                    }
+                }
+            }
+            return occurrences - remaining;
+        }
+
+        /**
+         * Marks an empty cell dead. Fails, leaving the cell alive, if an add slipped in while it was being marked. Must
+         * be called while holding the monitor of the cell.
+         */
+        private boolean kill()
+        {
+            if (!BASE_UPDATER.compareAndSet(this, 0, DEAD))
+            {
+                return false;
+            }
+            AtomicIntegerArray currentStripes = this.stripes;
+            if (currentStripes == null)
+            {
+                if (STRIPES_UPDATER.compareAndSet(this, null, DEAD_STRIPES))
+                {
+                    return true;
+                }
+                currentStripes = this.stripes;
+            }
+            for (int i = 0; i < currentStripes.length(); i += PADDING)
+            {
+                if (!currentStripes.compareAndSet(i, 0, DEAD))
+                {
+                    for (int j = 0; j < i; j += PADDING)
+                    {
+                        currentStripes.set(j, 0);
+                    }
+                    this.base = 0;
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private class InternalIterator implements Iterator<T>
+    {
+        private final Iterator<Object> iterator = ConcurrentHashBag.this.items.keySet().iterator();
+
+        private Object nextKey;
+        private int remainingOccurrences;
+        private T lastReturned;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext()
+        {
+            while (this.remainingOccurrences <= 0 && this.iterator.hasNext())
+            {
+                this.nextKey = this.iterator.next();
+                this.remainingOccurrences = ConcurrentHashBag.this.occurrencesOf(ConcurrentHashBag.toItem(this.nextKey));
+            }
+            return this.remainingOccurrences > 0;
+        }
+
+        @Override
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.remainingOccurrences--;
+            this.lastReturned = ConcurrentHashBag.toItem(this.nextKey);
+            this.canRemove = true;
+            return this.lastReturned;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (!this.canRemove)
+            {
+                throw new IllegalStateException();
+            }
+            ConcurrentHashBag.this.remove(this.lastReturned);
+            this.canRemove = false;
+        }
+    }
+}
@@ -0,0 +1,1543 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.sorted.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.sorted.MutableSortedBag;
+import org.eclipse.collections.api.bag.sorted.SortedBag;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.predicate.primitive.IntPredicate;
+import org.eclipse.collections.api.block.predicate.primitive.ObjectIntPredicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.factory.SortedSets;
+import org.eclipse.collections.api.ordered.OrderedIterable;
+import org.eclipse.collections.api.set.sorted.MutableSortedSet;
+import org.eclipse.collections.api.stack.MutableStack;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.multimap.bag.sorted.mutable.TreeBagMultimap;
+import org.eclipse.collections.impl.set.mutable.SetAdapter;
+import org.eclipse.collections.impl.set.sorted.mutable.TreeSortedSet;
+import org.eclipse.collections.impl.stack.mutable.ArrayStack;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.ListIterate;
+import org.eclipse.collections.impl.utility.OrderedIterate;
+import org.eclipse.collections.impl.utility.internal.IterableIterate;
+import org.eclipse.collections.impl.utility.internal.SortedBagIterables;
+
+/**
+ * A MutableSortedBag backed by an order-statistic B+-tree. Each leaf holds up to 64 distinct items with their
+ * occurrences stored inline in an int array, and every node keeps the total number of occurrences below it, so
+ * {@link #occurrencesOf(Object)}, {@link #rank(Object)}, {@link #indexOf(Object)}, {@link #get(int)} and
+ * {@link #percentile(double)} descend a single path instead of walking the bag. Unlike {@link TreeBag}, no map entry or
+ * {@link org.eclipse.collections.impl.Counter} is allocated per distinct item.
+ * <p>
+ * Like {@link TreeBag}, this bag is not thread-safe, its iterators are fail-fast, and it does not permit null items
+ * unless the comparator does.
+ *
+ * @since 11.1
+ */
+public class BTreeBag<T>
+        extends AbstractMutableSortedBag<T>
+        implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int NODE_CAPACITY = 64;
+    private static final int MINIMUM_OCCUPANCY = NODE_CAPACITY / 4;
+    private static final int INITIAL_LEAF_CAPACITY = 4;
+
+    private Comparator<? super T> comparator;
+    private transient Node root;
+    private transient int height;
+    private transient int sizeDistinct;
+    private transient int modCount;
+
+    // The branches and child indexes on the path to the leaf last reached by descend()
+    private transient Branch[] pathBranches = new Branch[0];
+    private transient int[] pathIndexes = new int[0];
+
+    public BTreeBag()
+    {
+    }
+
+    public BTreeBag(Comparator<? super T> comparator)
+    {
+        this.comparator = comparator;
+    }
+
+    public BTreeBag(SortedBag<T> sortedBag)
+    {
+        this(sortedBag.comparator(), sortedBag);
+    }
+
+    public BTreeBag(Comparator<? super T> comparator, Iterable<? extends T> iterable)
+    {
+        this(comparator);
+        this.addAllIterable(iterable);
+    }
+
+    public static <E> BTreeBag<E> newBag()
+    {
+        return new BTreeBag<>();
+    }
+
+    public static <E> BTreeBag<E> newBag(Comparator<? super E> comparator)
+    {
+        return new BTreeBag<>(comparator);
+    }
+
+    public static <E> BTreeBag<E> newBag(Iterable<? extends E> source)
+    {
+        if (source instanceof SortedBag<?>)
+        {
+            return new BTreeBag<>((SortedBag<E>) source);
+        }
+        return Iterate.addAllTo(source, BTreeBag.newBag());
+    }
+
+    public static <E> BTreeBag<E> newBag(Comparator<? super E> comparator, Iterable<? extends E> iterable)
+    {
+        return new BTreeBag<>(comparator, iterable);
+    }
+
+    public static <E> BTreeBag<E> newBagWith(E... elements)
+    {
+        //noinspection SSBasedInspection
+        return BTreeBag.newBag(Arrays.asList(elements));
+    }
+
+    public static <E> BTreeBag<E> newBagWith(Comparator<? super E> comparator, E... elements)
+    {
+        //noinspection SSBasedInspection
+        return BTreeBag.newBag(comparator, Arrays.asList(elements));
+    }
+
+    @Override
+    public BTreeBag<T> clone()
+    {
+        return new BTreeBag<>(this);
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof Bag))
+        {
+            return false;
+        }
+        Bag<?> bag = (Bag<?>) other;
+        if (this.sizeDistinct() != bag.sizeDistinct())
+        {
+            return false;
+        }
+        return this.allSatisfyWithOccurrences((each, occurrences) -> bag.occurrencesOf(each) == occurrences);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                Object each = leaf.keys[i];
+                hashCode += (each == null ? 0 : each.hashCode()) ^ leaf.occurrences[i];
+            }
+        }
+        return hashCode;
+    }
+
+    @Override
+    protected RichIterable<T> getKeysView()
+    {
+        return this.distinctView();
+    }
+
+    @Override
+    public int size()
+    {
+        return this.root == null ? 0 : this.root.total;
+    }
+
+    @Override
+    public int sizeDistinct()
+    {
+        return this.sizeDistinct;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.root == null;
+    }
+
+    @Override
+    public int occurrencesOf(Object item)
+    {
+        if (this.root == null)
+        {
+            return 0;
+        }
+        Leaf leaf = this.leafFor(item);
+        int index = this.search(leaf, item);
+        return index < 0 ? 0 : leaf.occurrences[index];
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return this.occurrencesOf(o) > 0;
+    }
+
+    /**
+     * Returns the number of occurrences in this bag that sort strictly before the given item, whether or not the item
+     * itself is present. For an item in the bag this is the index of its first occurrence.
+     */
+    public int rank(T item)
+    {
+        if (this.root == null)
+        {
+            return 0;
+        }
+        if (item == null && this.comparator == null)
+        {
+            throw new NullPointerException();
+        }
+        int rank = 0;
+        Node node = this.root;
+        for (int level = 0; level < this.height; level++)
+        {
+            Branch branch = (Branch) node;
+            int index = this.childIndex(branch, item);
+            for (int i = 0; i < index; i++)
+            {
+                rank += branch.children[i].total;
+            }
+            node = branch.children[index];
+        }
+        Leaf leaf = (Leaf) node;
+        int index = this.search(leaf, item);
+        int end = index < 0 ? -index - 1 : index;
+        for (int i = 0; i < end; i++)
+        {
+            rank += leaf.occurrences[i];
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the item at the given position in iteration order, where each occurrence takes one position. This is the
+     * select operation of an order-statistic tree, the inverse of {@link #rank(Object)}.
+     *
+     * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #size()}
+     */
+    public T get(int index)
+    {
+        if (index < 0 || index >= this.size())
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: " + this.size());
+        }
+        int remaining = index;
+        Node node = this.root;
+        for (int level = 0; level < this.height; level++)
+        {
+            Branch branch = (Branch) node;
+            int child = 0;
+            while (remaining >= branch.children[child].total)
+            {
+                remaining -= branch.children[child].total;
+                child++;
+            }
+            node = branch.children[child];
+        }
+        Leaf leaf = (Leaf) node;
+        int key = 0;
+        while (remaining >= leaf.occurrences[key])
+        {
+            remaining -= leaf.occurrences[key];
+            key++;
+        }
+        return (T) leaf.keys[key];
+    }
+
+    /**
+     * Returns the item at the given percentile using the nearest-rank method: the smallest item such that at least
+     * {@code percentile} percent of the occurrences in this bag sort at or before it. A percentile of 0 returns the
+     * first item and a percentile of 100 returns the last.
+     *
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100
+     * @throws NoSuchElementException if this bag is empty
+     */
+    public T percentile(double percentile)
+    {
+        if (!(percentile >= 0.0 && percentile <= 100.0))
+        {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, but was: " + percentile);
+        }
+        int size = this.size();
+        if (size == 0)
+        {
+            throw new NoSuchElementException();
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * size);
+        return this.get(Math.max(rank, 1) - 1);
+    }
+
+    @Override
+    public int indexOf(Object object)
+    {
+        return this.contains(object) ? this.rank((T) object) : -1;
+    }
+
+    @Override
+    public T getFirst()
+    {
+        Leaf leaf = this.firstLeaf();
+        return leaf == null ? null : (T) leaf.keys[0];
+    }
+
+    @Override
+    public T getLast()
+    {
+        Leaf leaf = this.lastLeaf();
+        return leaf == null ? null : (T) leaf.keys[leaf.count - 1];
+    }
+
+    @Override
+    public void forEachWithOccurrences(ObjectIntProcedure<? super T> procedure)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                procedure.value((T) leaf.keys[i], leaf.occurrences[i]);
+            }
+        }
+    }
+
+    @Override
+    public MutableSortedBag<T> selectByOccurrences(IntPredicate predicate)
+    {
+        BTreeBag<T> result = new BTreeBag<>(this.comparator);
+        result.loadMatching(this, (each, occurrences) -> predicate.accept(occurrences));
+        return result;
+    }
+
+    @Override
+    public boolean anySatisfyWithOccurrences(ObjectIntPredicate<? super T> predicate)
+    {
+        return this.detectWithOccurrences(predicate, false) != null;
+    }
+
+    @Override
+    public boolean allSatisfyWithOccurrences(ObjectIntPredicate<? super T> predicate)
+    {
+        return this.detectWithOccurrences(predicate, true) == null;
+    }
+
+    @Override
+    public boolean noneSatisfyWithOccurrences(ObjectIntPredicate<? super T> predicate)
+    {
+        return this.detectWithOccurrences(predicate, false) == null;
+    }
+
+    @Override
+    public T detectWithOccurrences(ObjectIntPredicate<? super T> predicate)
+    {
+        Object[] found = this.detectWithOccurrences(predicate, false);
+        return found == null ? null : (T) found[0];
+    }
+
+    @Override
+    public boolean add(T item)
+    {
+        this.addOccurrences(item, 1);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object item)
+    {
+        return this.removeOccurrences(item, 1);
+    }
+
+    @Override
+    public void clear()
+    {
+        this.root = null;
+        this.height = 0;
+        this.sizeDistinct = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public int addOccurrences(T item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot add a negative number of occurrences");
+        }
+        if (occurrences == 0)
+        {
+            return this.occurrencesOf(item);
+        }
+        this.modCount++;
+        if (this.root == null)
+        {
+            this.compare(item, item);
+            Leaf leaf = new Leaf(INITIAL_LEAF_CAPACITY);
+            leaf.insert(0, item, occurrences);
+            this.root = leaf;
+            this.sizeDistinct = 1;
+            return occurrences;
+        }
+        Leaf leaf = this.descend(item);
+        int index = this.search(leaf, item);
+        this.adjustPathTotals(occurrences);
+        if (index >= 0)
+        {
+            leaf.occurrences[index] += occurrences;
+            leaf.total += occurrences;
+            return leaf.occurrences[index];
+        }
+        int insertionIndex = -index - 1;
+        if (leaf.count < NODE_CAPACITY)
+        {
+            leaf.insert(insertionIndex, item, occurrences);
+        }
+        else
+        {
+            this.splitLeaf(leaf, insertionIndex, item, occurrences);
+        }
+        this.sizeDistinct++;
+        return occurrences;
+    }
+
+    @Override
+    public boolean removeOccurrences(Object item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot remove a negative number of occurrences");
+        }
+        if (occurrences == 0 || this.root == null)
+        {
+            return false;
+        }
+        Leaf leaf = this.descend(item);
+        int index = this.search(leaf, item);
+        if (index < 0)
+        {
+            return false;
+        }
+        int current = leaf.occurrences[index];
+        int removed = Math.min(current, occurrences);
+        this.modCount++;
+        this.adjustPathTotals(-removed);
+        if (removed < current)
+        {
+            leaf.occurrences[index] -= removed;
+            leaf.total -= removed;
+            return true;
+        }
+        leaf.removeAt(index);
+        this.sizeDistinct--;
+        if (leaf.count < MINIMUM_OCCUPANCY)
+        {
+            if (this.height > 0)
+            {
+                this.rebalance();
+            }
+            else if (leaf.count == 0)
+            {
+                this.root = null;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean setOccurrences(T item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot set a negative number of occurrences");
+        }
+        int originalOccurrences = this.occurrencesOf(item);
+        if (originalOccurrences == occurrences)
+        {
+            return false;
+        }
+        if (occurrences > originalOccurrences)
+        {
+            this.addOccurrences(item, occurrences - originalOccurrences);
+        }
+        else
+        {
+            this.removeOccurrences(item, originalOccurrences - occurrences);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAllIterable(Iterable<? extends T> iterable)
+    {
+        if (this.root == null
+                && iterable instanceof SortedBag<?>
+                && !Iterate.isEmpty(iterable)
+                && Objects.equals(this.comparator, ((SortedBag<?>) iterable).comparator()))
+        {
+            this.loadMatching((SortedBag<T>) iterable, (each, occurrences) -> true);
+            return true;
+        }
+        int oldSize = this.size();
+        Iterate.forEach(iterable, this::add);
+        return this.size() != oldSize;
+    }
+
+    @Override
+    public boolean removeAllIterable(Iterable<?> iterable)
+    {
+        int oldSize = this.size();
+        for (Object each : iterable)
+        {
+            this.removeOccurrences(each, Integer.MAX_VALUE);
+        }
+        return this.size() != oldSize;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> predicate)
+    {
+        if (this.detectWithOccurrences((each, occurrences) -> predicate.accept(each), false) == null)
+        {
+            return false;
+        }
+        this.loadMatching(this, (each, occurrences) -> !predicate.accept(each));
+        return true;
+    }
+
+    @Override
+    public <P> boolean removeIfWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return this.removeIf(each -> predicate.accept(each, parameter));
+    }
+
+    @Override
+    public int compareTo(SortedBag<T> otherBag)
+    {
+        return SortedBagIterables.compare(this, otherBag);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeObject(this.comparator);
+        out.writeInt(this.sizeDistinct);
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                out.writeObject(leaf.keys[i]);
+                out.writeInt(leaf.occurrences[i]);
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        this.comparator = (Comparator<? super T>) in.readObject();
+        int sizeDistinct = in.readInt();
+        Object[] keys = new Object[sizeDistinct];
+        int[] occurrences = new int[sizeDistinct];
+        for (int i = 0; i < sizeDistinct; i++)
+        {
+            keys[i] = in.readObject();
+            occurrences[i] = in.readInt();
+        }
+        this.bulkLoad(keys, occurrences, sizeDistinct);
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                T each = (T) leaf.keys[i];
+                for (int j = 0; j < leaf.occurrences[i]; j++)
+                {
+                    procedure.value(each);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        int index = 0;
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                T each = (T) leaf.keys[i];
+                for (int j = 0; j < leaf.occurrences[i]; j++)
+                {
+                    objectIntProcedure.value(each, index++);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void forEach(int fromIndex, int toIndex, Procedure<? super T> procedure)
+    {
+        this.forEachWithIndex(fromIndex, toIndex, (each, index) -> procedure.value(each));
+    }
+
+    @Override
+    public void forEachWithIndex(int fromIndex, int toIndex, ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        ListIterate.rangeCheck(fromIndex, toIndex, this.size());
+        if (fromIndex > toIndex)
+        {
+            throw new IllegalArgumentException("fromIndex must not be greater than toIndex");
+        }
+        int remaining = fromIndex;
+        Node node = this.root;
+        for (int level = 0; level < this.height; level++)
+        {
+            Branch branch = (Branch) node;
+            int child = 0;
+            while (remaining >= branch.children[child].total)
+            {
+                remaining -= branch.children[child].total;
+                child++;
+            }
+            node = branch.children[child];
+        }
+        Leaf leaf = (Leaf) node;
+        int key = 0;
+        while (remaining >= leaf.occurrences[key])
+        {
+            remaining -= leaf.occurrences[key];
+            key++;
+        }
+        int occurrence = remaining;
+        for (int index = fromIndex; index <= toIndex; index++)
+        {
+            objectIntProcedure.value((T) leaf.keys[key], index);
+            occurrence++;
+            if (occurrence == leaf.occurrences[key])
+            {
+                occurrence = 0;
+                key++;
+                if (key == leaf.count)
+                {
+                    leaf = leaf.next;
+                    key = 0;
+                }
+            }
+        }
+    }
+
+    @Override
+    public <P> void forEachWith(Procedure2<? super T, ? super P> procedure, P parameter)
+    {
+        this.each(each -> procedure.value(each, parameter));
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new InternalIterator();
+    }
+
+    @Override
+    public BTreeBag<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public BTreeBag<T> withAll(Iterable<? extends T> iterable)
+    {
+        this.addAllIterable(iterable);
+        return this;
+    }
+
+    @Override
+    public BTreeBag<T> withoutAll(Iterable<? extends T> iterable)
+    {
+        this.removeAllIterable(iterable);
+        return this;
+    }
+
+    @Override
+    public BTreeBag<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    public BTreeBag<T> with(T... elements)
+    {
+        this.addAll(Arrays.asList(elements));
+        return this;
+    }
+
+    public BTreeBag<T> with(T element1, T element2)
+    {
+        this.add(element1);
+        this.add(element2);
+        return this;
+    }
+
+    public BTreeBag<T> with(T element1, T element2, T element3)
+    {
+        this.add(element1);
+        this.add(element2);
+        this.add(element3);
+        return this;
+    }
+
+    @Override
+    public MutableSortedBag<T> newEmpty()
+    {
+        return BTreeBag.newBag(this.comparator);
+    }
+
+    @Override
+    public MutableSortedSet<Pair<T, Integer>> zipWithIndex()
+    {
+        Comparator<? super T> comparator = this.comparator;
+        return this.zipWithIndex(TreeSortedSet.newSet((o1, o2) ->
+        {
+            int compare = comparator == null
+                    ? Comparators.nullSafeCompare(o1, o2)
+                    : comparator.compare(o1.getOne(), o2.getOne());
+            if (compare != 0)
+            {
+                return compare;
+            }
+            return o1.getTwo().compareTo(o2.getTwo());
+        }));
+    }
+
+    @Override
+    public MutableSortedSet<T> distinct()
+    {
+        return SortedSets.mutable.withAll(this.comparator, this.distinctView());
+    }
+
+    @Override
+    public RichIterable<T> distinctView()
+    {
+        return SetAdapter.adapt(new DistinctSet()).asUnmodifiable();
+    }
+
+    @Override
+    public <V> TreeBagMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.groupBy(function, TreeBagMultimap.newMultimap(this.comparator));
+    }
+
+    @Override
+    public <V> TreeBagMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.groupByEach(function, TreeBagMultimap.newMultimap(this.comparator));
+    }
+
+    @Override
+    public int detectIndex(Predicate<? super T> predicate)
+    {
+        return Iterate.detectIndex(this, predicate);
+    }
+
+    @Override
+    public <S> boolean corresponds(OrderedIterable<S> other, Predicate2<? super T, ? super S> predicate)
+    {
+        return OrderedIterate.corresponds(this, other, predicate);
+    }
+
+    @Override
+    public MutableStack<T> toStack()
+    {
+        return ArrayStack.newStack(this);
+    }
+
+    @Override
+    public MutableSortedBag<T> take(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+
+        return IterableIterate.take(this, Math.min(this.size(), count), this.newEmpty());
+    }
+
+    @Override
+    public MutableSortedBag<T> drop(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+
+        return IterableIterate.drop(this, count, this.newEmpty());
+    }
+
+    @Override
+    public Comparator<? super T> comparator()
+    {
+        return this.comparator;
+    }
+
+    private int compare(Object key1, Object key2)
+    {
+        return this.comparator == null
+                ? ((Comparable<Object>) key1).compareTo(key2)
+                : this.comparator.compare((T) key1, (T) key2);
+    }
+
+    /**
+     * Returns the index of the key in the leaf, or {@code -(insertionIndex + 1)} when the leaf does not contain it.
+     */
+    private int search(Leaf leaf, Object key)
+    {
+        Object[] keys = leaf.keys;
+        int low = 0;
+        int high = leaf.count - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int comparison = this.compare(keys[middle], key);
+            if (comparison < 0)
+            {
+                low = middle + 1;
+            }
+            else if (comparison > 0)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the index of the child whose range holds the key, which is the number of separators not greater than it.
+     */
+    private int childIndex(Branch branch, Object key)
+    {
+        Object[] keys = branch.keys;
+        int low = 0;
+        int high = branch.count - 2;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            if (this.compare(keys[middle], key) <= 0)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private Leaf leafFor(Object key)
+    {
+        if (key == null && this.comparator == null)
+        {
+            throw new NullPointerException();
+        }
+        Node node = this.root;
+        for (int level = 0; level < this.height; level++)
+        {
+            Branch branch = (Branch) node;
+            node = branch.children[this.childIndex(branch, key)];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Returns the leaf whose range holds the key like {@link #leafFor(Object)}, recording the branches on the way down
+     * and the child taken in each, so that an update can adjust their totals and split or merge nodes along the path.
+     */
+    private Leaf descend(Object key)
+    {
+        if (key == null && this.comparator == null)
+        {
+            throw new NullPointerException();
+        }
+        if (this.pathBranches.length < this.height)
+        {
+            this.pathBranches = new Branch[this.height];
+            this.pathIndexes = new int[this.height];
+        }
+        Node node = this.root;
+        for (int level = 0; level < this.height; level++)
+        {
+            Branch branch = (Branch) node;
+            int index = this.childIndex(branch, key);
+            this.pathBranches[level] = branch;
+            this.pathIndexes[level] = index;
+            node = branch.children[index];
+        }
+        return (Leaf) node;
+    }
+
+    private void adjustPathTotals(int delta)
+    {
+        for (int level = 0; level < this.height; level++)
+        {
+            this.pathBranches[level].total += delta;
+        }
+    }
+
+    private Leaf firstLeaf()
+    {
+        Node node = this.root;
+        for (int level = 0; level < this.height; level++)
+        {
+            node = ((Branch) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf lastLeaf()
+    {
+        Node node = this.root;
+        for (int level = 0; level < this.height; level++)
+        {
+            Branch branch = (Branch) node;
+            node = branch.children[branch.count - 1];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Returns a one-element array holding the first item whose occurrences the predicate accepts, or rejects when
+     * {@code negate} is true, or null when there is no such item. The array tells a null item apart from no item.
+     */
+    private Object[] detectWithOccurrences(ObjectIntPredicate<? super T> predicate, boolean negate)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                if (predicate.accept((T) leaf.keys[i], leaf.occurrences[i]) != negate)
+                {
+                    return new Object[]{leaf.keys[i]};
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the contents of this bag with the items and occurrences of the source accepted by the predicate. The
+     * source, which may be this bag, must iterate in the order of this bag's comparator.
+     */
+    private void loadMatching(SortedBag<T> source, ObjectIntPredicate<? super T> predicate)
+    {
+        int sourceSizeDistinct = source.sizeDistinct();
+        Object[] keys = new Object[sourceSizeDistinct];
+        int[] occurrences = new int[sourceSizeDistinct];
+        int[] count = new int[1];
+        source.forEachWithOccurrences((each, eachOccurrences) -> {
+            if (predicate.accept(each, eachOccurrences))
+            {
+                keys[count[0]] = each;
+                occurrences[count[0]] = eachOccurrences;
+                count[0]++;
+            }
+        });
+        this.bulkLoad(keys, occurrences, count[0]);
+    }
+
+    /**
+     * Builds the tree bottom-up from distinct items already in comparator order: the leaves are filled evenly, then
+     * each level of branches is built over the one below it, so no items are compared and no node is split.
+     */
+    private void bulkLoad(Object[] keys, int[] occurrences, int count)
+    {
+        this.root = null;
+        this.height = 0;
+        this.sizeDistinct = count;
+        this.modCount++;
+        if (count == 0)
+        {
+            return;
+        }
+        int leafCount = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        Node[] nodes = new Node[leafCount];
+        Object[] lowestKeys = new Object[leafCount];
+        Leaf previous = null;
+        int source = 0;
+        for (int i = 0; i < leafCount; i++)
+        {
+            int entryCount = count / leafCount + (i < count % leafCount ? 1 : 0);
+            Leaf leaf = new Leaf(leafCount == 1 ? Math.max(entryCount, INITIAL_LEAF_CAPACITY) : NODE_CAPACITY);
+            System.arraycopy(keys, source, leaf.keys, 0, entryCount);
+            System.arraycopy(occurrences, source, leaf.occurrences, 0, entryCount);
+            leaf.count = entryCount;
+            leaf.total = BTreeBag.sum(occurrences, source, entryCount);
+            source += entryCount;
+            if (previous != null)
+            {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            nodes[i] = leaf;
+            lowestKeys[i] = leaf.keys[0];
+        }
+        int nodeCount = leafCount;
+        while (nodeCount > 1)
+        {
+            int branchCount = (nodeCount + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            int child = 0;
+            for (int i = 0; i < branchCount; i++)
+            {
+                int childCount = nodeCount / branchCount + (i < nodeCount % branchCount ? 1 : 0);
+                Branch branch = new Branch();
+                Object lowestKey = lowestKeys[child];
+                for (int j = 0; j < childCount; j++)
+                {
+                    branch.children[j] = nodes[child];
+                    branch.total += nodes[child].total;
+                    if (j > 0)
+                    {
+                        branch.keys[j - 1] = lowestKeys[child];
+                    }
+                    child++;
+                }
+                branch.count = childCount;
+                nodes[i] = branch;
+                lowestKeys[i] = lowestKey;
+            }
+            nodeCount = branchCount;
+            this.height++;
+        }
+        this.root = nodes[0];
+    }
+
+    /**
+     * Returns the height of the tree, where a single leaf has height 0. Visible for tests.
+     */
+    int height()
+    {
+        return this.height;
+    }
+
+    /**
+     * Checks that every node's total is the sum of the totals of its children, or of the occurrences in a leaf, and
+     * returns the total of the root. Visible for tests.
+     *
+     * @throws IllegalStateException if a node's total does not match what is below it
+     */
+    int checkTotals()
+    {
+        return this.root == null ? 0 : BTreeBag.checkTotals(this.root);
+    }
+
+    private static int checkTotals(Node node)
+    {
+        int sum;
+        if (node instanceof Leaf)
+        {
+            sum = BTreeBag.sum(((Leaf) node).occurrences, 0, node.count);
+        }
+        else
+        {
+            sum = 0;
+            Branch branch = (Branch) node;
+            for (int i = 0; i < branch.count; i++)
+            {
+                sum += BTreeBag.checkTotals(branch.children[i]);
+            }
+        }
+        if (sum != node.total)
+        {
+            throw new IllegalStateException("Node total " + node.total + " but the nodes below it hold " + sum);
+        }
+        return sum;
+    }
+
+    private static int sum(int[] occurrences, int from, int length)
+    {
+        int sum = 0;
+        for (int i = from; i < from + length; i++)
+        {
+            sum += occurrences[i];
+        }
+        return sum;
+    }
+
+    private void splitLeaf(Leaf leaf, int insertionIndex, Object key, int occurrences)
+    {
+        // Appending past the end of the last leaf keeps the left leaf full, so ascending inserts pack the leaves
+        int leftCount = insertionIndex == NODE_CAPACITY && leaf.next == null ? NODE_CAPACITY : (NODE_CAPACITY + 1) / 2;
+        Leaf right = new Leaf(NODE_CAPACITY);
+        if (insertionIndex < leftCount)
+        {
+            int moved = NODE_CAPACITY - leftCount + 1;
+            leaf.moveTo(leftCount - 1, right, moved);
+            leaf.insert(insertionIndex, key, occurrences);
+        }
+        else
+        {
+            leaf.moveTo(leftCount, right, NODE_CAPACITY - leftCount);
+            right.insert(insertionIndex - leftCount, key, occurrences);
+        }
+        right.next = leaf.next;
+        leaf.next = right;
+        this.insertIntoParent(right.keys[0], right);
+    }
+
+    /**
+     * Inserts the node split off to the right of the last node reached by {@link #descend(Object)}, splitting the
+     * branches on the path as far up as needed. The totals on the path must already include the update.
+     */
+    private void insertIntoParent(Object separator, Node node)
+    {
+        Object newSeparator = separator;
+        Node newNode = node;
+        for (int level = this.height - 1; level >= 0; level--)
+        {
+            Branch branch = this.pathBranches[level];
+            if (branch.count < NODE_CAPACITY)
+            {
+                branch.insert(this.pathIndexes[level], newSeparator, newNode);
+                return;
+            }
+            Branch right = new Branch();
+            newSeparator = branch.split(right, this.pathIndexes[level], newSeparator, newNode, this.isRightEdge(level));
+            newNode = right;
+        }
+        Branch newRoot = new Branch();
+        newRoot.children[0] = this.root;
+        newRoot.children[1] = newNode;
+        newRoot.keys[0] = newSeparator;
+        newRoot.count = 2;
+        newRoot.total = this.root.total + newNode.total;
+        this.root = newRoot;
+        this.height++;
+    }
+
+    private boolean isRightEdge(int level)
+    {
+        for (int i = 0; i <= level; i++)
+        {
+            if (this.pathIndexes[i] != this.pathBranches[i].count - 1)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Restores the minimum occupancy along the path recorded by {@link #descend(Object)}, by merging each underfull
+     * node with a sibling when both fit in one node and by sharing items with the sibling otherwise.
+     */
+    private void rebalance()
+    {
+        for (int level = this.height - 1; level >= 0; level--)
+        {
+            Branch parent = this.pathBranches[level];
+            Node node = parent.children[this.pathIndexes[level]];
+            if (node.count >= MINIMUM_OCCUPANCY)
+            {
+                break;
+            }
+            int leftIndex = this.pathIndexes[level] == 0 ? 0 : this.pathIndexes[level] - 1;
+            Node left = parent.children[leftIndex];
+            Node right = parent.children[leftIndex + 1];
+            if (left instanceof Leaf)
+            {
+                BTreeBag.rebalanceLeaves(parent, leftIndex, (Leaf) left, (Leaf) right);
+            }
+            else
+            {
+                BTreeBag.rebalanceBranches(parent, leftIndex, (Branch) left, (Branch) right);
+            }
+        }
+        while (this.height > 0 && ((Branch) this.root).count == 1)
+        {
+            this.root = ((Branch) this.root).children[0];
+            this.height--;
+        }
+    }
+
+    private static void rebalanceLeaves(Branch parent, int leftIndex, Leaf left, Leaf right)
+    {
+        int total = left.count + right.count;
+        if (total <= NODE_CAPACITY)
+        {
+            right.moveTo(0, left, right.count);
+            left.next = right.next;
+            parent.removeAt(leftIndex);
+            return;
+        }
+        int leftCount = total / 2;
+        if (left.count > leftCount)
+        {
+            left.moveTo(leftCount, right, left.count - leftCount);
+        }
+        else
+        {
+            right.moveTo(0, left, leftCount - left.count);
+        }
+        parent.keys[leftIndex] = right.keys[0];
+    }
+
+    private static void rebalanceBranches(Branch parent, int leftIndex, Branch left, Branch right)
+    {
+        int total = left.count + right.count;
+        Object separator = parent.keys[leftIndex];
+        if (total <= NODE_CAPACITY)
+        {
+            left.keys[left.count - 1] = separator;
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count - 1);
+            System.arraycopy(right.children, 0, left.children, left.count, right.count);
+            left.count = total;
+            left.total += right.total;
+            parent.removeAt(leftIndex);
+            return;
+        }
+        Object[] keys = new Object[total - 1];
+        Node[] children = new Node[total];
+        System.arraycopy(left.keys, 0, keys, 0, left.count - 1);
+        keys[left.count - 1] = separator;
+        System.arraycopy(right.keys, 0, keys, left.count, right.count - 1);
+        System.arraycopy(left.children, 0, children, 0, left.count);
+        System.arraycopy(right.children, 0, children, left.count, right.count);
+        int leftCount = total / 2;
+        left.fill(keys, children, 0, leftCount);
+        right.fill(keys, children, leftCount, total - leftCount);
+        parent.keys[leftIndex] = keys[leftCount - 1];
+    }
+
+    /**
+     * A node knows how many keys or children it holds and the total number of occurrences stored beneath it.
+     */
+    private abstract static class Node
+    {
+        protected int count;
+        protected int total;
+    }
+
+    private static final class Leaf extends Node
+    {
+        private Object[] keys;
+        private int[] occurrences;
+        private Leaf next;
+
+        private Leaf(int capacity)
+        {
+            this.keys = new Object[capacity];
+            this.occurrences = new int[capacity];
+        }
+
+        private void ensureCapacity(int capacity)
+        {
+            if (this.keys.length < capacity)
+            {
+                int newCapacity = Math.min(Math.max(this.keys.length << 1, capacity), NODE_CAPACITY);
+                this.keys = Arrays.copyOf(this.keys, newCapacity);
+                this.occurrences = Arrays.copyOf(this.occurrences, newCapacity);
+            }
+        }
+
+        private void insert(int index, Object key, int occurrences)
+        {
+            this.ensureCapacity(this.count + 1);
+            System.arraycopy(this.keys, index, this.keys, index + 1, this.count - index);
+            System.arraycopy(this.occurrences, index, this.occurrences, index + 1, this.count - index);
+            this.keys[index] = key;
+            this.occurrences[index] = occurrences;
+            this.count++;
+            this.total += occurrences;
+        }
+
+        private void removeAt(int index)
+        {
+            this.total -= this.occurrences[index];
+            int moved = this.count - index - 1;
+            System.arraycopy(this.keys, index + 1, this.keys, index, moved);
+            System.arraycopy(this.occurrences, index + 1, this.occurrences, index, moved);
+            this.count--;
+            this.keys[this.count] = null;
+            this.occurrences[this.count] = 0;
+        }
+
+        /**
+         * Moves {@code length} items starting at {@code from} to the target leaf, which must be this leaf's right
+         * neighbour when the items come from the end of this leaf and its left neighbour when they come from the
+         * start, so that the order across the two leaves is kept.
+         */
+        private void moveTo(int from, Leaf target, int length)
+        {
+            target.ensureCapacity(target.count + length);
+            int movedTotal = BTreeBag.sum(this.occurrences, from, length);
+            if (from == 0)
+            {
+                System.arraycopy(this.keys, 0, target.keys, target.count, length);
+                System.arraycopy(this.occurrences, 0, target.occurrences, target.count, length);
+                System.arraycopy(this.keys, length, this.keys, 0, this.count - length);
+                System.arraycopy(this.occurrences, length, this.occurrences, 0, this.count - length);
+            }
+            else
+            {
+                System.arraycopy(target.keys, 0, target.keys, length, target.count);
+                System.arraycopy(target.occurrences, 0, target.occurrences, length, target.count);
+                System.arraycopy(this.keys, from, target.keys, 0, length);
+                System.arraycopy(this.occurrences, from, target.occurrences, 0, length);
+            }
+            Arrays.fill(this.keys, this.count - length, this.count, null);
+            Arrays.fill(this.occurrences, this.count - length, this.count, 0);
+            this.count -= length;
+            this.total -= movedTotal;
+            target.count += length;
+            target.total += movedTotal;
+        }
+    }
+
+    private static final class Branch extends Node
+    {
+        private final Object[] keys = new Object[NODE_CAPACITY - 1];
+        private final Node[] children = new Node[NODE_CAPACITY];
+
+        /**
+         * Inserts the separator after the key at {@code index - 1} and the child after the child at {@code index}.
+         */
+        private void insert(int index, Object separator, Node child)
+        {
+            int moved = this.count - 1 - index;
+            System.arraycopy(this.keys, index, this.keys, index + 1, moved);
+            System.arraycopy(this.children, index + 1, this.children, index + 2, moved);
+            this.keys[index] = separator;
+            this.children[index + 1] = child;
+            this.count++;
+        }
+
+        /**
+         * Removes the separator at {@code index} and the child to its right.
+         */
+        private void removeAt(int index)
+        {
+            int moved = this.count - 2 - index;
+            System.arraycopy(this.keys, index + 1, this.keys, index, moved);
+            System.arraycopy(this.children, index + 2, this.children, index + 1, moved);
+            this.count--;
+            this.keys[this.count - 1] = null;
+            this.children[this.count] = null;
+        }
+
+        /**
+         * Splits this full branch while inserting a separator and child as {@link #insert} would, moving the upper
+         * children to the empty right branch, and returns the separator to insert between the two in the parent.
+         */
+        private Object split(Branch right, int index, Object separator, Node child, boolean append)
+        {
+            Object[] allKeys = new Object[NODE_CAPACITY];
+            Node[] allChildren = new Node[NODE_CAPACITY + 1];
+            System.arraycopy(this.keys, 0, allKeys, 0, index);
+            allKeys[index] = separator;
+            System.arraycopy(this.keys, index, allKeys, index + 1, NODE_CAPACITY - 1 - index);
+            System.arraycopy(this.children, 0, allChildren, 0, index + 1);
+            allChildren[index + 1] = child;
+            System.arraycopy(this.children, index + 1, allChildren, index + 2, NODE_CAPACITY - 1 - index);
+            int leftCount = append ? NODE_CAPACITY - 1 : (NODE_CAPACITY + 1) / 2;
+            this.fill(allKeys, allChildren, 0, leftCount);
+            right.fill(allKeys, allChildren, leftCount, NODE_CAPACITY + 1 - leftCount);
+            return allKeys[leftCount - 1];
+        }
+
+        /**
+         * Replaces the contents of this branch with {@code length} children starting at {@code from} and the
+         * separators between them, and recomputes its total.
+         */
+        private void fill(Object[] allKeys, Node[] allChildren, int from, int length)
+        {
+            Arrays.fill(this.keys, null);
+            Arrays.fill(this.children, null);
+            System.arraycopy(allChildren, from, this.children, 0, length);
+            System.arraycopy(allKeys, from, this.keys, 0, length - 1);
+            this.count = length;
+            this.total = 0;
+            for (int i = 0; i < length; i++)
+            {
+                this.total += this.children[i].total;
+            }
+        }
+    }
+
+    private final class InternalIterator implements Iterator<T>
+    {
+        private Leaf leaf = BTreeBag.this.firstLeaf();
+        private int index;
+        private int remaining = this.leaf == null ? 0 : this.leaf.occurrences[0];
+        private Object lastKey;
+        private boolean canRemove;
+        private int expectedModCount = BTreeBag.this.modCount;
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.leaf != null;
+        }
+
+        @Override
+        public T next()
+        {
+            if (BTreeBag.this.modCount != this.expectedModCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            if (this.leaf == null)
+            {
+                throw new NoSuchElementException();
+            }
+            this.lastKey = this.leaf.keys[this.index];
+            this.canRemove = true;
+            this.remaining--;
+            if (this.remaining == 0)
+            {
+                this.index++;
+                if (this.index == this.leaf.count)
+                {
+                    this.leaf = this.leaf.next;
+                    this.index = 0;
+                }
+                if (this.leaf != null)
+                {
+                    this.remaining = this.leaf.occurrences[this.index];
+                }
+            }
+            return (T) this.lastKey;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (!this.canRemove)
+            {
+                throw new IllegalStateException();
+            }
+            if (BTreeBag.this.modCount != this.expectedModCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            // Removing may move items between leaves, so the item to return next is found again afterwards
+            Object nextKey = this.leaf == null ? null : this.leaf.keys[this.index];
+            BTreeBag.this.removeOccurrences(this.lastKey, 1);
+            this.expectedModCount = BTreeBag.this.modCount;
+            this.canRemove = false;
+            if (this.leaf != null)
+            {
+                this.leaf = BTreeBag.this.leafFor(nextKey);
+                this.index = BTreeBag.this.search(this.leaf, nextKey);
+            }
+        }
+    }
+
+    private final class DistinctIterator implements Iterator<T>
+    {
+        private Leaf leaf = BTreeBag.this.firstLeaf();
+        private int index;
+        private final int expectedModCount = BTreeBag.this.modCount;
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.leaf != null;
+        }
+
+        @Override
+        public T next()
+        {
+            if (BTreeBag.this.modCount != this.expectedModCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            Leaf current = this.leaf;
+            if (current == null)
+            {
+                throw new NoSuchElementException();
+            }
+            int currentIndex = this.index;
+            this.index++;
+            if (this.index == current.count)
+            {
+                this.leaf = current.next;
+                this.index = 0;
+            }
+            return (T) current.keys[currentIndex];
+        }
+    }
+
+    private final class DistinctSet extends AbstractSet<T>
+    {
+        @Override
+        public Iterator<T> iterator()
+        {
+            return new DistinctIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return BTreeBag.this.sizeDistinct;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return BTreeBag.this.contains(o);
+        }
+    }
+}
@@ -0,0 +1,1598 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bimap.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.bag.primitive.MutableBooleanBag;
+import org.eclipse.collections.api.bag.primitive.MutableByteBag;
+import org.eclipse.collections.api.bag.primitive.MutableCharBag;
+import org.eclipse.collections.api.bag.primitive.MutableDoubleBag;
+import org.eclipse.collections.api.bag.primitive.MutableFloatBag;
+import org.eclipse.collections.api.bag.primitive.MutableIntBag;
+import org.eclipse.collections.api.bag.primitive.MutableLongBag;
+import org.eclipse.collections.api.bag.primitive.MutableShortBag;
+import org.eclipse.collections.api.bimap.ImmutableBiMap;
+import org.eclipse.collections.api.bimap.MutableBiMap;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function0;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.function.primitive.BooleanFunction;
+import org.eclipse.collections.api.block.function.primitive.ByteFunction;
+import org.eclipse.collections.api.block.function.primitive.CharFunction;
+import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
+import org.eclipse.collections.api.block.function.primitive.FloatFunction;
+import org.eclipse.collections.api.block.function.primitive.IntFunction;
+import org.eclipse.collections.api.block.function.primitive.LongFunction;
+import org.eclipse.collections.api.block.function.primitive.ShortFunction;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.factory.Bags;
+import org.eclipse.collections.api.factory.BiMaps;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.primitive.ObjectDoubleMaps;
+import org.eclipse.collections.api.factory.primitive.ObjectLongMaps;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.api.multimap.set.MutableSetMultimap;
+import org.eclipse.collections.api.ordered.OrderedIterable;
+import org.eclipse.collections.api.partition.set.PartitionMutableSet;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.bag.mutable.HashBag;
+import org.eclipse.collections.impl.bag.mutable.primitive.BooleanHashBag;
+import org.eclipse.collections.impl.bag.mutable.primitive.ByteHashBag;
+import org.eclipse.collections.impl.bag.mutable.primitive.CharHashBag;
+import org.eclipse.collections.impl.bag.mutable.primitive.DoubleHashBag;
+import org.eclipse.collections.impl.bag.mutable.primitive.FloatHashBag;
+import org.eclipse.collections.impl.bag.mutable.primitive.IntHashBag;
+import org.eclipse.collections.impl.bag.mutable.primitive.LongHashBag;
+import org.eclipse.collections.impl.bag.mutable.primitive.ShortHashBag;
+import org.eclipse.collections.impl.block.factory.Predicates;
+import org.eclipse.collections.impl.block.factory.PrimitiveFunctions;
+import org.eclipse.collections.impl.block.procedure.PartitionProcedure;
+import org.eclipse.collections.impl.block.procedure.SelectInstancesOfProcedure;
+import org.eclipse.collections.impl.list.fixed.ArrayAdapter;
+import org.eclipse.collections.impl.map.AbstractMapIterable;
+import org.eclipse.collections.impl.multimap.set.UnifiedSetMultimap;
+import org.eclipse.collections.impl.partition.set.PartitionUnifiedSet;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.tuple.AbstractImmutableEntry;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.LazyIterate;
+import org.eclipse.collections.impl.utility.MapIterate;
+
+/**
+ * A {@link MutableBiMap} which stores each entry once. {@link HashBiMap} keeps a full hash table for each direction,
+ * so every key and every value is stored twice. CompactHashBiMap keeps keys and values in a pair of parallel arrays,
+ * one entry per slot, and looks them up through two open addressing index tables of ints, one hashed by key and one
+ * hashed by value. The inverse returned by {@link #inverse()} is a view over the same arrays and index tables.
+ * <p>
+ * Each index word holds the slot of an entry in its low bits and the high bits of the entry's hash above them, so a
+ * probe only compares the keys of entries whose hash bits already match. The index tables are probed linearly, stay at
+ * most 3/4 full and are repaired by shifting entries back on removal, so they never hold deleted markers. Entries stay
+ * packed at the front of the arrays: removing an entry moves the last entry into its slot. Iteration order is
+ * insertion order until the first removal.
+ * <p>
+ * Nulls are supported as both keys and values.
+ *
+ * @since 11.1
+ */
+public class CompactHashBiMap<K, V> extends AbstractMapIterable<K, V> implements MutableBiMap<K, V>, Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+    private static final int KEYS = 0;
+
+    private static final int VALUES = 1;
+
+    private transient Storage storage;
+
+    private transient int keySide;
+
+    private transient int valueSide;
+
+    private transient CompactHashBiMap<V, K> inverse;
+
+    public CompactHashBiMap()
+    {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public CompactHashBiMap(int initialCapacity)
+    {
+        this(new Storage(initialCapacity), KEYS);
+    }
+
+    public CompactHashBiMap(Map<K, V> map)
+    {
+        this(Math.max(map.size(), DEFAULT_INITIAL_CAPACITY));
+        this.putAll(map);
+    }
+
+    private CompactHashBiMap(Storage storage, int keySide)
+    {
+        this.storage = storage;
+        this.keySide = keySide;
+        this.valueSide = 1 - keySide;
+        this.inverse = new CompactHashBiMap<>(storage, this.valueSide, this);
+    }
+
+    private CompactHashBiMap(Storage storage, int keySide, CompactHashBiMap<V, K> inverse)
+    {
+        this.storage = storage;
+        this.keySide = keySide;
+        this.valueSide = 1 - keySide;
+        this.inverse = inverse;
+    }
+
+    public static <K, V> CompactHashBiMap<K, V> newMap()
+    {
+        return new CompactHashBiMap<>();
+    }
+
+    public static <K, V> CompactHashBiMap<K, V> newMap(int initialCapacity)
+    {
+        return new CompactHashBiMap<>(initialCapacity);
+    }
+
+    public static <K, V> CompactHashBiMap<K, V> newMap(Map<K, V> map)
+    {
+        return new CompactHashBiMap<>(map);
+    }
+
+    public static <K, V> CompactHashBiMap<K, V> newWithKeysValues(K key, V value)
+    {
+        return new CompactHashBiMap<K, V>(1).withKeysValues(key, value);
+    }
+
+    public static <K, V> CompactHashBiMap<K, V> newWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return new CompactHashBiMap<K, V>(2).withKeysValues(key1, value1, key2, value2);
+    }
+
+    public static <K, V> CompactHashBiMap<K, V> newWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return new CompactHashBiMap<K, V>(3).withKeysValues(key1, value1, key2, value2, key3, value3);
+    }
+
+    public static <K, V> CompactHashBiMap<K, V> newWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return new CompactHashBiMap<K, V>(4).withKeysValues(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    public CompactHashBiMap<K, V> withKeysValues(K key, V value)
+    {
+        this.put(key, value);
+        return this;
+    }
+
+    public CompactHashBiMap<K, V> withKeysValues(K key1, V value1, K key2, V value2)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        return this;
+    }
+
+    public CompactHashBiMap<K, V> withKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        return this;
+    }
+
+    public CompactHashBiMap<K, V> withKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        this.put(key4, value4);
+        return this;
+    }
+
+    private static boolean nullSafeEquals(Object value, Object other)
+    {
+        if (value == null)
+        {
+            return other == null;
+        }
+        return other == value || value.equals(other);
+    }
+
+    private K keyAt(int slot)
+    {
+        return (K) this.storage.columns[this.keySide][slot];
+    }
+
+    private V valueAt(int slot)
+    {
+        return (V) this.storage.columns[this.valueSide][slot];
+    }
+
+    @Override
+    public int size()
+    {
+        return this.storage.size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.storage.size == 0;
+    }
+
+    @Override
+    public boolean notEmpty()
+    {
+        return this.storage.size != 0;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        int slot = this.storage.find(this.keySide, key);
+        return slot < 0 ? null : this.valueAt(slot);
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.storage.find(this.keySide, key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        return this.storage.find(this.valueSide, value) >= 0;
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        int valueSlot = this.storage.find(this.valueSide, value);
+        if (valueSlot >= 0)
+        {
+            if (CompactHashBiMap.nullSafeEquals(key, this.keyAt(valueSlot)))
+            {
+                return value;
+            }
+            throw new IllegalArgumentException("Value " + value + " already exists in map!");
+        }
+
+        int keySlot = this.storage.find(this.keySide, key);
+        if (keySlot >= 0)
+        {
+            V oldValue = this.valueAt(keySlot);
+            this.storage.replace(this.valueSide, keySlot, value);
+            return oldValue;
+        }
+        this.storage.append(this.keySide, key, value);
+        return null;
+    }
+
+    @Override
+    public V forcePut(K key, V value)
+    {
+        int valueSlot = this.storage.find(this.valueSide, value);
+        if (valueSlot < 0)
+        {
+            int keySlot = this.storage.find(this.keySide, key);
+            if (keySlot >= 0)
+            {
+                V oldValue = this.valueAt(keySlot);
+                this.storage.replace(this.valueSide, keySlot, value);
+                return oldValue;
+            }
+            this.storage.append(this.keySide, key, value);
+            return null;
+        }
+        if (CompactHashBiMap.nullSafeEquals(key, this.keyAt(valueSlot)))
+        {
+            return value;
+        }
+
+        int keySlot = this.storage.find(this.keySide, key);
+        if (keySlot < 0)
+        {
+            // The value moves to the new key, keeping its original instance
+            this.storage.replace(this.keySide, valueSlot, key);
+            return null;
+        }
+
+        // The key keeps its original instance and takes over the original instance of the value from its old key
+        V oldValue = this.valueAt(keySlot);
+        V valueToPreserve = this.valueAt(valueSlot);
+        int lastSlot = this.storage.size - 1;
+        this.storage.removeSlot(valueSlot);
+        if (keySlot == lastSlot)
+        {
+            keySlot = valueSlot;
+        }
+        this.storage.replace(this.valueSide, keySlot, valueToPreserve);
+        return oldValue;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        if (map instanceof CompactHashBiMap)
+        {
+            ((CompactHashBiMap<? extends K, ? extends V>) map).forEachKeyValue(this::put);
+            return;
+        }
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+        {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        int slot = this.storage.find(this.keySide, key);
+        if (slot < 0)
+        {
+            return null;
+        }
+        V oldValue = this.valueAt(slot);
+        this.storage.removeSlot(slot);
+        return oldValue;
+    }
+
+    @Override
+    public V removeKey(K key)
+    {
+        return this.remove(key);
+    }
+
+    @Override
+    public void clear()
+    {
+        this.storage.clear();
+    }
+
+    /**
+     * Shrinks the entry arrays and the index tables to the smallest size that holds the current entries. This is
+     * useful after bulk loading a large map, since the arrays grow by doubling.
+     *
+     * @return true if the map was resized.
+     */
+    public boolean trimToSize()
+    {
+        return this.storage.trimToSize();
+    }
+
+    @Override
+    public V getIfAbsentPut(K key, V value)
+    {
+        int slot = this.storage.find(this.keySide, key);
+        if (slot >= 0)
+        {
+            return this.valueAt(slot);
+        }
+        this.put(key, value);
+        return value;
+    }
+
+    @Override
+    public V getIfAbsentPut(K key, Function0<? extends V> function)
+    {
+        int slot = this.storage.find(this.keySide, key);
+        if (slot >= 0)
+        {
+            return this.valueAt(slot);
+        }
+        V newValue = function.value();
+        this.put(key, newValue);
+        return newValue;
+    }
+
+    @Override
+    public <P> V getIfAbsentPutWith(K key, Function<? super P, ? extends V> function, P parameter)
+    {
+        int slot = this.storage.find(this.keySide, key);
+        if (slot >= 0)
+        {
+            return this.valueAt(slot);
+        }
+        V newValue = function.valueOf(parameter);
+        this.put(key, newValue);
+        return newValue;
+    }
+
+    @Override
+    public V getIfAbsentPutWithKey(K key, Function<? super K, ? extends V> function)
+    {
+        return this.getIfAbsentPutWith(key, function, key);
+    }
+
+    @Override
+    public V updateValue(K key, Function0<? extends V> factory, Function<? super V, ? extends V> function)
+    {
+        int slot = this.storage.find(this.keySide, key);
+        V newValue = function.valueOf(slot >= 0 ? this.valueAt(slot) : factory.value());
+        this.put(key, newValue);
+        return newValue;
+    }
+
+    @Override
+    public <P> V updateValueWith(K key, Function0<? extends V> factory, Function2<? super V, ? super P, ? extends V> function, P parameter)
+    {
+        int slot = this.storage.find(this.keySide, key);
+        V newValue = function.value(slot >= 0 ? this.valueAt(slot) : factory.value(), parameter);
+        this.put(key, newValue);
+        return newValue;
+    }
+
+    @Override
+    public CompactHashBiMap<K, V> newEmpty()
+    {
+        return new CompactHashBiMap<>();
+    }
+
+    @Override
+    public MutableBiMap<K, V> withKeyValue(K key, V value)
+    {
+        this.put(key, value);
+        return this;
+    }
+
+    @Override
+    public MutableBiMap<K, V> withMap(Map<? extends K, ? extends V> map)
+    {
+        this.putAll(map);
+        return this;
+    }
+
+    @Override
+    public MutableBiMap<K, V> withAllKeyValues(Iterable<? extends Pair<? extends K, ? extends V>> keyValues)
+    {
+        for (Pair<? extends K, ? extends V> keyVal : keyValues)
+        {
+            this.put(keyVal.getOne(), keyVal.getTwo());
+        }
+        return this;
+    }
+
+    @Override
+    public MutableBiMap<K, V> withAllKeyValueArguments(Pair<? extends K, ? extends V>... keyValuePairs)
+    {
+        return this.withAllKeyValues(ArrayAdapter.adapt(keyValuePairs));
+    }
+
+    @Override
+    public MutableBiMap<K, V> withoutKey(K key)
+    {
+        this.removeKey(key);
+        return this;
+    }
+
+    @Override
+    public MutableBiMap<K, V> withoutAllKeys(Iterable<? extends K> keys)
+    {
+        for (K key : keys)
+        {
+            this.removeKey(key);
+        }
+        return this;
+    }
+
+    @Override
+    public MutableBiMap<V, K> inverse()
+    {
+        return this.inverse;
+    }
+
+    @Override
+    public MutableSetMultimap<V, K> flip()
+    {
+        return MapIterate.flip(this);
+    }
+
+    @Override
+    public CompactHashBiMap<V, K> flipUniqueValues()
+    {
+        return this.inverse.clone();
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return new ValuesCollection();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet()
+    {
+        return new EntrySet();
+    }
+
+    @Override
+    public RichIterable<K> keysView()
+    {
+        return LazyIterate.adapt(this.keySet());
+    }
+
+    @Override
+    public RichIterable<V> valuesView()
+    {
+        return LazyIterate.adapt(this.values());
+    }
+
+    @Override
+    public RichIterable<Pair<K, V>> keyValuesView()
+    {
+        return LazyIterate.adapt(this.entrySet()).collect(AbstractImmutableEntry.getPairFunction());
+    }
+
+    @Override
+    public LazyIterable<V> asLazy()
+    {
+        return LazyIterate.adapt(this);
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return new SlotIterator<V>()
+        {
+            @Override
+            protected V itemAt(int slot)
+            {
+                return CompactHashBiMap.this.valueAt(slot);
+            }
+        };
+    }
+
+    @Override
+    public void each(Procedure<? super V> procedure)
+    {
+        this.forEachValue(procedure);
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        Object[] values = this.storage.columns[this.valueSide];
+        int size = this.storage.size;
+        for (int i = 0; i < size; i++)
+        {
+            procedure.value((V) values[i]);
+        }
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        Object[] keys = this.storage.columns[this.keySide];
+        int size = this.storage.size;
+        for (int i = 0; i < size; i++)
+        {
+            procedure.value((K) keys[i]);
+        }
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        Object[] keys = this.storage.columns[this.keySide];
+        Object[] values = this.storage.columns[this.valueSide];
+        int size = this.storage.size;
+        for (int i = 0; i < size; i++)
+        {
+            procedure.value((K) keys[i], (V) values[i]);
+        }
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super V> objectIntProcedure)
+    {
+        Object[] values = this.storage.columns[this.valueSide];
+        int size = this.storage.size;
+        for (int i = 0; i < size; i++)
+        {
+            objectIntProcedure.value((V) values[i], i);
+        }
+    }
+
+    @Override
+    public <P> void forEachWith(Procedure2<? super V, ? super P> procedure, P parameter)
+    {
+        Object[] values = this.storage.columns[this.valueSide];
+        int size = this.storage.size;
+        for (int i = 0; i < size; i++)
+        {
+            procedure.value((V) values[i], parameter);
+        }
+    }
+
+    @Override
+    public V getFirst()
+    {
+        return this.isEmpty() ? null : this.valueAt(0);
+    }
+
+    @Override
+    public V getLast()
+    {
+        return this.isEmpty() ? null : this.valueAt(this.storage.size - 1);
+    }
+
+    @Override
+    public V getOnly()
+    {
+        if (this.storage.size != 1)
+        {
+            throw new IllegalStateException("Size must be 1 but was " + this.storage.size);
+        }
+        return this.valueAt(0);
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        return Arrays.copyOf(this.storage.columns[this.valueSide], this.storage.size);
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a)
+    {
+        return this.values().toArray(a);
+    }
+
+    @Override
+    public V detect(Predicate<? super V> predicate)
+    {
+        Object[] values = this.storage.columns[this.valueSide];
+        int size = this.storage.size;
+        for (int i = 0; i < size; i++)
+        {
+            V each = (V) values[i];
+            if (predicate.accept(each))
+            {
+                return each;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Pair<K, V> detect(Predicate2<? super K, ? super V> predicate)
+    {
+        int size = this.storage.size;
+        for (int i = 0; i < size; i++)
+        {
+            K key = this.keyAt(i);
+            V value = this.valueAt(i);
+            if (predicate.accept(key, value))
+            {
+                return Tuples.pair(key, value);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Optional<Pair<K, V>> detectOptional(Predicate2<? super K, ? super V> predicate)
+    {
+        return Optional.ofNullable(this.detect(predicate));
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+        Map<K, V> other = (Map<K, V>) object;
+        if (this.storage.size != other.size())
+        {
+            return false;
+        }
+        int size = this.storage.size;
+        for (int i = 0; i < size; i++)
+        {
+            if (!this.keyAndValueEquals(this.keyAt(i), this.valueAt(i), other))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        int size = this.storage.size;
+        for (int i = 0; i < size; i++)
+        {
+            hashCode += this.keyAndValueHashCode(this.keyAt(i), this.valueAt(i));
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("{");
+        int size = this.storage.size;
+        for (int i = 0; i < size; i++)
+        {
+            if (i > 0)
+            {
+                builder.append(", ");
+            }
+            K key = this.keyAt(i);
+            V value = this.valueAt(i);
+            builder.append(key == this ? "(this Map)" : String.valueOf(key));
+            builder.append('=');
+            builder.append(value == this ? "(this Map)" : String.valueOf(value));
+        }
+        return builder.append('}').toString();
+    }
+
+    @Override
+    public ImmutableBiMap<K, V> toImmutable()
+    {
+        return BiMaps.immutable.withAll(this);
+    }
+
+    @Override
+    public MutableBiMap<K, V> asSynchronized()
+    {
+        return SynchronizedBiMap.of(this);
+    }
+
+    @Override
+    public MutableBiMap<K, V> asUnmodifiable()
+    {
+        return UnmodifiableBiMap.of(this);
+    }
+
+    @Override
+    public CompactHashBiMap<K, V> clone()
+    {
+        return new CompactHashBiMap<>(this.storage.copy(this.keySide), KEYS);
+    }
+
+    @Override
+    public MutableBiMap<K, V> tap(Procedure<? super V> procedure)
+    {
+        this.forEach(procedure);
+        return this;
+    }
+
+    @Override
+    public CompactHashBiMap<K, V> select(Predicate2<? super K, ? super V> predicate)
+    {
+        CompactHashBiMap<K, V> result = CompactHashBiMap.newMap();
+        this.forEachKeyValue((key, value) -> {
+            if (predicate.accept(key, value))
+            {
+                result.storage.append(KEYS, key, value);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public CompactHashBiMap<K, V> reject(Predicate2<? super K, ? super V> predicate)
+    {
+        CompactHashBiMap<K, V> result = CompactHashBiMap.newMap();
+        this.forEachKeyValue((key, value) -> {
+            if (!predicate.accept(key, value))
+            {
+                result.storage.append(KEYS, key, value);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public <K2, V2> CompactHashBiMap<K2, V2> collect(Function2<? super K, ? super V, Pair<K2, V2>> function)
+    {
+        CompactHashBiMap<K2, V2> result = CompactHashBiMap.newMap(this.size());
+        this.forEachKeyValue((key, value) -> {
+            Pair<K2, V2> pair = function.value(key, value);
+            result.put(pair.getOne(), pair.getTwo());
+        });
+        return result;
+    }
+
+    @Override
+    public <R> CompactHashBiMap<K, R> collectValues(Function2<? super K, ? super V, ? extends R> function)
+    {
+        CompactHashBiMap<K, R> result = CompactHashBiMap.newMap(this.size());
+        this.forEachKeyValue((key, value) -> result.put(key, function.value(key, value)));
+        return result;
+    }
+
+    @Override
+    public <K1, V1, V2> MutableMap<K1, V2> aggregateBy(
+            Function<? super K, ? extends K1> keyFunction,
+            Function<? super V, ? extends V1> valueFunction,
+            Function0<? extends V2> zeroValueFactory,
+            Function2<? super V2, ? super V1, ? extends V2> nonMutatingAggregator)
+    {
+        MutableMap<K1, V2> map = Maps.mutable.empty();
+        this.forEachKeyValue((key, value) -> map.updateValueWith(
+                keyFunction.valueOf(key),
+                zeroValueFactory,
+                nonMutatingAggregator,
+                valueFunction.valueOf(value)));
+        return map;
+    }
+
+    @Override
+    public <VV> MutableBag<VV> collect(Function<? super V, ? extends VV> function)
+    {
+        return this.collect(function, HashBag.newBag(this.size()));
+    }
+
+    @Override
+    public <P, VV> MutableBag<VV> collectWith(Function2<? super V, ? super P, ? extends VV> function, P parameter)
+    {
+        return this.collectWith(function, parameter, HashBag.newBag(this.size()));
+    }
+
+    @Override
+    public <VV> MutableBag<VV> flatCollect(Function<? super V, ? extends Iterable<VV>> function)
+    {
+        return this.flatCollect(function, HashBag.newBag());
+    }
+
+    @Override
+    public MutableBooleanBag collectBoolean(BooleanFunction<? super V> booleanFunction)
+    {
+        return this.collectBoolean(booleanFunction, new BooleanHashBag());
+    }
+
+    @Override
+    public MutableByteBag collectByte(ByteFunction<? super V> byteFunction)
+    {
+        return this.collectByte(byteFunction, new ByteHashBag());
+    }
+
+    @Override
+    public MutableCharBag collectChar(CharFunction<? super V> charFunction)
+    {
+        return this.collectChar(charFunction, new CharHashBag());
+    }
+
+    @Override
+    public MutableDoubleBag collectDouble(DoubleFunction<? super V> doubleFunction)
+    {
+        return this.collectDouble(doubleFunction, new DoubleHashBag());
+    }
+
+    @Override
+    public MutableFloatBag collectFloat(FloatFunction<? super V> floatFunction)
+    {
+        return this.collectFloat(floatFunction, new FloatHashBag());
+    }
+
+    @Override
+    public MutableIntBag collectInt(IntFunction<? super V> intFunction)
+    {
+        return this.collectInt(intFunction, new IntHashBag());
+    }
+
+    @Override
+    public MutableLongBag collectLong(LongFunction<? super V> longFunction)
+    {
+        return this.collectLong(longFunction, new LongHashBag());
+    }
+
+    @Override
+    public MutableShortBag collectShort(ShortFunction<? super V> shortFunction)
+    {
+        return this.collectShort(shortFunction, new ShortHashBag());
+    }
+
+    @Override
+    public <VV> MutableBag<VV> collectIf(Predicate<? super V> predicate, Function<? super V, ? extends VV> function)
+    {
+        return this.collectIf(predicate, function, HashBag.newBag());
+    }
+
+    /**
+     * @deprecated in 8.0. Use {@link OrderedIterable#zipWithIndex()} instead.
+     */
+    @Override
+    @Deprecated
+    public MutableSet<Pair<V, Integer>> zipWithIndex()
+    {
+        return this.zipWithIndex(UnifiedSet.newSet(this.size()));
+    }
+
+    /**
+     * @deprecated in 8.0. Use {@link OrderedIterable#zip(Iterable)} instead.
+     */
+    @Override
+    @Deprecated
+    public <S> MutableSet<Pair<V, S>> zip(Iterable<S> that)
+    {
+        if (that instanceof Collection || that instanceof RichIterable)
+        {
+            int thatSize = Iterate.sizeOf(that);
+            return this.zip(that, UnifiedSet.newSet(Math.min(this.size(), thatSize)));
+        }
+        return this.zip(that, UnifiedSet.newSet());
+    }
+
+    @Override
+    public <VV> MutableSetMultimap<VV, V> groupBy(Function<? super V, ? extends VV> function)
+    {
+        return this.groupBy(function, new UnifiedSetMultimap<>());
+    }
+
+    @Override
+    public <VV> MutableSetMultimap<VV, V> groupByEach(Function<? super V, ? extends Iterable<VV>> function)
+    {
+        return this.groupByEach(function, new UnifiedSetMultimap<>());
+    }
+
+    @Override
+    public <VV> MutableBiMap<VV, V> groupByUniqueKey(Function<? super V, ? extends VV> function)
+    {
+        return this.groupByUniqueKey(function, CompactHashBiMap.newMap(this.size()));
+    }
+
+    @Override
+    public MutableSet<V> select(Predicate<? super V> predicate)
+    {
+        return this.select(predicate, UnifiedSet.newSet());
+    }
+
+    @Override
+    public <P> MutableSet<V> selectWith(Predicate2<? super V, ? super P> predicate, P parameter)
+    {
+        return this.selectWith(predicate, parameter, UnifiedSet.newSet());
+    }
+
+    @Override
+    public MutableSet<V> reject(Predicate<? super V> predicate)
+    {
+        return this.reject(predicate, UnifiedSet.newSet());
+    }
+
+    @Override
+    public <P> MutableSet<V> rejectWith(Predicate2<? super V, ? super P> predicate, P parameter)
+    {
+        return this.rejectWith(predicate, parameter, UnifiedSet.newSet());
+    }
+
+    @Override
+    public PartitionMutableSet<V> partition(Predicate<? super V> predicate)
+    {
+        PartitionMutableSet<V> result = new PartitionUnifiedSet<>();
+        this.forEachValue(new PartitionProcedure<>(predicate, result));
+        return result;
+    }
+
+    @Override
+    public <P> PartitionMutableSet<V> partitionWith(Predicate2<? super V, ? super P> predicate, P parameter)
+    {
+        return this.partition(Predicates.bind(predicate, parameter));
+    }
+
+    @Override
+    public <S> MutableSet<S> selectInstancesOf(Class<S> clazz)
+    {
+        MutableSet<S> result = UnifiedSet.newSet();
+        this.forEachValue(new SelectInstancesOfProcedure<>(clazz, result));
+        return result;
+    }
+
+    @Override
+    public <V1> MutableObjectLongMap<V1> sumByInt(Function<? super V, ? extends V1> groupBy, IntFunction<? super V> function)
+    {
+        MutableObjectLongMap<V1> result = ObjectLongMaps.mutable.empty();
+        return this.injectInto(result, PrimitiveFunctions.sumByIntFunction(groupBy, function));
+    }
+
+    @Override
+    public <V1> MutableObjectDoubleMap<V1> sumByFloat(Function<? super V, ? extends V1> groupBy, FloatFunction<? super V> function)
+    {
+        MutableObjectDoubleMap<V1> result = ObjectDoubleMaps.mutable.empty();
+        return this.injectInto(result, PrimitiveFunctions.sumByFloatFunction(groupBy, function));
+    }
+
+    @Override
+    public <V1> MutableObjectLongMap<V1> sumByLong(Function<? super V, ? extends V1> groupBy, LongFunction<? super V> function)
+    {
+        MutableObjectLongMap<V1> result = ObjectLongMaps.mutable.empty();
+        return this.injectInto(result, PrimitiveFunctions.sumByLongFunction(groupBy, function));
+    }
+
+    @Override
+    public <V1> MutableObjectDoubleMap<V1> sumByDouble(Function<? super V, ? extends V1> groupBy, DoubleFunction<? super V> function)
+    {
+        MutableObjectDoubleMap<V1> result = ObjectDoubleMaps.mutable.empty();
+        return this.injectInto(result, PrimitiveFunctions.sumByDoubleFunction(groupBy, function));
+    }
+
+    @Override
+    public <V1> MutableBag<V1> countBy(Function<? super V, ? extends V1> function)
+    {
+        return this.collect(function, Bags.mutable.empty());
+    }
+
+    @Override
+    public <V1, P> MutableBag<V1> countByWith(Function2<? super V, ? super P, ? extends V1> function, P parameter)
+    {
+        return this.collectWith(function, parameter, Bags.mutable.empty());
+    }
+
+    @Override
+    public <V1> MutableBag<V1> countByEach(Function<? super V, ? extends Iterable<V1>> function)
+    {
+        return this.flatCollect(function, Bags.mutable.empty());
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        int size = this.storage.size;
+        out.writeInt(size);
+        for (int i = 0; i < size; i++)
+        {
+            out.writeObject(this.keyAt(i));
+            out.writeObject(this.valueAt(i));
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        this.storage.allocate(Math.max(size, DEFAULT_INITIAL_CAPACITY));
+        for (int i = 0; i < size; i++)
+        {
+            this.put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    /**
+     * The entries and index tables shared by a map and its inverse. Each side is addressed by its position in
+     * {@link #columns} and {@link #indexes}, so the map and its inverse run the same code with the sides swapped.
+     */
+    private static final class Storage
+    {
+        private static final int MINIMUM_TABLE_LENGTH = 8;
+
+        private static final int MAXIMUM_TABLE_LENGTH = 1 << 30;
+
+        private final Object[][] columns = new Object[2][];
+
+        private final int[][] indexes = new int[2][];
+
+        private int size;
+
+        private Storage(int initialCapacity)
+        {
+            this.allocate(initialCapacity);
+        }
+
+        private Storage(Storage source, int firstSide)
+        {
+            for (int side = 0; side < 2; side++)
+            {
+                int sourceSide = side ^ firstSide;
+                this.columns[side] = source.columns[sourceSide].clone();
+                this.indexes[side] = source.indexes[sourceSide].clone();
+            }
+            this.size = source.size;
+        }
+
+        private static int tableLengthFor(int capacity)
+        {
+            int length = MINIMUM_TABLE_LENGTH;
+            while (length < MAXIMUM_TABLE_LENGTH && Storage.capacityOf(length) < capacity)
+            {
+                length <<= 1;
+            }
+            return length;
+        }
+
+        private static int capacityOf(int tableLength)
+        {
+            return tableLength - (tableLength >>> 2);
+        }
+
+        private static int spread(Object item)
+        {
+            int h = item == null ? 0 : item.hashCode() * 0x9E3779B9;
+            return h ^ h >>> 16;
+        }
+
+        private Storage copy(int firstSide)
+        {
+            return new Storage(this, firstSide);
+        }
+
+        private void allocate(int capacity)
+        {
+            int tableLength = Storage.tableLengthFor(capacity);
+            this.columns[KEYS] = new Object[Storage.capacityOf(tableLength)];
+            this.columns[VALUES] = new Object[Storage.capacityOf(tableLength)];
+            this.indexes[KEYS] = new int[tableLength];
+            this.indexes[VALUES] = new int[tableLength];
+            this.size = 0;
+        }
+
+        private void clear()
+        {
+            for (int side = 0; side < 2; side++)
+            {
+                Arrays.fill(this.columns[side], 0, this.size, null);
+                Arrays.fill(this.indexes[side], 0);
+            }
+            this.size = 0;
+        }
+
+        /**
+         * Returns the slot of the entry whose item on {@code side} equals {@code item}, or -1.
+         */
+        private int find(int side, Object item)
+        {
+            int hash = Storage.spread(item);
+            int[] index = this.indexes[side];
+            Object[] column = this.columns[side];
+            int mask = index.length - 1;
+            int tag = hash & ~mask;
+            for (int position = hash & mask; ; position = (position + 1) & mask)
+            {
+                int word = index[position];
+                if (word == 0)
+                {
+                    return -1;
+                }
+                if ((word & ~mask) == tag)
+                {
+                    int slot = (word & mask) - 1;
+                    if (CompactHashBiMap.nullSafeEquals(column[slot], item))
+                    {
+                        return slot;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the position in the index table of {@code side} that refers to {@code slot}.
+         */
+        private int positionOf(int side, int slot)
+        {
+            int[] index = this.indexes[side];
+            int mask = index.length - 1;
+            for (int position = Storage.spread(this.columns[side][slot]) & mask; ; position = (position + 1) & mask)
+            {
+                if ((index[position] & mask) == slot + 1)
+                {
+                    return position;
+                }
+            }
+        }
+
+        private void link(int side, int slot)
+        {
+            int[] index = this.indexes[side];
+            int mask = index.length - 1;
+            int hash = Storage.spread(this.columns[side][slot]);
+            int position = hash & mask;
+            while (index[position] != 0)
+            {
+                position = (position + 1) & mask;
+            }
+            index[position] = (hash & ~mask) | (slot + 1);
+        }
+
+        private void unlink(int side, int position)
+        {
+            int[] index = this.indexes[side];
+            Object[] column = this.columns[side];
+            int mask = index.length - 1;
+            int hole = position;
+            for (int next = (hole + 1) & mask; index[next] != 0; next = (next + 1) & mask)
+            {
+                int word = index[next];
+                int home = Storage.spread(column[(word & mask) - 1]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask))
+                {
+                    index[hole] = word;
+                    hole = next;
+                }
+            }
+            index[hole] = 0;
+        }
+
+        private void append(int firstSide, Object first, Object second)
+        {
+            if (this.size == this.columns[KEYS].length)
+            {
+                this.resize(this.indexes[KEYS].length << 1);
+            }
+            int slot = this.size;
+            this.columns[firstSide][slot] = first;
+            this.columns[firstSide ^ 1][slot] = second;
+            this.link(KEYS, slot);
+            this.link(VALUES, slot);
+            this.size++;
+        }
+
+        private void replace(int side, int slot, Object item)
+        {
+            this.unlink(side, this.positionOf(side, slot));
+            this.columns[side][slot] = item;
+            this.link(side, slot);
+        }
+
+        private void removeSlot(int slot)
+        {
+            this.unlink(KEYS, this.positionOf(KEYS, slot));
+            this.unlink(VALUES, this.positionOf(VALUES, slot));
+            int last = this.size - 1;
+            for (int side = 0; side < 2; side++)
+            {
+                Object[] column = this.columns[side];
+                if (slot != last)
+                {
+                    int[] index = this.indexes[side];
+                    int mask = index.length - 1;
+                    int position = this.positionOf(side, last);
+                    index[position] = (index[position] & ~mask) | (slot + 1);
+                    column[slot] = column[last];
+                }
+                column[last] = null;
+            }
+            this.size = last;
+        }
+
+        private boolean trimToSize()
+        {
+            int tableLength = Storage.tableLengthFor(this.size);
+            if (tableLength < this.indexes[KEYS].length)
+            {
+                this.resize(tableLength);
+                return true;
+            }
+            return false;
+        }
+
+        private void resize(int tableLength)
+        {
+            if (tableLength > MAXIMUM_TABLE_LENGTH)
+            {
+                throw new IllegalStateException("CompactHashBiMap cannot hold more than " + Storage.capacityOf(MAXIMUM_TABLE_LENGTH) + " entries");
+            }
+            int capacity = Storage.capacityOf(tableLength);
+            for (int side = 0; side < 2; side++)
+            {
+                this.columns[side] = Arrays.copyOf(this.columns[side], capacity);
+                this.indexes[side] = new int[tableLength];
+                for (int slot = 0; slot < this.size; slot++)
+                {
+                    this.link(side, slot);
+                }
+            }
+        }
+    }
+
+    private abstract class SlotIterator<E> implements Iterator<E>
+    {
+        private int nextSlot;
+        private int currentSlot = -1;
+
+        protected abstract E itemAt(int slot);
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.nextSlot < CompactHashBiMap.this.storage.size;
+        }
+
+        @Override
+        public E next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.currentSlot = this.nextSlot++;
+            return this.itemAt(this.currentSlot);
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.currentSlot < 0)
+            {
+                throw new IllegalStateException();
+            }
+            // The last entry moves into the removed slot, so it is visited next
+            CompactHashBiMap.this.storage.removeSlot(this.currentSlot);
+            this.nextSlot = this.currentSlot;
+            this.currentSlot = -1;
+        }
+    }
+
+    private class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public int size()
+        {
+            return CompactHashBiMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return CompactHashBiMap.this.containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key)
+        {
+            int slot = CompactHashBiMap.this.storage.find(CompactHashBiMap.this.keySide, key);
+            if (slot < 0)
+            {
+                return false;
+            }
+            CompactHashBiMap.this.storage.removeSlot(slot);
+            return true;
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> collection)
+        {
+            boolean changed = false;
+            for (Object each : collection)
+            {
+                changed |= this.remove(each);
+            }
+            return changed;
+        }
+
+        @Override
+        public void clear()
+        {
+            CompactHashBiMap.this.clear();
+        }
+
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new SlotIterator<K>()
+            {
+                @Override
+                protected K itemAt(int slot)
+                {
+                    return CompactHashBiMap.this.keyAt(slot);
+                }
+            };
+        }
+    }
+
+    private class ValuesCollection extends AbstractCollection<V>
+    {
+        @Override
+        public int size()
+        {
+            return CompactHashBiMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object value)
+        {
+            return CompactHashBiMap.this.containsValue(value);
+        }
+
+        @Override
+        public boolean remove(Object value)
+        {
+            int slot = CompactHashBiMap.this.storage.find(CompactHashBiMap.this.valueSide, value);
+            if (slot < 0)
+            {
+                return false;
+            }
+            CompactHashBiMap.this.storage.removeSlot(slot);
+            return true;
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> collection)
+        {
+            boolean changed = false;
+            for (Object each : collection)
+            {
+                changed |= this.remove(each);
+            }
+            return changed;
+        }
+
+        @Override
+        public void clear()
+        {
+            CompactHashBiMap.this.clear();
+        }
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            return CompactHashBiMap.this.iterator();
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<K, V>>
+    {
+        @Override
+        public int size()
+        {
+            return CompactHashBiMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            return this.slotOf(object) >= 0;
+        }
+
+        @Override
+        public boolean remove(Object object)
+        {
+            int slot = this.slotOf(object);
+            if (slot < 0)
+            {
+                return false;
+            }
+            CompactHashBiMap.this.storage.removeSlot(slot);
+            return true;
+        }
+
+        private int slotOf(Object object)
+        {
+            if (!(object instanceof Map.Entry))
+            {
+                return -1;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) object;
+            int slot = CompactHashBiMap.this.storage.find(CompactHashBiMap.this.keySide, entry.getKey());
+            if (slot >= 0 && CompactHashBiMap.nullSafeEquals(CompactHashBiMap.this.valueAt(slot), entry.getValue()))
+            {
+                return slot;
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> collection)
+        {
+            boolean changed = false;
+            for (Object each : collection)
+            {
+                changed |= this.remove(each);
+            }
+            return changed;
+        }
+
+        @Override
+        public void clear()
+        {
+            CompactHashBiMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator()
+        {
+            return new SlotIterator<Map.Entry<K, V>>()
+            {
+                @Override
+                protected Map.Entry<K, V> itemAt(int slot)
+                {
+                    return new InternalEntry(CompactHashBiMap.this.keyAt(slot), CompactHashBiMap.this.valueAt(slot));
+                }
+            };
+        }
+    }
+
+    private final class InternalEntry implements Map.Entry<K, V>
+    {
+        private final K key;
+        private V value;
+
+        private InternalEntry(K key, V value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey()
+        {
+            return this.key;
+        }
+
+        @Override
+        public V getValue()
+        {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V value)
+        {
+            V result = CompactHashBiMap.this.put(this.key, value);
+            this.value = value;
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (obj instanceof Map.Entry)
+            {
+                Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+                return CompactHashBiMap.nullSafeEquals(this.key, other.getKey())
+                        && CompactHashBiMap.nullSafeEquals(this.value, other.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (this.key == null ? 0 : this.key.hashCode())
+                    ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.key + "=" + this.value;
+        }
+    }
+}
@@ -16,6 +16,9 @@
  *     <li>
  *          {@link org.eclipse.collections.impl.bimap.mutable.HashBiMap} - a {@link org.eclipse.collections.api.bimap.MutableBiMap} which uses two hash tables as its underlying data store.
  *     </li>
+ *     <li>
+ *          {@link org.eclipse.collections.impl.bimap.mutable.CompactHashBiMap} - a {@link org.eclipse.collections.api.bimap.MutableBiMap} which stores each entry once, with an index table of ints for each direction.
+ *     </li>
  * </ul>
  */
 package org.eclipse.collections.impl.bimap.mutable;
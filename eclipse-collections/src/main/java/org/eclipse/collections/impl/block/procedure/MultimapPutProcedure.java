@@ -40,6 +40,11 @@ public final class MultimapPutProcedure<K, V> implements Procedure<V>
         return new MultimapPutProcedure<>(multimap, keyFunction);
     }
 
+    public MutableMultimap<K, V> getMultimap()
+    {
+        return this.multimap;
+    }
+
     @Override
     public void value(V each)
     {
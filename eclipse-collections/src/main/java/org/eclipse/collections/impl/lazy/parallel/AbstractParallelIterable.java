@@ -65,6 +65,7 @@ import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
 import org.eclipse.collections.impl.map.mutable.ConcurrentHashMapUnsafe;
 import org.eclipse.collections.impl.map.mutable.UnifiedMap;
 import org.eclipse.collections.impl.map.sorted.mutable.TreeSortedMap;
+import org.eclipse.collections.impl.parallel.ParallelMergeSort;
 import org.eclipse.collections.impl.set.mutable.SetAdapter;
 import org.eclipse.collections.impl.set.sorted.mutable.TreeSortedSet;
 
@@ -485,10 +486,40 @@ public abstract class AbstractParallelIterable<T, B extends Batch<T>> implements
         return state;
     }
 
+    @Override
+    public MutableList<T> toSortedList()
+    {
+        return this.toSortedList(Comparators.naturalOrder());
+    }
+
+    /**
+     * Sorts each batch on the executor as it is collected, and then merges the sorted batches with
+     * {@link ParallelMergeSort}, rather than sorting every element on the calling thread.
+     */
     @Override
     public MutableList<T> toSortedList(Comparator<? super T> comparator)
     {
-        return this.toList().toSortedList(comparator);
+        Function<Batch<T>, FastList<T>> map = batch -> {
+            FastList<T> list = FastList.newList();
+            batch.forEach(CollectionAddProcedure.on(list));
+            return list.sortThis(comparator);
+        };
+        MutableList<FastList<T>> sortedBatches = FastList.newList();
+        this.collectCombine(map, MutableList::add, sortedBatches);
+
+        int[] runOffsets = new int[sortedBatches.size() + 1];
+        for (int i = 0; i < sortedBatches.size(); i++)
+        {
+            runOffsets[i + 1] = runOffsets[i] + sortedBatches.get(i).size();
+        }
+        T[] array = (T[]) new Object[runOffsets[sortedBatches.size()]];
+        for (int i = 0; i < sortedBatches.size(); i++)
+        {
+            FastList<T> sortedBatch = sortedBatches.get(i);
+            sortedBatch.toArray(array, 0, sortedBatch.size() - 1, runOffsets[i]);
+        }
+        ParallelMergeSort.mergeSortedRuns(array, runOffsets, comparator, this.getExecutorService());
+        return FastList.newListWith(array);
     }
 
     @Override
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.lazy.parallel;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.annotation.Beta;
+import org.eclipse.collections.api.block.function.primitive.IntIntToObjectFunction;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.impl.lazy.AbstractLazyIterable;
+
+/**
+ * Splits the indexes {@code [0, size)} of a backing array or hash table into consecutive ranges of at most
+ * {@code batchSize} indexes, and creates a batch for each range with {@code batchFactory}.
+ *
+ * @since 11.1
+ */
+@Beta
+public final class IndexRangeBatchLazyIterable<B> extends AbstractLazyIterable<B>
+{
+    private final int size;
+    private final int batchSize;
+    private final IntIntToObjectFunction<? extends B> batchFactory;
+
+    public IndexRangeBatchLazyIterable(int size, int batchSize, IntIntToObjectFunction<? extends B> batchFactory)
+    {
+        this.size = size;
+        this.batchSize = batchSize;
+        this.batchFactory = batchFactory;
+    }
+
+    @Override
+    public void each(Procedure<? super B> procedure)
+    {
+        for (B batch : this)
+        {
+            procedure.value(batch);
+        }
+    }
+
+    @Override
+    public Iterator<B> iterator()
+    {
+        return new IndexRangeBatchIterator();
+    }
+
+    private final class IndexRangeBatchIterator implements Iterator<B>
+    {
+        private int chunkStartIndex;
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.chunkStartIndex < IndexRangeBatchLazyIterable.this.size;
+        }
+
+        @Override
+        public B next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            int chunkEndIndex = (int) Math.min(
+                    (long) this.chunkStartIndex + IndexRangeBatchLazyIterable.this.batchSize,
+                    IndexRangeBatchLazyIterable.this.size);
+            B batch = IndexRangeBatchLazyIterable.this.batchFactory.value(this.chunkStartIndex, chunkEndIndex);
+            this.chunkStartIndex = chunkEndIndex;
+            return batch;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot call remove() on " + IndexRangeBatchLazyIterable.class.getSimpleName());
+        }
+    }
+}
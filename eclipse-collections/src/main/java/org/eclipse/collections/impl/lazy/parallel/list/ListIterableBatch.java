@@ -36,9 +36,9 @@ public class ListIterableBatch<T> extends AbstractBatch<T> implements RootListBa
     @Override
     public void forEach(Procedure<? super T> procedure)
     {
-        for (int i = this.chunkStartIndex; i < this.chunkEndIndex; i++)
+        if (this.chunkStartIndex < this.chunkEndIndex)
         {
-            procedure.value(this.list.get(i));
+            this.list.forEach(this.chunkStartIndex, this.chunkEndIndex - 1, procedure);
         }
     }
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.lazy.parallel.map;
+
+import org.eclipse.collections.api.annotation.Beta;
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.lazy.parallel.AbstractBatch;
+import org.eclipse.collections.impl.lazy.parallel.bag.CollectUnsortedBagBatch;
+import org.eclipse.collections.impl.lazy.parallel.bag.FlatCollectUnsortedBagBatch;
+import org.eclipse.collections.impl.lazy.parallel.bag.SelectUnsortedBagBatch;
+import org.eclipse.collections.impl.lazy.parallel.bag.UnsortedBagBatch;
+
+/**
+ * A batch over an index range of the table of a hash map. Subclasses only traverse the range; the operations on values
+ * are built on {@link #forEachKeyValue(Procedure2)} and {@link #detectKeyValue(Predicate2)}.
+ *
+ * @since 11.1
+ */
+@Beta
+public abstract class AbstractMapBatch<K, V> extends AbstractBatch<V> implements RootMapBatch<K, V>
+{
+    /**
+     * Returns the first key/value pair in the range that satisfies the predicate, or null if there is none.
+     */
+    protected abstract Pair<K, V> detectKeyValue(Predicate2<? super K, ? super V> predicate);
+
+    @Override
+    public void forEach(Procedure<? super V> procedure)
+    {
+        this.forEachKeyValue((key, value) -> procedure.value(value));
+    }
+
+    @Override
+    public void forEachWithOccurrences(ObjectIntProcedure<? super V> procedure)
+    {
+        this.forEachKeyValue((key, value) -> procedure.value(value, 1));
+    }
+
+    @Override
+    public boolean anySatisfy(Predicate<? super V> predicate)
+    {
+        return this.detectKeyValue((key, value) -> predicate.accept(value)) != null;
+    }
+
+    @Override
+    public boolean allSatisfy(Predicate<? super V> predicate)
+    {
+        return this.detectKeyValue((key, value) -> !predicate.accept(value)) == null;
+    }
+
+    @Override
+    public V detect(Predicate<? super V> predicate)
+    {
+        Pair<K, V> result = this.detectKeyValue((key, value) -> predicate.accept(value));
+        return result == null ? null : result.getTwo();
+    }
+
+    @Override
+    public UnsortedBagBatch<V> select(Predicate<? super V> predicate)
+    {
+        return new SelectUnsortedBagBatch<>(this, predicate);
+    }
+
+    @Override
+    public <VV> UnsortedBagBatch<VV> collect(Function<? super V, ? extends VV> function)
+    {
+        return new CollectUnsortedBagBatch<>(this, function);
+    }
+
+    @Override
+    public <VV> UnsortedBagBatch<VV> flatCollect(Function<? super V, ? extends Iterable<VV>> function)
+    {
+        return new FlatCollectUnsortedBagBatch<>(this, function);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.lazy.parallel.map;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.annotation.Beta;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.ConcurrentMutableMap;
+import org.eclipse.collections.api.map.ParallelMapIterable;
+import org.eclipse.collections.impl.lazy.parallel.AbstractParallelIterable;
+import org.eclipse.collections.impl.lazy.parallel.AbstractParallelIterableImpl;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+
+/**
+ * The base class of the parallel views of hash maps. Subclasses split the table into {@link RootMapBatch}es over
+ * index ranges; the key/value pairs are traversed in place, and no entries are copied.
+ *
+ * @since 11.1
+ */
+@Beta
+public abstract class AbstractParallelMapIterable<K, V, B extends RootMapBatch<K, V>>
+        extends AbstractParallelIterableImpl<V, B>
+        implements ParallelMapIterable<K, V>
+{
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        LazyIterable<Future<?>> futures =
+                this.split().collect(chunk -> this.getExecutorService().submit(() -> chunk.forEachKeyValue(procedure)));
+        // The call to toList() is important to stop the lazy evaluation and force all the Runnables to start executing.
+        MutableList<Future<?>> futuresList = futures.toList();
+        for (Future<?> future : futuresList)
+        {
+            try
+            {
+                future.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            catch (ExecutionException e)
+            {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    @Override
+    public <R> ConcurrentMutableMap<K, R> collectValues(Function2<? super K, ? super V, ? extends R> function)
+    {
+        ConcurrentMutableMap<K, R> result = ConcurrentHashMap.newMap();
+        this.forEachKeyValue((key, value) -> result.put(key, function.value(key, value)));
+        return result;
+    }
+
+    @Override
+    public void forEach(Procedure<? super V> procedure)
+    {
+        AbstractParallelIterable.forEach(this, procedure);
+    }
+
+    @Override
+    public boolean anySatisfy(Predicate<? super V> predicate)
+    {
+        return AbstractParallelIterable.anySatisfy(this, predicate);
+    }
+
+    @Override
+    public boolean allSatisfy(Predicate<? super V> predicate)
+    {
+        return AbstractParallelIterable.allSatisfy(this, predicate);
+    }
+
+    @Override
+    public V detect(Predicate<? super V> predicate)
+    {
+        return AbstractParallelIterable.detect(this, predicate);
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        return this.toList().toArray();
+    }
+
+    @Override
+    public <E> E[] toArray(E[] array)
+    {
+        return this.toList().toArray(array);
+    }
+}
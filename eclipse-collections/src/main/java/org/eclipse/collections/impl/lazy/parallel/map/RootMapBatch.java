@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.lazy.parallel.map;
+
+import org.eclipse.collections.api.annotation.Beta;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.impl.lazy.parallel.bag.RootUnsortedBagBatch;
+
+/**
+ * @since 11.1
+ */
+@Beta
+public interface RootMapBatch<K, V> extends RootUnsortedBagBatch<V>
+{
+    void forEachKeyValue(Procedure2<? super K, ? super V> procedure);
+}
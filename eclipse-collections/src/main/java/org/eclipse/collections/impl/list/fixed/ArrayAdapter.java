@@ -18,10 +18,12 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.Executor;
 
 import org.eclipse.collections.api.block.procedure.Procedure;
 import org.eclipse.collections.api.list.FixedSizeList;
 import org.eclipse.collections.impl.block.factory.Predicates2;
+import org.eclipse.collections.impl.parallel.ParallelMergeSort;
 import org.eclipse.collections.impl.utility.Iterate;
 
 /**
@@ -185,6 +187,16 @@ public final class ArrayAdapter<T>
         return (ArrayAdapter<T>) super.sortThis(comparator);
     }
 
+    /**
+     * @since 11.1
+     */
+    @Override
+    public ArrayAdapter<T> sortThisParallel(Comparator<? super T> comparator, Executor executor)
+    {
+        ParallelMergeSort.sort(this.items, comparator, executor);
+        return this;
+    }
+
     @Override
     public FixedSizeList<T> tap(Procedure<? super T> procedure)
     {
@@ -10,6 +10,8 @@
 
 package org.eclipse.collections.impl.list.immutable;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.Arrays;
@@ -63,14 +65,26 @@ final class ImmutableArrayList<T>
 {
     private static final long serialVersionUID = 1L;
     private final T[] items;
+    // Not serialized, so that the serialized form stays the array alone; see writeReplace and readObject
+    private transient int size;
 
     ImmutableArrayList(T[] newElements)
+    {
+        this(newElements, newElements == null ? 0 : newElements.length);
+    }
+
+    /**
+     * Creates a list of the first {@code size} elements of the array, which the list then owns up to that size. The
+     * slots after it may still be written by whoever passed the array in, such as an {@link ImmutableArrayListBuilder}.
+     */
+    ImmutableArrayList(T[] newElements, int size)
     {
         if (newElements == null)
         {
             throw new IllegalArgumentException("items cannot be null");
         }
         this.items = newElements;
+        this.size = size;
     }
 
     public static <E> ImmutableArrayList<E> newList(Iterable<? extends E> iterable)
@@ -86,6 +100,10 @@ final class ImmutableArrayList<T>
     @Override
     public ImmutableList<T> newWith(T newItem)
     {
+        if (this.size >= ImmutableTrieList.THRESHOLD)
+        {
+            return ImmutableTrieList.<T>newList(this.items, this.size).newWith(newItem);
+        }
         int oldSize = this.size();
         T[] array = (T[]) new Object[oldSize + 1];
         this.toArray(array);
@@ -93,10 +111,26 @@ final class ImmutableArrayList<T>
         return new ImmutableArrayList<>(array);
     }
 
+    @Override
+    public ImmutableList<T> newWithAll(Iterable<? extends T> elements)
+    {
+        if (this.size >= ImmutableTrieList.THRESHOLD)
+        {
+            return ImmutableTrieList.<T>newList(this.items, this.size).newWithAll(elements);
+        }
+        return super.newWithAll(elements);
+    }
+
     @Override
     public int hashCode()
     {
-        return Arrays.hashCode(this.items);
+        int hashCode = 1;
+        for (int i = 0; i < this.size; i++)
+        {
+            T item = this.items[i];
+            hashCode = 31 * hashCode + (item == null ? 0 : item.hashCode());
+        }
+        return hashCode;
     }
 
     @Override
@@ -114,18 +148,18 @@ final class ImmutableArrayList<T>
         {
             return this.immutableArrayListEquals((ImmutableArrayList<?>) that);
         }
-        return InternalArrayIterate.arrayEqualsList(this.items, this.items.length, (List<?>) that);
+        return InternalArrayIterate.arrayEqualsList(this.items, this.size, (List<?>) that);
     }
 
     public boolean immutableArrayListEquals(ImmutableArrayList<?> otherList)
     {
-        return Arrays.equals(this.items, otherList.items);
+        return InternalArrayIterate.arrayEqualsList(this.items, this.size, otherList);
     }
 
     @Override
     public boolean notEmpty()
     {
-        return this.items.length > 0;
+        return this.size > 0;
     }
 
     @Override
@@ -137,28 +171,28 @@ final class ImmutableArrayList<T>
     @Override
     public T getLast()
     {
-        return this.isEmpty() ? null : this.items[this.items.length - 1];
+        return this.isEmpty() ? null : this.items[this.size - 1];
     }
 
     @Override
     public void each(Procedure<? super T> procedure)
     {
-        for (T each : this.items)
+        for (int i = 0; i < this.size; i++)
         {
-            procedure.value(each);
+            procedure.value(this.items[i]);
         }
     }
 
     @Override
     public void forEachWithIndex(ObjectIntProcedure<? super T> objectIntProcedure)
     {
-        InternalArrayIterate.forEachWithIndex(this.items, this.items.length, objectIntProcedure);
+        InternalArrayIterate.forEachWithIndex(this.items, this.size, objectIntProcedure);
     }
 
     @Override
     public void batchForEach(Procedure<? super T> procedure, int sectionIndex, int sectionCount)
     {
-        InternalArrayIterate.batchForEach(procedure, this.items, this.items.length, sectionIndex, sectionCount);
+        InternalArrayIterate.batchForEach(procedure, this.items, this.size, sectionIndex, sectionCount);
     }
 
     @Override
@@ -170,20 +204,20 @@ final class ImmutableArrayList<T>
     @Override
     public void forEachWithIndex(int from, int to, ObjectIntProcedure<? super T> objectIntProcedure)
     {
-        ListIterate.rangeCheck(from, to, this.items.length);
+        ListIterate.rangeCheck(from, to, this.size);
         InternalArrayIterate.forEachWithIndexWithoutChecks(this.items, from, to, objectIntProcedure);
     }
 
     @Override
     public ImmutableList<T> select(Predicate<? super T> predicate)
     {
-        return InternalArrayIterate.select(this.items, this.items.length, predicate, FastList.newList()).toImmutable();
+        return InternalArrayIterate.select(this.items, this.size, predicate, FastList.newList()).toImmutable();
     }
 
     @Override
     public <P> ImmutableList<T> selectWith(Predicate2<? super T, ? super P> predicate, P parameter)
     {
-        return InternalArrayIterate.selectWith(this.items, this.items.length, predicate, parameter, FastList.newList()).toImmutable();
+        return InternalArrayIterate.selectWith(this.items, this.size, predicate, parameter, FastList.newList()).toImmutable();
     }
 
     @Override
@@ -192,19 +226,19 @@ final class ImmutableArrayList<T>
             P parameter,
             R target)
     {
-        return InternalArrayIterate.selectWith(this.items, this.items.length, predicate, parameter, target);
+        return InternalArrayIterate.selectWith(this.items, this.size, predicate, parameter, target);
     }
 
     @Override
     public ImmutableList<T> reject(Predicate<? super T> predicate)
     {
-        return InternalArrayIterate.reject(this.items, this.items.length, predicate, FastList.newList()).toImmutable();
+        return InternalArrayIterate.reject(this.items, this.size, predicate, FastList.newList()).toImmutable();
     }
 
     @Override
     public <P> ImmutableList<T> rejectWith(Predicate2<? super T, ? super P> predicate, P parameter)
     {
-        return InternalArrayIterate.rejectWith(this.items, this.items.length, predicate, parameter, FastList.newList()).toImmutable();
+        return InternalArrayIterate.rejectWith(this.items, this.size, predicate, parameter, FastList.newList()).toImmutable();
     }
 
     @Override
@@ -213,37 +247,37 @@ final class ImmutableArrayList<T>
             P parameter,
             R target)
     {
-        return InternalArrayIterate.rejectWith(this.items, this.items.length, predicate, parameter, target);
+        return InternalArrayIterate.rejectWith(this.items, this.size, predicate, parameter, target);
     }
 
     @Override
     public PartitionImmutableList<T> partition(Predicate<? super T> predicate)
     {
-        return InternalArrayIterate.partition(this.items, this.items.length, predicate).toImmutable();
+        return InternalArrayIterate.partition(this.items, this.size, predicate).toImmutable();
     }
 
     @Override
     public <P> PartitionImmutableList<T> partitionWith(Predicate2<? super T, ? super P> predicate, P parameter)
     {
-        return InternalArrayIterate.partitionWith(this.items, this.items.length, predicate, parameter).toImmutable();
+        return InternalArrayIterate.partitionWith(this.items, this.size, predicate, parameter).toImmutable();
     }
 
     @Override
     public <S> ImmutableList<S> selectInstancesOf(Class<S> clazz)
     {
-        return InternalArrayIterate.selectInstancesOf(this.items, this.items.length, clazz).toImmutable();
+        return InternalArrayIterate.selectInstancesOf(this.items, this.size, clazz).toImmutable();
     }
 
     @Override
     public <V> ImmutableList<V> collect(Function<? super T, ? extends V> function)
     {
-        return InternalArrayIterate.collect(this.items, this.items.length, function, FastList.<V>newList(this.items.length)).toImmutable();
+        return InternalArrayIterate.collect(this.items, this.size, function, FastList.<V>newList(this.size)).toImmutable();
     }
 
     @Override
     public <P, V> ImmutableList<V> collectWith(Function2<? super T, ? super P, ? extends V> function, P parameter)
     {
-        return InternalArrayIterate.collectWith(this.items, this.items.length, function, parameter, FastList.<V>newList(this.items.length)).toImmutable();
+        return InternalArrayIterate.collectWith(this.items, this.size, function, parameter, FastList.<V>newList(this.size)).toImmutable();
     }
 
     /**
@@ -252,7 +286,7 @@ final class ImmutableArrayList<T>
     @Override
     public <V> ImmutableList<V> collectWithIndex(ObjectIntToObjectFunction<? super T, ? extends V> function)
     {
-        return this.collectWithIndex(function, FastList.<V>newList(this.items.length)).toImmutable();
+        return this.collectWithIndex(function, FastList.<V>newList(this.size)).toImmutable();
     }
 
     /**
@@ -261,7 +295,7 @@ final class ImmutableArrayList<T>
     @Override
     public <V, R extends Collection<V>> R collectWithIndex(ObjectIntToObjectFunction<? super T, ? extends V> function, R target)
     {
-        return InternalArrayIterate.collectWithIndex(this.items, this.items.length, function, target);
+        return InternalArrayIterate.collectWithIndex(this.items, this.size, function, target);
     }
 
     /**
@@ -285,7 +319,7 @@ final class ImmutableArrayList<T>
      */
     public <R extends Collection<T>> R selectWithIndex(ObjectIntPredicate<? super T> predicate, R target)
     {
-        return InternalArrayIterate.selectWithIndex(this.items, this.items.length, predicate, target);
+        return InternalArrayIterate.selectWithIndex(this.items, this.size, predicate, target);
     }
 
     /**
@@ -293,7 +327,7 @@ final class ImmutableArrayList<T>
      */
     public <R extends Collection<T>> R rejectWithIndex(ObjectIntPredicate<? super T> predicate, R target)
     {
-        return InternalArrayIterate.rejectWithIndex(this.items, this.items.length, predicate, target);
+        return InternalArrayIterate.rejectWithIndex(this.items, this.size, predicate, target);
     }
 
     @Override
@@ -301,7 +335,7 @@ final class ImmutableArrayList<T>
             Predicate<? super T> predicate,
             Function<? super T, ? extends V> function)
     {
-        return InternalArrayIterate.collectIf(this.items, this.items.length, predicate, function, FastList.<V>newList(this.items.length)).toImmutable();
+        return InternalArrayIterate.collectIf(this.items, this.size, predicate, function, FastList.<V>newList(this.size)).toImmutable();
     }
 
     @Override
@@ -310,72 +344,72 @@ final class ImmutableArrayList<T>
             P parameter,
             R target)
     {
-        return InternalArrayIterate.collectWith(this.items, this.items.length, function, parameter, target);
+        return InternalArrayIterate.collectWith(this.items, this.size, function, parameter, target);
     }
 
     @Override
     public <V> ImmutableList<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
     {
-        return InternalArrayIterate.flatCollect(this.items, this.items.length, function, Lists.mutable.withInitialCapacity(this.items.length)).toImmutable();
+        return InternalArrayIterate.flatCollect(this.items, this.size, function, Lists.mutable.withInitialCapacity(this.size)).toImmutable();
     }
 
     @Override
     public <V, R extends Collection<V>> R flatCollect(Function<? super T, ? extends Iterable<V>> function, R target)
     {
-        return InternalArrayIterate.flatCollect(this.items, this.items.length, function, target);
+        return InternalArrayIterate.flatCollect(this.items, this.size, function, target);
     }
 
     @Override
     public T detect(Predicate<? super T> predicate)
     {
-        return InternalArrayIterate.detect(this.items, this.items.length, predicate);
+        return InternalArrayIterate.detect(this.items, this.size, predicate);
     }
 
     @Override
     public <P> T detectWith(Predicate2<? super T, ? super P> predicate, P parameter)
     {
-        return InternalArrayIterate.detectWith(this.items, this.items.length, predicate, parameter);
+        return InternalArrayIterate.detectWith(this.items, this.size, predicate, parameter);
     }
 
     @Override
     public Optional<T> detectOptional(Predicate<? super T> predicate)
     {
-        return InternalArrayIterate.detectOptional(this.items, this.items.length, predicate);
+        return InternalArrayIterate.detectOptional(this.items, this.size, predicate);
     }
 
     @Override
     public <P> Optional<T> detectWithOptional(Predicate2<? super T, ? super P> predicate, P parameter)
     {
-        return InternalArrayIterate.detectWithOptional(this.items, this.items.length, predicate, parameter);
+        return InternalArrayIterate.detectWithOptional(this.items, this.size, predicate, parameter);
     }
 
     public int count(Predicate<? super T> predicate)
     {
-        return InternalArrayIterate.count(this.items, this.items.length, predicate);
+        return InternalArrayIterate.count(this.items, this.size, predicate);
     }
 
     @Override
     public <S> boolean corresponds(OrderedIterable<S> other, Predicate2<? super T, ? super S> predicate)
     {
-        return InternalArrayIterate.corresponds(this.items, this.items.length, other, predicate);
+        return InternalArrayIterate.corresponds(this.items, this.size, other, predicate);
     }
 
     @Override
     public boolean anySatisfy(Predicate<? super T> predicate)
     {
-        return InternalArrayIterate.anySatisfy(this.items, this.items.length, predicate);
+        return InternalArrayIterate.anySatisfy(this.items, this.size, predicate);
     }
 
     @Override
     public boolean allSatisfy(Predicate<? super T> predicate)
     {
-        return InternalArrayIterate.allSatisfy(this.items, this.items.length, predicate);
+        return InternalArrayIterate.allSatisfy(this.items, this.size, predicate);
     }
 
     @Override
     public boolean noneSatisfy(Predicate<? super T> predicate)
     {
-        return InternalArrayIterate.noneSatisfy(this.items, this.items.length, predicate);
+        return InternalArrayIterate.noneSatisfy(this.items, this.size, predicate);
     }
 
     /**
@@ -384,7 +418,7 @@ final class ImmutableArrayList<T>
     @Override
     public IntSummaryStatistics summarizeInt(IntFunction<? super T> function)
     {
-        return InternalArrayIterate.summarizeInt(this.items, this.items.length, function);
+        return InternalArrayIterate.summarizeInt(this.items, this.size, function);
     }
 
     /**
@@ -393,7 +427,7 @@ final class ImmutableArrayList<T>
     @Override
     public DoubleSummaryStatistics summarizeFloat(FloatFunction<? super T> function)
     {
-        return InternalArrayIterate.summarizeFloat(this.items, this.items.length, function);
+        return InternalArrayIterate.summarizeFloat(this.items, this.size, function);
     }
 
     /**
@@ -402,7 +436,7 @@ final class ImmutableArrayList<T>
     @Override
     public LongSummaryStatistics summarizeLong(LongFunction<? super T> function)
     {
-        return InternalArrayIterate.summarizeLong(this.items, this.items.length, function);
+        return InternalArrayIterate.summarizeLong(this.items, this.size, function);
     }
 
     /**
@@ -411,7 +445,7 @@ final class ImmutableArrayList<T>
     @Override
     public DoubleSummaryStatistics summarizeDouble(DoubleFunction<? super T> function)
     {
-        return InternalArrayIterate.summarizeDouble(this.items, this.items.length, function);
+        return InternalArrayIterate.summarizeDouble(this.items, this.size, function);
     }
 
     /**
@@ -420,7 +454,7 @@ final class ImmutableArrayList<T>
     @Override
     public Optional<T> reduce(BinaryOperator<T> accumulator)
     {
-        return InternalArrayIterate.reduce(this.items, this.items.length, accumulator);
+        return InternalArrayIterate.reduce(this.items, this.size, accumulator);
     }
 
     /**
@@ -429,7 +463,7 @@ final class ImmutableArrayList<T>
     @Override
     public <R, A> R reduceInPlace(Collector<? super T, A, R> collector)
     {
-        return InternalArrayIterate.reduceInPlace(this.items, this.items.length, collector);
+        return InternalArrayIterate.reduceInPlace(this.items, this.size, collector);
     }
 
     /**
@@ -438,40 +472,40 @@ final class ImmutableArrayList<T>
     @Override
     public <R> R reduceInPlace(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator)
     {
-        return InternalArrayIterate.reduceInPlace(this.items, this.items.length, supplier, accumulator);
+        return InternalArrayIterate.reduceInPlace(this.items, this.size, supplier, accumulator);
     }
 
     @Override
     public long sumOfInt(IntFunction<? super T> function)
     {
-        return InternalArrayIterate.sumOfInt(this.items, this.items.length, function);
+        return InternalArrayIterate.sumOfInt(this.items, this.size, function);
     }
 
     @Override
     public long sumOfLong(LongFunction<? super T> function)
     {
-        return InternalArrayIterate.sumOfLong(this.items, this.items.length, function);
+        return InternalArrayIterate.sumOfLong(this.items, this.size, function);
     }
 
     @Override
     public double sumOfFloat(FloatFunction<? super T> function)
     {
-        return InternalArrayIterate.sumOfFloat(this.items, this.items.length, function);
+        return InternalArrayIterate.sumOfFloat(this.items, this.size, function);
     }
 
     @Override
     public double sumOfDouble(DoubleFunction<? super T> function)
     {
-        return InternalArrayIterate.sumOfDouble(this.items, this.items.length, function);
+        return InternalArrayIterate.sumOfDouble(this.items, this.size, function);
     }
 
     @Override
     public <IV> IV injectInto(IV injectedValue, Function2<? super IV, ? super T, ? extends IV> function)
     {
         IV result = injectedValue;
-        for (T each : this.items)
+        for (int i = 0; i < this.size; i++)
         {
-            result = function.value(result, each);
+            result = function.value(result, this.items[i]);
         }
         return result;
     }
@@ -479,31 +513,31 @@ final class ImmutableArrayList<T>
     @Override
     public int size()
     {
-        return this.items.length;
+        return this.size;
     }
 
     @Override
     public boolean isEmpty()
     {
-        return this.items.length == 0;
+        return this.size == 0;
     }
 
     @Override
     public boolean contains(Object o)
     {
-        return InternalArrayIterate.anySatisfyWith(this.items, this.items.length, Predicates2.equal(), o);
+        return InternalArrayIterate.anySatisfyWith(this.items, this.size, Predicates2.equal(), o);
     }
 
     @Override
     public Iterator<T> iterator()
     {
-        return Arrays.asList(this.items).iterator();
+        return Arrays.asList(this.items).subList(0, this.size).iterator();
     }
 
     @Override
     public Object[] toArray()
     {
-        return this.items.clone();
+        return Arrays.copyOf(this.items, this.size, Object[].class);
     }
 
     @Override
@@ -525,7 +559,7 @@ final class ImmutableArrayList<T>
     @Override
     public void appendString(Appendable appendable, String start, String separator, String end)
     {
-        InternalArrayIterate.appendString(this, this.items, this.items.length, appendable, start, separator, end);
+        InternalArrayIterate.appendString(this, this.items, this.size, appendable, start, separator, end);
     }
 
     @Override
@@ -534,7 +568,7 @@ final class ImmutableArrayList<T>
         StringBuilder buf = new StringBuilder();
         buf.append('[');
 
-        int localSize = this.items.length;
+        int localSize = this.size;
         for (int i = 0; i < localSize; i++)
         {
             T item = this.items[i];
@@ -552,37 +586,41 @@ final class ImmutableArrayList<T>
     @Override
     public boolean containsAll(Collection<?> collection)
     {
-        return Iterate.allSatisfy(collection, Predicates.in(this.items));
+        return Iterate.allSatisfy(collection, Predicates.in(this));
     }
 
     @Override
     public T get(int index)
     {
+        if (index >= this.size)
+        {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
         return this.items[index];
     }
 
     @Override
     public int indexOf(Object item)
     {
-        return InternalArrayIterate.indexOf(this.items, this.items.length, item);
+        return InternalArrayIterate.indexOf(this.items, this.size, item);
     }
 
     @Override
     public int lastIndexOf(Object item)
     {
-        return InternalArrayIterate.lastIndexOf(this.items, this.items.length, item);
+        return InternalArrayIterate.lastIndexOf(this.items, this.size, item);
     }
 
     @Override
     public <V extends Comparable<? super V>> T minBy(Function<? super T, ? extends V> function)
     {
-        return InternalArrayIterate.minBy(this.items, this.items.length, function);
+        return InternalArrayIterate.minBy(this.items, this.size, function);
     }
 
     @Override
     public <V extends Comparable<? super V>> T maxBy(Function<? super T, ? extends V> function)
     {
-        return InternalArrayIterate.maxBy(this.items, this.items.length, function);
+        return InternalArrayIterate.maxBy(this.items, this.size, function);
     }
 
     @Override
@@ -650,12 +688,23 @@ final class ImmutableArrayList<T>
         return this.size();
     }
 
+    private Object writeReplace()
+    {
+        return this.size == this.items.length ? this : new ImmutableArrayList<>(Arrays.copyOf(this.items, this.size));
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        this.size = this.items.length;
+    }
+
     /**
      * @since 9.0
      */
     @Override
     public Spliterator<T> spliterator()
     {
-        return Spliterators.spliterator(this.items, 0, this.items.length, Spliterator.ORDERED);
+        return Spliterators.spliterator(this.items, 0, this.size, Spliterator.ORDERED);
     }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.list.immutable;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.eclipse.collections.api.factory.list.ImmutableListBuilder;
+import org.eclipse.collections.api.list.ImmutableList;
+
+/**
+ * An ImmutableListBuilder which grows an array like a FastList. toImmutable hands the array and the current size to an
+ * ImmutableArrayList without copying it. The builder only ever writes past the sizes of the lists it has returned, so
+ * it can keep adding to the same array afterwards. The array is trimmed by a copy only when more than half of it is
+ * unused, which happens only when the expected size was too large, since growth leaves at most a third unused. Lists
+ * of up to ten elements use the small fixed-size lists, which hold their elements in fields instead of an array.
+ *
+ * @since 11.1
+ */
+final class ImmutableArrayListBuilder<T>
+        implements ImmutableListBuilder<T>
+{
+    private static final int MAXIMUM_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    private static final int MAXIMUM_SMALL_LIST_SIZE = 10;
+
+    private T[] items;
+    private int size;
+
+    ImmutableArrayListBuilder(int expectedSize)
+    {
+        if (expectedSize < 0)
+        {
+            throw new IllegalArgumentException("Expected size is greater than or equal to 0. Was: " + expectedSize);
+        }
+        this.items = (T[]) new Object[expectedSize];
+    }
+
+    @Override
+    public ImmutableListBuilder<T> with(T element)
+    {
+        if (this.size == this.items.length)
+        {
+            this.ensureCapacity(this.size + 1);
+        }
+        this.items[this.size++] = element;
+        return this;
+    }
+
+    @Override
+    public ImmutableListBuilder<T> withAll(Iterable<? extends T> elements)
+    {
+        if (elements instanceof Collection)
+        {
+            this.ensureCapacity(this.size + ((Collection<?>) elements).size());
+        }
+        for (T element : elements)
+        {
+            this.with(element);
+        }
+        return this;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public ImmutableList<T> toImmutable()
+    {
+        if (this.size <= MAXIMUM_SMALL_LIST_SIZE)
+        {
+            return ImmutableListFactoryImpl.INSTANCE.with(this.size == this.items.length ? this.items : Arrays.copyOf(this.items, this.size));
+        }
+        if (this.size < this.items.length >> 1)
+        {
+            return new ImmutableArrayList<>(Arrays.copyOf(this.items, this.size));
+        }
+        return new ImmutableArrayList<>(this.items, this.size);
+    }
+
+    private void ensureCapacity(int minCapacity)
+    {
+        int oldCapacity = this.items.length;
+        if (minCapacity > oldCapacity)
+        {
+            int grownCapacity = oldCapacity + (oldCapacity >> 1) + 1;
+            int newCapacity = Math.max(grownCapacity < oldCapacity ? MAXIMUM_ARRAY_SIZE : grownCapacity, minCapacity);
+            this.items = Arrays.copyOf(this.items, newCapacity);
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.RandomAccess;
 
 import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.factory.list.ImmutableListBuilder;
 import org.eclipse.collections.api.factory.list.ImmutableListFactory;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.impl.utility.Iterate;
@@ -291,4 +292,16 @@ public class ImmutableListFactoryImpl implements ImmutableListFactory
         Arrays.sort(array, comparator);
         return new ImmutableArrayList<>(array);
     }
+
+    @Override
+    public <T> ImmutableListBuilder<T> builder()
+    {
+        return new ImmutableArrayListBuilder<>(10);
+    }
+
+    @Override
+    public <T> ImmutableListBuilder<T> builder(int expectedSize)
+    {
+        return new ImmutableArrayListBuilder<>(expectedSize);
+    }
 }
@@ -0,0 +1,760 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.list.immutable;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.impl.parallel.BatchIterable;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.ListIterate;
+
+/**
+ * An ImmutableTrieList is a persistent vector: a relaxed radix balanced trie of 32 element leaves, plus a tail leaf
+ * holding the last elements. Appending copies only the tail, and a full tail is pushed into the trie by copying the
+ * nodes on its rightmost path, so newWith is amortized O(1). get is O(log32 n), and take, drop and concatenation with
+ * another ImmutableTrieList slice or join the tries in O(log32 n) instead of copying the elements.
+ * <p>
+ * An ImmutableArrayList of at least {@link #THRESHOLD} elements turns into an ImmutableTrieList when it is appended to,
+ * so a list built up one element at a time no longer copies all of its elements on each append.
+ */
+final class ImmutableTrieList<T>
+        extends AbstractImmutableList<T>
+        implements Serializable, RandomAccess, BatchIterable<T>
+{
+    /**
+     * The size from which appending to an ImmutableArrayList returns an ImmutableTrieList, and below which the
+     * results of take, drop and newWithout are returned as array backed lists again.
+     */
+    static final int THRESHOLD = 32;
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final Object[] EMPTY_LEAF = {};
+
+    // An Object[] leaf when the height is zero, otherwise a Branch
+    private final Object root;
+    private final int height;
+    private final int treeSize;
+    private final Object[] tail;
+
+    private ImmutableTrieList(Object root, int height, int treeSize, Object[] tail)
+    {
+        this.root = root;
+        this.height = height;
+        this.treeSize = treeSize;
+        this.tail = tail;
+    }
+
+    public static <E> ImmutableTrieList<E> newListWith(E... elements)
+    {
+        return ImmutableTrieList.newList(elements, elements.length);
+    }
+
+    static <E> ImmutableTrieList<E> newList(Object[] elements, int size)
+    {
+        int tailStart = size == 0 ? 0 : (size - 1) & -WIDTH;
+        Object[] tail = Arrays.copyOfRange(elements, tailStart, size);
+        if (tailStart == 0)
+        {
+            return new ImmutableTrieList<>(EMPTY_LEAF, 0, 0, tail);
+        }
+        Object[] level = new Object[tailStart >>> BITS];
+        for (int i = 0; i < level.length; i++)
+        {
+            level[i] = Arrays.copyOfRange(elements, i << BITS, (i + 1) << BITS);
+        }
+        int height = 0;
+        while (level.length > 1)
+        {
+            Object[] parents = new Object[(level.length + WIDTH - 1) >>> BITS];
+            for (int i = 0; i < parents.length; i++)
+            {
+                Object[] children = Arrays.copyOfRange(level, i << BITS, Math.min(level.length, (i + 1) << BITS));
+                parents[i] = Branch.newBranch(children, height);
+            }
+            level = parents;
+            height++;
+        }
+        return new ImmutableTrieList<>(level[0], height, tailStart, tail);
+    }
+
+    /**
+     * Returns a list of the given tree and tail, after removing any single child branches from the top of the tree.
+     */
+    private static <E> ImmutableTrieList<E> newList(Object root, int height, Object[] tail)
+    {
+        Object newRoot = root;
+        int newHeight = height;
+        while (newHeight > 0 && ((Branch) newRoot).children.length == 1)
+        {
+            newRoot = ((Branch) newRoot).children[0];
+            newHeight--;
+        }
+        return new ImmutableTrieList<>(newRoot, newHeight, ImmutableTrieList.sizeOf(newRoot, newHeight), tail);
+    }
+
+    private static int sizeOf(Object node, int height)
+    {
+        return height == 0 ? ((Object[]) node).length : ((Branch) node).size();
+    }
+
+    /**
+     * Returns a node of the given height whose only leaf is the given leaf.
+     */
+    private static Object newPath(int height, Object[] leaf)
+    {
+        Object node = leaf;
+        for (int h = 0; h < height; h++)
+        {
+            node = new Branch(new Object[]{node}, new int[]{leaf.length});
+        }
+        return node;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.treeSize + this.tail.length;
+    }
+
+    @Override
+    public T get(int index)
+    {
+        if (index < 0 || index >= this.size())
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: " + this.size());
+        }
+        if (index >= this.treeSize)
+        {
+            return (T) this.tail[index - this.treeSize];
+        }
+        Object node = this.root;
+        int i = index;
+        for (int h = this.height; h > 0; h--)
+        {
+            Branch branch = (Branch) node;
+            int slot = branch.slotOf(i, h);
+            if (slot > 0)
+            {
+                i -= branch.sizes[slot - 1];
+            }
+            node = branch.children[slot];
+        }
+        return (T) ((Object[]) node)[i];
+    }
+
+    @Override
+    public ImmutableList<T> newWith(T newItem)
+    {
+        int tailSize = this.tail.length;
+        if (tailSize < WIDTH)
+        {
+            Object[] newTail = Arrays.copyOf(this.tail, tailSize + 1);
+            newTail[tailSize] = newItem;
+            return new ImmutableTrieList<>(this.root, this.height, this.treeSize, newTail);
+        }
+        return this.withLeafPushed(this.tail, new Object[]{newItem});
+    }
+
+    @Override
+    public ImmutableList<T> newWithAll(Iterable<? extends T> elements)
+    {
+        if (elements instanceof ImmutableTrieList<?>)
+        {
+            return this.concat((ImmutableTrieList<? extends T>) elements);
+        }
+        Object[] array = Iterate.toArray(elements);
+        return this.withAll(array, 0, array.length);
+    }
+
+    @Override
+    public ImmutableList<T> newWithout(T element)
+    {
+        int index = this.indexOf(element);
+        if (index < 0)
+        {
+            return this;
+        }
+        int newSize = this.size() - 1;
+        if (newSize < THRESHOLD)
+        {
+            Object[] array = new Object[newSize];
+            this.copyRange(0, index, array, 0);
+            this.copyRange(index + 1, this.size(), array, index);
+            return Lists.immutable.with((T[]) array);
+        }
+        if (index >= this.treeSize)
+        {
+            int tailIndex = index - this.treeSize;
+            Object[] newTail = new Object[this.tail.length - 1];
+            System.arraycopy(this.tail, 0, newTail, 0, tailIndex);
+            System.arraycopy(this.tail, tailIndex + 1, newTail, tailIndex, newTail.length - tailIndex);
+            return new ImmutableTrieList<>(this.root, this.height, this.treeSize, newTail);
+        }
+        if (index == 0)
+        {
+            return this.suffix(1);
+        }
+        if (index == newSize)
+        {
+            return this.prefix(newSize);
+        }
+        return this.prefix(index).concat(this.suffix(index + 1));
+    }
+
+    @Override
+    public ImmutableList<T> take(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+        if (count >= this.size())
+        {
+            return this;
+        }
+        if (count < THRESHOLD)
+        {
+            Object[] array = new Object[count];
+            this.copyRange(0, count, array, 0);
+            return Lists.immutable.with((T[]) array);
+        }
+        return this.prefix(count);
+    }
+
+    @Override
+    public ImmutableList<T> drop(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+        if (count == 0)
+        {
+            return this;
+        }
+        int size = this.size();
+        if (size - count < THRESHOLD)
+        {
+            Object[] array = new Object[Math.max(0, size - count)];
+            this.copyRange(Math.min(count, size), size, array, 0);
+            return Lists.immutable.with((T[]) array);
+        }
+        return this.suffix(count);
+    }
+
+    /**
+     * Returns a list of the first count elements, where 0 &lt; count &lt; size().
+     */
+    private ImmutableTrieList<T> prefix(int count)
+    {
+        if (count > this.treeSize)
+        {
+            return new ImmutableTrieList<>(this.root, this.height, this.treeSize, Arrays.copyOf(this.tail, count - this.treeSize));
+        }
+        return ImmutableTrieList.newList(ImmutableTrieList.takeTree(this.root, this.height, count), this.height, EMPTY_LEAF);
+    }
+
+    /**
+     * Returns a list of the elements from index from, where 0 &lt; from &lt; size().
+     */
+    private ImmutableTrieList<T> suffix(int from)
+    {
+        if (from >= this.treeSize)
+        {
+            return new ImmutableTrieList<>(EMPTY_LEAF, 0, 0, Arrays.copyOfRange(this.tail, from - this.treeSize, this.tail.length));
+        }
+        return ImmutableTrieList.newList(ImmutableTrieList.dropTree(this.root, this.height, from), this.height, this.tail);
+    }
+
+    private static Object takeTree(Object node, int height, int count)
+    {
+        if (height == 0)
+        {
+            Object[] leaf = (Object[]) node;
+            return count == leaf.length ? leaf : Arrays.copyOf(leaf, count);
+        }
+        Branch branch = (Branch) node;
+        int slot = branch.slotOf(count - 1, height);
+        int before = slot == 0 ? 0 : branch.sizes[slot - 1];
+        Object[] children = Arrays.copyOf(branch.children, slot + 1);
+        children[slot] = ImmutableTrieList.takeTree(branch.children[slot], height - 1, count - before);
+        int[] sizes = Arrays.copyOf(branch.sizes, slot + 1);
+        sizes[slot] = count;
+        return new Branch(children, sizes);
+    }
+
+    private static Object dropTree(Object node, int height, int from)
+    {
+        if (from == 0)
+        {
+            return node;
+        }
+        if (height == 0)
+        {
+            Object[] leaf = (Object[]) node;
+            return Arrays.copyOfRange(leaf, from, leaf.length);
+        }
+        Branch branch = (Branch) node;
+        int slot = branch.slotOf(from, height);
+        int before = slot == 0 ? 0 : branch.sizes[slot - 1];
+        int length = branch.children.length - slot;
+        Object[] children = new Object[length];
+        children[0] = ImmutableTrieList.dropTree(branch.children[slot], height - 1, from - before);
+        System.arraycopy(branch.children, slot + 1, children, 1, length - 1);
+        int[] sizes = new int[length];
+        for (int i = 0; i < length; i++)
+        {
+            sizes[i] = branch.sizes[slot + i] - from;
+        }
+        return new Branch(children, sizes);
+    }
+
+    /**
+     * Returns this list with the given leaf appended to its tree, and with the given tail.
+     */
+    private ImmutableTrieList<T> withLeafPushed(Object[] leaf, Object[] newTail)
+    {
+        if (leaf.length == 0)
+        {
+            return new ImmutableTrieList<>(this.root, this.height, this.treeSize, newTail);
+        }
+        int newTreeSize = this.treeSize + leaf.length;
+        if (this.treeSize == 0)
+        {
+            return new ImmutableTrieList<>(leaf, 0, newTreeSize, newTail);
+        }
+        if (this.height == 0)
+        {
+            Branch newRoot = Branch.newBranch(new Object[]{this.root, leaf}, 0);
+            return new ImmutableTrieList<>(newRoot, 1, newTreeSize, newTail);
+        }
+        Branch pushed = ImmutableTrieList.pushLeaf((Branch) this.root, this.height, leaf);
+        if (pushed != null)
+        {
+            return new ImmutableTrieList<>(pushed, this.height, newTreeSize, newTail);
+        }
+        Object[] children = {this.root, ImmutableTrieList.newPath(this.height, leaf)};
+        Branch newRoot = new Branch(children, new int[]{this.treeSize, newTreeSize});
+        return new ImmutableTrieList<>(newRoot, this.height + 1, newTreeSize, newTail);
+    }
+
+    /**
+     * Returns a copy of the branch with the leaf appended along its rightmost path, or null if the branch is full.
+     */
+    private static Branch pushLeaf(Branch branch, int height, Object[] leaf)
+    {
+        int last = branch.children.length - 1;
+        if (height > 1)
+        {
+            Branch pushed = ImmutableTrieList.pushLeaf((Branch) branch.children[last], height - 1, leaf);
+            if (pushed != null)
+            {
+                return branch.withLast(pushed, leaf.length);
+            }
+        }
+        if (last + 1 < WIDTH)
+        {
+            return branch.withAppended(ImmutableTrieList.newPath(height - 1, leaf), leaf.length);
+        }
+        return null;
+    }
+
+    private ImmutableTrieList<T> withAll(Object[] elements, int from, int to)
+    {
+        ImmutableTrieList<T> result = this;
+        int index = from;
+        while (true)
+        {
+            Object[] resultTail = result.tail;
+            int remaining = to - index;
+            int room = WIDTH - resultTail.length;
+            if (remaining <= room)
+            {
+                if (remaining == 0)
+                {
+                    return result;
+                }
+                Object[] newTail = Arrays.copyOf(resultTail, resultTail.length + remaining);
+                System.arraycopy(elements, index, newTail, resultTail.length, remaining);
+                return new ImmutableTrieList<>(result.root, result.height, result.treeSize, newTail);
+            }
+            Object[] leaf = Arrays.copyOf(resultTail, WIDTH);
+            System.arraycopy(elements, index, leaf, resultTail.length, room);
+            index += room;
+            result = result.withLeafPushed(leaf, EMPTY_LEAF);
+        }
+    }
+
+    private ImmutableTrieList<T> concat(ImmutableTrieList<? extends T> other)
+    {
+        if (other.treeSize == 0)
+        {
+            return this.withAll(other.tail, 0, other.tail.length);
+        }
+        ImmutableTrieList<T> left = this.withLeafPushed(this.tail, EMPTY_LEAF);
+        if (left.treeSize == 0)
+        {
+            return new ImmutableTrieList<>(other.root, other.height, other.treeSize, other.tail);
+        }
+        Object[] merged = ImmutableTrieList.merge(left.root, left.height, other.root, other.height);
+        int height = Math.max(left.height, other.height);
+        if (merged.length == 1)
+        {
+            return ImmutableTrieList.newList(merged[0], height, other.tail);
+        }
+        return ImmutableTrieList.newList(Branch.newBranch(merged, height), height + 1, other.tail);
+    }
+
+    /**
+     * Joins two trees, merging the nodes along the seam between them. Returns one or two nodes whose height is the
+     * greater of the two heights.
+     */
+    private static Object[] merge(Object left, int leftHeight, Object right, int rightHeight)
+    {
+        if (leftHeight > rightHeight)
+        {
+            Branch leftBranch = (Branch) left;
+            int last = leftBranch.children.length - 1;
+            Object[] middle = ImmutableTrieList.merge(leftBranch.children[last], leftHeight - 1, right, rightHeight);
+            return ImmutableTrieList.join(leftBranch.children, last, middle, EMPTY_LEAF, 0, leftHeight - 1);
+        }
+        if (leftHeight < rightHeight)
+        {
+            Branch rightBranch = (Branch) right;
+            Object[] middle = ImmutableTrieList.merge(left, leftHeight, rightBranch.children[0], rightHeight - 1);
+            return ImmutableTrieList.join(EMPTY_LEAF, 0, middle, rightBranch.children, 1, rightHeight - 1);
+        }
+        if (leftHeight == 0)
+        {
+            Object[] leftLeaf = (Object[]) left;
+            Object[] rightLeaf = (Object[]) right;
+            if (leftLeaf.length == WIDTH)
+            {
+                return new Object[]{leftLeaf, rightLeaf};
+            }
+            int total = leftLeaf.length + rightLeaf.length;
+            Object[] all = Arrays.copyOf(leftLeaf, total);
+            System.arraycopy(rightLeaf, 0, all, leftLeaf.length, rightLeaf.length);
+            if (total <= WIDTH)
+            {
+                return new Object[]{all};
+            }
+            return new Object[]{Arrays.copyOf(all, WIDTH), Arrays.copyOfRange(all, WIDTH, total)};
+        }
+        Branch leftBranch = (Branch) left;
+        Branch rightBranch = (Branch) right;
+        int last = leftBranch.children.length - 1;
+        Object[] middle = ImmutableTrieList.merge(leftBranch.children[last], leftHeight - 1, rightBranch.children[0], rightHeight - 1);
+        return ImmutableTrieList.join(leftBranch.children, last, middle, rightBranch.children, 1, leftHeight - 1);
+    }
+
+    /**
+     * Returns one or two branches holding the first leftCount left children, the middle children and the right
+     * children from index rightFrom.
+     */
+    private static Object[] join(Object[] left, int leftCount, Object[] middle, Object[] right, int rightFrom, int childHeight)
+    {
+        int rightCount = right.length - rightFrom;
+        int total = leftCount + middle.length + rightCount;
+        Object[] all = new Object[total];
+        System.arraycopy(left, 0, all, 0, leftCount);
+        System.arraycopy(middle, 0, all, leftCount, middle.length);
+        System.arraycopy(right, rightFrom, all, leftCount + middle.length, rightCount);
+        if (total <= WIDTH)
+        {
+            return new Object[]{Branch.newBranch(all, childHeight)};
+        }
+        return new Object[]{
+                Branch.newBranch(Arrays.copyOf(all, WIDTH), childHeight),
+                Branch.newBranch(Arrays.copyOfRange(all, WIDTH, total), childHeight)};
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        this.forEachInRange(0, this.size(), procedure);
+    }
+
+    @Override
+    public void forEach(int from, int to, Procedure<? super T> procedure)
+    {
+        ListIterate.rangeCheck(from, to, this.size());
+        if (from <= to)
+        {
+            this.forEachInRange(from, to + 1, procedure);
+        }
+        else
+        {
+            super.forEach(from, to, procedure);
+        }
+    }
+
+    @Override
+    public void batchForEach(Procedure<? super T> procedure, int sectionIndex, int sectionCount)
+    {
+        int size = this.size();
+        int sectionSize = size / sectionCount;
+        int start = sectionSize * sectionIndex;
+        int end = sectionIndex == sectionCount - 1 ? size : start + sectionSize;
+        this.forEachInRange(start, end, procedure);
+    }
+
+    @Override
+    public int getBatchCount(int batchSize)
+    {
+        return Math.max(1, this.size() / batchSize);
+    }
+
+    /**
+     * Applies the procedure to the elements from index from, inclusive, to index to, exclusive, a leaf at a time.
+     */
+    private void forEachInRange(int from, int to, Procedure<? super T> procedure)
+    {
+        if (from < this.treeSize)
+        {
+            ImmutableTrieList.forEachInTree(this.root, this.height, from, Math.min(to, this.treeSize), procedure);
+        }
+        for (int i = Math.max(from, this.treeSize); i < to; i++)
+        {
+            procedure.value((T) this.tail[i - this.treeSize]);
+        }
+    }
+
+    private static <E> void forEachInTree(Object node, int height, int from, int to, Procedure<? super E> procedure)
+    {
+        if (height == 0)
+        {
+            Object[] leaf = (Object[]) node;
+            for (int i = from; i < to; i++)
+            {
+                procedure.value((E) leaf[i]);
+            }
+            return;
+        }
+        Branch branch = (Branch) node;
+        int slot = branch.slotOf(from, height);
+        int start = slot == 0 ? 0 : branch.sizes[slot - 1];
+        while (start < to)
+        {
+            int end = branch.sizes[slot];
+            ImmutableTrieList.forEachInTree(
+                    branch.children[slot],
+                    height - 1,
+                    Math.max(from, start) - start,
+                    Math.min(to, end) - start,
+                    procedure);
+            start = end;
+            slot++;
+        }
+    }
+
+    /**
+     * Copies the elements from index from, inclusive, to index to, exclusive, into the target array.
+     */
+    private void copyRange(int from, int to, Object[] target, int offset)
+    {
+        int[] index = {offset};
+        this.forEachInRange(from, to, each -> target[index[0]++] = each);
+    }
+
+    private static void copyTree(Object node, int height, Object[] target, int offset)
+    {
+        if (height == 0)
+        {
+            Object[] leaf = (Object[]) node;
+            System.arraycopy(leaf, 0, target, offset, leaf.length);
+            return;
+        }
+        Branch branch = (Branch) node;
+        for (int i = 0; i < branch.children.length; i++)
+        {
+            int before = i == 0 ? 0 : branch.sizes[i - 1];
+            ImmutableTrieList.copyTree(branch.children[i], height - 1, target, offset + before);
+        }
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        Object[] result = new Object[this.size()];
+        ImmutableTrieList.copyTree(this.root, this.height, result, 0);
+        System.arraycopy(this.tail, 0, result, this.treeSize, this.tail.length);
+        return result;
+    }
+
+    @Override
+    public <E> E[] toArray(E[] a)
+    {
+        int size = this.size();
+        if (a.length < size)
+        {
+            a = (E[]) Array.newInstance(a.getClass().getComponentType(), size);
+        }
+        ImmutableTrieList.copyTree(this.root, this.height, a, 0);
+        System.arraycopy(this.tail, 0, a, this.treeSize, this.tail.length);
+        if (a.length > size)
+        {
+            a[size] = null;
+        }
+        return a;
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new TrieListIterator();
+    }
+
+    private Object writeReplace()
+    {
+        return new ImmutableArrayList<>((T[]) this.toArray());
+    }
+
+    private static final class Branch
+    {
+        private final Object[] children;
+        // The cumulative sizes of the children, so the last element is the size of the branch
+        private final int[] sizes;
+
+        private Branch(Object[] children, int[] sizes)
+        {
+            this.children = children;
+            this.sizes = sizes;
+        }
+
+        private static Branch newBranch(Object[] children, int childHeight)
+        {
+            int[] sizes = new int[children.length];
+            int size = 0;
+            for (int i = 0; i < children.length; i++)
+            {
+                size += ImmutableTrieList.sizeOf(children[i], childHeight);
+                sizes[i] = size;
+            }
+            return new Branch(children, sizes);
+        }
+
+        private int size()
+        {
+            return this.sizes[this.sizes.length - 1];
+        }
+
+        /**
+         * Returns the slot of the child holding the given index of this branch, whose height is given. A child holds
+         * at most 32^height elements, so the radix slot of the index is exact when the children before it are full,
+         * and otherwise is a lower bound that the cumulative sizes correct.
+         */
+        private int slotOf(int index, int height)
+        {
+            int shift = BITS * height;
+            int slot = shift < Integer.SIZE - 1 ? index >>> shift : 0;
+            while (this.sizes[slot] <= index)
+            {
+                slot++;
+            }
+            return slot;
+        }
+
+        private Branch withLast(Object child, int sizeDelta)
+        {
+            Object[] newChildren = this.children.clone();
+            newChildren[newChildren.length - 1] = child;
+            int[] newSizes = this.sizes.clone();
+            newSizes[newSizes.length - 1] += sizeDelta;
+            return new Branch(newChildren, newSizes);
+        }
+
+        private Branch withAppended(Object child, int childSize)
+        {
+            int length = this.children.length;
+            Object[] newChildren = Arrays.copyOf(this.children, length + 1);
+            newChildren[length] = child;
+            int[] newSizes = Arrays.copyOf(this.sizes, length + 1);
+            newSizes[length] = this.sizes[length - 1] + childSize;
+            return new Branch(newChildren, newSizes);
+        }
+    }
+
+    private final class TrieListIterator implements Iterator<T>
+    {
+        private int index;
+        private Object[] leaf;
+        private int leafStart;
+        private int leafEnd;
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.index < ImmutableTrieList.this.size();
+        }
+
+        @Override
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            if (this.index >= this.leafEnd)
+            {
+                this.seek();
+            }
+            T result = (T) this.leaf[this.index - this.leafStart];
+            this.index++;
+            return result;
+        }
+
+        private void seek()
+        {
+            ImmutableTrieList<T> list = ImmutableTrieList.this;
+            if (this.index >= list.treeSize)
+            {
+                this.leaf = list.tail;
+                this.leafStart = list.treeSize;
+            }
+            else
+            {
+                Object node = list.root;
+                int i = this.index;
+                for (int h = list.height; h > 0; h--)
+                {
+                    Branch branch = (Branch) node;
+                    int slot = branch.slotOf(i, h);
+                    if (slot > 0)
+                    {
+                        i -= branch.sizes[slot - 1];
+                    }
+                    node = branch.children[slot];
+                }
+                this.leaf = (Object[]) node;
+                this.leafStart = this.index - i;
+            }
+            this.leafEnd = this.leafStart + this.leaf.length;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an immutable list");
+        }
+    }
+}
@@ -14,6 +14,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.RandomAccess;
+import java.util.concurrent.Executor;
 
 import org.eclipse.collections.api.block.HashingStrategy;
 import org.eclipse.collections.api.block.function.Function;
@@ -239,6 +240,16 @@ public final class ArrayListAdapter<T>
         return (ArrayListAdapter<T>) super.sortThis();
     }
 
+    /**
+     * @since 11.1
+     */
+    @Override
+    public ArrayListAdapter<T> sortThisParallel(Comparator<? super T> comparator, Executor executor)
+    {
+        ArrayListIterate.sortThis(this.delegate, comparator, executor);
+        return this;
+    }
+
     @Override
     public ArrayListAdapter<T> with(T element)
     {
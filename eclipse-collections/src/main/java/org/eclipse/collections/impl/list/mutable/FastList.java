@@ -28,6 +28,7 @@ import java.util.Optional;
 import java.util.RandomAccess;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
 import java.util.function.Supplier;
@@ -105,6 +106,7 @@ import org.eclipse.collections.impl.block.factory.Procedures2;
 import org.eclipse.collections.impl.map.mutable.UnifiedMap;
 import org.eclipse.collections.impl.multimap.list.FastListMultimap;
 import org.eclipse.collections.impl.parallel.BatchIterable;
+import org.eclipse.collections.impl.parallel.ParallelMergeSort;
 import org.eclipse.collections.impl.partition.list.PartitionFastList;
 import org.eclipse.collections.impl.utility.ArrayIterate;
 import org.eclipse.collections.impl.utility.ArrayListIterate;
@@ -296,6 +298,16 @@ public class FastList<T>
         return (FastList<T>) super.sortThis();
     }
 
+    /**
+     * @since 11.1
+     */
+    @Override
+    public FastList<T> sortThisParallel(Comparator<? super T> comparator, Executor executor)
+    {
+        ParallelMergeSort.sort(this.items, 0, this.size, comparator, executor);
+        return this;
+    }
+
     @Override
     public FastList<T> reverseThis()
     {
@@ -23,6 +23,7 @@ import java.util.ListIterator;
 import java.util.Optional;
 import java.util.Random;
 import java.util.RandomAccess;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -454,6 +455,16 @@ public final class MultiReaderFastList<T>
         }
     }
 
+    @Override
+    public MultiReaderList<T> sortThisParallel(Comparator<? super T> comparator, Executor executor)
+    {
+        try (LockWrapper wrapper = this.lockWrapper.acquireWriteLock())
+        {
+            this.delegate.sortThisParallel(comparator, executor);
+            return this;
+        }
+    }
+
     @Override
     public <V extends Comparable<? super V>> MultiReaderList<T> sortThisBy(
             Function<? super T, ? extends V> function)
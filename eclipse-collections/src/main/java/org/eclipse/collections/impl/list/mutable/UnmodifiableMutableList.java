@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Random;
 import java.util.RandomAccess;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.function.UnaryOperator;
 
@@ -183,6 +184,12 @@ public class UnmodifiableMutableList<T>
         throw new UnsupportedOperationException("Cannot call sortThis() on " + this.getClass().getSimpleName());
     }
 
+    @Override
+    public UnmodifiableMutableList<T> sortThisParallel(Comparator<? super T> comparator, Executor executor)
+    {
+        throw new UnsupportedOperationException("Cannot call sortThisParallel() on " + this.getClass().getSimpleName());
+    }
+
     @Override
     public MutableList<T> toReversed()
     {
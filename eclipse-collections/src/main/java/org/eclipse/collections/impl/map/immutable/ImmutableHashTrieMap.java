@@ -0,0 +1,888 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.immutable;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.tuple.ImmutableEntry;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.eclipse.collections.impl.utility.LazyIterate;
+
+/**
+ * An ImmutableMap backed by a compressed hash array mapped trie. Each node of the trie consumes five bits of the spread
+ * hash code of a key and holds up to 32 slots, each of which is either an inlined key-value pair or a child node.
+ * <p>
+ * newWithKeyValue and newWithoutKey copy only the nodes on the path from the root to the changed entry, and share every
+ * other node with the original map, so that evolving a large map one entry at a time costs O(log32 n) rather than the
+ * O(n) copy of an {@link ImmutableUnifiedMap}. The bulk operations, such as newWithAllKeyValues, edit the nodes they
+ * have already copied in place rather than copying them again for each entry.
+ * <p>
+ * {@link org.eclipse.collections.api.factory.Maps#immutable} returns this implementation for maps of at least
+ * {@link org.eclipse.collections.impl.utility.internal.ImmutableThresholds#PERSISTENT_SIZE} entries.
+ *
+ * @since 11.1
+ */
+public final class ImmutableHashTrieMap<K, V>
+        extends AbstractImmutableMap<K, V>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int BITS = 5;
+    private static final int HASH_BITS = 32;
+    private static final int MAX_DEPTH = 8;
+    private static final Object NOT_FOUND = new Object();
+
+    private final Node<K, V> root;
+    private final int size;
+
+    public ImmutableHashTrieMap(Map<K, V> map)
+    {
+        Object owner = new Object();
+        Node<K, V> node = (Node<K, V>) Node.EMPTY;
+        int[] sizeDelta = new int[1];
+        for (Map.Entry<K, V> entry : map.entrySet())
+        {
+            K key = entry.getKey();
+            node = node.updated(owner, key, entry.getValue(), ImmutableHashTrieMap.spread(key), 0, sizeDelta);
+        }
+        this.root = node;
+        this.size = sizeDelta[0];
+    }
+
+    private ImmutableHashTrieMap(Node<K, V> root, int size)
+    {
+        this.root = root;
+        this.size = size;
+    }
+
+    private static int spread(Object key)
+    {
+        // The same spread as UnifiedMap, so that hash codes that differ only in their high bits still diverge in the
+        // five bit chunks consumed by the first levels of the trie.
+        int h = key == null ? 0 : key.hashCode();
+        h ^= h >>> 20 ^ h >>> 12;
+        return h ^ h >>> 7 ^ h >>> 4;
+    }
+
+    private static int bit(int hash, int shift)
+    {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    private static boolean nullSafeEquals(Object key, Object other)
+    {
+        return key == other || key != null && key.equals(other);
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.find(key) != NOT_FOUND;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        return this.root.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        Object result = this.find(key);
+        return result == NOT_FOUND ? null : (V) result;
+    }
+
+    private Object find(Object key)
+    {
+        int hash = ImmutableHashTrieMap.spread(key);
+        Node<K, V> node = this.root;
+        for (int shift = 0; shift < HASH_BITS; shift += BITS)
+        {
+            int bit = ImmutableHashTrieMap.bit(hash, shift);
+            if ((node.dataMap & bit) != 0)
+            {
+                int index = node.pairIndex(bit);
+                return ImmutableHashTrieMap.nullSafeEquals(key, node.content[index]) ? node.content[index + 1] : NOT_FOUND;
+            }
+            if ((node.nodeMap & bit) == 0)
+            {
+                return NOT_FOUND;
+            }
+            node = node.nodeAt(bit);
+        }
+        int index = node.collisionIndex(key);
+        return index < 0 ? NOT_FOUND : node.content[index + 1];
+    }
+
+    @Override
+    public ImmutableMap<K, V> newWithKeyValue(K key, V value)
+    {
+        int[] sizeDelta = new int[1];
+        Node<K, V> newRoot = this.root.updated(null, key, value, ImmutableHashTrieMap.spread(key), 0, sizeDelta);
+        return newRoot == this.root ? this : new ImmutableHashTrieMap<>(newRoot, this.size + sizeDelta[0]);
+    }
+
+    @Override
+    public ImmutableMap<K, V> newWithAllKeyValues(Iterable<? extends Pair<? extends K, ? extends V>> keyValues)
+    {
+        Object owner = new Object();
+        Node<K, V> newRoot = this.root;
+        int[] sizeDelta = new int[1];
+        for (Pair<? extends K, ? extends V> keyValuePair : keyValues)
+        {
+            K key = keyValuePair.getOne();
+            newRoot = newRoot.updated(owner, key, keyValuePair.getTwo(), ImmutableHashTrieMap.spread(key), 0, sizeDelta);
+        }
+        return newRoot == this.root ? this : new ImmutableHashTrieMap<>(newRoot, this.size + sizeDelta[0]);
+    }
+
+    @Override
+    public ImmutableMap<K, V> newWithAllKeyValueArguments(Pair<? extends K, ? extends V>... keyValuePairs)
+    {
+        Object owner = new Object();
+        Node<K, V> newRoot = this.root;
+        int[] sizeDelta = new int[1];
+        for (Pair<? extends K, ? extends V> keyValuePair : keyValuePairs)
+        {
+            K key = keyValuePair.getOne();
+            newRoot = newRoot.updated(owner, key, keyValuePair.getTwo(), ImmutableHashTrieMap.spread(key), 0, sizeDelta);
+        }
+        return newRoot == this.root ? this : new ImmutableHashTrieMap<>(newRoot, this.size + sizeDelta[0]);
+    }
+
+    @Override
+    public ImmutableMap<K, V> newWithMap(Map<? extends K, ? extends V> map)
+    {
+        Object owner = new Object();
+        Node<K, V> newRoot = this.root;
+        int[] sizeDelta = new int[1];
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+        {
+            K key = entry.getKey();
+            newRoot = newRoot.updated(owner, key, entry.getValue(), ImmutableHashTrieMap.spread(key), 0, sizeDelta);
+        }
+        return newRoot == this.root ? this : new ImmutableHashTrieMap<>(newRoot, this.size + sizeDelta[0]);
+    }
+
+    @Override
+    public ImmutableMap<K, V> newWithMapIterable(MapIterable<? extends K, ? extends V> mapIterable)
+    {
+        Object owner = new Object();
+        Node<K, V>[] newRoot = new Node[]{this.root};
+        int[] sizeDelta = new int[1];
+        mapIterable.forEachKeyValue((key, value) ->
+                newRoot[0] = newRoot[0].updated(owner, key, value, ImmutableHashTrieMap.spread(key), 0, sizeDelta));
+        return newRoot[0] == this.root ? this : new ImmutableHashTrieMap<>(newRoot[0], this.size + sizeDelta[0]);
+    }
+
+    @Override
+    public ImmutableMap<K, V> newWithoutKey(K key)
+    {
+        int[] sizeDelta = new int[1];
+        Node<K, V> newRoot = this.root.removed(null, key, ImmutableHashTrieMap.spread(key), 0, sizeDelta);
+        return newRoot == this.root ? this : this.withRoot(newRoot, this.size + sizeDelta[0]);
+    }
+
+    @Override
+    public ImmutableMap<K, V> newWithoutAllKeys(Iterable<? extends K> keys)
+    {
+        Object owner = new Object();
+        Node<K, V> newRoot = this.root;
+        int[] sizeDelta = new int[1];
+        for (K key : keys)
+        {
+            newRoot = newRoot.removed(owner, key, ImmutableHashTrieMap.spread(key), 0, sizeDelta);
+        }
+        return newRoot == this.root ? this : this.withRoot(newRoot, this.size + sizeDelta[0]);
+    }
+
+    private ImmutableMap<K, V> withRoot(Node<K, V> newRoot, int newSize)
+    {
+        return newSize == 0 ? Maps.immutable.empty() : new ImmutableHashTrieMap<>(newRoot, newSize);
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        this.root.forEachKeyValue(procedure);
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        this.root.forEachKeyValue((key, value) -> procedure.value(key));
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        this.root.forEachKeyValue((key, value) -> procedure.value(value));
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return new Values();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet();
+    }
+
+    @Override
+    public RichIterable<K> keysView()
+    {
+        return LazyIterate.adapt(this.keySet());
+    }
+
+    @Override
+    public RichIterable<V> valuesView()
+    {
+        return LazyIterate.adapt(this.values());
+    }
+
+    @Override
+    public RichIterable<Pair<K, V>> keyValuesView()
+    {
+        return LazyIterate.adapt(new AbstractCollection<Pair<K, V>>()
+        {
+            @Override
+            public Iterator<Pair<K, V>> iterator()
+            {
+                return new TrieIterator<K, V, Pair<K, V>>(ImmutableHashTrieMap.this.root)
+                {
+                    @Override
+                    protected Pair<K, V> valueAt(Object[] content, int index)
+                    {
+                        return Tuples.pair((K) content[index], (V) content[index + 1]);
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return ImmutableHashTrieMap.this.size;
+            }
+        });
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return new TrieIterator<K, V, V>(this.root)
+        {
+            @Override
+            protected V valueAt(Object[] content, int index)
+            {
+                return (V) content[index + 1];
+            }
+        };
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.root.keyValueHashCode();
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+        Map<K, V> other = (Map<K, V>) object;
+        if (this.size != other.size())
+        {
+            return false;
+        }
+        TrieIterator<K, V, Object> iterator = new TrieIterator<K, V, Object>(this.root)
+        {
+            @Override
+            protected Object valueAt(Object[] content, int index)
+            {
+                return null;
+            }
+        };
+        while (iterator.hasNext())
+        {
+            Object[] content = iterator.payload.content;
+            int index = iterator.payloadIndex;
+            iterator.next();
+            if (!this.keyAndValueEquals((K) content[index], (V) content[index + 1], other))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append('{');
+        this.forEachKeyValue((key, value) ->
+        {
+            if (builder.length() > 1)
+            {
+                builder.append(", ");
+            }
+            builder.append(key == this ? "(this Map)" : String.valueOf(key));
+            builder.append('=');
+            builder.append(value == this ? "(this Map)" : String.valueOf(value));
+        });
+        builder.append('}');
+        return builder.toString();
+    }
+
+    private Object writeReplace()
+    {
+        return new ImmutableMapSerializationProxy<>(this);
+    }
+
+    /**
+     * A node of the trie. The content array holds the inlined key-value pairs, in the order of their bits in the data
+     * map, followed by the child nodes, in the order of their bits in the node map. A node below the last level that
+     * hash bits can address is a collision node: both its maps are zero and its content holds only the pairs, all of
+     * whose keys have the same spread hash code.
+     * <p>
+     * A node is edited in place only by the operation that owns it, which is the one that created it with the same
+     * owner token. Every node reachable from a published map has an owner that no operation still holds.
+     */
+    private static final class Node<K, V>
+    {
+        private static final Node<?, ?> EMPTY = new Node<>(null, 0, 0, new Object[0]);
+
+        private final Object owner;
+        private int dataMap;
+        private int nodeMap;
+        private Object[] content;
+
+        private Node(Object owner, int dataMap, int nodeMap, Object[] content)
+        {
+            this.owner = owner;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        private boolean isCollision()
+        {
+            return (this.dataMap | this.nodeMap) == 0;
+        }
+
+        private int payloadArity()
+        {
+            return this.isCollision() ? this.content.length >> 1 : Integer.bitCount(this.dataMap);
+        }
+
+        private int nodeArity()
+        {
+            return Integer.bitCount(this.nodeMap);
+        }
+
+        private int pairIndex(int bit)
+        {
+            return Integer.bitCount(this.dataMap & (bit - 1)) << 1;
+        }
+
+        private int nodeIndex(int bit)
+        {
+            return (Integer.bitCount(this.dataMap) << 1) + Integer.bitCount(this.nodeMap & (bit - 1));
+        }
+
+        private Node<K, V> nodeAt(int bit)
+        {
+            return (Node<K, V>) this.content[this.nodeIndex(bit)];
+        }
+
+        private int collisionIndex(Object key)
+        {
+            for (int i = 0; i < this.content.length; i += 2)
+            {
+                if (ImmutableHashTrieMap.nullSafeEquals(key, this.content[i]))
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean isOwnedBy(Object owner)
+        {
+            return owner != null && this.owner == owner;
+        }
+
+        private Node<K, V> withContent(Object owner, int newDataMap, int newNodeMap, Object[] newContent)
+        {
+            if (this.isOwnedBy(owner))
+            {
+                this.dataMap = newDataMap;
+                this.nodeMap = newNodeMap;
+                this.content = newContent;
+                return this;
+            }
+            return new Node<>(owner, newDataMap, newNodeMap, newContent);
+        }
+
+        private Node<K, V> withSlot(Object owner, int index, Object value)
+        {
+            if (this.isOwnedBy(owner))
+            {
+                this.content[index] = value;
+                return this;
+            }
+            Object[] newContent = this.content.clone();
+            newContent[index] = value;
+            return new Node<>(owner, this.dataMap, this.nodeMap, newContent);
+        }
+
+        private Node<K, V> updated(Object owner, K key, V value, int hash, int shift, int[] sizeDelta)
+        {
+            if (shift >= HASH_BITS)
+            {
+                int index = this.collisionIndex(key);
+                if (index >= 0)
+                {
+                    return this.content[index + 1] == value ? this : this.withSlot(owner, index + 1, value);
+                }
+                sizeDelta[0]++;
+                return this.withContent(owner, 0, 0, Node.insertPair(this.content, this.content.length, key, value));
+            }
+            int bit = ImmutableHashTrieMap.bit(hash, shift);
+            if ((this.dataMap & bit) != 0)
+            {
+                int index = this.pairIndex(bit);
+                K existingKey = (K) this.content[index];
+                if (ImmutableHashTrieMap.nullSafeEquals(key, existingKey))
+                {
+                    return this.content[index + 1] == value ? this : this.withSlot(owner, index + 1, value);
+                }
+                sizeDelta[0]++;
+                Node<K, V> child = Node.mergeTwo(
+                        owner,
+                        existingKey,
+                        (V) this.content[index + 1],
+                        ImmutableHashTrieMap.spread(existingKey),
+                        key,
+                        value,
+                        hash,
+                        shift + BITS);
+                return this.withContent(
+                        owner,
+                        this.dataMap ^ bit,
+                        this.nodeMap | bit,
+                        Node.migrateInlineToNode(this.content, index, this.nodeIndex(bit), child));
+            }
+            if ((this.nodeMap & bit) != 0)
+            {
+                int index = this.nodeIndex(bit);
+                Node<K, V> child = (Node<K, V>) this.content[index];
+                Node<K, V> newChild = child.updated(owner, key, value, hash, shift + BITS, sizeDelta);
+                return newChild == child ? this : this.withSlot(owner, index, newChild);
+            }
+            sizeDelta[0]++;
+            return this.withContent(
+                    owner,
+                    this.dataMap | bit,
+                    this.nodeMap,
+                    Node.insertPair(this.content, this.pairIndex(bit), key, value));
+        }
+
+        private Node<K, V> removed(Object owner, K key, int hash, int shift, int[] sizeDelta)
+        {
+            if (shift >= HASH_BITS)
+            {
+                int index = this.collisionIndex(key);
+                if (index < 0)
+                {
+                    return this;
+                }
+                sizeDelta[0]--;
+                if (this.content.length == 4)
+                {
+                    // The single remaining pair is given its bit for the root level, so that it is valid wherever the
+                    // parents inline it, or as the root itself
+                    int remaining = 2 - index;
+                    return new Node<>(owner, ImmutableHashTrieMap.bit(hash, 0), 0, new Object[]{this.content[remaining], this.content[remaining + 1]});
+                }
+                return this.withContent(owner, 0, 0, Node.removePair(this.content, index));
+            }
+            int bit = ImmutableHashTrieMap.bit(hash, shift);
+            if ((this.dataMap & bit) != 0)
+            {
+                int index = this.pairIndex(bit);
+                if (!ImmutableHashTrieMap.nullSafeEquals(key, this.content[index]))
+                {
+                    return this;
+                }
+                sizeDelta[0]--;
+                if (shift > 0 && this.nodeMap == 0 && Integer.bitCount(this.dataMap) == 2)
+                {
+                    int remaining = 2 - index;
+                    Object remainingKey = this.content[remaining];
+                    return new Node<>(
+                            owner,
+                            ImmutableHashTrieMap.bit(ImmutableHashTrieMap.spread(remainingKey), 0),
+                            0,
+                            new Object[]{remainingKey, this.content[remaining + 1]});
+                }
+                return this.withContent(owner, this.dataMap ^ bit, this.nodeMap, Node.removePair(this.content, index));
+            }
+            if ((this.nodeMap & bit) != 0)
+            {
+                int index = this.nodeIndex(bit);
+                Node<K, V> child = (Node<K, V>) this.content[index];
+                Node<K, V> newChild = child.removed(owner, key, hash, shift + BITS, sizeDelta);
+                if (newChild == child)
+                {
+                    return this;
+                }
+                if (newChild.nodeMap == 0 && newChild.payloadArity() == 1)
+                {
+                    if (this.dataMap == 0 && Integer.bitCount(this.nodeMap) == 1)
+                    {
+                        return newChild;
+                    }
+                    return this.withContent(
+                            owner,
+                            this.dataMap | bit,
+                            this.nodeMap ^ bit,
+                            Node.migrateNodeToInline(this.content, index, this.pairIndex(bit), newChild.content[0], newChild.content[1]));
+                }
+                return this.withSlot(owner, index, newChild);
+            }
+            return this;
+        }
+
+        private static <K, V> Node<K, V> mergeTwo(Object owner, K key1, V value1, int hash1, K key2, V value2, int hash2, int shift)
+        {
+            if (shift >= HASH_BITS)
+            {
+                return new Node<>(owner, 0, 0, new Object[]{key1, value1, key2, value2});
+            }
+            int mask1 = (hash1 >>> shift) & 31;
+            int mask2 = (hash2 >>> shift) & 31;
+            if (mask1 != mask2)
+            {
+                int dataMap = (1 << mask1) | (1 << mask2);
+                return mask1 < mask2
+                        ? new Node<>(owner, dataMap, 0, new Object[]{key1, value1, key2, value2})
+                        : new Node<>(owner, dataMap, 0, new Object[]{key2, value2, key1, value1});
+            }
+            Node<K, V> child = Node.mergeTwo(owner, key1, value1, hash1, key2, value2, hash2, shift + BITS);
+            return new Node<>(owner, 0, 1 << mask1, new Object[]{child});
+        }
+
+        private static Object[] insertPair(Object[] source, int index, Object key, Object value)
+        {
+            Object[] result = new Object[source.length + 2];
+            System.arraycopy(source, 0, result, 0, index);
+            result[index] = key;
+            result[index + 1] = value;
+            System.arraycopy(source, index, result, index + 2, source.length - index);
+            return result;
+        }
+
+        private static Object[] removePair(Object[] source, int index)
+        {
+            Object[] result = new Object[source.length - 2];
+            System.arraycopy(source, 0, result, 0, index);
+            System.arraycopy(source, index + 2, result, index, source.length - index - 2);
+            return result;
+        }
+
+        /**
+         * Removes the pair at pairIndex and inserts the node before the element at nodeIndex of the source.
+         */
+        private static Object[] migrateInlineToNode(Object[] source, int pairIndex, int nodeIndex, Object node)
+        {
+            Object[] result = new Object[source.length - 1];
+            System.arraycopy(source, 0, result, 0, pairIndex);
+            System.arraycopy(source, pairIndex + 2, result, pairIndex, nodeIndex - pairIndex - 2);
+            result[nodeIndex - 2] = node;
+            System.arraycopy(source, nodeIndex, result, nodeIndex - 1, source.length - nodeIndex);
+            return result;
+        }
+
+        /**
+         * Removes the node at nodeIndex and inserts the pair before the element at pairIndex of the source.
+         */
+        private static Object[] migrateNodeToInline(Object[] source, int nodeIndex, int pairIndex, Object key, Object value)
+        {
+            Object[] result = new Object[source.length + 1];
+            System.arraycopy(source, 0, result, 0, pairIndex);
+            result[pairIndex] = key;
+            result[pairIndex + 1] = value;
+            System.arraycopy(source, pairIndex, result, pairIndex + 2, nodeIndex - pairIndex);
+            System.arraycopy(source, nodeIndex + 1, result, nodeIndex + 2, source.length - nodeIndex - 1);
+            return result;
+        }
+
+        private void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+        {
+            int pairs = this.payloadArity() << 1;
+            for (int i = 0; i < pairs; i += 2)
+            {
+                procedure.value((K) this.content[i], (V) this.content[i + 1]);
+            }
+            for (int i = pairs; i < this.content.length; i++)
+            {
+                ((Node<K, V>) this.content[i]).forEachKeyValue(procedure);
+            }
+        }
+
+        private boolean containsValue(Object value)
+        {
+            int pairs = this.payloadArity() << 1;
+            for (int i = 0; i < pairs; i += 2)
+            {
+                if (ImmutableHashTrieMap.nullSafeEquals(value, this.content[i + 1]))
+                {
+                    return true;
+                }
+            }
+            for (int i = pairs; i < this.content.length; i++)
+            {
+                if (((Node<K, V>) this.content[i]).containsValue(value))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int keyValueHashCode()
+        {
+            int result = 0;
+            int pairs = this.payloadArity() << 1;
+            for (int i = 0; i < pairs; i += 2)
+            {
+                Object key = this.content[i];
+                Object value = this.content[i + 1];
+                result += (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+            }
+            for (int i = pairs; i < this.content.length; i++)
+            {
+                result += ((Node<K, V>) this.content[i]).keyValueHashCode();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Iterates the pairs of a trie depth first, visiting the pairs inlined in each node before its children.
+     */
+    private abstract static class TrieIterator<K, V, T> implements Iterator<T>
+    {
+        private final Node<K, V>[] nodes = new Node[MAX_DEPTH];
+        private final int[] nextChildren = new int[MAX_DEPTH];
+        private int depth;
+        private Node<K, V> payload;
+        private int payloadIndex;
+        private int payloadEnd;
+
+        protected TrieIterator(Node<K, V> root)
+        {
+            this.nodes[0] = root;
+            this.nextChildren[0] = root.payloadArity() << 1;
+            this.payload = root;
+            this.payloadEnd = this.nextChildren[0];
+        }
+
+        protected abstract T valueAt(Object[] content, int index);
+
+        @Override
+        public boolean hasNext()
+        {
+            while (this.payloadIndex >= this.payloadEnd)
+            {
+                if (!this.advance())
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean advance()
+        {
+            while (this.depth >= 0)
+            {
+                Node<K, V> node = this.nodes[this.depth];
+                int next = this.nextChildren[this.depth];
+                if (next < node.content.length)
+                {
+                    this.nextChildren[this.depth] = next + 1;
+                    Node<K, V> child = (Node<K, V>) node.content[next];
+                    int pairs = child.payloadArity() << 1;
+                    if (pairs < child.content.length)
+                    {
+                        this.depth++;
+                        this.nodes[this.depth] = child;
+                        this.nextChildren[this.depth] = pairs;
+                    }
+                    if (pairs > 0)
+                    {
+                        this.payload = child;
+                        this.payloadIndex = 0;
+                        this.payloadEnd = pairs;
+                        return true;
+                    }
+                }
+                else
+                {
+                    this.nodes[this.depth] = null;
+                    this.depth--;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            T result = this.valueAt(this.payload.content, this.payloadIndex);
+            this.payloadIndex += 2;
+            return result;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an immutable map");
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new TrieIterator<K, V, K>(ImmutableHashTrieMap.this.root)
+            {
+                @Override
+                protected K valueAt(Object[] content, int index)
+                {
+                    return (K) content[index];
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ImmutableHashTrieMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return ImmutableHashTrieMap.this.containsKey(key);
+        }
+    }
+
+    private final class Values extends AbstractCollection<V>
+    {
+        @Override
+        public Iterator<V> iterator()
+        {
+            return ImmutableHashTrieMap.this.iterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return ImmutableHashTrieMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object value)
+        {
+            return ImmutableHashTrieMap.this.containsValue(value);
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new TrieIterator<K, V, Entry<K, V>>(ImmutableHashTrieMap.this.root)
+            {
+                @Override
+                protected Entry<K, V> valueAt(Object[] content, int index)
+                {
+                    return ImmutableEntry.of((K) content[index], (V) content[index + 1]);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ImmutableHashTrieMap.this.size;
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            Object value = ImmutableHashTrieMap.this.find(entry.getKey());
+            return value != NOT_FOUND && ImmutableHashTrieMap.nullSafeEquals(entry.getValue(), value);
+        }
+    }
+}
@@ -13,8 +13,10 @@ package org.eclipse.collections.impl.map.immutable;
 import java.util.Map;
 import java.util.Objects;
 
+import org.eclipse.collections.api.factory.map.ImmutableMapBuilder;
 import org.eclipse.collections.api.factory.map.ImmutableMapFactory;
 import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.impl.utility.internal.ImmutableThresholds;
 
 public class ImmutableMapFactoryImpl implements ImmutableMapFactory
 {
@@ -155,6 +157,16 @@ public class ImmutableMapFactoryImpl implements ImmutableMapFactory
             return this.empty();
         }
 
+        if (map instanceof ImmutableHashTrieMap)
+        {
+            return (ImmutableMap<K, V>) map;
+        }
+
+        if (map.size() >= ImmutableThresholds.PERSISTENT_SIZE)
+        {
+            return new ImmutableHashTrieMap<>(map);
+        }
+
         if (map.size() > 4)
         {
             return new ImmutableUnifiedMap<>(map);
@@ -184,4 +196,16 @@ public class ImmutableMapFactoryImpl implements ImmutableMapFactory
                 throw new AssertionError();
         }
     }
+
+    @Override
+    public <K, V> ImmutableMapBuilder<K, V> builder()
+    {
+        return new ImmutableUnifiedMapBuilder<>(0);
+    }
+
+    @Override
+    public <K, V> ImmutableMapBuilder<K, V> builder(int expectedSize)
+    {
+        return new ImmutableUnifiedMapBuilder<>(expectedSize);
+    }
 }
@@ -47,6 +47,20 @@ public class ImmutableUnifiedMap<K, V>
         this(UnifiedMap.newMapWith(pairs));
     }
 
+    private ImmutableUnifiedMap(UnifiedMap<K, V> delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns an ImmutableUnifiedMap which uses {@code delegate} without copying it, so it must not be modified
+     * afterwards.
+     */
+    static <K, V> ImmutableUnifiedMap<K, V> adapt(UnifiedMap<K, V> delegate)
+    {
+        return new ImmutableUnifiedMap<>(delegate);
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.immutable;
+
+import java.util.Map;
+
+import org.eclipse.collections.api.factory.map.ImmutableMapBuilder;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+
+/**
+ * An ImmutableMapBuilder which fills a UnifiedMap and hands it to an ImmutableUnifiedMap on toImmutable, at every size,
+ * since a hash table built for reading is what a builder is used for. The map is only copied into a smaller table when
+ * fewer than a quarter of the expected keys were added, as a table grown from a smaller size is never more than twice
+ * as large as it needs to be. The builder copies its map before the next change after toImmutable.
+ *
+ * @since 11.1
+ */
+final class ImmutableUnifiedMapBuilder<K, V>
+        implements ImmutableMapBuilder<K, V>
+{
+    private static final int MAXIMUM_SMALL_MAP_SIZE = 4;
+
+    private final int expectedSize;
+    private UnifiedMap<K, V> delegate;
+    private boolean shared;
+
+    ImmutableUnifiedMapBuilder(int expectedSize)
+    {
+        if (expectedSize < 0)
+        {
+            throw new IllegalArgumentException("Expected size is greater than or equal to 0. Was: " + expectedSize);
+        }
+        this.expectedSize = expectedSize;
+        this.delegate = UnifiedMap.newMap(expectedSize);
+    }
+
+    @Override
+    public ImmutableMapBuilder<K, V> withKeyValue(K key, V value)
+    {
+        this.unshare();
+        this.delegate.put(key, value);
+        return this;
+    }
+
+    @Override
+    public ImmutableMapBuilder<K, V> withAllKeyValues(Iterable<? extends Pair<? extends K, ? extends V>> keyValues)
+    {
+        this.unshare();
+        for (Pair<? extends K, ? extends V> keyValue : keyValues)
+        {
+            this.delegate.put(keyValue.getOne(), keyValue.getTwo());
+        }
+        return this;
+    }
+
+    @Override
+    public ImmutableMapBuilder<K, V> withMap(Map<? extends K, ? extends V> map)
+    {
+        this.unshare();
+        this.delegate.putAll(map);
+        return this;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.delegate.size();
+    }
+
+    @Override
+    public ImmutableMap<K, V> toImmutable()
+    {
+        int size = this.delegate.size();
+        if (size <= MAXIMUM_SMALL_MAP_SIZE)
+        {
+            return ImmutableMapFactoryImpl.INSTANCE.withAll(this.delegate);
+        }
+        if (size < this.expectedSize / 4)
+        {
+            return new ImmutableUnifiedMap<>(this.delegate);
+        }
+        this.shared = true;
+        return ImmutableUnifiedMap.adapt(this.delegate);
+    }
+
+    private void unshare()
+    {
+        if (this.shared)
+        {
+            this.delegate = UnifiedMap.newMap(this.delegate);
+            this.shared = false;
+        }
+    }
+}
@@ -0,0 +1,1610 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function0;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.function.primitive.IntFunction;
+import org.eclipse.collections.api.block.function.primitive.LongFunction0;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.map.ConcurrentMutableMap;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * A bounded ConcurrentMutableMap for use as a cache. Entries are held in a java.util.concurrent.ConcurrentHashMap,
+ * and once the total weight of the entries goes over the maximum, the map evicts entries using Window TinyLFU: new
+ * entries enter a small LRU admission window, and an entry leaving the window only displaces an entry of the main
+ * segmented LRU region if a count-min sketch estimates that it has been used more often. Entries can also expire a
+ * fixed time after they were written or last read.
+ * <p>
+ * Reads never lock. A read is recorded in a lossy striped buffer that is replayed against the eviction policy in
+ * batches, while writes update the policy under a single lock. Eviction never holds that lock while it writes to the
+ * underlying map. A function passed to {@link #getIfAbsentPut(Object, Function0)} runs outside the underlying map's
+ * locks while other threads asking for the same key wait for its result, so it may itself write to the cache, but it
+ * must not load the key it is computing.
+ * Each entry keeps its policy metadata in primitive fields of the node that holds it, with no side objects.
+ * <p>
+ * Like the JDK concurrent maps, this map does not accept null keys or values.
+ *
+ * @since 11.1
+ */
+public final class ConcurrentCacheMap<K, V>
+        extends AbstractMutableMap<K, V>
+        implements ConcurrentMutableMap<K, V>, Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int READ_BUFFER_STRIPES = ConcurrentCacheMap.ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors());
+    private static final int READ_BUFFER_SIZE = 16;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int PADDING = 8;
+
+    private static final byte NEW = 0;
+    private static final byte WINDOW = 1;
+    private static final byte PROBATION = 2;
+    private static final byte PROTECTED = 3;
+    private static final byte REMOVED = 4;
+
+    private final java.util.concurrent.ConcurrentHashMap<K, Node<K, V>> data;
+    private final java.util.concurrent.ConcurrentHashMap<K, Load<V>> loads = new java.util.concurrent.ConcurrentHashMap<>();
+    private final long maximumWeight;
+    private final IntFunction<? super V> weigher;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final LongFunction0 ticker;
+
+    private final AtomicReferenceArray<Node<K, V>> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_STRIPES * READ_BUFFER_SIZE);
+    private final AtomicLongArray readBufferCounts = new AtomicLongArray(READ_BUFFER_STRIPES * PADDING);
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // The fields below are guarded by evictionLock
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedDeque = new AccessOrderDeque<>();
+    private final WriteOrderDeque<K, V> writeOrder = new WriteOrderDeque<>();
+    private final FrequencySketch sketch = new FrequencySketch();
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+    private long windowWeight;
+    private long protectedWeight;
+    private long totalWeight;
+
+    /**
+     * Creates a cache that holds entries up to a total weight of {@code maximumWeight}.
+     *
+     * @param weigher computes the weight of a value, or null to give every entry a weight of one
+     * @param expireAfterWriteNanos the time after which an entry expires once written, or zero for never
+     * @param expireAfterAccessNanos the time after which an entry expires once last read or written, or zero for never
+     * @param ticker the source of the current time in nanoseconds
+     */
+    public ConcurrentCacheMap(
+            long maximumWeight,
+            IntFunction<? super V> weigher,
+            long expireAfterWriteNanos,
+            long expireAfterAccessNanos,
+            LongFunction0 ticker)
+    {
+        this(maximumWeight, weigher, expireAfterWriteNanos, expireAfterAccessNanos, ticker, 16);
+    }
+
+    private ConcurrentCacheMap(
+            long maximumWeight,
+            IntFunction<? super V> weigher,
+            long expireAfterWriteNanos,
+            long expireAfterAccessNanos,
+            LongFunction0 ticker,
+            int initialCapacity)
+    {
+        if (maximumWeight < 0L)
+        {
+            throw new IllegalArgumentException("Maximum weight must not be negative: " + maximumWeight);
+        }
+        if (expireAfterWriteNanos < 0L || expireAfterAccessNanos < 0L)
+        {
+            throw new IllegalArgumentException("Expiry durations must not be negative");
+        }
+        this.data = new java.util.concurrent.ConcurrentHashMap<>(initialCapacity);
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.expireAfterAccessNanos = expireAfterAccessNanos;
+        this.ticker = Objects.requireNonNull(ticker);
+        this.mainMaximum = maximumWeight - maximumWeight / 100L;
+        this.windowMaximum = maximumWeight - this.mainMaximum;
+        this.protectedMaximum = this.mainMaximum - this.mainMaximum / 5L;
+    }
+
+    public static <NK, NV> ConcurrentCacheMap<NK, NV> newCache(long maximumSize)
+    {
+        return new ConcurrentCacheMap<>(maximumSize, null, 0L, 0L, System::nanoTime);
+    }
+
+    public static <NK, NV> ConcurrentCacheMap<NK, NV> newCache(
+            long maximumSize,
+            long expireAfterWrite,
+            long expireAfterAccess,
+            TimeUnit unit)
+    {
+        return new ConcurrentCacheMap<>(maximumSize, null, unit.toNanos(expireAfterWrite), unit.toNanos(expireAfterAccess), System::nanoTime);
+    }
+
+    public static <NK, NV> ConcurrentCacheMap<NK, NV> newWeightedCache(long maximumWeight, IntFunction<? super NV> weigher)
+    {
+        return new ConcurrentCacheMap<>(maximumWeight, Objects.requireNonNull(weigher), 0L, 0L, System::nanoTime);
+    }
+
+    private static int ceilingPowerOfTwo(int value)
+    {
+        return 1 << -Integer.numberOfLeadingZeros(Math.max(value, 2) - 1);
+    }
+
+    private static int spread(Object key)
+    {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return hash ^ hash >>> 16;
+    }
+
+    private static int stripeIndex()
+    {
+        int hash = (int) Thread.currentThread().getId() * 0x9E3779B9;
+        return hash >>> 16 & READ_BUFFER_STRIPES - 1;
+    }
+
+    public long getHitCount()
+    {
+        return this.hitCount.sum();
+    }
+
+    public long getMissCount()
+    {
+        return this.missCount.sum();
+    }
+
+    /**
+     * Returns the number of entries removed by the eviction policy, either to stay within the maximum weight or because
+     * they expired.
+     */
+    public long getEvictionCount()
+    {
+        return this.evictionCount.sum();
+    }
+
+    public double getHitRate()
+    {
+        long hits = this.hitCount.sum();
+        long requests = hits + this.missCount.sum();
+        return requests == 0L ? 1.0 : (double) hits / requests;
+    }
+
+    public long getMaximumWeight()
+    {
+        return this.maximumWeight;
+    }
+
+    /**
+     * Returns the total weight of the entries currently tracked by the eviction policy.
+     */
+    public long weightedSize()
+    {
+        this.evictionLock.lock();
+        try
+        {
+            return this.totalWeight;
+        }
+        finally
+        {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Replays buffered reads against the eviction policy, and evicts expired entries and entries over the maximum
+     * weight. This happens as a side effect of reads and writes, so it only needs calling to bring the map up to date
+     * while it is idle.
+     */
+    public void cleanUp()
+    {
+        this.evictionLock.lock();
+        FastList<Node<K, V>> victims;
+        try
+        {
+            victims = this.maintenance();
+        }
+        finally
+        {
+            this.evictionLock.unlock();
+        }
+        this.removeVictims(victims);
+    }
+
+    private boolean expires()
+    {
+        return this.expireAfterWriteNanos > 0L || this.expireAfterAccessNanos > 0L;
+    }
+
+    private long now()
+    {
+        return this.expires() ? this.ticker.value() : 0L;
+    }
+
+    private boolean hasExpired(Node<K, V> node, long now)
+    {
+        return this.expireAfterWriteNanos > 0L && now - node.writeTime >= this.expireAfterWriteNanos
+                || this.expireAfterAccessNanos > 0L && now - node.accessTime >= this.expireAfterAccessNanos;
+    }
+
+    private Node<K, V> newNode(K key, V value, long now)
+    {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        int weight = this.weigher == null ? 1 : this.weigher.intValueOf(value);
+        if (weight < 0)
+        {
+            throw new IllegalArgumentException("Weight must not be negative: " + weight);
+        }
+        return new Node<>(key, value, weight, now);
+    }
+
+    private Node<K, V> getLiveNode(Object key)
+    {
+        Node<K, V> node = this.data.get(key);
+        return node == null || this.expires() && this.hasExpired(node, this.ticker.value()) ? null : node;
+    }
+
+    private V readValue(Object key)
+    {
+        Node<K, V> node = this.data.get(key);
+        if (node != null)
+        {
+            long now = this.now();
+            if (!this.hasExpired(node, now))
+            {
+                this.hitCount.increment();
+                this.afterRead(node, now);
+                return node.value;
+            }
+        }
+        this.missCount.increment();
+        return null;
+    }
+
+    private void afterRead(Node<K, V> node, long now)
+    {
+        if (this.expireAfterAccessNanos > 0L)
+        {
+            node.accessTime = now;
+        }
+        int stripe = ConcurrentCacheMap.stripeIndex();
+        int writeIndex = stripe * PADDING;
+        long writes = this.readBufferCounts.get(writeIndex);
+        long pending = writes - this.readBufferCounts.get(writeIndex + 1);
+        if (pending < READ_BUFFER_SIZE && this.readBufferCounts.compareAndSet(writeIndex, writes, writes + 1L))
+        {
+            this.readBuffer.lazySet(stripe * READ_BUFFER_SIZE + (int) (writes & READ_BUFFER_MASK), node);
+            if (pending + 1L < READ_BUFFER_SIZE)
+            {
+                return;
+            }
+        }
+        if (this.evictionLock.tryLock())
+        {
+            FastList<Node<K, V>> victims;
+            try
+            {
+                victims = this.maintenance();
+            }
+            finally
+            {
+                this.evictionLock.unlock();
+            }
+            this.removeVictims(victims);
+        }
+    }
+
+    private void afterWrite(Node<K, V> added, Node<K, V> removed)
+    {
+        if (removed != null)
+        {
+            removed.retired = true;
+        }
+        this.evictionLock.lock();
+        FastList<Node<K, V>> victims;
+        try
+        {
+            if (removed != null)
+            {
+                this.unlink(removed);
+            }
+            if (added != null)
+            {
+                this.link(added);
+            }
+            victims = this.maintenance();
+        }
+        finally
+        {
+            this.evictionLock.unlock();
+        }
+        this.removeVictims(victims);
+    }
+
+    private void removeVictims(FastList<Node<K, V>> victims)
+    {
+        if (victims != null)
+        {
+            for (int i = 0; i < victims.size(); i++)
+            {
+                Node<K, V> victim = victims.get(i);
+                if (this.data.remove(victim.key, victim))
+                {
+                    victim.retired = true;
+                    this.evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    private void link(Node<K, V> node)
+    {
+        if (node.queue == NEW && !node.retired)
+        {
+            this.sketch.increment(ConcurrentCacheMap.spread(node.key));
+            node.queue = WINDOW;
+            this.window.addLast(node);
+            this.windowWeight += node.weight;
+            this.totalWeight += node.weight;
+            if (this.expireAfterWriteNanos > 0L)
+            {
+                this.writeOrder.addLast(node);
+            }
+        }
+    }
+
+    private void unlink(Node<K, V> node)
+    {
+        switch (node.queue)
+        {
+            case WINDOW:
+                this.window.remove(node);
+                this.windowWeight -= node.weight;
+                break;
+            case PROBATION:
+                this.probation.remove(node);
+                break;
+            case PROTECTED:
+                this.protectedDeque.remove(node);
+                this.protectedWeight -= node.weight;
+                break;
+            default:
+                node.queue = REMOVED;
+                return;
+        }
+        this.totalWeight -= node.weight;
+        if (this.expireAfterWriteNanos > 0L)
+        {
+            this.writeOrder.remove(node);
+        }
+        node.queue = REMOVED;
+    }
+
+    private void onAccess(Node<K, V> node)
+    {
+        this.sketch.increment(ConcurrentCacheMap.spread(node.key));
+        switch (node.queue)
+        {
+            case WINDOW:
+                this.window.moveToBack(node);
+                break;
+            case PROBATION:
+                this.probation.remove(node);
+                node.queue = PROTECTED;
+                this.protectedDeque.addLast(node);
+                this.protectedWeight += node.weight;
+                this.demoteFromProtected();
+                break;
+            case PROTECTED:
+                this.protectedDeque.moveToBack(node);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void demoteFromProtected()
+    {
+        while (this.protectedWeight > this.protectedMaximum)
+        {
+            Node<K, V> demoted = this.protectedDeque.head;
+            this.protectedDeque.remove(demoted);
+            this.protectedWeight -= demoted.weight;
+            demoted.queue = PROBATION;
+            this.probation.addLast(demoted);
+        }
+    }
+
+    private FastList<Node<K, V>> maintenance()
+    {
+        this.drainReadBuffer();
+        this.sketch.ensureCapacity(this.data.size());
+        FastList<Node<K, V>> victims = null;
+        if (this.expires())
+        {
+            victims = this.expireEntries(this.ticker.value(), victims);
+        }
+        return this.evictEntries(victims);
+    }
+
+    private void drainReadBuffer()
+    {
+        for (int stripe = 0; stripe < READ_BUFFER_STRIPES; stripe++)
+        {
+            int writeIndex = stripe * PADDING;
+            long reads = this.readBufferCounts.get(writeIndex + 1);
+            long writes = this.readBufferCounts.get(writeIndex);
+            for (; reads < writes; reads++)
+            {
+                int slot = stripe * READ_BUFFER_SIZE + (int) (reads & READ_BUFFER_MASK);
+                Node<K, V> node = this.readBuffer.get(slot);
+                if (node == null)
+                {
+                    break;
+                }
+                this.readBuffer.lazySet(slot, null);
+                this.onAccess(node);
+            }
+            this.readBufferCounts.lazySet(writeIndex + 1, reads);
+        }
+    }
+
+    private FastList<Node<K, V>> expireEntries(long now, FastList<Node<K, V>> victims)
+    {
+        FastList<Node<K, V>> result = victims;
+        if (this.expireAfterAccessNanos > 0L)
+        {
+            result = this.expireFromHead(this.window, now, result);
+            result = this.expireFromHead(this.probation, now, result);
+            result = this.expireFromHead(this.protectedDeque, now, result);
+        }
+        if (this.expireAfterWriteNanos > 0L)
+        {
+            while (this.writeOrder.head != null && this.hasExpired(this.writeOrder.head, now))
+            {
+                result = this.addVictim(this.writeOrder.head, result);
+            }
+        }
+        return result;
+    }
+
+    private FastList<Node<K, V>> expireFromHead(AccessOrderDeque<K, V> deque, long now, FastList<Node<K, V>> victims)
+    {
+        FastList<Node<K, V>> result = victims;
+        while (deque.head != null && this.hasExpired(deque.head, now))
+        {
+            result = this.addVictim(deque.head, result);
+        }
+        return result;
+    }
+
+    private FastList<Node<K, V>> evictEntries(FastList<Node<K, V>> victims)
+    {
+        FastList<Node<K, V>> result = victims;
+        while (this.windowWeight > this.windowMaximum)
+        {
+            Node<K, V> candidate = this.window.head;
+            this.window.remove(candidate);
+            this.windowWeight -= candidate.weight;
+            result = this.admit(candidate, result);
+        }
+        return result;
+    }
+
+    /**
+     * Moves a candidate leaving the admission window into the probation segment, then evicts entries of the main
+     * region to make room for it as long as the candidate is estimated to be used more often than each of them.
+     */
+    private FastList<Node<K, V>> admit(Node<K, V> candidate, FastList<Node<K, V>> victims)
+    {
+        candidate.queue = PROBATION;
+        this.probation.addLast(candidate);
+        FastList<Node<K, V>> result = victims;
+        int candidateFrequency = -1;
+        while (this.totalWeight - this.windowWeight > this.mainMaximum)
+        {
+            Node<K, V> victim = this.probation.head == candidate ? this.protectedDeque.head : this.probation.head;
+            if (victim == null)
+            {
+                return this.addVictim(candidate, result);
+            }
+            if (candidateFrequency < 0)
+            {
+                candidateFrequency = this.sketch.frequency(ConcurrentCacheMap.spread(candidate.key));
+            }
+            if (candidateFrequency <= this.sketch.frequency(ConcurrentCacheMap.spread(victim.key)))
+            {
+                return this.addVictim(candidate, result);
+            }
+            result = this.addVictim(victim, result);
+        }
+        return result;
+    }
+
+    private FastList<Node<K, V>> addVictim(Node<K, V> victim, FastList<Node<K, V>> victims)
+    {
+        this.unlink(victim);
+        FastList<Node<K, V>> result = victims == null ? FastList.newList() : victims;
+        result.add(victim);
+        return result;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        return this.readValue(key);
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        Node<K, V> node = this.newNode(key, value, this.now());
+        while (true)
+        {
+            Node<K, V> existing = this.data.putIfAbsent(key, node);
+            if (existing == null)
+            {
+                this.afterWrite(node, null);
+                return null;
+            }
+            Node<K, V> replacement = node.withKey(existing.key);
+            if (this.data.replace(key, existing, replacement))
+            {
+                this.afterWrite(replacement, existing);
+                return this.hasExpired(existing, node.writeTime) ? null : existing.value;
+            }
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value)
+    {
+        Node<K, V> node = this.newNode(key, value, this.now());
+        while (true)
+        {
+            Node<K, V> existing = this.data.putIfAbsent(key, node);
+            if (existing == null)
+            {
+                this.afterWrite(node, null);
+                return null;
+            }
+            if (!this.hasExpired(existing, node.writeTime))
+            {
+                return existing.value;
+            }
+            Node<K, V> replacement = node.withKey(existing.key);
+            if (this.data.replace(key, existing, replacement))
+            {
+                this.afterWrite(replacement, existing);
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public V replace(K key, V value)
+    {
+        Node<K, V> node = this.newNode(key, value, this.now());
+        while (true)
+        {
+            Node<K, V> existing = this.data.get(key);
+            if (existing == null || this.hasExpired(existing, node.writeTime))
+            {
+                return null;
+            }
+            Node<K, V> replacement = node.withKey(existing.key);
+            if (this.data.replace(key, existing, replacement))
+            {
+                this.afterWrite(replacement, existing);
+                return existing.value;
+            }
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue)
+    {
+        Node<K, V> node = this.newNode(key, newValue, this.now());
+        while (true)
+        {
+            Node<K, V> existing = this.data.get(key);
+            if (existing == null || this.hasExpired(existing, node.writeTime) || !existing.value.equals(oldValue))
+            {
+                return false;
+            }
+            Node<K, V> replacement = node.withKey(existing.key);
+            if (this.data.replace(key, existing, replacement))
+            {
+                this.afterWrite(replacement, existing);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        Node<K, V> node = this.data.remove(key);
+        if (node == null)
+        {
+            return null;
+        }
+        this.afterWrite(null, node);
+        return this.expires() && this.hasExpired(node, this.ticker.value()) ? null : node.value;
+    }
+
+    @Override
+    public V removeKey(K key)
+    {
+        return this.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value)
+    {
+        while (true)
+        {
+            Node<K, V> existing = this.getLiveNode(key);
+            if (existing == null || !existing.value.equals(value))
+            {
+                return false;
+            }
+            if (this.data.remove(key, existing))
+            {
+                this.afterWrite(null, existing);
+                return true;
+            }
+        }
+    }
+
+    private boolean removeNode(Node<K, V> node)
+    {
+        if (this.data.remove(node.key, node))
+        {
+            this.afterWrite(null, node);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear()
+    {
+        for (Node<K, V> node : this.data.values())
+        {
+            this.removeNode(node);
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        map.forEach(this::put);
+    }
+
+    /**
+     * Returns the value mapped to the key, or computes it with {@code function} and maps it if there is none. However
+     * many threads ask for an absent key at the same time, the function is called once and they all get its result,
+     * or the exception it threw. The function runs without holding any lock, so it may read and write other keys of
+     * this cache, but loading the same key from inside it throws {@link IllegalStateException}.
+     */
+    @Override
+    public V getIfAbsentPut(K key, Function0<? extends V> function)
+    {
+        return this.getIfAbsentPutWith(key, Function0::value, function);
+    }
+
+    @Override
+    public <P> V getIfAbsentPutWith(K key, Function<? super P, ? extends V> function, P parameter)
+    {
+        Node<K, V> existing = this.data.get(key);
+        long now = this.now();
+        if (existing != null && !this.hasExpired(existing, now))
+        {
+            this.hitCount.increment();
+            this.afterRead(existing, now);
+            return existing.value;
+        }
+        this.missCount.increment();
+        Load<V> load = new Load<>(() ->
+        {
+            // A load of the same key may have finished between the read above and claiming this one
+            Node<K, V> current = this.getLiveNode(key);
+            return current == null ? this.getIfAbsentPut(key, function.valueOf(parameter)) : current.value;
+        });
+        Load<V> inFlight = this.loads.putIfAbsent(key, load);
+        if (inFlight == null)
+        {
+            try
+            {
+                load.run();
+            }
+            finally
+            {
+                this.loads.remove(key, load);
+            }
+            return ConcurrentCacheMap.awaitLoad(load);
+        }
+        if (inFlight.owner == Thread.currentThread())
+        {
+            throw new IllegalStateException("Recursive load of key: " + key);
+        }
+        return ConcurrentCacheMap.awaitLoad(inFlight);
+    }
+
+    private static <V> V awaitLoad(Load<V> load)
+    {
+        boolean interrupted = false;
+        try
+        {
+            while (true)
+            {
+                try
+                {
+                    return load.get();
+                }
+                catch (InterruptedException ignored)
+                {
+                    // The load is running on another thread and cannot be abandoned, so wait and interrupt afterwards
+                    interrupted = true;
+                }
+                catch (ExecutionException e)
+                {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error)
+                    {
+                        throw (Error) cause;
+                    }
+                    throw new RuntimeException(cause);
+                }
+            }
+        }
+        finally
+        {
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public V getIfAbsentPut(K key, V value)
+    {
+        V existing = this.putIfAbsent(key, value);
+        return existing == null ? value : existing;
+    }
+
+    @Override
+    public V getIfAbsent(K key, Function0<? extends V> function)
+    {
+        V result = this.readValue(key);
+        return result == null ? function.value() : result;
+    }
+
+    @Override
+    public V getIfAbsentValue(K key, V value)
+    {
+        V result = this.readValue(key);
+        return result == null ? value : result;
+    }
+
+    @Override
+    public <P> V getIfAbsentWith(K key, Function<? super P, ? extends V> function, P parameter)
+    {
+        V result = this.readValue(key);
+        return result == null ? function.valueOf(parameter) : result;
+    }
+
+    @Override
+    public <A> A ifPresentApply(K key, Function<? super V, ? extends A> function)
+    {
+        V result = this.readValue(key);
+        return result == null ? null : function.valueOf(result);
+    }
+
+    @Override
+    public V updateValue(K key, Function0<? extends V> factory, Function<? super V, ? extends V> function)
+    {
+        while (true)
+        {
+            Node<K, V> existing = this.getLiveNode(key);
+            if (existing == null)
+            {
+                V newValue = function.valueOf(factory.value());
+                if (this.putIfAbsent(key, newValue) == null)
+                {
+                    return newValue;
+                }
+            }
+            else
+            {
+                V newValue = function.valueOf(existing.value);
+                Node<K, V> node = this.newNode(existing.key, newValue, this.now());
+                if (this.data.replace(key, existing, node))
+                {
+                    this.afterWrite(node, existing);
+                    return newValue;
+                }
+            }
+        }
+    }
+
+    @Override
+    public <P> V updateValueWith(K key, Function0<? extends V> factory, Function2<? super V, ? super P, ? extends V> function, P parameter)
+    {
+        return this.updateValue(key, factory, each -> function.value(each, parameter));
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.getLiveNode(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        long now = this.now();
+        for (Node<K, V> node : this.data.values())
+        {
+            if (node.value.equals(value) && !this.hasExpired(node, now))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.data.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.data.isEmpty();
+    }
+
+    @Override
+    public boolean notEmpty()
+    {
+        return !this.data.isEmpty();
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        long now = this.now();
+        for (Node<K, V> node : this.data.values())
+        {
+            if (!this.hasExpired(node, now))
+            {
+                procedure.value(node.key, node.value);
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        this.forEachKeyValue((key, value) -> procedure.value(key));
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        this.forEachKeyValue((key, value) -> procedure.value(value));
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super V> objectIntProcedure)
+    {
+        Iterate.forEachWithIndex(this.values(), objectIntProcedure);
+    }
+
+    @Override
+    public <P> void forEachWith(Procedure2<? super V, ? super P> procedure, P parameter)
+    {
+        this.forEachKeyValue((key, value) -> procedure.value(value, parameter));
+    }
+
+    @Override
+    public ConcurrentCacheMap<K, V> tap(Procedure<? super V> procedure)
+    {
+        this.forEach(procedure);
+        return this;
+    }
+
+    @Override
+    public <E> MutableMap<K, V> collectKeysAndValues(
+            Iterable<E> iterable,
+            Function<? super E, ? extends K> keyFunction,
+            Function<? super E, ? extends V> valueFunction)
+    {
+        Iterate.forEach(iterable, each -> this.put(keyFunction.valueOf(each), valueFunction.valueOf(each)));
+        return this;
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return new ValueIterator();
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return new Values();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet();
+    }
+
+    @Override
+    public ConcurrentCacheMap<K, V> withKeyValue(K key, V value)
+    {
+        return (ConcurrentCacheMap<K, V>) super.withKeyValue(key, value);
+    }
+
+    @Override
+    public ConcurrentCacheMap<K, V> withAllKeyValues(Iterable<? extends Pair<? extends K, ? extends V>> keyValues)
+    {
+        return (ConcurrentCacheMap<K, V>) super.withAllKeyValues(keyValues);
+    }
+
+    @Override
+    public ConcurrentCacheMap<K, V> withAllKeyValueArguments(Pair<? extends K, ? extends V>... keyValues)
+    {
+        return (ConcurrentCacheMap<K, V>) super.withAllKeyValueArguments(keyValues);
+    }
+
+    @Override
+    public ConcurrentCacheMap<K, V> withoutKey(K key)
+    {
+        return (ConcurrentCacheMap<K, V>) super.withoutKey(key);
+    }
+
+    @Override
+    public ConcurrentCacheMap<K, V> withoutAllKeys(Iterable<? extends K> keys)
+    {
+        return (ConcurrentCacheMap<K, V>) super.withoutAllKeys(keys);
+    }
+
+    @Override
+    public MutableMap<K, V> newEmpty()
+    {
+        return new ConcurrentCacheMap<>(this.maximumWeight, this.weigher, this.expireAfterWriteNanos, this.expireAfterAccessNanos, this.ticker);
+    }
+
+    /**
+     * Returns an empty cache with the same maximum weight, expiry and ticker as this one. The weigher is shared as well,
+     * so it must accept the values of the new cache.
+     */
+    @Override
+    public <NK, NV> MutableMap<NK, NV> newEmpty(int capacity)
+    {
+        return new ConcurrentCacheMap<>(
+                this.maximumWeight,
+                (IntFunction<? super NV>) this.weigher,
+                this.expireAfterWriteNanos,
+                this.expireAfterAccessNanos,
+                this.ticker,
+                capacity);
+    }
+
+    @Override
+    public MutableMap<K, V> clone()
+    {
+        MutableMap<K, V> clone = this.newEmpty();
+        this.forEachKeyValue(clone::put);
+        return clone;
+    }
+
+    @Override
+    public ImmutableMap<K, V> toImmutable()
+    {
+        return Maps.immutable.ofMap(this);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == this)
+        {
+            return true;
+        }
+        if (!(o instanceof Map))
+        {
+            return false;
+        }
+        Map<?, ?> map = (Map<?, ?>) o;
+        int liveCount = 0;
+        long now = this.now();
+        for (Node<K, V> node : this.data.values())
+        {
+            if (!this.hasExpired(node, now))
+            {
+                if (!node.value.equals(map.get(node.key)))
+                {
+                    return false;
+                }
+                liveCount++;
+            }
+        }
+        return liveCount == map.size();
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        long now = this.now();
+        for (Node<K, V> node : this.data.values())
+        {
+            if (!this.hasExpired(node, now))
+            {
+                hashCode += node.key.hashCode() ^ node.value.hashCode();
+            }
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append('{');
+        Iterator<Entry<K, V>> iterator = this.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Entry<K, V> entry = iterator.next();
+            builder.append(entry.getKey()).append('=').append(entry.getValue());
+            if (iterator.hasNext())
+            {
+                builder.append(", ");
+            }
+        }
+        return builder.append('}').toString();
+    }
+
+    private Object writeReplace()
+    {
+        return new SerializationProxy<>(this);
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException
+    {
+        throw new InvalidObjectException("Serialization proxy required");
+    }
+
+    /**
+     * Serializes the configuration and the live entries of a cache, but none of its eviction history or statistics.
+     */
+    private static final class SerializationProxy<K, V> implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final long maximumWeight;
+        private final IntFunction<? super V> weigher;
+        private final long expireAfterWriteNanos;
+        private final long expireAfterAccessNanos;
+        private final LongFunction0 ticker;
+        private final UnifiedMap<K, V> entries;
+
+        private SerializationProxy(ConcurrentCacheMap<K, V> cache)
+        {
+            this.maximumWeight = cache.maximumWeight;
+            this.weigher = cache.weigher;
+            this.expireAfterWriteNanos = cache.expireAfterWriteNanos;
+            this.expireAfterAccessNanos = cache.expireAfterAccessNanos;
+            this.ticker = cache.ticker;
+            this.entries = UnifiedMap.newMap(cache.size());
+            cache.forEachKeyValue(this.entries::put);
+        }
+
+        private Object readResolve()
+        {
+            ConcurrentCacheMap<K, V> cache = new ConcurrentCacheMap<>(
+                    this.maximumWeight,
+                    this.weigher,
+                    this.expireAfterWriteNanos,
+                    this.expireAfterAccessNanos,
+                    this.ticker);
+            cache.putAll(this.entries);
+            return cache;
+        }
+    }
+
+    /**
+     * A value being computed by {@link #getIfAbsentPutWith(Object, Function, Object)}, which threads asking for the
+     * same key wait on instead of computing it again.
+     */
+    private static final class Load<V> extends FutureTask<V>
+    {
+        private final Thread owner = Thread.currentThread();
+
+        private Load(Callable<V> callable)
+        {
+            super(callable);
+        }
+    }
+
+    private static final class Node<K, V>
+    {
+        private final K key;
+        private final V value;
+        private final int weight;
+        private final long writeTime;
+        private volatile long accessTime;
+        private volatile boolean retired;
+
+        // The fields below are guarded by evictionLock
+        private byte queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+        private Node<K, V> writePrev;
+        private Node<K, V> writeNext;
+
+        private Node(K key, V value, int weight, long now)
+        {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+
+        private Node<K, V> withKey(K newKey)
+        {
+            return newKey == this.key ? this : new Node<>(newKey, this.value, this.weight, this.writeTime);
+        }
+    }
+
+    private static final class AccessOrderDeque<K, V>
+    {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+
+        private void addLast(Node<K, V> node)
+        {
+            node.prev = this.tail;
+            node.next = null;
+            if (this.tail == null)
+            {
+                this.head = node;
+            }
+            else
+            {
+                this.tail.next = node;
+            }
+            this.tail = node;
+        }
+
+        private void remove(Node<K, V> node)
+        {
+            if (node.prev == null)
+            {
+                this.head = node.next;
+            }
+            else
+            {
+                node.prev.next = node.next;
+            }
+            if (node.next == null)
+            {
+                this.tail = node.prev;
+            }
+            else
+            {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        private void moveToBack(Node<K, V> node)
+        {
+            if (node != this.tail)
+            {
+                this.remove(node);
+                this.addLast(node);
+            }
+        }
+    }
+
+    private static final class WriteOrderDeque<K, V>
+    {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+
+        private void addLast(Node<K, V> node)
+        {
+            node.writePrev = this.tail;
+            node.writeNext = null;
+            if (this.tail == null)
+            {
+                this.head = node;
+            }
+            else
+            {
+                this.tail.writeNext = node;
+            }
+            this.tail = node;
+        }
+
+        private void remove(Node<K, V> node)
+        {
+            if (node.writePrev == null)
+            {
+                if (this.head != node)
+                {
+                    return;
+                }
+                this.head = node.writeNext;
+            }
+            else
+            {
+                node.writePrev.writeNext = node.writeNext;
+            }
+            if (node.writeNext == null)
+            {
+                this.tail = node.writePrev;
+            }
+            else
+            {
+                node.writeNext.writePrev = node.writePrev;
+            }
+            node.writePrev = null;
+            node.writeNext = null;
+        }
+    }
+
+    /**
+     * A count-min sketch of 4-bit counters, four per key, that estimates how often each key has been used recently.
+     * When the number of increments reaches ten times the table size every counter is halved, so that old popularity
+     * fades. The table grows with the number of entries in the map, and starts over when it does.
+     */
+    private static final class FrequencySketch
+    {
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long ONE_MASK = 0x1111111111111111L;
+        private static final int MAXIMUM_TABLE_SIZE = 1 << 20;
+
+        private long[] table = new long[16];
+        private int tableMask = 15;
+        private int sampleSize = 160;
+        private int size;
+
+        private void ensureCapacity(int entries)
+        {
+            int tableSize = ConcurrentCacheMap.ceilingPowerOfTwo(Math.min(entries, MAXIMUM_TABLE_SIZE));
+            if (tableSize > this.table.length)
+            {
+                this.table = new long[tableSize];
+                this.tableMask = tableSize - 1;
+                this.sampleSize = 10 * tableSize;
+                this.size = 0;
+            }
+        }
+
+        private int indexOf(int hash, int row)
+        {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            h += h >>> 32;
+            return (int) h & this.tableMask;
+        }
+
+        private int frequency(int hash)
+        {
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int row = 0; row < 4; row++)
+            {
+                int count = (int) (this.table[this.indexOf(hash, row)] >>> (start + row << 2) & 0xFL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        private void increment(int hash)
+        {
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int row = 0; row < 4; row++)
+            {
+                int index = this.indexOf(hash, row);
+                long mask = 0xFL << (start + row << 2);
+                if ((this.table[index] & mask) != mask)
+                {
+                    this.table[index] += 1L << (start + row << 2);
+                    added = true;
+                }
+            }
+            if (added && ++this.size >= this.sampleSize)
+            {
+                this.reset();
+            }
+        }
+
+        private void reset()
+        {
+            int odd = 0;
+            for (int i = 0; i < this.table.length; i++)
+            {
+                odd += Long.bitCount(this.table[i] & ONE_MASK);
+                this.table[i] = this.table[i] >>> 1 & RESET_MASK;
+            }
+            this.size = (this.size - (odd >>> 2)) >>> 1;
+        }
+    }
+
+    private abstract class NodeIterator<T> implements Iterator<T>
+    {
+        private final Iterator<Node<K, V>> iterator = ConcurrentCacheMap.this.data.values().iterator();
+        private final long now = ConcurrentCacheMap.this.now();
+        private Node<K, V> next;
+        private Node<K, V> last;
+
+        protected NodeIterator()
+        {
+            this.advance();
+        }
+
+        private void advance()
+        {
+            this.next = null;
+            while (this.next == null && this.iterator.hasNext())
+            {
+                Node<K, V> node = this.iterator.next();
+                if (!ConcurrentCacheMap.this.hasExpired(node, this.now))
+                {
+                    this.next = node;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.next != null;
+        }
+
+        protected Node<K, V> nextNode()
+        {
+            if (this.next == null)
+            {
+                throw new NoSuchElementException();
+            }
+            this.last = this.next;
+            this.advance();
+            return this.last;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.last == null)
+            {
+                throw new IllegalStateException();
+            }
+            ConcurrentCacheMap.this.removeNode(this.last);
+            this.last = null;
+        }
+    }
+
+    private final class KeyIterator extends NodeIterator<K>
+    {
+        @Override
+        public K next()
+        {
+            return this.nextNode().key;
+        }
+    }
+
+    private final class ValueIterator extends NodeIterator<V>
+    {
+        @Override
+        public V next()
+        {
+            return this.nextNode().value;
+        }
+    }
+
+    private final class EntryIterator extends NodeIterator<Entry<K, V>>
+    {
+        @Override
+        public Entry<K, V> next()
+        {
+            Node<K, V> node = this.nextNode();
+            return new WriteThroughEntry(node.key, node.value);
+        }
+    }
+
+    private final class WriteThroughEntry extends AbstractMap.SimpleEntry<K, V>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private WriteThroughEntry(K key, V value)
+        {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value)
+        {
+            ConcurrentCacheMap.this.put(this.getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new KeyIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return ConcurrentCacheMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return ConcurrentCacheMap.this.containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key)
+        {
+            return ConcurrentCacheMap.this.remove(key) != null;
+        }
+
+        @Override
+        public void clear()
+        {
+            ConcurrentCacheMap.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<V>
+    {
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return ConcurrentCacheMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object value)
+        {
+            return ConcurrentCacheMap.this.containsValue(value);
+        }
+
+        @Override
+        public void clear()
+        {
+            ConcurrentCacheMap.this.clear();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return ConcurrentCacheMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            if (!(o instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            Node<K, V> node = ConcurrentCacheMap.this.getLiveNode(entry.getKey());
+            return node != null && node.value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o)
+        {
+            if (!(o instanceof Entry))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return ConcurrentCacheMap.this.remove(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public void clear()
+        {
+            ConcurrentCacheMap.this.clear();
+        }
+    }
+}
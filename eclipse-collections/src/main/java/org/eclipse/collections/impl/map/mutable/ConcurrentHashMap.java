@@ -24,7 +24,9 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerArray;
@@ -33,10 +35,13 @@ import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Predicate;
 
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.annotation.Beta;
 import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.api.block.function.Function0;
 import org.eclipse.collections.api.block.function.Function2;
 import org.eclipse.collections.api.block.function.Function3;
+import org.eclipse.collections.api.block.predicate.Predicate2;
 import org.eclipse.collections.api.block.procedure.Procedure;
 import org.eclipse.collections.api.block.procedure.Procedure2;
 import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
@@ -45,9 +50,17 @@ import org.eclipse.collections.api.map.ConcurrentMutableMap;
 import org.eclipse.collections.api.map.ImmutableMap;
 import org.eclipse.collections.api.map.MapIterable;
 import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.ParallelMapIterable;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.block.procedure.MapEntryToProcedure2;
+import org.eclipse.collections.impl.block.procedure.NonMutatingAggregationProcedure;
+import org.eclipse.collections.impl.lazy.parallel.IndexRangeBatchLazyIterable;
+import org.eclipse.collections.impl.lazy.parallel.map.AbstractMapBatch;
+import org.eclipse.collections.impl.lazy.parallel.map.AbstractParallelMapIterable;
+import org.eclipse.collections.impl.lazy.parallel.map.RootMapBatch;
 import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.tuple.Tuples;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.eclipse.collections.impl.utility.MapIterate;
 import org.eclipse.collections.impl.utility.internal.IterableIterate;
@@ -1309,6 +1322,251 @@ public final class ConcurrentHashMap<K, V>
         }
     }
 
+    /**
+     * Applies the procedure to every key/value pair, splitting the table into index ranges that are traversed
+     * concurrently on the executor. The traversal is weakly consistent: writers are not blocked, and pairs added or
+     * removed while it runs may or may not be seen. Buckets that are being moved by a resize are moved by the
+     * traversing thread as well, and then read from the new table, so each pair present for the whole traversal is
+     * seen exactly once.
+     *
+     * @param parallelismThreshold the estimated number of pairs needed for the traversal to be split; use
+     * {@link Long#MAX_VALUE} to always traverse in the calling thread and 1 to split as much as possible
+     * @param procedure a thread-safe procedure
+     * @since 11.1.
+     */
+    public void parallelForEachKeyValue(long parallelismThreshold, Procedure2<? super K, ? super V> procedure, Executor executor)
+    {
+        this.parallelTraverse(parallelismThreshold, (currentArray, start, end) ->
+        {
+            this.forEachKeyValueInRange(procedure, currentArray, start, end);
+            return null;
+        }, executor);
+    }
+
+    /**
+     * Transforms every key/value pair and combines the non-null results with the reducer, traversing index ranges of
+     * the table concurrently as {@link #parallelForEachKeyValue(long, Procedure2, Executor)} does. The reducer must be
+     * associative, since the order in which partial results are combined is unspecified.
+     *
+     * @return the combined result, or null if the map is empty or the transformer returned null for every pair
+     * @since 11.1.
+     */
+    public <R> R parallelReduce(
+            long parallelismThreshold,
+            Function2<? super K, ? super V, ? extends R> transformer,
+            Function2<? super R, ? super R, ? extends R> reducer,
+            Executor executor)
+    {
+        List<R> partialResults = this.parallelTraverse(parallelismThreshold, (currentArray, start, end) ->
+        {
+            ReduceProcedure<K, V, R> procedure = new ReduceProcedure<>(transformer, reducer);
+            this.forEachKeyValueInRange(procedure, currentArray, start, end);
+            return procedure.getResult();
+        }, executor);
+        R result = null;
+        for (R partialResult : partialResults)
+        {
+            if (partialResult != null)
+            {
+                result = result == null ? partialResult : reducer.value(result, partialResult);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new map with the key/value pairs that satisfy the predicate, traversing index ranges of the table
+     * concurrently as {@link #parallelForEachKeyValue(long, Procedure2, Executor)} does.
+     *
+     * @since 11.1.
+     */
+    public ConcurrentHashMap<K, V> parallelSelect(long parallelismThreshold, Predicate2<? super K, ? super V> predicate, Executor executor)
+    {
+        ConcurrentHashMap<K, V> result = ConcurrentHashMap.newMap();
+        this.parallelForEachKeyValue(parallelismThreshold, (key, value) ->
+        {
+            if (predicate.accept(key, value))
+            {
+                result.put(key, value);
+            }
+        }, executor);
+        return result;
+    }
+
+    /**
+     * Groups the values with the groupBy function and folds each group with the non-mutating aggregator, traversing
+     * index ranges of the table concurrently as {@link #parallelForEachKeyValue(long, Procedure2, Executor)} does.
+     * The aggregator may be applied to the values of a group in any order.
+     *
+     * @since 11.1.
+     */
+    public <KK, VV> ConcurrentHashMap<KK, VV> parallelAggregateBy(
+            long parallelismThreshold,
+            Function<? super V, ? extends KK> groupBy,
+            Function0<? extends VV> zeroValueFactory,
+            Function2<? super VV, ? super V, ? extends VV> nonMutatingAggregator,
+            Executor executor)
+    {
+        ConcurrentHashMap<KK, VV> result = ConcurrentHashMap.newMap();
+        NonMutatingAggregationProcedure<V, KK, VV> procedure =
+                new NonMutatingAggregationProcedure<>(result, groupBy, zeroValueFactory, nonMutatingAggregator);
+        this.parallelForEachKeyValue(parallelismThreshold, (key, value) -> procedure.value(value), executor);
+        return result;
+    }
+
+    private <R> List<R> parallelTraverse(
+            long parallelismThreshold,
+            Function3<AtomicReferenceArray, Integer, Integer, R> rangeFunction,
+            Executor executor)
+    {
+        AtomicReferenceArray currentArray = this.table;
+        int end = currentArray.length() - 1;
+        int chunks = this.parallelTaskCount(parallelismThreshold, end);
+        if (chunks <= 1)
+        {
+            return FastList.newListWith(rangeFunction.value(currentArray, 0, end));
+        }
+        FutureTask<R>[] futures = new FutureTask[chunks];
+        int chunkSize = end / chunks;
+        if (end % chunks != 0)
+        {
+            chunkSize++;
+        }
+        for (int i = 0; i < chunks; i++)
+        {
+            int chunkStart = Math.min(i * chunkSize, end);
+            int chunkEnd = Math.min((i + 1) * chunkSize, end);
+            futures[i] = new FutureTask<>(() -> rangeFunction.value(currentArray, chunkStart, chunkEnd));
+            executor.execute(futures[i]);
+        }
+        List<R> results = FastList.newList(chunks);
+        for (int i = 0; i < chunks; i++)
+        {
+            try
+            {
+                results.add(futures[i].get());
+            }
+            catch (InterruptedException e)
+            {
+                ConcurrentHashMap.cancelFrom(futures, i);
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            catch (ExecutionException e)
+            {
+                ConcurrentHashMap.cancelFrom(futures, i + 1);
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error)
+                {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException(cause);
+            }
+        }
+        return results;
+    }
+
+    private static void cancelFrom(FutureTask<?>[] futures, int start)
+    {
+        for (int i = start; i < futures.length; i++)
+        {
+            futures[i].cancel(false);
+        }
+    }
+
+    private int parallelTaskCount(long parallelismThreshold, int tableLength)
+    {
+        long size = this.size();
+        if (size < parallelismThreshold || tableLength < 2)
+        {
+            return 1;
+        }
+        long tasks = size / Math.max(parallelismThreshold, 1L);
+        return (int) Math.min(Math.min(tasks, ParallelIterate.getDefaultTaskCount()), tableLength);
+    }
+
+    private void forEachKeyValueInRange(Procedure2<? super K, ? super V> procedure, AtomicReferenceArray currentArray, int start, int end)
+    {
+        for (int i = start; i < end; i++)
+        {
+            this.forEachKeyValueInBucket(procedure, currentArray, i);
+        }
+    }
+
+    private void forEachKeyValueInBucket(Procedure2<? super K, ? super V> procedure, AtomicReferenceArray currentArray, int index)
+    {
+        Object o = currentArray.get(index);
+        if (o == RESIZED || o == RESIZING)
+        {
+            // the entries of this bucket are spread over every bucket of the next table that has the same low bits
+            AtomicReferenceArray nextArray = this.helpWithResizeWhileCurrentIndex(currentArray, index);
+            int capacity = currentArray.length() - 1;
+            int nextCapacity = nextArray.length() - 1;
+            for (int j = index; j < nextCapacity; j += capacity)
+            {
+                this.forEachKeyValueInBucket(procedure, nextArray, j);
+            }
+        }
+        else
+        {
+            Entry<K, V> e = (Entry<K, V>) o;
+            while (e != null)
+            {
+                procedure.value(e.getKey(), e.getValue());
+                e = e.getNext();
+            }
+        }
+    }
+
+    private Pair<K, V> detectKeyValueInRange(Predicate2<? super K, ? super V> predicate, AtomicReferenceArray currentArray, int start, int end)
+    {
+        for (int i = start; i < end; i++)
+        {
+            Pair<K, V> result = this.detectKeyValueInBucket(predicate, currentArray, i);
+            if (result != null)
+            {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private Pair<K, V> detectKeyValueInBucket(Predicate2<? super K, ? super V> predicate, AtomicReferenceArray currentArray, int index)
+    {
+        Object o = currentArray.get(index);
+        if (o == RESIZED || o == RESIZING)
+        {
+            AtomicReferenceArray nextArray = this.helpWithResizeWhileCurrentIndex(currentArray, index);
+            int capacity = currentArray.length() - 1;
+            int nextCapacity = nextArray.length() - 1;
+            for (int j = index; j < nextCapacity; j += capacity)
+            {
+                Pair<K, V> result = this.detectKeyValueInBucket(predicate, nextArray, j);
+                if (result != null)
+                {
+                    return result;
+                }
+            }
+            return null;
+        }
+        Entry<K, V> e = (Entry<K, V>) o;
+        while (e != null)
+        {
+            K key = e.getKey();
+            V value = e.getValue();
+            if (predicate.accept(key, value))
+            {
+                return Tuples.pair(key, value);
+            }
+            e = e.getNext();
+        }
+        return null;
+    }
+
     @Override
     public int hashCode()
     {
@@ -1877,6 +2135,36 @@ public final class ConcurrentHashMap<K, V>
         }
     }
 
+    private static final class ReduceProcedure<K, V, R> implements Procedure2<K, V>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Function2<? super K, ? super V, ? extends R> transformer;
+        private final Function2<? super R, ? super R, ? extends R> reducer;
+        private R result;
+
+        private ReduceProcedure(Function2<? super K, ? super V, ? extends R> transformer, Function2<? super R, ? super R, ? extends R> reducer)
+        {
+            this.transformer = transformer;
+            this.reducer = reducer;
+        }
+
+        @Override
+        public void value(K key, V value)
+        {
+            R transformed = this.transformer.value(key, value);
+            if (transformed != null)
+            {
+                this.result = this.result == null ? transformed : this.reducer.value(this.result, transformed);
+            }
+        }
+
+        public R getResult()
+        {
+            return this.result;
+        }
+    }
+
     private static final class ResizeContainer
     {
         private static final int QUEUE_INCREMENT = Math.min(1 << 10, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 4);
@@ -2315,4 +2603,86 @@ public final class ConcurrentHashMap<K, V>
     {
         return Maps.immutable.ofMap(this);
     }
+
+    /**
+     * Returns a parallel view of the values of this map, which can also traverse the key/value pairs. Each batch covers
+     * up to {@code batchSize} buckets of the table the map has when the view is split. The traversal is weakly
+     * consistent, in the same way as {@link #parallelForEachKeyValue(long, Procedure2, Executor)}.
+     *
+     * @since 11.1
+     */
+    @Beta
+    public ParallelMapIterable<K, V> asParallel(ExecutorService executorService, int batchSize)
+    {
+        if (executorService == null)
+        {
+            throw new NullPointerException();
+        }
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException();
+        }
+        return new ConcurrentHashMapParallelIterable(executorService, batchSize);
+    }
+
+    private final class ConcurrentHashMapBatch extends AbstractMapBatch<K, V>
+    {
+        private final AtomicReferenceArray currentArray;
+        private final int chunkStartIndex;
+        private final int chunkEndIndex;
+
+        private ConcurrentHashMapBatch(AtomicReferenceArray currentArray, int chunkStartIndex, int chunkEndIndex)
+        {
+            this.currentArray = currentArray;
+            this.chunkStartIndex = chunkStartIndex;
+            this.chunkEndIndex = chunkEndIndex;
+        }
+
+        @Override
+        public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+        {
+            ConcurrentHashMap.this.forEachKeyValueInRange(procedure, this.currentArray, this.chunkStartIndex, this.chunkEndIndex);
+        }
+
+        @Override
+        protected Pair<K, V> detectKeyValue(Predicate2<? super K, ? super V> predicate)
+        {
+            return ConcurrentHashMap.this.detectKeyValueInRange(predicate, this.currentArray, this.chunkStartIndex, this.chunkEndIndex);
+        }
+    }
+
+    private final class ConcurrentHashMapParallelIterable extends AbstractParallelMapIterable<K, V, RootMapBatch<K, V>>
+    {
+        private final ExecutorService executorService;
+        private final int batchSize;
+
+        private ConcurrentHashMapParallelIterable(ExecutorService executorService, int batchSize)
+        {
+            this.executorService = executorService;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public ExecutorService getExecutorService()
+        {
+            return this.executorService;
+        }
+
+        @Override
+        public int getBatchSize()
+        {
+            return this.batchSize;
+        }
+
+        @Override
+        public LazyIterable<RootMapBatch<K, V>> split()
+        {
+            AtomicReferenceArray currentArray = ConcurrentHashMap.this.table;
+            // the last slot of the table holds the resize container, not a bucket
+            return new IndexRangeBatchLazyIterable<>(
+                    currentArray.length() - 1,
+                    this.batchSize,
+                    (chunkStartIndex, chunkEndIndex) -> new ConcurrentHashMapBatch(currentArray, chunkStartIndex, chunkEndIndex));
+        }
+    }
 }
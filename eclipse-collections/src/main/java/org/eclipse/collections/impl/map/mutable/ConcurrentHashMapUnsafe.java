@@ -29,15 +29,19 @@ import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Predicate;
 
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.annotation.Beta;
 import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.api.block.function.Function0;
 import org.eclipse.collections.api.block.function.Function2;
 import org.eclipse.collections.api.block.function.Function3;
+import org.eclipse.collections.api.block.predicate.Predicate2;
 import org.eclipse.collections.api.block.procedure.Procedure;
 import org.eclipse.collections.api.block.procedure.Procedure2;
 import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
@@ -45,9 +49,15 @@ import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.map.ConcurrentMutableMap;
 import org.eclipse.collections.api.map.ImmutableMap;
 import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.ParallelMapIterable;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.block.procedure.MapEntryToProcedure2;
+import org.eclipse.collections.impl.lazy.parallel.IndexRangeBatchLazyIterable;
+import org.eclipse.collections.impl.lazy.parallel.map.AbstractMapBatch;
+import org.eclipse.collections.impl.lazy.parallel.map.AbstractParallelMapIterable;
+import org.eclipse.collections.impl.lazy.parallel.map.RootMapBatch;
 import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.tuple.Tuples;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.eclipse.collections.impl.utility.MapIterate;
 import org.eclipse.collections.impl.utility.internal.IterableIterate;
@@ -1368,6 +1378,84 @@ public class ConcurrentHashMapUnsafe<K, V>
         }
     }
 
+    private void forEachKeyValueInRange(Procedure2<? super K, ? super V> procedure, Object[] currentArray, int start, int end)
+    {
+        for (int i = start; i < end; i++)
+        {
+            this.forEachKeyValueInBucket(procedure, currentArray, i);
+        }
+    }
+
+    private void forEachKeyValueInBucket(Procedure2<? super K, ? super V> procedure, Object[] currentArray, int index)
+    {
+        Object o = ConcurrentHashMapUnsafe.arrayAt(currentArray, index);
+        if (o == RESIZED || o == RESIZING)
+        {
+            // the entries of this bucket are spread over every bucket of the next table that has the same low bits
+            Object[] nextArray = this.helpWithResizeWhileCurrentIndex(currentArray, index);
+            int capacity = currentArray.length - 1;
+            int nextCapacity = nextArray.length - 1;
+            for (int j = index; j < nextCapacity; j += capacity)
+            {
+                this.forEachKeyValueInBucket(procedure, nextArray, j);
+            }
+        }
+        else
+        {
+            Entry<K, V> e = (Entry<K, V>) o;
+            while (e != null)
+            {
+                procedure.value(e.getKey(), e.getValue());
+                e = e.getNext();
+            }
+        }
+    }
+
+    private Pair<K, V> detectKeyValueInRange(Predicate2<? super K, ? super V> predicate, Object[] currentArray, int start, int end)
+    {
+        for (int i = start; i < end; i++)
+        {
+            Pair<K, V> result = this.detectKeyValueInBucket(predicate, currentArray, i);
+            if (result != null)
+            {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private Pair<K, V> detectKeyValueInBucket(Predicate2<? super K, ? super V> predicate, Object[] currentArray, int index)
+    {
+        Object o = ConcurrentHashMapUnsafe.arrayAt(currentArray, index);
+        if (o == RESIZED || o == RESIZING)
+        {
+            Object[] nextArray = this.helpWithResizeWhileCurrentIndex(currentArray, index);
+            int capacity = currentArray.length - 1;
+            int nextCapacity = nextArray.length - 1;
+            for (int j = index; j < nextCapacity; j += capacity)
+            {
+                Pair<K, V> result = this.detectKeyValueInBucket(predicate, nextArray, j);
+                if (result != null)
+                {
+                    return result;
+                }
+            }
+            return null;
+        }
+        Entry<K, V> e = (Entry<K, V>) o;
+        while (e != null)
+        {
+            K key = e.getKey();
+            V value = e.getValue();
+            if (predicate.accept(key, value))
+            {
+                return Tuples.pair(key, value);
+            }
+            e = e.getNext();
+        }
+        return null;
+    }
+
     public void parallelForEachValue(List<Procedure<V>> blocks, Executor executor)
     {
         Object[] currentArray = this.table;
@@ -2447,4 +2535,86 @@ public class ConcurrentHashMapUnsafe<K, V>
     {
         return Maps.immutable.ofMap(this);
     }
+
+    /**
+     * Returns a parallel view of the values of this map, which can also traverse the key/value pairs. Each batch covers
+     * up to {@code batchSize} buckets of the table the map has when the view is split. Batches that reach a bucket
+     * which is being moved help with the resize and continue in the new table, so the traversal is weakly consistent.
+     *
+     * @since 11.1
+     */
+    @Beta
+    public ParallelMapIterable<K, V> asParallel(ExecutorService executorService, int batchSize)
+    {
+        if (executorService == null)
+        {
+            throw new NullPointerException();
+        }
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException();
+        }
+        return new ConcurrentHashMapUnsafeParallelIterable(executorService, batchSize);
+    }
+
+    private final class ConcurrentHashMapUnsafeBatch extends AbstractMapBatch<K, V>
+    {
+        private final Object[] currentArray;
+        private final int chunkStartIndex;
+        private final int chunkEndIndex;
+
+        private ConcurrentHashMapUnsafeBatch(Object[] currentArray, int chunkStartIndex, int chunkEndIndex)
+        {
+            this.currentArray = currentArray;
+            this.chunkStartIndex = chunkStartIndex;
+            this.chunkEndIndex = chunkEndIndex;
+        }
+
+        @Override
+        public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+        {
+            ConcurrentHashMapUnsafe.this.forEachKeyValueInRange(procedure, this.currentArray, this.chunkStartIndex, this.chunkEndIndex);
+        }
+
+        @Override
+        protected Pair<K, V> detectKeyValue(Predicate2<? super K, ? super V> predicate)
+        {
+            return ConcurrentHashMapUnsafe.this.detectKeyValueInRange(predicate, this.currentArray, this.chunkStartIndex, this.chunkEndIndex);
+        }
+    }
+
+    private final class ConcurrentHashMapUnsafeParallelIterable extends AbstractParallelMapIterable<K, V, RootMapBatch<K, V>>
+    {
+        private final ExecutorService executorService;
+        private final int batchSize;
+
+        private ConcurrentHashMapUnsafeParallelIterable(ExecutorService executorService, int batchSize)
+        {
+            this.executorService = executorService;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public ExecutorService getExecutorService()
+        {
+            return this.executorService;
+        }
+
+        @Override
+        public int getBatchSize()
+        {
+            return this.batchSize;
+        }
+
+        @Override
+        public LazyIterable<RootMapBatch<K, V>> split()
+        {
+            Object[] currentArray = ConcurrentHashMapUnsafe.this.table;
+            // the last slot of the table holds the resize container, not a bucket
+            return new IndexRangeBatchLazyIterable<>(
+                    currentArray.length - 1,
+                    this.batchSize,
+                    (chunkStartIndex, chunkEndIndex) -> new ConcurrentHashMapUnsafeBatch(currentArray, chunkStartIndex, chunkEndIndex));
+        }
+    }
 }
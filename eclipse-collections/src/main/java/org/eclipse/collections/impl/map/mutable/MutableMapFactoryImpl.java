@@ -125,4 +125,16 @@ public class MutableMapFactoryImpl implements MutableMapFactory
         mapIterable.forEachKeyValue(output::put);
         return output;
     }
+
+    @Override
+    public <K, V> MutableMap<K, V> emptyOpenAddressing()
+    {
+        return OpenAddressingHashMap.newMap();
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> withInitialCapacityOpenAddressing(int capacity)
+    {
+        return OpenAddressingHashMap.newMap(capacity);
+    }
 }
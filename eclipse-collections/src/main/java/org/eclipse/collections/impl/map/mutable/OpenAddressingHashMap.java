@@ -0,0 +1,1003 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function0;
+import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.block.procedure.MapCollectProcedure;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.internal.ControlGroups;
+
+/**
+ * OpenAddressingHashMap is an alternative to {@link UnifiedMap} that resolves collisions by open addressing instead of
+ * chained buckets, so a collision never allocates and never adds a pointer hop.
+ * <p>
+ * Keys and values are stored in alternate slots of a single array, like UnifiedMap. Alongside it, a long[] holds one
+ * control byte per slot, eight slots to a long. A full slot's control byte stores seven bits of its key's hash, which
+ * lets a lookup filter all eight slots of a group with a handful of arithmetic operations and compare only the
+ * candidate keys. Most hits touch one control word and one key, and most misses touch a single control word.
+ * <p>
+ * The table grows when 7/8 of the slots are full or deleted. Removing an entry leaves a deleted marker only when its
+ * group has no empty slot; deleted markers are purged when the table is rehashed.
+ *
+ * @see ControlGroups
+ * @since 11.1
+ */
+@SuppressWarnings("ObjectEquality")
+public class OpenAddressingHashMap<K, V> extends AbstractMutableMap<K, V>
+        implements Externalizable
+{
+    private static final Object NULL_KEY = new Object()
+    {
+        @Override
+        public boolean equals(Object obj)
+        {
+            throw new RuntimeException("Possible corruption through unsynchronized concurrent modification.");
+        }
+
+        @Override
+        public int hashCode()
+        {
+            throw new RuntimeException("Possible corruption through unsynchronized concurrent modification.");
+        }
+
+        @Override
+        public String toString()
+        {
+            return "OpenAddressingHashMap.NULL_KEY";
+        }
+    };
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+    private static final long serialVersionUID = 1L;
+
+    private transient Object[] table;
+
+    private transient long[] controls;
+
+    private transient int occupied;
+
+    private transient int deleted;
+
+    private transient int growthLimit;
+
+    public OpenAddressingHashMap()
+    {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public OpenAddressingHashMap(int initialCapacity)
+    {
+        this.allocate(ControlGroups.groupsForCapacity(initialCapacity));
+    }
+
+    public OpenAddressingHashMap(Map<? extends K, ? extends V> map)
+    {
+        this(Math.max(map.size(), DEFAULT_INITIAL_CAPACITY));
+        this.putAll(map);
+    }
+
+    public static <K, V> OpenAddressingHashMap<K, V> newMap()
+    {
+        return new OpenAddressingHashMap<>();
+    }
+
+    public static <K, V> OpenAddressingHashMap<K, V> newMap(int size)
+    {
+        return new OpenAddressingHashMap<>(size);
+    }
+
+    public static <K, V> OpenAddressingHashMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        return new OpenAddressingHashMap<>(map);
+    }
+
+    public static <K, V> OpenAddressingHashMap<K, V> newWithKeysValues(K key, V value)
+    {
+        return new OpenAddressingHashMap<K, V>(1).withKeysValues(key, value);
+    }
+
+    public static <K, V> OpenAddressingHashMap<K, V> newWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return new OpenAddressingHashMap<K, V>(2).withKeysValues(key1, value1, key2, value2);
+    }
+
+    public static <K, V> OpenAddressingHashMap<K, V> newWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return new OpenAddressingHashMap<K, V>(3).withKeysValues(key1, value1, key2, value2, key3, value3);
+    }
+
+    public static <K, V> OpenAddressingHashMap<K, V> newWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        return new OpenAddressingHashMap<K, V>(4).withKeysValues(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    public OpenAddressingHashMap<K, V> withKeysValues(K key, V value)
+    {
+        this.put(key, value);
+        return this;
+    }
+
+    public OpenAddressingHashMap<K, V> withKeysValues(K key1, V value1, K key2, V value2)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        return this;
+    }
+
+    public OpenAddressingHashMap<K, V> withKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        return this;
+    }
+
+    public OpenAddressingHashMap<K, V> withKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        this.put(key4, value4);
+        return this;
+    }
+
+    @Override
+    public OpenAddressingHashMap<K, V> clone()
+    {
+        return new OpenAddressingHashMap<>(this);
+    }
+
+    @Override
+    public MutableMap<K, V> newEmpty()
+    {
+        return new OpenAddressingHashMap<>();
+    }
+
+    @Override
+    public MutableMap<K, V> newEmpty(int capacity)
+    {
+        return new OpenAddressingHashMap<>(capacity);
+    }
+
+    private void allocate(int groupCount)
+    {
+        this.controls = ControlGroups.newGroups(groupCount);
+        this.table = new Object[groupCount * ControlGroups.GROUP_WIDTH << 1];
+        this.growthLimit = ControlGroups.growthLimit(groupCount);
+        this.deleted = 0;
+    }
+
+    private static int hash(Object key)
+    {
+        return ControlGroups.spread(key == null ? 0 : key.hashCode());
+    }
+
+    private static int hashOfTableKey(Object tableKey)
+    {
+        return ControlGroups.spread(tableKey == NULL_KEY ? 0 : tableKey.hashCode());
+    }
+
+    private int findSlot(Object key, int hash)
+    {
+        byte h2 = ControlGroups.h2(hash);
+        long[] groups = this.controls;
+        Object[] localTable = this.table;
+        int mask = groups.length - 1;
+        int group = ControlGroups.h1(hash) & mask;
+        for (int step = 1; ; step++)
+        {
+            long word = groups[group];
+            for (long matches = ControlGroups.match(word, h2); matches != 0L; matches = ControlGroups.clearLowestMatch(matches))
+            {
+                int slot = (group << 3) + ControlGroups.lowestMatch(matches);
+                Object cur = localTable[slot << 1];
+                if (cur != null && this.nonNullTableObjectEquals(cur, key))
+                {
+                    return slot;
+                }
+            }
+            if (ControlGroups.matchEmpty(word) != 0L)
+            {
+                return -1;
+            }
+            group = (group + step) & mask;
+        }
+    }
+
+    private void insert(K key, int hash, V value)
+    {
+        int slot = ControlGroups.findFirstNonFull(this.controls, hash);
+        byte control = ControlGroups.getControl(this.controls, slot);
+        if (control == ControlGroups.DELETED)
+        {
+            this.deleted--;
+        }
+        else if (this.occupied + this.deleted >= this.growthLimit)
+        {
+            this.rehashForInsert();
+            slot = ControlGroups.findFirstNonFull(this.controls, hash);
+        }
+        ControlGroups.setControl(this.controls, slot, ControlGroups.h2(hash));
+        int index = slot << 1;
+        this.table[index] = OpenAddressingHashMap.toSentinelIfNull(key);
+        this.table[index + 1] = value;
+        this.occupied++;
+    }
+
+    private void rehashForInsert()
+    {
+        int groupCount = this.controls.length;
+        if (this.occupied >= this.growthLimit >> 1)
+        {
+            groupCount = ControlGroups.nextGroupCount(groupCount);
+        }
+        this.rehash(groupCount);
+    }
+
+    private void rehash(int groupCount)
+    {
+        Object[] old = this.table;
+        this.allocate(groupCount);
+        for (int i = 0; i < old.length; i += 2)
+        {
+            Object cur = old[i];
+            if (cur != null)
+            {
+                int hash = OpenAddressingHashMap.hashOfTableKey(cur);
+                int slot = ControlGroups.findFirstNonFull(this.controls, hash);
+                ControlGroups.setControl(this.controls, slot, ControlGroups.h2(hash));
+                int index = slot << 1;
+                this.table[index] = cur;
+                this.table[index + 1] = old[i + 1];
+            }
+        }
+    }
+
+    private V removeSlot(int slot)
+    {
+        int index = slot << 1;
+        V oldValue = (V) this.table[index + 1];
+        this.table[index] = null;
+        this.table[index + 1] = null;
+        byte control = ControlGroups.controlAfterRemove(this.controls, slot);
+        if (control == ControlGroups.DELETED)
+        {
+            this.deleted++;
+        }
+        ControlGroups.setControl(this.controls, slot, control);
+        this.occupied--;
+        return oldValue;
+    }
+
+    /**
+     * Rehashes the table into the smallest size that holds the current entries, dropping any deleted markers.
+     *
+     * @return true if the table was resized or cleaned.
+     */
+    public boolean trimToSize()
+    {
+        int groupCount = ControlGroups.groupsForCapacity(this.occupied);
+        if (groupCount < this.controls.length || this.deleted > 0)
+        {
+            this.rehash(Math.min(groupCount, this.controls.length));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of JVM words used by this map, assuming a 64-bit VM where a long occupies one word. Each
+     * array has a 2 word header, thus the formula is: words = (table length + 2) + (control words + 2)
+     *
+     * @return the number of JVM words that is used by this map.
+     */
+    public int getMapMemoryUsedInWords()
+    {
+        int headerSize = 2;
+        return this.table.length + headerSize + this.controls.length + headerSize;
+    }
+
+    /**
+     * Returns the number of slots whose control byte marks a removed entry that has not yet been purged by a rehash.
+     */
+    public int getDeletedSlots()
+    {
+        return this.deleted;
+    }
+
+    @Override
+    public void clear()
+    {
+        if (this.occupied == 0 && this.deleted == 0)
+        {
+            return;
+        }
+        this.occupied = 0;
+        this.deleted = 0;
+        ControlGroups.clear(this.controls);
+        Object[] set = this.table;
+        for (int i = set.length; i-- > 0; )
+        {
+            set[i] = null;
+        }
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        int hash = OpenAddressingHashMap.hash(key);
+        int slot = this.findSlot(key, hash);
+        if (slot >= 0)
+        {
+            int index = (slot << 1) + 1;
+            V oldValue = (V) this.table[index];
+            this.table[index] = value;
+            return oldValue;
+        }
+        this.insert(key, hash, value);
+        return null;
+    }
+
+    @Override
+    public V updateValue(K key, Function0<? extends V> factory, Function<? super V, ? extends V> function)
+    {
+        int hash = OpenAddressingHashMap.hash(key);
+        int slot = this.findSlot(key, hash);
+        if (slot >= 0)
+        {
+            int index = (slot << 1) + 1;
+            V newValue = function.valueOf((V) this.table[index]);
+            this.table[index] = newValue;
+            return newValue;
+        }
+        V newValue = function.valueOf(factory.value());
+        this.insert(key, hash, newValue);
+        return newValue;
+    }
+
+    @Override
+    public <P> V updateValueWith(K key, Function0<? extends V> factory, Function2<? super V, ? super P, ? extends V> function, P parameter)
+    {
+        int hash = OpenAddressingHashMap.hash(key);
+        int slot = this.findSlot(key, hash);
+        if (slot >= 0)
+        {
+            int index = (slot << 1) + 1;
+            V newValue = function.value((V) this.table[index], parameter);
+            this.table[index] = newValue;
+            return newValue;
+        }
+        V newValue = function.value(factory.value(), parameter);
+        this.insert(key, hash, newValue);
+        return newValue;
+    }
+
+    @Override
+    public V getIfAbsentPut(K key, Function0<? extends V> function)
+    {
+        int hash = OpenAddressingHashMap.hash(key);
+        int slot = this.findSlot(key, hash);
+        if (slot >= 0)
+        {
+            return (V) this.table[(slot << 1) + 1];
+        }
+        V value = function.value();
+        this.insert(key, hash, value);
+        return value;
+    }
+
+    @Override
+    public V getIfAbsentPut(K key, V value)
+    {
+        int hash = OpenAddressingHashMap.hash(key);
+        int slot = this.findSlot(key, hash);
+        if (slot >= 0)
+        {
+            return (V) this.table[(slot << 1) + 1];
+        }
+        this.insert(key, hash, value);
+        return value;
+    }
+
+    @Override
+    public <P> V getIfAbsentPutWith(K key, Function<? super P, ? extends V> function, P parameter)
+    {
+        int hash = OpenAddressingHashMap.hash(key);
+        int slot = this.findSlot(key, hash);
+        if (slot >= 0)
+        {
+            return (V) this.table[(slot << 1) + 1];
+        }
+        V value = function.valueOf(parameter);
+        this.insert(key, hash, value);
+        return value;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        int slot = this.findSlot(key, OpenAddressingHashMap.hash(key));
+        return slot < 0 ? null : (V) this.table[(slot << 1) + 1];
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.findSlot(key, OpenAddressingHashMap.hash(key)) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        Object[] localTable = this.table;
+        for (int i = 0; i < localTable.length; i += 2)
+        {
+            if (localTable[i] != null && OpenAddressingHashMap.nullSafeEquals(value, localTable[i + 1]))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        Object[] localTable = this.table;
+        for (int i = 0; i < localTable.length; i += 2)
+        {
+            Object cur = localTable[i];
+            if (cur != null)
+            {
+                procedure.value(this.nonSentinel(cur), (V) localTable[i + 1]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        Object[] localTable = this.table;
+        for (int i = 0; i < localTable.length; i += 2)
+        {
+            Object cur = localTable[i];
+            if (cur != null)
+            {
+                procedure.value(this.nonSentinel(cur));
+            }
+        }
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        Object[] localTable = this.table;
+        for (int i = 0; i < localTable.length; i += 2)
+        {
+            if (localTable[i] != null)
+            {
+                procedure.value((V) localTable[i + 1]);
+            }
+        }
+    }
+
+    @Override
+    public <E> MutableMap<K, V> collectKeysAndValues(
+            Iterable<E> iterable,
+            Function<? super E, ? extends K> keyFunction,
+            Function<? super E, ? extends V> valueFunction)
+    {
+        Iterate.forEach(iterable, new MapCollectProcedure<>(this, keyFunction, valueFunction));
+        return this;
+    }
+
+    @Override
+    public V removeKey(K key)
+    {
+        return this.remove(key);
+    }
+
+    @Override
+    public boolean removeIf(Predicate2<? super K, ? super V> predicate)
+    {
+        int previousOccupied = this.occupied;
+        Object[] localTable = this.table;
+        for (int i = 0; i < localTable.length; i += 2)
+        {
+            Object cur = localTable[i];
+            if (cur != null && predicate.accept(this.nonSentinel(cur), (V) localTable[i + 1]))
+            {
+                this.removeSlot(i >> 1);
+            }
+        }
+        return previousOccupied > this.occupied;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.occupied == 0;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        if (map instanceof OpenAddressingHashMap<?, ?>)
+        {
+            ((OpenAddressingHashMap<K, V>) map).forEachKeyValue(this::put);
+            return;
+        }
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+        {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        int slot = this.findSlot(key, OpenAddressingHashMap.hash(key));
+        return slot < 0 ? null : this.removeSlot(slot);
+    }
+
+    @Override
+    public int size()
+    {
+        return this.occupied;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet();
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return new ValuesCollection();
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+
+        Map<?, ?> other = (Map<?, ?>) object;
+        if (this.size() != other.size())
+        {
+            return false;
+        }
+
+        Object[] localTable = this.table;
+        for (int i = 0; i < localTable.length; i += 2)
+        {
+            Object cur = localTable[i];
+            if (cur != null)
+            {
+                K key = this.nonSentinel(cur);
+                V value = (V) localTable[i + 1];
+                Object otherValue = other.get(key);
+                if (!OpenAddressingHashMap.nullSafeEquals(otherValue, value) || (value == null && otherValue == null && !other.containsKey(key)))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        Object[] localTable = this.table;
+        for (int i = 0; i < localTable.length; i += 2)
+        {
+            Object cur = localTable[i];
+            if (cur != null)
+            {
+                Object value = localTable[i + 1];
+                hashCode += (cur == NULL_KEY ? 0 : cur.hashCode()) ^ (value == null ? 0 : value.hashCode());
+            }
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append('{');
+
+        this.forEachKeyValue(new Procedure2<K, V>()
+        {
+            private boolean first = true;
+
+            public void value(K key, V value)
+            {
+                if (this.first)
+                {
+                    this.first = false;
+                }
+                else
+                {
+                    builder.append(", ");
+                }
+
+                builder.append(key == OpenAddressingHashMap.this ? "(this Map)" : key);
+                builder.append('=');
+                builder.append(value == OpenAddressingHashMap.this ? "(this Map)" : value);
+            }
+        });
+
+        builder.append('}');
+        return builder.toString();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.size());
+        Object[] localTable = this.table;
+        for (int i = 0; i < localTable.length; i += 2)
+        {
+            Object cur = localTable[i];
+            if (cur != null)
+            {
+                out.writeObject(this.nonSentinel(cur));
+                out.writeObject(localTable[i + 1]);
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        this.allocate(ControlGroups.groupsForCapacity(Math.max(size, DEFAULT_INITIAL_CAPACITY)));
+        this.occupied = 0;
+        for (int i = 0; i < size; i++)
+        {
+            this.put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    private static boolean nullSafeEquals(Object value, Object other)
+    {
+        if (value == null)
+        {
+            if (other == null)
+            {
+                return true;
+            }
+        }
+        else if (other == value || value.equals(other))
+        {
+            return true;
+        }
+        return false;
+    }
+
+    private K nonSentinel(Object key)
+    {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    private static Object toSentinelIfNull(Object key)
+    {
+        if (key == null)
+        {
+            return NULL_KEY;
+        }
+        return key;
+    }
+
+    private boolean nonNullTableObjectEquals(Object cur, Object key)
+    {
+        return cur == key || (cur == NULL_KEY ? key == null : cur.equals(key));
+    }
+
+    private abstract class PositionalIterator<E> implements Iterator<E>
+    {
+        protected int position;
+        protected int lastReturned = -1;
+        protected int expectedOccupied = OpenAddressingHashMap.this.occupied;
+
+        protected PositionalIterator()
+        {
+            this.advance();
+        }
+
+        private void advance()
+        {
+            Object[] localTable = OpenAddressingHashMap.this.table;
+            while (this.position < localTable.length && localTable[this.position] == null)
+            {
+                this.position += 2;
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.position < OpenAddressingHashMap.this.table.length;
+        }
+
+        protected int nextIndex()
+        {
+            if (this.expectedOccupied != OpenAddressingHashMap.this.occupied)
+            {
+                throw new ConcurrentModificationException();
+            }
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            int index = this.position;
+            this.lastReturned = index;
+            this.position += 2;
+            this.advance();
+            return index;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.lastReturned < 0)
+            {
+                throw new IllegalStateException();
+            }
+            OpenAddressingHashMap.this.removeSlot(this.lastReturned >> 1);
+            this.expectedOccupied--;
+            this.lastReturned = -1;
+        }
+    }
+
+    private final class KeyIterator extends PositionalIterator<K>
+    {
+        @Override
+        public K next()
+        {
+            return OpenAddressingHashMap.this.nonSentinel(OpenAddressingHashMap.this.table[this.nextIndex()]);
+        }
+    }
+
+    private final class ValueIterator extends PositionalIterator<V>
+    {
+        @Override
+        public V next()
+        {
+            return (V) OpenAddressingHashMap.this.table[this.nextIndex() + 1];
+        }
+    }
+
+    private final class EntryIterator extends PositionalIterator<Map.Entry<K, V>>
+    {
+        @Override
+        public Map.Entry<K, V> next()
+        {
+            int index = this.nextIndex();
+            Object[] localTable = OpenAddressingHashMap.this.table;
+            return new BoundEntry(OpenAddressingHashMap.this.nonSentinel(localTable[index]), (V) localTable[index + 1]);
+        }
+    }
+
+    private final class BoundEntry implements Map.Entry<K, V>
+    {
+        private final K key;
+        private V value;
+
+        private BoundEntry(K key, V value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey()
+        {
+            return this.key;
+        }
+
+        @Override
+        public V getValue()
+        {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V value)
+        {
+            this.value = value;
+            if (OpenAddressingHashMap.this.containsKey(this.key))
+            {
+                return OpenAddressingHashMap.this.put(this.key, value);
+            }
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (obj instanceof Map.Entry)
+            {
+                Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+                return OpenAddressingHashMap.nullSafeEquals(this.key, other.getKey())
+                        && OpenAddressingHashMap.nullSafeEquals(this.value, other.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (this.key == null ? 0 : this.key.hashCode())
+                    ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new KeyIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return OpenAddressingHashMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return OpenAddressingHashMap.this.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o)
+        {
+            int slot = OpenAddressingHashMap.this.findSlot(o, OpenAddressingHashMap.hash(o));
+            if (slot < 0)
+            {
+                return false;
+            }
+            OpenAddressingHashMap.this.removeSlot(slot);
+            return true;
+        }
+
+        @Override
+        public void clear()
+        {
+            OpenAddressingHashMap.this.clear();
+        }
+    }
+
+    private final class ValuesCollection extends AbstractCollection<V>
+    {
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return OpenAddressingHashMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return OpenAddressingHashMap.this.containsValue(o);
+        }
+
+        @Override
+        public void clear()
+        {
+            OpenAddressingHashMap.this.clear();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>>
+    {
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator()
+        {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return OpenAddressingHashMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            if (!(o instanceof Map.Entry<?, ?>))
+            {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            Object key = entry.getKey();
+            int slot = OpenAddressingHashMap.this.findSlot(key, OpenAddressingHashMap.hash(key));
+            return slot >= 0 && OpenAddressingHashMap.nullSafeEquals(entry.getValue(), OpenAddressingHashMap.this.table[(slot << 1) + 1]);
+        }
+
+        @Override
+        public boolean remove(Object o)
+        {
+            if (!this.contains(o))
+            {
+                return false;
+            }
+            Object key = ((Map.Entry<?, ?>) o).getKey();
+            OpenAddressingHashMap.this.removeSlot(OpenAddressingHashMap.this.findSlot(key, OpenAddressingHashMap.hash(key)));
+            return true;
+        }
+
+        @Override
+        public void clear()
+        {
+            OpenAddressingHashMap.this.clear();
+        }
+    }
+}
@@ -24,7 +24,10 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.annotation.Beta;
 import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.api.block.function.Function0;
 import org.eclipse.collections.api.block.function.Function2;
@@ -38,12 +41,17 @@ import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.map.ImmutableMap;
 import org.eclipse.collections.api.map.MapIterable;
 import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.ParallelMapIterable;
 import org.eclipse.collections.api.map.UnsortedMapIterable;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.block.factory.Functions;
 import org.eclipse.collections.impl.block.factory.Predicates;
 import org.eclipse.collections.impl.block.procedure.AppendStringProcedure;
 import org.eclipse.collections.impl.block.procedure.MapCollectProcedure;
+import org.eclipse.collections.impl.lazy.parallel.IndexRangeBatchLazyIterable;
+import org.eclipse.collections.impl.lazy.parallel.map.AbstractMapBatch;
+import org.eclipse.collections.impl.lazy.parallel.map.AbstractParallelMapIterable;
+import org.eclipse.collections.impl.lazy.parallel.map.RootMapBatch;
 import org.eclipse.collections.impl.list.mutable.FastList;
 import org.eclipse.collections.impl.parallel.BatchIterable;
 import org.eclipse.collections.impl.set.mutable.UnifiedSet;
@@ -987,7 +995,12 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
     @Override
     public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
     {
-        for (int i = 0; i < this.table.length; i += 2)
+        this.forEachKeyValue(procedure, 0, this.table.length);
+    }
+
+    private void forEachKeyValue(Procedure2<? super K, ? super V> procedure, int start, int end)
+    {
+        for (int i = start; i < end; i += 2)
         {
             Object cur = this.table[i];
             if (cur == CHAINED_KEY)
@@ -1712,7 +1725,12 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
     @Override
     public Pair<K, V> detect(Predicate2<? super K, ? super V> predicate)
     {
-        for (int i = 0; i < this.table.length; i += 2)
+        return this.detect(predicate, 0, this.table.length);
+    }
+
+    private Pair<K, V> detect(Predicate2<? super K, ? super V> predicate, int start, int end)
+    {
+        for (int i = start; i < end; i += 2)
         {
             if (this.table[i] == CHAINED_KEY)
             {
@@ -3324,4 +3342,78 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
     {
         return Maps.immutable.withAll(this);
     }
+
+    /**
+     * Returns a parallel view of the values of this map, which can also traverse the key/value pairs. Each batch covers
+     * up to {@code batchSize} slots of the table, including the chains hanging off those slots.
+     *
+     * @since 11.1
+     */
+    @Beta
+    public ParallelMapIterable<K, V> asParallel(ExecutorService executorService, int batchSize)
+    {
+        if (executorService == null)
+        {
+            throw new NullPointerException();
+        }
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException();
+        }
+        return new UnifiedMapParallelIterable(executorService, batchSize);
+    }
+
+    private final class UnifiedMapBatch extends AbstractMapBatch<K, V>
+    {
+        private final int chunkStartIndex;
+        private final int chunkEndIndex;
+
+        private UnifiedMapBatch(int chunkStartSlot, int chunkEndSlot)
+        {
+            this.chunkStartIndex = chunkStartSlot * 2;
+            this.chunkEndIndex = chunkEndSlot * 2;
+        }
+
+        @Override
+        public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+        {
+            UnifiedMap.this.forEachKeyValue(procedure, this.chunkStartIndex, this.chunkEndIndex);
+        }
+
+        @Override
+        protected Pair<K, V> detectKeyValue(Predicate2<? super K, ? super V> predicate)
+        {
+            return UnifiedMap.this.detect(predicate, this.chunkStartIndex, this.chunkEndIndex);
+        }
+    }
+
+    private final class UnifiedMapParallelIterable extends AbstractParallelMapIterable<K, V, RootMapBatch<K, V>>
+    {
+        private final ExecutorService executorService;
+        private final int batchSize;
+
+        private UnifiedMapParallelIterable(ExecutorService executorService, int batchSize)
+        {
+            this.executorService = executorService;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public ExecutorService getExecutorService()
+        {
+            return this.executorService;
+        }
+
+        @Override
+        public int getBatchSize()
+        {
+            return this.batchSize;
+        }
+
+        @Override
+        public LazyIterable<RootMapBatch<K, V>> split()
+        {
+            return new IndexRangeBatchLazyIterable<>(UnifiedMap.this.table.length / 2, this.batchSize, UnifiedMapBatch::new);
+        }
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable.primitive;
+
+import java.util.Arrays;
+
+import org.eclipse.collections.api.list.primitive.ImmutableIntList;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+
+/**
+ * A snapshot of how clustered the table of an open addressing hash map or hash set is, as returned by the
+ * {@code getProbeStatistics()} method of the generated primitive hash maps and sets.
+ * <p>
+ * The probe length of a key is the number of slots a lookup of that key inspects, counting the slot it is found in,
+ * so a key found in its home slot has a probe length of one. Keys that the table stores outside its slots, such as
+ * the sentinel keys of a primitive map, are not probed and are not counted. Tombstones are the slots of removed keys,
+ * which lookups must probe past until the next rehash purges them.
+ *
+ * @since 11.1
+ */
+public final class ProbeStatistics
+{
+    private final int capacity;
+    private final int occupiedWithData;
+    private final int occupiedWithSentinels;
+    private final int rehashCount;
+    private final int[] probeLengthCounts;
+    private final int probedKeys;
+    private final long totalProbeLength;
+
+    /**
+     * @param probeLengths the probe length of each key in the table, in any order
+     */
+    public ProbeStatistics(int capacity, int occupiedWithData, int occupiedWithSentinels, int rehashCount, int[] probeLengths)
+    {
+        this.capacity = capacity;
+        this.occupiedWithData = occupiedWithData;
+        this.occupiedWithSentinels = occupiedWithSentinels;
+        this.rehashCount = rehashCount;
+
+        int maxProbeLength = 0;
+        long totalProbeLength = 0L;
+        for (int probeLength : probeLengths)
+        {
+            maxProbeLength = Math.max(maxProbeLength, probeLength);
+            totalProbeLength += probeLength;
+        }
+        this.probeLengthCounts = new int[maxProbeLength];
+        for (int probeLength : probeLengths)
+        {
+            this.probeLengthCounts[probeLength - 1]++;
+        }
+        this.probedKeys = probeLengths.length;
+        this.totalProbeLength = totalProbeLength;
+    }
+
+    /**
+     * Returns the number of slots in the table.
+     */
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the number of slots holding a key.
+     */
+    public int getOccupiedWithData()
+    {
+        return this.occupiedWithData;
+    }
+
+    /**
+     * Returns the number of slots holding the tombstone of a removed key.
+     */
+    public int getOccupiedWithSentinels()
+    {
+        return this.occupiedWithSentinels;
+    }
+
+    /**
+     * Returns the fraction of the non-empty slots that hold a tombstone rather than a key.
+     */
+    public double getTombstoneRatio()
+    {
+        int occupied = this.occupiedWithData + this.occupiedWithSentinels;
+        return occupied == 0 ? 0.0 : (double) this.occupiedWithSentinels / occupied;
+    }
+
+    /**
+     * Returns the fraction of the slots that hold a key or a tombstone.
+     */
+    public double getLoadFactor()
+    {
+        return this.capacity == 0 ? 0.0 : (double) (this.occupiedWithData + this.occupiedWithSentinels) / this.capacity;
+    }
+
+    /**
+     * Returns the number of times the table has been rehashed, to grow or to purge tombstones, since the instance was
+     * created or deserialized.
+     */
+    public int getRehashCount()
+    {
+        return this.rehashCount;
+    }
+
+    /**
+     * Returns the number of keys whose probe length is exactly the given length.
+     */
+    public int getProbeLengthCount(int probeLength)
+    {
+        return probeLength < 1 || probeLength > this.probeLengthCounts.length ? 0 : this.probeLengthCounts[probeLength - 1];
+    }
+
+    /**
+     * Returns the probe length histogram, where the element at index {@code i} is the number of keys whose probe
+     * length is {@code i + 1}.
+     */
+    public ImmutableIntList getProbeLengthHistogram()
+    {
+        return IntLists.immutable.with(this.probeLengthCounts.clone());
+    }
+
+    public int getMaxProbeLength()
+    {
+        return this.probeLengthCounts.length;
+    }
+
+    public double getMeanProbeLength()
+    {
+        return this.probedKeys == 0 ? 0.0 : (double) this.totalProbeLength / this.probedKeys;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ProbeStatistics{capacity=" + this.capacity
+                + ", occupiedWithData=" + this.occupiedWithData
+                + ", occupiedWithSentinels=" + this.occupiedWithSentinels
+                + ", rehashCount=" + this.rehashCount
+                + ", meanProbeLength=" + String.format("%.3f", this.getMeanProbeLength())
+                + ", probeLengthHistogram=" + Arrays.toString(this.probeLengthCounts)
+                + '}';
+    }
+}
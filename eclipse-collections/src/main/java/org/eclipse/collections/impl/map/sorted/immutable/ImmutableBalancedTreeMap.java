@@ -0,0 +1,940 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.immutable;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.map.sorted.ImmutableSortedMap;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.tuple.ImmutableEntry;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.eclipse.collections.impl.utility.LazyIterate;
+import org.eclipse.collections.impl.utility.MapIterate;
+
+/**
+ * An ImmutableSortedMap backed by a persistent weight-balanced binary search tree. Each node records the size of its
+ * subtree, and the sizes of the two subtrees of a node differ by at most a factor of three, which bounds the height of
+ * the tree by O(log n).
+ * <p>
+ * newWithKeyValue and newWithoutKey copy only the nodes on the path from the root to the changed entry, and share every
+ * other node with the original map, so that evolving a large map one entry at a time costs O(log n) rather than the
+ * O(n) copy of an {@link ImmutableTreeMap}. headMap, tailMap and subMap split the tree along the paths to their bounds
+ * and return maps that share every subtree lying wholly within the range, in O(log n), as do take and drop.
+ * <p>
+ * {@link org.eclipse.collections.api.factory.SortedMaps#immutable} returns this implementation for maps of at least
+ * {@link org.eclipse.collections.impl.utility.internal.ImmutableThresholds#PERSISTENT_SIZE} entries.
+ *
+ * @since 11.1
+ */
+public final class ImmutableBalancedTreeMap<K, V>
+        extends AbstractImmutableSortedMap<K, V>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    // The balance parameters of Adams' weight-balanced trees, as corrected by Hirai and Yamamoto
+    private static final int DELTA = 3;
+    private static final int RATIO = 2;
+
+    // The empty map in natural order; empty maps with a comparator share nothing but the null root
+    private static final ImmutableBalancedTreeMap<?, ?> EMPTY = new ImmutableBalancedTreeMap<>(null, null);
+
+    private final Node<K, V> root;
+    private final Comparator<? super K> comparator;
+
+    public ImmutableBalancedTreeMap(SortedMap<K, V> sortedMap)
+    {
+        if (sortedMap == null)
+        {
+            throw new NullPointerException("Cannot convert null to ImmutableSortedMap");
+        }
+        K[] keys = (K[]) new Object[sortedMap.size()];
+        V[] values = (V[]) new Object[sortedMap.size()];
+        int index = 0;
+        for (Entry<K, V> entry : sortedMap.entrySet())
+        {
+            keys[index] = entry.getKey();
+            values[index] = entry.getValue();
+            index++;
+        }
+        this.root = Node.build(keys, values, 0, index);
+        this.comparator = sortedMap.comparator();
+    }
+
+    private ImmutableBalancedTreeMap(Node<K, V> root, Comparator<? super K> comparator)
+    {
+        this.root = root;
+        this.comparator = comparator;
+    }
+
+    public static <K, V> ImmutableSortedMap<K, V> newMap(SortedMap<K, V> sortedMap)
+    {
+        return new ImmutableBalancedTreeMap<>(sortedMap);
+    }
+
+    private int compare(K key1, K key2)
+    {
+        return this.comparator == null
+                ? ((Comparable<? super K>) key1).compareTo(key2)
+                : this.comparator.compare(key1, key2);
+    }
+
+    @Override
+    public int size()
+    {
+        return Node.size(this.root);
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.find((K) key) != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        return this.root != null && this.root.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        Node<K, V> node = this.find((K) key);
+        return node == null ? null : node.value;
+    }
+
+    private Node<K, V> find(K key)
+    {
+        Node<K, V> node = this.root;
+        while (node != null)
+        {
+            int compare = this.compare(key, node.key);
+            if (compare == 0)
+            {
+                return node;
+            }
+            node = compare < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    @Override
+    public Comparator<? super K> comparator()
+    {
+        return this.comparator;
+    }
+
+    @Override
+    public K firstKey()
+    {
+        if (this.root == null)
+        {
+            throw new NoSuchElementException();
+        }
+        return this.root.first().key;
+    }
+
+    @Override
+    public K lastKey()
+    {
+        if (this.root == null)
+        {
+            throw new NoSuchElementException();
+        }
+        return this.root.last().key;
+    }
+
+    @Override
+    public ImmutableSortedMap<K, V> newWithKeyValue(K key, V value)
+    {
+        return this.withRoot(this.put(this.root, key, value));
+    }
+
+    @Override
+    public ImmutableSortedMap<K, V> newWithAllKeyValues(Iterable<? extends Pair<? extends K, ? extends V>> keyValues)
+    {
+        Node<K, V> newRoot = this.root;
+        for (Pair<? extends K, ? extends V> keyValuePair : keyValues)
+        {
+            newRoot = this.put(newRoot, keyValuePair.getOne(), keyValuePair.getTwo());
+        }
+        return this.withRoot(newRoot);
+    }
+
+    @Override
+    public ImmutableSortedMap<K, V> newWithAllKeyValueArguments(Pair<? extends K, ? extends V>... keyValuePairs)
+    {
+        Node<K, V> newRoot = this.root;
+        for (Pair<? extends K, ? extends V> keyValuePair : keyValuePairs)
+        {
+            newRoot = this.put(newRoot, keyValuePair.getOne(), keyValuePair.getTwo());
+        }
+        return this.withRoot(newRoot);
+    }
+
+    @Override
+    public ImmutableSortedMap<K, V> newWithMap(Map<? extends K, ? extends V> map)
+    {
+        Node<K, V> newRoot = this.root;
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+        {
+            newRoot = this.put(newRoot, entry.getKey(), entry.getValue());
+        }
+        return this.withRoot(newRoot);
+    }
+
+    @Override
+    public ImmutableSortedMap<K, V> newWithMapIterable(MapIterable<? extends K, ? extends V> mapIterable)
+    {
+        Node<K, V>[] newRoot = new Node[]{this.root};
+        mapIterable.forEachKeyValue((key, value) -> newRoot[0] = this.put(newRoot[0], key, value));
+        return this.withRoot(newRoot[0]);
+    }
+
+    @Override
+    public ImmutableSortedMap<K, V> newWithoutKey(K key)
+    {
+        return this.withRoot(this.remove(this.root, key));
+    }
+
+    @Override
+    public ImmutableSortedMap<K, V> newWithoutAllKeys(Iterable<? extends K> keys)
+    {
+        Node<K, V> newRoot = this.root;
+        for (K key : keys)
+        {
+            newRoot = this.remove(newRoot, key);
+        }
+        return this.withRoot(newRoot);
+    }
+
+    private ImmutableSortedMap<K, V> withRoot(Node<K, V> newRoot)
+    {
+        if (newRoot == this.root)
+        {
+            return this;
+        }
+        if (newRoot == null && this.comparator == null)
+        {
+            return (ImmutableSortedMap<K, V>) EMPTY;
+        }
+        return new ImmutableBalancedTreeMap<>(newRoot, this.comparator);
+    }
+
+    private Node<K, V> put(Node<K, V> node, K key, V value)
+    {
+        if (node == null)
+        {
+            return new Node<>(key, value, null, null);
+        }
+        int compare = this.compare(key, node.key);
+        if (compare < 0)
+        {
+            Node<K, V> left = this.put(node.left, key, value);
+            return left == node.left ? node : Node.balance(node.key, node.value, left, node.right);
+        }
+        if (compare > 0)
+        {
+            Node<K, V> right = this.put(node.right, key, value);
+            return right == node.right ? node : Node.balance(node.key, node.value, node.left, right);
+        }
+        return node.value == value ? node : new Node<>(node.key, value, node.left, node.right);
+    }
+
+    private Node<K, V> remove(Node<K, V> node, K key)
+    {
+        if (node == null)
+        {
+            return null;
+        }
+        int compare = this.compare(key, node.key);
+        if (compare < 0)
+        {
+            Node<K, V> left = this.remove(node.left, key);
+            return left == node.left ? node : Node.balance(node.key, node.value, left, node.right);
+        }
+        if (compare > 0)
+        {
+            Node<K, V> right = this.remove(node.right, key);
+            return right == node.right ? node : Node.balance(node.key, node.value, node.left, right);
+        }
+        return Node.glue(node.left, node.right);
+    }
+
+    /**
+     * Returns the entries of the tree whose keys are strictly less than the given key.
+     */
+    private Node<K, V> headTree(Node<K, V> node, K toKey)
+    {
+        if (node == null)
+        {
+            return null;
+        }
+        if (this.compare(node.key, toKey) >= 0)
+        {
+            return this.headTree(node.left, toKey);
+        }
+        Node<K, V> right = this.headTree(node.right, toKey);
+        return right == node.right ? node : Node.link(node.key, node.value, node.left, right);
+    }
+
+    /**
+     * Returns the entries of the tree whose keys are greater than or equal to the given key.
+     */
+    private Node<K, V> tailTree(Node<K, V> node, K fromKey)
+    {
+        if (node == null)
+        {
+            return null;
+        }
+        if (this.compare(node.key, fromKey) < 0)
+        {
+            return this.tailTree(node.right, fromKey);
+        }
+        Node<K, V> left = this.tailTree(node.left, fromKey);
+        return left == node.left ? node : Node.link(node.key, node.value, left, node.right);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey)
+    {
+        if (this.compare(fromKey, toKey) > 0)
+        {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return this.withRoot(this.tailTree(this.headTree(this.root, toKey), fromKey)).castToSortedMap();
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey)
+    {
+        return this.withRoot(this.headTree(this.root, toKey)).castToSortedMap();
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey)
+    {
+        return this.withRoot(this.tailTree(this.root, fromKey)).castToSortedMap();
+    }
+
+    @Override
+    public ImmutableSortedMap<K, V> take(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+        return this.withRoot(Node.take(this.root, count));
+    }
+
+    @Override
+    public ImmutableSortedMap<K, V> drop(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+        return this.withRoot(Node.drop(this.root, count));
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        if (this.root != null)
+        {
+            this.root.forEachKeyValue(procedure);
+        }
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        this.forEachKeyValue((key, value) -> procedure.value(key));
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        this.forEachKeyValue((key, value) -> procedure.value(value));
+    }
+
+    @Override
+    public ImmutableMap<V, K> flipUniqueValues()
+    {
+        return MapIterate.flipUniqueValues(this).toImmutable();
+    }
+
+    @Override
+    public Set<K> keySet()
+    {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return new Values();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet();
+    }
+
+    @Override
+    public RichIterable<K> keysView()
+    {
+        return LazyIterate.adapt(this.keySet());
+    }
+
+    @Override
+    public RichIterable<V> valuesView()
+    {
+        return LazyIterate.adapt(this.values());
+    }
+
+    @Override
+    public RichIterable<Pair<K, V>> keyValuesView()
+    {
+        return LazyIterate.adapt(new AbstractCollection<Pair<K, V>>()
+        {
+            @Override
+            public Iterator<Pair<K, V>> iterator()
+            {
+                return new TreeIterator<K, V, Pair<K, V>>(ImmutableBalancedTreeMap.this.root)
+                {
+                    @Override
+                    protected Pair<K, V> valueOf(Node<K, V> node)
+                    {
+                        return Tuples.pair(node.key, node.value);
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return ImmutableBalancedTreeMap.this.size();
+            }
+        });
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return new TreeIterator<K, V, V>(this.root)
+        {
+            @Override
+            protected V valueOf(Node<K, V> node)
+            {
+                return node.value;
+            }
+        };
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.root == null ? 0 : this.root.keyValueHashCode();
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+        Map<?, ?> other = (Map<?, ?>) object;
+        if (this.size() != other.size())
+        {
+            return false;
+        }
+        TreeIterator<K, V, Node<K, V>> iterator = new TreeIterator<K, V, Node<K, V>>(this.root)
+        {
+            @Override
+            protected Node<K, V> valueOf(Node<K, V> node)
+            {
+                return node;
+            }
+        };
+        while (iterator.hasNext())
+        {
+            Node<K, V> node = iterator.next();
+            Object otherValue = other.get(node.key);
+            if (!Objects.equals(node.value, otherValue) || otherValue == null && !other.containsKey(node.key))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append('{');
+        this.forEachKeyValue((key, value) ->
+        {
+            if (builder.length() > 1)
+            {
+                builder.append(", ");
+            }
+            builder.append(key);
+            builder.append('=');
+            builder.append(value);
+        });
+        builder.append('}');
+        return builder.toString();
+    }
+
+    private Object writeReplace()
+    {
+        return new ImmutableSortedMapSerializationProxy<>(this);
+    }
+
+    /**
+     * A node of the tree. Nodes are never modified once they are created, so a subtree may be shared by any number of
+     * maps. The empty tree is null.
+     */
+    private static final class Node<K, V>
+    {
+        private final K key;
+        private final V value;
+        private final Node<K, V> left;
+        private final Node<K, V> right;
+        private final int size;
+
+        private Node(K key, V value, Node<K, V> left, Node<K, V> right)
+        {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = Node.size(left) + Node.size(right) + 1;
+        }
+
+        private static int size(Node<?, ?> node)
+        {
+            return node == null ? 0 : node.size;
+        }
+
+        /**
+         * Builds a perfectly balanced tree from the given range of keys, which must be sorted and unique.
+         */
+        private static <K, V> Node<K, V> build(K[] keys, V[] values, int from, int to)
+        {
+            if (from >= to)
+            {
+                return null;
+            }
+            int middle = (from + to) >>> 1;
+            return new Node<>(
+                    keys[middle],
+                    values[middle],
+                    Node.build(keys, values, from, middle),
+                    Node.build(keys, values, middle + 1, to));
+        }
+
+        /**
+         * Creates a node whose subtrees were balanced before one of them grew or shrank by at most one entry.
+         */
+        private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right)
+        {
+            int leftSize = Node.size(left);
+            int rightSize = Node.size(right);
+            if (leftSize + rightSize > 1)
+            {
+                if (rightSize > DELTA * leftSize)
+                {
+                    return Node.rotateLeft(key, value, left, right);
+                }
+                if (leftSize > DELTA * rightSize)
+                {
+                    return Node.rotateRight(key, value, left, right);
+                }
+            }
+            return new Node<>(key, value, left, right);
+        }
+
+        private static <K, V> Node<K, V> rotateLeft(K key, V value, Node<K, V> left, Node<K, V> right)
+        {
+            Node<K, V> rightLeft = right.left;
+            if (Node.size(rightLeft) < RATIO * Node.size(right.right))
+            {
+                return new Node<>(right.key, right.value, new Node<>(key, value, left, rightLeft), right.right);
+            }
+            return new Node<>(
+                    rightLeft.key,
+                    rightLeft.value,
+                    new Node<>(key, value, left, rightLeft.left),
+                    new Node<>(right.key, right.value, rightLeft.right, right.right));
+        }
+
+        private static <K, V> Node<K, V> rotateRight(K key, V value, Node<K, V> left, Node<K, V> right)
+        {
+            Node<K, V> leftRight = left.right;
+            if (Node.size(leftRight) < RATIO * Node.size(left.left))
+            {
+                return new Node<>(left.key, left.value, left.left, new Node<>(key, value, leftRight, right));
+            }
+            return new Node<>(
+                    leftRight.key,
+                    leftRight.value,
+                    new Node<>(left.key, left.value, left.left, leftRight.left),
+                    new Node<>(key, value, leftRight.right, right));
+        }
+
+        /**
+         * Joins two trees of any sizes with an entry whose key lies between all the keys of the left tree and all the
+         * keys of the right tree, descending the spine of the larger tree until the sizes are in balance.
+         */
+        private static <K, V> Node<K, V> link(K key, V value, Node<K, V> left, Node<K, V> right)
+        {
+            if (left == null)
+            {
+                return Node.insertFirst(key, value, right);
+            }
+            if (right == null)
+            {
+                return Node.insertLast(key, value, left);
+            }
+            if (DELTA * left.size < right.size)
+            {
+                return Node.balance(right.key, right.value, Node.link(key, value, left, right.left), right.right);
+            }
+            if (DELTA * right.size < left.size)
+            {
+                return Node.balance(left.key, left.value, left.left, Node.link(key, value, left.right, right));
+            }
+            return new Node<>(key, value, left, right);
+        }
+
+        private static <K, V> Node<K, V> insertFirst(K key, V value, Node<K, V> node)
+        {
+            if (node == null)
+            {
+                return new Node<>(key, value, null, null);
+            }
+            return Node.balance(node.key, node.value, Node.insertFirst(key, value, node.left), node.right);
+        }
+
+        private static <K, V> Node<K, V> insertLast(K key, V value, Node<K, V> node)
+        {
+            if (node == null)
+            {
+                return new Node<>(key, value, null, null);
+            }
+            return Node.balance(node.key, node.value, node.left, Node.insertLast(key, value, node.right));
+        }
+
+        /**
+         * Joins the two subtrees of a removed node, which are in balance with each other, by moving the last entry of
+         * the larger left subtree or the first entry of the right subtree up into the removed node's place.
+         */
+        private static <K, V> Node<K, V> glue(Node<K, V> left, Node<K, V> right)
+        {
+            if (left == null)
+            {
+                return right;
+            }
+            if (right == null)
+            {
+                return left;
+            }
+            if (left.size > right.size)
+            {
+                Node<K, V> last = left.last();
+                return Node.balance(last.key, last.value, Node.removeLast(left), right);
+            }
+            Node<K, V> first = right.first();
+            return Node.balance(first.key, first.value, left, Node.removeFirst(right));
+        }
+
+        private static <K, V> Node<K, V> removeFirst(Node<K, V> node)
+        {
+            if (node.left == null)
+            {
+                return node.right;
+            }
+            return Node.balance(node.key, node.value, Node.removeFirst(node.left), node.right);
+        }
+
+        private static <K, V> Node<K, V> removeLast(Node<K, V> node)
+        {
+            if (node.right == null)
+            {
+                return node.left;
+            }
+            return Node.balance(node.key, node.value, node.left, Node.removeLast(node.right));
+        }
+
+        private static <K, V> Node<K, V> take(Node<K, V> node, int count)
+        {
+            if (node == null || count <= 0)
+            {
+                return null;
+            }
+            if (count >= node.size)
+            {
+                return node;
+            }
+            int leftSize = Node.size(node.left);
+            if (count <= leftSize)
+            {
+                return Node.take(node.left, count);
+            }
+            return Node.link(node.key, node.value, node.left, Node.take(node.right, count - leftSize - 1));
+        }
+
+        private static <K, V> Node<K, V> drop(Node<K, V> node, int count)
+        {
+            if (node == null || count <= 0)
+            {
+                return node;
+            }
+            if (count >= node.size)
+            {
+                return null;
+            }
+            int leftSize = Node.size(node.left);
+            if (count > leftSize)
+            {
+                return Node.drop(node.right, count - leftSize - 1);
+            }
+            return Node.link(node.key, node.value, Node.drop(node.left, count), node.right);
+        }
+
+        private Node<K, V> first()
+        {
+            Node<K, V> node = this;
+            while (node.left != null)
+            {
+                node = node.left;
+            }
+            return node;
+        }
+
+        private Node<K, V> last()
+        {
+            Node<K, V> node = this;
+            while (node.right != null)
+            {
+                node = node.right;
+            }
+            return node;
+        }
+
+        private void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+        {
+            Node<K, V> node = this;
+            while (node != null)
+            {
+                if (node.left != null)
+                {
+                    node.left.forEachKeyValue(procedure);
+                }
+                procedure.value(node.key, node.value);
+                node = node.right;
+            }
+        }
+
+        private boolean containsValue(Object value)
+        {
+            Node<K, V> node = this;
+            while (node != null)
+            {
+                if (Objects.equals(node.value, value) || node.left != null && node.left.containsValue(value))
+                {
+                    return true;
+                }
+                node = node.right;
+            }
+            return false;
+        }
+
+        private int keyValueHashCode()
+        {
+            int result = 0;
+            Node<K, V> node = this;
+            while (node != null)
+            {
+                if (node.left != null)
+                {
+                    result += node.left.keyValueHashCode();
+                }
+                result += (node.key == null ? 0 : node.key.hashCode()) ^ (node.value == null ? 0 : node.value.hashCode());
+                node = node.right;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Iterates the entries of a tree in order, keeping the path of nodes whose right subtrees remain to be visited.
+     */
+    private abstract static class TreeIterator<K, V, T> implements Iterator<T>
+    {
+        private Node<K, V>[] stack = new Node[16];
+        private int depth;
+
+        protected TreeIterator(Node<K, V> root)
+        {
+            this.pushLeftSpine(root);
+        }
+
+        protected abstract T valueOf(Node<K, V> node);
+
+        private void pushLeftSpine(Node<K, V> node)
+        {
+            while (node != null)
+            {
+                if (this.depth == this.stack.length)
+                {
+                    this.stack = Arrays.copyOf(this.stack, this.depth << 1);
+                }
+                this.stack[this.depth++] = node;
+                node = node.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.depth > 0;
+        }
+
+        @Override
+        public T next()
+        {
+            if (this.depth == 0)
+            {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> node = this.stack[--this.depth];
+            this.stack[this.depth] = null;
+            this.pushLeftSpine(node.right);
+            return this.valueOf(node);
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an immutable map");
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K>
+    {
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new TreeIterator<K, V, K>(ImmutableBalancedTreeMap.this.root)
+            {
+                @Override
+                protected K valueOf(Node<K, V> node)
+                {
+                    return node.key;
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ImmutableBalancedTreeMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return ImmutableBalancedTreeMap.this.containsKey(key);
+        }
+    }
+
+    private final class Values extends AbstractCollection<V>
+    {
+        @Override
+        public Iterator<V> iterator()
+        {
+            return ImmutableBalancedTreeMap.this.iterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return ImmutableBalancedTreeMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object value)
+        {
+            return ImmutableBalancedTreeMap.this.containsValue(value);
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new TreeIterator<K, V, Entry<K, V>>(ImmutableBalancedTreeMap.this.root)
+            {
+                @Override
+                protected Entry<K, V> valueOf(Node<K, V> node)
+                {
+                    return ImmutableEntry.of(node.key, node.value);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ImmutableBalancedTreeMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Entry))
+            {
+                return false;
+            }
+            Entry<K, V> entry = (Entry<K, V>) object;
+            Node<K, V> node = ImmutableBalancedTreeMap.this.find(entry.getKey());
+            return node != null && Objects.equals(entry.getValue(), node.value);
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.util.SortedMap;
 import org.eclipse.collections.api.factory.map.sorted.ImmutableSortedMapFactory;
 import org.eclipse.collections.api.map.sorted.ImmutableSortedMap;
 import org.eclipse.collections.impl.map.sorted.mutable.TreeSortedMap;
+import org.eclipse.collections.impl.utility.internal.ImmutableThresholds;
 
 public class ImmutableSortedMapFactoryImpl implements ImmutableSortedMapFactory
 {
@@ -168,6 +169,10 @@ public class ImmutableSortedMapFactoryImpl implements ImmutableSortedMapFactory
         {
             return this.of(map.comparator());
         }
+        if (map.size() >= ImmutableThresholds.PERSISTENT_SIZE)
+        {
+            return ImmutableBalancedTreeMap.newMap(map);
+        }
         return ImmutableTreeMap.newMap(map);
     }
 }
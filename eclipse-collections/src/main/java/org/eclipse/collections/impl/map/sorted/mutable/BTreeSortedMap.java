@@ -0,0 +1,1654 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.collection.MutableCollection;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.sorted.MutableSortedMap;
+import org.eclipse.collections.api.partition.list.PartitionMutableList;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.block.factory.Functions;
+import org.eclipse.collections.impl.block.procedure.MapCollectProcedure;
+import org.eclipse.collections.impl.collection.mutable.CollectionAdapter;
+import org.eclipse.collections.impl.set.mutable.SetAdapter;
+import org.eclipse.collections.impl.utility.ArrayIterate;
+
+/**
+ * A MutableSortedMap backed by a B+-tree. Each leaf holds up to 64 keys and values in a pair of arrays and the leaves
+ * are linked in key order, so a lookup binary searches contiguous keys instead of following a pointer per comparison,
+ * and iteration, including iteration over a range view, walks the leaf arrays one after another. Sorted input with the
+ * same comparator, such as another SortedMap passed to the constructor or to putAll on an empty map, is bulk-loaded
+ * into full leaves without comparing keys, and a key greater than every key in the map is appended to the last leaf
+ * after a single comparison, so other input that arrives in order is cheap to load as well.
+ * <p>
+ * Like {@link TreeSortedMap}, this map is not thread-safe, its iterators are fail-fast, and it does not permit null
+ * keys unless the comparator does.
+ *
+ * @since 11.1
+ */
+public class BTreeSortedMap<K, V>
+        extends AbstractMutableSortedMap<K, V>
+        implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int NODE_CAPACITY = 64;
+    private static final int MINIMUM_OCCUPANCY = NODE_CAPACITY / 4;
+    private static final int INITIAL_LEAF_CAPACITY = 4;
+    private static final Object NONE = new Object();
+
+    private Comparator<? super K> comparator;
+    private transient Object root;
+    private transient int height;
+    private transient int size;
+    private transient int modCount;
+
+    public BTreeSortedMap()
+    {
+    }
+
+    public BTreeSortedMap(Comparator<? super K> comparator)
+    {
+        this.comparator = comparator;
+    }
+
+    public BTreeSortedMap(Map<? extends K, ? extends V> map)
+    {
+        this.putAll(map);
+    }
+
+    public BTreeSortedMap(Comparator<? super K> comparator, Map<? extends K, ? extends V> map)
+    {
+        this.comparator = comparator;
+        this.putAll(map);
+    }
+
+    public BTreeSortedMap(SortedMap<K, ? extends V> map)
+    {
+        this.comparator = map.comparator();
+        this.bulkLoad(map.size(), map.entrySet().iterator());
+    }
+
+    public BTreeSortedMap(Pair<K, V>... pairs)
+    {
+        ArrayIterate.forEach(pairs, new MapCollectProcedure<Pair<K, V>, K, V>(
+                this,
+                Functions.firstOfPair(),
+                Functions.secondOfPair()));
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMap()
+    {
+        return new BTreeSortedMap<>();
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMap(Comparator<? super K> comparator)
+    {
+        return new BTreeSortedMap<>(comparator);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        if (map instanceof SortedMap<?, ?>)
+        {
+            return new BTreeSortedMap<>((SortedMap<K, V>) map);
+        }
+        return new BTreeSortedMap<>(map);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMap(Comparator<? super K> comparator, Map<? extends K, ? extends V> map)
+    {
+        return new BTreeSortedMap<>(comparator, map);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(Pair<K, V>... pairs)
+    {
+        return new BTreeSortedMap<>(pairs);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(Comparator<? super K> comparator, Pair<K, V>... pairs)
+    {
+        return new BTreeSortedMap<K, V>(comparator).with(pairs);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(K key, V value)
+    {
+        return new BTreeSortedMap<K, V>().with(key, value);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(K key1, V value1, K key2, V value2)
+    {
+        return new BTreeSortedMap<K, V>().with(key1, value1, key2, value2);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return new BTreeSortedMap<K, V>().with(key1, value1, key2, value2, key3, value3);
+    }
+
+    public static <K, V> BTreeSortedMap<K, V> newMapWith(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        return new BTreeSortedMap<K, V>().with(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    public BTreeSortedMap<K, V> with(K key, V value)
+    {
+        this.put(key, value);
+        return this;
+    }
+
+    public BTreeSortedMap<K, V> with(K key1, V value1, K key2, V value2)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        return this;
+    }
+
+    public BTreeSortedMap<K, V> with(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        return this;
+    }
+
+    public BTreeSortedMap<K, V> with(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        this.put(key4, value4);
+        return this;
+    }
+
+    @Override
+    public BTreeSortedMap<K, V> with(Pair<K, V>... pairs)
+    {
+        ArrayIterate.forEach(pairs, new MapCollectProcedure<Pair<K, V>, K, V>(this, Functions.firstOfPair(), Functions.secondOfPair()));
+        return this;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    @Override
+    public MutableSortedMap<K, V> newEmpty()
+    {
+        return new BTreeSortedMap<>(this.comparator);
+    }
+
+    @Override
+    public V removeKey(K key)
+    {
+        return this.remove(key);
+    }
+
+    @Override
+    public BTreeSortedMap<K, V> clone()
+    {
+        return new BTreeSortedMap<>(this);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof Map))
+        {
+            return false;
+        }
+        Map<?, ?> other = (Map<?, ?>) o;
+        if (other.size() != this.size)
+        {
+            return false;
+        }
+        try
+        {
+            for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+            {
+                for (int i = 0; i < leaf.count; i++)
+                {
+                    Object value = leaf.values[i];
+                    Object otherValue = other.get(leaf.keys[i]);
+                    if (value == null ? otherValue != null || !other.containsKey(leaf.keys[i]) : !value.equals(otherValue))
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        catch (ClassCastException | NullPointerException ignored)
+        {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                hashCode += Objects.hashCode(leaf.keys[i]) ^ Objects.hashCode(leaf.values[i]);
+            }
+        }
+        return hashCode;
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure2)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                procedure2.value((K) leaf.keys[i], (V) leaf.values[i]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                procedure.value((K) leaf.keys[i]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                procedure.value((V) leaf.values[i]);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return new ValueIterator(false, null, false, null);
+    }
+
+    @Override
+    public K firstKey()
+    {
+        Leaf leaf = this.firstLeaf();
+        if (leaf == null)
+        {
+            throw new NoSuchElementException();
+        }
+        return (K) leaf.keys[0];
+    }
+
+    @Override
+    public K lastKey()
+    {
+        Leaf leaf = this.lastLeaf();
+        if (leaf == null)
+        {
+            throw new NoSuchElementException();
+        }
+        return (K) leaf.keys[leaf.count - 1];
+    }
+
+    @Override
+    public MutableSet<Entry<K, V>> entrySet()
+    {
+        return SetAdapter.adapt(new SubMap(false, null, false, null).entrySet());
+    }
+
+    @Override
+    public MutableSet<K> keySet()
+    {
+        return SetAdapter.adapt(new SubMap(false, null, false, null).keySet());
+    }
+
+    @Override
+    public MutableCollection<V> values()
+    {
+        return CollectionAdapter.adapt(new SubMap(false, null, false, null).values());
+    }
+
+    @Override
+    public Comparator<? super K> comparator()
+    {
+        return this.comparator;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        Leaf leaf = this.leafFor(key);
+        if (leaf == null)
+        {
+            return null;
+        }
+        int index = this.search(leaf, key);
+        return index < 0 ? null : (V) leaf.values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        Leaf leaf = this.leafFor(key);
+        return leaf != null && this.search(leaf, key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                if (Objects.equals(value, leaf.values[i]))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        if (this.root == null)
+        {
+            this.compare(key, key);
+            Leaf leaf = new Leaf(INITIAL_LEAF_CAPACITY);
+            leaf.insert(0, key, value);
+            this.root = leaf;
+            this.size = 1;
+            this.modCount++;
+            return null;
+        }
+        Leaf leaf = this.lastLeaf();
+        int index;
+        if (this.compare(leaf.keys[leaf.count - 1], key) < 0)
+        {
+            index = -leaf.count - 1;
+        }
+        else
+        {
+            leaf = this.leafFor(key);
+            index = this.search(leaf, key);
+        }
+        if (index >= 0)
+        {
+            V previous = (V) leaf.values[index];
+            leaf.values[index] = value;
+            return previous;
+        }
+        int insertionIndex = -index - 1;
+        if (leaf.count < NODE_CAPACITY)
+        {
+            leaf.insert(insertionIndex, key, value);
+        }
+        else
+        {
+            this.splitLeaf(leaf, insertionIndex, key, value);
+        }
+        this.size++;
+        this.modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        Leaf leaf = this.leafFor(key);
+        if (leaf == null)
+        {
+            return null;
+        }
+        int index = this.search(leaf, key);
+        if (index < 0)
+        {
+            return null;
+        }
+        V previous = (V) leaf.values[index];
+        leaf.removeAt(index);
+        this.size--;
+        this.modCount++;
+        if (leaf.count < MINIMUM_OCCUPANCY)
+        {
+            if (this.height > 0)
+            {
+                this.rebalance(key);
+            }
+            else if (leaf.count == 0)
+            {
+                this.root = null;
+            }
+        }
+        return previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        if (this.size == 0
+                && !map.isEmpty()
+                && map instanceof SortedMap<?, ?>
+                && Objects.equals(this.comparator, ((SortedMap<?, ?>) map).comparator()))
+        {
+            this.bulkLoad(map.size(), map.entrySet().iterator());
+            return;
+        }
+        for (Entry<? extends K, ? extends V> entry : map.entrySet())
+        {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        this.root = null;
+        this.height = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public MutableSortedMap<K, V> headMap(K toKey)
+    {
+        this.compare(toKey, toKey);
+        return SortedMapAdapter.adapt(new SubMap(false, null, true, toKey));
+    }
+
+    @Override
+    public MutableSortedMap<K, V> tailMap(K fromKey)
+    {
+        this.compare(fromKey, fromKey);
+        return SortedMapAdapter.adapt(new SubMap(true, fromKey, false, null));
+    }
+
+    @Override
+    public MutableSortedMap<K, V> subMap(K fromKey, K toKey)
+    {
+        if (this.compare(fromKey, toKey) > 0)
+        {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return SortedMapAdapter.adapt(new SubMap(true, fromKey, true, toKey));
+    }
+
+    @Override
+    public MutableSortedMap<K, V> toReversed()
+    {
+        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".toReversed() not implemented yet");
+    }
+
+    @Override
+    public MutableSortedMap<K, V> take(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+
+        BTreeSortedMap<K, V> output = new BTreeSortedMap<>(this.comparator);
+        output.bulkLoad(Math.min(count, this.size), new EntryIterator(false, null, false, null));
+        return output;
+    }
+
+    @Override
+    public MutableSortedMap<K, V> takeWhile(Predicate<? super V> predicate)
+    {
+        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".takeWhile() not implemented yet");
+    }
+
+    @Override
+    public MutableSortedMap<K, V> drop(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+
+        BTreeSortedMap<K, V> output = new BTreeSortedMap<>(this.comparator);
+        if (count >= this.size)
+        {
+            return output;
+        }
+        Leaf leaf = this.firstLeaf();
+        int skipped = 0;
+        while (skipped + leaf.count <= count)
+        {
+            skipped += leaf.count;
+            leaf = leaf.next;
+        }
+        output.bulkLoad(this.size - count, new EntryIterator(leaf, count - skipped));
+        return output;
+    }
+
+    @Override
+    public MutableSortedMap<K, V> dropWhile(Predicate<? super V> predicate)
+    {
+        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".dropWhile() not implemented yet");
+    }
+
+    @Override
+    public PartitionMutableList<V> partitionWhile(Predicate<? super V> predicate)
+    {
+        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".partitionWhile() not implemented yet");
+    }
+
+    @Override
+    public MutableList<V> distinct()
+    {
+        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".distinct() not implemented yet");
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("{");
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                if (builder.length() > 1)
+                {
+                    builder.append(", ");
+                }
+                Object key = leaf.keys[i];
+                Object value = leaf.values[i];
+                builder.append(key == this ? "(this Map)" : String.valueOf(key));
+                builder.append('=');
+                builder.append(value == this ? "(this Map)" : String.valueOf(value));
+            }
+        }
+        return builder.append('}').toString();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeObject(this.comparator);
+        out.writeInt(this.size);
+        for (Leaf leaf = this.firstLeaf(); leaf != null; leaf = leaf.next)
+        {
+            for (int i = 0; i < leaf.count; i++)
+            {
+                out.writeObject(leaf.keys[i]);
+                out.writeObject(leaf.values[i]);
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        this.comparator = (Comparator<? super K>) in.readObject();
+        int size = in.readInt();
+        for (int i = 0; i < size; ++i)
+        {
+            this.put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    private int compare(Object key1, Object key2)
+    {
+        return this.comparator == null
+                ? ((Comparable<Object>) key1).compareTo(key2)
+                : this.comparator.compare((K) key1, (K) key2);
+    }
+
+    /**
+     * Returns the index of the key in the leaf, or {@code -(insertionIndex + 1)} when the leaf does not contain it.
+     */
+    private int search(Leaf leaf, Object key)
+    {
+        Object[] keys = leaf.keys;
+        int low = 0;
+        int high = leaf.count - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int comparison = this.compare(keys[middle], key);
+            if (comparison < 0)
+            {
+                low = middle + 1;
+            }
+            else if (comparison > 0)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the index of the child whose range holds the key, which is the number of separators not greater than it.
+     */
+    private int childIndex(Branch branch, Object key)
+    {
+        Object[] keys = branch.keys;
+        int low = 0;
+        int high = branch.count - 2;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            if (this.compare(keys[middle], key) <= 0)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private Leaf leafFor(Object key)
+    {
+        if (key == null && this.comparator == null)
+        {
+            throw new NullPointerException();
+        }
+        Object node = this.root;
+        for (int level = 0; level < this.height; level++)
+        {
+            Branch branch = (Branch) node;
+            node = branch.children[this.childIndex(branch, key)];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf firstLeaf()
+    {
+        Object node = this.root;
+        for (int level = 0; level < this.height; level++)
+        {
+            node = ((Branch) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf lastLeaf()
+    {
+        Object node = this.root;
+        for (int level = 0; level < this.height; level++)
+        {
+            Branch branch = (Branch) node;
+            node = branch.children[branch.count - 1];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Returns the greatest key strictly less than the given key, or {@link #NONE} when there is none.
+     */
+    private Object lowerKey(Object key)
+    {
+        Object node = this.root;
+        Object leftSubtree = null;
+        for (int level = 0; level < this.height; level++)
+        {
+            Branch branch = (Branch) node;
+            int index = this.childIndex(branch, key);
+            if (index > 0)
+            {
+                leftSubtree = branch.children[index - 1];
+            }
+            node = branch.children[index];
+        }
+        if (node == null)
+        {
+            return NONE;
+        }
+        Leaf leaf = (Leaf) node;
+        int index = this.search(leaf, key);
+        int lower = index < 0 ? -index - 2 : index - 1;
+        if (lower >= 0)
+        {
+            return leaf.keys[lower];
+        }
+        if (leftSubtree == null)
+        {
+            return NONE;
+        }
+        while (leftSubtree instanceof Branch)
+        {
+            Branch branch = (Branch) leftSubtree;
+            leftSubtree = branch.children[branch.count - 1];
+        }
+        Leaf lowerLeaf = (Leaf) leftSubtree;
+        return lowerLeaf.keys[lowerLeaf.count - 1];
+    }
+
+    /**
+     * Counts the keys from {@code low} inclusive to {@code high} exclusive, where either bound may be absent. Only the
+     * two ends of the range are searched; the leaves between them are counted whole.
+     */
+    private int countRange(boolean hasLow, Object low, boolean hasHigh, Object high)
+    {
+        if (this.root == null)
+        {
+            return 0;
+        }
+        Leaf leaf = this.firstLeaf();
+        int index = 0;
+        if (hasLow)
+        {
+            leaf = this.leafFor(low);
+            int found = this.search(leaf, low);
+            index = found < 0 ? -found - 1 : found;
+        }
+        Leaf endLeaf = null;
+        int endIndex = 0;
+        if (hasHigh)
+        {
+            endLeaf = this.leafFor(high);
+            int found = this.search(endLeaf, high);
+            endIndex = found < 0 ? -found - 1 : found;
+        }
+        int count = endIndex - index;
+        for (; leaf != endLeaf; leaf = leaf.next)
+        {
+            count += leaf.count;
+        }
+        return count;
+    }
+
+    /**
+     * Builds the tree bottom-up from entries already in comparator order: the leaves are filled evenly, then each
+     * level of branches is built over the one below it, so no keys are compared and no node is split.
+     */
+    private void bulkLoad(int count, Iterator<? extends Entry<? extends K, ? extends V>> entries)
+    {
+        this.root = null;
+        this.height = 0;
+        this.size = count;
+        this.modCount++;
+        if (count == 0)
+        {
+            return;
+        }
+        int leafCount = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        Object[] nodes = new Object[leafCount];
+        Object[] lowestKeys = new Object[leafCount];
+        Leaf previous = null;
+        for (int i = 0; i < leafCount; i++)
+        {
+            int entryCount = count / leafCount + (i < count % leafCount ? 1 : 0);
+            Leaf leaf = new Leaf(leafCount == 1 ? Math.max(entryCount, INITIAL_LEAF_CAPACITY) : NODE_CAPACITY);
+            for (int j = 0; j < entryCount; j++)
+            {
+                Entry<? extends K, ? extends V> entry = entries.next();
+                leaf.keys[j] = entry.getKey();
+                leaf.values[j] = entry.getValue();
+            }
+            leaf.count = entryCount;
+            if (previous != null)
+            {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            nodes[i] = leaf;
+            lowestKeys[i] = leaf.keys[0];
+        }
+        int nodeCount = leafCount;
+        while (nodeCount > 1)
+        {
+            int branchCount = (nodeCount + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            int child = 0;
+            for (int i = 0; i < branchCount; i++)
+            {
+                int childCount = nodeCount / branchCount + (i < nodeCount % branchCount ? 1 : 0);
+                Branch branch = new Branch();
+                Object lowestKey = lowestKeys[child];
+                for (int j = 0; j < childCount; j++)
+                {
+                    branch.children[j] = nodes[child];
+                    if (j > 0)
+                    {
+                        branch.keys[j - 1] = lowestKeys[child];
+                    }
+                    child++;
+                }
+                branch.count = childCount;
+                nodes[i] = branch;
+                lowestKeys[i] = lowestKey;
+            }
+            nodeCount = branchCount;
+            this.height++;
+        }
+        this.root = nodes[0];
+    }
+
+    private void splitLeaf(Leaf leaf, int insertionIndex, Object key, Object value)
+    {
+        // Appending past the end of the last leaf keeps the left leaf full, so ascending inserts pack the leaves
+        int leftCount = insertionIndex == NODE_CAPACITY && leaf.next == null ? NODE_CAPACITY : (NODE_CAPACITY + 1) / 2;
+        Leaf right = new Leaf(NODE_CAPACITY);
+        if (insertionIndex < leftCount)
+        {
+            int moved = NODE_CAPACITY - leftCount + 1;
+            leaf.moveTo(leftCount - 1, right, moved);
+            leaf.insert(insertionIndex, key, value);
+        }
+        else
+        {
+            leaf.moveTo(leftCount, right, NODE_CAPACITY - leftCount);
+            right.insert(insertionIndex - leftCount, key, value);
+        }
+        right.next = leaf.next;
+        leaf.next = right;
+        this.insertIntoParent(right.keys[0], right);
+    }
+
+    private void insertIntoParent(Object separator, Object node)
+    {
+        Branch[] branches = new Branch[this.height];
+        int[] indexes = new int[this.height];
+        Object current = this.root;
+        for (int level = 0; level < this.height; level++)
+        {
+            Branch branch = (Branch) current;
+            branches[level] = branch;
+            indexes[level] = this.childIndex(branch, separator);
+            current = branch.children[indexes[level]];
+        }
+        Object newSeparator = separator;
+        Object newNode = node;
+        for (int level = this.height - 1; level >= 0; level--)
+        {
+            Branch branch = branches[level];
+            if (branch.count < NODE_CAPACITY)
+            {
+                branch.insert(indexes[level], newSeparator, newNode);
+                return;
+            }
+            Branch right = new Branch();
+            newSeparator = branch.split(right, indexes[level], newSeparator, newNode, BTreeSortedMap.isRightEdge(branches, indexes, level));
+            newNode = right;
+        }
+        Branch newRoot = new Branch();
+        newRoot.children[0] = this.root;
+        newRoot.children[1] = newNode;
+        newRoot.keys[0] = newSeparator;
+        newRoot.count = 2;
+        this.root = newRoot;
+        this.height++;
+    }
+
+    private static boolean isRightEdge(Branch[] branches, int[] indexes, int level)
+    {
+        for (int i = 0; i <= level; i++)
+        {
+            if (indexes[i] != branches[i].count - 1)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Restores the minimum occupancy along the path to the leaf that held the removed key, by merging each underfull
+     * node with a sibling when both fit in one node and by sharing entries with the sibling otherwise.
+     */
+    private void rebalance(Object key)
+    {
+        Branch[] branches = new Branch[this.height];
+        int[] indexes = new int[this.height];
+        Object current = this.root;
+        for (int level = 0; level < this.height; level++)
+        {
+            Branch branch = (Branch) current;
+            branches[level] = branch;
+            indexes[level] = this.childIndex(branch, key);
+            current = branch.children[indexes[level]];
+        }
+        for (int level = this.height - 1; level >= 0; level--)
+        {
+            Branch parent = branches[level];
+            Object node = parent.children[indexes[level]];
+            if (BTreeSortedMap.count(node) >= MINIMUM_OCCUPANCY)
+            {
+                break;
+            }
+            int leftIndex = indexes[level] == 0 ? 0 : indexes[level] - 1;
+            Object left = parent.children[leftIndex];
+            Object right = parent.children[leftIndex + 1];
+            if (left instanceof Leaf)
+            {
+                BTreeSortedMap.rebalanceLeaves(parent, leftIndex, (Leaf) left, (Leaf) right);
+            }
+            else
+            {
+                BTreeSortedMap.rebalanceBranches(parent, leftIndex, (Branch) left, (Branch) right);
+            }
+        }
+        while (this.height > 0 && ((Branch) this.root).count == 1)
+        {
+            this.root = ((Branch) this.root).children[0];
+            this.height--;
+        }
+    }
+
+    private static int count(Object node)
+    {
+        return node instanceof Leaf ? ((Leaf) node).count : ((Branch) node).count;
+    }
+
+    private static void rebalanceLeaves(Branch parent, int leftIndex, Leaf left, Leaf right)
+    {
+        int total = left.count + right.count;
+        if (total <= NODE_CAPACITY)
+        {
+            right.moveTo(0, left, right.count);
+            left.next = right.next;
+            parent.removeAt(leftIndex);
+            return;
+        }
+        int leftCount = total / 2;
+        if (left.count > leftCount)
+        {
+            left.moveTo(leftCount, right, left.count - leftCount);
+        }
+        else
+        {
+            right.moveTo(0, left, leftCount - left.count);
+        }
+        parent.keys[leftIndex] = right.keys[0];
+    }
+
+    private static void rebalanceBranches(Branch parent, int leftIndex, Branch left, Branch right)
+    {
+        int total = left.count + right.count;
+        Object separator = parent.keys[leftIndex];
+        if (total <= NODE_CAPACITY)
+        {
+            left.keys[left.count - 1] = separator;
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count - 1);
+            System.arraycopy(right.children, 0, left.children, left.count, right.count);
+            left.count = total;
+            parent.removeAt(leftIndex);
+            return;
+        }
+        Object[] keys = new Object[total - 1];
+        Object[] children = new Object[total];
+        System.arraycopy(left.keys, 0, keys, 0, left.count - 1);
+        keys[left.count - 1] = separator;
+        System.arraycopy(right.keys, 0, keys, left.count, right.count - 1);
+        System.arraycopy(left.children, 0, children, 0, left.count);
+        System.arraycopy(right.children, 0, children, left.count, right.count);
+        int leftCount = total / 2;
+        left.fill(keys, children, 0, leftCount);
+        right.fill(keys, children, leftCount, total - leftCount);
+        parent.keys[leftIndex] = keys[leftCount - 1];
+    }
+
+    private static final class Leaf
+    {
+        private Object[] keys;
+        private Object[] values;
+        private int count;
+        private Leaf next;
+
+        private Leaf(int capacity)
+        {
+            this.keys = new Object[capacity];
+            this.values = new Object[capacity];
+        }
+
+        private void ensureCapacity(int capacity)
+        {
+            if (this.keys.length < capacity)
+            {
+                int newCapacity = Math.min(Math.max(this.keys.length << 1, capacity), NODE_CAPACITY);
+                this.keys = Arrays.copyOf(this.keys, newCapacity);
+                this.values = Arrays.copyOf(this.values, newCapacity);
+            }
+        }
+
+        private void insert(int index, Object key, Object value)
+        {
+            this.ensureCapacity(this.count + 1);
+            System.arraycopy(this.keys, index, this.keys, index + 1, this.count - index);
+            System.arraycopy(this.values, index, this.values, index + 1, this.count - index);
+            this.keys[index] = key;
+            this.values[index] = value;
+            this.count++;
+        }
+
+        private void removeAt(int index)
+        {
+            int moved = this.count - index - 1;
+            System.arraycopy(this.keys, index + 1, this.keys, index, moved);
+            System.arraycopy(this.values, index + 1, this.values, index, moved);
+            this.count--;
+            this.keys[this.count] = null;
+            this.values[this.count] = null;
+        }
+
+        /**
+         * Moves {@code length} entries starting at {@code from} to the target leaf, which must be this leaf's right
+         * neighbour when the entries come from the end of this leaf and its left neighbour when they come from the
+         * start, so that the key order across the two leaves is kept.
+         */
+        private void moveTo(int from, Leaf target, int length)
+        {
+            target.ensureCapacity(target.count + length);
+            if (from == 0)
+            {
+                System.arraycopy(this.keys, 0, target.keys, target.count, length);
+                System.arraycopy(this.values, 0, target.values, target.count, length);
+                System.arraycopy(this.keys, length, this.keys, 0, this.count - length);
+                System.arraycopy(this.values, length, this.values, 0, this.count - length);
+            }
+            else
+            {
+                System.arraycopy(target.keys, 0, target.keys, length, target.count);
+                System.arraycopy(target.values, 0, target.values, length, target.count);
+                System.arraycopy(this.keys, from, target.keys, 0, length);
+                System.arraycopy(this.values, from, target.values, 0, length);
+            }
+            Arrays.fill(this.keys, this.count - length, this.count, null);
+            Arrays.fill(this.values, this.count - length, this.count, null);
+            this.count -= length;
+            target.count += length;
+        }
+    }
+
+    private static final class Branch
+    {
+        private final Object[] keys = new Object[NODE_CAPACITY - 1];
+        private final Object[] children = new Object[NODE_CAPACITY];
+        private int count;
+
+        /**
+         * Inserts the separator after the key at {@code index - 1} and the child after the child at {@code index}.
+         */
+        private void insert(int index, Object separator, Object child)
+        {
+            int moved = this.count - 1 - index;
+            System.arraycopy(this.keys, index, this.keys, index + 1, moved);
+            System.arraycopy(this.children, index + 1, this.children, index + 2, moved);
+            this.keys[index] = separator;
+            this.children[index + 1] = child;
+            this.count++;
+        }
+
+        /**
+         * Removes the separator at {@code index} and the child to its right.
+         */
+        private void removeAt(int index)
+        {
+            int moved = this.count - 2 - index;
+            System.arraycopy(this.keys, index + 1, this.keys, index, moved);
+            System.arraycopy(this.children, index + 2, this.children, index + 1, moved);
+            this.count--;
+            this.keys[this.count - 1] = null;
+            this.children[this.count] = null;
+        }
+
+        /**
+         * Splits this full branch while inserting a separator and child as {@link #insert} would, moving the upper
+         * children to the empty right branch, and returns the separator to insert between the two in the parent.
+         */
+        private Object split(Branch right, int index, Object separator, Object child, boolean append)
+        {
+            Object[] allKeys = new Object[NODE_CAPACITY];
+            Object[] allChildren = new Object[NODE_CAPACITY + 1];
+            System.arraycopy(this.keys, 0, allKeys, 0, index);
+            allKeys[index] = separator;
+            System.arraycopy(this.keys, index, allKeys, index + 1, NODE_CAPACITY - 1 - index);
+            System.arraycopy(this.children, 0, allChildren, 0, index + 1);
+            allChildren[index + 1] = child;
+            System.arraycopy(this.children, index + 1, allChildren, index + 2, NODE_CAPACITY - 1 - index);
+            int leftCount = append ? NODE_CAPACITY - 1 : (NODE_CAPACITY + 1) / 2;
+            this.fill(allKeys, allChildren, 0, leftCount);
+            right.fill(allKeys, allChildren, leftCount, NODE_CAPACITY + 1 - leftCount);
+            return allKeys[leftCount - 1];
+        }
+
+        /**
+         * Replaces the contents of this branch with {@code length} children starting at {@code from} and the
+         * separators between them.
+         */
+        private void fill(Object[] allKeys, Object[] allChildren, int from, int length)
+        {
+            Arrays.fill(this.keys, null);
+            Arrays.fill(this.children, null);
+            System.arraycopy(allChildren, from, this.children, 0, length);
+            System.arraycopy(allKeys, from, this.keys, 0, length - 1);
+            this.count = length;
+        }
+    }
+
+    private abstract class BTreeIterator<E> implements Iterator<E>
+    {
+        private final boolean hasHigh;
+        private final Object high;
+        private Leaf leaf;
+        private int index;
+        private Object lastKey;
+        private boolean canRemove;
+        private int expectedModCount = BTreeSortedMap.this.modCount;
+
+        protected BTreeIterator(boolean hasLow, Object low, boolean hasHigh, Object high)
+        {
+            this.hasHigh = hasHigh;
+            this.high = high;
+            if (hasLow)
+            {
+                this.seek(low);
+            }
+            else
+            {
+                this.leaf = BTreeSortedMap.this.firstLeaf();
+                this.checkHigh();
+            }
+        }
+
+        protected BTreeIterator(Leaf leaf, int index)
+        {
+            this.hasHigh = false;
+            this.high = null;
+            this.leaf = leaf;
+            this.index = index;
+        }
+
+        protected abstract E element(Leaf leaf, int index);
+
+        private void seek(Object key)
+        {
+            this.leaf = BTreeSortedMap.this.leafFor(key);
+            if (this.leaf != null)
+            {
+                int found = BTreeSortedMap.this.search(this.leaf, key);
+                this.index = found < 0 ? -found - 1 : found;
+                if (this.index == this.leaf.count)
+                {
+                    this.leaf = this.leaf.next;
+                    this.index = 0;
+                }
+            }
+            this.checkHigh();
+        }
+
+        private void checkHigh()
+        {
+            if (this.hasHigh && this.leaf != null && BTreeSortedMap.this.compare(this.leaf.keys[this.index], this.high) >= 0)
+            {
+                this.leaf = null;
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.leaf != null;
+        }
+
+        @Override
+        public E next()
+        {
+            if (BTreeSortedMap.this.modCount != this.expectedModCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            Leaf current = this.leaf;
+            if (current == null)
+            {
+                throw new NoSuchElementException();
+            }
+            int currentIndex = this.index;
+            this.lastKey = current.keys[currentIndex];
+            this.canRemove = true;
+            this.index++;
+            if (this.index == current.count)
+            {
+                this.leaf = current.next;
+                this.index = 0;
+            }
+            this.checkHigh();
+            return this.element(current, currentIndex);
+        }
+
+        @Override
+        public void remove()
+        {
+            if (!this.canRemove)
+            {
+                throw new IllegalStateException();
+            }
+            if (BTreeSortedMap.this.modCount != this.expectedModCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            BTreeSortedMap.this.remove(this.lastKey);
+            this.expectedModCount = BTreeSortedMap.this.modCount;
+            this.canRemove = false;
+            if (this.leaf != null)
+            {
+                this.seek(this.lastKey);
+            }
+        }
+    }
+
+    private final class KeyIterator extends BTreeIterator<K>
+    {
+        private KeyIterator(boolean hasLow, Object low, boolean hasHigh, Object high)
+        {
+            super(hasLow, low, hasHigh, high);
+        }
+
+        @Override
+        protected K element(Leaf leaf, int index)
+        {
+            return (K) leaf.keys[index];
+        }
+    }
+
+    private final class ValueIterator extends BTreeIterator<V>
+    {
+        private ValueIterator(boolean hasLow, Object low, boolean hasHigh, Object high)
+        {
+            super(hasLow, low, hasHigh, high);
+        }
+
+        @Override
+        protected V element(Leaf leaf, int index)
+        {
+            return (V) leaf.values[index];
+        }
+    }
+
+    private final class EntryIterator extends BTreeIterator<Entry<K, V>>
+    {
+        private EntryIterator(boolean hasLow, Object low, boolean hasHigh, Object high)
+        {
+            super(hasLow, low, hasHigh, high);
+        }
+
+        private EntryIterator(Leaf leaf, int index)
+        {
+            super(leaf, index);
+        }
+
+        @Override
+        protected Entry<K, V> element(Leaf leaf, int index)
+        {
+            return new BTreeEntry((K) leaf.keys[index], (V) leaf.values[index]);
+        }
+    }
+
+    private final class BTreeEntry extends AbstractMap.SimpleEntry<K, V>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private BTreeEntry(K key, V value)
+        {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value)
+        {
+            BTreeSortedMap.this.replace(this.getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    /**
+     * A live view of the keys from {@code low} inclusive to {@code high} exclusive, where either bound may be absent.
+     */
+    private final class SubMap extends AbstractMap<K, V> implements SortedMap<K, V>
+    {
+        private final boolean hasLow;
+        private final K low;
+        private final boolean hasHigh;
+        private final K high;
+
+        private SubMap(boolean hasLow, K low, boolean hasHigh, K high)
+        {
+            this.hasLow = hasLow;
+            this.low = low;
+            this.hasHigh = hasHigh;
+            this.high = high;
+        }
+
+        private boolean tooLow(Object key)
+        {
+            return this.hasLow && BTreeSortedMap.this.compare(key, this.low) < 0;
+        }
+
+        private boolean tooHigh(Object key)
+        {
+            return this.hasHigh && BTreeSortedMap.this.compare(key, this.high) >= 0;
+        }
+
+        private boolean inRange(Object key)
+        {
+            return !this.tooLow(key) && !this.tooHigh(key);
+        }
+
+        private boolean inClosedRange(Object key)
+        {
+            return !this.tooLow(key) && (!this.hasHigh || BTreeSortedMap.this.compare(key, this.high) <= 0);
+        }
+
+        private boolean isUnbounded()
+        {
+            return !this.hasLow && !this.hasHigh;
+        }
+
+        @Override
+        public Comparator<? super K> comparator()
+        {
+            return BTreeSortedMap.this.comparator;
+        }
+
+        @Override
+        public SortedMap<K, V> subMap(K fromKey, K toKey)
+        {
+            if (BTreeSortedMap.this.compare(fromKey, toKey) > 0)
+            {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            if (!this.inRange(fromKey))
+            {
+                throw new IllegalArgumentException("fromKey out of range");
+            }
+            if (!this.inClosedRange(toKey))
+            {
+                throw new IllegalArgumentException("toKey out of range");
+            }
+            return new SubMap(true, fromKey, true, toKey);
+        }
+
+        @Override
+        public SortedMap<K, V> headMap(K toKey)
+        {
+            BTreeSortedMap.this.compare(toKey, toKey);
+            if (!this.inClosedRange(toKey))
+            {
+                throw new IllegalArgumentException("toKey out of range");
+            }
+            return new SubMap(this.hasLow, this.low, true, toKey);
+        }
+
+        @Override
+        public SortedMap<K, V> tailMap(K fromKey)
+        {
+            BTreeSortedMap.this.compare(fromKey, fromKey);
+            if (!this.inRange(fromKey))
+            {
+                throw new IllegalArgumentException("fromKey out of range");
+            }
+            return new SubMap(true, fromKey, this.hasHigh, this.high);
+        }
+
+        @Override
+        public K firstKey()
+        {
+            Iterator<K> iterator = new KeyIterator(this.hasLow, this.low, this.hasHigh, this.high);
+            if (!iterator.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return iterator.next();
+        }
+
+        @Override
+        public K lastKey()
+        {
+            if (!this.hasHigh)
+            {
+                return BTreeSortedMap.this.lastKey();
+            }
+            Object key = BTreeSortedMap.this.lowerKey(this.high);
+            if (key == NONE || this.tooLow(key))
+            {
+                throw new NoSuchElementException();
+            }
+            return (K) key;
+        }
+
+        @Override
+        public int size()
+        {
+            if (this.isUnbounded())
+            {
+                return BTreeSortedMap.this.size;
+            }
+            return BTreeSortedMap.this.countRange(this.hasLow, this.low, this.hasHigh, this.high);
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return !new KeyIterator(this.hasLow, this.low, this.hasHigh, this.high).hasNext();
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return this.inRange(key) && BTreeSortedMap.this.containsKey(key);
+        }
+
+        @Override
+        public V get(Object key)
+        {
+            return this.inRange(key) ? BTreeSortedMap.this.get(key) : null;
+        }
+
+        @Override
+        public V put(K key, V value)
+        {
+            if (!this.inRange(key))
+            {
+                throw new IllegalArgumentException("key out of range");
+            }
+            return BTreeSortedMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key)
+        {
+            return this.inRange(key) ? BTreeSortedMap.this.remove(key) : null;
+        }
+
+        @Override
+        public void clear()
+        {
+            if (this.isUnbounded())
+            {
+                BTreeSortedMap.this.clear();
+            }
+            else
+            {
+                Iterator<K> iterator = new KeyIterator(this.hasLow, this.low, this.hasHigh, this.high);
+                while (iterator.hasNext())
+                {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+        }
+
+        @Override
+        public Set<K> keySet()
+        {
+            return new AbstractSet<K>()
+            {
+                @Override
+                public Iterator<K> iterator()
+                {
+                    return new KeyIterator(SubMap.this.hasLow, SubMap.this.low, SubMap.this.hasHigh, SubMap.this.high);
+                }
+
+                @Override
+                public int size()
+                {
+                    return SubMap.this.size();
+                }
+
+                @Override
+                public boolean contains(Object o)
+                {
+                    return SubMap.this.containsKey(o);
+                }
+
+                @Override
+                public boolean remove(Object o)
+                {
+                    if (SubMap.this.containsKey(o))
+                    {
+                        BTreeSortedMap.this.remove(o);
+                        return true;
+                    }
+                    return false;
+                }
+
+                @Override
+                public void clear()
+                {
+                    SubMap.this.clear();
+                }
+            };
+        }
+
+        @Override
+        public Collection<V> values()
+        {
+            return new AbstractCollection<V>()
+            {
+                @Override
+                public Iterator<V> iterator()
+                {
+                    return new ValueIterator(SubMap.this.hasLow, SubMap.this.low, SubMap.this.hasHigh, SubMap.this.high);
+                }
+
+                @Override
+                public int size()
+                {
+                    return SubMap.this.size();
+                }
+
+                @Override
+                public void clear()
+                {
+                    SubMap.this.clear();
+                }
+            };
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet()
+        {
+            return new AbstractSet<Entry<K, V>>()
+            {
+                @Override
+                public Iterator<Entry<K, V>> iterator()
+                {
+                    return new EntryIterator(SubMap.this.hasLow, SubMap.this.low, SubMap.this.hasHigh, SubMap.this.high);
+                }
+
+                @Override
+                public int size()
+                {
+                    return SubMap.this.size();
+                }
+
+                @Override
+                public boolean contains(Object o)
+                {
+                    if (!(o instanceof Entry))
+                    {
+                        return false;
+                    }
+                    Entry<?, ?> entry = (Entry<?, ?>) o;
+                    Object key = entry.getKey();
+                    return SubMap.this.containsKey(key) && Objects.equals(BTreeSortedMap.this.get(key), entry.getValue());
+                }
+
+                @Override
+                public boolean remove(Object o)
+                {
+                    if (this.contains(o))
+                    {
+                        BTreeSortedMap.this.remove(((Entry<?, ?>) o).getKey());
+                        return true;
+                    }
+                    return false;
+                }
+
+                @Override
+                public void clear()
+                {
+                    SubMap.this.clear();
+                }
+            };
+        }
+    }
+}
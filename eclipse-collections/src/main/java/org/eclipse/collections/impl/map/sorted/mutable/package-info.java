@@ -14,6 +14,9 @@
  *     This package contains the following implementations:
  * <ul>
  *     <li>
+ *          {@link org.eclipse.collections.impl.map.sorted.mutable.BTreeSortedMap} - a {@link org.eclipse.collections.api.map.sorted.MutableSortedMap} backed by a B+-tree whose leaves store keys and values in arrays.
+ *     </li>
+ *     <li>
  *          {@link org.eclipse.collections.impl.map.sorted.mutable.SortedMapAdapter} - a {@link org.eclipse.collections.api.map.sorted.MutableSortedMap} wrapper around a {@link java.util.SortedMap} interface instance.
  *     </li>
  *     <li>
@@ -23,11 +23,15 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.annotation.Beta;
 import org.eclipse.collections.api.block.HashingStrategy;
 import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.api.block.function.Function0;
 import org.eclipse.collections.api.block.function.Function2;
+import org.eclipse.collections.api.block.predicate.Predicate2;
 import org.eclipse.collections.api.block.procedure.Procedure;
 import org.eclipse.collections.api.block.procedure.Procedure2;
 import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
@@ -35,6 +39,7 @@ import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.map.ImmutableMap;
 import org.eclipse.collections.api.map.MapIterable;
 import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.ParallelMapIterable;
 import org.eclipse.collections.api.map.UnsortedMapIterable;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.block.factory.Functions;
@@ -42,11 +47,16 @@ import org.eclipse.collections.impl.block.factory.Predicates;
 import org.eclipse.collections.impl.block.procedure.AppendStringProcedure;
 import org.eclipse.collections.impl.block.procedure.MapCollectProcedure;
 import org.eclipse.collections.impl.factory.HashingStrategyMaps;
+import org.eclipse.collections.impl.lazy.parallel.IndexRangeBatchLazyIterable;
+import org.eclipse.collections.impl.lazy.parallel.map.AbstractMapBatch;
+import org.eclipse.collections.impl.lazy.parallel.map.AbstractParallelMapIterable;
+import org.eclipse.collections.impl.lazy.parallel.map.RootMapBatch;
 import org.eclipse.collections.impl.list.mutable.FastList;
 import org.eclipse.collections.impl.map.mutable.AbstractMutableMap;
 import org.eclipse.collections.impl.parallel.BatchIterable;
 import org.eclipse.collections.impl.set.strategy.mutable.UnifiedSetWithHashingStrategy;
 import org.eclipse.collections.impl.tuple.ImmutableEntry;
+import org.eclipse.collections.impl.tuple.Tuples;
 import org.eclipse.collections.impl.utility.ArrayIterate;
 import org.eclipse.collections.impl.utility.Iterate;
 
@@ -1030,7 +1040,12 @@ public class UnifiedMapWithHashingStrategy<K, V> extends AbstractMutableMap<K, V
     @Override
     public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
     {
-        for (int i = 0; i < this.table.length; i += 2)
+        this.forEachKeyValue(procedure, 0, this.table.length);
+    }
+
+    private void forEachKeyValue(Procedure2<? super K, ? super V> procedure, int start, int end)
+    {
+        for (int i = start; i < end; i += 2)
         {
             Object cur = this.table[i];
             if (cur == CHAINED_KEY)
@@ -1044,6 +1059,36 @@ public class UnifiedMapWithHashingStrategy<K, V> extends AbstractMutableMap<K, V
         }
     }
 
+    private Pair<K, V> detect(Predicate2<? super K, ? super V> predicate, int start, int end)
+    {
+        for (int i = start; i < end; i += 2)
+        {
+            if (this.table[i] == CHAINED_KEY)
+            {
+                Object[] chainedTable = (Object[]) this.table[i + 1];
+                for (int j = 0; j < chainedTable.length && chainedTable[j] != null; j += 2)
+                {
+                    K key = this.nonSentinel(chainedTable[j]);
+                    V value = (V) chainedTable[j + 1];
+                    if (predicate.accept(key, value))
+                    {
+                        return Tuples.pair(key, value);
+                    }
+                }
+            }
+            else if (this.table[i] != null)
+            {
+                K key = this.nonSentinel(this.table[i]);
+                V value = (V) this.table[i + 1];
+                if (predicate.accept(key, value))
+                {
+                    return Tuples.pair(key, value);
+                }
+            }
+        }
+        return null;
+    }
+
     @Override
     public V getFirst()
     {
@@ -2948,4 +2993,81 @@ public class UnifiedMapWithHashingStrategy<K, V> extends AbstractMutableMap<K, V
     {
         return HashingStrategyMaps.immutable.withAll(this);
     }
+
+    /**
+     * Returns a parallel view of the values of this map, which can also traverse the key/value pairs. Each batch covers
+     * up to {@code batchSize} slots of the table, including the chains hanging off those slots.
+     *
+     * @since 11.1
+     */
+    @Beta
+    public ParallelMapIterable<K, V> asParallel(ExecutorService executorService, int batchSize)
+    {
+        if (executorService == null)
+        {
+            throw new NullPointerException();
+        }
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException();
+        }
+        return new UnifiedMapWithHashingStrategyParallelIterable(executorService, batchSize);
+    }
+
+    private final class UnifiedMapWithHashingStrategyBatch extends AbstractMapBatch<K, V>
+    {
+        private final int chunkStartIndex;
+        private final int chunkEndIndex;
+
+        private UnifiedMapWithHashingStrategyBatch(int chunkStartSlot, int chunkEndSlot)
+        {
+            this.chunkStartIndex = chunkStartSlot * 2;
+            this.chunkEndIndex = chunkEndSlot * 2;
+        }
+
+        @Override
+        public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+        {
+            UnifiedMapWithHashingStrategy.this.forEachKeyValue(procedure, this.chunkStartIndex, this.chunkEndIndex);
+        }
+
+        @Override
+        protected Pair<K, V> detectKeyValue(Predicate2<? super K, ? super V> predicate)
+        {
+            return UnifiedMapWithHashingStrategy.this.detect(predicate, this.chunkStartIndex, this.chunkEndIndex);
+        }
+    }
+
+    private final class UnifiedMapWithHashingStrategyParallelIterable extends AbstractParallelMapIterable<K, V, RootMapBatch<K, V>>
+    {
+        private final ExecutorService executorService;
+        private final int batchSize;
+
+        private UnifiedMapWithHashingStrategyParallelIterable(ExecutorService executorService, int batchSize)
+        {
+            this.executorService = executorService;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public ExecutorService getExecutorService()
+        {
+            return this.executorService;
+        }
+
+        @Override
+        public int getBatchSize()
+        {
+            return this.batchSize;
+        }
+
+        @Override
+        public LazyIterable<RootMapBatch<K, V>> split()
+        {
+            return new IndexRangeBatchLazyIterable<>(
+                    UnifiedMapWithHashingStrategy.this.table.length / 2,
+                    this.batchSize,
+                    UnifiedMapWithHashingStrategyBatch::new);
+        }
+    }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.memory;
+
+/**
+ * An estimate of the memory one collection instance retains, as computed by {@link MemoryFootprints}.
+ * <p>
+ * The shallow bytes are the bytes of the collection's own structure: the collection object, its tables and arrays, and
+ * any nodes, buckets or nested collections it allocated. The deep bytes add the keys, values and elements the
+ * collection refers to. Objects shared by every instance, such as the sentinels held in static fields, are not
+ * counted in either.
+ * <p>
+ * The table statistics describe the slots of the collection's backing array. For a chained hash table such as
+ * {@link org.eclipse.collections.impl.map.mutable.UnifiedMap}, a slot is one bucket; for an open addressing table such
+ * as {@link org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap}, it is one key position; for a list,
+ * it is one element of the backing array. Collections without a backing array report a capacity equal to their size.
+ *
+ * @since 11.1
+ */
+public final class MemoryFootprint
+{
+    private final String typeName;
+    private final int size;
+    private final int capacity;
+    private final int occupiedSlots;
+    private final int chainedBuckets;
+    private final long sentinelBytes;
+    private final long shallowBytes;
+    private final long deepBytes;
+
+    public MemoryFootprint(
+            String typeName,
+            int size,
+            int capacity,
+            int occupiedSlots,
+            int chainedBuckets,
+            long sentinelBytes,
+            long shallowBytes,
+            long deepBytes)
+    {
+        this.typeName = typeName;
+        this.size = size;
+        this.capacity = capacity;
+        this.occupiedSlots = occupiedSlots;
+        this.chainedBuckets = chainedBuckets;
+        this.sentinelBytes = sentinelBytes;
+        this.shallowBytes = shallowBytes;
+        this.deepBytes = deepBytes;
+    }
+
+    public String getTypeName()
+    {
+        return this.typeName;
+    }
+
+    /**
+     * Returns the number of elements, or of key-value mappings, in the collection.
+     */
+    public int getSize()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of slots in the backing table.
+     */
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the number of slots that hold live data, including the slots that head a chain.
+     */
+    public int getOccupiedSlots()
+    {
+        return this.occupiedSlots;
+    }
+
+    /**
+     * Returns the number of slots that hold neither live data nor the head of a chain. Slots holding the tombstone of
+     * a removed entry count as wasted.
+     */
+    public int getWastedSlots()
+    {
+        return this.capacity - this.occupiedSlots;
+    }
+
+    /**
+     * Returns the ratio of the size to the capacity. A chained table may have a load greater than one.
+     */
+    public double getLoad()
+    {
+        return this.capacity == 0 ? 0.0 : (double) this.size / this.capacity;
+    }
+
+    /**
+     * Returns the number of slots whose entries collided and were moved into a chain.
+     */
+    public int getChainedBuckets()
+    {
+        return this.chainedBuckets;
+    }
+
+    /**
+     * Returns the bytes spent on markers rather than on data: the chain markers and the unused positions of chains in a
+     * chained table, and the tombstones of removed entries and the side storage for sentinel keys in an open
+     * addressing table.
+     */
+    public long getSentinelBytes()
+    {
+        return this.sentinelBytes;
+    }
+
+    public long getShallowBytes()
+    {
+        return this.shallowBytes;
+    }
+
+    public long getDeepBytes()
+    {
+        return this.deepBytes;
+    }
+
+    public double getShallowBytesPerElement()
+    {
+        return this.size == 0 ? this.shallowBytes : (double) this.shallowBytes / this.size;
+    }
+
+    public double getDeepBytesPerElement()
+    {
+        return this.size == 0 ? this.deepBytes : (double) this.deepBytes / this.size;
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.typeName
+                + "{size=" + this.size
+                + ", capacity=" + this.capacity
+                + ", load=" + String.format("%.3f", this.getLoad())
+                + ", wastedSlots=" + this.getWastedSlots()
+                + ", chainedBuckets=" + this.chainedBuckets
+                + ", sentinelBytes=" + this.sentinelBytes
+                + ", shallowBytes=" + this.shallowBytes
+                + ", deepBytes=" + this.deepBytes
+                + '}';
+    }
+}
@@ -0,0 +1,620 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.memory;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.collections.api.PrimitiveIterable;
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.multimap.Multimap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.bag.mutable.AbstractHashBag;
+import org.eclipse.collections.impl.block.factory.HashingStrategies;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.map.mutable.OpenAddressingHashMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.strategy.mutable.UnifiedMapWithHashingStrategy;
+import org.eclipse.collections.impl.multimap.AbstractImmutableMultimap;
+import org.eclipse.collections.impl.multimap.AbstractMutableMultimap;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.set.strategy.mutable.UnifiedSetWithHashingStrategy;
+
+/**
+ * Estimates the memory retained by a collection instance, by walking the object graph reachable from it and summing
+ * the sizes of the objects it finds under an {@link ObjectLayout}. The walk is reflective and visits every object
+ * once, so it costs time proportional to the size of the collection and is meant for diagnostics, not for hot paths.
+ * <p>
+ * The table statistics are read from the internals of {@link UnifiedMap}, {@link UnifiedSet}, their hashing strategy
+ * variants, {@link OpenAddressingHashMap}, {@link ConcurrentHashMap}, {@link FastList}, the hash bags, the multimaps,
+ * and the generated primitive hash maps, hash sets and array lists. Other collections report a capacity equal to their
+ * size.
+ * <p>
+ * Objects whose fields the JVM does not open to reflection, such as the internals of some JDK classes on Java 9 and
+ * later, are counted by their own size only, except for strings and atomic arrays, whose contents are estimated.
+ *
+ * @since 11.1
+ */
+public final class MemoryFootprints
+{
+    private static final boolean COMPACT_STRINGS = MemoryFootprints.declaresField(String.class, "coder");
+
+    private MemoryFootprints()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Returns the footprint of the given collection, map or multimap under the layout of the running JVM.
+     */
+    public static MemoryFootprint of(Object collection)
+    {
+        return MemoryFootprints.of(collection, ObjectLayout.current());
+    }
+
+    /**
+     * Returns the footprint of the given collection, map or multimap under the given layout.
+     */
+    public static MemoryFootprint of(Object collection, ObjectLayout layout)
+    {
+        Objects.requireNonNull(collection);
+        Objects.requireNonNull(layout);
+
+        MutableSet<Object> elements = MemoryFootprints.elementsOf(collection);
+        ObjectGraph graph = new ObjectGraph(layout);
+        long shallowBytes = graph.measure(collection, elements);
+        long deepBytes = shallowBytes;
+        for (Object element : elements)
+        {
+            deepBytes += graph.measure(element, null);
+        }
+
+        int size = MemoryFootprints.sizeOf(collection);
+        TableStatistics table = MemoryFootprints.tableStatistics(collection, size, layout);
+        return new MemoryFootprint(
+                collection.getClass().getSimpleName(),
+                size,
+                table.capacity,
+                table.occupiedSlots,
+                table.chainedBuckets,
+                table.sentinelBytes,
+                shallowBytes,
+                deepBytes);
+    }
+
+    private static MutableSet<Object> elementsOf(Object collection)
+    {
+        MutableSet<Object> elements = UnifiedSetWithHashingStrategy.newSet(HashingStrategies.identityStrategy());
+        if (collection instanceof Multimap)
+        {
+            ((Multimap<?, ?>) collection).forEachKeyValue((key, value) -> MemoryFootprints.addElements(elements, key, value));
+        }
+        else if (collection instanceof MapIterable)
+        {
+            ((MapIterable<?, ?>) collection).forEachKeyValue((key, value) -> MemoryFootprints.addElements(elements, key, value));
+        }
+        else if (collection instanceof Map)
+        {
+            ((Map<?, ?>) collection).forEach((key, value) -> MemoryFootprints.addElements(elements, key, value));
+        }
+        else if (collection instanceof Iterable)
+        {
+            for (Object each : (Iterable<?>) collection)
+            {
+                MemoryFootprints.addElements(elements, each, null);
+            }
+        }
+        else
+        {
+            Iterable<?> keys = MemoryFootprints.keysView(collection);
+            if (keys != null)
+            {
+                for (Object each : keys)
+                {
+                    MemoryFootprints.addElements(elements, each, null);
+                }
+            }
+        }
+        return elements;
+    }
+
+    private static void addElements(MutableSet<Object> elements, Object key, Object value)
+    {
+        if (key != null)
+        {
+            elements.add(key);
+        }
+        if (value != null)
+        {
+            elements.add(value);
+        }
+    }
+
+    /**
+     * Returns the keys of an object-to-primitive map, which has no common interface to read them through.
+     */
+    private static Iterable<?> keysView(Object collection)
+    {
+        try
+        {
+            Method method = collection.getClass().getMethod("keysView");
+            Object keys = method.invoke(collection);
+            return keys instanceof Iterable ? (Iterable<?>) keys : null;
+        }
+        catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | RuntimeException ignored)
+        {
+            return null;
+        }
+    }
+
+    private static int sizeOf(Object collection)
+    {
+        if (collection instanceof RichIterable)
+        {
+            return ((RichIterable<?>) collection).size();
+        }
+        if (collection instanceof PrimitiveIterable)
+        {
+            return ((PrimitiveIterable) collection).size();
+        }
+        if (collection instanceof Multimap)
+        {
+            return ((Multimap<?, ?>) collection).size();
+        }
+        if (collection instanceof Map)
+        {
+            return ((Map<?, ?>) collection).size();
+        }
+        if (collection instanceof Collection)
+        {
+            return ((Collection<?>) collection).size();
+        }
+        return 0;
+    }
+
+    private static TableStatistics tableStatistics(Object collection, int size, ObjectLayout layout)
+    {
+        if (collection instanceof UnifiedMap)
+        {
+            return MemoryFootprints.chainedMapStatistics(collection, UnifiedMap.class, layout);
+        }
+        if (collection instanceof UnifiedMapWithHashingStrategy)
+        {
+            return MemoryFootprints.chainedMapStatistics(collection, UnifiedMapWithHashingStrategy.class, layout);
+        }
+        if (collection instanceof UnifiedSet || collection instanceof UnifiedSetWithHashingStrategy)
+        {
+            return MemoryFootprints.chainedSetStatistics(collection, layout);
+        }
+        if (collection instanceof OpenAddressingHashMap)
+        {
+            OpenAddressingHashMap<?, ?> map = (OpenAddressingHashMap<?, ?>) collection;
+            Object[] table = (Object[]) MemoryFootprints.readField(collection, "table");
+            long sentinelBytes = 2L * layout.getReferenceBytes() * map.getDeletedSlots();
+            return new TableStatistics(table.length / 2, map.size(), 0, sentinelBytes);
+        }
+        if (collection instanceof ConcurrentHashMap)
+        {
+            return MemoryFootprints.concurrentMapStatistics(collection);
+        }
+        if (collection instanceof AbstractHashBag)
+        {
+            Object items = MemoryFootprints.readField(collection, "items");
+            return MemoryFootprints.tableStatistics(items, MemoryFootprints.sizeOf(items), layout);
+        }
+        if (collection instanceof AbstractMutableMultimap || collection instanceof AbstractImmutableMultimap)
+        {
+            Object map = MemoryFootprints.readField(collection, "map");
+            return MemoryFootprints.tableStatistics(map, MemoryFootprints.sizeOf(map), layout);
+        }
+        if (MemoryFootprints.declaresField(collection.getClass(), "occupiedWithSentinels"))
+        {
+            return MemoryFootprints.openAddressingStatistics(collection, layout);
+        }
+        Object items = MemoryFootprints.readField(collection, "items");
+        if (items != null && items.getClass().isArray())
+        {
+            return new TableStatistics(Array.getLength(items), size, 0, 0L);
+        }
+        return new TableStatistics(size, size, 0, 0L);
+    }
+
+    /**
+     * Reads a table of alternating keys and values, where a colliding bucket holds a chain marker in its key slot and
+     * a growable array of alternating keys and values in its value slot.
+     */
+    private static TableStatistics chainedMapStatistics(Object map, Class<?> declaringClass, ObjectLayout layout)
+    {
+        Object[] table = (Object[]) MemoryFootprints.readField(map, "table");
+        Object chainedKey = MemoryFootprints.readStaticField(declaringClass, "CHAINED_KEY");
+        int referenceBytes = layout.getReferenceBytes();
+        int occupiedSlots = 0;
+        int chainedBuckets = 0;
+        long sentinelBytes = 0L;
+        for (int i = 0; i < table.length; i += 2)
+        {
+            Object key = table[i];
+            if (key == chainedKey)
+            {
+                occupiedSlots++;
+                chainedBuckets++;
+                Object[] chain = (Object[]) table[i + 1];
+                int entries = 0;
+                for (int j = 0; j < chain.length && chain[j] != null; j += 2)
+                {
+                    entries++;
+                }
+                sentinelBytes += 2L * referenceBytes + layout.arrayBytes(Object.class, chain.length) - 2L * referenceBytes * entries;
+            }
+            else if (key != null)
+            {
+                occupiedSlots++;
+            }
+        }
+        return new TableStatistics(table.length / 2, occupiedSlots, chainedBuckets, sentinelBytes);
+    }
+
+    /**
+     * Reads a table of elements, where a colliding bucket holds a linked list of four-slot bucket objects, the last
+     * slot of each pointing to the next bucket once the first three are full.
+     */
+    private static TableStatistics chainedSetStatistics(Object set, ObjectLayout layout)
+    {
+        Object[] table = (Object[]) MemoryFootprints.readField(set, "table");
+        int referenceBytes = layout.getReferenceBytes();
+        int occupiedSlots = 0;
+        int chainedBuckets = 0;
+        long sentinelBytes = 0L;
+        for (Object slot : table)
+        {
+            if (slot == null)
+            {
+                continue;
+            }
+            occupiedSlots++;
+            if (MemoryFootprints.isChainedBucket(slot))
+            {
+                chainedBuckets++;
+                sentinelBytes += referenceBytes;
+                for (Object bucket = slot; bucket != null; )
+                {
+                    sentinelBytes += layout.instanceBytes(bucket.getClass());
+                    Object next = null;
+                    for (String name : new String[]{"zero", "one", "two", "three"})
+                    {
+                        Object element = MemoryFootprints.readField(bucket, name);
+                        if (MemoryFootprints.isChainedBucket(element))
+                        {
+                            next = element;
+                        }
+                        else if (element != null)
+                        {
+                            sentinelBytes -= referenceBytes;
+                        }
+                    }
+                    bucket = next;
+                }
+            }
+        }
+        return new TableStatistics(table.length, occupiedSlots, chainedBuckets, sentinelBytes);
+    }
+
+    private static boolean isChainedBucket(Object object)
+    {
+        return object != null && "ChainedBucket".equals(object.getClass().getSimpleName());
+    }
+
+    /**
+     * Reads a table of linked entries, whose last slot is reserved for the resize state.
+     */
+    private static TableStatistics concurrentMapStatistics(Object map)
+    {
+        AtomicReferenceArray<?> table = (AtomicReferenceArray<?>) MemoryFootprints.readField(map, "table");
+        int capacity = table.length() - 1;
+        int occupiedSlots = 0;
+        int chainedBuckets = 0;
+        for (int i = 0; i < capacity; i++)
+        {
+            Object entry = table.get(i);
+            if (entry != null && "Entry".equals(entry.getClass().getSimpleName()))
+            {
+                occupiedSlots++;
+                if (MemoryFootprints.readField(entry, "next") != null)
+                {
+                    chainedBuckets++;
+                }
+            }
+        }
+        return new TableStatistics(capacity, occupiedSlots, chainedBuckets, 0L);
+    }
+
+    /**
+     * Reads the generated open addressing maps and sets, which keep their keys in a {@code keys} or {@code table}
+     * array, or interleave keys and values in a {@code keysValues} array, and mark removed slots with a tombstone key.
+     */
+    private static TableStatistics openAddressingStatistics(Object collection, ObjectLayout layout)
+    {
+        int occupiedWithData = (Integer) MemoryFootprints.readField(collection, "occupiedWithData");
+        int occupiedWithSentinels = (Integer) MemoryFootprints.readField(collection, "occupiedWithSentinels");
+        Object keysValues = MemoryFootprints.readField(collection, "keysValues");
+        int capacity;
+        int slotBytes;
+        if (keysValues != null)
+        {
+            capacity = Array.getLength(keysValues) / 2;
+            slotBytes = 2 * layout.slotBytes(keysValues.getClass().getComponentType());
+        }
+        else
+        {
+            Object keys = MemoryFootprints.readField(collection, "keys");
+            if (keys == null)
+            {
+                keys = MemoryFootprints.readField(collection, "table");
+            }
+            capacity = Array.getLength(keys);
+            slotBytes = layout.slotBytes(keys.getClass().getComponentType());
+            Object values = MemoryFootprints.readField(collection, "values");
+            if (values != null && values.getClass().isArray())
+            {
+                slotBytes += layout.slotBytes(values.getClass().getComponentType());
+            }
+        }
+        long sentinelBytes = (long) slotBytes * occupiedWithSentinels;
+        Object sentinelValues = MemoryFootprints.readField(collection, "sentinelValues");
+        if (sentinelValues != null)
+        {
+            sentinelBytes += layout.instanceBytes(sentinelValues.getClass());
+        }
+        return new TableStatistics(capacity, occupiedWithData, 0, sentinelBytes);
+    }
+
+    private static boolean declaresField(Class<?> type, String name)
+    {
+        return MemoryFootprints.findField(type, name) != null;
+    }
+
+    private static Field findField(Class<?> type, String name)
+    {
+        for (Class<?> current = type; current != null; current = current.getSuperclass())
+        {
+            for (Field field : current.getDeclaredFields())
+            {
+                if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers()))
+                {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Object readField(Object target, String name)
+    {
+        Field field = MemoryFootprints.findField(target.getClass(), name);
+        if (field == null)
+        {
+            return null;
+        }
+        try
+        {
+            field.setAccessible(true);
+            return field.get(target);
+        }
+        catch (IllegalAccessException | RuntimeException ignored)
+        {
+            return null;
+        }
+    }
+
+    private static Object readStaticField(Class<?> type, String name)
+    {
+        try
+        {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field.get(null);
+        }
+        catch (NoSuchFieldException | IllegalAccessException e)
+        {
+            throw new IllegalStateException("Cannot read " + type.getSimpleName() + '.' + name, e);
+        }
+    }
+
+    private static final class TableStatistics
+    {
+        private final int capacity;
+        private final int occupiedSlots;
+        private final int chainedBuckets;
+        private final long sentinelBytes;
+
+        private TableStatistics(int capacity, int occupiedSlots, int chainedBuckets, long sentinelBytes)
+        {
+            this.capacity = capacity;
+            this.occupiedSlots = occupiedSlots;
+            this.chainedBuckets = chainedBuckets;
+            this.sentinelBytes = sentinelBytes;
+        }
+    }
+
+    /**
+     * Walks object graphs, visiting each object at most once across all walks. The values of the static fields of
+     * every class the walk meets are marked visited before the class's instances are followed, so sentinels and other
+     * shared constants are never counted.
+     */
+    private static final class ObjectGraph
+    {
+        private final ObjectLayout layout;
+        private final MutableSet<Object> visited = UnifiedSetWithHashingStrategy.newSet(HashingStrategies.identityStrategy());
+        private final MutableSet<Class<?>> inspectedClasses = UnifiedSet.newSet();
+        private final MutableMap<Class<?>, Field[]> referenceFields = UnifiedMap.newMap();
+        private final MutableMap<Class<?>, Long> instanceBytes = UnifiedMap.newMap();
+
+        private ObjectGraph(ObjectLayout layout)
+        {
+            this.layout = layout;
+        }
+
+        private long measure(Object root, MutableSet<Object> excluded)
+        {
+            long bytes = 0L;
+            MutableList<Object> stack = FastList.newList();
+            stack.add(root);
+            while (stack.notEmpty())
+            {
+                Object current = stack.remove(stack.size() - 1);
+                if (current != null
+                        && (excluded == null || !excluded.contains(current))
+                        && this.visited.add(current))
+                {
+                    bytes += this.visit(current, stack);
+                }
+            }
+            return bytes;
+        }
+
+        private long visit(Object object, MutableList<Object> stack)
+        {
+            Class<?> type = object.getClass();
+            if (type.isArray())
+            {
+                Class<?> componentType = type.getComponentType();
+                int length = Array.getLength(object);
+                if (!componentType.isPrimitive())
+                {
+                    for (Object each : (Object[]) object)
+                    {
+                        stack.add(each);
+                    }
+                }
+                return this.layout.arrayBytes(componentType, length);
+            }
+            if (object instanceof Class || object instanceof ClassLoader || object instanceof Thread || object instanceof Enum)
+            {
+                return 0L;
+            }
+            this.markStaticsVisited(type);
+            long bytes = this.instanceBytes.getIfAbsentPutWith(type, this.layout::instanceBytes, type);
+            if (object instanceof String)
+            {
+                return bytes + this.stringValueBytes((String) object);
+            }
+            if (object instanceof AtomicReferenceArray)
+            {
+                AtomicReferenceArray<?> array = (AtomicReferenceArray<?>) object;
+                for (int i = 0; i < array.length(); i++)
+                {
+                    stack.add(array.get(i));
+                }
+                return bytes + this.layout.arrayBytes(Object.class, array.length());
+            }
+            if (object instanceof AtomicIntegerArray)
+            {
+                return bytes + this.layout.arrayBytes(int.class, ((AtomicIntegerArray) object).length());
+            }
+            if (object instanceof AtomicLongArray)
+            {
+                return bytes + this.layout.arrayBytes(long.class, ((AtomicLongArray) object).length());
+            }
+            for (Field field : this.referenceFields.getIfAbsentPutWith(type, ObjectGraph::accessibleReferenceFields, type))
+            {
+                try
+                {
+                    stack.add(field.get(object));
+                }
+                catch (IllegalAccessException ignored)
+                {
+                    // The field was made accessible when it was collected
+                }
+            }
+            return bytes;
+        }
+
+        private long stringValueBytes(String string)
+        {
+            int length = string.length();
+            if (!COMPACT_STRINGS)
+            {
+                return this.layout.arrayBytes(char.class, length);
+            }
+            for (int i = 0; i < length; i++)
+            {
+                if (string.charAt(i) > 0xFF)
+                {
+                    return this.layout.arrayBytes(byte.class, 2 * length);
+                }
+            }
+            return this.layout.arrayBytes(byte.class, length);
+        }
+
+        private void markStaticsVisited(Class<?> type)
+        {
+            for (Class<?> current = type; current != null && this.inspectedClasses.add(current); current = current.getSuperclass())
+            {
+                for (Field field : current.getDeclaredFields())
+                {
+                    if (Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive())
+                    {
+                        try
+                        {
+                            field.setAccessible(true);
+                            Object value = field.get(null);
+                            if (value != null)
+                            {
+                                this.visited.add(value);
+                            }
+                        }
+                        catch (IllegalAccessException | RuntimeException ignored)
+                        {
+                            // Fields the JVM does not open to reflection are not followed
+                        }
+                    }
+                }
+            }
+        }
+
+        private static Field[] accessibleReferenceFields(Class<?> type)
+        {
+            MutableList<Field> fields = FastList.newList();
+            for (Class<?> current = type; current != null; current = current.getSuperclass())
+            {
+                for (Field field : current.getDeclaredFields())
+                {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive())
+                    {
+                        try
+                        {
+                            field.setAccessible(true);
+                            fields.add(field);
+                        }
+                        catch (RuntimeException ignored)
+                        {
+                            // Fields the JVM does not open to reflection are not followed
+                        }
+                    }
+                }
+            }
+            return fields.toArray(new Field[0]);
+        }
+    }
+}
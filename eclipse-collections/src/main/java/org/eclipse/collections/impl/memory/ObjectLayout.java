@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.memory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * The sizes a JVM uses to lay out objects in the heap. A layout estimates the size of an instance as its header plus
+ * the sum of its instance fields, rounded up to the object alignment, and the size of an array as its header plus its
+ * slots, rounded up the same way. Field packing differs slightly between JVMs, so the estimates are accurate to within
+ * one alignment unit per object.
+ *
+ * @since 11.1
+ */
+public final class ObjectLayout
+{
+    /**
+     * A 64-bit JVM with compressed object pointers and compressed class pointers, which is the HotSpot default for
+     * heaps smaller than 32GB.
+     */
+    public static final ObjectLayout COMPRESSED_OOPS = new ObjectLayout("64-bit, compressed oops", 12, 16, 4, 8);
+
+    /**
+     * A 64-bit JVM with uncompressed object pointers, which HotSpot uses for heaps of 32GB and larger.
+     */
+    public static final ObjectLayout UNCOMPRESSED_OOPS = new ObjectLayout("64-bit", 16, 24, 8, 8);
+
+    /**
+     * A 32-bit JVM.
+     */
+    public static final ObjectLayout JVM_32_BIT = new ObjectLayout("32-bit", 8, 12, 4, 8);
+
+    private static final long COMPRESSED_OOPS_HEAP_LIMIT = 32L * 1024L * 1024L * 1024L;
+
+    private final String description;
+    private final int objectHeaderBytes;
+    private final int arrayHeaderBytes;
+    private final int referenceBytes;
+    private final int alignmentBytes;
+
+    private ObjectLayout(String description, int objectHeaderBytes, int arrayHeaderBytes, int referenceBytes, int alignmentBytes)
+    {
+        this.description = description;
+        this.objectHeaderBytes = objectHeaderBytes;
+        this.arrayHeaderBytes = arrayHeaderBytes;
+        this.referenceBytes = referenceBytes;
+        this.alignmentBytes = alignmentBytes;
+    }
+
+    /**
+     * Returns the layout the running JVM most likely uses, judged from its data model and its maximum heap size.
+     */
+    public static ObjectLayout current()
+    {
+        if ("32".equals(System.getProperty("sun.arch.data.model")))
+        {
+            return JVM_32_BIT;
+        }
+        return Runtime.getRuntime().maxMemory() < COMPRESSED_OOPS_HEAP_LIMIT ? COMPRESSED_OOPS : UNCOMPRESSED_OOPS;
+    }
+
+    public int getObjectHeaderBytes()
+    {
+        return this.objectHeaderBytes;
+    }
+
+    public int getArrayHeaderBytes()
+    {
+        return this.arrayHeaderBytes;
+    }
+
+    public int getReferenceBytes()
+    {
+        return this.referenceBytes;
+    }
+
+    public int getAlignmentBytes()
+    {
+        return this.alignmentBytes;
+    }
+
+    /**
+     * Returns the number of bytes one slot of an array with the given component type occupies.
+     */
+    public int slotBytes(Class<?> componentType)
+    {
+        if (!componentType.isPrimitive())
+        {
+            return this.referenceBytes;
+        }
+        if (componentType == long.class || componentType == double.class)
+        {
+            return 8;
+        }
+        if (componentType == int.class || componentType == float.class)
+        {
+            return 4;
+        }
+        if (componentType == short.class || componentType == char.class)
+        {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * Returns the estimated size of an instance of the given class, counting the instance fields it declares and
+     * inherits. For an array class, use {@link #arrayBytes(Class, int)} instead.
+     */
+    public long instanceBytes(Class<?> type)
+    {
+        long bytes = this.objectHeaderBytes;
+        for (Class<?> current = type; current != null; current = current.getSuperclass())
+        {
+            for (Field field : current.getDeclaredFields())
+            {
+                if (!Modifier.isStatic(field.getModifiers()))
+                {
+                    bytes += this.slotBytes(field.getType());
+                }
+            }
+        }
+        return this.align(bytes);
+    }
+
+    /**
+     * Returns the estimated size of an array with the given component type and length.
+     */
+    public long arrayBytes(Class<?> componentType, int length)
+    {
+        return this.align(this.arrayHeaderBytes + (long) this.slotBytes(componentType) * length);
+    }
+
+    public long align(long bytes)
+    {
+        long mask = this.alignmentBytes - 1;
+        return (bytes + mask) & ~mask;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ObjectLayout[" + this.description + ']';
+    }
+}
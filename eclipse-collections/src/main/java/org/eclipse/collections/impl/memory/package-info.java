@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+/**
+ * This package contains classes which estimate the memory retained by collection instances.
+ * <p>
+ *     This package contains the following classes:
+ * <ul>
+ *     <li>
+ *          {@link org.eclipse.collections.impl.memory.MemoryFootprints} - a utility which computes the footprint of a collection.
+ *     </li>
+ *     <li>
+ *          {@link org.eclipse.collections.impl.memory.MemoryFootprint} - the shallow and deep size and the table statistics of one collection.
+ *     </li>
+ *     <li>
+ *          {@link org.eclipse.collections.impl.memory.ObjectLayout} - the object header, reference and alignment sizes of a JVM.
+ *     </li>
+ * </ul>
+ */
+package org.eclipse.collections.impl.memory;
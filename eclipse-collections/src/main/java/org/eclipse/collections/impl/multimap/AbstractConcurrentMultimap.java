@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.multimap;
+
+import java.io.IOException;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.collections.api.collection.MutableCollection;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.multimap.ConcurrentMutableMultimap;
+import org.eclipse.collections.impl.block.procedure.checked.MultimapKeyValuesSerializingProcedure;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * The base class of the multimaps that are safe for concurrent reads and writes. The keys are held in a
+ * {@link ConcurrentHashMap} and each key has its own value collection, which must tolerate being read while it is
+ * written. Writes to a key synchronize on that key's collection only, so writers to different keys never contend, and
+ * the total size is kept in a {@link LongAdder} rather than in a shared counter. A collection is only ever removed from
+ * the map while its monitor is held, and every writer checks that the collection it locked is still mapped before
+ * changing it, so no write can land in a collection that has already been dropped.
+ *
+ * @since 11.1
+ */
+public abstract class AbstractConcurrentMultimap<K, V, C extends MutableCollection<V>>
+        extends AbstractMutableMultimap<K, V, C>
+        implements ConcurrentMutableMultimap<K, V>
+{
+    private final LongAdder totalSizeAdder = new LongAdder();
+
+    protected AbstractConcurrentMultimap()
+    {
+    }
+
+    protected AbstractConcurrentMultimap(int initialCapacity)
+    {
+        super(initialCapacity);
+    }
+
+    @Override
+    protected MutableMap<K, C> createMap()
+    {
+        return ConcurrentHashMap.newMap();
+    }
+
+    @Override
+    protected MutableMap<K, C> createMapWithKeyCount(int keyCount)
+    {
+        return ConcurrentHashMap.newMap(keyCount);
+    }
+
+    @Override
+    public int size()
+    {
+        return (int) this.totalSizeAdder.sum();
+    }
+
+    @Override
+    protected void incrementTotalSize()
+    {
+        this.totalSizeAdder.increment();
+    }
+
+    @Override
+    protected void decrementTotalSize()
+    {
+        this.totalSizeAdder.decrement();
+    }
+
+    @Override
+    protected void addToTotalSize(int value)
+    {
+        this.totalSizeAdder.add(value);
+    }
+
+    @Override
+    protected void subtractFromTotalSize(int value)
+    {
+        this.totalSizeAdder.add(-value);
+    }
+
+    @Override
+    protected void clearTotalSize()
+    {
+        this.totalSizeAdder.reset();
+    }
+
+    private C getIfAbsentPutCollection(K key)
+    {
+        return this.map.getIfAbsentPutWith(key, this.createCollectionBlock(), this);
+    }
+
+    @Override
+    public boolean put(K key, V value)
+    {
+        while (true)
+        {
+            C collection = this.getIfAbsentPutCollection(key);
+            synchronized (collection)
+            {
+                if (this.map.get(key) == collection)
+                {
+                    if (collection.add(value))
+                    {
+                        this.incrementTotalSize();
+                        return true;
+                    }
+                    return false;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean putAll(K key, Iterable<? extends V> values)
+    {
+        if (Iterate.isEmpty(values))
+        {
+            return false;
+        }
+        while (true)
+        {
+            C collection = this.getIfAbsentPutCollection(key);
+            synchronized (collection)
+            {
+                if (this.map.get(key) == collection)
+                {
+                    int oldSize = collection.size();
+                    int newSize = Iterate.addAllTo(values, collection).size();
+                    this.addToTotalSize(newSize - oldSize);
+                    return newSize > oldSize;
+                }
+            }
+        }
+    }
+
+    @Override
+    public ConcurrentMutableMultimap<K, V> withKeyMultiValues(K key, V... values)
+    {
+        Objects.requireNonNull(values);
+        this.putAll(key, Arrays.asList(values));
+        return this;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value)
+    {
+        while (true)
+        {
+            C collection = this.map.get(key);
+            if (collection == null)
+            {
+                return false;
+            }
+            synchronized (collection)
+            {
+                if (this.map.get(key) == collection)
+                {
+                    boolean changed = collection.remove(value);
+                    if (changed)
+                    {
+                        this.decrementTotalSize();
+                        if (collection.isEmpty())
+                        {
+                            this.map.remove(key, collection);
+                        }
+                    }
+                    return changed;
+                }
+            }
+        }
+    }
+
+    @Override
+    public C removeAll(Object key)
+    {
+        while (true)
+        {
+            C collection = this.map.get(key);
+            if (collection == null)
+            {
+                return (C) this.createCollection().asUnmodifiable();
+            }
+            synchronized (collection)
+            {
+                if (this.map.remove(key, collection))
+                {
+                    this.subtractFromTotalSize(collection.size());
+                    return (C) collection.asUnmodifiable();
+                }
+            }
+        }
+    }
+
+    @Override
+    public C replaceValues(K key, Iterable<? extends V> values)
+    {
+        if (Iterate.isEmpty(values))
+        {
+            return this.removeAll(key);
+        }
+        C newValues = Iterate.addAllTo(values, this.createCollection());
+        while (true)
+        {
+            C collection = this.map.get(key);
+            if (collection == null)
+            {
+                if (this.map.putIfAbsent(key, newValues) == null)
+                {
+                    this.addToTotalSize(newValues.size());
+                    return (C) this.createCollection().asUnmodifiable();
+                }
+            }
+            else
+            {
+                synchronized (collection)
+                {
+                    if (this.map.replace(key, collection, newValues))
+                    {
+                        this.addToTotalSize(newValues.size() - collection.size());
+                        return (C) collection.asUnmodifiable();
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public C getIfAbsentPutAll(K key, Iterable<? extends V> values)
+    {
+        if (Iterate.isEmpty(values))
+        {
+            return this.get(key);
+        }
+        while (true)
+        {
+            C collection = this.getIfAbsentPutCollection(key);
+            synchronized (collection)
+            {
+                if (this.map.get(key) == collection)
+                {
+                    if (collection.isEmpty())
+                    {
+                        int newSize = Iterate.addAllTo(values, collection).size();
+                        this.addToTotalSize(newSize);
+                    }
+                    return (C) collection.asUnmodifiable();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        this.map.forEachKey(this::clearKey);
+    }
+
+    private void clearKey(K key)
+    {
+        C collection = this.map.get(key);
+        if (collection != null)
+        {
+            synchronized (collection)
+            {
+                if (this.map.remove(key, collection))
+                {
+                    this.subtractFromTotalSize(collection.size());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        MutableMap<K, MutableList<V>> snapshot = UnifiedMap.newMap(this.map.size());
+        this.map.forEachKeyValue((key, collection) ->
+        {
+            synchronized (collection)
+            {
+                snapshot.put(key, FastList.newList(collection));
+            }
+        });
+        out.writeInt(snapshot.size());
+        snapshot.forEachKeyValue(new MultimapKeyValuesSerializingProcedure<>(out));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.multimap.list;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.RandomAccess;
+
+/**
+ * The value list of one key of a {@link ConcurrentListMultimap}. Writers hold the key's lock and append into an array
+ * that grows like a FastList's, so a put costs amortized O(1) instead of a copy of the whole list. Readers never lock:
+ * a writer publishes a grown array before the new size, so a reader that reads the size first always finds at least
+ * that many elements in the array it reads next. Elements are never removed or replaced, and iterators see the
+ * elements that were present when they were created.
+ */
+final class AppendOnlyList<T>
+        extends AbstractList<T>
+        implements RandomAccess
+{
+    private static final Object[] EMPTY_ARRAY = {};
+
+    private volatile Object[] items = EMPTY_ARRAY;
+    private volatile int size;
+
+    @Override
+    public T get(int index)
+    {
+        int currentSize = this.size;
+        if (index < 0 || index >= currentSize)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: " + currentSize);
+        }
+        return (T) this.items[index];
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public boolean add(T element)
+    {
+        int oldSize = this.size;
+        this.ensureCapacity(oldSize + 1)[oldSize] = element;
+        this.size = oldSize + 1;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> source)
+    {
+        Object[] elements = source.toArray();
+        if (elements.length == 0)
+        {
+            return false;
+        }
+        int oldSize = this.size;
+        System.arraycopy(elements, 0, this.ensureCapacity(oldSize + elements.length), oldSize, elements.length);
+        this.size = oldSize + elements.length;
+        return true;
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        int currentSize = this.size;
+        return Arrays.asList((T[]) this.items).subList(0, currentSize).iterator();
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        int currentSize = this.size;
+        return Arrays.copyOf(this.items, currentSize);
+    }
+
+    private Object[] ensureCapacity(int minCapacity)
+    {
+        Object[] array = this.items;
+        if (minCapacity > array.length)
+        {
+            int grownCapacity = array.length + (array.length >> 1) + 1;
+            array = Arrays.copyOf(array, Math.max(grownCapacity, minCapacity));
+            this.items = array;
+        }
+        return array;
+    }
+}
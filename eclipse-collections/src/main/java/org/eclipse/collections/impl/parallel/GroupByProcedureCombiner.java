@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.parallel;
+
+import org.eclipse.collections.api.multimap.MutableMultimap;
+import org.eclipse.collections.impl.block.procedure.MultimapPutProcedure;
+
+/**
+ * Combines the batch-local multimaps built by a {@link GroupByProcedureFactory} into a shared target, adding all the
+ * values of a key in one call so that a concurrent target is written once per key per batch rather than once per value.
+ */
+public final class GroupByProcedureCombiner<K, V>
+        extends AbstractProcedureCombiner<MultimapPutProcedure<K, V>>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final MutableMultimap<K, V> target;
+
+    public GroupByProcedureCombiner(MutableMultimap<K, V> target)
+    {
+        super(true);
+        this.target = target;
+    }
+
+    @Override
+    public void combineOne(MultimapPutProcedure<K, V> procedure)
+    {
+        this.target.putAll(procedure.getMultimap());
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.parallel;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.impl.block.procedure.MultimapPutProcedure;
+import org.eclipse.collections.impl.multimap.list.FastListMultimap;
+
+public final class GroupByProcedureFactory<K, V> implements ProcedureFactory<MultimapPutProcedure<K, V>>
+{
+    private final Function<? super V, ? extends K> function;
+
+    public GroupByProcedureFactory(Function<? super V, ? extends K> function)
+    {
+        this.function = function;
+    }
+
+    @Override
+    public MultimapPutProcedure<K, V> create()
+    {
+        return MultimapPutProcedure.on(FastListMultimap.newMultimap(), this.function);
+    }
+}
@@ -42,6 +42,7 @@ import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
 import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
 import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
 import org.eclipse.collections.api.map.primitive.ObjectLongMap;
+import org.eclipse.collections.api.multimap.ConcurrentMutableMultimap;
 import org.eclipse.collections.api.multimap.MutableMultimap;
 import org.eclipse.collections.api.tuple.primitive.DoubleDoublePair;
 import org.eclipse.collections.impl.block.factory.Functions0;
@@ -1194,7 +1195,9 @@ public final class ParallelIterate
 
     /**
      * Same effect as {@link Iterate#groupBy(Iterable, Function)},
-     * but executed in parallel batches, and writing output into a SynchronizedPutFastListMultimap.
+     * but executed in parallel batches, and writing output into the specified multimap. When the multimap is a
+     * {@link ConcurrentMutableMultimap}, each batch groups into a local multimap first and then adds all the values of
+     * a key to the target in one call.
      */
     public static <K, V, R extends MutableMultimap<K, V>> MutableMultimap<K, V> groupBy(
             Iterable<V> iterable,
@@ -1203,6 +1206,16 @@ public final class ParallelIterate
             int batchSize,
             Executor executor)
     {
+        if (concurrentMultimap instanceof ConcurrentMutableMultimap)
+        {
+            ParallelIterate.forEach(
+                    iterable,
+                    new GroupByProcedureFactory<>(function),
+                    new GroupByProcedureCombiner<>(concurrentMultimap),
+                    batchSize,
+                    executor);
+            return concurrentMultimap;
+        }
         ParallelIterate.forEach(
                 iterable,
                 new PassThruProcedureFactory<>(new MultimapPutProcedure<>(concurrentMultimap, function)),
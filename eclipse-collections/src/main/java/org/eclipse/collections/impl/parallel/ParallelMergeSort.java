@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.parallel;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.list.mutable.FastList;
+
+/**
+ * A stable merge sort for object arrays that runs on a caller-supplied {@link Executor}. The range is cut into
+ * sections which are sorted concurrently with {@link Arrays#sort(Object[], int, int, Comparator)}, and the sorted
+ * sections are then merged pairwise in rounds. Each merge is itself split into independent pieces at positions found
+ * by binary search, so the last rounds still use every task.
+ * <p>
+ * Elements that compare equal keep their relative order, exactly as with {@code Arrays.sort}. A {@code null}
+ * comparator sorts into natural order. The calling thread waits for the tasks, and runs one of them itself.
+ *
+ * @since 11.1
+ */
+public final class ParallelMergeSort
+{
+    private ParallelMergeSort()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    public static <T> void sort(T[] array, Comparator<? super T> comparator, Executor executor)
+    {
+        ParallelMergeSort.sort(array, 0, array.length, comparator, executor);
+    }
+
+    public static <T> void sort(T[] array, int fromIndex, int toIndex, Comparator<? super T> comparator, Executor executor)
+    {
+        ParallelMergeSort.sort(
+                array,
+                fromIndex,
+                toIndex,
+                comparator,
+                ParallelIterate.DEFAULT_MIN_FORK_SIZE,
+                ParallelIterate.DEFAULT_PARALLEL_TASK_COUNT,
+                executor);
+    }
+
+    /**
+     * Sorts the range from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive, using at most
+     * {@code taskCount} concurrent tasks, each of which handles at least {@code minForkSize} elements. Ranges too
+     * small to split are sorted on the calling thread.
+     */
+    public static <T> void sort(
+            T[] array,
+            int fromIndex,
+            int toIndex,
+            Comparator<? super T> comparator,
+            int minForkSize,
+            int taskCount,
+            Executor executor)
+    {
+        ParallelMergeSort.rangeCheck(array.length, fromIndex, toIndex);
+        int size = toIndex - fromIndex;
+        int sections = Math.min(taskCount, size / Math.max(minForkSize, 1));
+        if (sections < 2)
+        {
+            Arrays.sort(array, fromIndex, toIndex, comparator);
+            return;
+        }
+        int[] runOffsets = new int[sections + 1];
+        MutableList<Runnable> tasks = FastList.newList(sections);
+        for (int i = 0; i < sections; i++)
+        {
+            int start = fromIndex + (int) ((long) size * i / sections);
+            int end = fromIndex + (int) ((long) size * (i + 1) / sections);
+            runOffsets[i] = start;
+            tasks.add(() -> Arrays.sort(array, start, end, comparator));
+        }
+        runOffsets[sections] = toIndex;
+        ParallelMergeSort.invokeAll(tasks, executor);
+        ParallelMergeSort.mergeSortedRuns(array, runOffsets, comparator, minForkSize, taskCount, executor);
+    }
+
+    /**
+     * Merges consecutive runs of {@code array} which are each already sorted by {@code comparator}, so that the range
+     * from {@code runOffsets[0]} to {@code runOffsets[runOffsets.length - 1]} ends up sorted. Run {@code i} spans
+     * {@code runOffsets[i]}, inclusive, to {@code runOffsets[i + 1]}, exclusive. Equal elements keep their order,
+     * with those of earlier runs first.
+     */
+    public static <T> void mergeSortedRuns(T[] array, int[] runOffsets, Comparator<? super T> comparator, Executor executor)
+    {
+        ParallelMergeSort.mergeSortedRuns(
+                array,
+                runOffsets,
+                comparator,
+                ParallelIterate.DEFAULT_MIN_FORK_SIZE,
+                ParallelIterate.DEFAULT_PARALLEL_TASK_COUNT,
+                executor);
+    }
+
+    private static <T> void mergeSortedRuns(
+            T[] array,
+            int[] runOffsets,
+            Comparator<? super T> comparator,
+            int minForkSize,
+            int taskCount,
+            Executor executor)
+    {
+        int runCount = runOffsets.length - 1;
+        if (runCount < 2)
+        {
+            return;
+        }
+        int fromIndex = runOffsets[0];
+        int toIndex = runOffsets[runCount];
+        ParallelMergeSort.rangeCheck(array.length, fromIndex, toIndex);
+        Comparator<? super T> order = comparator == null ? Comparators.naturalOrder() : comparator;
+        int minPieceSize = Math.max(minForkSize, 1);
+
+        Object[] source = array;
+        Object[] target = new Object[toIndex];
+        int[] offsets = runOffsets;
+        while (runCount > 1)
+        {
+            Object[] from = source;
+            Object[] to = target;
+            int pairs = runCount / 2;
+            int piecesPerPair = Math.max(1, taskCount / pairs);
+            MutableList<Runnable> tasks = FastList.newList();
+            int[] nextOffsets = new int[(runCount + 1) / 2 + 1];
+            for (int pair = 0; pair < pairs; pair++)
+            {
+                int leftStart = offsets[2 * pair];
+                int rightStart = offsets[2 * pair + 1];
+                int rightEnd = offsets[2 * pair + 2];
+                nextOffsets[pair] = leftStart;
+                int length = rightEnd - leftStart;
+                int pieces = Math.max(1, Math.min(piecesPerPair, length / minPieceSize));
+                for (int piece = 0; piece < pieces; piece++)
+                {
+                    int outputStart = (int) ((long) length * piece / pieces);
+                    int outputEnd = (int) ((long) length * (piece + 1) / pieces);
+                    tasks.add(() -> ParallelMergeSort.mergePiece(
+                            from, to, leftStart, rightStart, rightEnd, outputStart, outputEnd, order));
+                }
+            }
+            if (runCount % 2 == 1)
+            {
+                int lastStart = offsets[runCount - 1];
+                int lastEnd = offsets[runCount];
+                nextOffsets[pairs] = lastStart;
+                tasks.add(() -> System.arraycopy(from, lastStart, to, lastStart, lastEnd - lastStart));
+            }
+            nextOffsets[nextOffsets.length - 1] = toIndex;
+            ParallelMergeSort.invokeAll(tasks, executor);
+
+            offsets = nextOffsets;
+            runCount = nextOffsets.length - 1;
+            source = to;
+            target = from;
+        }
+        if (source != array)
+        {
+            System.arraycopy(source, fromIndex, array, fromIndex, toIndex - fromIndex);
+        }
+    }
+
+    /**
+     * Writes the elements at positions {@code outputStart} to {@code outputEnd} of the stable merge of the runs
+     * {@code [leftStart, rightStart)} and {@code [rightStart, rightEnd)} of {@code source}.
+     */
+    private static <T> void mergePiece(
+            Object[] source,
+            Object[] target,
+            int leftStart,
+            int rightStart,
+            int rightEnd,
+            int outputStart,
+            int outputEnd,
+            Comparator<? super T> comparator)
+    {
+        int leftLength = rightStart - leftStart;
+        int rightLength = rightEnd - rightStart;
+        int left = leftStart + ParallelMergeSort.leftCount(source, leftStart, leftLength, rightStart, rightLength, outputStart, comparator);
+        int leftEnd = leftStart + ParallelMergeSort.leftCount(source, leftStart, leftLength, rightStart, rightLength, outputEnd, comparator);
+        int right = rightStart + outputStart - (left - leftStart);
+        int index = leftStart + outputStart;
+        int end = leftStart + outputEnd;
+        while (index < end)
+        {
+            if (right >= rightEnd || left < leftEnd && comparator.compare((T) source[left], (T) source[right]) <= 0)
+            {
+                target[index++] = source[left++];
+            }
+            else
+            {
+                target[index++] = source[right++];
+            }
+        }
+    }
+
+    /**
+     * Returns how many of the first {@code outputCount} elements of the stable merge come from the left run.
+     */
+    private static <T> int leftCount(
+            Object[] source,
+            int leftStart,
+            int leftLength,
+            int rightStart,
+            int rightLength,
+            int outputCount,
+            Comparator<? super T> comparator)
+    {
+        int low = Math.max(0, outputCount - rightLength);
+        int high = Math.min(outputCount, leftLength);
+        while (low < high)
+        {
+            int fromLeft = (low + high) >>> 1;
+            int fromRight = outputCount - fromLeft;
+            if (comparator.compare((T) source[leftStart + fromLeft], (T) source[rightStart + fromRight - 1]) <= 0)
+            {
+                low = fromLeft + 1;
+            }
+            else
+            {
+                high = fromLeft;
+            }
+        }
+        return low;
+    }
+
+    private static void invokeAll(MutableList<Runnable> tasks, Executor executor)
+    {
+        int forkedCount = tasks.size() - 1;
+        CountDownLatch latch = new CountDownLatch(forkedCount);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        for (int i = 0; i < forkedCount; i++)
+        {
+            Runnable task = tasks.get(i);
+            executor.execute(() -> {
+                try
+                {
+                    task.run();
+                }
+                catch (Throwable t)
+                {
+                    error.compareAndSet(null, t);
+                }
+                finally
+                {
+                    latch.countDown();
+                }
+            });
+        }
+        try
+        {
+            tasks.getLast().run();
+        }
+        catch (Throwable t)
+        {
+            error.compareAndSet(null, t);
+        }
+        try
+        {
+            latch.await();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        if (error.get() != null)
+        {
+            throw new RuntimeException("One or more parallel tasks failed", error.get());
+        }
+    }
+
+    private static void rangeCheck(int length, int fromIndex, int toIndex)
+    {
+        if (fromIndex > toIndex)
+        {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if (fromIndex < 0)
+        {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > length)
+        {
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+        }
+    }
+}
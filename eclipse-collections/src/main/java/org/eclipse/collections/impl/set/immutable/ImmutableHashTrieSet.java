@@ -0,0 +1,957 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.immutable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.SetIterable;
+
+/**
+ * An ImmutableSet backed by a compressed hash array mapped trie. Each node of the trie consumes five bits of the spread
+ * hash code of an element and holds up to 32 slots, each of which is either an inlined element or a child node.
+ * <p>
+ * newWith and newWithout copy only the nodes on the path from the root to the changed element, and share every other
+ * node with the original set, so that evolving a large set one element at a time costs O(log32 n) rather than the
+ * O(n) copy of an {@link ImmutableUnifiedSet}. When both sets are ImmutableHashTrieSets, union, intersect, difference
+ * and symmetricDifference walk the two tries side by side, reusing the subtrees that only one of the sets has, or that
+ * both sets share, without visiting their elements.
+ * <p>
+ * {@link org.eclipse.collections.api.factory.Sets#immutable} returns this implementation for sets of at least
+ * {@link org.eclipse.collections.impl.utility.internal.ImmutableThresholds#PERSISTENT_SIZE} elements.
+ *
+ * @since 11.1
+ */
+public final class ImmutableHashTrieSet<T>
+        extends AbstractImmutableSet<T>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int BITS = 5;
+    private static final int HASH_BITS = 32;
+    private static final int MAX_DEPTH = 8;
+    private static final Object NOT_FOUND = new Object();
+
+    private final Node<T> root;
+
+    public ImmutableHashTrieSet(Iterable<? extends T> elements)
+    {
+        this.root = ImmutableHashTrieSet.<T>emptyNode().withAll(new Object(), elements);
+    }
+
+    private ImmutableHashTrieSet(Node<T> root)
+    {
+        this.root = root;
+    }
+
+    private static <T> Node<T> emptyNode()
+    {
+        return (Node<T>) Node.EMPTY;
+    }
+
+    private static int spread(Object element)
+    {
+        // The same spread as UnifiedSet, so that hash codes that differ only in their high bits still diverge in the
+        // five bit chunks consumed by the first levels of the trie.
+        int h = element == null ? 0 : element.hashCode();
+        h ^= h >>> 20 ^ h >>> 12;
+        return h ^ h >>> 7 ^ h >>> 4;
+    }
+
+    private static int bit(int hash, int shift)
+    {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    private static boolean nullSafeEquals(Object element, Object other)
+    {
+        return element == other || element != null && element.equals(other);
+    }
+
+    @Override
+    public int size()
+    {
+        return this.root.size;
+    }
+
+    @Override
+    public boolean contains(Object object)
+    {
+        return this.root.find(object, ImmutableHashTrieSet.spread(object), 0) != NOT_FOUND;
+    }
+
+    @Override
+    public ImmutableSet<T> newWith(T element)
+    {
+        Node<T> newRoot = this.root.updated(null, element, ImmutableHashTrieSet.spread(element), 0);
+        return this.withRoot(newRoot);
+    }
+
+    @Override
+    public ImmutableSet<T> newWithout(T element)
+    {
+        Node<T> newRoot = this.root.removed(null, element, ImmutableHashTrieSet.spread(element), 0);
+        return this.withRoot(newRoot);
+    }
+
+    @Override
+    public ImmutableSet<T> newWithAll(Iterable<? extends T> elements)
+    {
+        if (elements instanceof ImmutableHashTrieSet<?>)
+        {
+            return this.withRoot(Node.union(this.root, ((ImmutableHashTrieSet<T>) elements).root, 0));
+        }
+        return this.withRoot(this.root.withAll(new Object(), elements));
+    }
+
+    @Override
+    public ImmutableSet<T> newWithoutAll(Iterable<? extends T> elements)
+    {
+        if (elements instanceof ImmutableHashTrieSet<?>)
+        {
+            return this.withRoot(Node.difference(this.root, ((ImmutableHashTrieSet<T>) elements).root, 0));
+        }
+        Object owner = new Object();
+        Node<T> newRoot = this.root;
+        for (T element : elements)
+        {
+            newRoot = newRoot.removed(owner, element, ImmutableHashTrieSet.spread(element), 0);
+        }
+        return this.withRoot(newRoot);
+    }
+
+    @Override
+    public ImmutableSet<T> union(SetIterable<? extends T> set)
+    {
+        return this.newWithAll(set);
+    }
+
+    @Override
+    public ImmutableSet<T> intersect(SetIterable<? extends T> set)
+    {
+        if (set instanceof ImmutableHashTrieSet<?>)
+        {
+            return this.withRoot(Node.intersect(this.root, ((ImmutableHashTrieSet<T>) set).root, 0));
+        }
+        return super.intersect(set);
+    }
+
+    @Override
+    public ImmutableSet<T> difference(SetIterable<? extends T> subtrahendSet)
+    {
+        return this.newWithoutAll(subtrahendSet);
+    }
+
+    @Override
+    public ImmutableSet<T> symmetricDifference(SetIterable<? extends T> setB)
+    {
+        if (setB instanceof ImmutableHashTrieSet<?>)
+        {
+            Node<T> other = ((ImmutableHashTrieSet<T>) setB).root;
+            return this.withRoot(Node.union(Node.difference(this.root, other, 0), Node.difference(other, this.root, 0), 0));
+        }
+        return super.symmetricDifference(setB);
+    }
+
+    private ImmutableSet<T> withRoot(Node<T> newRoot)
+    {
+        if (newRoot == this.root)
+        {
+            return this;
+        }
+        return newRoot.size == 0 ? Sets.immutable.empty() : new ImmutableHashTrieSet<>(newRoot);
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        this.root.forEach(procedure);
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new TrieIterator<>(this.root);
+    }
+
+    @Override
+    public T getFirst()
+    {
+        return this.root.size == 0 ? null : this.root.first();
+    }
+
+    @Override
+    public T getLast()
+    {
+        return this.root.size == 0 ? null : this.root.last();
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.root.elementHashCode();
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof Set))
+        {
+            return false;
+        }
+        Set<?> other = (Set<?>) object;
+        return this.size() == other.size() && this.containsAll(other);
+    }
+
+    private Object writeReplace()
+    {
+        return new ImmutableSetSerializationProxy<>(this);
+    }
+
+    /**
+     * A node of the trie. The content array holds the inlined elements, in the order of their bits in the data map,
+     * followed by the child nodes, in the order of their bits in the node map. A node below the last level that hash
+     * bits can address is a collision node: both its maps are zero and its content holds only elements, all of which
+     * have the same spread hash code. Each node records the number of elements below it, so that the set operations can
+     * adopt a subtree whole.
+     * <p>
+     * The trie is kept canonical: a subtree holding a single element is always inlined into its parent as that element.
+     * <p>
+     * A node is edited in place only by the operation that owns it, which is the one that created it with the same
+     * owner token. Every node reachable from a published set has an owner that no operation still holds.
+     */
+    private static final class Node<T>
+    {
+        private static final Node<?> EMPTY = new Node<>(null, 0, 0, new Object[0], 0);
+
+        private final Object owner;
+        private int dataMap;
+        private int nodeMap;
+        private Object[] content;
+        private int size;
+
+        private Node(Object owner, int dataMap, int nodeMap, Object[] content, int size)
+        {
+            this.owner = owner;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+            this.size = size;
+        }
+
+        private boolean isCollision()
+        {
+            return (this.dataMap | this.nodeMap) == 0;
+        }
+
+        private int elementArity()
+        {
+            return this.isCollision() ? this.content.length : Integer.bitCount(this.dataMap);
+        }
+
+        private int elementIndex(int bit)
+        {
+            return Integer.bitCount(this.dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit)
+        {
+            return Integer.bitCount(this.dataMap) + Integer.bitCount(this.nodeMap & (bit - 1));
+        }
+
+        private Node<T> nodeAt(int bit)
+        {
+            return (Node<T>) this.content[this.nodeIndex(bit)];
+        }
+
+        private int collisionIndex(Object element)
+        {
+            for (int i = 0; i < this.content.length; i++)
+            {
+                if (ImmutableHashTrieSet.nullSafeEquals(element, this.content[i]))
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the element of this node, which is at the given shift, that is equal to the given element, or
+         * NOT_FOUND.
+         */
+        private Object find(Object element, int hash, int startShift)
+        {
+            Node<T> node = this;
+            for (int shift = startShift; shift < HASH_BITS; shift += BITS)
+            {
+                int bit = ImmutableHashTrieSet.bit(hash, shift);
+                if ((node.dataMap & bit) != 0)
+                {
+                    Object existing = node.content[node.elementIndex(bit)];
+                    return ImmutableHashTrieSet.nullSafeEquals(element, existing) ? existing : NOT_FOUND;
+                }
+                if ((node.nodeMap & bit) == 0)
+                {
+                    return NOT_FOUND;
+                }
+                node = node.nodeAt(bit);
+            }
+            int index = node.collisionIndex(element);
+            return index < 0 ? NOT_FOUND : node.content[index];
+        }
+
+        private boolean isOwnedBy(Object owner)
+        {
+            return owner != null && this.owner == owner;
+        }
+
+        private Node<T> withContent(Object owner, int newDataMap, int newNodeMap, Object[] newContent, int newSize)
+        {
+            if (this.isOwnedBy(owner))
+            {
+                this.dataMap = newDataMap;
+                this.nodeMap = newNodeMap;
+                this.content = newContent;
+                this.size = newSize;
+                return this;
+            }
+            return new Node<>(owner, newDataMap, newNodeMap, newContent, newSize);
+        }
+
+        private Node<T> withSlot(Object owner, int index, Object value, int newSize)
+        {
+            if (this.isOwnedBy(owner))
+            {
+                this.content[index] = value;
+                this.size = newSize;
+                return this;
+            }
+            Object[] newContent = this.content.clone();
+            newContent[index] = value;
+            return new Node<>(owner, this.dataMap, this.nodeMap, newContent, newSize);
+        }
+
+        private Node<T> withAll(Object owner, Iterable<? extends T> elements)
+        {
+            Node<T> result = this;
+            for (T element : elements)
+            {
+                result = result.updated(owner, element, ImmutableHashTrieSet.spread(element), 0);
+            }
+            return result;
+        }
+
+        private Node<T> updated(Object owner, T element, int hash, int shift)
+        {
+            if (shift >= HASH_BITS)
+            {
+                if (this.collisionIndex(element) >= 0)
+                {
+                    return this;
+                }
+                return this.withContent(owner, 0, 0, Node.insert(this.content, this.content.length, element), this.size + 1);
+            }
+            int bit = ImmutableHashTrieSet.bit(hash, shift);
+            if ((this.dataMap & bit) != 0)
+            {
+                int index = this.elementIndex(bit);
+                Object existing = this.content[index];
+                if (ImmutableHashTrieSet.nullSafeEquals(element, existing))
+                {
+                    return this;
+                }
+                Node<T> child = Node.mergeTwo(owner, existing, ImmutableHashTrieSet.spread(existing), element, hash, shift + BITS);
+                return this.withContent(
+                        owner,
+                        this.dataMap ^ bit,
+                        this.nodeMap | bit,
+                        Node.migrateInlineToNode(this.content, index, this.nodeIndex(bit), child),
+                        this.size + 1);
+            }
+            if ((this.nodeMap & bit) != 0)
+            {
+                int index = this.nodeIndex(bit);
+                Node<T> child = (Node<T>) this.content[index];
+                int childSize = child.size;
+                Node<T> newChild = child.updated(owner, element, hash, shift + BITS);
+                return newChild.size == childSize ? this : this.withSlot(owner, index, newChild, this.size + 1);
+            }
+            return this.withContent(
+                    owner,
+                    this.dataMap | bit,
+                    this.nodeMap,
+                    Node.insert(this.content, this.elementIndex(bit), element),
+                    this.size + 1);
+        }
+
+        private Node<T> removed(Object owner, Object element, int hash, int shift)
+        {
+            if (shift >= HASH_BITS)
+            {
+                int index = this.collisionIndex(element);
+                if (index < 0)
+                {
+                    return this;
+                }
+                if (this.content.length == 2)
+                {
+                    // The single remaining element is given its bit for the root level, so that it is valid wherever
+                    // the parents inline it, or as the root itself
+                    return Node.singleton(owner, this.content[1 - index], hash);
+                }
+                return this.withContent(owner, 0, 0, Node.remove(this.content, index), this.size - 1);
+            }
+            int bit = ImmutableHashTrieSet.bit(hash, shift);
+            if ((this.dataMap & bit) != 0)
+            {
+                int index = this.elementIndex(bit);
+                if (!ImmutableHashTrieSet.nullSafeEquals(element, this.content[index]))
+                {
+                    return this;
+                }
+                if (shift > 0 && this.nodeMap == 0 && Integer.bitCount(this.dataMap) == 2)
+                {
+                    Object remaining = this.content[1 - index];
+                    return Node.singleton(owner, remaining, ImmutableHashTrieSet.spread(remaining));
+                }
+                return this.withContent(owner, this.dataMap ^ bit, this.nodeMap, Node.remove(this.content, index), this.size - 1);
+            }
+            if ((this.nodeMap & bit) != 0)
+            {
+                int index = this.nodeIndex(bit);
+                Node<T> child = (Node<T>) this.content[index];
+                int childSize = child.size;
+                Node<T> newChild = child.removed(owner, element, hash, shift + BITS);
+                if (newChild.size == childSize)
+                {
+                    return this;
+                }
+                if (newChild.size == 1)
+                {
+                    if (this.dataMap == 0 && Integer.bitCount(this.nodeMap) == 1)
+                    {
+                        return newChild;
+                    }
+                    return this.withContent(
+                            owner,
+                            this.dataMap | bit,
+                            this.nodeMap ^ bit,
+                            Node.migrateNodeToInline(this.content, index, this.elementIndex(bit), newChild.content[0]),
+                            this.size - 1);
+                }
+                return this.withSlot(owner, index, newChild, this.size - 1);
+            }
+            return this;
+        }
+
+        private static <T> Node<T> singleton(Object owner, Object element, int hash)
+        {
+            return new Node<>(owner, ImmutableHashTrieSet.bit(hash, 0), 0, new Object[]{element}, 1);
+        }
+
+        private static <T> Node<T> mergeTwo(Object owner, Object element1, int hash1, Object element2, int hash2, int shift)
+        {
+            if (shift >= HASH_BITS)
+            {
+                return new Node<>(owner, 0, 0, new Object[]{element1, element2}, 2);
+            }
+            int mask1 = (hash1 >>> shift) & 31;
+            int mask2 = (hash2 >>> shift) & 31;
+            if (mask1 != mask2)
+            {
+                int dataMap = (1 << mask1) | (1 << mask2);
+                return mask1 < mask2
+                        ? new Node<>(owner, dataMap, 0, new Object[]{element1, element2}, 2)
+                        : new Node<>(owner, dataMap, 0, new Object[]{element2, element1}, 2);
+            }
+            Node<T> child = Node.mergeTwo(owner, element1, hash1, element2, hash2, shift + BITS);
+            return new Node<>(owner, 0, 1 << mask1, new Object[]{child}, 2);
+        }
+
+        /**
+         * Returns the union of two nodes at the given shift, preferring the elements of the first node.
+         */
+        private static <T> Node<T> union(Node<T> first, Node<T> second, int shift)
+        {
+            if (first == second || second.size == 0)
+            {
+                return first;
+            }
+            if (first.size == 0)
+            {
+                return second;
+            }
+            if (shift >= HASH_BITS)
+            {
+                Object[] elements = Arrays.copyOf(first.content, first.content.length + second.content.length);
+                int count = first.content.length;
+                for (Object element : second.content)
+                {
+                    if (first.collisionIndex(element) < 0)
+                    {
+                        elements[count++] = element;
+                    }
+                }
+                return count == first.content.length ? first : new Node<>(null, 0, 0, Arrays.copyOf(elements, count), count);
+            }
+            Builder<T> builder = new Builder<>(first);
+            int bits = first.dataMap | first.nodeMap | second.dataMap | second.nodeMap;
+            while (bits != 0)
+            {
+                int bit = Integer.lowestOneBit(bits);
+                bits ^= bit;
+                if ((first.dataMap & bit) != 0)
+                {
+                    Object element = first.content[first.elementIndex(bit)];
+                    if ((second.dataMap & bit) != 0)
+                    {
+                        Object other = second.content[second.elementIndex(bit)];
+                        if (ImmutableHashTrieSet.nullSafeEquals(element, other))
+                        {
+                            builder.addElement(bit, element, true);
+                        }
+                        else
+                        {
+                            int elementHash = ImmutableHashTrieSet.spread(element);
+                            int otherHash = ImmutableHashTrieSet.spread(other);
+                            builder.addNode(bit, Node.mergeTwo(null, element, elementHash, other, otherHash, shift + BITS), false);
+                        }
+                    }
+                    else if ((second.nodeMap & bit) != 0)
+                    {
+                        Node<T> child = second.nodeAt(bit).updated(null, (T) element, ImmutableHashTrieSet.spread(element), shift + BITS);
+                        builder.addNode(bit, child, false);
+                    }
+                    else
+                    {
+                        builder.addElement(bit, element, true);
+                    }
+                }
+                else if ((first.nodeMap & bit) != 0)
+                {
+                    Node<T> child = first.nodeAt(bit);
+                    Node<T> newChild = child;
+                    if ((second.dataMap & bit) != 0)
+                    {
+                        Object other = second.content[second.elementIndex(bit)];
+                        newChild = child.updated(null, (T) other, ImmutableHashTrieSet.spread(other), shift + BITS);
+                    }
+                    else if ((second.nodeMap & bit) != 0)
+                    {
+                        newChild = Node.union(child, second.nodeAt(bit), shift + BITS);
+                    }
+                    builder.addNode(bit, newChild, newChild == child);
+                }
+                else if ((second.dataMap & bit) != 0)
+                {
+                    builder.addElement(bit, second.content[second.elementIndex(bit)], false);
+                }
+                else
+                {
+                    builder.addNode(bit, second.nodeAt(bit), false);
+                }
+            }
+            return builder.build();
+        }
+
+        /**
+         * Returns the elements of the first node at the given shift that the second node also contains.
+         */
+        private static <T> Node<T> intersect(Node<T> first, Node<T> second, int shift)
+        {
+            if (first == second || first.size == 0)
+            {
+                return first;
+            }
+            if (second.size == 0)
+            {
+                return ImmutableHashTrieSet.emptyNode();
+            }
+            if (shift >= HASH_BITS)
+            {
+                Object[] elements = new Object[first.content.length];
+                int count = 0;
+                for (Object element : first.content)
+                {
+                    if (second.collisionIndex(element) >= 0)
+                    {
+                        elements[count++] = element;
+                    }
+                }
+                return count == first.content.length ? first : new Node<>(null, 0, 0, Arrays.copyOf(elements, count), count);
+            }
+            Builder<T> builder = new Builder<>(first);
+            int firstBits = first.dataMap | first.nodeMap;
+            int bits = firstBits & (second.dataMap | second.nodeMap);
+            builder.same = bits == firstBits;
+            while (bits != 0)
+            {
+                int bit = Integer.lowestOneBit(bits);
+                bits ^= bit;
+                if ((first.dataMap & bit) != 0)
+                {
+                    Object element = first.content[first.elementIndex(bit)];
+                    if (second.find(element, ImmutableHashTrieSet.spread(element), shift) != NOT_FOUND)
+                    {
+                        builder.addElement(bit, element, true);
+                    }
+                    else
+                    {
+                        builder.same = false;
+                    }
+                }
+                else
+                {
+                    Node<T> child = first.nodeAt(bit);
+                    if ((second.dataMap & bit) != 0)
+                    {
+                        Object other = second.content[second.elementIndex(bit)];
+                        Object element = child.find(other, ImmutableHashTrieSet.spread(other), shift + BITS);
+                        builder.same = false;
+                        if (element != NOT_FOUND)
+                        {
+                            builder.addElement(bit, element, false);
+                        }
+                    }
+                    else
+                    {
+                        builder.addChild(bit, child, Node.intersect(child, second.nodeAt(bit), shift + BITS));
+                    }
+                }
+            }
+            return builder.build();
+        }
+
+        /**
+         * Returns the elements of the first node at the given shift that the second node does not contain.
+         */
+        private static <T> Node<T> difference(Node<T> first, Node<T> second, int shift)
+        {
+            if (first == second)
+            {
+                return ImmutableHashTrieSet.emptyNode();
+            }
+            if (first.size == 0 || second.size == 0)
+            {
+                return first;
+            }
+            if (shift >= HASH_BITS)
+            {
+                Object[] elements = new Object[first.content.length];
+                int count = 0;
+                for (Object element : first.content)
+                {
+                    if (second.collisionIndex(element) < 0)
+                    {
+                        elements[count++] = element;
+                    }
+                }
+                return count == first.content.length ? first : new Node<>(null, 0, 0, Arrays.copyOf(elements, count), count);
+            }
+            Builder<T> builder = new Builder<>(first);
+            int bits = first.dataMap | first.nodeMap;
+            while (bits != 0)
+            {
+                int bit = Integer.lowestOneBit(bits);
+                bits ^= bit;
+                if ((first.dataMap & bit) != 0)
+                {
+                    Object element = first.content[first.elementIndex(bit)];
+                    if (second.find(element, ImmutableHashTrieSet.spread(element), shift) == NOT_FOUND)
+                    {
+                        builder.addElement(bit, element, true);
+                    }
+                    else
+                    {
+                        builder.same = false;
+                    }
+                }
+                else
+                {
+                    Node<T> child = first.nodeAt(bit);
+                    Node<T> newChild = child;
+                    if ((second.dataMap & bit) != 0)
+                    {
+                        Object other = second.content[second.elementIndex(bit)];
+                        newChild = child.removed(null, other, ImmutableHashTrieSet.spread(other), shift + BITS);
+                    }
+                    else if ((second.nodeMap & bit) != 0)
+                    {
+                        newChild = Node.difference(child, second.nodeAt(bit), shift + BITS);
+                    }
+                    builder.addChild(bit, child, newChild);
+                }
+            }
+            return builder.build();
+        }
+
+        private static Object[] insert(Object[] source, int index, Object element)
+        {
+            Object[] result = new Object[source.length + 1];
+            System.arraycopy(source, 0, result, 0, index);
+            result[index] = element;
+            System.arraycopy(source, index, result, index + 1, source.length - index);
+            return result;
+        }
+
+        private static Object[] remove(Object[] source, int index)
+        {
+            Object[] result = new Object[source.length - 1];
+            System.arraycopy(source, 0, result, 0, index);
+            System.arraycopy(source, index + 1, result, index, source.length - index - 1);
+            return result;
+        }
+
+        /**
+         * Removes the element at elementIndex and inserts the node before the element at nodeIndex of the source.
+         */
+        private static Object[] migrateInlineToNode(Object[] source, int elementIndex, int nodeIndex, Object node)
+        {
+            Object[] result = new Object[source.length];
+            System.arraycopy(source, 0, result, 0, elementIndex);
+            System.arraycopy(source, elementIndex + 1, result, elementIndex, nodeIndex - elementIndex - 1);
+            result[nodeIndex - 1] = node;
+            System.arraycopy(source, nodeIndex, result, nodeIndex, source.length - nodeIndex);
+            return result;
+        }
+
+        /**
+         * Removes the node at nodeIndex and inserts the element before the element at elementIndex of the source.
+         */
+        private static Object[] migrateNodeToInline(Object[] source, int nodeIndex, int elementIndex, Object element)
+        {
+            Object[] result = new Object[source.length];
+            System.arraycopy(source, 0, result, 0, elementIndex);
+            result[elementIndex] = element;
+            System.arraycopy(source, elementIndex, result, elementIndex + 1, nodeIndex - elementIndex);
+            System.arraycopy(source, nodeIndex + 1, result, nodeIndex + 1, source.length - nodeIndex - 1);
+            return result;
+        }
+
+        private void forEach(Procedure<? super T> procedure)
+        {
+            int elements = this.elementArity();
+            for (int i = 0; i < elements; i++)
+            {
+                procedure.value((T) this.content[i]);
+            }
+            for (int i = elements; i < this.content.length; i++)
+            {
+                ((Node<T>) this.content[i]).forEach(procedure);
+            }
+        }
+
+        private T first()
+        {
+            Node<T> node = this;
+            while (node.elementArity() == 0)
+            {
+                node = (Node<T>) node.content[0];
+            }
+            return (T) node.content[0];
+        }
+
+        private T last()
+        {
+            Node<T> node = this;
+            while (node.elementArity() < node.content.length)
+            {
+                node = (Node<T>) node.content[node.content.length - 1];
+            }
+            return (T) node.content[node.content.length - 1];
+        }
+
+        private int elementHashCode()
+        {
+            int result = 0;
+            int elements = this.elementArity();
+            for (int i = 0; i < elements; i++)
+            {
+                Object element = this.content[i];
+                result += element == null ? 0 : element.hashCode();
+            }
+            for (int i = elements; i < this.content.length; i++)
+            {
+                result += ((Node<T>) this.content[i]).elementHashCode();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Collects the slots of a node built by a set operation, in increasing bit order, and tracks whether they are the
+     * same as the slots of the original node, so that the operation can return the original node instead of a copy.
+     */
+    private static final class Builder<T>
+    {
+        private final Node<T> original;
+        private final Object[] elements = new Object[32];
+        private final Object[] nodes = new Object[32];
+        private int elementCount;
+        private int nodeCount;
+        private int dataMap;
+        private int nodeMap;
+        private int size;
+        private boolean same = true;
+
+        private Builder(Node<T> original)
+        {
+            this.original = original;
+        }
+
+        private void addElement(int bit, Object element, boolean fromOriginal)
+        {
+            this.elements[this.elementCount++] = element;
+            this.dataMap |= bit;
+            this.size++;
+            this.same &= fromOriginal;
+        }
+
+        private void addNode(int bit, Node<T> node, boolean fromOriginal)
+        {
+            this.nodes[this.nodeCount++] = node;
+            this.nodeMap |= bit;
+            this.size += node.size;
+            this.same &= fromOriginal;
+        }
+
+        /**
+         * Adds the result of an operation on a child of the original node, inlining it if it holds a single element.
+         */
+        private void addChild(int bit, Node<T> originalChild, Node<T> newChild)
+        {
+            if (newChild == originalChild)
+            {
+                this.addNode(bit, newChild, true);
+            }
+            else if (newChild.size == 1)
+            {
+                this.addElement(bit, newChild.content[0], false);
+            }
+            else if (newChild.size > 1)
+            {
+                this.addNode(bit, newChild, false);
+            }
+            else
+            {
+                this.same = false;
+            }
+        }
+
+        private Node<T> build()
+        {
+            if (this.same)
+            {
+                return this.original;
+            }
+            Object[] content = new Object[this.elementCount + this.nodeCount];
+            System.arraycopy(this.elements, 0, content, 0, this.elementCount);
+            System.arraycopy(this.nodes, 0, content, this.elementCount, this.nodeCount);
+            return new Node<>(null, this.dataMap, this.nodeMap, content, this.size);
+        }
+    }
+
+    /**
+     * Iterates the elements of a trie depth first, visiting the elements inlined in each node before its children.
+     */
+    private static final class TrieIterator<T> implements Iterator<T>
+    {
+        private final Node<T>[] nodes = new Node[MAX_DEPTH];
+        private final int[] nextChildren = new int[MAX_DEPTH];
+        private int depth;
+        private Node<T> payload;
+        private int payloadIndex;
+        private int payloadEnd;
+
+        private TrieIterator(Node<T> root)
+        {
+            this.nodes[0] = root;
+            this.nextChildren[0] = root.elementArity();
+            this.payload = root;
+            this.payloadEnd = this.nextChildren[0];
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (this.payloadIndex >= this.payloadEnd)
+            {
+                if (!this.advance())
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean advance()
+        {
+            while (this.depth >= 0)
+            {
+                Node<T> node = this.nodes[this.depth];
+                int next = this.nextChildren[this.depth];
+                if (next < node.content.length)
+                {
+                    this.nextChildren[this.depth] = next + 1;
+                    Node<T> child = (Node<T>) node.content[next];
+                    int elements = child.elementArity();
+                    if (elements < child.content.length)
+                    {
+                        this.depth++;
+                        this.nodes[this.depth] = child;
+                        this.nextChildren[this.depth] = elements;
+                    }
+                    if (elements > 0)
+                    {
+                        this.payload = child;
+                        this.payloadIndex = 0;
+                        this.payloadEnd = elements;
+                        return true;
+                    }
+                }
+                else
+                {
+                    this.nodes[this.depth] = null;
+                    this.depth--;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return (T) this.payload.content[this.payloadIndex++];
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an immutable set");
+        }
+    }
+}
@@ -12,9 +12,12 @@ package org.eclipse.collections.impl.set.immutable;
 
 import java.util.Objects;
 
+import org.eclipse.collections.api.factory.set.ImmutableSetBuilder;
 import org.eclipse.collections.api.factory.set.ImmutableSetFactory;
 import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
 import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.internal.ImmutableThresholds;
 
 public class ImmutableSetFactoryImpl implements ImmutableSetFactory
 {
@@ -151,7 +154,22 @@ public class ImmutableSetFactoryImpl implements ImmutableSetFactory
             case 4:
                 return this.of(items[0], items[1], items[2], items[3]);
             default:
-                return ImmutableUnifiedSet.newSetWith(items);
+                if (items.length < ImmutableThresholds.PERSISTENT_SIZE)
+                {
+                    return ImmutableUnifiedSet.newSetWith(items);
+                }
+                // Decide on the number of distinct elements, as withAll(Map) does for maps, so that duplicates do not
+                // turn a small set into a trie
+                UnifiedSet<T> set = UnifiedSet.newSetWith(items);
+                if (set.size() >= ImmutableThresholds.PERSISTENT_SIZE)
+                {
+                    return new ImmutableHashTrieSet<>(set);
+                }
+                if (set.size() > 4)
+                {
+                    return ImmutableUnifiedSet.adapt(set);
+                }
+                return this.with((T[]) set.toArray());
         }
     }
 
@@ -174,4 +192,16 @@ public class ImmutableSetFactoryImpl implements ImmutableSetFactory
         }
         return this.with((T[]) Iterate.toArray(items));
     }
+
+    @Override
+    public <T> ImmutableSetBuilder<T> builder()
+    {
+        return new ImmutableUnifiedSetBuilder<>(0);
+    }
+
+    @Override
+    public <T> ImmutableSetBuilder<T> builder(int expectedSize)
+    {
+        return new ImmutableUnifiedSetBuilder<>(expectedSize);
+    }
 }
@@ -97,6 +97,15 @@ final class ImmutableUnifiedSet<T>
         return new ImmutableUnifiedSet<>(UnifiedSet.newSet(iterable));
     }
 
+    /**
+     * Returns an ImmutableUnifiedSet which uses {@code delegate} without copying it, so it must not be modified
+     * afterwards.
+     */
+    static <T> ImmutableSet<T> adapt(UnifiedSet<T> delegate)
+    {
+        return new ImmutableUnifiedSet<>(delegate);
+    }
+
     @Override
     public void each(Procedure<? super T> procedure)
     {
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.immutable;
+
+import org.eclipse.collections.api.factory.set.ImmutableSetBuilder;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+
+/**
+ * An ImmutableSetBuilder which fills a UnifiedSet and hands it to an ImmutableUnifiedSet on toImmutable, at every size,
+ * since a hash table built for reading is what a builder is used for. The set is only copied into a smaller table when
+ * fewer than a quarter of the expected elements were added, as a table grown from a smaller size is never more than
+ * twice as large as it needs to be. The builder copies its set before the next change after toImmutable.
+ *
+ * @since 11.1
+ */
+final class ImmutableUnifiedSetBuilder<T>
+        implements ImmutableSetBuilder<T>
+{
+    private static final int MAXIMUM_SMALL_SET_SIZE = 4;
+
+    private final int expectedSize;
+    private UnifiedSet<T> delegate;
+    private boolean shared;
+
+    ImmutableUnifiedSetBuilder(int expectedSize)
+    {
+        if (expectedSize < 0)
+        {
+            throw new IllegalArgumentException("Expected size is greater than or equal to 0. Was: " + expectedSize);
+        }
+        this.expectedSize = expectedSize;
+        this.delegate = UnifiedSet.newSet(expectedSize);
+    }
+
+    @Override
+    public ImmutableSetBuilder<T> with(T element)
+    {
+        this.unshare();
+        this.delegate.add(element);
+        return this;
+    }
+
+    @Override
+    public ImmutableSetBuilder<T> withAll(Iterable<? extends T> elements)
+    {
+        this.unshare();
+        this.delegate.addAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.delegate.size();
+    }
+
+    @Override
+    public ImmutableSet<T> toImmutable()
+    {
+        int size = this.delegate.size();
+        if (size <= MAXIMUM_SMALL_SET_SIZE)
+        {
+            return ImmutableSetFactoryImpl.INSTANCE.withAll(this.delegate);
+        }
+        if (size < this.expectedSize / 4)
+        {
+            return ImmutableUnifiedSet.newSet(this.delegate);
+        }
+        this.shared = true;
+        return ImmutableUnifiedSet.adapt(this.delegate);
+    }
+
+    private void unshare()
+    {
+        if (this.shared)
+        {
+            this.delegate = UnifiedSet.newSet(this.delegate);
+            this.shared = false;
+        }
+    }
+}
@@ -31,6 +31,9 @@
  *     <li>
  *          {@link org.eclipse.collections.impl.set.immutable.ImmutableUnifiedSet} - the non-modifiable equivalent of {@link org.eclipse.collections.impl.set.mutable.UnifiedSet}.
  *     </li>
+ *     <li>
+ *          {@link org.eclipse.collections.impl.set.immutable.ImmutableHashTrieSet} - an immutable set backed by a persistent hash trie, which shares structure between versions.
+ *     </li>
  * </ul>
  * <p>
  *     This package contains one factory implementation:
@@ -51,4 +51,16 @@ public class MutableSetFactoryImpl implements MutableSetFactory
     {
         return stream.collect(Collectors.toCollection(UnifiedSet::newSet));
     }
+
+    @Override
+    public <T> MutableSet<T> emptyOpenAddressing()
+    {
+        return OpenAddressingHashSet.newSet();
+    }
+
+    @Override
+    public <T> MutableSet<T> withInitialCapacityOpenAddressing(int capacity)
+    {
+        return OpenAddressingHashSet.newSet(capacity);
+    }
 }
@@ -0,0 +1,568 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.ParallelUnsortedSetIterable;
+import org.eclipse.collections.impl.lazy.parallel.set.NonParallelUnsortedSetIterable;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.internal.ControlGroups;
+
+/**
+ * OpenAddressingHashSet is an alternative to {@link UnifiedSet} that resolves collisions by open addressing instead of
+ * chained buckets. Elements are stored in a single array, and a parallel long[] holds one control byte per slot, eight
+ * slots to a long, so that a lookup can filter a whole group of slots with a few arithmetic operations before
+ * comparing any element.
+ *
+ * @see ControlGroups
+ * @see org.eclipse.collections.impl.map.mutable.OpenAddressingHashMap
+ * @since 11.1
+ */
+@SuppressWarnings("ObjectEquality")
+public class OpenAddressingHashSet<T>
+        extends AbstractMutableSet<T>
+        implements Externalizable
+{
+    private static final Object NULL_KEY = new Object()
+    {
+        @Override
+        public boolean equals(Object obj)
+        {
+            throw new RuntimeException("Possible corruption through unsynchronized concurrent modification.");
+        }
+
+        @Override
+        public int hashCode()
+        {
+            throw new RuntimeException("Possible corruption through unsynchronized concurrent modification.");
+        }
+
+        @Override
+        public String toString()
+        {
+            return "OpenAddressingHashSet.NULL_KEY";
+        }
+    };
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+    private static final long serialVersionUID = 1L;
+
+    private transient Object[] table;
+
+    private transient long[] controls;
+
+    private transient int occupied;
+
+    private transient int deleted;
+
+    private transient int growthLimit;
+
+    public OpenAddressingHashSet()
+    {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public OpenAddressingHashSet(int initialCapacity)
+    {
+        this.allocate(ControlGroups.groupsForCapacity(initialCapacity));
+    }
+
+    public OpenAddressingHashSet(Collection<? extends T> collection)
+    {
+        this(Math.max(collection.size(), DEFAULT_INITIAL_CAPACITY));
+        this.addAll(collection);
+    }
+
+    public static <K> OpenAddressingHashSet<K> newSet()
+    {
+        return new OpenAddressingHashSet<>();
+    }
+
+    public static <K> OpenAddressingHashSet<K> newSet(int size)
+    {
+        return new OpenAddressingHashSet<>(size);
+    }
+
+    public static <K> OpenAddressingHashSet<K> newSet(Iterable<? extends K> source)
+    {
+        if (source instanceof Collection)
+        {
+            return new OpenAddressingHashSet<>((Collection<K>) source);
+        }
+        OpenAddressingHashSet<K> result = new OpenAddressingHashSet<>();
+        Iterate.forEach(source, result::add);
+        return result;
+    }
+
+    public static <K> OpenAddressingHashSet<K> newSetWith(K... elements)
+    {
+        OpenAddressingHashSet<K> result = new OpenAddressingHashSet<>(elements.length);
+        for (K element : elements)
+        {
+            result.add(element);
+        }
+        return result;
+    }
+
+    private void allocate(int groupCount)
+    {
+        this.controls = ControlGroups.newGroups(groupCount);
+        this.table = new Object[groupCount * ControlGroups.GROUP_WIDTH];
+        this.growthLimit = ControlGroups.growthLimit(groupCount);
+        this.deleted = 0;
+    }
+
+    private static int hash(Object key)
+    {
+        return ControlGroups.spread(key == null ? 0 : key.hashCode());
+    }
+
+    private static int hashOfTableKey(Object tableKey)
+    {
+        return ControlGroups.spread(tableKey == NULL_KEY ? 0 : tableKey.hashCode());
+    }
+
+    private int findSlot(Object key, int hash)
+    {
+        byte h2 = ControlGroups.h2(hash);
+        long[] groups = this.controls;
+        Object[] localTable = this.table;
+        int mask = groups.length - 1;
+        int group = ControlGroups.h1(hash) & mask;
+        for (int step = 1; ; step++)
+        {
+            long word = groups[group];
+            for (long matches = ControlGroups.match(word, h2); matches != 0L; matches = ControlGroups.clearLowestMatch(matches))
+            {
+                int slot = (group << 3) + ControlGroups.lowestMatch(matches);
+                Object cur = localTable[slot];
+                if (cur != null && OpenAddressingHashSet.nonNullTableObjectEquals(cur, key))
+                {
+                    return slot;
+                }
+            }
+            if (ControlGroups.matchEmpty(word) != 0L)
+            {
+                return -1;
+            }
+            group = (group + step) & mask;
+        }
+    }
+
+    private void insert(Object key, int hash)
+    {
+        int slot = ControlGroups.findFirstNonFull(this.controls, hash);
+        byte control = ControlGroups.getControl(this.controls, slot);
+        if (control == ControlGroups.DELETED)
+        {
+            this.deleted--;
+        }
+        else if (this.occupied + this.deleted >= this.growthLimit)
+        {
+            this.rehashForInsert();
+            slot = ControlGroups.findFirstNonFull(this.controls, hash);
+        }
+        ControlGroups.setControl(this.controls, slot, ControlGroups.h2(hash));
+        this.table[slot] = OpenAddressingHashSet.toSentinelIfNull(key);
+        this.occupied++;
+    }
+
+    private void rehashForInsert()
+    {
+        int groupCount = this.controls.length;
+        if (this.occupied >= this.growthLimit >> 1)
+        {
+            groupCount = ControlGroups.nextGroupCount(groupCount);
+        }
+        this.rehash(groupCount);
+    }
+
+    private void rehash(int groupCount)
+    {
+        Object[] old = this.table;
+        this.allocate(groupCount);
+        for (Object cur : old)
+        {
+            if (cur != null)
+            {
+                int hash = OpenAddressingHashSet.hashOfTableKey(cur);
+                int slot = ControlGroups.findFirstNonFull(this.controls, hash);
+                ControlGroups.setControl(this.controls, slot, ControlGroups.h2(hash));
+                this.table[slot] = cur;
+            }
+        }
+    }
+
+    private void removeSlot(int slot)
+    {
+        this.table[slot] = null;
+        byte control = ControlGroups.controlAfterRemove(this.controls, slot);
+        if (control == ControlGroups.DELETED)
+        {
+            this.deleted++;
+        }
+        ControlGroups.setControl(this.controls, slot, control);
+        this.occupied--;
+    }
+
+    /**
+     * Rehashes the table into the smallest size that holds the current elements, dropping any deleted markers.
+     *
+     * @return true if the table was resized or cleaned.
+     */
+    public boolean trimToSize()
+    {
+        int groupCount = ControlGroups.groupsForCapacity(this.occupied);
+        if (groupCount < this.controls.length || this.deleted > 0)
+        {
+            this.rehash(Math.min(groupCount, this.controls.length));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of JVM words used by this set, assuming a 64-bit VM where a long occupies one word. Each
+     * array has a 2 word header, thus the formula is: words = (table length + 2) + (control words + 2)
+     *
+     * @return the number of JVM words that is used by this set.
+     */
+    public int getSetMemoryUsedInWords()
+    {
+        int headerSize = 2;
+        return this.table.length + headerSize + this.controls.length + headerSize;
+    }
+
+    @Override
+    public boolean add(T key)
+    {
+        int hash = OpenAddressingHashSet.hash(key);
+        if (this.findSlot(key, hash) >= 0)
+        {
+            return false;
+        }
+        this.insert(key, hash);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object key)
+    {
+        int slot = this.findSlot(key, OpenAddressingHashSet.hash(key));
+        if (slot < 0)
+        {
+            return false;
+        }
+        this.removeSlot(slot);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object key)
+    {
+        return this.findSlot(key, OpenAddressingHashSet.hash(key)) >= 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.occupied;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.occupied == 0;
+    }
+
+    @Override
+    public void clear()
+    {
+        if (this.occupied == 0 && this.deleted == 0)
+        {
+            return;
+        }
+        this.occupied = 0;
+        this.deleted = 0;
+        ControlGroups.clear(this.controls);
+        Object[] set = this.table;
+        for (int i = set.length; i-- > 0; )
+        {
+            set[i] = null;
+        }
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        for (Object cur : this.table)
+        {
+            if (cur != null)
+            {
+                procedure.value(OpenAddressingHashSet.nonSentinel(cur));
+            }
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new PositionalIterator();
+    }
+
+    @Override
+    public T getFirst()
+    {
+        for (Object cur : this.table)
+        {
+            if (cur != null)
+            {
+                return OpenAddressingHashSet.nonSentinel(cur);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public T getLast()
+    {
+        for (int i = this.table.length - 1; i >= 0; i--)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                return OpenAddressingHashSet.nonSentinel(cur);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public OpenAddressingHashSet<T> clone()
+    {
+        return new OpenAddressingHashSet<>(this);
+    }
+
+    @Override
+    public MutableSet<T> newEmpty()
+    {
+        return new OpenAddressingHashSet<>();
+    }
+
+    @Override
+    protected <K> MutableSet<K> newEmptySameSize()
+    {
+        return new OpenAddressingHashSet<>(this.size());
+    }
+
+    @Override
+    public OpenAddressingHashSet<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    public OpenAddressingHashSet<T> with(T element1, T element2)
+    {
+        this.add(element1);
+        this.add(element2);
+        return this;
+    }
+
+    public OpenAddressingHashSet<T> with(T element1, T element2, T element3)
+    {
+        this.add(element1);
+        this.add(element2);
+        this.add(element3);
+        return this;
+    }
+
+    public OpenAddressingHashSet<T> with(T... elements)
+    {
+        for (T element : elements)
+        {
+            this.add(element);
+        }
+        return this;
+    }
+
+    @Override
+    public OpenAddressingHashSet<T> withAll(Iterable<? extends T> iterable)
+    {
+        this.addAllIterable(iterable);
+        return this;
+    }
+
+    @Override
+    public OpenAddressingHashSet<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public OpenAddressingHashSet<T> withoutAll(Iterable<? extends T> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+
+        if (!(object instanceof Set))
+        {
+            return false;
+        }
+
+        Set<?> other = (Set<?>) object;
+        return this.size() == other.size() && this.containsAll(other);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (Object cur : this.table)
+        {
+            if (cur != null)
+            {
+                hashCode += cur == NULL_KEY ? 0 : cur.hashCode();
+            }
+        }
+        return hashCode;
+    }
+
+    @Override
+    public ParallelUnsortedSetIterable<T> asParallel(ExecutorService executorService, int batchSize)
+    {
+        return new NonParallelUnsortedSetIterable<>(this);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.size());
+        for (Object cur : this.table)
+        {
+            if (cur != null)
+            {
+                out.writeObject(OpenAddressingHashSet.nonSentinel(cur));
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        this.allocate(ControlGroups.groupsForCapacity(Math.max(size, DEFAULT_INITIAL_CAPACITY)));
+        this.occupied = 0;
+        for (int i = 0; i < size; i++)
+        {
+            this.add((T) in.readObject());
+        }
+    }
+
+    private static <T> T nonSentinel(Object key)
+    {
+        return key == NULL_KEY ? null : (T) key;
+    }
+
+    private static Object toSentinelIfNull(Object key)
+    {
+        if (key == null)
+        {
+            return NULL_KEY;
+        }
+        return key;
+    }
+
+    private static boolean nonNullTableObjectEquals(Object cur, Object key)
+    {
+        return cur == key || (cur == NULL_KEY ? key == null : cur.equals(key));
+    }
+
+    private final class PositionalIterator implements Iterator<T>
+    {
+        private int position;
+        private int lastReturned = -1;
+        private int expectedOccupied = OpenAddressingHashSet.this.occupied;
+
+        private PositionalIterator()
+        {
+            this.advance();
+        }
+
+        private void advance()
+        {
+            Object[] localTable = OpenAddressingHashSet.this.table;
+            while (this.position < localTable.length && localTable[this.position] == null)
+            {
+                this.position++;
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.position < OpenAddressingHashSet.this.table.length;
+        }
+
+        @Override
+        public T next()
+        {
+            if (this.expectedOccupied != OpenAddressingHashSet.this.occupied)
+            {
+                throw new ConcurrentModificationException();
+            }
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            int index = this.position;
+            this.lastReturned = index;
+            this.position++;
+            this.advance();
+            return OpenAddressingHashSet.nonSentinel(OpenAddressingHashSet.this.table[index]);
+        }
+
+        @Override
+        public void remove()
+        {
+            if (this.lastReturned < 0)
+            {
+                throw new IllegalStateException();
+            }
+            OpenAddressingHashSet.this.removeSlot(this.lastReturned);
+            this.expectedOccupied--;
+            this.lastReturned = -1;
+        }
+    }
+}
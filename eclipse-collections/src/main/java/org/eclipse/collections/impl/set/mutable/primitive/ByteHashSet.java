@@ -17,11 +17,14 @@ import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
 
 import org.eclipse.collections.api.ByteIterable;
 import org.eclipse.collections.api.LazyByteIterable;
 import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.ParallelByteIterable;
 import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.annotation.Beta;
 import org.eclipse.collections.api.bag.primitive.MutableByteBag;
 import org.eclipse.collections.api.block.function.primitive.ByteToObjectFunction;
 import org.eclipse.collections.api.block.function.primitive.ObjectByteToObjectFunction;
@@ -43,6 +46,9 @@ import org.eclipse.collections.api.set.primitive.MutableByteSet;
 import org.eclipse.collections.api.tuple.primitive.ByteBytePair;
 import org.eclipse.collections.impl.block.procedure.checked.primitive.CheckedByteProcedure;
 import org.eclipse.collections.impl.factory.primitive.ByteSets;
+import org.eclipse.collections.impl.lazy.parallel.IndexRangeBatchLazyIterable;
+import org.eclipse.collections.impl.lazy.parallel.primitive.AbstractByteBatch;
+import org.eclipse.collections.impl.lazy.parallel.primitive.AbstractParallelByteIterable;
 import org.eclipse.collections.impl.lazy.primitive.LazyByteIterableAdapter;
 import org.eclipse.collections.impl.set.immutable.primitive.ImmutableByteSetSerializationProxy;
 
@@ -659,6 +665,26 @@ public final class ByteHashSet implements MutableByteSet, Externalizable
         }
     }
 
+    /**
+     * Returns a parallel view of this set, which processes batches of at most {@code batchSize} of the 256 possible
+     * values on {@code executorService}. The set must not be modified while the view is in use.
+     *
+     * @since 11.1
+     */
+    @Beta
+    public ParallelByteIterable asParallel(ExecutorService executorService, int batchSize)
+    {
+        if (executorService == null)
+        {
+            throw new NullPointerException();
+        }
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException();
+        }
+        return new ByteHashSetParallelIterable(executorService, batchSize);
+    }
+
     @Override
     public ByteHashSet select(BytePredicate predicate)
     {
@@ -1032,6 +1058,90 @@ public final class ByteHashSet implements MutableByteSet, Externalizable
         return result;
     }
 
+    /**
+     * A batch of the values {@code Byte.MIN_VALUE + chunkStartIndex} to {@code Byte.MIN_VALUE + chunkEndIndex - 1}.
+     */
+    private final class ByteHashSetBatch extends AbstractByteBatch
+    {
+        private final int chunkStartIndex;
+        private final int chunkEndIndex;
+
+        private ByteHashSetBatch(int chunkStartIndex, int chunkEndIndex)
+        {
+            this.chunkStartIndex = chunkStartIndex;
+            this.chunkEndIndex = chunkEndIndex;
+        }
+
+        @Override
+        public void forEach(ByteProcedure procedure)
+        {
+            for (int i = this.chunkStartIndex; i < this.chunkEndIndex; i++)
+            {
+                byte value = (byte) (i + Byte.MIN_VALUE);
+                if (ByteHashSet.this.contains(value))
+                {
+                    procedure.value(value);
+                }
+            }
+        }
+
+        @Override
+        public boolean anySatisfy(BytePredicate predicate)
+        {
+            for (int i = this.chunkStartIndex; i < this.chunkEndIndex; i++)
+            {
+                byte value = (byte) (i + Byte.MIN_VALUE);
+                if (ByteHashSet.this.contains(value) && predicate.accept(value))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean allSatisfy(BytePredicate predicate)
+        {
+            return !this.anySatisfy(each -> !predicate.accept(each));
+        }
+    }
+
+    private final class ByteHashSetParallelIterable extends AbstractParallelByteIterable
+    {
+        private final ExecutorService executorService;
+        private final int batchSize;
+
+        private ByteHashSetParallelIterable(ExecutorService executorService, int batchSize)
+        {
+            this.executorService = executorService;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public ExecutorService getExecutorService()
+        {
+            return this.executorService;
+        }
+
+        @Override
+        public int getBatchSize()
+        {
+            return this.batchSize;
+        }
+
+        @Override
+        public LazyIterable<ByteHashSetBatch> split()
+        {
+            return new IndexRangeBatchLazyIterable<>(1 << Byte.SIZE, this.batchSize, ByteHashSetBatch::new);
+        }
+
+        @Override
+        protected boolean isOrdered()
+        {
+            return false;
+        }
+    }
+
     private static final class ImmutableByteHashSet implements ImmutableByteSet, Serializable
     {
         private static final long serialVersionUID = 1L;
@@ -0,0 +1,522 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable.primitive;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.block.predicate.primitive.LongPredicate;
+import org.eclipse.collections.api.block.procedure.primitive.LongProcedure;
+
+/**
+ * A set of unsigned 64-bit positions, stored as a sorted array of keys, the high 48 bits of the positions, and a
+ * parallel array of {@link RoaringContainer}s holding the low 16 bits. This is the storage of {@link RoaringIntSet}
+ * and {@link RoaringLongSet}, which map each value to a position by flipping its sign bit, so that positions are in
+ * the same order as the signed values.
+ *
+ * @since 11.1
+ */
+final class RoaringBitmap
+{
+    private static final long[] EMPTY_KEYS = {};
+    private static final RoaringContainer[] EMPTY_CONTAINERS = {};
+
+    private long[] keys = EMPTY_KEYS;
+    private RoaringContainer[] containers = EMPTY_CONTAINERS;
+    private int containerCount;
+    private long cardinality;
+
+    RoaringBitmap copy()
+    {
+        RoaringBitmap copy = new RoaringBitmap();
+        copy.keys = Arrays.copyOf(this.keys, this.containerCount);
+        copy.containers = new RoaringContainer[this.containerCount];
+        for (int i = 0; i < this.containerCount; i++)
+        {
+            copy.containers[i] = this.containers[i].copy();
+        }
+        copy.containerCount = this.containerCount;
+        copy.cardinality = this.cardinality;
+        return copy;
+    }
+
+    long cardinality()
+    {
+        return this.cardinality;
+    }
+
+    private static long keyOf(long position)
+    {
+        return position >>> 16;
+    }
+
+    private static int lowOf(long position)
+    {
+        return (int) position & RoaringContainer.MAX_VALUE;
+    }
+
+    private long position(int index, int low)
+    {
+        return this.keys[index] << 16 | low;
+    }
+
+    private int indexOfKey(long key)
+    {
+        return Arrays.binarySearch(this.keys, 0, this.containerCount, key);
+    }
+
+    boolean contains(long position)
+    {
+        int index = this.indexOfKey(RoaringBitmap.keyOf(position));
+        return index >= 0 && this.containers[index].contains(RoaringBitmap.lowOf(position));
+    }
+
+    boolean add(long position)
+    {
+        long key = RoaringBitmap.keyOf(position);
+        int index = this.indexOfKey(key);
+        if (index < 0)
+        {
+            RoaringContainer container = new RoaringContainer.ArrayContainer();
+            container.add(RoaringBitmap.lowOf(position));
+            this.insertContainer(-index - 1, key, container);
+            this.cardinality++;
+            return true;
+        }
+        RoaringContainer container = this.containers[index];
+        int oldCardinality = container.cardinality();
+        container = container.add(RoaringBitmap.lowOf(position));
+        this.containers[index] = container;
+        if (container.cardinality() == oldCardinality)
+        {
+            return false;
+        }
+        this.cardinality++;
+        return true;
+    }
+
+    boolean remove(long position)
+    {
+        int index = this.indexOfKey(RoaringBitmap.keyOf(position));
+        if (index < 0)
+        {
+            return false;
+        }
+        RoaringContainer container = this.containers[index];
+        int oldCardinality = container.cardinality();
+        container = container.remove(RoaringBitmap.lowOf(position));
+        if (container.cardinality() == oldCardinality)
+        {
+            return false;
+        }
+        this.cardinality--;
+        if (container.cardinality() == 0)
+        {
+            this.removeContainer(index);
+        }
+        else
+        {
+            this.containers[index] = container;
+        }
+        return true;
+    }
+
+    private void insertContainer(int index, long key, RoaringContainer container)
+    {
+        if (this.containerCount == this.keys.length)
+        {
+            int capacity = Math.max(this.containerCount + (this.containerCount >> 1), 4);
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.containers = Arrays.copyOf(this.containers, capacity);
+        }
+        System.arraycopy(this.keys, index, this.keys, index + 1, this.containerCount - index);
+        System.arraycopy(this.containers, index, this.containers, index + 1, this.containerCount - index);
+        this.keys[index] = key;
+        this.containers[index] = container;
+        this.containerCount++;
+    }
+
+    private void removeContainer(int index)
+    {
+        System.arraycopy(this.keys, index + 1, this.keys, index, this.containerCount - index - 1);
+        System.arraycopy(this.containers, index + 1, this.containers, index, this.containerCount - index - 1);
+        this.containerCount--;
+        this.containers[this.containerCount] = null;
+    }
+
+    void clear()
+    {
+        this.keys = EMPTY_KEYS;
+        this.containers = EMPTY_CONTAINERS;
+        this.containerCount = 0;
+        this.cardinality = 0L;
+    }
+
+    long first()
+    {
+        if (this.containerCount == 0)
+        {
+            throw new NoSuchElementException();
+        }
+        return this.position(0, this.containers[0].first());
+    }
+
+    long last()
+    {
+        if (this.containerCount == 0)
+        {
+            throw new NoSuchElementException();
+        }
+        int index = this.containerCount - 1;
+        return this.position(index, this.containers[index].last());
+    }
+
+    /**
+     * Returns the number of positions less than the given position.
+     */
+    long rank(long position)
+    {
+        long key = RoaringBitmap.keyOf(position);
+        long rank = 0L;
+        for (int i = 0; i < this.containerCount && this.keys[i] <= key; i++)
+        {
+            if (this.keys[i] < key)
+            {
+                rank += this.containers[i].cardinality();
+            }
+            else
+            {
+                rank += this.containers[i].rank(RoaringBitmap.lowOf(position));
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the position at the given index in ascending order.
+     */
+    long select(long index)
+    {
+        if (index < 0L || index >= this.cardinality)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: " + this.cardinality);
+        }
+        long remaining = index;
+        int i = 0;
+        while (remaining >= this.containers[i].cardinality())
+        {
+            remaining -= this.containers[i].cardinality();
+            i++;
+        }
+        return this.position(i, this.containers[i].select((int) remaining));
+    }
+
+    void forEach(LongProcedure procedure)
+    {
+        for (int i = 0; i < this.containerCount; i++)
+        {
+            this.containers[i].forEach(this.keys[i] << 16, procedure);
+        }
+    }
+
+    long detectIfNone(LongPredicate predicate, long ifNone)
+    {
+        PositionIterator iterator = new PositionIterator();
+        while (iterator.hasNext())
+        {
+            long position = iterator.next();
+            if (predicate.accept(position))
+            {
+                return position;
+            }
+        }
+        return ifNone;
+    }
+
+    boolean anySatisfy(LongPredicate predicate)
+    {
+        PositionIterator iterator = new PositionIterator();
+        while (iterator.hasNext())
+        {
+            if (predicate.accept(iterator.next()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Keeps the positions that are also in {@code other}.
+     */
+    void and(RoaringBitmap other)
+    {
+        int capacity = Math.min(this.containerCount, other.containerCount);
+        long[] newKeys = new long[capacity];
+        RoaringContainer[] newContainers = new RoaringContainer[capacity];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < this.containerCount && j < other.containerCount)
+        {
+            long left = this.keys[i];
+            long right = other.keys[j];
+            if (left < right)
+            {
+                i++;
+            }
+            else if (right < left)
+            {
+                j++;
+            }
+            else
+            {
+                RoaringContainer container = RoaringContainer.and(this.containers[i], other.containers[j]);
+                if (container != null)
+                {
+                    newKeys[count] = left;
+                    newContainers[count] = container;
+                    count++;
+                }
+                i++;
+                j++;
+            }
+        }
+        this.replace(newKeys, newContainers, count);
+    }
+
+    /**
+     * Adds the positions of {@code other}.
+     */
+    void or(RoaringBitmap other)
+    {
+        this.merge(other, false);
+    }
+
+    /**
+     * Keeps the positions that are in exactly one of this and {@code other}.
+     */
+    void xor(RoaringBitmap other)
+    {
+        this.merge(other, true);
+    }
+
+    private void merge(RoaringBitmap other, boolean exclusive)
+    {
+        int capacity = this.containerCount + other.containerCount;
+        long[] newKeys = new long[capacity];
+        RoaringContainer[] newContainers = new RoaringContainer[capacity];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < this.containerCount || j < other.containerCount)
+        {
+            long left = i < this.containerCount ? this.keys[i] : Long.MAX_VALUE;
+            long right = j < other.containerCount ? other.keys[j] : Long.MAX_VALUE;
+            RoaringContainer container;
+            long key;
+            if (left < right)
+            {
+                key = left;
+                container = this.containers[i++];
+            }
+            else if (right < left)
+            {
+                key = right;
+                container = other.containers[j++].copy();
+            }
+            else
+            {
+                key = left;
+                container = exclusive
+                        ? RoaringContainer.xor(this.containers[i++], other.containers[j++])
+                        : RoaringContainer.or(this.containers[i++], other.containers[j++]);
+            }
+            if (container != null)
+            {
+                newKeys[count] = key;
+                newContainers[count] = container;
+                count++;
+            }
+        }
+        this.replace(newKeys, newContainers, count);
+    }
+
+    /**
+     * Removes the positions that are in {@code other}.
+     */
+    void andNot(RoaringBitmap other)
+    {
+        long[] newKeys = new long[this.containerCount];
+        RoaringContainer[] newContainers = new RoaringContainer[this.containerCount];
+        int count = 0;
+        int j = 0;
+        for (int i = 0; i < this.containerCount; i++)
+        {
+            long key = this.keys[i];
+            while (j < other.containerCount && other.keys[j] < key)
+            {
+                j++;
+            }
+            RoaringContainer container = this.containers[i];
+            if (j < other.containerCount && other.keys[j] == key)
+            {
+                container = RoaringContainer.andNot(container, other.containers[j]);
+            }
+            if (container != null)
+            {
+                newKeys[count] = key;
+                newContainers[count] = container;
+                count++;
+            }
+        }
+        this.replace(newKeys, newContainers, count);
+    }
+
+    /**
+     * Returns the number of positions in both this and {@code other}, without building the intersection.
+     */
+    long andCardinality(RoaringBitmap other)
+    {
+        long result = 0L;
+        int i = 0;
+        int j = 0;
+        while (i < this.containerCount && j < other.containerCount)
+        {
+            long left = this.keys[i];
+            long right = other.keys[j];
+            if (left < right)
+            {
+                i++;
+            }
+            else if (right < left)
+            {
+                j++;
+            }
+            else
+            {
+                result += RoaringContainer.andCardinality(this.containers[i++], other.containers[j++]);
+            }
+        }
+        return result;
+    }
+
+    private void replace(long[] newKeys, RoaringContainer[] newContainers, int count)
+    {
+        long newCardinality = 0L;
+        for (int i = 0; i < count; i++)
+        {
+            newCardinality += newContainers[i].cardinality();
+        }
+        this.keys = newKeys;
+        this.containers = newContainers;
+        this.containerCount = count;
+        this.cardinality = newCardinality;
+    }
+
+    /**
+     * Converts every container to its smallest representation and trims the spare capacity of the arrays.
+     */
+    void optimize()
+    {
+        this.keys = Arrays.copyOf(this.keys, this.containerCount);
+        this.containers = Arrays.copyOf(this.containers, this.containerCount);
+        for (int i = 0; i < this.containerCount; i++)
+        {
+            this.containers[i] = this.containers[i].optimize();
+        }
+    }
+
+    void write(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.containerCount);
+        for (int i = 0; i < this.containerCount; i++)
+        {
+            out.writeLong(this.keys[i]);
+            this.containers[i].write(out);
+        }
+    }
+
+    void read(ObjectInput in) throws IOException
+    {
+        int count = in.readInt();
+        long[] newKeys = new long[count];
+        RoaringContainer[] newContainers = new RoaringContainer[count];
+        for (int i = 0; i < count; i++)
+        {
+            newKeys[i] = in.readLong();
+            newContainers[i] = RoaringContainer.read(in);
+        }
+        this.replace(newKeys, newContainers, count);
+    }
+
+    /**
+     * Iterates the positions in ascending order. Removing through the iterator looks the next position up again, as
+     * the removal can convert or drop the container the iterator is in.
+     */
+    final class PositionIterator
+    {
+        private int index;
+        private int nextLow = -1;
+        private long lastReturned;
+        private boolean canRemove;
+
+        PositionIterator()
+        {
+            if (RoaringBitmap.this.containerCount > 0)
+            {
+                this.nextLow = RoaringBitmap.this.containers[0].first();
+            }
+        }
+
+        boolean hasNext()
+        {
+            return this.nextLow >= 0;
+        }
+
+        long next()
+        {
+            if (this.nextLow < 0)
+            {
+                throw new NoSuchElementException("next() called, but the iterator is exhausted");
+            }
+            long position = RoaringBitmap.this.position(this.index, this.nextLow);
+            int low = RoaringBitmap.this.containers[this.index].nextValue(this.nextLow + 1);
+            if (low < 0)
+            {
+                this.index++;
+                low = this.index < RoaringBitmap.this.containerCount ? RoaringBitmap.this.containers[this.index].first() : -1;
+            }
+            this.nextLow = low;
+            this.lastReturned = position;
+            this.canRemove = true;
+            return position;
+        }
+
+        void remove()
+        {
+            if (!this.canRemove)
+            {
+                throw new IllegalStateException();
+            }
+            this.canRemove = false;
+            long nextKey = this.nextLow >= 0 ? RoaringBitmap.this.keys[this.index] : 0L;
+            RoaringBitmap.this.remove(this.lastReturned);
+            if (this.nextLow >= 0)
+            {
+                this.index = RoaringBitmap.this.indexOfKey(nextKey);
+            }
+        }
+    }
+}
@@ -0,0 +1,1136 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable.primitive;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+
+import org.eclipse.collections.api.block.procedure.primitive.LongProcedure;
+
+/**
+ * A set of 16-bit values, the low half of the positions that share one key in a {@link RoaringBitmap}. There are
+ * three representations: a sorted array for sparse containers, a 65536-bit bitmap for dense ones, and a sorted array
+ * of runs for containers made of long stretches of consecutive values.
+ * <p>
+ * Mutators return the container that holds the result, which is a different representation when the cardinality
+ * crosses {@link #MAX_ARRAY_CARDINALITY}. The set operations never modify their arguments and return {@code null}
+ * when the result is empty.
+ *
+ * @since 11.1
+ */
+abstract class RoaringContainer
+{
+    static final int MAX_ARRAY_CARDINALITY = 4096;
+    static final int BITMAP_WORDS = 1024;
+    static final int MAX_VALUE = 0xFFFF;
+
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+    private static final byte RUN = 2;
+
+    abstract int cardinality();
+
+    abstract boolean contains(int low);
+
+    abstract RoaringContainer add(int low);
+
+    abstract RoaringContainer remove(int low);
+
+    abstract int first();
+
+    abstract int last();
+
+    /**
+     * Returns the smallest value greater than or equal to {@code fromLow}, or -1 if there is none.
+     */
+    abstract int nextValue(int fromLow);
+
+    /**
+     * Returns the number of values less than {@code low}.
+     */
+    abstract int rank(int low);
+
+    abstract int select(int index);
+
+    abstract void forEach(long high, LongProcedure procedure);
+
+    /**
+     * Returns a new bitmap of the values in this container.
+     */
+    abstract long[] toWords();
+
+    abstract int runCount();
+
+    abstract RoaringContainer copy();
+
+    abstract void write(ObjectOutput out) throws IOException;
+
+    void andInto(long[] words)
+    {
+        long[] other = this.toWords();
+        for (int i = 0; i < BITMAP_WORDS; i++)
+        {
+            words[i] &= other[i];
+        }
+    }
+
+    void orInto(long[] words)
+    {
+        long[] other = this.toWords();
+        for (int i = 0; i < BITMAP_WORDS; i++)
+        {
+            words[i] |= other[i];
+        }
+    }
+
+    void andNotInto(long[] words)
+    {
+        long[] other = this.toWords();
+        for (int i = 0; i < BITMAP_WORDS; i++)
+        {
+            words[i] &= ~other[i];
+        }
+    }
+
+    void xorInto(long[] words)
+    {
+        long[] other = this.toWords();
+        for (int i = 0; i < BITMAP_WORDS; i++)
+        {
+            words[i] ^= other[i];
+        }
+    }
+
+    /**
+     * Returns this container in whichever representation is smallest, with no spare capacity.
+     */
+    RoaringContainer optimize()
+    {
+        return RoaringContainer.smallest(this.toWords(), this.cardinality(), this.runCount());
+    }
+
+    static RoaringContainer and(RoaringContainer left, RoaringContainer right)
+    {
+        if (left instanceof ArrayContainer)
+        {
+            return ((ArrayContainer) left).filter(right, true);
+        }
+        if (right instanceof ArrayContainer)
+        {
+            return ((ArrayContainer) right).filter(left, true);
+        }
+        long[] words = left.toWords();
+        right.andInto(words);
+        return RoaringContainer.fromWords(words);
+    }
+
+    static RoaringContainer or(RoaringContainer left, RoaringContainer right)
+    {
+        if (left instanceof ArrayContainer
+                && right instanceof ArrayContainer
+                && left.cardinality() + right.cardinality() <= MAX_ARRAY_CARDINALITY)
+        {
+            return ((ArrayContainer) left).merge((ArrayContainer) right, false);
+        }
+        long[] words = left.toWords();
+        right.orInto(words);
+        return RoaringContainer.fromWords(words);
+    }
+
+    static RoaringContainer andNot(RoaringContainer left, RoaringContainer right)
+    {
+        if (left instanceof ArrayContainer)
+        {
+            return ((ArrayContainer) left).filter(right, false);
+        }
+        long[] words = left.toWords();
+        right.andNotInto(words);
+        return RoaringContainer.fromWords(words);
+    }
+
+    static RoaringContainer xor(RoaringContainer left, RoaringContainer right)
+    {
+        if (left instanceof ArrayContainer
+                && right instanceof ArrayContainer
+                && left.cardinality() + right.cardinality() <= MAX_ARRAY_CARDINALITY)
+        {
+            return ((ArrayContainer) left).merge((ArrayContainer) right, true);
+        }
+        long[] words = left.toWords();
+        right.xorInto(words);
+        return RoaringContainer.fromWords(words);
+    }
+
+    static int andCardinality(RoaringContainer left, RoaringContainer right)
+    {
+        if (left instanceof ArrayContainer)
+        {
+            return ((ArrayContainer) left).count(right);
+        }
+        if (right instanceof ArrayContainer)
+        {
+            return ((ArrayContainer) right).count(left);
+        }
+        long[] words = left.toWords();
+        right.andInto(words);
+        return RoaringContainer.bitCount(words);
+    }
+
+    /**
+     * Returns the words as an array or bitmap container, or {@code null} if no bit is set. The words are not copied.
+     */
+    static RoaringContainer fromWords(long[] words)
+    {
+        int cardinality = RoaringContainer.bitCount(words);
+        if (cardinality == 0)
+        {
+            return null;
+        }
+        if (cardinality <= MAX_ARRAY_CARDINALITY)
+        {
+            return ArrayContainer.fromWords(words, cardinality);
+        }
+        return new BitmapContainer(words, cardinality);
+    }
+
+    private static RoaringContainer smallest(long[] words, int cardinality, int runCount)
+    {
+        int runBytes = 4 * runCount;
+        if (runBytes < Math.min(2 * cardinality, 8 * BITMAP_WORDS))
+        {
+            return RunContainer.fromWords(words, cardinality, runCount);
+        }
+        if (cardinality <= MAX_ARRAY_CARDINALITY)
+        {
+            return ArrayContainer.fromWords(words, cardinality);
+        }
+        return new BitmapContainer(words, cardinality);
+    }
+
+    static RoaringContainer read(ObjectInput in) throws IOException
+    {
+        byte type = in.readByte();
+        if (type == ARRAY)
+        {
+            int cardinality = in.readUnsignedShort();
+            char[] content = new char[cardinality];
+            for (int i = 0; i < cardinality; i++)
+            {
+                content[i] = in.readChar();
+            }
+            return new ArrayContainer(content, cardinality);
+        }
+        if (type == BITMAP)
+        {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++)
+            {
+                words[i] = in.readLong();
+            }
+            return new BitmapContainer(words, RoaringContainer.bitCount(words));
+        }
+        if (type == RUN)
+        {
+            int runCount = in.readUnsignedShort();
+            char[] runs = new char[runCount << 1];
+            int cardinality = 0;
+            for (int i = 0; i < runs.length; i += 2)
+            {
+                runs[i] = in.readChar();
+                runs[i + 1] = in.readChar();
+                cardinality += runs[i + 1] + 1;
+            }
+            return new RunContainer(runs, runCount, cardinality);
+        }
+        throw new IOException("Unknown container type " + type);
+    }
+
+    private static int nextSetBit(long[] words, int from)
+    {
+        if (from > MAX_VALUE)
+        {
+            return -1;
+        }
+        int index = from >>> 6;
+        long word = words[index] & -1L << from;
+        while (word == 0L)
+        {
+            index++;
+            if (index == BITMAP_WORDS)
+            {
+                return -1;
+            }
+            word = words[index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private static int nextClearBit(long[] words, int from)
+    {
+        int index = from >>> 6;
+        long word = ~words[index] & -1L << from;
+        while (word == 0L)
+        {
+            index++;
+            if (index == BITMAP_WORDS)
+            {
+                return MAX_VALUE + 1;
+            }
+            word = ~words[index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    static int bitCount(long[] words)
+    {
+        int count = 0;
+        for (long word : words)
+        {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Sets the bits from {@code from} inclusive to {@code to} exclusive.
+     */
+    static void setRange(long[] words, int from, int to)
+    {
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord)
+        {
+            words[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        words[firstWord] |= firstMask;
+        for (int i = firstWord + 1; i < lastWord; i++)
+        {
+            words[i] = -1L;
+        }
+        words[lastWord] |= lastMask;
+    }
+
+    static final class ArrayContainer extends RoaringContainer
+    {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private char[] content;
+        private int cardinality;
+
+        ArrayContainer()
+        {
+            this.content = new char[INITIAL_CAPACITY];
+        }
+
+        ArrayContainer(char[] content, int cardinality)
+        {
+            this.content = content;
+            this.cardinality = cardinality;
+        }
+
+        static ArrayContainer fromWords(long[] words, int cardinality)
+        {
+            char[] content = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++)
+            {
+                long word = words[i];
+                while (word != 0L)
+                {
+                    content[count++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1L;
+                }
+            }
+            return new ArrayContainer(content, cardinality);
+        }
+
+        @Override
+        int cardinality()
+        {
+            return this.cardinality;
+        }
+
+        private int indexOf(int low)
+        {
+            return Arrays.binarySearch(this.content, 0, this.cardinality, (char) low);
+        }
+
+        @Override
+        boolean contains(int low)
+        {
+            return this.indexOf(low) >= 0;
+        }
+
+        @Override
+        RoaringContainer add(int low)
+        {
+            int index = this.indexOf(low);
+            if (index >= 0)
+            {
+                return this;
+            }
+            if (this.cardinality == MAX_ARRAY_CARDINALITY)
+            {
+                long[] words = this.toWords();
+                words[low >>> 6] |= 1L << low;
+                return new BitmapContainer(words, this.cardinality + 1);
+            }
+            int insertionPoint = -index - 1;
+            if (this.cardinality == this.content.length)
+            {
+                char[] newContent = new char[Math.min(this.content.length << 1, MAX_ARRAY_CARDINALITY)];
+                System.arraycopy(this.content, 0, newContent, 0, insertionPoint);
+                System.arraycopy(this.content, insertionPoint, newContent, insertionPoint + 1, this.cardinality - insertionPoint);
+                this.content = newContent;
+            }
+            else
+            {
+                System.arraycopy(this.content, insertionPoint, this.content, insertionPoint + 1, this.cardinality - insertionPoint);
+            }
+            this.content[insertionPoint] = (char) low;
+            this.cardinality++;
+            return this;
+        }
+
+        @Override
+        RoaringContainer remove(int low)
+        {
+            int index = this.indexOf(low);
+            if (index >= 0)
+            {
+                System.arraycopy(this.content, index + 1, this.content, index, this.cardinality - index - 1);
+                this.cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        int first()
+        {
+            return this.content[0];
+        }
+
+        @Override
+        int last()
+        {
+            return this.content[this.cardinality - 1];
+        }
+
+        @Override
+        int nextValue(int fromLow)
+        {
+            if (fromLow > MAX_VALUE)
+            {
+                return -1;
+            }
+            int index = this.indexOf(fromLow);
+            if (index < 0)
+            {
+                index = -index - 1;
+            }
+            return index < this.cardinality ? this.content[index] : -1;
+        }
+
+        @Override
+        int rank(int low)
+        {
+            int index = this.indexOf(low);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        @Override
+        int select(int index)
+        {
+            return this.content[index];
+        }
+
+        @Override
+        void forEach(long high, LongProcedure procedure)
+        {
+            for (int i = 0; i < this.cardinality; i++)
+            {
+                procedure.value(high | this.content[i]);
+            }
+        }
+
+        @Override
+        long[] toWords()
+        {
+            long[] words = new long[BITMAP_WORDS];
+            this.orInto(words);
+            return words;
+        }
+
+        @Override
+        void orInto(long[] words)
+        {
+            for (int i = 0; i < this.cardinality; i++)
+            {
+                char low = this.content[i];
+                words[low >>> 6] |= 1L << low;
+            }
+        }
+
+        @Override
+        void andNotInto(long[] words)
+        {
+            for (int i = 0; i < this.cardinality; i++)
+            {
+                char low = this.content[i];
+                words[low >>> 6] &= ~(1L << low);
+            }
+        }
+
+        @Override
+        void xorInto(long[] words)
+        {
+            for (int i = 0; i < this.cardinality; i++)
+            {
+                char low = this.content[i];
+                words[low >>> 6] ^= 1L << low;
+            }
+        }
+
+        @Override
+        int runCount()
+        {
+            int runCount = 0;
+            for (int i = 0; i < this.cardinality; i++)
+            {
+                if (i == 0 || this.content[i] != this.content[i - 1] + 1)
+                {
+                    runCount++;
+                }
+            }
+            return runCount;
+        }
+
+        @Override
+        RoaringContainer optimize()
+        {
+            int runCount = this.runCount();
+            if (4 * runCount < 2 * this.cardinality)
+            {
+                return super.optimize();
+            }
+            if (this.content.length != this.cardinality)
+            {
+                return new ArrayContainer(Arrays.copyOf(this.content, this.cardinality), this.cardinality);
+            }
+            return this;
+        }
+
+        /**
+         * Returns the values of this container that the other container contains, or does not contain if
+         * {@code keep} is false.
+         */
+        ArrayContainer filter(RoaringContainer other, boolean keep)
+        {
+            char[] result = new char[this.cardinality];
+            int count = 0;
+            for (int i = 0; i < this.cardinality; i++)
+            {
+                char low = this.content[i];
+                if (other.contains(low) == keep)
+                {
+                    result[count++] = low;
+                }
+            }
+            return count == 0 ? null : new ArrayContainer(result, count);
+        }
+
+        int count(RoaringContainer other)
+        {
+            int count = 0;
+            for (int i = 0; i < this.cardinality; i++)
+            {
+                if (other.contains(this.content[i]))
+                {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Returns the union of both containers, or the symmetric difference if {@code exclusive} is true.
+         */
+        ArrayContainer merge(ArrayContainer other, boolean exclusive)
+        {
+            char[] result = new char[this.cardinality + other.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < this.cardinality && j < other.cardinality)
+            {
+                char left = this.content[i];
+                char right = other.content[j];
+                if (left < right)
+                {
+                    result[count++] = left;
+                    i++;
+                }
+                else if (right < left)
+                {
+                    result[count++] = right;
+                    j++;
+                }
+                else
+                {
+                    if (!exclusive)
+                    {
+                        result[count++] = left;
+                    }
+                    i++;
+                    j++;
+                }
+            }
+            while (i < this.cardinality)
+            {
+                result[count++] = this.content[i++];
+            }
+            while (j < other.cardinality)
+            {
+                result[count++] = other.content[j++];
+            }
+            return count == 0 ? null : new ArrayContainer(result, count);
+        }
+
+        @Override
+        RoaringContainer copy()
+        {
+            return new ArrayContainer(this.content.clone(), this.cardinality);
+        }
+
+        @Override
+        void write(ObjectOutput out) throws IOException
+        {
+            out.writeByte(ARRAY);
+            out.writeShort(this.cardinality);
+            for (int i = 0; i < this.cardinality; i++)
+            {
+                out.writeChar(this.content[i]);
+            }
+        }
+    }
+
+    static final class BitmapContainer extends RoaringContainer
+    {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality)
+        {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality()
+        {
+            return this.cardinality;
+        }
+
+        @Override
+        boolean contains(int low)
+        {
+            return (this.words[low >>> 6] & 1L << low) != 0L;
+        }
+
+        @Override
+        RoaringContainer add(int low)
+        {
+            long word = this.words[low >>> 6];
+            long newWord = word | 1L << low;
+            if (newWord != word)
+            {
+                this.words[low >>> 6] = newWord;
+                this.cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        RoaringContainer remove(int low)
+        {
+            long word = this.words[low >>> 6];
+            long newWord = word & ~(1L << low);
+            if (newWord != word)
+            {
+                this.words[low >>> 6] = newWord;
+                this.cardinality--;
+                if (this.cardinality <= MAX_ARRAY_CARDINALITY)
+                {
+                    return ArrayContainer.fromWords(this.words, this.cardinality);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        int first()
+        {
+            return RoaringContainer.nextSetBit(this.words, 0);
+        }
+
+        @Override
+        int last()
+        {
+            for (int i = BITMAP_WORDS - 1; i >= 0; i--)
+            {
+                if (this.words[i] != 0L)
+                {
+                    return (i << 6) + 63 - Long.numberOfLeadingZeros(this.words[i]);
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        int nextValue(int fromLow)
+        {
+            return RoaringContainer.nextSetBit(this.words, fromLow);
+        }
+
+        @Override
+        int rank(int low)
+        {
+            int index = low >>> 6;
+            int rank = 0;
+            for (int i = 0; i < index; i++)
+            {
+                rank += Long.bitCount(this.words[i]);
+            }
+            return rank + Long.bitCount(this.words[index] & (1L << low) - 1L);
+        }
+
+        @Override
+        int select(int index)
+        {
+            int remaining = index;
+            for (int i = 0; i < BITMAP_WORDS; i++)
+            {
+                long word = this.words[i];
+                int count = Long.bitCount(word);
+                if (remaining < count)
+                {
+                    for (int j = 0; j < remaining; j++)
+                    {
+                        word &= word - 1L;
+                    }
+                    return (i << 6) + Long.numberOfTrailingZeros(word);
+                }
+                remaining -= count;
+            }
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: " + this.cardinality);
+        }
+
+        @Override
+        void forEach(long high, LongProcedure procedure)
+        {
+            for (int i = 0; i < BITMAP_WORDS; i++)
+            {
+                long word = this.words[i];
+                while (word != 0L)
+                {
+                    procedure.value(high | (long) (i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1L;
+                }
+            }
+        }
+
+        @Override
+        long[] toWords()
+        {
+            return this.words.clone();
+        }
+
+        @Override
+        void andInto(long[] words)
+        {
+            for (int i = 0; i < BITMAP_WORDS; i++)
+            {
+                words[i] &= this.words[i];
+            }
+        }
+
+        @Override
+        void orInto(long[] words)
+        {
+            for (int i = 0; i < BITMAP_WORDS; i++)
+            {
+                words[i] |= this.words[i];
+            }
+        }
+
+        @Override
+        void andNotInto(long[] words)
+        {
+            for (int i = 0; i < BITMAP_WORDS; i++)
+            {
+                words[i] &= ~this.words[i];
+            }
+        }
+
+        @Override
+        void xorInto(long[] words)
+        {
+            for (int i = 0; i < BITMAP_WORDS; i++)
+            {
+                words[i] ^= this.words[i];
+            }
+        }
+
+        @Override
+        int runCount()
+        {
+            int runCount = 0;
+            long previous = 0L;
+            for (long word : this.words)
+            {
+                // A run starts at every set bit whose lower neighbour, possibly in the previous word, is clear
+                runCount += Long.bitCount(word & ~(word << 1 | previous >>> 63));
+                previous = word;
+            }
+            return runCount;
+        }
+
+        @Override
+        RoaringContainer optimize()
+        {
+            int runCount = this.runCount();
+            if (4 * runCount < 8 * BITMAP_WORDS)
+            {
+                return RunContainer.fromWords(this.words, this.cardinality, runCount);
+            }
+            return this;
+        }
+
+        @Override
+        RoaringContainer copy()
+        {
+            return new BitmapContainer(this.words.clone(), this.cardinality);
+        }
+
+        @Override
+        void write(ObjectOutput out) throws IOException
+        {
+            out.writeByte(BITMAP);
+            for (long word : this.words)
+            {
+                out.writeLong(word);
+            }
+        }
+    }
+
+    static final class RunContainer extends RoaringContainer
+    {
+        /**
+         * Each run is two chars, its first value and its length minus one.
+         */
+        private char[] runs;
+        private int runCount;
+        private int cardinality;
+
+        RunContainer(char[] runs, int runCount, int cardinality)
+        {
+            this.runs = runs;
+            this.runCount = runCount;
+            this.cardinality = cardinality;
+        }
+
+        static RunContainer fromWords(long[] words, int cardinality, int runCount)
+        {
+            char[] runs = new char[runCount << 1];
+            int count = 0;
+            int start = RoaringContainer.nextSetBit(words, 0);
+            while (start >= 0)
+            {
+                int end = RoaringContainer.nextClearBit(words, start);
+                runs[count++] = (char) start;
+                runs[count++] = (char) (end - 1 - start);
+                start = RoaringContainer.nextSetBit(words, end);
+            }
+            return new RunContainer(runs, runCount, cardinality);
+        }
+
+        @Override
+        int cardinality()
+        {
+            return this.cardinality;
+        }
+
+        private int start(int run)
+        {
+            return this.runs[run << 1];
+        }
+
+        private int end(int run)
+        {
+            return this.runs[run << 1] + this.runs[(run << 1) + 1];
+        }
+
+        /**
+         * Returns the index of the last run that starts at or before {@code low}, or -1 if there is none.
+         */
+        private int runIndex(int low)
+        {
+            int lowIndex = 0;
+            int highIndex = this.runCount - 1;
+            while (lowIndex <= highIndex)
+            {
+                int middle = (lowIndex + highIndex) >>> 1;
+                if (this.start(middle) <= low)
+                {
+                    lowIndex = middle + 1;
+                }
+                else
+                {
+                    highIndex = middle - 1;
+                }
+            }
+            return highIndex;
+        }
+
+        @Override
+        boolean contains(int low)
+        {
+            int run = this.runIndex(low);
+            return run >= 0 && low <= this.end(run);
+        }
+
+        @Override
+        RoaringContainer add(int low)
+        {
+            int run = this.runIndex(low);
+            if (run >= 0 && low <= this.end(run))
+            {
+                return this;
+            }
+            boolean extendsPrevious = run >= 0 && this.end(run) + 1 == low;
+            boolean extendsNext = run + 1 < this.runCount && this.start(run + 1) == low + 1;
+            if (extendsPrevious && extendsNext)
+            {
+                this.runs[(run << 1) + 1] = (char) (this.end(run + 1) - this.start(run));
+                this.removeRun(run + 1);
+            }
+            else if (extendsPrevious)
+            {
+                this.runs[(run << 1) + 1]++;
+            }
+            else if (extendsNext)
+            {
+                this.runs[(run + 1) << 1] = (char) low;
+                this.runs[((run + 1) << 1) + 1]++;
+            }
+            else
+            {
+                this.insertRun(run + 1, low, low);
+            }
+            this.cardinality++;
+            return this.isOversized() ? this.toArrayOrBitmap() : this;
+        }
+
+        @Override
+        RoaringContainer remove(int low)
+        {
+            int run = this.runIndex(low);
+            if (run < 0 || low > this.end(run))
+            {
+                return this;
+            }
+            int start = this.start(run);
+            int end = this.end(run);
+            if (start == end)
+            {
+                this.removeRun(run);
+            }
+            else if (low == start)
+            {
+                this.runs[run << 1]++;
+                this.runs[(run << 1) + 1]--;
+            }
+            else if (low == end)
+            {
+                this.runs[(run << 1) + 1]--;
+            }
+            else
+            {
+                this.runs[(run << 1) + 1] = (char) (low - 1 - start);
+                this.insertRun(run + 1, low + 1, end);
+            }
+            this.cardinality--;
+            return this.isOversized() ? this.toArrayOrBitmap() : this;
+        }
+
+        /**
+         * Returns true if an array or a bitmap would hold the values in less memory than the runs do.
+         */
+        private boolean isOversized()
+        {
+            return 4 * this.runCount > Math.min(2 * this.cardinality, 8 * BITMAP_WORDS);
+        }
+
+        private RoaringContainer toArrayOrBitmap()
+        {
+            long[] words = this.toWords();
+            if (this.cardinality <= MAX_ARRAY_CARDINALITY)
+            {
+                return ArrayContainer.fromWords(words, this.cardinality);
+            }
+            return new BitmapContainer(words, this.cardinality);
+        }
+
+        private void insertRun(int run, int start, int end)
+        {
+            int length = this.runCount << 1;
+            if (length == this.runs.length)
+            {
+                this.runs = Arrays.copyOf(this.runs, Math.max(length << 1, 4));
+            }
+            System.arraycopy(this.runs, run << 1, this.runs, (run << 1) + 2, length - (run << 1));
+            this.runs[run << 1] = (char) start;
+            this.runs[(run << 1) + 1] = (char) (end - start);
+            this.runCount++;
+        }
+
+        private void removeRun(int run)
+        {
+            System.arraycopy(this.runs, (run << 1) + 2, this.runs, run << 1, (this.runCount - run - 1) << 1);
+            this.runCount--;
+        }
+
+        @Override
+        int first()
+        {
+            return this.start(0);
+        }
+
+        @Override
+        int last()
+        {
+            return this.end(this.runCount - 1);
+        }
+
+        @Override
+        int nextValue(int fromLow)
+        {
+            if (fromLow > MAX_VALUE)
+            {
+                return -1;
+            }
+            int run = this.runIndex(fromLow);
+            if (run >= 0 && fromLow <= this.end(run))
+            {
+                return fromLow;
+            }
+            return run + 1 < this.runCount ? this.start(run + 1) : -1;
+        }
+
+        @Override
+        int rank(int low)
+        {
+            int rank = 0;
+            for (int run = 0; run < this.runCount; run++)
+            {
+                int start = this.start(run);
+                if (start >= low)
+                {
+                    break;
+                }
+                rank += Math.min(this.end(run) + 1, low) - start;
+            }
+            return rank;
+        }
+
+        @Override
+        int select(int index)
+        {
+            int remaining = index;
+            for (int run = 0; run < this.runCount; run++)
+            {
+                int length = this.runs[(run << 1) + 1] + 1;
+                if (remaining < length)
+                {
+                    return this.start(run) + remaining;
+                }
+                remaining -= length;
+            }
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: " + this.cardinality);
+        }
+
+        @Override
+        void forEach(long high, LongProcedure procedure)
+        {
+            for (int run = 0; run < this.runCount; run++)
+            {
+                int end = this.end(run);
+                for (int low = this.start(run); low <= end; low++)
+                {
+                    procedure.value(high | low);
+                }
+            }
+        }
+
+        @Override
+        long[] toWords()
+        {
+            long[] words = new long[BITMAP_WORDS];
+            for (int run = 0; run < this.runCount; run++)
+            {
+                RoaringContainer.setRange(words, this.start(run), this.end(run) + 1);
+            }
+            return words;
+        }
+
+        @Override
+        int runCount()
+        {
+            return this.runCount;
+        }
+
+        @Override
+        RoaringContainer optimize()
+        {
+            if (!this.isOversized())
+            {
+                if (this.runs.length != this.runCount << 1)
+                {
+                    return new RunContainer(Arrays.copyOf(this.runs, this.runCount << 1), this.runCount, this.cardinality);
+                }
+                return this;
+            }
+            return this.toArrayOrBitmap();
+        }
+
+        @Override
+        RoaringContainer copy()
+        {
+            return new RunContainer(this.runs.clone(), this.runCount, this.cardinality);
+        }
+
+        @Override
+        void write(ObjectOutput out) throws IOException
+        {
+            out.writeByte(RUN);
+            out.writeShort(this.runCount);
+            for (int i = 0; i < this.runCount << 1; i++)
+            {
+                out.writeChar(this.runs[i]);
+            }
+        }
+    }
+}
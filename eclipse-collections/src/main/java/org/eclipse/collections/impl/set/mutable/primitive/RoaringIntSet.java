@@ -0,0 +1,635 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable.primitive;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+
+import org.eclipse.collections.api.IntIterable;
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.block.function.primitive.IntToObjectFunction;
+import org.eclipse.collections.api.block.function.primitive.ObjectIntToObjectFunction;
+import org.eclipse.collections.api.block.predicate.primitive.IntPredicate;
+import org.eclipse.collections.api.block.procedure.primitive.IntProcedure;
+import org.eclipse.collections.api.collection.primitive.MutableIntCollection;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.primitive.IntSets;
+import org.eclipse.collections.api.iterator.IntIterator;
+import org.eclipse.collections.api.iterator.MutableIntIterator;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.primitive.ImmutableIntSet;
+import org.eclipse.collections.api.set.primitive.IntSet;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.set.primitive.AbstractIntSet;
+
+/**
+ * A MutableIntSet stored as a compressed bitmap in the style of Roaring bitmaps. The values are split into chunks of
+ * 65536 by their high 16 bits, and each non-empty chunk is held in the smallest of three containers: a sorted array
+ * of up to 4096 values, a 65536-bit bitmap, or a sorted array of runs of consecutive values. A dense or clustered set
+ * takes a few bits per value, where {@link IntHashSet} takes at least four bytes.
+ * <p>
+ * The set operations {@link #and(RoaringIntSet)}, {@link #or(RoaringIntSet)}, {@link #andNot(RoaringIntSet)} and
+ * {@link #xor(RoaringIntSet)} work a container at a time, and a 64-bit word at a time on bitmap containers.
+ * {@link #addAll(IntIterable)}, {@link #removeAll(IntIterable)}, {@link #retainAll(IntIterable)} and the set algebra
+ * of {@link IntSet} use them when the argument is also a RoaringIntSet. Run containers are only created by
+ * {@link #compact()}.
+ * <p>
+ * The set iterates in ascending order, so it is also a sorted set of ints with {@link #rank(int)} and
+ * {@link #valueAt(long)}, although it does not implement a sorted set interface.
+ *
+ * @since 11.1
+ */
+public class RoaringIntSet extends AbstractIntSet implements MutableIntSet, Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private RoaringBitmap bitmap;
+
+    public RoaringIntSet()
+    {
+        this.bitmap = new RoaringBitmap();
+    }
+
+    public RoaringIntSet(int... elements)
+    {
+        this();
+        this.addAll(elements);
+    }
+
+    public RoaringIntSet(IntIterable elements)
+    {
+        this();
+        this.addAll(elements);
+    }
+
+    public RoaringIntSet(RoaringIntSet set)
+    {
+        this.bitmap = set.bitmap.copy();
+    }
+
+    public static RoaringIntSet newSet(IntIterable source)
+    {
+        if (source instanceof RoaringIntSet)
+        {
+            return new RoaringIntSet((RoaringIntSet) source);
+        }
+        return new RoaringIntSet(source);
+    }
+
+    public static RoaringIntSet newSetWith(int... source)
+    {
+        return new RoaringIntSet(source);
+    }
+
+    private static long toPosition(int value)
+    {
+        return (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    private static int toValue(long position)
+    {
+        return (int) position ^ Integer.MIN_VALUE;
+    }
+
+    @Override
+    public boolean equals(Object otherSet)
+    {
+        if (otherSet instanceof RoaringIntSet)
+        {
+            RoaringBitmap other = ((RoaringIntSet) otherSet).bitmap;
+            return this.bitmap.cardinality() == other.cardinality()
+                    && this.bitmap.andCardinality(other) == other.cardinality();
+        }
+        return super.equals(otherSet);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int[] result = new int[1];
+        this.bitmap.forEach(position -> result[0] += RoaringIntSet.toValue(position));
+        return result[0];
+    }
+
+    @Override
+    public int size()
+    {
+        return (int) Math.min(this.bitmap.cardinality(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the number of values in the set, which can be greater than {@link Integer#MAX_VALUE}.
+     */
+    public long cardinality()
+    {
+        return this.bitmap.cardinality();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.bitmap.cardinality() == 0L;
+    }
+
+    @Override
+    public boolean notEmpty()
+    {
+        return this.bitmap.cardinality() != 0L;
+    }
+
+    @Override
+    public void appendString(Appendable appendable, String start, String separator, String end)
+    {
+        try
+        {
+            appendable.append(start);
+            RoaringBitmap.PositionIterator iterator = this.bitmap.new PositionIterator();
+            if (iterator.hasNext())
+            {
+                appendable.append(String.valueOf(RoaringIntSet.toValue(iterator.next())));
+                while (iterator.hasNext())
+                {
+                    appendable.append(separator);
+                    appendable.append(String.valueOf(RoaringIntSet.toValue(iterator.next())));
+                }
+            }
+            appendable.append(end);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public boolean add(int element)
+    {
+        return this.bitmap.add(RoaringIntSet.toPosition(element));
+    }
+
+    @Override
+    public boolean addAll(int... source)
+    {
+        long oldSize = this.bitmap.cardinality();
+        for (int item : source)
+        {
+            this.add(item);
+        }
+        return this.bitmap.cardinality() != oldSize;
+    }
+
+    @Override
+    public boolean addAll(IntIterable source)
+    {
+        long oldSize = this.bitmap.cardinality();
+        if (source instanceof RoaringIntSet)
+        {
+            this.or((RoaringIntSet) source);
+        }
+        else
+        {
+            source.each(this::add);
+        }
+        return this.bitmap.cardinality() != oldSize;
+    }
+
+    @Override
+    public boolean remove(int value)
+    {
+        return this.bitmap.remove(RoaringIntSet.toPosition(value));
+    }
+
+    @Override
+    public boolean removeAll(IntIterable source)
+    {
+        long oldSize = this.bitmap.cardinality();
+        if (source instanceof RoaringIntSet)
+        {
+            this.andNot((RoaringIntSet) source);
+        }
+        else
+        {
+            source.each(this::remove);
+        }
+        return this.bitmap.cardinality() != oldSize;
+    }
+
+    @Override
+    public boolean removeAll(int... source)
+    {
+        long oldSize = this.bitmap.cardinality();
+        for (int item : source)
+        {
+            this.remove(item);
+        }
+        return this.bitmap.cardinality() != oldSize;
+    }
+
+    @Override
+    public boolean retainAll(IntIterable source)
+    {
+        long oldSize = this.bitmap.cardinality();
+        this.and(source instanceof RoaringIntSet ? (RoaringIntSet) source : RoaringIntSet.newSet(source));
+        return this.bitmap.cardinality() != oldSize;
+    }
+
+    @Override
+    public boolean retainAll(int... source)
+    {
+        return this.retainAll(RoaringIntSet.newSetWith(source));
+    }
+
+    @Override
+    public void clear()
+    {
+        this.bitmap.clear();
+    }
+
+    /**
+     * Keeps only the values that are also in {@code other}.
+     */
+    public void and(RoaringIntSet other)
+    {
+        this.bitmap.and(other.bitmap);
+    }
+
+    /**
+     * Adds all the values of {@code other}.
+     */
+    public void or(RoaringIntSet other)
+    {
+        this.bitmap.or(other.bitmap);
+    }
+
+    /**
+     * Removes all the values of {@code other}.
+     */
+    public void andNot(RoaringIntSet other)
+    {
+        this.bitmap.andNot(other.bitmap);
+    }
+
+    /**
+     * Keeps the values that are in exactly one of this set and {@code other}.
+     */
+    public void xor(RoaringIntSet other)
+    {
+        this.bitmap.xor(other.bitmap);
+    }
+
+    /**
+     * Returns the size of the intersection of this set and {@code other}, without building the intersection.
+     */
+    public long andCardinality(RoaringIntSet other)
+    {
+        return this.bitmap.andCardinality(other.bitmap);
+    }
+
+    /**
+     * Returns the number of values in the set that are less than {@code value}.
+     */
+    public long rank(int value)
+    {
+        return this.bitmap.rank(RoaringIntSet.toPosition(value));
+    }
+
+    /**
+     * Returns the value at the given index in ascending order, so {@code valueAt(rank(value)) == value} for every
+     * value in the set.
+     *
+     * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #cardinality()}
+     */
+    public int valueAt(long index)
+    {
+        return RoaringIntSet.toValue(this.bitmap.select(index));
+    }
+
+    /**
+     * Converts every container to the smallest of its three representations, run-length encoding the containers made
+     * of runs of consecutive values, and trims spare capacity. Call it once a set is built, before it is kept or
+     * serialized.
+     */
+    public void compact()
+    {
+        this.bitmap.optimize();
+    }
+
+    @Override
+    public RoaringIntSet union(IntSet set)
+    {
+        RoaringIntSet result = new RoaringIntSet(this);
+        result.addAll(set);
+        return result;
+    }
+
+    @Override
+    public RoaringIntSet intersect(IntSet set)
+    {
+        RoaringIntSet result = new RoaringIntSet(this);
+        result.retainAll(set);
+        return result;
+    }
+
+    @Override
+    public RoaringIntSet difference(IntSet set)
+    {
+        RoaringIntSet result = new RoaringIntSet(this);
+        result.removeAll(set);
+        return result;
+    }
+
+    @Override
+    public RoaringIntSet symmetricDifference(IntSet set)
+    {
+        RoaringIntSet result = new RoaringIntSet(this);
+        result.xor(set instanceof RoaringIntSet ? (RoaringIntSet) set : RoaringIntSet.newSet(set));
+        return result;
+    }
+
+    @Override
+    public RoaringIntSet with(int element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    @Override
+    public RoaringIntSet without(int element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public RoaringIntSet withAll(IntIterable elements)
+    {
+        this.addAll(elements);
+        return this;
+    }
+
+    @Override
+    public RoaringIntSet withoutAll(IntIterable elements)
+    {
+        this.removeAll(elements);
+        return this;
+    }
+
+    @Override
+    public MutableIntSet asUnmodifiable()
+    {
+        return new UnmodifiableIntSet(this);
+    }
+
+    @Override
+    public MutableIntSet asSynchronized()
+    {
+        return new SynchronizedIntSet(this);
+    }
+
+    @Override
+    public ImmutableIntSet toImmutable()
+    {
+        return IntSets.immutable.withAll(this);
+    }
+
+    @Override
+    public IntSet freeze()
+    {
+        return this.toImmutable();
+    }
+
+    @Override
+    public MutableIntIterator intIterator()
+    {
+        return new InternalIntIterator();
+    }
+
+    @Override
+    public int[] toArray()
+    {
+        return this.toArray(new int[this.size()]);
+    }
+
+    @Override
+    public int[] toArray(int[] array)
+    {
+        int[] result = array.length < this.size() ? new int[this.size()] : array;
+        int[] index = new int[1];
+        this.bitmap.forEach(position -> result[index[0]++] = RoaringIntSet.toValue(position));
+        return result;
+    }
+
+    @Override
+    public int[] toSortedArray()
+    {
+        return this.toArray();
+    }
+
+    @Override
+    public boolean contains(int value)
+    {
+        return this.bitmap.contains(RoaringIntSet.toPosition(value));
+    }
+
+    @Override
+    public void each(IntProcedure procedure)
+    {
+        this.bitmap.forEach(position -> procedure.value(RoaringIntSet.toValue(position)));
+    }
+
+    @Override
+    public RoaringIntSet select(IntPredicate predicate)
+    {
+        return this.select(predicate, new RoaringIntSet());
+    }
+
+    @Override
+    public <R extends MutableIntCollection> R select(IntPredicate predicate, R target)
+    {
+        this.each(each ->
+        {
+            if (predicate.accept(each))
+            {
+                target.add(each);
+            }
+        });
+        return target;
+    }
+
+    @Override
+    public RoaringIntSet reject(IntPredicate predicate)
+    {
+        return this.reject(predicate, new RoaringIntSet());
+    }
+
+    @Override
+    public <R extends MutableIntCollection> R reject(IntPredicate predicate, R target)
+    {
+        this.each(each ->
+        {
+            if (!predicate.accept(each))
+            {
+                target.add(each);
+            }
+        });
+        return target;
+    }
+
+    @Override
+    public <V> MutableSet<V> collect(IntToObjectFunction<? extends V> function)
+    {
+        return this.collect(function, UnifiedSet.newSet(this.size()));
+    }
+
+    @Override
+    public <V, R extends Collection<V>> R collect(IntToObjectFunction<? extends V> function, R target)
+    {
+        this.each(each -> target.add(function.valueOf(each)));
+        return target;
+    }
+
+    @Override
+    public int detectIfNone(IntPredicate predicate, int ifNone)
+    {
+        long position = this.bitmap.detectIfNone(each -> predicate.accept(RoaringIntSet.toValue(each)), -1L);
+        return position < 0L ? ifNone : RoaringIntSet.toValue(position);
+    }
+
+    @Override
+    public int count(IntPredicate predicate)
+    {
+        int[] count = new int[1];
+        this.each(each ->
+        {
+            if (predicate.accept(each))
+            {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    @Override
+    public boolean anySatisfy(IntPredicate predicate)
+    {
+        return this.bitmap.anySatisfy(each -> predicate.accept(RoaringIntSet.toValue(each)));
+    }
+
+    @Override
+    public boolean allSatisfy(IntPredicate predicate)
+    {
+        return !this.bitmap.anySatisfy(each -> !predicate.accept(RoaringIntSet.toValue(each)));
+    }
+
+    @Override
+    public boolean noneSatisfy(IntPredicate predicate)
+    {
+        return !this.anySatisfy(predicate);
+    }
+
+    @Override
+    public long sum()
+    {
+        long[] result = new long[1];
+        this.each(each -> result[0] += each);
+        return result[0];
+    }
+
+    @Override
+    public int max()
+    {
+        return RoaringIntSet.toValue(this.bitmap.last());
+    }
+
+    @Override
+    public int min()
+    {
+        return RoaringIntSet.toValue(this.bitmap.first());
+    }
+
+    @Override
+    public <T> T injectInto(T injectedValue, ObjectIntToObjectFunction<? super T, ? extends T> function)
+    {
+        Object[] result = {injectedValue};
+        this.each(each -> result[0] = function.valueOf((T) result[0], each));
+        return (T) result[0];
+    }
+
+    @Override
+    public RichIterable<IntIterable> chunk(int size)
+    {
+        if (size <= 0)
+        {
+            throw new IllegalArgumentException("Size for groups must be positive but was: " + size);
+        }
+        MutableList<IntIterable> result = Lists.mutable.empty();
+        IntIterator iterator = this.intIterator();
+        while (iterator.hasNext())
+        {
+            RoaringIntSet batch = new RoaringIntSet();
+            for (int i = 0; i < size && iterator.hasNext(); i++)
+            {
+                batch.add(iterator.next());
+            }
+            result.add(batch);
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new empty RoaringIntSet.
+     */
+    @Override
+    public RoaringIntSet newEmpty()
+    {
+        return new RoaringIntSet();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        this.bitmap.write(out);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException
+    {
+        this.bitmap.read(in);
+    }
+
+    private class InternalIntIterator implements MutableIntIterator
+    {
+        private final RoaringBitmap.PositionIterator iterator = RoaringIntSet.this.bitmap.new PositionIterator();
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public int next()
+        {
+            return RoaringIntSet.toValue(this.iterator.next());
+        }
+
+        @Override
+        public void remove()
+        {
+            this.iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,646 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable.primitive;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+
+import org.eclipse.collections.api.LongIterable;
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.block.function.primitive.LongToObjectFunction;
+import org.eclipse.collections.api.block.function.primitive.ObjectLongToObjectFunction;
+import org.eclipse.collections.api.block.predicate.primitive.LongPredicate;
+import org.eclipse.collections.api.block.procedure.primitive.LongProcedure;
+import org.eclipse.collections.api.collection.primitive.MutableLongCollection;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.primitive.LongSets;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.iterator.MutableLongIterator;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.primitive.ImmutableLongSet;
+import org.eclipse.collections.api.set.primitive.LongSet;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.set.primitive.AbstractLongSet;
+
+/**
+ * A MutableLongSet stored as a compressed bitmap in the style of Roaring bitmaps. The values are split into chunks of
+ * 65536 by their high 48 bits, kept in a sorted array, and each non-empty chunk is held in the same containers as
+ * {@link RoaringIntSet}: a sorted array of up to 4096 values, a 65536-bit bitmap, or a sorted array of runs. Sets of
+ * 64-bit ids that are dense or clustered take a few bits per value, where {@link LongHashSet} takes at least eight
+ * bytes.
+ * <p>
+ * The set operations {@link #and(RoaringLongSet)}, {@link #or(RoaringLongSet)}, {@link #andNot(RoaringLongSet)} and
+ * {@link #xor(RoaringLongSet)} work a container at a time, and a 64-bit word at a time on bitmap containers. The
+ * bulk operations and the set algebra of {@link LongSet} use them when the argument is also a RoaringLongSet. Run
+ * containers are only created by {@link #compact()}.
+ * <p>
+ * The set iterates in ascending order, and supports {@link #rank(long)} and {@link #valueAt(long)}.
+ *
+ * @since 11.1
+ */
+public class RoaringLongSet extends AbstractLongSet implements MutableLongSet, Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private RoaringBitmap bitmap;
+
+    public RoaringLongSet()
+    {
+        this.bitmap = new RoaringBitmap();
+    }
+
+    public RoaringLongSet(long... elements)
+    {
+        this();
+        this.addAll(elements);
+    }
+
+    public RoaringLongSet(LongIterable elements)
+    {
+        this();
+        this.addAll(elements);
+    }
+
+    public RoaringLongSet(RoaringLongSet set)
+    {
+        this.bitmap = set.bitmap.copy();
+    }
+
+    public static RoaringLongSet newSet(LongIterable source)
+    {
+        if (source instanceof RoaringLongSet)
+        {
+            return new RoaringLongSet((RoaringLongSet) source);
+        }
+        return new RoaringLongSet(source);
+    }
+
+    public static RoaringLongSet newSetWith(long... source)
+    {
+        return new RoaringLongSet(source);
+    }
+
+    private static long toPosition(long value)
+    {
+        return value ^ Long.MIN_VALUE;
+    }
+
+    private static long toValue(long position)
+    {
+        return position ^ Long.MIN_VALUE;
+    }
+
+    @Override
+    public boolean equals(Object otherSet)
+    {
+        if (otherSet instanceof RoaringLongSet)
+        {
+            RoaringBitmap other = ((RoaringLongSet) otherSet).bitmap;
+            return this.bitmap.cardinality() == other.cardinality()
+                    && this.bitmap.andCardinality(other) == other.cardinality();
+        }
+        return super.equals(otherSet);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int[] result = new int[1];
+        this.bitmap.forEach(position ->
+        {
+            long value = RoaringLongSet.toValue(position);
+            result[0] += (int) (value ^ value >>> 32);
+        });
+        return result[0];
+    }
+
+    @Override
+    public int size()
+    {
+        return (int) Math.min(this.bitmap.cardinality(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the number of values in the set, which can be greater than {@link Integer#MAX_VALUE}.
+     */
+    public long cardinality()
+    {
+        return this.bitmap.cardinality();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.bitmap.cardinality() == 0L;
+    }
+
+    @Override
+    public boolean notEmpty()
+    {
+        return this.bitmap.cardinality() != 0L;
+    }
+
+    @Override
+    public void appendString(Appendable appendable, String start, String separator, String end)
+    {
+        try
+        {
+            appendable.append(start);
+            RoaringBitmap.PositionIterator iterator = this.bitmap.new PositionIterator();
+            if (iterator.hasNext())
+            {
+                appendable.append(String.valueOf(RoaringLongSet.toValue(iterator.next())));
+                while (iterator.hasNext())
+                {
+                    appendable.append(separator);
+                    appendable.append(String.valueOf(RoaringLongSet.toValue(iterator.next())));
+                }
+            }
+            appendable.append(end);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public boolean add(long element)
+    {
+        return this.bitmap.add(RoaringLongSet.toPosition(element));
+    }
+
+    @Override
+    public boolean addAll(long... source)
+    {
+        long oldSize = this.bitmap.cardinality();
+        for (long item : source)
+        {
+            this.add(item);
+        }
+        return this.bitmap.cardinality() != oldSize;
+    }
+
+    @Override
+    public boolean addAll(LongIterable source)
+    {
+        long oldSize = this.bitmap.cardinality();
+        if (source instanceof RoaringLongSet)
+        {
+            this.or((RoaringLongSet) source);
+        }
+        else
+        {
+            source.each(this::add);
+        }
+        return this.bitmap.cardinality() != oldSize;
+    }
+
+    @Override
+    public boolean remove(long value)
+    {
+        return this.bitmap.remove(RoaringLongSet.toPosition(value));
+    }
+
+    @Override
+    public boolean removeAll(LongIterable source)
+    {
+        long oldSize = this.bitmap.cardinality();
+        if (source instanceof RoaringLongSet)
+        {
+            this.andNot((RoaringLongSet) source);
+        }
+        else
+        {
+            source.each(this::remove);
+        }
+        return this.bitmap.cardinality() != oldSize;
+    }
+
+    @Override
+    public boolean removeAll(long... source)
+    {
+        long oldSize = this.bitmap.cardinality();
+        for (long item : source)
+        {
+            this.remove(item);
+        }
+        return this.bitmap.cardinality() != oldSize;
+    }
+
+    @Override
+    public boolean retainAll(LongIterable source)
+    {
+        long oldSize = this.bitmap.cardinality();
+        this.and(source instanceof RoaringLongSet ? (RoaringLongSet) source : RoaringLongSet.newSet(source));
+        return this.bitmap.cardinality() != oldSize;
+    }
+
+    @Override
+    public boolean retainAll(long... source)
+    {
+        return this.retainAll(RoaringLongSet.newSetWith(source));
+    }
+
+    @Override
+    public void clear()
+    {
+        this.bitmap.clear();
+    }
+
+    /**
+     * Keeps only the values that are also in {@code other}.
+     */
+    public void and(RoaringLongSet other)
+    {
+        this.bitmap.and(other.bitmap);
+    }
+
+    /**
+     * Adds all the values of {@code other}.
+     */
+    public void or(RoaringLongSet other)
+    {
+        this.bitmap.or(other.bitmap);
+    }
+
+    /**
+     * Removes all the values of {@code other}.
+     */
+    public void andNot(RoaringLongSet other)
+    {
+        this.bitmap.andNot(other.bitmap);
+    }
+
+    /**
+     * Keeps the values that are in exactly one of this set and {@code other}.
+     */
+    public void xor(RoaringLongSet other)
+    {
+        this.bitmap.xor(other.bitmap);
+    }
+
+    /**
+     * Returns the size of the intersection of this set and {@code other}, without building the intersection.
+     */
+    public long andCardinality(RoaringLongSet other)
+    {
+        return this.bitmap.andCardinality(other.bitmap);
+    }
+
+    /**
+     * Returns the number of values in the set that are less than {@code value}.
+     */
+    public long rank(long value)
+    {
+        return this.bitmap.rank(RoaringLongSet.toPosition(value));
+    }
+
+    /**
+     * Returns the value at the given index in ascending order, so {@code valueAt(rank(value)) == value} for every
+     * value in the set.
+     *
+     * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #cardinality()}
+     */
+    public long valueAt(long index)
+    {
+        return RoaringLongSet.toValue(this.bitmap.select(index));
+    }
+
+    /**
+     * Converts every container to the smallest of its three representations, run-length encoding the containers made
+     * of runs of consecutive values, and trims spare capacity. Call it once a set is built, before it is kept or
+     * serialized.
+     */
+    public void compact()
+    {
+        this.bitmap.optimize();
+    }
+
+    @Override
+    public RoaringLongSet union(LongSet set)
+    {
+        RoaringLongSet result = new RoaringLongSet(this);
+        result.addAll(set);
+        return result;
+    }
+
+    @Override
+    public RoaringLongSet intersect(LongSet set)
+    {
+        RoaringLongSet result = new RoaringLongSet(this);
+        result.retainAll(set);
+        return result;
+    }
+
+    @Override
+    public RoaringLongSet difference(LongSet set)
+    {
+        RoaringLongSet result = new RoaringLongSet(this);
+        result.removeAll(set);
+        return result;
+    }
+
+    @Override
+    public RoaringLongSet symmetricDifference(LongSet set)
+    {
+        RoaringLongSet result = new RoaringLongSet(this);
+        result.xor(set instanceof RoaringLongSet ? (RoaringLongSet) set : RoaringLongSet.newSet(set));
+        return result;
+    }
+
+    @Override
+    public RoaringLongSet with(long element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    @Override
+    public RoaringLongSet without(long element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    @Override
+    public RoaringLongSet withAll(LongIterable elements)
+    {
+        this.addAll(elements);
+        return this;
+    }
+
+    @Override
+    public RoaringLongSet withoutAll(LongIterable elements)
+    {
+        this.removeAll(elements);
+        return this;
+    }
+
+    @Override
+    public MutableLongSet asUnmodifiable()
+    {
+        return new UnmodifiableLongSet(this);
+    }
+
+    @Override
+    public MutableLongSet asSynchronized()
+    {
+        return new SynchronizedLongSet(this);
+    }
+
+    @Override
+    public ImmutableLongSet toImmutable()
+    {
+        return LongSets.immutable.withAll(this);
+    }
+
+    @Override
+    public LongSet freeze()
+    {
+        return this.toImmutable();
+    }
+
+    @Override
+    public MutableLongIterator longIterator()
+    {
+        return new InternalLongIterator();
+    }
+
+    @Override
+    public long[] toArray()
+    {
+        return this.toArray(new long[this.size()]);
+    }
+
+    @Override
+    public long[] toArray(long[] array)
+    {
+        long[] result = array.length < this.size() ? new long[this.size()] : array;
+        int[] index = new int[1];
+        this.bitmap.forEach(position -> result[index[0]++] = RoaringLongSet.toValue(position));
+        return result;
+    }
+
+    @Override
+    public long[] toSortedArray()
+    {
+        return this.toArray();
+    }
+
+    @Override
+    public boolean contains(long value)
+    {
+        return this.bitmap.contains(RoaringLongSet.toPosition(value));
+    }
+
+    @Override
+    public void each(LongProcedure procedure)
+    {
+        this.bitmap.forEach(position -> procedure.value(RoaringLongSet.toValue(position)));
+    }
+
+    @Override
+    public RoaringLongSet select(LongPredicate predicate)
+    {
+        return this.select(predicate, new RoaringLongSet());
+    }
+
+    @Override
+    public <R extends MutableLongCollection> R select(LongPredicate predicate, R target)
+    {
+        this.each(each ->
+        {
+            if (predicate.accept(each))
+            {
+                target.add(each);
+            }
+        });
+        return target;
+    }
+
+    @Override
+    public RoaringLongSet reject(LongPredicate predicate)
+    {
+        return this.reject(predicate, new RoaringLongSet());
+    }
+
+    @Override
+    public <R extends MutableLongCollection> R reject(LongPredicate predicate, R target)
+    {
+        this.each(each ->
+        {
+            if (!predicate.accept(each))
+            {
+                target.add(each);
+            }
+        });
+        return target;
+    }
+
+    @Override
+    public <V> MutableSet<V> collect(LongToObjectFunction<? extends V> function)
+    {
+        return this.collect(function, UnifiedSet.newSet(this.size()));
+    }
+
+    @Override
+    public <V, R extends Collection<V>> R collect(LongToObjectFunction<? extends V> function, R target)
+    {
+        this.each(each -> target.add(function.valueOf(each)));
+        return target;
+    }
+
+    @Override
+    public long detectIfNone(LongPredicate predicate, long ifNone)
+    {
+        RoaringBitmap.PositionIterator iterator = this.bitmap.new PositionIterator();
+        while (iterator.hasNext())
+        {
+            long value = RoaringLongSet.toValue(iterator.next());
+            if (predicate.accept(value))
+            {
+                return value;
+            }
+        }
+        return ifNone;
+    }
+
+    @Override
+    public int count(LongPredicate predicate)
+    {
+        int[] count = new int[1];
+        this.each(each ->
+        {
+            if (predicate.accept(each))
+            {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    @Override
+    public boolean anySatisfy(LongPredicate predicate)
+    {
+        return this.bitmap.anySatisfy(each -> predicate.accept(RoaringLongSet.toValue(each)));
+    }
+
+    @Override
+    public boolean allSatisfy(LongPredicate predicate)
+    {
+        return !this.bitmap.anySatisfy(each -> !predicate.accept(RoaringLongSet.toValue(each)));
+    }
+
+    @Override
+    public boolean noneSatisfy(LongPredicate predicate)
+    {
+        return !this.anySatisfy(predicate);
+    }
+
+    @Override
+    public long sum()
+    {
+        long[] result = new long[1];
+        this.each(each -> result[0] += each);
+        return result[0];
+    }
+
+    @Override
+    public long max()
+    {
+        return RoaringLongSet.toValue(this.bitmap.last());
+    }
+
+    @Override
+    public long min()
+    {
+        return RoaringLongSet.toValue(this.bitmap.first());
+    }
+
+    @Override
+    public <T> T injectInto(T injectedValue, ObjectLongToObjectFunction<? super T, ? extends T> function)
+    {
+        Object[] result = {injectedValue};
+        this.each(each -> result[0] = function.valueOf((T) result[0], each));
+        return (T) result[0];
+    }
+
+    @Override
+    public RichIterable<LongIterable> chunk(int size)
+    {
+        if (size <= 0)
+        {
+            throw new IllegalArgumentException("Size for groups must be positive but was: " + size);
+        }
+        MutableList<LongIterable> result = Lists.mutable.empty();
+        LongIterator iterator = this.longIterator();
+        while (iterator.hasNext())
+        {
+            RoaringLongSet batch = new RoaringLongSet();
+            for (int i = 0; i < size && iterator.hasNext(); i++)
+            {
+                batch.add(iterator.next());
+            }
+            result.add(batch);
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new empty RoaringLongSet.
+     */
+    @Override
+    public RoaringLongSet newEmpty()
+    {
+        return new RoaringLongSet();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        this.bitmap.write(out);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException
+    {
+        this.bitmap.read(in);
+    }
+
+    private class InternalLongIterator implements MutableLongIterator
+    {
+        private final RoaringBitmap.PositionIterator iterator = RoaringLongSet.this.bitmap.new PositionIterator();
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public long next()
+        {
+            return RoaringLongSet.toValue(this.iterator.next());
+        }
+
+        @Override
+        public void remove()
+        {
+            this.iterator.remove();
+        }
+    }
+}
@@ -13,5 +13,9 @@
  * <p>
  *     Primitive Set is similar to {@link org.eclipse.collections.api.set.MutableSet} that is memory-optimized for primitives.
  *     HashTables are used for performance optimization.
+ * <p>
+ *     {@link org.eclipse.collections.impl.set.mutable.primitive.RoaringIntSet} and
+ *     {@link org.eclipse.collections.impl.set.mutable.primitive.RoaringLongSet} are compressed bitmaps instead, for dense
+ *     or clustered sets of ids and fast set algebra between them.
  */
 package org.eclipse.collections.impl.set.mutable.primitive;
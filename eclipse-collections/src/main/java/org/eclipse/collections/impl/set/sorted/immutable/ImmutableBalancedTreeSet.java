@@ -0,0 +1,994 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.sorted.immutable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+
+import org.eclipse.collections.api.block.function.primitive.ObjectIntToObjectFunction;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.predicate.Predicate2;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.ordered.OrderedIterable;
+import org.eclipse.collections.api.set.SetIterable;
+import org.eclipse.collections.api.set.sorted.ImmutableSortedSet;
+import org.eclipse.collections.api.set.sorted.SortedSetIterable;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.ListIterate;
+import org.eclipse.collections.impl.utility.OrderedIterate;
+
+/**
+ * An ImmutableSortedSet backed by a persistent weight-balanced binary search tree. Each node records the size of its
+ * subtree, and the sizes of the two subtrees of a node differ by at most a factor of three, which bounds the height of
+ * the tree by O(log n).
+ * <p>
+ * newWith and newWithout copy only the nodes on the path from the root to the changed element, and share every other
+ * node with the original set, so that evolving a large set one element at a time costs O(log n) rather than the O(n)
+ * copy of an {@link ImmutableTreeSet}. headSet, tailSet and subSet split the tree along the paths to their bounds and
+ * return sets that share every subtree lying wholly within the range, in O(log n), as do take and drop. The union,
+ * intersection and difference of two of these sets with the same comparator are built by splitting and joining their
+ * trees, which reuses the subtrees that the result shares with either set.
+ * <p>
+ * {@link org.eclipse.collections.api.factory.SortedSets#immutable} returns this implementation for sets of at least
+ * {@link org.eclipse.collections.impl.utility.internal.ImmutableThresholds#PERSISTENT_SIZE} elements.
+ *
+ * @since 11.1
+ */
+public final class ImmutableBalancedTreeSet<T>
+        extends AbstractImmutableSortedSet<T>
+        implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    // The balance parameters of Adams' weight-balanced trees, as corrected by Hirai and Yamamoto
+    private static final int DELTA = 3;
+    private static final int RATIO = 2;
+
+    // The empty set in natural order; empty sets with a comparator share nothing but the null root
+    private static final ImmutableBalancedTreeSet<?> EMPTY = new ImmutableBalancedTreeSet<>(null, null);
+
+    private final Node<T> root;
+    private final Comparator<? super T> comparator;
+
+    private ImmutableBalancedTreeSet(Node<T> root, Comparator<? super T> comparator)
+    {
+        this.root = root;
+        this.comparator = comparator;
+    }
+
+    public static <T> ImmutableSortedSet<T> newSetWith(T... elements)
+    {
+        return ImmutableBalancedTreeSet.newSetFromArray(elements.clone(), null, false);
+    }
+
+    public static <T> ImmutableSortedSet<T> newSetWith(Comparator<? super T> comparator, T... elements)
+    {
+        return ImmutableBalancedTreeSet.newSetFromArray(elements.clone(), comparator, false);
+    }
+
+    public static <T> ImmutableSortedSet<T> newSet(SortedSet<? super T> set)
+    {
+        return ImmutableBalancedTreeSet.newSetFromArray((T[]) set.toArray(), (Comparator<? super T>) set.comparator(), true);
+    }
+
+    public static <T> ImmutableSortedSet<T> newSetFromIterable(Iterable<? extends T> iterable)
+    {
+        return ImmutableBalancedTreeSet.newSetFromArray((T[]) Iterate.toArray(iterable), null, false);
+    }
+
+    public static <T> ImmutableSortedSet<T> newSetFromIterable(Comparator<? super T> comparator, Iterable<? extends T> iterable)
+    {
+        return ImmutableBalancedTreeSet.newSetFromArray((T[]) Iterate.toArray(iterable), comparator, false);
+    }
+
+    private static <T> ImmutableSortedSet<T> newSetFromArray(T[] input, Comparator<? super T> comparator, boolean isSortedAndUnique)
+    {
+        for (T each : input)
+        {
+            if (each == null)
+            {
+                throw new NullPointerException("Input array contains nulls!");
+            }
+        }
+        int size = input.length;
+        if (isSortedAndUnique)
+        {
+            for (int i = size - 1; i > 0; i--)
+            {
+                if (ImmutableBalancedTreeSet.compare(comparator, input[i - 1], input[i]) >= 0)
+                {
+                    throw new ConcurrentModificationException("Input Array expected to be sorted, but was not!");
+                }
+            }
+        }
+        else if (size > 0)
+        {
+            if (comparator == null && !(input[0] instanceof Comparable))
+            {
+                throw new ClassCastException("Comparator is null and input does not implement Comparable!");
+            }
+            Arrays.sort(input, comparator);
+            int uniqueCount = 1;
+            for (int i = 1; i < size; i++)
+            {
+                if (ImmutableBalancedTreeSet.compare(comparator, input[uniqueCount - 1], input[i]) < 0)
+                {
+                    input[uniqueCount++] = input[i];
+                }
+            }
+            size = uniqueCount;
+        }
+        return new ImmutableBalancedTreeSet<>(Node.build(input, 0, size), comparator);
+    }
+
+    private static <T> int compare(Comparator<? super T> comparator, T element1, T element2)
+    {
+        return comparator == null
+                ? ((Comparable<? super T>) element1).compareTo(element2)
+                : comparator.compare(element1, element2);
+    }
+
+    private int compare(T element1, T element2)
+    {
+        return ImmutableBalancedTreeSet.compare(this.comparator, element1, element2);
+    }
+
+    @Override
+    public int size()
+    {
+        return Node.size(this.root);
+    }
+
+    @Override
+    public boolean contains(Object object)
+    {
+        T element = (T) object;
+        Node<T> node = this.root;
+        while (node != null)
+        {
+            int compare = this.compare(element, node.key);
+            if (compare == 0)
+            {
+                return true;
+            }
+            node = compare < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    @Override
+    public Comparator<? super T> comparator()
+    {
+        return this.comparator;
+    }
+
+    @Override
+    public T first()
+    {
+        if (this.root == null)
+        {
+            throw new NoSuchElementException();
+        }
+        return this.root.first().key;
+    }
+
+    @Override
+    public T last()
+    {
+        if (this.root == null)
+        {
+            throw new NoSuchElementException();
+        }
+        return this.root.last().key;
+    }
+
+    @Override
+    public ImmutableSortedSet<T> newWith(T element)
+    {
+        return this.withRoot(this.insert(this.root, element));
+    }
+
+    @Override
+    public ImmutableSortedSet<T> newWithout(T element)
+    {
+        return this.withRoot(this.remove(this.root, element));
+    }
+
+    @Override
+    public ImmutableSortedSet<T> newWithAll(Iterable<? extends T> elements)
+    {
+        ImmutableBalancedTreeSet<T> other = this.sameOrder(elements);
+        if (other != null)
+        {
+            return this.withRoot(this.union(this.root, other.root));
+        }
+        Node<T> newRoot = this.root;
+        for (T element : elements)
+        {
+            newRoot = this.insert(newRoot, element);
+        }
+        return this.withRoot(newRoot);
+    }
+
+    @Override
+    public ImmutableSortedSet<T> newWithoutAll(Iterable<? extends T> elements)
+    {
+        ImmutableBalancedTreeSet<T> other = this.sameOrder(elements);
+        if (other != null)
+        {
+            return this.withRoot(this.difference(this.root, other.root));
+        }
+        Node<T> newRoot = this.root;
+        for (T element : elements)
+        {
+            newRoot = this.remove(newRoot, element);
+        }
+        return this.withRoot(newRoot);
+    }
+
+    @Override
+    public ImmutableSortedSet<T> union(SetIterable<? extends T> set)
+    {
+        return this.newWithAll(set);
+    }
+
+    @Override
+    public ImmutableSortedSet<T> intersect(SetIterable<? extends T> set)
+    {
+        ImmutableBalancedTreeSet<T> other = this.sameOrder(set);
+        if (other != null)
+        {
+            return this.withRoot(this.intersect(this.root, other.root));
+        }
+        return super.intersect(set);
+    }
+
+    @Override
+    public ImmutableSortedSet<T> difference(SetIterable<? extends T> subtrahendSet)
+    {
+        return this.newWithoutAll(subtrahendSet);
+    }
+
+    private ImmutableBalancedTreeSet<T> sameOrder(Iterable<? extends T> elements)
+    {
+        if (elements instanceof ImmutableBalancedTreeSet<?>)
+        {
+            ImmutableBalancedTreeSet<T> other = (ImmutableBalancedTreeSet<T>) elements;
+            if (Objects.equals(this.comparator, other.comparator))
+            {
+                return other;
+            }
+        }
+        return null;
+    }
+
+    private ImmutableSortedSet<T> withRoot(Node<T> newRoot)
+    {
+        if (newRoot == this.root)
+        {
+            return this;
+        }
+        if (newRoot == null && this.comparator == null)
+        {
+            return (ImmutableSortedSet<T>) EMPTY;
+        }
+        return new ImmutableBalancedTreeSet<>(newRoot, this.comparator);
+    }
+
+    private Node<T> insert(Node<T> node, T element)
+    {
+        if (element == null)
+        {
+            throw new NullPointerException("Cannot add null to " + this.getClass().getSimpleName());
+        }
+        return this.put(node, element);
+    }
+
+    private Node<T> put(Node<T> node, T element)
+    {
+        if (node == null)
+        {
+            return new Node<>(element, null, null);
+        }
+        int compare = this.compare(element, node.key);
+        if (compare < 0)
+        {
+            Node<T> left = this.put(node.left, element);
+            return left == node.left ? node : Node.balance(node.key, left, node.right);
+        }
+        if (compare > 0)
+        {
+            Node<T> right = this.put(node.right, element);
+            return right == node.right ? node : Node.balance(node.key, node.left, right);
+        }
+        return node;
+    }
+
+    private Node<T> remove(Node<T> node, T element)
+    {
+        if (node == null)
+        {
+            return null;
+        }
+        int compare = this.compare(element, node.key);
+        if (compare < 0)
+        {
+            Node<T> left = this.remove(node.left, element);
+            return left == node.left ? node : Node.balance(node.key, left, node.right);
+        }
+        if (compare > 0)
+        {
+            Node<T> right = this.remove(node.right, element);
+            return right == node.right ? node : Node.balance(node.key, node.left, right);
+        }
+        return Node.glue(node.left, node.right);
+    }
+
+    /**
+     * Returns the elements of the tree that are strictly less than the given element.
+     */
+    private Node<T> lessThan(Node<T> node, T element)
+    {
+        if (node == null)
+        {
+            return null;
+        }
+        if (this.compare(node.key, element) >= 0)
+        {
+            return this.lessThan(node.left, element);
+        }
+        Node<T> right = this.lessThan(node.right, element);
+        return right == node.right ? node : Node.link(node.key, node.left, right);
+    }
+
+    /**
+     * Returns the elements of the tree that are greater than, or if inclusive equal to, the given element.
+     */
+    private Node<T> greaterThan(Node<T> node, T element, boolean inclusive)
+    {
+        if (node == null)
+        {
+            return null;
+        }
+        int compare = this.compare(node.key, element);
+        if (compare < 0 || compare == 0 && !inclusive)
+        {
+            return this.greaterThan(node.right, element, inclusive);
+        }
+        Node<T> left = this.greaterThan(node.left, element, inclusive);
+        return left == node.left ? node : Node.link(node.key, left, node.right);
+    }
+
+    private Node<T> union(Node<T> node, Node<T> other)
+    {
+        if (node == null)
+        {
+            return other;
+        }
+        if (other == null || node == other)
+        {
+            return node;
+        }
+        Node<T> left = this.union(node.left, this.lessThan(other, node.key));
+        Node<T> right = this.union(node.right, this.greaterThan(other, node.key, false));
+        return left == node.left && right == node.right ? node : Node.link(node.key, left, right);
+    }
+
+    private Node<T> intersect(Node<T> node, Node<T> other)
+    {
+        if (node == null || other == null)
+        {
+            return null;
+        }
+        if (node == other)
+        {
+            return node;
+        }
+        Node<T> otherLeft = this.lessThan(other, node.key);
+        Node<T> otherRight = this.greaterThan(other, node.key, false);
+        Node<T> left = this.intersect(node.left, otherLeft);
+        Node<T> right = this.intersect(node.right, otherRight);
+        if (Node.size(otherLeft) + Node.size(otherRight) < other.size)
+        {
+            return left == node.left && right == node.right ? node : Node.link(node.key, left, right);
+        }
+        return Node.merge(left, right);
+    }
+
+    private Node<T> difference(Node<T> node, Node<T> other)
+    {
+        if (node == null || other == null)
+        {
+            return node;
+        }
+        if (node == other)
+        {
+            return null;
+        }
+        Node<T> left = this.difference(this.lessThan(node, other.key), other.left);
+        Node<T> right = this.difference(this.greaterThan(node, other.key, false), other.right);
+        if (Node.size(left) + Node.size(right) == node.size)
+        {
+            return node;
+        }
+        return Node.merge(left, right);
+    }
+
+    @Override
+    public SortedSet<T> subSet(T fromElement, T toElement)
+    {
+        if (this.compare(fromElement, toElement) > 0)
+        {
+            throw new IllegalArgumentException("fromElement > toElement");
+        }
+        return this.withRoot(this.greaterThan(this.lessThan(this.root, toElement), fromElement, true)).castToSortedSet();
+    }
+
+    @Override
+    public SortedSet<T> headSet(T toElement)
+    {
+        return this.withRoot(this.lessThan(this.root, toElement)).castToSortedSet();
+    }
+
+    @Override
+    public SortedSet<T> tailSet(T fromElement)
+    {
+        return this.withRoot(this.greaterThan(this.root, fromElement, true)).castToSortedSet();
+    }
+
+    @Override
+    public ImmutableSortedSet<T> take(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+        return this.withRoot(Node.take(this.root, count));
+    }
+
+    @Override
+    public ImmutableSortedSet<T> drop(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+        return this.withRoot(Node.drop(this.root, count));
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new TreeIterator<>(this.root, 0);
+    }
+
+    @Override
+    public void each(Procedure<? super T> procedure)
+    {
+        if (this.root != null)
+        {
+            this.root.forEach(procedure);
+        }
+    }
+
+    @Override
+    public <V> ImmutableList<V> collectWithIndex(ObjectIntToObjectFunction<? super T, ? extends V> function)
+    {
+        FastList<V> result = FastList.newList(this.size());
+        int index = 0;
+        for (Iterator<T> iterator = this.iterator(); iterator.hasNext(); )
+        {
+            result.add(function.valueOf(iterator.next(), index++));
+        }
+        return result.toImmutable();
+    }
+
+    @Override
+    public int detectIndex(Predicate<? super T> predicate)
+    {
+        int index = 0;
+        for (Iterator<T> iterator = this.iterator(); iterator.hasNext(); index++)
+        {
+            if (predicate.accept(iterator.next()))
+            {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public <S> boolean corresponds(OrderedIterable<S> other, Predicate2<? super T, ? super S> predicate)
+    {
+        return OrderedIterate.corresponds(this, other, predicate);
+    }
+
+    @Override
+    public void forEach(int fromIndex, int toIndex, Procedure<? super T> procedure)
+    {
+        ListIterate.rangeCheck(fromIndex, toIndex, this.size());
+
+        if (fromIndex > toIndex)
+        {
+            throw new IllegalArgumentException("fromIndex must not be greater than toIndex");
+        }
+
+        Iterator<T> iterator = new TreeIterator<>(this.root, fromIndex);
+        for (int i = fromIndex; i <= toIndex; i++)
+        {
+            procedure.value(iterator.next());
+        }
+    }
+
+    @Override
+    public void forEachWithIndex(int fromIndex, int toIndex, ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        ListIterate.rangeCheck(fromIndex, toIndex, this.size());
+
+        if (fromIndex > toIndex)
+        {
+            throw new IllegalArgumentException("fromIndex must not be greater than toIndex");
+        }
+
+        Iterator<T> iterator = new TreeIterator<>(this.root, fromIndex);
+        for (int i = fromIndex; i <= toIndex; i++)
+        {
+            objectIntProcedure.value(iterator.next(), i);
+        }
+    }
+
+    @Override
+    public int indexOf(Object object)
+    {
+        if (object == null)
+        {
+            return -1;
+        }
+        T element = (T) object;
+        Node<T> node = this.root;
+        int index = 0;
+        while (node != null)
+        {
+            int compare = this.compare(element, node.key);
+            if (compare < 0)
+            {
+                node = node.left;
+            }
+            else
+            {
+                int leftSize = Node.size(node.left);
+                if (compare == 0)
+                {
+                    return index + leftSize;
+                }
+                index += leftSize + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int compareTo(SortedSetIterable<T> otherSet)
+    {
+        Iterator<T> iterator = otherSet.iterator();
+
+        for (T eachInThis : this)
+        {
+            if (!iterator.hasNext())
+            {
+                return 1;
+            }
+
+            T eachInOther = iterator.next();
+
+            int compare = this.compare(eachInThis, eachInOther);
+            if (compare != 0)
+            {
+                return compare;
+            }
+        }
+
+        return iterator.hasNext() ? -1 : 0;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj == this)
+        {
+            return true;
+        }
+
+        if (!(obj instanceof Set))
+        {
+            return false;
+        }
+        Set<?> otherSet = (Set<?>) obj;
+        if (otherSet.size() != this.size())
+        {
+            return false;
+        }
+        try
+        {
+            return this.containsAll(otherSet);
+        }
+        catch (ClassCastException ignored)
+        {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.root == null ? 0 : this.root.elementHashCode();
+    }
+
+    private Object writeReplace()
+    {
+        return new ImmutableSortedSetSerializationProxy<>(this);
+    }
+
+    /**
+     * A node of the tree. Nodes are never modified once they are created, so a subtree may be shared by any number of
+     * sets. The empty tree is null.
+     */
+    private static final class Node<T>
+    {
+        private final T key;
+        private final Node<T> left;
+        private final Node<T> right;
+        private final int size;
+
+        private Node(T key, Node<T> left, Node<T> right)
+        {
+            this.key = key;
+            this.left = left;
+            this.right = right;
+            this.size = Node.size(left) + Node.size(right) + 1;
+        }
+
+        private static int size(Node<?> node)
+        {
+            return node == null ? 0 : node.size;
+        }
+
+        /**
+         * Builds a perfectly balanced tree from the given range of elements, which must be sorted and unique.
+         */
+        private static <T> Node<T> build(T[] elements, int from, int to)
+        {
+            if (from >= to)
+            {
+                return null;
+            }
+            int middle = (from + to) >>> 1;
+            return new Node<>(elements[middle], Node.build(elements, from, middle), Node.build(elements, middle + 1, to));
+        }
+
+        /**
+         * Creates a node whose subtrees were balanced before one of them grew or shrank by at most one element.
+         */
+        private static <T> Node<T> balance(T key, Node<T> left, Node<T> right)
+        {
+            int leftSize = Node.size(left);
+            int rightSize = Node.size(right);
+            if (leftSize + rightSize > 1)
+            {
+                if (rightSize > DELTA * leftSize)
+                {
+                    return Node.rotateLeft(key, left, right);
+                }
+                if (leftSize > DELTA * rightSize)
+                {
+                    return Node.rotateRight(key, left, right);
+                }
+            }
+            return new Node<>(key, left, right);
+        }
+
+        private static <T> Node<T> rotateLeft(T key, Node<T> left, Node<T> right)
+        {
+            Node<T> rightLeft = right.left;
+            if (Node.size(rightLeft) < RATIO * Node.size(right.right))
+            {
+                return new Node<>(right.key, new Node<>(key, left, rightLeft), right.right);
+            }
+            return new Node<>(
+                    rightLeft.key,
+                    new Node<>(key, left, rightLeft.left),
+                    new Node<>(right.key, rightLeft.right, right.right));
+        }
+
+        private static <T> Node<T> rotateRight(T key, Node<T> left, Node<T> right)
+        {
+            Node<T> leftRight = left.right;
+            if (Node.size(leftRight) < RATIO * Node.size(left.left))
+            {
+                return new Node<>(left.key, left.left, new Node<>(key, leftRight, right));
+            }
+            return new Node<>(
+                    leftRight.key,
+                    new Node<>(left.key, left.left, leftRight.left),
+                    new Node<>(key, leftRight.right, right));
+        }
+
+        /**
+         * Joins two trees of any sizes with an element that lies between all the elements of the left tree and all the
+         * elements of the right tree, descending the spine of the larger tree until the sizes are in balance.
+         */
+        private static <T> Node<T> link(T key, Node<T> left, Node<T> right)
+        {
+            if (left == null)
+            {
+                return Node.insertFirst(key, right);
+            }
+            if (right == null)
+            {
+                return Node.insertLast(key, left);
+            }
+            if (DELTA * left.size < right.size)
+            {
+                return Node.balance(right.key, Node.link(key, left, right.left), right.right);
+            }
+            if (DELTA * right.size < left.size)
+            {
+                return Node.balance(left.key, left.left, Node.link(key, left.right, right));
+            }
+            return new Node<>(key, left, right);
+        }
+
+        /**
+         * Joins two trees of any sizes, all of whose elements in the left tree are less than those in the right tree.
+         */
+        private static <T> Node<T> merge(Node<T> left, Node<T> right)
+        {
+            if (left == null)
+            {
+                return right;
+            }
+            if (right == null)
+            {
+                return left;
+            }
+            if (DELTA * left.size < right.size)
+            {
+                return Node.balance(right.key, Node.merge(left, right.left), right.right);
+            }
+            if (DELTA * right.size < left.size)
+            {
+                return Node.balance(left.key, left.left, Node.merge(left.right, right));
+            }
+            return Node.glue(left, right);
+        }
+
+        private static <T> Node<T> insertFirst(T key, Node<T> node)
+        {
+            if (node == null)
+            {
+                return new Node<>(key, null, null);
+            }
+            return Node.balance(node.key, Node.insertFirst(key, node.left), node.right);
+        }
+
+        private static <T> Node<T> insertLast(T key, Node<T> node)
+        {
+            if (node == null)
+            {
+                return new Node<>(key, null, null);
+            }
+            return Node.balance(node.key, node.left, Node.insertLast(key, node.right));
+        }
+
+        /**
+         * Joins two trees that are in balance with each other, such as the subtrees of a removed node, by moving the
+         * last element of the larger left tree or the first element of the right tree up to be their root.
+         */
+        private static <T> Node<T> glue(Node<T> left, Node<T> right)
+        {
+            if (left == null)
+            {
+                return right;
+            }
+            if (right == null)
+            {
+                return left;
+            }
+            if (left.size > right.size)
+            {
+                return Node.balance(left.last().key, Node.removeLast(left), right);
+            }
+            return Node.balance(right.first().key, left, Node.removeFirst(right));
+        }
+
+        private static <T> Node<T> removeFirst(Node<T> node)
+        {
+            if (node.left == null)
+            {
+                return node.right;
+            }
+            return Node.balance(node.key, Node.removeFirst(node.left), node.right);
+        }
+
+        private static <T> Node<T> removeLast(Node<T> node)
+        {
+            if (node.right == null)
+            {
+                return node.left;
+            }
+            return Node.balance(node.key, node.left, Node.removeLast(node.right));
+        }
+
+        private static <T> Node<T> take(Node<T> node, int count)
+        {
+            if (node == null || count <= 0)
+            {
+                return null;
+            }
+            if (count >= node.size)
+            {
+                return node;
+            }
+            int leftSize = Node.size(node.left);
+            if (count <= leftSize)
+            {
+                return Node.take(node.left, count);
+            }
+            return Node.link(node.key, node.left, Node.take(node.right, count - leftSize - 1));
+        }
+
+        private static <T> Node<T> drop(Node<T> node, int count)
+        {
+            if (node == null || count <= 0)
+            {
+                return node;
+            }
+            if (count >= node.size)
+            {
+                return null;
+            }
+            int leftSize = Node.size(node.left);
+            if (count > leftSize)
+            {
+                return Node.drop(node.right, count - leftSize - 1);
+            }
+            return Node.link(node.key, Node.drop(node.left, count), node.right);
+        }
+
+        private Node<T> first()
+        {
+            Node<T> node = this;
+            while (node.left != null)
+            {
+                node = node.left;
+            }
+            return node;
+        }
+
+        private Node<T> last()
+        {
+            Node<T> node = this;
+            while (node.right != null)
+            {
+                node = node.right;
+            }
+            return node;
+        }
+
+        private void forEach(Procedure<? super T> procedure)
+        {
+            Node<T> node = this;
+            while (node != null)
+            {
+                if (node.left != null)
+                {
+                    node.left.forEach(procedure);
+                }
+                procedure.value(node.key);
+                node = node.right;
+            }
+        }
+
+        private int elementHashCode()
+        {
+            int result = 0;
+            Node<T> node = this;
+            while (node != null)
+            {
+                if (node.left != null)
+                {
+                    result += node.left.elementHashCode();
+                }
+                result += node.key.hashCode();
+                node = node.right;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Iterates the elements of a tree in order from a given index, keeping the path of nodes whose right subtrees
+     * remain to be visited.
+     */
+    private static final class TreeIterator<T> implements Iterator<T>
+    {
+        private Node<T>[] stack = new Node[16];
+        private int depth;
+
+        private TreeIterator(Node<T> root, int startIndex)
+        {
+            Node<T> node = root;
+            int index = startIndex;
+            while (node != null)
+            {
+                int leftSize = Node.size(node.left);
+                if (index > leftSize)
+                {
+                    index -= leftSize + 1;
+                    node = node.right;
+                }
+                else
+                {
+                    this.push(node);
+                    node = index == leftSize ? null : node.left;
+                }
+            }
+        }
+
+        private void push(Node<T> node)
+        {
+            if (this.depth == this.stack.length)
+            {
+                this.stack = Arrays.copyOf(this.stack, this.depth << 1);
+            }
+            this.stack[this.depth++] = node;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.depth > 0;
+        }
+
+        @Override
+        public T next()
+        {
+            if (this.depth == 0)
+            {
+                throw new NoSuchElementException();
+            }
+            Node<T> node = this.stack[--this.depth];
+            this.stack[this.depth] = null;
+            for (Node<T> each = node.right; each != null; each = each.left)
+            {
+                this.push(each);
+            }
+            return node.key;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from an immutable set");
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.util.SortedSet;
 import org.eclipse.collections.api.factory.set.sorted.ImmutableSortedSetFactory;
 import org.eclipse.collections.api.set.sorted.ImmutableSortedSet;
 import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.internal.ImmutableThresholds;
 
 public class ImmutableSortedSetFactoryImpl implements ImmutableSortedSetFactory
 {
@@ -58,7 +59,10 @@ public class ImmutableSortedSetFactoryImpl implements ImmutableSortedSetFactory
         {
             return this.of();
         }
-
+        if (items.length >= ImmutableThresholds.PERSISTENT_SIZE)
+        {
+            return ImmutableSortedSetFactoryImpl.withDistinctSize(ImmutableBalancedTreeSet.newSetWith(items));
+        }
         return ImmutableTreeSet.newSetWith(items);
     }
 
@@ -79,6 +83,10 @@ public class ImmutableSortedSetFactoryImpl implements ImmutableSortedSetFactory
         {
             return this.empty();
         }
+        if (Iterate.sizeOf(items) >= ImmutableThresholds.PERSISTENT_SIZE)
+        {
+            return ImmutableSortedSetFactoryImpl.withDistinctSize(ImmutableBalancedTreeSet.newSetFromIterable(items));
+        }
         return ImmutableTreeSet.newSetFromIterable(items);
     }
 
@@ -111,6 +119,10 @@ public class ImmutableSortedSetFactoryImpl implements ImmutableSortedSetFactory
         {
             return this.of(comparator);
         }
+        if (items.length >= ImmutableThresholds.PERSISTENT_SIZE)
+        {
+            return ImmutableSortedSetFactoryImpl.withDistinctSize(ImmutableBalancedTreeSet.newSetWith(comparator, items));
+        }
         return ImmutableTreeSet.newSetWith(comparator, items);
     }
 
@@ -127,6 +139,10 @@ public class ImmutableSortedSetFactoryImpl implements ImmutableSortedSetFactory
         {
             return this.of(comparator);
         }
+        if (Iterate.sizeOf(iterable) >= ImmutableThresholds.PERSISTENT_SIZE)
+        {
+            return ImmutableSortedSetFactoryImpl.withDistinctSize(ImmutableBalancedTreeSet.newSetFromIterable(comparator, iterable));
+        }
         return ImmutableTreeSet.newSetFromIterable(comparator, iterable);
     }
 
@@ -147,6 +163,23 @@ public class ImmutableSortedSetFactoryImpl implements ImmutableSortedSetFactory
         {
             return this.of(set.comparator());
         }
+        if (set.size() >= ImmutableThresholds.PERSISTENT_SIZE)
+        {
+            return ImmutableBalancedTreeSet.newSet(set);
+        }
         return ImmutableTreeSet.newSet(set);
     }
+
+    /**
+     * Duplicates are only known once the elements are sorted, so large inputs are first sorted into a balanced tree,
+     * which is copied into a sorted array when it holds fewer distinct elements than the threshold.
+     */
+    private static <T> ImmutableSortedSet<T> withDistinctSize(ImmutableSortedSet<T> set)
+    {
+        if (set.size() >= ImmutableThresholds.PERSISTENT_SIZE)
+        {
+            return set;
+        }
+        return ImmutableTreeSet.newSet(set.castToSortedSet());
+    }
 }
@@ -19,6 +19,9 @@
  *     <li>
  *          {@link org.eclipse.collections.impl.set.sorted.immutable.ImmutableTreeSet} - the non-modifiable equivalent of {@link org.eclipse.collections.api.set.sorted.MutableSortedSet}.
  *     </li>
+ *     <li>
+ *          {@link org.eclipse.collections.impl.set.sorted.immutable.ImmutableBalancedTreeSet} - an immutable sorted set backed by a persistent weight-balanced tree, which shares structure between versions.
+ *     </li>
  * </ul>
  * <p>
  *     This package contains one factory implementation:
@@ -11,9 +11,12 @@
 /**
  * This package contains implementations of {@link org.eclipse.collections.api.set.sorted.MutableSortedSet}.
  * <p>
- *     This package contains 4 sorted mutable set implementation:
+ *     This package contains 5 sorted mutable set implementation:
  * <ul>
  *     <li>
+ *          {@link org.eclipse.collections.impl.set.sorted.mutable.BTreeSortedSet} - a sorted set backed by a B+-tree whose leaves store elements in arrays.
+ *     </li>
+ *     <li>
  *          {@link org.eclipse.collections.impl.set.sorted.mutable.SortedSetAdapter} -  a class which provides a MutableSortedSet wrapper around a JDK Collections SortedSet interface instance.
  *     </li>
  *     <li>
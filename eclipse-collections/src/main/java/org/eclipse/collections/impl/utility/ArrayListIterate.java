@@ -17,6 +17,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import org.eclipse.collections.api.RichIterable;
 import org.eclipse.collections.api.block.HashingStrategy;
@@ -82,6 +83,7 @@ import org.eclipse.collections.impl.block.procedure.MutatingAggregationProcedure
 import org.eclipse.collections.impl.block.procedure.NonMutatingAggregationProcedure;
 import org.eclipse.collections.impl.list.mutable.FastList;
 import org.eclipse.collections.impl.multimap.list.FastListMultimap;
+import org.eclipse.collections.impl.parallel.ParallelMergeSort;
 import org.eclipse.collections.impl.partition.list.PartitionFastList;
 import org.eclipse.collections.impl.set.strategy.mutable.UnifiedSetWithHashingStrategy;
 import org.eclipse.collections.impl.tuple.Tuples;
@@ -1660,6 +1662,31 @@ public final class ArrayListIterate
         return list;
     }
 
+    /**
+     * Mutates the ArrayList by sorting it with a stable merge sort whose tasks run on the given executor, and then
+     * returns the same ArrayList.
+     *
+     * @see ParallelMergeSort
+     * @since 11.1
+     */
+    public static <T> ArrayList<T> sortThis(ArrayList<T> list, Comparator<? super T> comparator, Executor executor)
+    {
+        if (ArrayListIterate.canAccessInternalArray(list))
+        {
+            ParallelMergeSort.sort(ArrayListIterate.getInternalArray(list), 0, list.size(), comparator, executor);
+        }
+        else
+        {
+            T[] array = (T[]) list.toArray();
+            ParallelMergeSort.sort(array, comparator, executor);
+            for (int i = 0; i < array.length; i++)
+            {
+                list.set(i, array[i]);
+            }
+        }
+        return list;
+    }
+
     public static <T> void toArray(ArrayList<T> list, T[] target, int startIndex, int sourceSize)
     {
         if (ArrayListIterate.canAccessInternalArray(list))
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.utility.internal;
+
+import java.util.Arrays;
+
+/**
+ * Control word operations shared by the open addressing hash tables.
+ * <p>
+ * Every slot of an open addressing table has one control byte. A full slot stores the low seven bits of the spread
+ * hash code of its key (so the byte is always non-negative), while empty and deleted slots store the negative
+ * {@link #EMPTY} and {@link #DELETED} markers. Eight control bytes are packed into one long, called a group, so that
+ * a probe can compare the seven bit hash against all eight slots of a group at once with a few arithmetic operations.
+ * Groups are probed with triangular steps, which visit every group of a power of two sized table exactly once.
+ */
+public final class ControlGroups
+{
+    public static final int GROUP_WIDTH = 8;
+
+    public static final byte EMPTY = (byte) 0x80;
+    public static final byte DELETED = (byte) 0xFE;
+
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+
+    private static final long EMPTY_GROUP = MSBS;
+
+    private static final int MAXIMUM_GROUPS = 1 << 26;
+
+    private ControlGroups()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Mixes all bits of a hash code so that both the group index and the seven bit control hash are well distributed.
+     */
+    public static int spread(int hashCode)
+    {
+        int h = hashCode;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Returns the bits of a spread hash used to pick the first group to probe.
+     */
+    public static int h1(int spreadHash)
+    {
+        return spreadHash >>> 7;
+    }
+
+    /**
+     * Returns the seven bits of a spread hash that are stored in the control byte of a full slot.
+     */
+    public static byte h2(int spreadHash)
+    {
+        return (byte) (spreadHash & 0x7F);
+    }
+
+    /**
+     * Returns a mask with the high bit set in every byte of the group whose control byte may equal {@code h2}. The
+     * mask can contain false positives, but never false negatives, so candidates must still be compared by key.
+     */
+    public static long match(long group, byte h2)
+    {
+        long x = group ^ (LSBS * h2);
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * Returns a mask with the high bit set in every byte of the group that is {@link #EMPTY}.
+     */
+    public static long matchEmpty(long group)
+    {
+        return group & (~group << 6) & MSBS;
+    }
+
+    /**
+     * Returns a mask with the high bit set in every byte of the group that is {@link #EMPTY} or {@link #DELETED}.
+     */
+    public static long matchEmptyOrDeleted(long group)
+    {
+        return group & ~(group << 7) & MSBS;
+    }
+
+    /**
+     * Returns the index within the group of the lowest slot in a non-zero match mask.
+     */
+    public static int lowestMatch(long matches)
+    {
+        return Long.numberOfTrailingZeros(matches) >>> 3;
+    }
+
+    public static long clearLowestMatch(long matches)
+    {
+        return matches & (matches - 1L);
+    }
+
+    public static byte getControl(long[] groups, int slot)
+    {
+        return (byte) (groups[slot >>> 3] >>> ((slot & 7) << 3));
+    }
+
+    public static void setControl(long[] groups, int slot, byte control)
+    {
+        int shift = (slot & 7) << 3;
+        int group = slot >>> 3;
+        groups[group] = (groups[group] & ~(0xFFL << shift)) | ((control & 0xFFL) << shift);
+    }
+
+    public static boolean isFull(byte control)
+    {
+        return control >= 0;
+    }
+
+    public static long[] newGroups(int groupCount)
+    {
+        long[] groups = new long[groupCount];
+        Arrays.fill(groups, EMPTY_GROUP);
+        return groups;
+    }
+
+    public static void clear(long[] groups)
+    {
+        Arrays.fill(groups, EMPTY_GROUP);
+    }
+
+    /**
+     * Returns the smallest power of two number of groups that holds {@code capacity} full slots without exceeding
+     * {@link #growthLimit(int)}.
+     */
+    public static int groupsForCapacity(int capacity)
+    {
+        if (capacity < 0)
+        {
+            throw new IllegalArgumentException("initial capacity cannot be less than 0");
+        }
+        long minimumGroups = Math.max(1L, ((long) capacity + 6L) / 7L);
+        if (minimumGroups > MAXIMUM_GROUPS)
+        {
+            throw new IllegalArgumentException("capacity is too large: " + capacity);
+        }
+        int groups = Integer.highestOneBit((int) minimumGroups);
+        return groups == minimumGroups ? groups : groups << 1;
+    }
+
+    /**
+     * Returns the maximum number of full and deleted slots allowed in a table of {@code groupCount} groups. A maximum
+     * load of 7/8 guarantees every table keeps at least one empty slot, which terminates unsuccessful probes.
+     */
+    public static int growthLimit(int groupCount)
+    {
+        return groupCount * (GROUP_WIDTH - 1);
+    }
+
+    public static int nextGroupCount(int groupCount)
+    {
+        if (groupCount >= MAXIMUM_GROUPS)
+        {
+            throw new IllegalStateException("Hash table cannot grow beyond " + MAXIMUM_GROUPS * GROUP_WIDTH + " slots");
+        }
+        return groupCount << 1;
+    }
+
+    /**
+     * Returns the first slot in the probe sequence of {@code spreadHash} whose control byte is empty or deleted.
+     */
+    public static int findFirstNonFull(long[] groups, int spreadHash)
+    {
+        int mask = groups.length - 1;
+        int group = h1(spreadHash) & mask;
+        for (int step = 1; ; step++)
+        {
+            long matches = matchEmptyOrDeleted(groups[group]);
+            if (matches != 0L)
+            {
+                return (group << 3) + lowestMatch(matches);
+            }
+            group = (group + step) & mask;
+        }
+    }
+
+    /**
+     * Returns the control byte a slot should take when its entry is removed. A slot can be marked empty again when its
+     * group still has an empty slot, because every probe reaching that group stops there anyway.
+     */
+    public static byte controlAfterRemove(long[] groups, int slot)
+    {
+        return matchEmpty(groups[slot >>> 3]) == 0L ? DELETED : EMPTY;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.utility.internal;
+
+/**
+ * Sizes at which the immutable factories switch implementations.
+ */
+public final class ImmutableThresholds
+{
+    /**
+     * The size from which the immutable map, set, bag, sorted map and sorted set factories return a persistent
+     * structure (a hash trie or a balanced tree), which copies only the path to a change, rather than a flat table or
+     * array, which is copied whole on each update. For bags the size is the number of distinct elements.
+     * <p>
+     * Picked with ImmutableMapUpdateTest in jmh-tests. At 1024 entries a lookup in the trie takes about twice as long
+     * as in the flat table, while an update of the flat table takes over a thousand times as long as an update of the
+     * trie. Below this size the factories keep the faster lookups of the flat structures, whose copies are still
+     * small.
+     */
+    public static final int PERSISTENT_SIZE = 1024;
+
+    private ImmutableThresholds()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.utility.internal;
+
+import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+
+import sun.misc.Unsafe;
+
+/**
+ * Raw access to native memory used by the off-heap collections.
+ * <p>
+ * Memory handed out by {@link #allocateZeroed(long)} is not tracked by the garbage collector. Every allocation must be
+ * released exactly once with {@link #free(long)}, and no address may be read or written after it has been freed.
+ * The accessors perform no bounds checking, so callers are responsible for staying inside the regions they allocated.
+ */
+public final class OffHeapMemory
+{
+    private static final Unsafe UNSAFE = OffHeapMemory.getUnsafe();
+    private static final long BUFFER_ADDRESS_OFFSET = OffHeapMemory.getBufferAddressOffset();
+
+    private OffHeapMemory()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Allocates a region of {@code bytes} bytes of native memory with every byte set to zero and returns its address.
+     */
+    public static long allocateZeroed(long bytes)
+    {
+        if (bytes <= 0L)
+        {
+            throw new IllegalArgumentException("Cannot allocate " + bytes + " bytes of native memory");
+        }
+        long address = UNSAFE.allocateMemory(bytes);
+        UNSAFE.setMemory(address, bytes, (byte) 0);
+        return address;
+    }
+
+    public static void free(long address)
+    {
+        UNSAFE.freeMemory(address);
+    }
+
+    public static void clear(long address, long bytes)
+    {
+        UNSAFE.setMemory(address, bytes, (byte) 0);
+    }
+
+    public static void copy(long fromAddress, long toAddress, long bytes)
+    {
+        UNSAFE.copyMemory(fromAddress, toAddress, bytes);
+    }
+
+    /**
+     * Returns the address of the first byte of a direct buffer, such as a region of a memory-mapped file. The address is
+     * only valid while the buffer is reachable.
+     */
+    public static long addressOf(Buffer buffer)
+    {
+        if (!buffer.isDirect())
+        {
+            throw new IllegalArgumentException("Only direct buffers have a native address");
+        }
+        return UNSAFE.getLong(buffer, BUFFER_ADDRESS_OFFSET);
+    }
+
+    public static byte getByte(long address)
+    {
+        return UNSAFE.getByte(address);
+    }
+
+    public static void putByte(long address, byte value)
+    {
+        UNSAFE.putByte(address, value);
+    }
+
+    public static short getShort(long address)
+    {
+        return UNSAFE.getShort(address);
+    }
+
+    public static void putShort(long address, short value)
+    {
+        UNSAFE.putShort(address, value);
+    }
+
+    public static char getChar(long address)
+    {
+        return UNSAFE.getChar(address);
+    }
+
+    public static void putChar(long address, char value)
+    {
+        UNSAFE.putChar(address, value);
+    }
+
+    public static int getInt(long address)
+    {
+        return UNSAFE.getInt(address);
+    }
+
+    public static void putInt(long address, int value)
+    {
+        UNSAFE.putInt(address, value);
+    }
+
+    public static long getLong(long address)
+    {
+        return UNSAFE.getLong(address);
+    }
+
+    public static void putLong(long address, long value)
+    {
+        UNSAFE.putLong(address, value);
+    }
+
+    public static float getFloat(long address)
+    {
+        return UNSAFE.getFloat(address);
+    }
+
+    public static void putFloat(long address, float value)
+    {
+        UNSAFE.putFloat(address, value);
+    }
+
+    public static double getDouble(long address)
+    {
+        return UNSAFE.getDouble(address);
+    }
+
+    public static void putDouble(long address, double value)
+    {
+        UNSAFE.putDouble(address, value);
+    }
+
+    private static long getBufferAddressOffset()
+    {
+        try
+        {
+            return UNSAFE.objectFieldOffset(Buffer.class.getDeclaredField("address"));
+        }
+        catch (NoSuchFieldException e)
+        {
+            throw new RuntimeException("Could not initialize intrinsics", e);
+        }
+    }
+
+    private static Unsafe getUnsafe()
+    {
+        try
+        {
+            return Unsafe.getUnsafe();
+        }
+        catch (SecurityException ignored)
+        {
+            try
+            {
+                return AccessController.doPrivileged(new PrivilegedExceptionAction<Unsafe>()
+                {
+                    public Unsafe run() throws Exception
+                    {
+                        Field f = Unsafe.class.getDeclaredField("theUnsafe");
+                        f.setAccessible(true);
+                        return (Unsafe) f.get(null);
+                    }
+                });
+            }
+            catch (PrivilegedActionException e)
+            {
+                throw new RuntimeException("Could not initialize intrinsics", e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.ConcurrentMutableMap;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.map.mutable.ConcurrentCacheMap;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replays a Zipfian access trace against {@link ConcurrentCacheMap} and an unbounded {@link ConcurrentHashMap}, with
+ * every miss loading the value through getIfAbsentPut.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class CacheZipfianTest extends AbstractJMHTestRunner
+{
+    private static final int TRACE_LENGTH = 1 << 20;
+    private static final int TRACE_MASK = TRACE_LENGTH - 1;
+    private static final int DISTINCT_KEYS = 100_000;
+
+    @Param({"1000", "10000"})
+    public int maximumSize;
+
+    @Param({"0.8", "0.99"})
+    public double skew;
+
+    @Param({"cache", "concurrentHashMap"})
+    public String mapType;
+
+    private ConcurrentMutableMap<Integer, Integer> map;
+    private Integer[] trace;
+
+    @Setup
+    public void setUp()
+    {
+        this.trace = CacheZipfianTest.zipfianTrace(this.skew, new Random(0x123456789ABCDL));
+        this.map = "cache".equals(this.mapType) ? ConcurrentCacheMap.newCache(this.maximumSize) : ConcurrentHashMap.newMap();
+    }
+
+    private static Integer[] zipfianTrace(double skew, Random random)
+    {
+        double[] cumulative = new double[DISTINCT_KEYS];
+        double sum = 0.0;
+        for (int rank = 0; rank < DISTINCT_KEYS; rank++)
+        {
+            sum += 1.0 / Math.pow(rank + 1, skew);
+            cumulative[rank] = sum;
+        }
+        Integer[] trace = new Integer[TRACE_LENGTH];
+        for (int i = 0; i < TRACE_LENGTH; i++)
+        {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            trace[i] = index < 0 ? -index - 1 : index;
+        }
+        return trace;
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor
+    {
+        private int position = new Random().nextInt(TRACE_LENGTH);
+    }
+
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Benchmark
+    public Integer getIfAbsentPut(Cursor cursor)
+    {
+        Integer key = this.trace[cursor.position++ & TRACE_MASK];
+        return this.map.getIfAbsentPut(key, () -> key);
+    }
+
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Benchmark
+    public Integer get(Cursor cursor)
+    {
+        Integer key = this.trace[cursor.position++ & TRACE_MASK];
+        Integer value = this.map.get(key);
+        if (value == null)
+        {
+            this.map.putIfAbsent(key, key);
+            return key;
+        }
+        return value;
+    }
+}
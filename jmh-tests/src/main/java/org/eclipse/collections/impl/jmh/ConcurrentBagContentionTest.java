@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.impl.bag.mutable.ConcurrentHashBag;
+import org.eclipse.collections.impl.bag.mutable.HashBag;
+import org.eclipse.collections.impl.bag.mutable.MultiReaderHashBag;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Counts events into one bag from several writer threads while a reader polls it, comparing
+ * {@link ConcurrentHashBag} with {@link MultiReaderHashBag} and a synchronized {@link HashBag}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConcurrentBagContentionTest extends AbstractJMHTestRunner
+{
+    @Param({"concurrent", "multiReader", "synchronized"})
+    public String bagType;
+
+    @Param({"16", "100000"})
+    public int distinctItems;
+
+    private MutableBag<Integer> bag;
+
+    @Setup
+    public void setUp()
+    {
+        if ("concurrent".equals(this.bagType))
+        {
+            this.bag = ConcurrentHashBag.newBag();
+        }
+        else if ("multiReader".equals(this.bagType))
+        {
+            this.bag = MultiReaderHashBag.newBag();
+        }
+        else
+        {
+            this.bag = HashBag.<Integer>newBag().asSynchronized();
+        }
+    }
+
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Benchmark
+    @Group("count")
+    @GroupThreads(7)
+    public int addOccurrences()
+    {
+        return this.bag.addOccurrences(ThreadLocalRandom.current().nextInt(this.distinctItems), 1);
+    }
+
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Benchmark
+    @Group("count")
+    @GroupThreads(1)
+    public int occurrencesOf()
+    {
+        return this.bag.occurrencesOf(ThreadLocalRandom.current().nextInt(this.distinctItems));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.map.mutable.primitive.ConcurrentIntIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ConcurrentIntIntHashMap} with a synchronized {@link IntIntHashMap} when several threads read and
+ * update the same map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class ConcurrentIntIntMapTest extends AbstractJMHTestRunner
+{
+    @Param({"1000", "1000000"})
+    public int size;
+
+    @Param({"concurrent", "synchronized"})
+    public String mapType;
+
+    private MutableIntIntMap map;
+    private int[] keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.keys = new Random(0x123456789ABCDL).ints().limit((long) this.size).toArray();
+        this.map = "concurrent".equals(this.mapType) ? new ConcurrentIntIntHashMap() : new IntIntHashMap().asSynchronized();
+        for (int key : this.keys)
+        {
+            this.map.put(key, key);
+        }
+    }
+
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Benchmark
+    public int get()
+    {
+        return this.map.get(this.keys[ThreadLocalRandom.current().nextInt(this.size)]);
+    }
+
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Benchmark
+    public int addToValue()
+    {
+        return this.map.addToValue(this.keys[ThreadLocalRandom.current().nextInt(this.size)], 1);
+    }
+
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Benchmark
+    public int mixed()
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = this.keys[random.nextInt(this.size)];
+        if (random.nextInt(10) == 0)
+        {
+            return this.map.addToValue(key, 1);
+        }
+        return this.map.get(key);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.factory.list.ImmutableListBuilder;
+import org.eclipse.collections.api.factory.list.primitive.ImmutableIntListBuilder;
+import org.eclipse.collections.api.factory.map.ImmutableMapBuilder;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.primitive.ImmutableIntList;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+
+/**
+ * Compares building an immutable collection with a builder, which hands its array or table to the immutable collection,
+ * against filling a mutable collection and calling toImmutable() on it, which copies everything once more. The GC
+ * profiler's normalized allocation rate shows the bytes the copy adds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImmutableBuilderTest extends AbstractJMHTestRunner
+{
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Integer[] keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.keys = new Integer[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            this.keys[i] = Integer.valueOf(i * 31 + 1000);
+        }
+    }
+
+    @Override
+    protected void addProfilers(ChainedOptionsBuilder options)
+    {
+        options.addProfiler(GCProfiler.class);
+    }
+
+    @Benchmark
+    public ImmutableList<Integer> listBuilder()
+    {
+        ImmutableListBuilder<Integer> builder = Lists.immutable.builder(this.size);
+        for (Integer key : this.keys)
+        {
+            builder.with(key);
+        }
+        return builder.toImmutable();
+    }
+
+    @Benchmark
+    public ImmutableList<Integer> listToImmutable()
+    {
+        FastList<Integer> list = FastList.newList(this.size);
+        for (Integer key : this.keys)
+        {
+            list.add(key);
+        }
+        return list.toImmutable();
+    }
+
+    @Benchmark
+    public ImmutableMap<Integer, Integer> mapBuilder()
+    {
+        ImmutableMapBuilder<Integer, Integer> builder = Maps.immutable.builder();
+        for (Integer key : this.keys)
+        {
+            builder.withKeyValue(key, key);
+        }
+        return builder.toImmutable();
+    }
+
+    @Benchmark
+    public ImmutableMap<Integer, Integer> mapToImmutable()
+    {
+        UnifiedMap<Integer, Integer> map = UnifiedMap.newMap();
+        for (Integer key : this.keys)
+        {
+            map.put(key, key);
+        }
+        return map.toImmutable();
+    }
+
+    @Benchmark
+    public ImmutableIntList intListBuilder()
+    {
+        ImmutableIntListBuilder builder = IntLists.immutable.builder();
+        for (int i = 0; i < this.size; i++)
+        {
+            builder.with(i);
+        }
+        return builder.toImmutable();
+    }
+
+    @Benchmark
+    public ImmutableIntList intListToImmutable()
+    {
+        IntArrayList list = new IntArrayList();
+        for (int i = 0; i < this.size; i++)
+        {
+            list.add(i);
+        }
+        return list.toImmutable();
+    }
+}
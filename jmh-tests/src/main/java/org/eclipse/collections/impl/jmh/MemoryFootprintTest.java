@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.impl.bag.mutable.HashBag;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.eclipse.collections.impl.memory.MemoryFootprint;
+import org.eclipse.collections.impl.memory.MemoryFootprints;
+import org.eclipse.collections.impl.multimap.list.FastListMultimap;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+
+/**
+ * Builds each collection from pre-boxed keys, so that the GC profiler's normalized allocation rate, divided by the
+ * size, is the number of bytes per element the collection's structure allocates, including the garbage left by its
+ * resizes. The footprint {@link MemoryFootprints} estimates for the last collection built in each iteration is reported
+ * alongside as the secondary results of {@link RetainedFootprint}, which show the bytes retained rather than allocated.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemoryFootprintTest extends AbstractJMHTestRunner
+{
+    @Param({"16", "1000", "100000"})
+    public int size;
+
+    @Param({
+            "FastList",
+            "UnifiedSet",
+            "UnifiedMap",
+            "ConcurrentHashMap",
+            "HashBag",
+            "FastListMultimap",
+            "IntHashSet",
+            "IntIntHashMap",
+            "IntObjectHashMap"})
+    public String type;
+
+    private Integer[] keys;
+
+    @Setup
+    public void setUp()
+    {
+        this.keys = new Integer[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            this.keys[i] = Integer.valueOf(i * 31 + 1000);
+        }
+    }
+
+    @Override
+    protected void addProfilers(ChainedOptionsBuilder options)
+    {
+        options.addProfiler(GCProfiler.class);
+    }
+
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    @Benchmark
+    public Object build(RetainedFootprint retainedFootprint)
+    {
+        Object collection = this.newCollection();
+        retainedFootprint.last = collection;
+        return collection;
+    }
+
+    private Object newCollection()
+    {
+        Integer[] keys = this.keys;
+        switch (this.type)
+        {
+            case "FastList":
+                return FastList.newListWith(keys);
+            case "UnifiedSet":
+                return UnifiedSet.newSetWith(keys);
+            case "UnifiedMap":
+                UnifiedMap<Integer, Integer> unifiedMap = UnifiedMap.newMap();
+                for (Integer key : keys)
+                {
+                    unifiedMap.put(key, key);
+                }
+                return unifiedMap;
+            case "ConcurrentHashMap":
+                ConcurrentHashMap<Integer, Integer> concurrentHashMap = ConcurrentHashMap.newMap();
+                for (Integer key : keys)
+                {
+                    concurrentHashMap.put(key, key);
+                }
+                return concurrentHashMap;
+            case "HashBag":
+                HashBag<Integer> bag = HashBag.newBag();
+                for (Integer key : keys)
+                {
+                    bag.addOccurrences(key, 2);
+                }
+                return bag;
+            case "FastListMultimap":
+                FastListMultimap<Integer, Integer> multimap = FastListMultimap.newMultimap();
+                for (Integer key : keys)
+                {
+                    multimap.put(key & 0xFF, key);
+                }
+                return multimap;
+            case "IntHashSet":
+                IntHashSet intSet = new IntHashSet();
+                for (Integer key : keys)
+                {
+                    intSet.add(key);
+                }
+                return intSet;
+            case "IntIntHashMap":
+                IntIntHashMap intIntMap = new IntIntHashMap();
+                for (Integer key : keys)
+                {
+                    intIntMap.put(key, key);
+                }
+                return intIntMap;
+            case "IntObjectHashMap":
+                IntObjectHashMap<Integer> intObjectMap = new IntObjectHashMap<>();
+                for (Integer key : keys)
+                {
+                    intObjectMap.put(key, key);
+                }
+                return intObjectMap;
+            default:
+                throw new IllegalArgumentException("Unknown collection type " + this.type);
+        }
+    }
+
+    /**
+     * The retained footprint of the last collection built, measured once the iteration is over so that the estimate
+     * does not count against the throughput or the allocation rate of the benchmark.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RetainedFootprint
+    {
+        public double shallowBytesPerElement;
+        public double deepBytesPerElement;
+        public double load;
+        public long wastedSlots;
+
+        private Object last;
+
+        @TearDown(Level.Iteration)
+        public void measure()
+        {
+            MemoryFootprint footprint = MemoryFootprints.of(this.last);
+            this.shallowBytesPerElement = footprint.getShallowBytesPerElement();
+            this.deepBytesPerElement = footprint.getDeepBytesPerElement();
+            this.load = footprint.getLoad();
+            this.wastedSlots = footprint.getWastedSlots();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.bag.sorted.MutableSortedBag;
+import org.eclipse.collections.impl.bag.sorted.mutable.BTreeBag;
+import org.eclipse.collections.impl.bag.sorted.mutable.TreeBag;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares a BTreeBag with a TreeBag holding a latency-like distribution for occurrence lookups, percentile queries,
+ * random inserts and iteration. TreeBag has no select operation, so its percentiles are read with forEach over a
+ * one-element index range.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SortedBagBTreeTest extends AbstractJMHTestRunner
+{
+    private static final int LOOKUPS = 1_000;
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private Integer[] elements;
+    private Integer[] lookups;
+    private TreeBag<Integer> treeBag;
+    private BTreeBag<Integer> bTreeBag;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(123456789012345L);
+        this.treeBag = TreeBag.newBag();
+        this.elements = new Integer[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            // Exponentially distributed values in microseconds, so most occurrences share a few distinct values
+            Integer element = (int) (-Math.log(1.0 - random.nextDouble()) * 1_000.0);
+            this.elements[i] = element;
+            this.treeBag.add(element);
+        }
+        this.lookups = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++)
+        {
+            this.lookups[i] = this.elements[random.nextInt(this.size)];
+        }
+        this.bTreeBag = BTreeBag.newBag(this.treeBag);
+    }
+
+    @Benchmark
+    public long occurrencesOf_treeBag()
+    {
+        return SortedBagBTreeTest.occurrences(this.treeBag, this.lookups);
+    }
+
+    @Benchmark
+    public long occurrencesOf_bTreeBag()
+    {
+        return SortedBagBTreeTest.occurrences(this.bTreeBag, this.lookups);
+    }
+
+    private static long occurrences(MutableSortedBag<Integer> bag, Integer[] lookups)
+    {
+        long total = 0L;
+        for (Integer each : lookups)
+        {
+            total += bag.occurrencesOf(each);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long percentiles_treeBag()
+    {
+        long sum = 0L;
+        int[] result = new int[1];
+        for (double percentile : PERCENTILES)
+        {
+            int index = Math.max((int) Math.ceil(percentile / 100.0 * this.size), 1) - 1;
+            this.treeBag.forEach(index, index, each -> result[0] = each);
+            sum += result[0];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long percentiles_bTreeBag()
+    {
+        long sum = 0L;
+        for (double percentile : PERCENTILES)
+        {
+            sum += this.bTreeBag.percentile(percentile);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public MutableSortedBag<Integer> addRandom_treeBag()
+    {
+        MutableSortedBag<Integer> bag = TreeBag.newBag();
+        for (Integer each : this.elements)
+        {
+            bag.add(each);
+        }
+        return bag;
+    }
+
+    @Benchmark
+    public MutableSortedBag<Integer> addRandom_bTreeBag()
+    {
+        MutableSortedBag<Integer> bag = BTreeBag.newBag();
+        for (Integer each : this.elements)
+        {
+            bag.add(each);
+        }
+        return bag;
+    }
+
+    @Benchmark
+    public long iterate_treeBag()
+    {
+        return SortedBagBTreeTest.sum(this.treeBag);
+    }
+
+    @Benchmark
+    public long iterate_bTreeBag()
+    {
+        return SortedBagBTreeTest.sum(this.bTreeBag);
+    }
+
+    private static long sum(Iterable<Integer> iterable)
+    {
+        long sum = 0L;
+        for (Integer each : iterable)
+        {
+            sum += each;
+        }
+        return sum;
+    }
+}
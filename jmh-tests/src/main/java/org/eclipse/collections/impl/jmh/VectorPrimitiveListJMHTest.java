@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.vector.VectorComparison;
+import org.eclipse.collections.impl.vector.VectorDoubleArrayList;
+import org.eclipse.collections.impl.vector.VectorIntArrayList;
+import org.eclipse.collections.impl.vector.VectorLongArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the scalar loops of the primitive array lists with the vector lists from eclipse-collections-vector on the
+ * same data. On JDK 17 and later, run with {@code -jvmArgsAppend --add-modules=jdk.incubator.vector} so that the
+ * vector lists use the Vector API; otherwise both sides run scalar loops.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VectorPrimitiveListJMHTest extends AbstractJMHTestRunner
+{
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private IntArrayList intList;
+    private IntArrayList otherIntList;
+    private VectorIntArrayList vectorIntList;
+    private VectorIntArrayList otherVectorIntList;
+    private LongArrayList longList;
+    private VectorLongArrayList vectorLongList;
+    private DoubleArrayList doubleList;
+    private DoubleArrayList otherDoubleList;
+    private VectorDoubleArrayList vectorDoubleList;
+    private VectorDoubleArrayList otherVectorDoubleList;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(123456789L);
+        int[] ints = new int[this.size];
+        int[] otherInts = new int[this.size];
+        long[] longs = new long[this.size];
+        double[] doubles = new double[this.size];
+        double[] otherDoubles = new double[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            ints[i] = random.nextInt(10_000);
+            otherInts[i] = random.nextInt(10_000);
+            longs[i] = random.nextLong();
+            doubles[i] = random.nextDouble();
+            otherDoubles[i] = random.nextDouble();
+        }
+        this.intList = IntArrayList.wrapCopy(ints);
+        this.otherIntList = IntArrayList.wrapCopy(otherInts);
+        this.vectorIntList = VectorIntArrayList.newListWith(ints);
+        this.otherVectorIntList = VectorIntArrayList.newListWith(otherInts);
+        this.longList = LongArrayList.wrapCopy(longs);
+        this.vectorLongList = VectorLongArrayList.newListWith(longs);
+        this.doubleList = DoubleArrayList.wrapCopy(doubles);
+        this.otherDoubleList = DoubleArrayList.wrapCopy(otherDoubles);
+        this.vectorDoubleList = VectorDoubleArrayList.newListWith(doubles);
+        this.otherVectorDoubleList = VectorDoubleArrayList.newListWith(otherDoubles);
+    }
+
+    @Benchmark
+    public long int_sum_scalar()
+    {
+        return this.intList.sum();
+    }
+
+    @Benchmark
+    public long int_sum_vector()
+    {
+        return this.vectorIntList.sum();
+    }
+
+    @Benchmark
+    public int int_max_scalar()
+    {
+        return this.intList.max();
+    }
+
+    @Benchmark
+    public int int_max_vector()
+    {
+        return this.vectorIntList.max();
+    }
+
+    @Benchmark
+    public boolean int_contains_scalar()
+    {
+        return this.intList.contains(-1);
+    }
+
+    @Benchmark
+    public boolean int_contains_vector()
+    {
+        return this.vectorIntList.contains(-1);
+    }
+
+    @Benchmark
+    public int int_count_scalar()
+    {
+        return this.intList.count(each -> each < 5_000);
+    }
+
+    @Benchmark
+    public int int_count_vector()
+    {
+        return this.vectorIntList.count(VectorComparison.LESS_THAN, 5_000);
+    }
+
+    @Benchmark
+    public long int_dotProduct_scalar()
+    {
+        return this.intList.dotProduct(this.otherIntList);
+    }
+
+    @Benchmark
+    public long int_dotProduct_vector()
+    {
+        return this.vectorIntList.dotProduct(this.otherVectorIntList);
+    }
+
+    @Benchmark
+    public IntArrayList int_plus_scalar()
+    {
+        int[] result = new int[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            result[i] = this.intList.get(i) + this.otherIntList.get(i);
+        }
+        return IntArrayList.newListWith(result);
+    }
+
+    @Benchmark
+    public IntArrayList int_plus_vector()
+    {
+        return this.vectorIntList.plus(this.otherVectorIntList);
+    }
+
+    @Benchmark
+    public long long_sum_scalar()
+    {
+        return this.longList.sum();
+    }
+
+    @Benchmark
+    public long long_sum_vector()
+    {
+        return this.vectorLongList.sum();
+    }
+
+    @Benchmark
+    public long long_min_scalar()
+    {
+        return this.longList.min();
+    }
+
+    @Benchmark
+    public long long_min_vector()
+    {
+        return this.vectorLongList.min();
+    }
+
+    @Benchmark
+    public double double_sum_scalar()
+    {
+        return this.doubleList.sum();
+    }
+
+    @Benchmark
+    public double double_sum_vector()
+    {
+        return this.vectorDoubleList.sum();
+    }
+
+    @Benchmark
+    public double double_dotProduct_scalar()
+    {
+        return this.doubleList.dotProduct(this.otherDoubleList);
+    }
+
+    @Benchmark
+    public double double_dotProduct_vector()
+    {
+        return this.vectorDoubleList.dotProduct(this.otherVectorDoubleList);
+    }
+
+    @Benchmark
+    public DoubleArrayList double_select_scalar()
+    {
+        return this.doubleList.select(each -> each > 0.9);
+    }
+
+    @Benchmark
+    public DoubleArrayList double_select_vector()
+    {
+        return this.vectorDoubleList.select(VectorComparison.GREATER_THAN, 0.9);
+    }
+}
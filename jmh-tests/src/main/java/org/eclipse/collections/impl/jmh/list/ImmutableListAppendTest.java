@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh.list;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.list.Interval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures building an ImmutableList one element at a time, which switches to a persistent trie once the list is
+ * large enough, and compares reading the trie with reading the array backed list Lists.immutable creates directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ImmutableListAppendTest extends AbstractJMHTestRunner
+{
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    private ImmutableList<Integer> arrayList;
+    private ImmutableList<Integer> trieList;
+
+    @Setup
+    public void setUp()
+    {
+        this.arrayList = Lists.immutable.withAll(Interval.oneTo(this.size));
+        this.trieList = this.append();
+    }
+
+    @Benchmark
+    public ImmutableList<Integer> append()
+    {
+        ImmutableList<Integer> result = Lists.immutable.empty();
+        for (int i = 0; i < this.size; i++)
+        {
+            result = result.newWith(i);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ImmutableList<Integer> concatenate()
+    {
+        return this.trieList.newWithAll(this.trieList);
+    }
+
+    @Benchmark
+    public long getArrayList()
+    {
+        return ImmutableListAppendTest.sumOfGet(this.arrayList);
+    }
+
+    @Benchmark
+    public long getTrieList()
+    {
+        return ImmutableListAppendTest.sumOfGet(this.trieList);
+    }
+
+    private static long sumOfGet(ImmutableList<Integer> list)
+    {
+        long result = 0L;
+        int localSize = list.size();
+        for (int i = 0; i < localSize; i++)
+        {
+            result += list.get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh.list;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.utility.primitive.IntRadixSort;
+import org.eclipse.collections.impl.utility.primitive.LongRadixSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares {@link IntRadixSort} and {@link LongRadixSort}, sequential and parallel, with {@link Arrays#sort(int[])} and
+ * {@link Arrays#parallelSort(int[])} on random arrays. Each invocation sorts a fresh copy of the same input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PrimitiveSortTest extends AbstractJMHTestRunner
+{
+    @Param({"10000", "1000000", "10000000"})
+    public int size;
+
+    private int[] intInput;
+    private long[] longInput;
+    private int[] intArray;
+    private long[] longArray;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(123456789012345L);
+        this.intInput = new int[this.size];
+        this.longInput = new long[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            this.intInput[i] = random.nextInt();
+            this.longInput[i] = random.nextLong();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void copyInput()
+    {
+        this.intArray = this.intInput.clone();
+        this.longArray = this.longInput.clone();
+    }
+
+    @Benchmark
+    public int[] int_arraysSort()
+    {
+        Arrays.sort(this.intArray);
+        return this.intArray;
+    }
+
+    @Benchmark
+    public int[] int_arraysParallelSort()
+    {
+        Arrays.parallelSort(this.intArray);
+        return this.intArray;
+    }
+
+    @Benchmark
+    public int[] int_radixSort()
+    {
+        IntRadixSort.sort(this.intArray);
+        return this.intArray;
+    }
+
+    @Benchmark
+    public int[] int_parallelRadixSort()
+    {
+        IntRadixSort.parallelSort(this.intArray);
+        return this.intArray;
+    }
+
+    @Benchmark
+    public long[] long_arraysSort()
+    {
+        Arrays.sort(this.longArray);
+        return this.longArray;
+    }
+
+    @Benchmark
+    public long[] long_arraysParallelSort()
+    {
+        Arrays.parallelSort(this.longArray);
+        return this.longArray;
+    }
+
+    @Benchmark
+    public long[] long_radixSort()
+    {
+        LongRadixSort.sort(this.longArray);
+        return this.longArray;
+    }
+
+    @Benchmark
+    public long[] long_parallelRadixSort()
+    {
+        LongRadixSort.parallelSort(this.longArray);
+        return this.longArray;
+    }
+}
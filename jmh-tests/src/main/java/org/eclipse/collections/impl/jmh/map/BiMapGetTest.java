@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh.map;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.RandomStringUtils;
+import org.eclipse.collections.api.bimap.MutableBiMap;
+import org.eclipse.collections.impl.bimap.mutable.CompactHashBiMap;
+import org.eclipse.collections.impl.bimap.mutable.HashBiMap;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares lookups in both directions and building a map for {@link HashBiMap} and {@link CompactHashBiMap}. Run
+ * with -prof gc, gc.alloc.rate.norm of the put benchmarks divided by the size gives allocated bytes per entry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BiMapGetTest extends AbstractJMHTestRunner
+{
+    private static final int RANDOM_COUNT = 9;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int size;
+    private String[] keys;
+    private Integer[] values;
+    private MutableBiMap<String, Integer> hashBiMap;
+    private MutableBiMap<String, Integer> compactHashBiMap;
+
+    @Setup
+    public void setUp()
+    {
+        this.keys = new String[this.size];
+        this.values = new Integer[this.size];
+        this.hashBiMap = new HashBiMap<>(this.size);
+        this.compactHashBiMap = CompactHashBiMap.newMap(this.size);
+
+        Random random = new Random(123456789012345L);
+        for (int i = 0; i < this.size; i++)
+        {
+            String key = RandomStringUtils.random(RANDOM_COUNT, 0, 0, false, true, null, random);
+            this.keys[i] = key;
+            this.values[i] = i;
+            this.hashBiMap.forcePut(key, i);
+            this.compactHashBiMap.forcePut(key, i);
+        }
+    }
+
+    @Benchmark
+    public void get()
+    {
+        BiMapGetTest.get(this.hashBiMap, this.keys);
+    }
+
+    @Benchmark
+    public void getCompact()
+    {
+        BiMapGetTest.get(this.compactHashBiMap, this.keys);
+    }
+
+    @Benchmark
+    public void getInverse()
+    {
+        BiMapGetTest.get(this.hashBiMap.inverse(), this.values);
+    }
+
+    @Benchmark
+    public void getInverseCompact()
+    {
+        BiMapGetTest.get(this.compactHashBiMap.inverse(), this.values);
+    }
+
+    private static <K> void get(MutableBiMap<K, ?> biMap, K[] keys)
+    {
+        for (int i = 0; i < keys.length; i++)
+        {
+            if (biMap.get(keys[i]) == null)
+            {
+                throw new AssertionError(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public MutableBiMap<String, Integer> put()
+    {
+        return BiMapGetTest.put(new HashBiMap<>(), this.keys, this.values);
+    }
+
+    @Benchmark
+    public MutableBiMap<String, Integer> putCompact()
+    {
+        return BiMapGetTest.put(CompactHashBiMap.newMap(), this.keys, this.values);
+    }
+
+    private static MutableBiMap<String, Integer> put(MutableBiMap<String, Integer> biMap, String[] keys, Integer[] values)
+    {
+        for (int i = 0; i < keys.length; i++)
+        {
+            biMap.forcePut(keys[i], values[i]);
+        }
+        return biMap;
+    }
+}
@@ -21,6 +21,7 @@ import com.carrotsearch.hppc.ObjectObjectMap;
 import org.apache.commons.lang.RandomStringUtils;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.map.mutable.OpenAddressingHashMap;
 import org.eclipse.collections.impl.map.mutable.UnifiedMap;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -84,6 +85,31 @@ public class ChainMapPutTest extends AbstractJMHTestRunner
         return ec;
     }
 
+    /**
+     * The open addressing map always grows at a 7/8 load, so the {@link #loadFactor} parameter does not apply. Run with
+     * {@code -prof gc} and divide gc.alloc.rate.norm by {@link #size} to compare the bytes allocated per entry.
+     */
+    @Benchmark
+    public MutableMap<String, String> ecOpenAddressing()
+    {
+        int localSize = this.size;
+        String[] localElements = this.elements;
+        /**
+         * @see OpenAddressingHashMap#DEFAULT_INITIAL_CAPACITY
+         */
+        int defaultInitialCapacity = 8;
+
+        MutableMap<String, String> ec = this.isPresized
+                ? OpenAddressingHashMap.newMap(localSize)
+                : OpenAddressingHashMap.newMap(defaultInitialCapacity);
+
+        for (int i = 0; i < localSize; i++)
+        {
+            ec.put(localElements[i], "dummy");
+        }
+        return ec;
+    }
+
     @Benchmark
     public ObjectObjectMap<String, String> hppc()
     {
@@ -16,6 +16,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang.RandomStringUtils;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.map.mutable.OpenAddressingHashMap;
 import org.eclipse.collections.impl.map.mutable.UnifiedMap;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -39,13 +40,17 @@ public class EcMutableMapGetTest extends AbstractJMHTestRunner
             "9250000", "9500000", "9750000", "10000000"})
     public int size;
     private String[] elements;
+    private String[] missingElements;
     private MutableMap<String, String> ecMap;
+    private MutableMap<String, String> ecOpenAddressingMap;
 
     @Setup
     public void setUp()
     {
         this.elements = new String[this.size];
+        this.missingElements = new String[this.size];
         this.ecMap = UnifiedMap.newMap(this.size);
+        this.ecOpenAddressingMap = OpenAddressingHashMap.newMap(this.size);
 
         Random random = new Random(123456789012345L);
         for (int i = 0; i < this.size; i++)
@@ -53,6 +58,8 @@ public class EcMutableMapGetTest extends AbstractJMHTestRunner
             String element = RandomStringUtils.random(RANDOM_COUNT, 0, 0, false, true, null, random);
             this.elements[i] = element;
             this.ecMap.put(element, "dummy");
+            this.ecOpenAddressingMap.put(element, "dummy");
+            this.missingElements[i] = 'x' + element;
         }
     }
 
@@ -71,4 +78,52 @@ public class EcMutableMapGetTest extends AbstractJMHTestRunner
             }
         }
     }
+
+    @Benchmark
+    public void getOpenAddressing()
+    {
+        int localSize = this.size;
+        String[] localElements = this.elements;
+        MutableMap<String, String> localEcMap = this.ecOpenAddressingMap;
+
+        for (int i = 0; i < localSize; i++)
+        {
+            if (localEcMap.get(localElements[i]) == null)
+            {
+                throw new AssertionError(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void getMiss()
+    {
+        int localSize = this.size;
+        String[] localElements = this.missingElements;
+        MutableMap<String, String> localEcMap = this.ecMap;
+
+        for (int i = 0; i < localSize; i++)
+        {
+            if (localEcMap.get(localElements[i]) != null)
+            {
+                throw new AssertionError(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void getMissOpenAddressing()
+    {
+        int localSize = this.size;
+        String[] localElements = this.missingElements;
+        MutableMap<String, String> localEcMap = this.ecOpenAddressingMap;
+
+        for (int i = 0; i < localSize; i++)
+        {
+            if (localEcMap.get(localElements[i]) != null)
+            {
+                throw new AssertionError(i);
+            }
+        }
+    }
 }
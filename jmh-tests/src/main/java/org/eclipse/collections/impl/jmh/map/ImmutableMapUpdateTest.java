@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh.map;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.map.immutable.ImmutableHashTrieMap;
+import org.eclipse.collections.impl.map.immutable.ImmutableUnifiedMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the cost of updating and of reading an ImmutableUnifiedMap, which copies its whole table on each update,
+ * with an ImmutableHashTrieMap, which copies only the path to the changed entry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ImmutableMapUpdateTest extends AbstractJMHTestRunner
+{
+    private static final int UPDATES = 64;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    @Param({"ImmutableUnifiedMap", "ImmutableHashTrieMap"})
+    public String type;
+
+    private Integer[] keys;
+    private Integer[] updateKeys;
+    private ImmutableMap<Integer, Integer> map;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(123456789012345L);
+        UnifiedMap<Integer, Integer> source = UnifiedMap.newMap(this.size);
+        this.keys = new Integer[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            Integer key = random.nextInt();
+            this.keys[i] = key;
+            source.put(key, i);
+        }
+        this.updateKeys = new Integer[UPDATES];
+        for (int i = 0; i < UPDATES; i++)
+        {
+            this.updateKeys[i] = random.nextBoolean() ? this.keys[random.nextInt(this.size)] : Integer.valueOf(random.nextInt());
+        }
+        this.map = "ImmutableUnifiedMap".equals(this.type)
+                ? new ImmutableUnifiedMap<>(source)
+                : new ImmutableHashTrieMap<>(source);
+    }
+
+    @Benchmark
+    public ImmutableMap<Integer, Integer> newWithKeyValue()
+    {
+        ImmutableMap<Integer, Integer> result = this.map;
+        for (Integer key : this.updateKeys)
+        {
+            result = this.map.newWithKeyValue(key, key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ImmutableMap<Integer, Integer> newWithoutKey()
+    {
+        ImmutableMap<Integer, Integer> result = this.map;
+        for (Integer key : this.updateKeys)
+        {
+            result = this.map.newWithoutKey(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int get()
+    {
+        ImmutableMap<Integer, Integer> localMap = this.map;
+        int result = 0;
+        for (Integer key : this.keys)
+        {
+            result += localMap.get(key);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh.map;
+
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.sorted.ImmutableSortedMap;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.map.sorted.immutable.ImmutableBalancedTreeMap;
+import org.eclipse.collections.impl.map.sorted.immutable.ImmutableTreeMap;
+import org.eclipse.collections.impl.map.sorted.mutable.TreeSortedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures updating, slicing and reading an ImmutableBalancedTreeMap, which copies only the path to the changed key
+ * and builds range views by splitting the tree. The copy benchmarks measure the whole array copy that an
+ * ImmutableTreeMap makes on each update, as a baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ImmutableSortedMapUpdateTest extends AbstractJMHTestRunner
+{
+    private static final int UPDATES = 64;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    private Integer[] keys;
+    private Integer[] updateKeys;
+    private TreeSortedMap<Integer, Integer> source;
+    private ImmutableSortedMap<Integer, Integer> map;
+    private ImmutableSortedMap<Integer, Integer> treeMap;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(123456789012345L);
+        this.source = TreeSortedMap.newMap();
+        this.keys = new Integer[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            Integer key = random.nextInt();
+            this.keys[i] = key;
+            this.source.put(key, key);
+        }
+        this.updateKeys = new Integer[UPDATES];
+        for (int i = 0; i < UPDATES; i++)
+        {
+            this.updateKeys[i] = random.nextBoolean() ? this.keys[random.nextInt(this.size)] : Integer.valueOf(random.nextInt());
+        }
+        this.map = ImmutableBalancedTreeMap.newMap(this.source);
+        this.treeMap = ImmutableTreeMap.newMap(this.source);
+    }
+
+    @Benchmark
+    public ImmutableSortedMap<Integer, Integer> newWithKeyValue()
+    {
+        ImmutableSortedMap<Integer, Integer> result = this.map;
+        for (Integer key : this.updateKeys)
+        {
+            result = this.map.newWithKeyValue(key, key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ImmutableSortedMap<Integer, Integer> newWithKeyValueCopy()
+    {
+        ImmutableSortedMap<Integer, Integer> result = this.treeMap;
+        for (Integer key : this.updateKeys)
+        {
+            result = this.treeMap.newWithKeyValue(key, key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ImmutableSortedMap<Integer, Integer> newWithoutKey()
+    {
+        ImmutableSortedMap<Integer, Integer> result = this.map;
+        for (Integer key : this.updateKeys)
+        {
+            result = this.map.newWithoutKey(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ImmutableSortedMap<Integer, Integer> newWithoutKeyCopy()
+    {
+        ImmutableSortedMap<Integer, Integer> result = this.treeMap;
+        for (Integer key : this.updateKeys)
+        {
+            result = this.treeMap.newWithoutKey(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public SortedMap<Integer, Integer> subMap()
+    {
+        SortedMap<Integer, Integer> sortedMap = this.map.castToSortedMap();
+        SortedMap<Integer, Integer> result = sortedMap;
+        for (Integer key : this.updateKeys)
+        {
+            result = sortedMap.subMap(key, Integer.MAX_VALUE);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int get()
+    {
+        ImmutableSortedMap<Integer, Integer> localMap = this.map;
+        int result = 0;
+        for (Integer key : this.keys)
+        {
+            if (localMap.get(key) != null)
+            {
+                result++;
+            }
+        }
+        return result;
+    }
+}
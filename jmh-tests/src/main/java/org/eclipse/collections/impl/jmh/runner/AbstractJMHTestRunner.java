@@ -13,7 +13,7 @@ package org.eclipse.collections.impl.jmh.runner;
 import org.junit.Test;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
-import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 import org.openjdk.jmh.runner.options.VerboseMode;
@@ -25,17 +25,21 @@ public abstract class AbstractJMHTestRunner
     {
         int warmupCount = this.warmUpCount();
         int runCount = this.runCount();
-        Options opts = new OptionsBuilder()
+        ChainedOptionsBuilder opts = new OptionsBuilder()
                 .include(".*" + this.getClass().getName() + ".*")
                 .warmupTime(TimeValue.seconds(2))
                 .warmupIterations(warmupCount)
                 .measurementTime(TimeValue.seconds(2))
                 .measurementIterations(runCount)
                 .verbosity(VerboseMode.EXTRA)
-                .forks(2)
-                .build();
+                .forks(2);
+        this.addProfilers(opts);
 
-        new Runner(opts).run();
+        new Runner(opts.build()).run();
+    }
+
+    protected void addProfilers(ChainedOptionsBuilder options)
+    {
     }
 
     protected int runCount()
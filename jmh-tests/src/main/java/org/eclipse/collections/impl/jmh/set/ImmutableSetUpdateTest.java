@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh.set;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.set.immutable.ImmutableHashTrieSet;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures updating, combining and reading an ImmutableHashTrieSet, which copies only the path to the changed element
+ * and combines two sets that share most of their structure without visiting the shared subtrees. The copy benchmarks
+ * measure the whole table copy that an ImmutableUnifiedSet makes on each update, as a baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ImmutableSetUpdateTest extends AbstractJMHTestRunner
+{
+    private static final int UPDATES = 64;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    private Integer[] elements;
+    private Integer[] updateElements;
+    private UnifiedSet<Integer> source;
+    private ImmutableSet<Integer> set;
+    private ImmutableSet<Integer> updatedSet;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(123456789012345L);
+        this.source = UnifiedSet.newSet(this.size);
+        this.elements = new Integer[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            Integer element = random.nextInt();
+            this.elements[i] = element;
+            this.source.add(element);
+        }
+        this.updateElements = new Integer[UPDATES];
+        for (int i = 0; i < UPDATES; i++)
+        {
+            this.updateElements[i] = random.nextBoolean() ? this.elements[random.nextInt(this.size)] : Integer.valueOf(random.nextInt());
+        }
+        this.set = new ImmutableHashTrieSet<>(this.source);
+        ImmutableSet<Integer> result = this.set;
+        for (Integer element : this.updateElements)
+        {
+            result = result.newWith(element);
+        }
+        this.updatedSet = result;
+    }
+
+    @Benchmark
+    public ImmutableSet<Integer> newWith()
+    {
+        ImmutableSet<Integer> result = this.set;
+        for (Integer element : this.updateElements)
+        {
+            result = this.set.newWith(element);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public UnifiedSet<Integer> newWithCopy()
+    {
+        UnifiedSet<Integer> result = this.source;
+        for (Integer element : this.updateElements)
+        {
+            result = UnifiedSet.newSet(this.source).with(element);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ImmutableSet<Integer> newWithout()
+    {
+        ImmutableSet<Integer> result = this.set;
+        for (Integer element : this.updateElements)
+        {
+            result = this.set.newWithout(element);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ImmutableSet<Integer> union()
+    {
+        return this.set.union(this.updatedSet);
+    }
+
+    @Benchmark
+    public ImmutableSet<Integer> difference()
+    {
+        return this.updatedSet.difference(this.set);
+    }
+
+    @Benchmark
+    public int contains()
+    {
+        ImmutableSet<Integer> localSet = this.set;
+        int result = 0;
+        for (Integer element : this.elements)
+        {
+            if (localSet.contains(element))
+            {
+                result++;
+            }
+        }
+        return result;
+    }
+}
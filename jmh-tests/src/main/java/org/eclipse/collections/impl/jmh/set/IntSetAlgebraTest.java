@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh.set;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+import org.eclipse.collections.impl.set.mutable.primitive.RoaringIntSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares {@link IntHashSet} and {@link RoaringIntSet} on two sets of clustered ids, each holding about half of the
+ * ids in a range of twice the size, for intersection, union, intersection size, lookups and iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IntSetAlgebraTest extends AbstractJMHTestRunner
+{
+    private static final int LOOKUPS = 10_000;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private int[] lookups;
+    private IntHashSet leftHashSet;
+    private IntHashSet rightHashSet;
+    private RoaringIntSet leftRoaringSet;
+    private RoaringIntSet rightRoaringSet;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(123456789012345L);
+        this.leftHashSet = new IntHashSet();
+        this.rightHashSet = new IntHashSet();
+        for (int i = 0; i < this.size; i++)
+        {
+            this.leftHashSet.add(random.nextInt(this.size << 1));
+            this.rightHashSet.add(random.nextInt(this.size << 1));
+        }
+        this.leftRoaringSet = RoaringIntSet.newSet(this.leftHashSet);
+        this.rightRoaringSet = RoaringIntSet.newSet(this.rightHashSet);
+        this.lookups = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++)
+        {
+            this.lookups[i] = random.nextInt(this.size << 1);
+        }
+    }
+
+    @Benchmark
+    public MutableIntSet intersect_hashSet()
+    {
+        return this.leftHashSet.intersect(this.rightHashSet);
+    }
+
+    @Benchmark
+    public MutableIntSet intersect_roaringSet()
+    {
+        return this.leftRoaringSet.intersect(this.rightRoaringSet);
+    }
+
+    @Benchmark
+    public MutableIntSet union_hashSet()
+    {
+        return this.leftHashSet.union(this.rightHashSet);
+    }
+
+    @Benchmark
+    public MutableIntSet union_roaringSet()
+    {
+        return this.leftRoaringSet.union(this.rightRoaringSet);
+    }
+
+    @Benchmark
+    public long intersectionSize_hashSet()
+    {
+        return this.leftHashSet.count(this.rightHashSet::contains);
+    }
+
+    @Benchmark
+    public long intersectionSize_roaringSet()
+    {
+        return this.leftRoaringSet.andCardinality(this.rightRoaringSet);
+    }
+
+    @Benchmark
+    public int contains_hashSet()
+    {
+        return IntSetAlgebraTest.contains(this.leftHashSet, this.lookups);
+    }
+
+    @Benchmark
+    public int contains_roaringSet()
+    {
+        return IntSetAlgebraTest.contains(this.leftRoaringSet, this.lookups);
+    }
+
+    private static int contains(MutableIntSet set, int[] lookups)
+    {
+        int count = 0;
+        for (int each : lookups)
+        {
+            if (set.contains(each))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long sum_hashSet()
+    {
+        return this.leftHashSet.sum();
+    }
+
+    @Benchmark
+    public long sum_roaringSet()
+    {
+        return this.leftRoaringSet.sum();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh.set.sorted;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.sorted.MutableSortedMap;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.map.sorted.mutable.BTreeSortedMap;
+import org.eclipse.collections.impl.map.sorted.mutable.TreeSortedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares a BTreeSortedMap with the TreeSortedMap adapter over java.util.TreeMap for lookups, full and range
+ * iteration, random puts, and copying from another sorted map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SortedMapBTreeTest extends AbstractJMHTestRunner
+{
+    private static final int LOOKUPS = 1_000;
+    private static final int RANGE = 1_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Integer[] keys;
+    private Integer[] lookups;
+    private TreeSortedMap<Integer, Integer> treeMap;
+    private BTreeSortedMap<Integer, Integer> bTreeMap;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(123456789012345L);
+        this.treeMap = TreeSortedMap.newMap();
+        this.keys = new Integer[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            Integer key = random.nextInt();
+            this.keys[i] = key;
+            this.treeMap.put(key, key);
+        }
+        this.lookups = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++)
+        {
+            this.lookups[i] = random.nextBoolean() ? this.keys[random.nextInt(this.size)] : Integer.valueOf(random.nextInt());
+        }
+        this.bTreeMap = BTreeSortedMap.newMap(this.treeMap);
+    }
+
+    @Benchmark
+    public int get_treeMap()
+    {
+        return SortedMapBTreeTest.get(this.treeMap, this.lookups);
+    }
+
+    @Benchmark
+    public int get_bTreeMap()
+    {
+        return SortedMapBTreeTest.get(this.bTreeMap, this.lookups);
+    }
+
+    private static int get(MutableSortedMap<Integer, Integer> map, Integer[] lookups)
+    {
+        int found = 0;
+        for (Integer each : lookups)
+        {
+            if (map.get(each) != null)
+            {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public long iterate_treeMap()
+    {
+        return SortedMapBTreeTest.sum(this.treeMap);
+    }
+
+    @Benchmark
+    public long iterate_bTreeMap()
+    {
+        return SortedMapBTreeTest.sum(this.bTreeMap);
+    }
+
+    @Benchmark
+    public long rangeIterate_treeMap()
+    {
+        return SortedMapBTreeTest.sumRange(this.treeMap, this.lookups);
+    }
+
+    @Benchmark
+    public long rangeIterate_bTreeMap()
+    {
+        return SortedMapBTreeTest.sumRange(this.bTreeMap, this.lookups);
+    }
+
+    private static long sum(MutableSortedMap<Integer, Integer> map)
+    {
+        long sum = 0L;
+        for (Map.Entry<Integer, Integer> each : map.entrySet())
+        {
+            sum += each.getKey() + each.getValue();
+        }
+        return sum;
+    }
+
+    private static long sumRange(MutableSortedMap<Integer, Integer> map, Integer[] lookups)
+    {
+        long sum = 0L;
+        for (int i = 0; i < 16; i++)
+        {
+            int count = 0;
+            for (Integer each : map.tailMap(lookups[i]).values())
+            {
+                if (count++ == RANGE)
+                {
+                    break;
+                }
+                sum += each;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public MutableSortedMap<Integer, Integer> putRandom_treeMap()
+    {
+        MutableSortedMap<Integer, Integer> map = TreeSortedMap.newMap();
+        for (Integer each : this.keys)
+        {
+            map.put(each, each);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public MutableSortedMap<Integer, Integer> putRandom_bTreeMap()
+    {
+        MutableSortedMap<Integer, Integer> map = BTreeSortedMap.newMap();
+        for (Integer each : this.keys)
+        {
+            map.put(each, each);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public MutableSortedMap<Integer, Integer> copySorted_treeMap()
+    {
+        return TreeSortedMap.newMap(this.bTreeMap);
+    }
+
+    @Benchmark
+    public MutableSortedMap<Integer, Integer> copySorted_bTreeMap()
+    {
+        return BTreeSortedMap.newMap(this.treeMap);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.jmh.set.sorted;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.set.sorted.MutableSortedSet;
+import org.eclipse.collections.impl.jmh.runner.AbstractJMHTestRunner;
+import org.eclipse.collections.impl.set.sorted.mutable.BTreeSortedSet;
+import org.eclipse.collections.impl.set.sorted.mutable.TreeSortedSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares a BTreeSortedSet with the TreeSortedSet adapter over java.util.TreeSet for lookups, full and range
+ * iteration, random inserts, and copying from another sorted set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SortedSetBTreeTest extends AbstractJMHTestRunner
+{
+    private static final int LOOKUPS = 1_000;
+    private static final int RANGE = 1_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Integer[] elements;
+    private Integer[] lookups;
+    private TreeSortedSet<Integer> treeSet;
+    private BTreeSortedSet<Integer> bTreeSet;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(123456789012345L);
+        this.treeSet = TreeSortedSet.newSet();
+        this.elements = new Integer[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            Integer element = random.nextInt();
+            this.elements[i] = element;
+            this.treeSet.add(element);
+        }
+        this.lookups = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++)
+        {
+            this.lookups[i] = random.nextBoolean() ? this.elements[random.nextInt(this.size)] : Integer.valueOf(random.nextInt());
+        }
+        this.bTreeSet = BTreeSortedSet.newSet(this.treeSet);
+    }
+
+    @Benchmark
+    public int contains_treeSet()
+    {
+        return SortedSetBTreeTest.contains(this.treeSet, this.lookups);
+    }
+
+    @Benchmark
+    public int contains_bTreeSet()
+    {
+        return SortedSetBTreeTest.contains(this.bTreeSet, this.lookups);
+    }
+
+    private static int contains(MutableSortedSet<Integer> set, Integer[] lookups)
+    {
+        int found = 0;
+        for (Integer each : lookups)
+        {
+            if (set.contains(each))
+            {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public long iterate_treeSet()
+    {
+        return SortedSetBTreeTest.sum(this.treeSet);
+    }
+
+    @Benchmark
+    public long iterate_bTreeSet()
+    {
+        return SortedSetBTreeTest.sum(this.bTreeSet);
+    }
+
+    @Benchmark
+    public long rangeIterate_treeSet()
+    {
+        return SortedSetBTreeTest.sumRange(this.treeSet, this.lookups);
+    }
+
+    @Benchmark
+    public long rangeIterate_bTreeSet()
+    {
+        return SortedSetBTreeTest.sumRange(this.bTreeSet, this.lookups);
+    }
+
+    private static long sum(Iterable<Integer> iterable)
+    {
+        long sum = 0L;
+        for (Integer each : iterable)
+        {
+            sum += each;
+        }
+        return sum;
+    }
+
+    private static long sumRange(MutableSortedSet<Integer> set, Integer[] lookups)
+    {
+        long sum = 0L;
+        for (int i = 0; i < 16; i++)
+        {
+            int count = 0;
+            for (Integer each : set.tailSet(lookups[i]))
+            {
+                if (count++ == RANGE)
+                {
+                    break;
+                }
+                sum += each;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public MutableSortedSet<Integer> addRandom_treeSet()
+    {
+        MutableSortedSet<Integer> set = TreeSortedSet.newSet();
+        for (Integer each : this.elements)
+        {
+            set.add(each);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public MutableSortedSet<Integer> addRandom_bTreeSet()
+    {
+        MutableSortedSet<Integer> set = BTreeSortedSet.newSet();
+        for (Integer each : this.elements)
+        {
+            set.add(each);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public MutableSortedSet<Integer> copySorted_treeSet()
+    {
+        return TreeSortedSet.newSet(this.bTreeSet);
+    }
+
+    @Benchmark
+    public MutableSortedSet<Integer> copySorted_bTreeSet()
+    {
+        return BTreeSortedSet.newSet(this.treeSet);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bimap.mutable;
+
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Test;
+
+public class CompactHashBiMapSerializationTest
+{
+    @Test
+    public void serializedForm()
+    {
+        Verify.assertSerializedForm(
+                1L,
+                "rO0ABXNyADtvcmcuZWNsaXBzZS5jb2xsZWN0aW9ucy5pbXBsLmJpbWFwLm11dGFibGUuQ29tcGFj\n"
+                        + "dEhhc2hCaU1hcAAAAAAAAAABDAAAeHB3BAAAAAFzcgARamF2YS5sYW5nLkludGVnZXIS4qCk94GH\n"
+                        + "OAIAAUkABXZhbHVleHIAEGphdmEubGFuZy5OdW1iZXKGrJUdC5TgiwIAAHhwAAAAAXNyABNqYXZh\n"
+                        + "LmxhbmcuQ2hhcmFjdGVyNItH2WsaJngCAAFDAAV2YWx1ZXhwAGF4",
+                CompactHashBiMap.newWithKeysValues(1, 'a'));
+    }
+
+    @Test
+    public void inverse()
+    {
+        Verify.assertSerializedForm(
+                1L,
+                "rO0ABXNyADtvcmcuZWNsaXBzZS5jb2xsZWN0aW9ucy5pbXBsLmJpbWFwLm11dGFibGUuQ29tcGFj\n"
+                        + "dEhhc2hCaU1hcAAAAAAAAAABDAAAeHB3BAAAAAFzcgATamF2YS5sYW5nLkNoYXJhY3RlcjSLR9lr\n"
+                        + "GiZ4AgABQwAFdmFsdWV4cABhc3IAEWphdmEubGFuZy5JbnRlZ2VyEuKgpPeBhzgCAAFJAAV2YWx1\n"
+                        + "ZXhyABBqYXZhLmxhbmcuTnVtYmVyhqyVHQuU4IsCAAB4cAAAAAF4",
+                CompactHashBiMap.newWithKeysValues(1, 'a').inverse());
+    }
+}
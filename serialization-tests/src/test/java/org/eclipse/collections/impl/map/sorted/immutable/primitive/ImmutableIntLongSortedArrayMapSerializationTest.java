@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.immutable.primitive;
+
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Test;
+
+public class ImmutableIntLongSortedArrayMapSerializationTest
+{
+    @Test
+    public void serializedForm()
+    {
+        Verify.assertSerializedForm(
+                1L,
+                "rO0ABXNyAFpvcmcuZWNsaXBzZS5jb2xsZWN0aW9ucy5pbXBsLm1hcC5zb3J0ZWQuaW1tdXRhYmxl\n"
+                        + "LnByaW1pdGl2ZS5JbW11dGFibGVJbnRMb25nU29ydGVkQXJyYXlNYXAAAAAAAAAAAQIAAlsABGtl\n"
+                        + "eXN0AAJbSVsABnZhbHVlc3QAAltKeHB1cgACW0lNumAmduqypQIAAHhwAAAAAHVyAAJbSnggBLUS\n"
+                        + "sXWTAgAAeHAAAAAA",
+                ImmutableIntLongSortedArrayMap.empty());
+    }
+}
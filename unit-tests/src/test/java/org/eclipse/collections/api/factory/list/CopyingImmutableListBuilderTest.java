@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.api.factory.list;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CopyingImmutableListBuilderTest
+{
+    @Test
+    public void toImmutableCopies()
+    {
+        ImmutableListBuilder<Integer> builder = new CopyingImmutableListBuilder<>(Lists.mutable.empty());
+        Verify.assertEmpty(builder.toImmutable());
+        ImmutableList<Integer> first = builder.withAll(Interval.oneTo(19)).with(20).toImmutable();
+        ImmutableList<Integer> second = builder.with(21).toImmutable();
+        Assert.assertEquals(Interval.oneTo(20), first);
+        Assert.assertEquals(Interval.oneTo(21), second);
+        Assert.assertEquals(21, builder.size());
+    }
+}
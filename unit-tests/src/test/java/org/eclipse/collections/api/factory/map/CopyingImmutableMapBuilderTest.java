@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.api.factory.map;
+
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CopyingImmutableMapBuilderTest
+{
+    @Test
+    public void toImmutableCopies()
+    {
+        ImmutableMapBuilder<Integer, String> builder = new CopyingImmutableMapBuilder<>(Maps.mutable.empty());
+        Verify.assertEmpty(builder.toImmutable());
+        ImmutableMap<Integer, String> first = builder.withKeyValue(1, "1").withAllKeyValues(Lists.mutable.with(Tuples.pair(2, "2"))).toImmutable();
+        ImmutableMap<Integer, String> second = builder.withMap(Maps.mutable.with(1, "one", 3, "3")).toImmutable();
+        Assert.assertEquals(Maps.mutable.with(1, "1", 2, "2"), first);
+        Assert.assertEquals(Maps.mutable.with(1, "one", 2, "2", 3, "3"), second);
+        Assert.assertEquals(3, builder.size());
+    }
+}
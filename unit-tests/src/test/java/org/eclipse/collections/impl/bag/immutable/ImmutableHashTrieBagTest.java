@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.immutable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.eclipse.collections.api.bag.ImmutableBag;
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.impl.bag.mutable.HashBag;
+import org.eclipse.collections.impl.factory.Bags;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.utility.internal.ImmutableThresholds;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutableHashTrieBag}.
+ */
+public class ImmutableHashTrieBagTest extends ImmutableBagTestCase
+{
+    @Override
+    protected ImmutableBag<String> newBag()
+    {
+        return ImmutableHashTrieBag.newBagWith("1", "2", "2", "3", "3", "3", "4", "4", "4", "4");
+    }
+
+    @Override
+    protected int numKeys()
+    {
+        return 4;
+    }
+
+    @Override
+    @Test
+    public void testSize()
+    {
+        Verify.assertIterableSize(10, this.newBag());
+    }
+
+    @Override
+    @Test
+    public void toStringOfItemToCount()
+    {
+        Assert.assertEquals("{1=3}", ImmutableHashTrieBag.newBagWith("1", "1", "1").toStringOfItemToCount());
+        String actual = ImmutableHashTrieBag.newBagWith("1", "2", "2").toStringOfItemToCount();
+        Assert.assertTrue("{1=1, 2=2}".equals(actual) || "{2=2, 1=1}".equals(actual));
+    }
+
+    @Override
+    @Test
+    public void groupByUniqueKey()
+    {
+        // Only works on bags without duplicates
+        ImmutableBag<Integer> immutableBag = ImmutableHashTrieBag.newBagWith(1, 2, 3);
+        Assert.assertEquals(Maps.immutable.of(1, 1, 2, 2, 3, 3), immutableBag.groupByUniqueKey(id -> id));
+    }
+
+    @Override
+    @Test
+    public void groupByUniqueKey_target()
+    {
+        // Only works on bags without duplicates
+        ImmutableBag<Integer> immutableBag = ImmutableHashTrieBag.newBagWith(1, 2, 3);
+        Assert.assertEquals(Maps.immutable.of(0, 0, 1, 1, 2, 2, 3, 3), immutableBag.groupByUniqueKey(id -> id, UnifiedMap.newWithKeysValues(0, 0)));
+    }
+
+    @Test
+    public void factoryThreshold()
+    {
+        MutableBag<Integer> bag = HashBag.newBag(Interval.oneTo(ImmutableThresholds.PERSISTENT_SIZE - 1));
+        bag.addOccurrences(1, 5_000);
+        Verify.assertInstanceOf(ImmutableHashBag.class, Bags.immutable.withAll(bag));
+
+        ImmutableBag<Integer> large = Bags.immutable.withAll(bag.with(0));
+        Verify.assertInstanceOf(ImmutableHashTrieBag.class, large);
+        Assert.assertEquals(bag, large);
+        Assert.assertSame(large, Bags.immutable.withAll(large));
+        Verify.assertInstanceOf(ImmutableHashTrieBag.class, Bags.immutable.with(Interval.oneTo(5_000).toArray()));
+    }
+
+    @Test
+    public void structuralSharing()
+    {
+        ImmutableBag<String> original = this.newBag();
+        ImmutableBag<String> added = original.newWith("2");
+        ImmutableBag<String> removed = added.newWithout("1");
+
+        Assert.assertEquals(HashBag.newBagWith("1", "2", "2", "3", "3", "3", "4", "4", "4", "4"), original);
+        Assert.assertEquals(3, added.occurrencesOf("2"));
+        Assert.assertEquals(0, removed.occurrencesOf("1"));
+        Assert.assertEquals(3, removed.sizeDistinct());
+
+        Assert.assertSame(original, original.newWithout("5"));
+        Assert.assertSame(original, original.newWithoutAll(ImmutableHashTrieBag.newBagWith("5", "6")));
+        Verify.assertEmpty(original.newWithoutAll(ImmutableHashTrieBag.newBagWith("1", "2", "3", "4")));
+        Assert.assertEquals(
+                HashBag.newBag(original).withAll(original),
+                original.newWithAll(original));
+    }
+
+    @Test
+    public void randomOperations()
+    {
+        Random random = new Random(102030405060708090L);
+        MutableBag<Integer> expected = HashBag.newBag();
+        ImmutableBag<Integer> bag = ImmutableHashTrieBag.newBagWith();
+        for (int i = 0; i < 20_000; i++)
+        {
+            int element = random.nextInt(2_000) * 0x10001;
+            if (random.nextInt(3) == 0)
+            {
+                expected.remove(element);
+                bag = bag.newWithout(element);
+            }
+            else
+            {
+                expected.add(element);
+                bag = bag.newWith(element);
+            }
+        }
+        Assert.assertEquals(expected, bag);
+        Assert.assertEquals(bag, expected);
+        Assert.assertEquals(expected.hashCode(), bag.hashCode());
+        Assert.assertEquals(expected.sizeDistinct(), bag.sizeDistinct());
+        Assert.assertEquals(expected, bag.toBag());
+        Assert.assertEquals(expected.toSet(), bag.distinctView().toSet());
+    }
+
+    @Test
+    public void randomBulkOperations()
+    {
+        Random random = new Random(42L);
+        for (int round = 0; round < 50; round++)
+        {
+            MutableBag<CollidingElement> left = HashBag.newBag();
+            MutableBag<CollidingElement> right = HashBag.newBag();
+            int range = 10 + random.nextInt(3_000);
+            int collisions = 1 + random.nextInt(range);
+            for (int i = random.nextInt(3_000); i > 0; i--)
+            {
+                int value = random.nextInt(range);
+                left.add(new CollidingElement(value, value % collisions));
+            }
+            for (int i = random.nextInt(3_000); i > 0; i--)
+            {
+                int value = random.nextInt(range);
+                right.add(new CollidingElement(value, value % collisions));
+            }
+            ImmutableBag<CollidingElement> leftTrie = new ImmutableHashTrieBag<>(left);
+            ImmutableBag<CollidingElement> rightTrie = new ImmutableHashTrieBag<>(right);
+
+            ImmutableBag<CollidingElement> sum = leftTrie.newWithAll(rightTrie);
+            ImmutableBag<CollidingElement> difference = leftTrie.newWithoutAll(rightTrie);
+            Assert.assertEquals(HashBag.newBag(left).withAll(right), sum);
+            Assert.assertEquals(left.reject(right::contains), difference);
+            Assert.assertEquals(sum, leftTrie.newWithAll(right));
+            Assert.assertEquals(sum, leftTrie.newWithAll(right.toList()));
+            Assert.assertEquals(difference, leftTrie.newWithoutAll(right.toSet()));
+
+            // Removing every element only empties the results if their tries are canonical
+            Verify.assertEmpty(sum.newWithoutAll(left.toSet()).newWithoutAll(right.toSet()));
+            Verify.assertEmpty(difference.newWithoutAll(difference.toList()));
+        }
+    }
+
+    @Test
+    public void iteratorRepeatsOccurrences()
+    {
+        MutableBag<Integer> expected = HashBag.newBag();
+        for (int i = 1; i <= 2_000; i++)
+        {
+            expected.addOccurrences(i, i % 5 + 1);
+        }
+        ImmutableBag<Integer> bag = new ImmutableHashTrieBag<>(expected);
+        MutableBag<Integer> iterated = HashBag.newBag();
+        Iterator<Integer> iterator = bag.iterator();
+        while (iterator.hasNext())
+        {
+            iterated.add(iterator.next());
+        }
+        Assert.assertEquals(expected, iterated);
+        Assert.assertThrows(NoSuchElementException.class, iterator::next);
+        Assert.assertThrows(UnsupportedOperationException.class, iterator::remove);
+    }
+
+    @Test
+    public void serialization()
+    {
+        ImmutableBag<Integer> bag = new ImmutableHashTrieBag<>(Interval.oneTo(5_000)).newWith(1);
+        ImmutableBag<Integer> deserialized = SerializeTestHelper.serializeDeserialize(bag);
+        Verify.assertInstanceOf(ImmutableHashTrieBag.class, deserialized);
+        Verify.assertEqualsAndHashCode(bag, deserialized);
+    }
+
+    private static final class CollidingElement
+    {
+        private final int value;
+        private final int hashCode;
+
+        private CollidingElement(int value, int hashCode)
+        {
+            this.value = value;
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof CollidingElement && ((CollidingElement) other).value == this.value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hashCode;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "CollidingElement(" + this.value + ')';
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.mutable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.bag.ImmutableBag;
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.tuple.primitive.ObjectIntPair;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ConcurrentHashBag}.
+ */
+public class ConcurrentHashBagTest extends MutableBagTestCase
+{
+    @Override
+    protected <T> MutableBag<T> newWith(T... littleElements)
+    {
+        return ConcurrentHashBag.newBagWith(littleElements);
+    }
+
+    @Override
+    protected <T> MutableBag<T> newWithOccurrences(ObjectIntPair<T>... elementsWithOccurrences)
+    {
+        MutableBag<T> bag = this.newWith();
+        for (int i = 0; i < elementsWithOccurrences.length; i++)
+        {
+            ObjectIntPair<T> itemToAdd = elementsWithOccurrences[i];
+            bag.addOccurrences(itemToAdd.getOne(), itemToAdd.getTwo());
+        }
+        return bag;
+    }
+
+    @Test
+    public void newBagFromIterable()
+    {
+        assertBagsEqual(
+                HashBag.newBagWith(1, 2, 2, 3, 3, 3),
+                ConcurrentHashBag.newBag(FastList.newListWith(1, 2, 2, 3, 3, 3)));
+    }
+
+    @Test
+    public void serializesAsConcurrentHashBag()
+    {
+        ConcurrentHashBag<String> bag = ConcurrentHashBag.newBagWith("a", "b", "b", null);
+        ConcurrentHashBag<String> copy = SerializeTestHelper.serializeDeserialize(bag);
+        Verify.assertEqualsAndHashCode(bag, copy);
+        Assert.assertEquals(4, copy.size());
+    }
+
+    @Test
+    public void concurrentAddOccurrences()
+    {
+        ConcurrentHashBag<Integer> bag = ConcurrentHashBag.newBag();
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> bag.addOccurrences(each % 10, 2), 1);
+        Assert.assertEquals(20000, bag.size());
+        Assert.assertEquals(10, bag.sizeDistinct());
+        Interval.zeroTo(9).each(each -> Assert.assertEquals(2000, bag.occurrencesOf(each)));
+    }
+
+    @Test
+    public void concurrentAddAndRemove()
+    {
+        ConcurrentHashBag<Integer> bag = ConcurrentHashBag.newBag();
+        ParallelIterate.forEach(Interval.oneTo(20000), each ->
+        {
+            bag.add(each % 4);
+            bag.add(each % 4);
+            Assert.assertTrue(bag.remove(each % 4));
+        }, 1);
+        Assert.assertEquals(20000, bag.size());
+        Assert.assertEquals(4, bag.sizeDistinct());
+        Interval.zeroTo(3).each(each -> Assert.assertEquals(5000, bag.occurrencesOf(each)));
+
+        ParallelIterate.forEach(Interval.oneTo(20000), each -> Assert.assertTrue(bag.remove(each % 4)), 1);
+        Verify.assertEmpty(bag);
+        Assert.assertEquals(0, bag.sizeDistinct());
+    }
+
+    @Test
+    public void concurrentRemoveOccurrencesNeverGoesNegative()
+    {
+        ConcurrentHashBag<String> bag = ConcurrentHashBag.newBag();
+        bag.addOccurrences("a", 1000);
+        ParallelIterate.forEach(Interval.oneTo(2000), each -> bag.removeOccurrences("a", 1), 1);
+        Assert.assertEquals(0, bag.occurrencesOf("a"));
+        Verify.assertEmpty(bag);
+        bag.add("a");
+        Assert.assertEquals(1, bag.occurrencesOf("a"));
+    }
+
+    @Test
+    public void snapshot()
+    {
+        ConcurrentHashBag<String> bag = ConcurrentHashBag.newBagWith("a", "b", "b", null);
+        ImmutableBag<String> snapshot = bag.snapshot();
+        Assert.assertEquals(HashBag.newBagWith("a", "b", "b", null), snapshot);
+        bag.add("c");
+        bag.removeOccurrences("b", 2);
+        Assert.assertEquals(HashBag.newBagWith("a", "b", "b", null), snapshot);
+        Assert.assertEquals(HashBag.newBagWith("a", "c", null), bag.toImmutable());
+    }
+
+    @Test
+    public void snapshotWithConcurrentWriters() throws Exception
+    {
+        int writers = 4;
+        int rounds = 20000;
+        ConcurrentHashBag<String> bag = ConcurrentHashBag.newBag();
+        bag.addOccurrences("removed", writers * rounds * 3);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        try
+        {
+            MutableList<Future<?>> futures = FastList.newList();
+            for (int i = 0; i < writers; i++)
+            {
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    for (int j = 0; j < rounds; j++)
+                    {
+                        bag.addOccurrences("added", 3);
+                        bag.removeOccurrences("removed", 3);
+                        bag.add("churn");
+                        bag.remove("churn");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            int lastAdded = 0;
+            int lastRemoved = writers * rounds * 3;
+            while (!futures.allSatisfy(Future::isDone))
+            {
+                ImmutableBag<String> snapshot = bag.snapshot();
+                int added = snapshot.occurrencesOf("added");
+                int removed = snapshot.occurrencesOf("removed");
+                Assert.assertEquals(0, added % 3);
+                Assert.assertEquals(0, removed % 3);
+                Assert.assertTrue(added >= lastAdded);
+                Assert.assertTrue(removed <= lastRemoved);
+                Assert.assertTrue(snapshot.occurrencesOf("churn") <= writers);
+                Assert.assertEquals(added + removed + snapshot.occurrencesOf("churn"), snapshot.size());
+                lastAdded = added;
+                lastRemoved = removed;
+            }
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+            Assert.assertTrue(executor.awaitTermination(10L, TimeUnit.SECONDS));
+        }
+        ImmutableBag<String> snapshot = bag.snapshot();
+        Assert.assertEquals(writers * rounds * 3, snapshot.occurrencesOf("added"));
+        Assert.assertEquals(1, snapshot.sizeDistinct());
+        Assert.assertEquals(snapshot.size(), bag.size());
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bag.sorted.mutable;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.sorted.MutableSortedBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.tuple.primitive.ObjectIntPair;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.factory.Bags;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Sets;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link BTreeBag}.
+ */
+public class BTreeBagTest extends AbstractMutableSortedBagTestCase
+{
+    @Override
+    protected <T> MutableSortedBag<T> newWith(T... littleElements)
+    {
+        return BTreeBag.newBagWith(littleElements);
+    }
+
+    @Override
+    protected <T> MutableSortedBag<T> newWith(Comparator<? super T> comparator, T... elements)
+    {
+        return BTreeBag.newBagWith(comparator, elements);
+    }
+
+    @Override
+    @Test
+    public void asSynchronized()
+    {
+        Verify.assertInstanceOf(SynchronizedSortedBag.class, this.newWith().asSynchronized());
+    }
+
+    @Override
+    @Test
+    public void serialization()
+    {
+        MutableSortedBag<Integer> bag = this.newWith(1, 2, 3, 4, 5);
+        Verify.assertPostSerializedEqualsAndHashCode(bag);
+    }
+
+    @Override
+    @Test(expected = NullPointerException.class)
+    public void min_null_safe()
+    {
+        super.min_null_safe();
+    }
+
+    @Override
+    @Test(expected = NullPointerException.class)
+    public void max_null_safe()
+    {
+        super.max_null_safe();
+    }
+
+    @Override
+    @Test
+    public void collectWithOccurrences()
+    {
+        Bag<Integer> bag1 = this.newWith(3, 3, 3, 2, 2, 1);
+        Bag<ObjectIntPair<Integer>> actual1 =
+                bag1.collectWithOccurrences(PrimitiveTuples::pair, Bags.mutable.empty());
+        Assert.assertEquals(
+                Bags.immutable.with(
+                        PrimitiveTuples.pair(Integer.valueOf(3), 3),
+                        PrimitiveTuples.pair(Integer.valueOf(2), 2),
+                        PrimitiveTuples.pair(Integer.valueOf(1), 1)),
+                actual1);
+        Assert.assertEquals(
+                Lists.mutable.with(
+                        PrimitiveTuples.pair(Integer.valueOf(1), 1),
+                        PrimitiveTuples.pair(Integer.valueOf(2), 2),
+                        PrimitiveTuples.pair(Integer.valueOf(3), 3)),
+                bag1.collectWithOccurrences(PrimitiveTuples::pair));
+
+        Set<ObjectIntPair<Integer>> actual2 =
+                bag1.collectWithOccurrences(PrimitiveTuples::pair, Sets.mutable.empty());
+        Assert.assertEquals(
+                Sets.immutable.with(
+                        PrimitiveTuples.pair(Integer.valueOf(3), 3),
+                        PrimitiveTuples.pair(Integer.valueOf(2), 2),
+                        PrimitiveTuples.pair(Integer.valueOf(1), 1)),
+                actual2);
+
+        Bag<Integer> bag2 = this.newWith(Comparator.reverseOrder(), 3, 3, 3, 2, 2, 1);
+        Assert.assertEquals(
+                Lists.mutable.with(
+                        PrimitiveTuples.pair(Integer.valueOf(3), 3),
+                        PrimitiveTuples.pair(Integer.valueOf(2), 2),
+                        PrimitiveTuples.pair(Integer.valueOf(1), 1)),
+                bag2.collectWithOccurrences(PrimitiveTuples::pair));
+
+        Bag<Integer> bag3 = this.newWith(3, 3, 3, 3, 3, 2, 2, 2, 1, 1, 1, 1, 1, 4, 5, 7);
+        Assert.assertEquals(
+                Lists.mutable.with(6, 5, 8, 5, 6, 8),
+                bag3.collectWithOccurrences((each, index) -> each + index));
+    }
+
+    @Test
+    public void sortedBagConstructor()
+    {
+        BTreeBag<Integer> source = BTreeBag.newBag(Collections.reverseOrder());
+        source.addOccurrences(1, 4);
+        source.addOccurrences(3, 2);
+        BTreeBag<Integer> copy = BTreeBag.newBag(source);
+        Verify.assertSortedBagsEqual(source, copy);
+        Assert.assertEquals(Integer.valueOf(3), copy.getFirst());
+        Verify.assertSortedBagsEqual(TreeBag.newBag(source), BTreeBag.newBag(TreeBag.newBag(source)));
+    }
+
+    @Test
+    public void rankAndGet()
+    {
+        BTreeBag<Integer> bag = BTreeBag.newBagWith(10, 20, 20, 20, 30, 40, 40);
+        Assert.assertEquals(0, bag.rank(5));
+        Assert.assertEquals(0, bag.rank(10));
+        Assert.assertEquals(1, bag.rank(20));
+        Assert.assertEquals(4, bag.rank(25));
+        Assert.assertEquals(5, bag.rank(40));
+        Assert.assertEquals(7, bag.rank(50));
+        Assert.assertEquals(4, bag.indexOf(30));
+        Assert.assertEquals(-1, bag.indexOf(25));
+
+        MutableList<Integer> elements = FastList.newList();
+        for (int i = 0; i < bag.size(); i++)
+        {
+            elements.add(bag.get(i));
+        }
+        Assert.assertEquals(FastList.newListWith(10, 20, 20, 20, 30, 40, 40), elements);
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> bag.get(-1));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> bag.get(7));
+
+        BTreeBag<Integer> reversed = BTreeBag.newBagWith(Comparators.reverseNaturalOrder(), 1, 2, 2, 3);
+        Assert.assertEquals(1, reversed.rank(2));
+        Assert.assertEquals(Integer.valueOf(1), reversed.get(3));
+    }
+
+    @Test
+    public void rankAndGetFollowSubtreeTotals()
+    {
+        BTreeBag<Integer> bag = BTreeBag.newBag();
+        Random random = new Random(7L);
+        for (int i = 0; i < 40_000; i++)
+        {
+            bag.addOccurrences(random.nextInt(10_000), 1 + random.nextInt(3));
+        }
+        for (int i = 0; i < 20_000; i++)
+        {
+            bag.removeOccurrences(random.nextInt(10_000), 1 + random.nextInt(3));
+        }
+        Assert.assertTrue(bag.height() >= 2);
+        Assert.assertEquals(bag.size(), bag.checkTotals());
+
+        int[] position = new int[1];
+        bag.forEachWithOccurrences((each, occurrences) -> {
+            Assert.assertEquals(position[0], bag.rank(each));
+            Assert.assertEquals(position[0], bag.rank(each - 1) + bag.occurrencesOf(each - 1));
+            Assert.assertEquals(each, bag.get(position[0]));
+            Assert.assertEquals(each, bag.get(position[0] + occurrences - 1));
+            position[0] += occurrences;
+        });
+        Assert.assertEquals(bag.size(), position[0]);
+        Assert.assertEquals(bag.size(), bag.rank(10_000));
+        Assert.assertEquals(bag.getLast(), bag.percentile(100.0));
+    }
+
+    @Test
+    public void percentile()
+    {
+        BTreeBag<Integer> bag = BTreeBag.newBag(Interval.oneTo(100));
+        Assert.assertEquals(Integer.valueOf(1), bag.percentile(0.0));
+        Assert.assertEquals(Integer.valueOf(1), bag.percentile(1.0));
+        Assert.assertEquals(Integer.valueOf(50), bag.percentile(50.0));
+        Assert.assertEquals(Integer.valueOf(91), bag.percentile(90.5));
+        Assert.assertEquals(Integer.valueOf(99), bag.percentile(99.0));
+        Assert.assertEquals(Integer.valueOf(100), bag.percentile(100.0));
+
+        BTreeBag<Integer> latencies = BTreeBag.newBag();
+        latencies.addOccurrences(1, 900);
+        latencies.addOccurrences(5, 90);
+        latencies.addOccurrences(250, 10);
+        Assert.assertEquals(Integer.valueOf(1), latencies.percentile(90.0));
+        Assert.assertEquals(Integer.valueOf(5), latencies.percentile(99.0));
+        Assert.assertEquals(Integer.valueOf(250), latencies.percentile(99.9));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> bag.percentile(-1.0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> bag.percentile(100.1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> bag.percentile(Double.NaN));
+        Assert.assertThrows(NoSuchElementException.class, () -> BTreeBag.newBag().percentile(50.0));
+    }
+
+    @Test
+    public void forEachWithIndexInRangeAcrossLeaves()
+    {
+        BTreeBag<Integer> bag = BTreeBag.newBag();
+        for (int i = 0; i < 1_000; i++)
+        {
+            bag.addOccurrences(i, 3);
+        }
+        MutableList<Integer> elements = FastList.newList();
+        MutableList<Integer> indexes = FastList.newList();
+        bag.forEachWithIndex(1_500, 1_505, (each, index) -> {
+            elements.add(each);
+            indexes.add(index);
+        });
+        Assert.assertEquals(FastList.newListWith(500, 500, 500, 501, 501, 501), elements);
+        Assert.assertEquals(Interval.fromTo(1_500, 1_505), indexes);
+    }
+
+    @Test
+    public void iteratorRemoveAcrossLeaves()
+    {
+        BTreeBag<Integer> bag = BTreeBag.newBag();
+        for (int i = 0; i < 500; i++)
+        {
+            bag.addOccurrences(i, 2);
+        }
+        Iterator<Integer> iterator = bag.iterator();
+        int count = 0;
+        while (iterator.hasNext())
+        {
+            Integer next = iterator.next();
+            Assert.assertEquals(count / 2, next.intValue());
+            if (next % 2 != 0 || count % 2 == 0)
+            {
+                iterator.remove();
+            }
+            count++;
+        }
+        Assert.assertEquals(1_000, count);
+        Verify.assertSize(250, bag);
+        Assert.assertEquals(250, bag.sizeDistinct());
+        Assert.assertTrue(bag.allSatisfyWithOccurrences((each, occurrences) -> each % 2 == 0 && occurrences == 1));
+
+        Iterator<Integer> failFast = bag.iterator();
+        failFast.next();
+        bag.add(1);
+        Assert.assertThrows(ConcurrentModificationException.class, failFast::next);
+    }
+
+    @Test
+    public void randomOperationsMatchTreeBag()
+    {
+        Random random = new Random(42L);
+        BTreeBag<Integer> bag = BTreeBag.newBag();
+        TreeBag<Integer> expected = TreeBag.newBag();
+        for (int i = 0; i < 50_000; i++)
+        {
+            Integer item = random.nextInt(5_000);
+            int occurrences = random.nextInt(4);
+            switch (random.nextInt(4))
+            {
+                case 0:
+                    Assert.assertEquals(expected.removeOccurrences(item, occurrences), bag.removeOccurrences(item, occurrences));
+                    break;
+                case 1:
+                    Assert.assertEquals(expected.setOccurrences(item, occurrences), bag.setOccurrences(item, occurrences));
+                    break;
+                default:
+                    Assert.assertEquals(expected.addOccurrences(item, occurrences), bag.addOccurrences(item, occurrences));
+                    break;
+            }
+        }
+        Verify.assertSortedBagsEqual(expected, bag);
+        Assert.assertEquals(expected.size(), bag.checkTotals());
+        Assert.assertEquals(expected.sizeDistinct(), bag.sizeDistinct());
+        Assert.assertEquals(expected.toList(), bag.toList());
+        MutableList<Integer> list = expected.toList();
+        for (int i = 0; i < 1_000; i++)
+        {
+            Integer item = random.nextInt(5_000);
+            Assert.assertEquals(expected.occurrencesOf(item), bag.occurrencesOf(item));
+            Assert.assertEquals(expected.indexOf(item), bag.indexOf(item));
+            int index = random.nextInt(list.size());
+            Assert.assertEquals(list.get(index), bag.get(index));
+        }
+
+        bag.removeIf(each -> each % 3 == 0);
+        expected.removeIf(each -> each % 3 == 0);
+        Verify.assertSortedBagsEqual(expected, bag);
+        Assert.assertEquals(expected.size(), bag.checkTotals());
+        Verify.assertSortedBagsEqual(expected, SerializeTestHelper.serializeDeserialize(bag));
+        Verify.assertSortedBagsEqual(expected.selectByOccurrences(each -> each > 2), bag.selectByOccurrences(each -> each > 2));
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bimap.mutable;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import org.eclipse.collections.api.bimap.MutableBiMap;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.memory.MemoryFootprints;
+import org.eclipse.collections.impl.memory.ObjectLayout;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.test.domain.Key;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompactHashBiMapTest extends AbstractMutableBiMapTestCase
+{
+    @Override
+    public CompactHashBiMap<Integer, Character> classUnderTest()
+    {
+        CompactHashBiMap<Integer, Character> map = CompactHashBiMap.newMap();
+        map.put(1, null);
+        map.put(null, 'b');
+        map.put(3, 'c');
+        return map;
+    }
+
+    @Override
+    public CompactHashBiMap<Integer, Character> getEmptyMap()
+    {
+        return CompactHashBiMap.newMap();
+    }
+
+    @Override
+    protected <K, V> CompactHashBiMap<K, V> newMap()
+    {
+        return CompactHashBiMap.newMap();
+    }
+
+    @Override
+    protected <K, V> CompactHashBiMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return CompactHashBiMap.newWithKeysValues(key, value);
+    }
+
+    @Override
+    protected <K, V> CompactHashBiMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return CompactHashBiMap.newWithKeysValues(key1, value1, key2, value2);
+    }
+
+    @Override
+    protected <K, V> CompactHashBiMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return CompactHashBiMap.newWithKeysValues(key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    protected <K, V> CompactHashBiMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return CompactHashBiMap.newWithKeysValues(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    @Test
+    public void withKeysValues()
+    {
+        CompactHashBiMap<Integer, Character> map = this.getEmptyMap();
+        CompactHashBiMap<Integer, Character> map1 = map.withKeysValues(1, 'a');
+        AbstractMutableBiMapTestCase.assertBiMapsEqual(CompactHashBiMap.newWithKeysValues(1, 'a'), map1);
+        Assert.assertSame(map, map1);
+        CompactHashBiMap<Integer, Character> map2 = map1.withKeysValues(2, 'b');
+        CompactHashBiMap<Integer, Character> map22 = map.withKeysValues(1, 'a', 2, 'b');
+        AbstractMutableBiMapTestCase.assertBiMapsEqual(CompactHashBiMap.newWithKeysValues(1, 'a', 2, 'b'), map2);
+        AbstractMutableBiMapTestCase.assertBiMapsEqual(CompactHashBiMap.newWithKeysValues(1, 'a', 2, 'b'), map22);
+        Assert.assertSame(map, map22);
+        Assert.assertSame(map1, map2);
+        CompactHashBiMap<Integer, Character> map3 = map2.withKeysValues(3, 'c');
+        CompactHashBiMap<Integer, Character> map33 = map.withKeysValues(1, 'a', 2, 'b', 3, 'c');
+        AbstractMutableBiMapTestCase.assertBiMapsEqual(CompactHashBiMap.newWithKeysValues(1, 'a', 2, 'b', 3, 'c'), map3);
+        AbstractMutableBiMapTestCase.assertBiMapsEqual(CompactHashBiMap.newWithKeysValues(1, 'a', 2, 'b', 3, 'c'), map33);
+        Assert.assertSame(map, map33);
+        Assert.assertSame(map2, map3);
+        CompactHashBiMap<Integer, Character> map4 = map3.withKeysValues(4, 'd');
+        CompactHashBiMap<Integer, Character> map44 = map.withKeysValues(1, 'a', 2, 'b', 3, 'c', 4, 'd');
+        AbstractMutableBiMapTestCase.assertBiMapsEqual(CompactHashBiMap.newWithKeysValues(1, 'a', 2, 'b', 3, 'c', 4, 'd'), map4);
+        AbstractMutableBiMapTestCase.assertBiMapsEqual(CompactHashBiMap.newWithKeysValues(1, 'a', 2, 'b', 3, 'c', 4, 'd'), map44);
+        Assert.assertSame(map, map44);
+        Assert.assertSame(map3, map4);
+    }
+
+    @Test
+    public void inverseKeyPreservation()
+    {
+        Key key = new Key("key");
+        Key duplicateKey = new Key("key");
+
+        MutableBiMap<Key, Integer> biMap = this.newMapWithKeysValues(key, 1, duplicateKey, 2);
+        Assert.assertSame(key, Iterate.getFirst(biMap.entrySet()).getKey());
+        Assert.assertSame(key, Iterate.getFirst(biMap.inverse().entrySet()).getValue());
+    }
+
+    @Test
+    public void valuePreservation()
+    {
+        Key value = new Key("value");
+        Key duplicateValue = new Key("value");
+
+        MutableBiMap<Integer, Key> biMap = this.newMapWithKeyValue(1, value);
+        biMap.forcePut(2, duplicateValue);
+        Assert.assertSame(value, Iterate.getFirst(biMap.entrySet()).getValue());
+        Assert.assertSame(value, Iterate.getFirst(biMap.inverse().entrySet()).getKey());
+    }
+
+    @Test
+    public void forcePut_inverseKeyAndValuePreservation()
+    {
+        Key key1 = new Key("1");
+        Key value2 = new Key("xyz");
+
+        CompactHashBiMap<Key, Key> biMap = this.newMapWithKeysValues(key1, new Key("abc"), new Key("2"), value2);
+
+        Key duplicateOfKey1 = new Key("1");
+        Key duplicateOfValue2 = new Key("xyz");
+
+        biMap.forcePut(duplicateOfKey1, duplicateOfValue2);
+
+        Assert.assertSame(key1, Iterate.getFirst(biMap.entrySet()).getKey());
+        Assert.assertSame(key1, Iterate.getFirst(biMap.inverse().entrySet()).getValue());
+
+        Assert.assertSame(value2, Iterate.getFirst(biMap.entrySet()).getValue());
+        Assert.assertSame(value2, Iterate.getFirst(biMap.inverse().entrySet()).getKey());
+    }
+
+    @Test
+    public void inverseSharesEntries()
+    {
+        CompactHashBiMap<Integer, String> biMap = CompactHashBiMap.newWithKeysValues(1, "One", 2, "Two");
+        MutableBiMap<String, Integer> inverse = biMap.inverse();
+        inverse.put("Three", 3);
+        Assert.assertEquals("Three", biMap.get(3));
+        Assert.assertEquals(Integer.valueOf(1), inverse.remove("One"));
+        Assert.assertFalse(biMap.containsKey(1));
+        Verify.assertSize(2, biMap);
+        Assert.assertSame(biMap, inverse.inverse());
+        AbstractMutableBiMapTestCase.assertBiMapsEqual(CompactHashBiMap.newWithKeysValues(2, "Two", 3, "Three"), biMap);
+    }
+
+    @Test
+    public void iteratorRemoveMovesLastEntry()
+    {
+        CompactHashBiMap<Integer, String> biMap = CompactHashBiMap.newMap();
+        Interval.oneTo(100).each(each -> biMap.put(each, String.valueOf(each)));
+        MutableList<Integer> visited = Lists.mutable.empty();
+        Iterator<Integer> iterator = biMap.keySet().iterator();
+        while (iterator.hasNext())
+        {
+            Integer next = iterator.next();
+            visited.add(next);
+            if (next % 2 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(Interval.oneTo(100).toSet(), visited.toSet());
+        Verify.assertSize(100, visited);
+        Verify.assertSize(50, biMap);
+        for (int i = 1; i <= 100; i++)
+        {
+            Assert.assertEquals(i % 2 != 0, biMap.containsKey(i));
+            Assert.assertEquals(i % 2 != 0, biMap.inverse().containsKey(String.valueOf(i)));
+        }
+    }
+
+    @Test
+    public void randomOperationsMatchHashBiMap()
+    {
+        Random random = new Random(42L);
+        CompactHashBiMap<Integer, Integer> biMap = CompactHashBiMap.newMap();
+        HashBiMap<Integer, Integer> expected = HashBiMap.newMap();
+        for (int i = 0; i < 50_000; i++)
+        {
+            Integer key = random.nextInt(2_000);
+            Integer value = random.nextInt(2_000);
+            switch (random.nextInt(5))
+            {
+                case 0:
+                    Assert.assertEquals(expected.remove(key), biMap.remove(key));
+                    break;
+                case 1:
+                    Assert.assertEquals(expected.inverse().remove(value), biMap.inverse().remove(value));
+                    break;
+                case 2:
+                    Assert.assertEquals(expected.forcePut(key, value), biMap.forcePut(key, value));
+                    break;
+                default:
+                    if (expected.containsValue(value) && !key.equals(expected.inverse().get(value)))
+                    {
+                        Assert.assertThrows(IllegalArgumentException.class, () -> biMap.put(key, value));
+                    }
+                    else
+                    {
+                        Assert.assertEquals(expected.put(key, value), biMap.put(key, value));
+                    }
+                    break;
+            }
+        }
+        AbstractMutableBiMapTestCase.assertBiMapsEqual(expected, biMap);
+        for (int i = 0; i < 2_000; i++)
+        {
+            Assert.assertEquals(expected.get(i), biMap.get(i));
+            Assert.assertEquals(expected.inverse().get(i), biMap.inverse().get(i));
+        }
+        Verify.assertEqualsAndHashCode(expected, biMap.clone());
+        Verify.assertEqualsAndHashCode(expected.inverse(), biMap.inverse().clone());
+        Verify.assertEqualsAndHashCode(expected.inverse(), SerializeTestHelper.serializeDeserialize(biMap.inverse()));
+    }
+
+    @Test
+    public void trimToSize()
+    {
+        CompactHashBiMap<Integer, Integer> biMap = CompactHashBiMap.newMap();
+        Interval.oneTo(1_000).each(each -> biMap.put(each, -each));
+        Assert.assertFalse(biMap.trimToSize());
+        biMap.removeIf((key, value) -> key > 10);
+        Assert.assertTrue(biMap.trimToSize());
+        Assert.assertFalse(biMap.trimToSize());
+        AbstractMutableBiMapTestCase.assertBiMapsEqual(
+                new HashBiMap<>(Interval.oneTo(10).toMap(each -> each, each -> -each)),
+                biMap);
+    }
+
+    @Test
+    public void smallerThanHashBiMap()
+    {
+        CompactHashBiMap<Integer, String> compact = CompactHashBiMap.newMap();
+        HashBiMap<Integer, String> hashBiMap = HashBiMap.newMap();
+        Interval.oneTo(10_000).each(each -> {
+            compact.put(each, String.valueOf(each));
+            hashBiMap.put(each, String.valueOf(each));
+        });
+        long compactBytes = MemoryFootprints.of(compact, ObjectLayout.COMPRESSED_OOPS).getShallowBytes();
+        long hashBiMapBytes = MemoryFootprints.of(hashBiMap, ObjectLayout.COMPRESSED_OOPS).getShallowBytes();
+        Assert.assertTrue(compactBytes + " bytes, HashBiMap " + hashBiMapBytes + " bytes", compactBytes * 4L < hashBiMapBytes * 3L);
+    }
+}
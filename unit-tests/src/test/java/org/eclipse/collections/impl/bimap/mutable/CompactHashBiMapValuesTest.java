@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.bimap.mutable;
+
+import org.eclipse.collections.api.bimap.MutableBiMap;
+
+public class CompactHashBiMapValuesTest extends AbstractMutableBiMapValuesTestCase
+{
+    @Override
+    public MutableBiMap<Float, String> newMapWithKeysValues(float key1, String value1, float key2, String value2)
+    {
+        return CompactHashBiMap.newWithKeysValues(key1, value1, key2, value2);
+    }
+
+    @Override
+    public CompactHashBiMap<Float, Integer> newMapWithKeysValues(float key1, Integer value1, float key2, Integer value2, float key3, Integer value3)
+    {
+        return CompactHashBiMap.newWithKeysValues(key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    public CompactHashBiMap<Float, Integer> newMapWithKeysValues(float key1, Integer value1, float key2, Integer value2, float key3, Integer value3, float key4, Integer value4)
+    {
+        return CompactHashBiMap.newWithKeysValues(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+}
@@ -17,6 +17,7 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.eclipse.collections.api.factory.list.FixedSizeListFactory;
+import org.eclipse.collections.api.factory.list.ImmutableListBuilder;
 import org.eclipse.collections.api.factory.list.ImmutableListFactory;
 import org.eclipse.collections.api.factory.list.MultiReaderListFactory;
 import org.eclipse.collections.api.factory.list.MutableListFactory;
@@ -483,6 +484,43 @@ public class ListsTest
                 Lists.immutable.withAllSorted(Comparators.reverseNaturalOrder(), Lists.mutable.of(50, 5, 100, 1)));
     }
 
+    @Test
+    public void builder()
+    {
+        ImmutableListBuilder<Integer> builder = Lists.immutable.builder(20);
+        Verify.assertEmpty(builder.toImmutable());
+        ImmutableList<Integer> exact = builder.withAll(Interval.oneTo(19)).with(20).toImmutable();
+        Assert.assertEquals(Interval.oneTo(20), exact);
+        ImmutableList<Integer> grown = builder.with(21).withAll(FastList.newListWith(22, 23)).toImmutable();
+        Assert.assertEquals(Interval.oneTo(20), exact);
+        Assert.assertEquals(Interval.oneTo(23), grown);
+        Assert.assertEquals(23, builder.size());
+        Assert.assertThrows(IllegalArgumentException.class, () -> Lists.immutable.builder(-1));
+
+        ImmutableListBuilder<Integer> unsized = Lists.immutable.builder();
+        MutableList<Integer> expected = Lists.mutable.empty();
+        for (int i = 0; i < 100; i++)
+        {
+            unsized.with(i);
+            expected.add(i);
+            ImmutableList<Integer> actual = unsized.toImmutable();
+            Verify.assertInstanceOf(ImmutableList.class, actual);
+            Assert.assertEquals(expected, actual);
+        }
+        Assert.assertEquals(Lists.immutable.with(null, 1), Lists.immutable.builder().with(null).with(1).toImmutable());
+
+        ImmutableListBuilder<Integer> slack = Lists.immutable.builder(40);
+        ImmutableList<Integer> shared = slack.withAll(Interval.oneTo(30)).toImmutable();
+        ImmutableList<Integer> trimmed = Lists.immutable.<Integer>builder(100).withAll(Interval.oneTo(30)).toImmutable();
+        slack.withAll(Interval.fromTo(31, 40));
+        Assert.assertEquals(Interval.oneTo(30), shared);
+        Assert.assertEquals(Interval.oneTo(30).hashCode(), shared.hashCode());
+        Assert.assertEquals(30, shared.toArray().length);
+        Assert.assertEquals(Interval.oneTo(30), trimmed);
+        Verify.assertPostSerializedEqualsAndHashCode(shared);
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> shared.get(30));
+    }
+
     @Test
     public void classIsNonInstantiable()
     {
@@ -16,6 +16,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.collections.api.factory.map.FixedSizeMapFactory;
+import org.eclipse.collections.api.factory.map.ImmutableMapBuilder;
 import org.eclipse.collections.api.factory.map.ImmutableMapFactory;
 import org.eclipse.collections.api.factory.map.MutableMapFactory;
 import org.eclipse.collections.api.factory.map.sorted.MutableSortedMapFactory;
@@ -179,6 +180,40 @@ public class MapsTest
         Assert.assertEquals(UnifiedMap.newWithKeysValues(1, 2, 3, 4), factory.ofSortedMap(UnifiedMap.newWithKeysValues(1, 2, 3, 4)));
     }
 
+    @Test
+    public void builder()
+    {
+        ImmutableMapBuilder<Integer, String> builder = Maps.immutable.builder();
+        Verify.assertEmpty(builder.toImmutable());
+        ImmutableMap<Integer, String> small = builder.withKeyValue(1, "1").withKeyValue(2, "2").withKeyValue(1, "one").toImmutable();
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(1, "one", 2, "2"), small);
+        ImmutableMap<Integer, String> frozen = builder.withMap(UnifiedMap.newWithKeysValues(3, "3", 4, "4", 5, "5")).toImmutable();
+        ImmutableMap<Integer, String> grown = builder.withAllKeyValues(Lists.mutable.with(Tuples.pair(6, "6"), Tuples.pair(1, "1"))).toImmutable();
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(1, "one", 2, "2", 3, "3", 4, "4").withKeyValue(5, "5"), frozen);
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(1, "1", 2, "2", 3, "3", 4, "4").withKeyValue(5, "5").withKeyValue(6, "6"), grown);
+        Assert.assertEquals(6, builder.size());
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(1, "one", 2, "2"), small);
+        Assert.assertThrows(IllegalArgumentException.class, () -> Maps.immutable.builder(-1));
+
+        ImmutableMapBuilder<Integer, Integer> trimmedBuilder = Maps.immutable.builder(1_000);
+        ImmutableMapBuilder<Integer, Integer> largeBuilder = Maps.immutable.builder(10_000);
+        MutableMap<Integer, Integer> expected = UnifiedMap.newMap();
+        for (int i = 0; i < 10_000; i++)
+        {
+            if (i < 10)
+            {
+                trimmedBuilder.withKeyValue(i, -i);
+            }
+            largeBuilder.withKeyValue(i, -i);
+            expected.put(i, -i);
+        }
+        Verify.assertEqualsAndHashCode(expected.select((key, value) -> key < 10), trimmedBuilder.toImmutable());
+        ImmutableMap<Integer, Integer> large = largeBuilder.toImmutable();
+        Verify.assertEqualsAndHashCode(expected, large);
+        Assert.assertEquals(expected.withKeyValue(10_000, 0), large.newWithKeyValue(10_000, 0));
+        Verify.assertPostSerializedEqualsAndHashCode(large);
+    }
+
     @Test
     public void classIsNonInstantiable()
     {
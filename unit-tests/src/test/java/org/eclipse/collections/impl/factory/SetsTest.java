@@ -23,6 +23,7 @@ import org.eclipse.collections.api.bag.MutableBag;
 import org.eclipse.collections.api.block.function.Function2;
 import org.eclipse.collections.api.block.procedure.Procedure2;
 import org.eclipse.collections.api.factory.set.FixedSizeSetFactory;
+import org.eclipse.collections.api.factory.set.ImmutableSetBuilder;
 import org.eclipse.collections.api.factory.set.ImmutableSetFactory;
 import org.eclipse.collections.api.factory.set.MultiReaderSetFactory;
 import org.eclipse.collections.api.factory.set.MutableSetFactory;
@@ -1026,6 +1027,29 @@ public class SetsTest
         Assert.assertSame(key, set6.detect(key::equals));
     }
 
+    @Test
+    public void builder()
+    {
+        ImmutableSetBuilder<Integer> builder = Sets.immutable.builder();
+        Verify.assertEmpty(builder.toImmutable());
+        ImmutableSet<Integer> small = builder.with(1).with(2).with(1).toImmutable();
+        Assert.assertEquals(UnifiedSet.newSetWith(1, 2), small);
+        ImmutableSet<Integer> frozen = builder.withAll(Interval.oneTo(100)).toImmutable();
+        ImmutableSet<Integer> grown = builder.with(101).withAll(FastList.newListWith(102, 1)).toImmutable();
+        Assert.assertEquals(UnifiedSet.newSet(Interval.oneTo(100)), frozen);
+        Assert.assertEquals(UnifiedSet.newSet(Interval.oneTo(102)), grown);
+        Assert.assertEquals(102, builder.size());
+        Assert.assertEquals(UnifiedSet.newSetWith(1, 2), small);
+        Assert.assertThrows(IllegalArgumentException.class, () -> Sets.immutable.builder(-1));
+
+        ImmutableSet<Integer> trimmed = Sets.immutable.<Integer>builder(1_000).withAll(Interval.oneTo(10)).toImmutable();
+        Verify.assertEqualsAndHashCode(UnifiedSet.newSet(Interval.oneTo(10)), trimmed);
+        ImmutableSet<Integer> large = Sets.immutable.<Integer>builder(10_000).withAll(Interval.oneTo(10_000)).toImmutable();
+        Verify.assertEqualsAndHashCode(UnifiedSet.newSet(Interval.oneTo(10_000)), large);
+        Assert.assertEquals(UnifiedSet.newSet(Interval.oneTo(10_001)), large.newWith(10_001));
+        Verify.assertPostSerializedEqualsAndHashCode(large);
+    }
+
     @Test
     public void classIsNonInstantiable()
     {
@@ -11,6 +11,7 @@
 package org.eclipse.collections.impl.lazy.parallel;
 
 import java.io.IOException;
+import java.util.Comparator;
 import java.util.NoSuchElementException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -576,6 +577,32 @@ public abstract class ParallelIterableTestCase
                 this.classUnderTest().toSortedListBy(String::valueOf));
     }
 
+    @Test
+    public void toSortedList_comparator_large()
+    {
+        Comparator<Integer> byLastDigit = Comparators.byFunction(each -> each % 10);
+        Integer[] elements = Interval.oneTo(100_000).toList().shuffleThis().toArray(new Integer[]{});
+
+        for (Integer batchSize : BATCH_SIZES)
+        {
+            this.batchSize = batchSize;
+
+            ParallelIterable<Integer> parallelIterable = this.newWith(elements);
+            // Sorting the elements in encounter order on one thread gives the expected order of equal elements
+            MutableList<Integer> expected = parallelIterable.toList().toSortedList(byLastDigit);
+            MutableList<Integer> actual = parallelIterable.toSortedList(byLastDigit);
+            if (this.isOrdered())
+            {
+                Assert.assertEquals("Batch size: " + this.batchSize, expected, actual);
+            }
+            else
+            {
+                Assert.assertEquals("Batch size: " + this.batchSize, expected.collect(each -> each % 10), actual.collect(each -> each % 10));
+                Assert.assertEquals("Batch size: " + this.batchSize, expected.toBag(), actual.toBag());
+            }
+        }
+    }
+
     @Test
     public void toSet()
     {
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.lazy.parallel.map;
+
+import java.util.Map;
+
+import org.eclipse.collections.api.map.ParallelMapIterable;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.junit.Test;
+
+public class ConcurrentHashMapParallelMapIterableTest extends ParallelMapIterableTestCase
+{
+    @Override
+    protected ParallelMapIterable<Integer, Integer> newParallelMap(Map<Integer, Integer> contents)
+    {
+        return ConcurrentHashMap.newMap(contents).asParallel(this.executorService, this.batchSize);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void asParallel_small_batch()
+    {
+        ConcurrentHashMap.newMap().asParallel(this.executorService, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void asParallel_null_executorService()
+    {
+        ConcurrentHashMap.newMap().asParallel(null, 2);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.lazy.parallel.map;
+
+import java.util.Map;
+
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.ParallelMapIterable;
+import org.eclipse.collections.impl.bag.mutable.HashBag;
+import org.eclipse.collections.impl.block.factory.Predicates;
+import org.eclipse.collections.impl.lazy.parallel.ParallelIterableTestCase;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+public abstract class ParallelMapIterableTestCase extends ParallelIterableTestCase
+{
+    /**
+     * Creates the map under test with the given contents, and returns its parallel view with the current batch size.
+     */
+    protected abstract ParallelMapIterable<Integer, Integer> newParallelMap(Map<Integer, Integer> contents);
+
+    @Override
+    protected ParallelMapIterable<Integer, Integer> classUnderTest()
+    {
+        return this.newWith(1, 2, 2, 3, 3, 3, 4, 4, 4, 4);
+    }
+
+    @Override
+    protected ParallelMapIterable<Integer, Integer> newWith(Integer... littleElements)
+    {
+        MutableMap<Integer, Integer> contents = UnifiedMap.newMap();
+        for (int i = 0; i < littleElements.length; i++)
+        {
+            contents.put(i, littleElements[i]);
+        }
+        return this.newParallelMap(contents);
+    }
+
+    @Override
+    protected MutableBag<Integer> getExpected()
+    {
+        return HashBag.newBagWith(1, 2, 2, 3, 3, 3, 4, 4, 4, 4);
+    }
+
+    @Override
+    protected MutableBag<Integer> getExpectedWith(Integer... littleElements)
+    {
+        return HashBag.newBagWith(littleElements);
+    }
+
+    @Override
+    protected boolean isOrdered()
+    {
+        return false;
+    }
+
+    @Override
+    protected boolean isUnique()
+    {
+        return false;
+    }
+
+    private MutableMap<Integer, Integer> largeMap()
+    {
+        return Interval.oneTo(20_000).toMap(each -> each, each -> each * 2);
+    }
+
+    @Test
+    public void forEachKeyValue()
+    {
+        MutableMap<Integer, Integer> expected = this.largeMap();
+        for (int batchSize : new int[]{1, 7, 1000, 100_000})
+        {
+            this.batchSize = batchSize;
+            MutableMap<Integer, Integer> actual = ConcurrentHashMap.newMap();
+            this.newParallelMap(expected).forEachKeyValue((key, value) -> Assert.assertNull(actual.put(key, value)));
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void collectValues()
+    {
+        MutableMap<Integer, Integer> contents = this.largeMap();
+        MapIterable<Integer, String> actual = this.newParallelMap(contents).collectValues((key, value) -> key + ":" + value);
+        Assert.assertEquals(contents.collectValues((key, value) -> key + ":" + value), actual);
+        Assert.assertEquals(UnifiedMap.newMap(), this.newParallelMap(UnifiedMap.newMap()).collectValues((key, value) -> value));
+    }
+
+    @Test
+    public void largeMapValues()
+    {
+        MutableMap<Integer, Integer> contents = this.largeMap();
+        for (int batchSize : new int[]{1, 7, 1000, 100_000})
+        {
+            this.batchSize = batchSize;
+            ParallelMapIterable<Integer, Integer> parallel = this.newParallelMap(contents);
+            Assert.assertEquals(contents.valuesView().toBag(), parallel.toBag());
+            Assert.assertEquals(contents.count(each -> each % 3 == 0), parallel.count(each -> each % 3 == 0));
+            Assert.assertEquals(contents.select(each -> each % 3 == 0).toBag(), parallel.select(each -> each % 3 == 0).toBag());
+            Assert.assertEquals(contents.reject(each -> each % 3 == 0).toBag(), parallel.reject(each -> each % 3 == 0).toBag());
+            Assert.assertEquals(contents.sumOfInt(Integer::intValue), parallel.sumOfInt(Integer::intValue));
+            Assert.assertEquals(Integer.valueOf(40_000), parallel.max());
+            Assert.assertEquals(Integer.valueOf(30_000), parallel.detect(Predicates.equal(30_000)));
+            Assert.assertNull(parallel.detect(Predicates.equal(30_001)));
+            Assert.assertTrue(parallel.anySatisfy(Predicates.equal(2)));
+            Assert.assertFalse(parallel.anySatisfy(Predicates.equal(3)));
+            Assert.assertTrue(parallel.allSatisfy(each -> each % 2 == 0));
+            Assert.assertFalse(parallel.allSatisfy(Predicates.lessThan(40_000)));
+            Assert.assertEquals(contents.groupBy(each -> each % 10).toMap(HashBag::new), parallel.groupBy(each -> each % 10).toMap(HashBag::new));
+        }
+    }
+
+    @Test
+    public void nullValues()
+    {
+        MutableMap<Integer, Integer> contents = UnifiedMap.newMap();
+        contents.put(1, null);
+        contents.put(2, 2);
+        contents.put(3, null);
+        ParallelMapIterable<Integer, Integer> parallel = this.newParallelMap(contents);
+        Assert.assertEquals(HashBag.newBagWith(null, 2, null), parallel.toBag());
+        MutableMap<Integer, Integer> actual = UnifiedMap.<Integer, Integer>newMap().asSynchronized();
+        parallel.forEachKeyValue(actual::put);
+        Assert.assertEquals(contents, actual);
+        Assert.assertEquals(contents, parallel.collectValues((key, value) -> value));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.lazy.parallel.map;
+
+import java.util.Map;
+
+import org.eclipse.collections.api.block.HashingStrategy;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.ParallelMapIterable;
+import org.eclipse.collections.impl.block.factory.HashingStrategies;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.map.strategy.mutable.UnifiedMapWithHashingStrategy;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UnifiedMapWithHashingStrategyParallelMapIterableTest extends ParallelMapIterableTestCase
+{
+    // Maps every key to one of 16 hash codes, so most keys end up in chained buckets
+    private static final HashingStrategy<Integer> COLLIDING_STRATEGY = new HashingStrategy<Integer>()
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int computeHashCode(Integer object)
+        {
+            return object % 16;
+        }
+
+        @Override
+        public boolean equals(Integer object1, Integer object2)
+        {
+            return object1.equals(object2);
+        }
+    };
+
+    @Override
+    protected ParallelMapIterable<Integer, Integer> newParallelMap(Map<Integer, Integer> contents)
+    {
+        return UnifiedMapWithHashingStrategy.newMap(HashingStrategies.defaultStrategy(), contents)
+                .asParallel(this.executorService, this.batchSize);
+    }
+
+    @Test
+    public void chainedBuckets()
+    {
+        UnifiedMapWithHashingStrategy<Integer, Integer> map = UnifiedMapWithHashingStrategy.newMap(COLLIDING_STRATEGY);
+        Interval.oneTo(1000).each(each -> map.put(each, each * 2));
+        for (int batchSize : new int[]{1, 3, 1000})
+        {
+            ParallelMapIterable<Integer, Integer> parallel = map.asParallel(this.executorService, batchSize);
+            MutableMap<Integer, Integer> actual = ConcurrentHashMap.newMap();
+            parallel.forEachKeyValue(actual::put);
+            Assert.assertEquals(map, actual);
+            Assert.assertEquals(map.valuesView().toBag(), parallel.toBag());
+            Assert.assertEquals(Integer.valueOf(1000), parallel.detect(each -> each == 1000));
+            Assert.assertTrue(parallel.anySatisfy(each -> each == 2000));
+            Assert.assertFalse(parallel.allSatisfy(each -> each < 2000));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void asParallel_small_batch()
+    {
+        UnifiedMapWithHashingStrategy.newMap(HashingStrategies.defaultStrategy()).asParallel(this.executorService, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void asParallel_null_executorService()
+    {
+        UnifiedMapWithHashingStrategy.newMap(HashingStrategies.defaultStrategy()).asParallel(null, 2);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.list.immutable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutableTrieList}.
+ */
+public class ImmutableTrieListTest extends AbstractImmutableListTestCase
+{
+    @Override
+    protected ImmutableList<Integer> classUnderTest()
+    {
+        return ImmutableTrieList.newListWith(Interval.oneTo(9).toArray());
+    }
+
+    @Test
+    public void appendingToArrayList()
+    {
+        ImmutableList<Integer> small = Lists.immutable.withAll(Interval.oneTo(ImmutableTrieList.THRESHOLD - 1));
+        Verify.assertInstanceOf(ImmutableArrayList.class, small.newWith(0));
+
+        ImmutableList<Integer> large = Lists.immutable.withAll(Interval.oneTo(ImmutableTrieList.THRESHOLD));
+        ImmutableList<Integer> appended = large.newWith(0);
+        Verify.assertInstanceOf(ImmutableTrieList.class, appended);
+        Assert.assertEquals(FastList.newList(large).with(0), appended);
+        Verify.assertInstanceOf(ImmutableTrieList.class, large.newWithAll(Interval.oneTo(3)));
+        Assert.assertSame(appended, Lists.immutable.withAll(appended));
+    }
+
+    @Test
+    public void append()
+    {
+        ImmutableList<Integer> list = Lists.immutable.empty();
+        List<ImmutableList<Integer>> versions = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++)
+        {
+            list = list.newWith(i);
+            if (i % 1_000 == 0)
+            {
+                versions.add(list);
+            }
+        }
+        Assert.assertEquals(Interval.zeroTo(39_999), list);
+        for (int i = 0; i < versions.size(); i++)
+        {
+            Assert.assertEquals(Interval.zeroTo(i * 1_000), versions.get(i));
+        }
+    }
+
+    @Test
+    public void takeAndDrop()
+    {
+        ImmutableList<Integer> list = ImmutableTrieList.newListWith(Interval.zeroTo(4_999).toArray());
+        for (int count : new int[]{0, 1, 31, 32, 33, 1_023, 1_024, 1_025, 2_500, 4_967, 4_968, 4_999, 5_000, 6_000})
+        {
+            Assert.assertEquals(Interval.zeroTo(4_999).toList().take(count), list.take(count));
+            Assert.assertEquals(Interval.zeroTo(4_999).toList().drop(count), list.drop(count));
+        }
+        Assert.assertSame(list, list.take(5_000));
+        Assert.assertSame(list, list.drop(0));
+        Verify.assertInstanceOf(ImmutableArrayList.class, list.drop(4_980));
+        Assert.assertThrows(IllegalArgumentException.class, () -> list.take(-1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> list.drop(-1));
+    }
+
+    @Test
+    public void concatenate()
+    {
+        ImmutableList<Integer> left = ImmutableTrieList.newListWith(Interval.zeroTo(1_036).toArray());
+        ImmutableList<Integer> right = ImmutableTrieList.newListWith(Interval.fromTo(1_037, 40_000).toArray());
+        Assert.assertEquals(Interval.zeroTo(40_000), left.newWithAll(right));
+        Assert.assertEquals(
+                FastList.newList(right).withAll(left),
+                right.newWithAll(left));
+        Assert.assertEquals(
+                FastList.newList(left).withAll(left.drop(7)),
+                left.newWithAll(left.drop(7)));
+    }
+
+    @Test
+    public void randomOperations()
+    {
+        Random random = new Random(42L);
+        ImmutableList<Integer> list = ImmutableTrieList.newListWith(Interval.oneTo(100).toArray());
+        List<Integer> expected = new ArrayList<>(list.castToList());
+        for (int i = 0; i < 2_000; i++)
+        {
+            int size = expected.size();
+            switch (random.nextInt(6))
+            {
+                case 0:
+                    int count = random.nextInt(size + 1);
+                    list = list.take(count);
+                    expected = new ArrayList<>(expected.subList(0, count));
+                    break;
+                case 1:
+                    int from = random.nextInt(size + 1);
+                    list = list.drop(from);
+                    expected = new ArrayList<>(expected.subList(from, size));
+                    break;
+                case 2:
+                    int index = random.nextInt(size + 1);
+                    list = list.newWithout(index);
+                    expected.remove(Integer.valueOf(index));
+                    break;
+                case 3:
+                    ImmutableList<Integer> other = list.drop(random.nextInt(size + 1));
+                    expected.addAll(new ArrayList<>(other.castToList()));
+                    list = list.newWithAll(other);
+                    break;
+                default:
+                    for (int j = random.nextInt(100); j > 0; j--)
+                    {
+                        list = list.newWith(i);
+                        expected.add(i);
+                    }
+                    break;
+            }
+            if (expected.size() < ImmutableTrieList.THRESHOLD)
+            {
+                list = list.newWithAll(Interval.oneTo(200));
+                expected.addAll(Interval.oneTo(200));
+            }
+            Assert.assertEquals(expected, list);
+        }
+        Assert.assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++)
+        {
+            Assert.assertEquals(expected.get(i), list.get(i));
+        }
+        Assert.assertArrayEquals(expected.toArray(), list.toArray());
+        MutableList<Integer> each = Lists.mutable.empty();
+        list.each(each::add);
+        Assert.assertEquals(expected, each);
+    }
+
+    @Test
+    public void forEachFromTo()
+    {
+        ImmutableList<Integer> list = ImmutableTrieList.newListWith(Interval.zeroTo(2_000).toArray());
+        MutableList<Integer> forward = Lists.mutable.empty();
+        list.forEach(30, 1_500, forward::add);
+        Assert.assertEquals(Interval.fromTo(30, 1_500), forward);
+        MutableList<Integer> backward = Lists.mutable.empty();
+        list.forEach(1_500, 30, backward::add);
+        Assert.assertEquals(Interval.fromTo(1_500, 30), backward);
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> list.forEach(0, 2_001, each -> { }));
+    }
+
+    @Test
+    public void asParallel()
+    {
+        ImmutableList<Integer> list = ImmutableTrieList.newListWith(Interval.oneTo(10_000).toArray()).drop(10);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try
+        {
+            Assert.assertEquals(
+                    Interval.fromTo(11, 10_000).toList().select(each -> each % 3 == 0),
+                    list.asParallel(executorService, 100).select(each -> each % 3 == 0).toList());
+            Assert.assertEquals(
+                    Interval.fromTo(11, 10_000).toList().collect(each -> each * 2),
+                    list.asParallel(executorService, 1_000).collect(each -> each * 2).toList());
+            Assert.assertEquals(50_004_945L, list.asParallel(executorService, 7).sumOfInt(Integer::intValue));
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void iteratorCrossesLeaves()
+    {
+        ImmutableList<Integer> list = ImmutableTrieList.newListWith(Interval.oneTo(1_100).toArray()).drop(50);
+        Iterator<Integer> iterator = list.iterator();
+        for (int i = 51; i <= 1_100; i++)
+        {
+            Assert.assertEquals(Integer.valueOf(i), iterator.next());
+        }
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    public void serialization()
+    {
+        ImmutableList<Integer> list = ImmutableTrieList.newListWith(Interval.oneTo(100).toArray());
+        ImmutableList<Integer> deserialized = SerializeTestHelper.serializeDeserialize(list);
+        Verify.assertInstanceOf(ImmutableArrayList.class, deserialized);
+        Verify.assertEqualsAndHashCode(list, deserialized);
+    }
+
+    @Test
+    @Override
+    public void get()
+    {
+        ImmutableList<Integer> list = this.classUnderTest();
+        Assert.assertEquals(Integer.valueOf(1), list.get(0));
+        Assert.assertEquals(Integer.valueOf(9), list.get(8));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> list.get(list.size()));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+}
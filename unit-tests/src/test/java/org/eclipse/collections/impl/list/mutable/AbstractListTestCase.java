@@ -18,6 +18,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.eclipse.collections.api.RichIterable;
 import org.eclipse.collections.api.collection.MutableCollection;
@@ -645,6 +647,33 @@ public abstract class AbstractListTestCase
         Assert.assertEquals(Interval.fromToBy(1000, 1, -1).toList(), actual);
     }
 
+    @Test
+    public void sortThisParallel()
+    {
+        Comparator<Integer> byLastDigit = Comparators.byFunction(each -> each % 10);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try
+        {
+            MutableList<Integer> empty = this.newWith();
+            Assert.assertSame(empty, empty.sortThisParallel(byLastDigit, executorService));
+            Verify.assertEmpty(empty);
+            for (int size : new int[]{1, 3, 1000, 100_000})
+            {
+                MutableList<Integer> actual = this.newWith(Interval.oneTo(size).toArray()).shuffleThis();
+                MutableList<Integer> expected = FastList.newList(actual).sortThis(byLastDigit);
+                MutableList<Integer> sorted = actual.sortThisParallel(byLastDigit, executorService);
+                Assert.assertSame(actual, sorted);
+                Assert.assertEquals(expected, actual);
+            }
+            MutableList<Integer> actual = this.newWith(Interval.oneTo(1000).toArray()).shuffleThis();
+            Assert.assertEquals(Interval.oneTo(1000).toList(), actual.sortThisParallel(null, executorService));
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+    }
+
     @Test
     public void sortThisBy()
     {
@@ -109,6 +109,14 @@ public class UnmodifiableMutableListTest
                 () -> this.unmodifiableList.sortThis(String::compareTo));
     }
 
+    @Test
+    public void sortThisParallel()
+    {
+        Assert.assertThrows(
+                UnsupportedOperationException.class,
+                () -> this.unmodifiableList.sortThisParallel(String::compareTo, Runnable::run));
+    }
+
     @Test
     public void sortThisBy()
     {
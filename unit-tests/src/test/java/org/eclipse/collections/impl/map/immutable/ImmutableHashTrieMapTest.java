@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.immutable;
+
+import java.util.Random;
+
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.eclipse.collections.impl.utility.internal.ImmutableThresholds;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ImmutableHashTrieMapTest extends ImmutableMapTestCase
+{
+    @Override
+    protected ImmutableMap<Integer, String> classUnderTest()
+    {
+        return new ImmutableHashTrieMap<>(UnifiedMap.newWithKeysValues(1, "1", 2, "2", 3, "3", 4, "4"));
+    }
+
+    @Override
+    protected int size()
+    {
+        return 4;
+    }
+
+    @Test
+    @Override
+    public void testToString()
+    {
+        Assert.assertEquals("{1=1, 2=2, 3=3, 4=4}", this.classUnderTest().toString());
+    }
+
+    @Test
+    public void factoryThreshold()
+    {
+        MutableMap<Integer, Integer> map = UnifiedMap.newMap();
+        for (int i = 0; i < ImmutableThresholds.PERSISTENT_SIZE - 1; i++)
+        {
+            map.put(i, i);
+        }
+        ImmutableMap<Integer, Integer> small = Maps.immutable.withAll(map);
+        Verify.assertInstanceOf(ImmutableUnifiedMap.class, small);
+
+        ImmutableMap<Integer, Integer> large = small.newWithKeyValue(-1, -1);
+        Verify.assertInstanceOf(ImmutableHashTrieMap.class, large);
+        Verify.assertSize(ImmutableThresholds.PERSISTENT_SIZE, large);
+        Assert.assertSame(large, Maps.immutable.withAll((ImmutableHashTrieMap<Integer, Integer>) large));
+        Verify.assertInstanceOf(ImmutableHashTrieMap.class, large.newWithKeyValue(-2, -2));
+    }
+
+    @Test
+    public void structuralSharing()
+    {
+        ImmutableMap<Integer, String> original = this.classUnderTest();
+        ImmutableMap<Integer, String> added = original.newWithKeyValue(5, "5");
+        ImmutableMap<Integer, String> replaced = added.newWithKeyValue(1, "one");
+        ImmutableMap<Integer, String> removed = replaced.newWithoutKey(2);
+
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(1, "1", 2, "2", 3, "3", 4, "4"), original);
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(1, "1", 2, "2", 3, "3", 4, "4").withKeyValue(5, "5"), added);
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(1, "one", 2, "2", 3, "3", 4, "4").withKeyValue(5, "5"), replaced);
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(1, "one", 3, "3", 4, "4", 5, "5"), removed);
+
+        Assert.assertSame(original, original.newWithKeyValue(1, "1"));
+        Assert.assertSame(original, original.newWithoutKey(5));
+        Assert.assertSame(original, original.newWithAllKeyValueArguments(Tuples.pair(2, "2"), Tuples.pair(3, "3")));
+        Verify.assertEmpty(original.newWithoutAllKeys(Interval.oneTo(4)));
+    }
+
+    @Test
+    public void nullKeysAndValues()
+    {
+        ImmutableMap<Integer, String> map = this.classUnderTest().newWithKeyValue(null, null).newWithKeyValue(5, null);
+        Verify.assertSize(6, map);
+        Verify.assertContainsKeyValue(null, null, map);
+        Verify.assertContainsKeyValue(5, null, map);
+        Assert.assertTrue(map.containsValue(null));
+        Assert.assertFalse(map.containsKey(6));
+        Assert.assertEquals(map.toMap(), map);
+        Assert.assertEquals(map.toMap().hashCode(), map.hashCode());
+        Verify.assertSize(5, map.newWithoutKey(null));
+    }
+
+    @Test
+    public void collisions()
+    {
+        // Keys with equal hash codes share every level of the trie and end up in a collision node
+        MutableMap<CollidingKey, Integer> expected = UnifiedMap.newMap();
+        ImmutableMap<CollidingKey, Integer> map = new ImmutableHashTrieMap<>(UnifiedMap.newMap());
+        for (int i = 0; i < 200; i++)
+        {
+            CollidingKey key = new CollidingKey(i, i % 7);
+            expected.put(key, i);
+            map = map.newWithKeyValue(key, i);
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        Assert.assertEquals(expected.keySet(), map.castToMap().keySet());
+        Assert.assertFalse(map.containsKey(new CollidingKey(200, 1)));
+
+        for (int i = 0; i < 200; i += 3)
+        {
+            CollidingKey key = new CollidingKey(i, i % 7);
+            expected.remove(key);
+            map = map.newWithoutKey(key);
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected, map.newWithoutAllKeys(Interval.zeroTo(10).collect(i -> new CollidingKey(1000 + i, 0))));
+        Verify.assertEmpty(map.newWithoutAllKeys(expected.keySet()));
+    }
+
+    @Test
+    public void randomOperations()
+    {
+        Random random = new Random(102030405060708090L);
+        MutableMap<Integer, Integer> expected = UnifiedMap.newMap();
+        ImmutableMap<Integer, Integer> map = Maps.immutable.empty();
+        ImmutableMap<Integer, Integer> snapshot = map;
+        MutableMap<Integer, Integer> expectedSnapshot = UnifiedMap.newMap();
+        for (int i = 0; i < 20_000; i++)
+        {
+            int key = random.nextInt(3000) * 0x10001;
+            if (random.nextInt(3) == 0)
+            {
+                expected.remove(key);
+                map = map.newWithoutKey(key);
+            }
+            else
+            {
+                expected.put(key, i);
+                map = map.newWithKeyValue(key, i);
+            }
+            if (i % 5000 == 0)
+            {
+                snapshot = map;
+                expectedSnapshot = UnifiedMap.newMap(expected);
+            }
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected.size(), map.keysView().size());
+        Assert.assertEquals(expected.keySet(), map.keysView().toSet());
+        Assert.assertEquals(expected.valuesView().toBag(), map.valuesView().toBag());
+        Assert.assertEquals(expected.keyValuesView().toSet(), map.keyValuesView().toSet());
+        Assert.assertEquals(expectedSnapshot, snapshot);
+    }
+
+    @Test
+    public void bulkOperations()
+    {
+        MutableMap<Integer, Integer> expected = UnifiedMap.newMap();
+        for (int i = 1; i <= 5000; i++)
+        {
+            expected.put(i, i);
+        }
+        ImmutableMap<Integer, Integer> map = new ImmutableHashTrieMap<>(expected);
+        Assert.assertEquals(expected, map);
+
+        ImmutableMap<Integer, Integer> withAll = map.newWithAllKeyValues(Interval.fromTo(4000, 6000).collect(each -> Tuples.pair(each, -each)));
+        for (int i = 4000; i <= 6000; i++)
+        {
+            expected.put(i, -i);
+        }
+        Assert.assertEquals(expected, withAll);
+        Verify.assertSize(5000, map);
+        Verify.assertContainsKeyValue(4000, 4000, map);
+
+        ImmutableMap<Integer, Integer> withoutAll = withAll.newWithoutAllKeys(Interval.fromTo(1, 5500));
+        for (int i = 1; i <= 5500; i++)
+        {
+            expected.removeKey(i);
+        }
+        Assert.assertEquals(expected, withoutAll);
+        Verify.assertSize(6000, withAll);
+    }
+
+    private static final class CollidingKey
+    {
+        private final int value;
+        private final int hashCode;
+
+        private CollidingKey(int value, int hashCode)
+        {
+            this.value = value;
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof CollidingKey && ((CollidingKey) other).value == this.value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hashCode;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "CollidingKey(" + this.value + ')';
+        }
+    }
+}
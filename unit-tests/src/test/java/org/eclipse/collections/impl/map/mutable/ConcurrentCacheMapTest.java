@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.collections.api.map.ConcurrentMutableMap;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.partition.PartitionIterable;
+import org.eclipse.collections.impl.block.factory.IntegerPredicates;
+import org.eclipse.collections.impl.block.factory.Predicates2;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.tuple.ImmutableEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.eclipse.collections.impl.factory.Iterables.iSet;
+
+/**
+ * JUnit test for {@link ConcurrentCacheMap}.
+ */
+public class ConcurrentCacheMapTest extends ConcurrentHashMapTestCase
+{
+    @Override
+    public <K, V> ConcurrentMutableMap<K, V> newMap()
+    {
+        return ConcurrentCacheMap.newCache(1000L);
+    }
+
+    @Override
+    public <K, V> ConcurrentMutableMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return ConcurrentCacheMap.<K, V>newCache(1000L).withKeyValue(key, value);
+    }
+
+    @Override
+    public <K, V> ConcurrentMutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return ConcurrentCacheMap.<K, V>newCache(1000L).withKeyValue(key1, value1).withKeyValue(key2, value2);
+    }
+
+    @Override
+    public <K, V> ConcurrentMutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return ConcurrentCacheMap.<K, V>newCache(1000L)
+                .withKeyValue(key1, value1)
+                .withKeyValue(key2, value2)
+                .withKeyValue(key3, value3);
+    }
+
+    @Override
+    public <K, V> ConcurrentMutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return ConcurrentCacheMap.<K, V>newCache(1000L)
+                .withKeyValue(key1, value1)
+                .withKeyValue(key2, value2)
+                .withKeyValue(key3, value3)
+                .withKeyValue(key4, value4);
+    }
+
+    @Test
+    public void putIfAbsent()
+    {
+        ConcurrentMutableMap<Integer, Integer> map = this.newMapWithKeysValues(1, 1, 2, 2);
+        Assert.assertEquals(Integer.valueOf(1), map.putIfAbsent(1, 1));
+        Assert.assertNull(map.putIfAbsent(3, 3));
+    }
+
+    @Test
+    public void replace()
+    {
+        ConcurrentMutableMap<Integer, Integer> map = this.newMapWithKeysValues(1, 1, 2, 2);
+        Assert.assertEquals(Integer.valueOf(1), map.replace(1, 1));
+        Assert.assertNull(map.replace(3, 3));
+    }
+
+    @Test
+    public void replaceWithOldValue()
+    {
+        ConcurrentMutableMap<Integer, Integer> map = this.newMapWithKeysValues(1, 1, 2, 2);
+        Assert.assertTrue(map.replace(1, 1, 1));
+        Assert.assertFalse(map.replace(2, 3, 3));
+    }
+
+    @Test
+    public void removeWithKeyValue()
+    {
+        ConcurrentMutableMap<Integer, Integer> map = this.newMapWithKeysValues(1, 1, 2, 2);
+        Assert.assertTrue(map.remove(1, 1));
+        Assert.assertFalse(map.remove(2, 3));
+    }
+
+    @Override
+    @Test
+    public void removeFromEntrySet()
+    {
+        MutableMap<String, Integer> map = this.newMapWithKeysValues("One", 1, "Two", 2, "Three", 3);
+        Assert.assertTrue(map.entrySet().remove(ImmutableEntry.of("Two", 2)));
+        Assert.assertEquals(UnifiedMap.newWithKeysValues("One", 1, "Three", 3), map);
+
+        Assert.assertFalse(map.entrySet().remove(ImmutableEntry.of("Four", 4)));
+        Assert.assertEquals(UnifiedMap.newWithKeysValues("One", 1, "Three", 3), map);
+    }
+
+    @Override
+    @Test
+    public void removeAllFromEntrySet()
+    {
+        MutableMap<String, Integer> map = this.newMapWithKeysValues("One", 1, "Two", 2, "Three", 3);
+        Assert.assertTrue(map.entrySet().removeAll(FastList.newListWith(
+                ImmutableEntry.of("One", 1),
+                ImmutableEntry.of("Three", 3))));
+        Assert.assertEquals(UnifiedMap.newWithKeysValues("Two", 2), map);
+
+        Assert.assertFalse(map.entrySet().removeAll(FastList.newListWith(ImmutableEntry.of("Four", 4))));
+        Assert.assertEquals(UnifiedMap.newWithKeysValues("Two", 2), map);
+    }
+
+    @Override
+    @Test
+    public void keySetEqualsAndHashCode()
+    {
+        MutableMap<String, Integer> map = this.newMapWithKeysValues("One", 1, "Two", 2, "Three", 3);
+        Verify.assertEqualsAndHashCode(UnifiedSet.newSetWith("One", "Two", "Three"), map.keySet());
+    }
+
+    @Override
+    @Test
+    public void partition_value()
+    {
+        MapIterable<String, Integer> map = this.newMapWithKeysValues(
+                "A", 1,
+                "B", 2,
+                "C", 3,
+                "D", 4);
+        PartitionIterable<Integer> partition = map.partition(IntegerPredicates.isEven());
+        Assert.assertEquals(iSet(2, 4), partition.getSelected().toSet());
+        Assert.assertEquals(iSet(1, 3), partition.getRejected().toSet());
+    }
+
+    @Override
+    @Test
+    public void partitionWith_value()
+    {
+        MapIterable<String, Integer> map = this.newMapWithKeysValues(
+                "A", 1,
+                "B", 2,
+                "C", 3,
+                "D", 4);
+        PartitionIterable<Integer> partition = map.partitionWith(Predicates2.in(), map.select(IntegerPredicates.isEven()));
+        Assert.assertEquals(iSet(2, 4), partition.getSelected().toSet());
+        Assert.assertEquals(iSet(1, 3), partition.getRejected().toSet());
+    }
+
+    @Override
+    public void equalsAndHashCode()
+    {
+        // java.util.concurrent.ConcurrentHashMap doesn't support null keys OR values
+        MapIterable<Integer, String> map = this.newMapWithKeysValues(1, "1", 2, "2", 3, "3");
+        Verify.assertPostSerializedEqualsAndHashCode(map);
+        Verify.assertEqualsAndHashCode(Maps.mutable.of(1, "1", 2, "2", 3, "3"), map);
+        Verify.assertEqualsAndHashCode(Maps.immutable.of(1, "1", 2, "2", 3, "3"), map);
+
+        Assert.assertNotEquals(map, this.newMapWithKeysValues(1, "1", 2, "2"));
+        Assert.assertNotEquals(map, this.newMapWithKeysValues(1, "1", 2, "2", 3, "3", 4, "4"));
+        Assert.assertNotEquals(map, this.newMapWithKeysValues(1, "1", 2, "2", 4, "4"));
+    }
+
+    @Test
+    public void evictsDownToMaximumSize()
+    {
+        ConcurrentCacheMap<Integer, Integer> cache = ConcurrentCacheMap.newCache(100L);
+        Interval.oneTo(1000).each(each -> cache.put(each, each));
+        cache.cleanUp();
+        Assert.assertEquals(100, cache.size());
+        Assert.assertEquals(100L, cache.weightedSize());
+        Assert.assertEquals(900L, cache.getEvictionCount());
+    }
+
+    @Test
+    public void frequentlyReadKeysSurviveScan()
+    {
+        ConcurrentCacheMap<Integer, Integer> cache = ConcurrentCacheMap.newCache(100L);
+        Interval.oneTo(100).each(each -> cache.put(each, each));
+        for (int i = 0; i < 10; i++)
+        {
+            Interval.oneTo(50).each(each -> Assert.assertEquals(each, cache.get(each)));
+            cache.cleanUp();
+        }
+        Interval.fromTo(1001, 3000).each(each -> cache.put(each, each));
+        cache.cleanUp();
+        Assert.assertTrue(Interval.oneTo(50).count(cache::containsKey) >= 45);
+        Assert.assertEquals(100, cache.size());
+    }
+
+    @Test
+    public void weightedEviction()
+    {
+        ConcurrentCacheMap<Integer, String> cache = ConcurrentCacheMap.newWeightedCache(100L, String::length);
+        Interval.oneTo(50).each(each -> cache.put(each, "0123456789"));
+        cache.cleanUp();
+        Assert.assertTrue(cache.weightedSize() <= 100L);
+        Assert.assertEquals(cache.weightedSize(), cache.size() * 10L);
+
+        cache.put(100, "01234567890123456789012345678901234567890123456789012345678901234567890123456789012345678901234567890");
+        cache.cleanUp();
+        Assert.assertFalse(cache.containsKey(100));
+    }
+
+    @Test
+    public void expireAfterWrite()
+    {
+        AtomicLong time = new AtomicLong();
+        ConcurrentCacheMap<String, Integer> cache = new ConcurrentCacheMap<>(100L, null, 10L, 0L, time::get);
+        cache.put("a", 1);
+        time.set(5L);
+        cache.put("b", 2);
+        Assert.assertEquals(Integer.valueOf(1), cache.get("a"));
+        time.set(10L);
+        Assert.assertNull(cache.get("a"));
+        Assert.assertFalse(cache.containsKey("a"));
+        Assert.assertEquals(Integer.valueOf(2), cache.get("b"));
+        Assert.assertEquals(Integer.valueOf(3), cache.getIfAbsentPut("a", () -> 3));
+        cache.cleanUp();
+        Assert.assertEquals(UnifiedMap.newWithKeysValues("a", 3, "b", 2), cache);
+        time.set(15L);
+        cache.cleanUp();
+        Assert.assertEquals(UnifiedMap.newWithKeysValues("a", 3), cache);
+        Assert.assertEquals(1L, cache.getEvictionCount());
+    }
+
+    @Test
+    public void expireAfterAccess()
+    {
+        AtomicLong time = new AtomicLong();
+        ConcurrentCacheMap<String, Integer> cache = new ConcurrentCacheMap<>(100L, null, 0L, 10L, time::get);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        time.set(8L);
+        Assert.assertEquals(Integer.valueOf(1), cache.get("a"));
+        time.set(12L);
+        Assert.assertEquals(Integer.valueOf(1), cache.get("a"));
+        Assert.assertNull(cache.get("b"));
+        cache.cleanUp();
+        Assert.assertEquals(UnifiedMap.newWithKeysValues("a", 1), cache);
+    }
+
+    @Test
+    public void getIfAbsentPutComputesOnce()
+    {
+        ConcurrentCacheMap<String, Integer> cache = ConcurrentCacheMap.newCache(100L);
+        AtomicInteger calls = new AtomicInteger();
+        ParallelIterate.forEach(Interval.oneTo(1000), each -> Assert.assertEquals(
+                Integer.valueOf(42),
+                cache.getIfAbsentPut("key", () ->
+                {
+                    calls.incrementAndGet();
+                    return 42;
+                })), 1);
+        Assert.assertEquals(1, calls.get());
+        Assert.assertEquals(1000L, cache.getHitCount() + cache.getMissCount());
+    }
+
+    @Test
+    public void loaderWritesToCache()
+    {
+        ConcurrentCacheMap<String, Integer> cache = ConcurrentCacheMap.newCache(100L);
+        // "Aa" and "BB" have the same hash code, so they share a bin of the underlying map
+        Assert.assertEquals("Aa".hashCode(), "BB".hashCode());
+        Assert.assertEquals(Integer.valueOf(1), cache.getIfAbsentPut("Aa", () ->
+        {
+            cache.put("BB", 2);
+            return cache.getIfAbsentPutWithKey("C", each -> 3) - 2;
+        }));
+        Assert.assertEquals(UnifiedMap.newWithKeysValues("Aa", 1, "BB", 2, "C", 3), cache);
+
+        // A value the loader writes for its own key is kept
+        Assert.assertEquals(Integer.valueOf(4), cache.getIfAbsentPut("D", () ->
+        {
+            cache.put("D", 4);
+            return 5;
+        }));
+        Assert.assertEquals(Integer.valueOf(4), cache.get("D"));
+    }
+
+    @Test
+    public void recursiveLoadOfSameKeyThrows()
+    {
+        ConcurrentCacheMap<String, Integer> cache = ConcurrentCacheMap.newCache(100L);
+        Assert.assertThrows(IllegalStateException.class, () -> cache.getIfAbsentPut("a", () -> cache.getIfAbsentPut("a", () -> 1)));
+        Verify.assertEmpty(cache);
+        Assert.assertEquals(Integer.valueOf(2), cache.getIfAbsentPut("a", () -> 2));
+    }
+
+    @Test
+    public void failedLoadIsNotCached()
+    {
+        ConcurrentCacheMap<String, Integer> cache = ConcurrentCacheMap.newCache(100L);
+        Assert.assertThrows(IllegalArgumentException.class, () -> cache.getIfAbsentPut("a", () ->
+        {
+            throw new IllegalArgumentException();
+        }));
+        Verify.assertEmpty(cache);
+        Assert.assertEquals(Integer.valueOf(1), cache.getIfAbsentPutWithKey("a", String::length));
+    }
+
+    @Test
+    public void hitAndMissCounts()
+    {
+        ConcurrentCacheMap<String, Integer> cache = ConcurrentCacheMap.newCache(100L);
+        cache.put("a", 1);
+        Assert.assertEquals(Integer.valueOf(1), cache.get("a"));
+        Assert.assertNull(cache.get("b"));
+        Assert.assertEquals(Integer.valueOf(2), cache.getIfAbsentPut("b", () -> 2));
+        Assert.assertEquals(Integer.valueOf(2), cache.getIfAbsentValue("b", 3));
+        Assert.assertEquals(2L, cache.getHitCount());
+        Assert.assertEquals(2L, cache.getMissCount());
+        Assert.assertEquals(0.5, cache.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void concurrentWritesStayBounded()
+    {
+        ConcurrentCacheMap<Integer, Integer> cache = ConcurrentCacheMap.newCache(1000L);
+        ParallelIterate.forEach(Interval.oneTo(100000), each ->
+        {
+            cache.put(each, each);
+            cache.get(each / 2);
+        }, 100);
+        cache.cleanUp();
+        Assert.assertEquals(1000, cache.size());
+        Assert.assertEquals(1000L, cache.weightedSize());
+        Assert.assertEquals(99000L, cache.getEvictionCount());
+    }
+
+    @Test
+    public void serializedCacheKeepsConfiguration()
+    {
+        ConcurrentCacheMap<Integer, Integer> cache = ConcurrentCacheMap.newCache(10L);
+        Interval.oneTo(5).each(each -> cache.put(each, each));
+        ConcurrentCacheMap<Integer, Integer> copy = SerializeTestHelper.serializeDeserialize(cache);
+        Assert.assertEquals(cache, copy);
+        Assert.assertEquals(10L, copy.getMaximumWeight());
+    }
+
+    @Test
+    public void equalsSkipsExpiredEntries()
+    {
+        AtomicLong time = new AtomicLong();
+        ConcurrentCacheMap<String, Integer> cache = new ConcurrentCacheMap<>(100L, null, 10L, 0L, time::get);
+        cache.put("a", 1);
+        time.set(5L);
+        cache.put("b", 2);
+        time.set(10L);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(cache, UnifiedMap.newWithKeysValues("b", 2));
+        Assert.assertNotEquals(cache, UnifiedMap.newWithKeysValues("a", 1, "b", 2));
+        Assert.assertNotEquals(cache, UnifiedMap.newWithKeysValues("b", 2, "c", 3));
+    }
+
+    @Test
+    public void newEmptyKeepsConfiguration()
+    {
+        AtomicLong time = new AtomicLong();
+        ConcurrentCacheMap<String, Integer> cache = new ConcurrentCacheMap<>(2L, null, 10L, 0L, time::get);
+        cache.put("a", 1);
+
+        MutableMap<String, Integer> empty = cache.newEmpty(16);
+        Verify.assertInstanceOf(ConcurrentCacheMap.class, empty);
+        Verify.assertEmpty(empty);
+        Assert.assertEquals(2L, ((ConcurrentCacheMap<String, Integer>) empty).getMaximumWeight());
+        Interval.oneTo(10).each(each -> empty.put(String.valueOf(each), each));
+        ((ConcurrentCacheMap<String, Integer>) empty).cleanUp();
+        Assert.assertEquals(2, empty.size());
+        time.set(10L);
+        Assert.assertEquals(empty, UnifiedMap.newMap());
+
+        Verify.assertInstanceOf(ConcurrentCacheMap.class, cache.newEmpty());
+        Verify.assertInstanceOf(ConcurrentCacheMap.class, cache.clone());
+    }
+}
@@ -273,6 +273,101 @@ public class ConcurrentHashMapTest extends ConcurrentHashMapTestCase
         Verify.assertEqualsAndHashCode(SMALL_BAG_MUTABLE_MAP, actual);
     }
 
+    @Test
+    public void parallelForEachKeyValueWithThreshold()
+    {
+        ConcurrentHashMap<Integer, Integer> source =
+                ConcurrentHashMap.newMap(Interval.oneTo(10000).toMap(Functions.getIntegerPassThru(), Functions.getIntegerPassThru()));
+        ConcurrentHashMap<Integer, Integer> counts = ConcurrentHashMap.newMap();
+        source.parallelForEachKeyValue(1L, (key, value) -> counts.updateValue(key, () -> 0, count -> count + 1), this.executor);
+        Assert.assertEquals(Interval.oneTo(10000).toSet(), counts.keySet());
+        Assert.assertTrue(counts.allSatisfy(count -> count == 1));
+
+        ConcurrentHashMap<Integer, Integer> sequentialCounts = ConcurrentHashMap.newMap();
+        source.parallelForEachKeyValue(Long.MAX_VALUE, (key, value) -> sequentialCounts.updateValue(key, () -> 0, count -> count + 1), this.executor);
+        Assert.assertEquals(counts, sequentialCounts);
+    }
+
+    @Test
+    public void parallelForEachKeyValueWhileResizing()
+    {
+        ConcurrentHashMap<Integer, Integer> source = ConcurrentHashMap.newMap(16);
+        Interval.oneTo(1000).each(each -> source.put(each, each));
+        ConcurrentHashMap<Integer, Integer> counts = ConcurrentHashMap.newMap();
+        source.parallelForEachKeyValue(1L, (key, value) ->
+        {
+            counts.updateValue(key, () -> 0, count -> count + 1);
+            if (key <= 1000)
+            {
+                for (int i = 1; i <= 10; i++)
+                {
+                    source.put(key * 1000 + i, 0);
+                }
+            }
+        }, this.executor);
+        Verify.assertSize(11000, source);
+        Interval.oneTo(1000).each(each -> Assert.assertEquals(Integer.valueOf(1), counts.get(each)));
+    }
+
+    @Test
+    public void parallelForEachKeyValueRethrowsProcedureFailure()
+    {
+        ConcurrentHashMap<Integer, Integer> source =
+                ConcurrentHashMap.newMap(Interval.oneTo(10000).toMap(Functions.getIntegerPassThru(), Functions.getIntegerPassThru()));
+        IllegalStateException failure = new IllegalStateException("failed on 5000");
+        IllegalStateException thrown = Assert.assertThrows(IllegalStateException.class, () -> source.parallelForEachKeyValue(1L, (key, value) ->
+        {
+            if (key == 5000)
+            {
+                throw failure;
+            }
+        }, this.executor));
+        Assert.assertSame(failure, thrown);
+    }
+
+    @Test
+    public void parallelForEachKeyValueRestoresInterrupt()
+    {
+        ConcurrentHashMap<Integer, Integer> source =
+                ConcurrentHashMap.newMap(Interval.oneTo(10000).toMap(Functions.getIntegerPassThru(), Functions.getIntegerPassThru()));
+        Thread.currentThread().interrupt();
+        RuntimeException thrown = Assert.assertThrows(RuntimeException.class, () -> source.parallelForEachKeyValue(1L, (key, value) -> { }, task -> { }));
+        Verify.assertInstanceOf(InterruptedException.class, thrown.getCause());
+        Assert.assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    public void parallelReduce()
+    {
+        ConcurrentHashMap<Integer, Integer> source =
+                ConcurrentHashMap.newMap(Interval.oneTo(10000).toMap(Functions.getIntegerPassThru(), Functions.getIntegerPassThru()));
+        Long sum = source.parallelReduce(1L, (key, value) -> (long) key + value, Long::sum, this.executor);
+        Assert.assertEquals(Long.valueOf(100010000L), sum);
+
+        Integer max = source.parallelReduce(1000L, (key, value) -> value % 7 == 0 ? value : null, Math::max, this.executor);
+        Assert.assertEquals(Integer.valueOf(9996), max);
+
+        Assert.assertNull(ConcurrentHashMap.<Integer, Integer>newMap().parallelReduce(1L, (key, value) -> key, Math::max, this.executor));
+    }
+
+    @Test
+    public void parallelSelect()
+    {
+        ConcurrentHashMap<Integer, Integer> source =
+                ConcurrentHashMap.newMap(Interval.oneTo(10000).toMap(Functions.getIntegerPassThru(), each -> -each));
+        ConcurrentHashMap<Integer, Integer> actual = source.parallelSelect(1L, (key, value) -> key % 3 == 0, this.executor);
+        Verify.assertEqualsAndHashCode(source.select((key, value) -> key % 3 == 0), actual);
+    }
+
+    @Test
+    public void parallelAggregateBy()
+    {
+        ConcurrentHashMap<Integer, Integer> source =
+                ConcurrentHashMap.newMap(Interval.oneTo(10000).toMap(Functions.getIntegerPassThru(), Functions.getIntegerPassThru()));
+        ConcurrentHashMap<Integer, Long> actual = source.parallelAggregateBy(1L, each -> each % 10, () -> 0L, (sum, each) -> sum + each, this.executor);
+        Verify.assertEqualsAndHashCode(source.aggregateBy(each -> each % 10, () -> 0L, (sum, each) -> sum + each), actual);
+    }
+
     @Test
     public void putAllInParallelSmallMap()
     {
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link OpenAddressingHashMap}.
+ */
+public class OpenAddressingHashMapTest extends MutableMapTestCase
+{
+    @Override
+    public <K, V> MutableMap<K, V> newMap()
+    {
+        return OpenAddressingHashMap.newMap();
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return OpenAddressingHashMap.newWithKeysValues(key, value);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return OpenAddressingHashMap.newWithKeysValues(key1, value1, key2, value2);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return OpenAddressingHashMap.newWithKeysValues(key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return OpenAddressingHashMap.newWithKeysValues(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    @Test
+    public void factory()
+    {
+        Verify.assertInstanceOf(OpenAddressingHashMap.class, Maps.mutable.emptyOpenAddressing());
+        Verify.assertInstanceOf(OpenAddressingHashMap.class, Maps.mutable.withInitialCapacityOpenAddressing(100));
+        Assert.assertThrows(IllegalArgumentException.class, () -> OpenAddressingHashMap.newMap(-1));
+    }
+
+    @Test
+    public void putGetRemoveManyAgainstHashMap()
+    {
+        OpenAddressingHashMap<Integer, String> map = OpenAddressingHashMap.newMap();
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++)
+        {
+            Assert.assertEquals(expected.put(i, String.valueOf(i)), map.put(i, String.valueOf(i)));
+        }
+        for (int i = 0; i < 10_000; i += 3)
+        {
+            Assert.assertEquals(expected.remove(i), map.remove(i));
+        }
+        for (int i = 5_000; i < 15_000; i++)
+        {
+            Assert.assertEquals(expected.put(i, "x" + i), map.put(i, "x" + i));
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        for (int i = -10; i < 16_000; i++)
+        {
+            Assert.assertEquals(expected.get(i), map.get(i));
+            Assert.assertEquals(expected.containsKey(i), map.containsKey(i));
+        }
+    }
+
+    @Test
+    public void collidingKeys()
+    {
+        OpenAddressingHashMap<CollidingKey, Integer> map = OpenAddressingHashMap.newMap();
+        Interval.zeroTo(99).each(each -> map.put(new CollidingKey(each), each));
+        Verify.assertSize(100, map);
+        Interval.zeroTo(99).each(each -> Assert.assertEquals(each, map.get(new CollidingKey(each))));
+        Interval.zeroTo(99).select(each -> each % 2 == 0).each(each -> Assert.assertEquals(each, map.remove(new CollidingKey(each))));
+        Verify.assertSize(50, map);
+        Interval.zeroTo(99).each(each -> Assert.assertEquals(each % 2 == 0 ? null : each, map.get(new CollidingKey(each))));
+        Interval.zeroTo(99).select(each -> each % 2 == 0).each(each -> map.put(new CollidingKey(each), -each));
+        Interval.zeroTo(99).each(each -> Assert.assertEquals(each % 2 == 0 ? Integer.valueOf(-each) : each, map.get(new CollidingKey(each))));
+    }
+
+    @Test
+    public void removeAndReinsertDoesNotGrowUnbounded()
+    {
+        OpenAddressingHashMap<Integer, Integer> map = OpenAddressingHashMap.newMap(16);
+        int words = map.getMapMemoryUsedInWords();
+        for (int i = 0; i < 100_000; i++)
+        {
+            map.put(i, i);
+            map.remove(i);
+        }
+        Verify.assertEmpty(map);
+        Assert.assertEquals(words, map.getMapMemoryUsedInWords());
+    }
+
+    @Test
+    public void trimToSize()
+    {
+        OpenAddressingHashMap<Integer, Integer> map = OpenAddressingHashMap.newMap();
+        Interval.oneTo(1000).each(each -> map.put(each, each));
+        Interval.oneTo(990).each(map::remove);
+        int words = map.getMapMemoryUsedInWords();
+        Assert.assertTrue(map.trimToSize());
+        Assert.assertTrue(map.getMapMemoryUsedInWords() < words);
+        Assert.assertEquals(0, map.getDeletedSlots());
+        Assert.assertEquals(Interval.fromTo(991, 1000).toSet(), map.keySet());
+        Assert.assertFalse(map.trimToSize());
+    }
+
+    @Test
+    public void iteratorRemove()
+    {
+        OpenAddressingHashMap<Integer, Integer> map = OpenAddressingHashMap.newMap();
+        Interval.oneTo(100).each(each -> map.put(each, each));
+        for (Iterator<Integer> iterator = map.keySet().iterator(); iterator.hasNext(); )
+        {
+            if (iterator.next() % 10 != 0)
+            {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(Interval.fromToBy(10, 100, 10).toSet(), map.keySet());
+    }
+
+    @Test
+    public void serializationOfLargeMap()
+    {
+        OpenAddressingHashMap<Integer, String> map = OpenAddressingHashMap.newMap();
+        Interval.oneTo(1000).each(each -> map.put(each, each.toString()));
+        map.put(null, "null");
+        Assert.assertEquals(map, SerializeTestHelper.serializeDeserialize(map));
+    }
+
+    private static final class CollidingKey
+    {
+        private final int value;
+
+        private CollidingKey(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            return obj instanceof CollidingKey && ((CollidingKey) obj).value == this.value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.value & 1;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.mutable.primitive;
+
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProbeStatisticsTest
+{
+    @Test
+    public void histogram()
+    {
+        ProbeStatistics statistics = new ProbeStatistics(16, 5, 3, 2, new int[]{1, 3, 1, 1, 2});
+        Assert.assertEquals(16, statistics.getCapacity());
+        Assert.assertEquals(5, statistics.getOccupiedWithData());
+        Assert.assertEquals(3, statistics.getOccupiedWithSentinels());
+        Assert.assertEquals(2, statistics.getRehashCount());
+        Assert.assertEquals(0.375, statistics.getTombstoneRatio(), 0.0);
+        Assert.assertEquals(0.5, statistics.getLoadFactor(), 0.0);
+        Assert.assertEquals(IntLists.immutable.with(3, 1, 1), statistics.getProbeLengthHistogram());
+        Assert.assertEquals(3, statistics.getProbeLengthCount(1));
+        Assert.assertEquals(1, statistics.getProbeLengthCount(3));
+        Assert.assertEquals(0, statistics.getProbeLengthCount(0));
+        Assert.assertEquals(0, statistics.getProbeLengthCount(4));
+        Assert.assertEquals(3, statistics.getMaxProbeLength());
+        Assert.assertEquals(1.6, statistics.getMeanProbeLength(), 1.0e-9);
+        Assert.assertEquals(
+                "ProbeStatistics{capacity=16, occupiedWithData=5, occupiedWithSentinels=3, rehashCount=2, meanProbeLength=1.600, probeLengthHistogram=[3, 1, 1]}",
+                statistics.toString());
+    }
+
+    @Test
+    public void empty()
+    {
+        ProbeStatistics statistics = new IntIntHashMap().getProbeStatistics();
+        Assert.assertEquals(0, statistics.getOccupiedWithData());
+        Assert.assertEquals(0.0, statistics.getTombstoneRatio(), 0.0);
+        Assert.assertEquals(0.0, statistics.getLoadFactor(), 0.0);
+        Assert.assertEquals(0, statistics.getMaxProbeLength());
+        Assert.assertEquals(0.0, statistics.getMeanProbeLength(), 0.0);
+        Assert.assertTrue(statistics.getProbeLengthHistogram().isEmpty());
+    }
+
+    @Test
+    public void clusteredKeys()
+    {
+        // every key is a multiple of the capacity, so every key has the same home slot
+        IntIntHashMap map = new IntIntHashMap(32);
+        int capacity = map.getProbeStatistics().getCapacity();
+        for (int i = 1; i <= 6; i++)
+        {
+            map.put(i * capacity, i);
+        }
+
+        ProbeStatistics statistics = map.getProbeStatistics();
+        Assert.assertEquals(capacity, statistics.getCapacity());
+        Assert.assertEquals(0, statistics.getRehashCount());
+        Assert.assertEquals(1, statistics.getProbeLengthCount(1));
+        Assert.assertEquals(1, statistics.getProbeLengthCount(2));
+        Assert.assertEquals(1, statistics.getProbeLengthCount(3));
+        Assert.assertEquals(1, statistics.getProbeLengthCount(4));
+        Assert.assertTrue(statistics.getMaxProbeLength() >= 5);
+        Assert.assertEquals(6L, statistics.getProbeLengthHistogram().sum());
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.immutable;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.map.sorted.ImmutableSortedMap;
+import org.eclipse.collections.api.map.sorted.SortedMapIterable;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.factory.SortedMaps;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.sorted.mutable.TreeSortedMap;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.utility.internal.ImmutableThresholds;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutableBalancedTreeMap}.
+ */
+public class ImmutableBalancedTreeMapTest extends ImmutableSortedMapTestCase
+{
+    @Override
+    protected ImmutableSortedMap<Integer, String> classUnderTest()
+    {
+        return new ImmutableBalancedTreeMap<>(TreeSortedMap.newMapWith(1, "1", 2, "2", 3, "3", 4, "4"));
+    }
+
+    @Override
+    protected ImmutableSortedMap<Integer, String> classUnderTest(Comparator<? super Integer> comparator)
+    {
+        return new ImmutableBalancedTreeMap<>(TreeSortedMap.newMapWith(comparator, 1, "1", 2, "2", 3, "3", 4, "4"));
+    }
+
+    @Override
+    protected <K, V> MapIterable<K, V> newMap()
+    {
+        return new ImmutableBalancedTreeMap<>(TreeSortedMap.newMap());
+    }
+
+    @Override
+    protected <K, V> MapIterable<K, V> newMapWithKeyValue(K key1, V value1)
+    {
+        return new ImmutableBalancedTreeMap<>(TreeSortedMap.newMapWith(key1, value1));
+    }
+
+    @Override
+    protected <K, V> MapIterable<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return new ImmutableBalancedTreeMap<>(TreeSortedMap.newMapWith(key1, value1, key2, value2));
+    }
+
+    @Override
+    protected <K, V> MapIterable<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return new ImmutableBalancedTreeMap<>(TreeSortedMap.newMapWith(key1, value1, key2, value2, key3, value3));
+    }
+
+    @Override
+    protected <K, V> MapIterable<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return new ImmutableBalancedTreeMap<>(TreeSortedMap.newMapWith(key1, value1, key2, value2, key3, value3, key4, value4));
+    }
+
+    @Override
+    protected int size()
+    {
+        return 4;
+    }
+
+    @Override
+    @Test
+    public void testToString()
+    {
+        Assert.assertEquals("{1=1, 2=2, 3=3, 4=4}", this.classUnderTest().toString());
+        Assert.assertEquals("{4=4, 3=3, 2=2, 1=1}", this.classUnderTest(Comparators.reverseNaturalOrder()).toString());
+        Assert.assertEquals("{}", new ImmutableBalancedTreeMap<>(new TreeSortedMap<>()).toString());
+    }
+
+    @Test
+    public void firstKeyAndLastKey()
+    {
+        Assert.assertEquals(Integer.valueOf(1), this.classUnderTest().castToSortedMap().firstKey());
+        Assert.assertEquals(Integer.valueOf(4), this.classUnderTest().castToSortedMap().lastKey());
+        Assert.assertEquals(Integer.valueOf(4), this.classUnderTest(Comparators.reverseNaturalOrder()).castToSortedMap().firstKey());
+        Assert.assertThrows(NoSuchElementException.class, () -> new ImmutableBalancedTreeMap<>(new TreeSortedMap<>()).firstKey());
+        Assert.assertThrows(NoSuchElementException.class, () -> new ImmutableBalancedTreeMap<>(new TreeSortedMap<>()).lastKey());
+    }
+
+    @Test
+    public void factoryThreshold()
+    {
+        TreeSortedMap<Integer, String> map = TreeSortedMap.newMap();
+        Interval.oneTo(ImmutableThresholds.PERSISTENT_SIZE - 1).each(each -> map.put(each, String.valueOf(each)));
+        Verify.assertInstanceOf(ImmutableTreeMap.class, map.toImmutable());
+
+        ImmutableSortedMap<Integer, String> large = map.with(0, "0").toImmutable();
+        Verify.assertInstanceOf(ImmutableBalancedTreeMap.class, large);
+        Assert.assertEquals(map, large);
+        Assert.assertSame(large, SortedMaps.immutable.withSortedMap(large.castToSortedMap()));
+        Verify.assertInstanceOf(ImmutableBalancedTreeMap.class, large.newWithKeyValue(-1, "-1"));
+    }
+
+    @Test
+    public void structuralSharing()
+    {
+        ImmutableSortedMap<Integer, String> original = this.classUnderTest();
+        ImmutableSortedMap<Integer, String> added = original.newWithKeyValue(5, "5");
+        ImmutableSortedMap<Integer, String> removed = added.newWithoutKey(2);
+
+        Assert.assertEquals(TreeSortedMap.newMapWith(1, "1", 2, "2", 3, "3", 4, "4"), original);
+        Assert.assertEquals(TreeSortedMap.newMapWith(1, "1", 2, "2", 3, "3", 4, "4").with(5, "5"), added);
+        Assert.assertEquals(TreeSortedMap.newMapWith(1, "1", 3, "3", 4, "4").with(5, "5"), removed);
+
+        Assert.assertSame(original, original.newWithoutKey(5));
+        Assert.assertSame(original, original.newWithKeyValue(1, original.get(1)));
+        Assert.assertEquals("one", original.newWithKeyValue(1, "one").get(1));
+        Assert.assertSame(original, original.take(4));
+        Assert.assertSame(original, original.drop(0));
+        Assert.assertSame(original, original.castToSortedMap().tailMap(0));
+        Verify.assertEmpty(original.newWithoutAllKeys(Interval.oneTo(4)));
+    }
+
+    @Test
+    public void rangeViews()
+    {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Interval.fromToBy(0, 20_000, 2).each(each -> expected.put(each, String.valueOf(each)));
+        SortedMap<Integer, String> map = new ImmutableBalancedTreeMap<>(expected);
+
+        Random random = new Random(42L);
+        for (int i = 0; i < 1_000; i++)
+        {
+            int from = random.nextInt(20_100) - 50;
+            int to = from + random.nextInt(20_100 - from);
+            Assert.assertEquals(expected.headMap(to), map.headMap(to));
+            Assert.assertEquals(expected.tailMap(from), map.tailMap(from));
+            SortedMap<Integer, String> subMap = map.subMap(from, to);
+            Assert.assertEquals(expected.subMap(from, to), subMap);
+            Assert.assertEquals(FastList.newList(expected.subMap(from, to).keySet()), FastList.newList(subMap.keySet()));
+            Verify.assertInstanceOf(ImmutableSortedMap.class, subMap);
+        }
+        Assert.assertThrows(IllegalArgumentException.class, () -> map.subMap(10, 0));
+        Verify.assertEmpty(map.headMap(0));
+        Verify.assertEmpty(map.subMap(3, 3));
+    }
+
+    @Test
+    public void chainedRangeViewsOverEmptyRanges()
+    {
+        SortedMap<Integer, String> map = new ImmutableBalancedTreeMap<>(SortedMaps.mutable.with(2, "2", 4, "4", 6, "6"));
+        Verify.assertEmpty(map.headMap(1).headMap(0));
+        Verify.assertEmpty(map.headMap(1).tailMap(0));
+        Verify.assertEmpty(map.tailMap(7).subMap(8, 9));
+        Verify.assertEmpty(map.subMap(3, 3).headMap(5));
+
+        SortedMap<Integer, String> reversed = new ImmutableBalancedTreeMap<>(SortedMaps.mutable.with(Comparators.reverseNaturalOrder(), 2, "2", 4, "4"));
+        SortedMap<Integer, String> emptyReversed = reversed.headMap(4);
+        Verify.assertEmpty(emptyReversed);
+        Assert.assertSame(reversed.comparator(), emptyReversed.comparator());
+        Verify.assertEmpty(emptyReversed.tailMap(3));
+        Verify.assertEmpty(((ImmutableSortedMap<Integer, String>) reversed).drop(2).take(1));
+    }
+
+    @Test
+    public void withoutToEmptyThenNewWith()
+    {
+        ImmutableSortedMap<Integer, String> map = new ImmutableBalancedTreeMap<>(SortedMaps.mutable.with(1, "1", 2, "2"));
+        ImmutableSortedMap<Integer, String> empty = map.newWithoutKey(1).newWithoutKey(2);
+        Verify.assertEmpty(empty);
+        Verify.assertInstanceOf(ImmutableBalancedTreeMap.class, empty);
+        Verify.assertEmpty(empty.castToSortedMap().headMap(3));
+        ImmutableSortedMap<Integer, String> refilled = empty.newWithKeyValue(3, "3").newWithKeyValue(1, "1");
+        Verify.assertInstanceOf(ImmutableBalancedTreeMap.class, refilled);
+        Assert.assertEquals(SortedMaps.mutable.with(1, "1", 3, "3"), refilled);
+        Assert.assertEquals(FastList.newListWith(1, 3), refilled.keysView().toList());
+
+        ImmutableSortedMap<Integer, String> reversed =
+                new ImmutableBalancedTreeMap<>(SortedMaps.mutable.with(Comparators.reverseNaturalOrder(), 1, "1")).newWithoutKey(1);
+        Verify.assertInstanceOf(ImmutableBalancedTreeMap.class, reversed);
+        Assert.assertEquals(FastList.newListWith(3, 1), reversed.newWithKeyValue(1, "1").newWithKeyValue(3, "3").keysView().toList());
+        Verify.assertInstanceOf(ImmutableBalancedTreeMap.class, map.drop(2));
+    }
+
+    @Test
+    public void takeAndDrop()
+    {
+        TreeSortedMap<Integer, String> expected = TreeSortedMap.newMap(Comparators.reverseNaturalOrder());
+        Interval.oneTo(5_000).each(each -> expected.put(each, String.valueOf(each)));
+        ImmutableSortedMap<Integer, String> map = new ImmutableBalancedTreeMap<>(expected);
+        for (int count = 0; count <= 5_000; count += 37)
+        {
+            SortedMapIterable<Integer, String> take = map.take(count);
+            SortedMapIterable<Integer, String> drop = map.drop(count);
+            Assert.assertEquals(expected.take(count), take);
+            Assert.assertEquals(expected.drop(count), drop);
+            Assert.assertEquals(expected.take(count).keysView().toList(), take.keysView().toList());
+            Assert.assertSame(expected.comparator(), take.comparator());
+            Assert.assertSame(expected.comparator(), drop.comparator());
+        }
+    }
+
+    @Test
+    public void randomOperations()
+    {
+        Random random = new Random(102030405060708090L);
+        TreeSortedMap<Integer, Integer> expected = TreeSortedMap.newMap();
+        ImmutableSortedMap<Integer, Integer> map = new ImmutableBalancedTreeMap<>(TreeSortedMap.newMap());
+        ImmutableSortedMap<Integer, Integer> snapshot = map;
+        TreeSortedMap<Integer, Integer> expectedSnapshot = TreeSortedMap.newMap();
+        for (int i = 0; i < 20_000; i++)
+        {
+            int key = random.nextInt(3_000);
+            if (random.nextInt(3) == 0)
+            {
+                expected.remove(key);
+                map = map.newWithoutKey(key);
+            }
+            else
+            {
+                expected.put(key, i);
+                map = map.newWithKeyValue(key, i);
+            }
+            if (i % 5_000 == 0)
+            {
+                snapshot = map;
+                expectedSnapshot = TreeSortedMap.newMap(expected);
+            }
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        Assert.assertEquals(expected.keysView().toList(), map.keysView().toList());
+        Assert.assertEquals(expected.valuesView().toList(), map.valuesView().toList());
+        Assert.assertEquals(expectedSnapshot, snapshot);
+    }
+
+    @Test
+    public void sequentialInsertion()
+    {
+        ImmutableSortedMap<Integer, Integer> ascending = new ImmutableBalancedTreeMap<>(TreeSortedMap.newMap());
+        ImmutableSortedMap<Integer, Integer> descending = ascending;
+        for (int i = 0; i < 100_000; i++)
+        {
+            ascending = ascending.newWithKeyValue(i, i);
+            descending = descending.newWithKeyValue(-i, i);
+        }
+        Verify.assertSize(100_000, ascending);
+        Assert.assertEquals(Interval.zeroTo(99_999), ascending.keysView().toList());
+        Assert.assertEquals(Integer.valueOf(-99_999), descending.castToSortedMap().firstKey());
+        Verify.assertEmpty(ascending.newWithoutAllKeys(Interval.zeroTo(99_999)));
+    }
+
+    @Test
+    public void serialization()
+    {
+        TreeSortedMap<Integer, String> map = TreeSortedMap.newMap(Comparators.reverseNaturalOrder());
+        Interval.oneTo(5_000).each(each -> map.put(each, String.valueOf(each)));
+        ImmutableSortedMap<Integer, String> immutable = new ImmutableBalancedTreeMap<>(map);
+        ImmutableSortedMap<Integer, String> deserialized = SerializeTestHelper.serializeDeserialize(immutable);
+        Verify.assertInstanceOf(ImmutableBalancedTreeMap.class, deserialized);
+        Verify.assertEqualsAndHashCode(immutable, deserialized);
+        Assert.assertEquals(immutable.keysView().toList(), deserialized.keysView().toList());
+    }
+}
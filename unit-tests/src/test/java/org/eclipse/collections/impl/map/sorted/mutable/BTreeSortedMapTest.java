@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.map.sorted.mutable;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.eclipse.collections.api.map.sorted.MutableSortedMap;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link BTreeSortedMap}.
+ */
+public class BTreeSortedMapTest extends MutableSortedMapTestCase
+{
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMap()
+    {
+        return BTreeSortedMap.newMap();
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return BTreeSortedMap.newMapWith(key, value);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return BTreeSortedMap.newMapWith(key1, value1, key2, value2);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeysValues(
+            K key1, V value1, K key2, V value2, K key3,
+            V value3)
+    {
+        return BTreeSortedMap.newMapWith(key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeysValues(
+            K key1, V value1, K key2, V value2, K key3,
+            V value3, K key4, V value4)
+    {
+        return BTreeSortedMap.newMapWith(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMap(Comparator<? super K> comparator)
+    {
+        return BTreeSortedMap.newMap(comparator);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeyValue(Comparator<? super K> comparator, K key, V value)
+    {
+        return BTreeSortedMap.<K, V>newMap(comparator).with(key, value);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeysValues(Comparator<? super K> comparator, K key1, V value1, K key2, V value2)
+    {
+        return BTreeSortedMap.<K, V>newMap(comparator).with(key1, value1, key2, value2);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeysValues(
+            Comparator<? super K> comparator,
+            K key1, V value1, K key2, V value2, K key3,
+            V value3)
+    {
+        return BTreeSortedMap.<K, V>newMap(comparator).with(key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    public <K, V> BTreeSortedMap<K, V> newMapWithKeysValues(
+            Comparator<? super K> comparator,
+            K key1, V value1, K key2, V value2, K key3,
+            V value3, K key4, V value4)
+    {
+        return BTreeSortedMap.<K, V>newMap(comparator).with(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    @Test
+    public void testConstructors()
+    {
+        UnifiedMap<Integer, String> unifiedMap = UnifiedMap.newWithKeysValues(1, "One", 2, "Two", 3, "Three");
+        BTreeSortedMap<Integer, String> sortedMap = BTreeSortedMap.newMap(unifiedMap);
+        BTreeSortedMap<Integer, String> revSortedMap = BTreeSortedMap.newMap(
+                Comparators.reverseNaturalOrder(),
+                unifiedMap);
+
+        Verify.assertMapsEqual(unifiedMap, sortedMap);
+        Verify.assertMapsEqual(unifiedMap, revSortedMap);
+        Verify.assertListsEqual(FastList.newListWith(1, 2, 3), sortedMap.keySet().toList());
+        Verify.assertListsEqual(FastList.newListWith(3, 2, 1), revSortedMap.keySet().toList());
+
+        BTreeSortedMap<Integer, String> sortedMap2 = BTreeSortedMap.newMap(revSortedMap);
+        Assert.assertEquals(revSortedMap.comparator(), sortedMap2.comparator());
+        Verify.assertMapsEqual(revSortedMap, sortedMap2);
+    }
+
+    @Test
+    public void newMapWithPairs()
+    {
+        BTreeSortedMap<Integer, Integer> revSortedMap = BTreeSortedMap.newMapWith(Comparators.<Integer>reverseNaturalOrder(),
+                Tuples.pair(1, 4), Tuples.pair(2, 3), Tuples.pair(3, 2), Tuples.pair(4, 1));
+
+        Verify.assertSize(4, revSortedMap);
+
+        Verify.assertMapsEqual(
+                UnifiedMap.newMapWith(Tuples.pair(1, 4), Tuples.pair(2, 3), Tuples.pair(3, 2), Tuples.pair(4, 1)),
+                revSortedMap);
+        Verify.assertListsEqual(FastList.newListWith(4, 3, 2, 1), revSortedMap.keySet().toList());
+        Verify.assertListsEqual(FastList.newListWith(1, 2, 3, 4), revSortedMap.valuesView().toList());
+    }
+
+    @Override
+    @Test
+    public void testClone()
+    {
+        super.testClone();
+        BTreeSortedMap<Integer, Integer> sortedMap = BTreeSortedMap.<Integer, Integer>newMapWith(Tuples.pair(1, 4), Tuples.pair(2, 3), Tuples.pair(3, 2), Tuples.pair(4, 1));
+        MutableSortedMap<Integer, Integer> clone = sortedMap.clone();
+        Assert.assertNotSame(sortedMap, clone);
+        Assert.assertEquals(sortedMap, clone);
+        sortedMap.removeKey(1);
+        Assert.assertTrue(clone.containsKey(1));
+    }
+
+    @Test
+    public void bulkLoad()
+    {
+        TreeMap<Integer, String> expected = new TreeMap<>(Comparators.reverseNaturalOrder());
+        Interval.oneTo(100_000).each(each -> expected.put(each, String.valueOf(each)));
+        BTreeSortedMap<Integer, String> map = new BTreeSortedMap<>(expected);
+        Assert.assertSame(expected.comparator(), map.comparator());
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(FastList.newList(expected.keySet()), map.keysView().toList());
+
+        BTreeSortedMap<Integer, String> putAll = BTreeSortedMap.newMap(Comparators.reverseNaturalOrder());
+        putAll.putAll(expected);
+        Assert.assertEquals(expected, putAll);
+        putAll.put(0, "0");
+        Assert.assertEquals(Integer.valueOf(0), putAll.lastKey());
+        Assert.assertEquals(Integer.valueOf(100_000), putAll.firstKey());
+    }
+
+    @Test
+    public void randomOperations()
+    {
+        Random random = new Random(102030405060708090L);
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        BTreeSortedMap<Integer, Integer> map = BTreeSortedMap.newMap();
+        for (int i = 0; i < 200_000; i++)
+        {
+            int key = random.nextInt(20_000);
+            if (random.nextInt(3) == 0)
+            {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            }
+            else
+            {
+                Assert.assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            if (i % 20_000 == 0)
+            {
+                Assert.assertEquals(expected, map);
+            }
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        Assert.assertEquals(FastList.newList(expected.keySet()), map.keysView().toList());
+        Assert.assertEquals(FastList.newList(expected.values()), map.valuesView().toList());
+
+        Interval.zeroTo(19_999).each(each -> Assert.assertEquals(expected.remove(each), map.remove(each)));
+        Verify.assertEmpty(map);
+        map.put(1, 1);
+        Assert.assertEquals(Integer.valueOf(1), map.firstKey());
+    }
+
+    @Test
+    public void sequentialInsertionAndRemoval()
+    {
+        BTreeSortedMap<Integer, Integer> ascending = BTreeSortedMap.newMap();
+        BTreeSortedMap<Integer, Integer> descending = BTreeSortedMap.newMap();
+        for (int i = 0; i < 100_000; i++)
+        {
+            ascending.put(i, i);
+            descending.put(-i, i);
+        }
+        Verify.assertSize(100_000, ascending);
+        Assert.assertEquals(Interval.zeroTo(99_999), ascending.keysView().toList());
+        Assert.assertEquals(Integer.valueOf(-99_999), descending.firstKey());
+        for (int i = 0; i < 100_000; i += 2)
+        {
+            ascending.remove(i);
+        }
+        Assert.assertEquals(Interval.fromToBy(1, 99_999, 2), ascending.keysView().toList());
+        for (int i = 99_999; i >= 0; i--)
+        {
+            descending.remove(-i);
+        }
+        Verify.assertEmpty(descending);
+    }
+
+    @Test
+    public void rangeViews()
+    {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Interval.fromToBy(0, 20_000, 2).each(each -> expected.put(each, String.valueOf(each)));
+        BTreeSortedMap<Integer, String> map = new BTreeSortedMap<>(expected);
+
+        Random random = new Random(42L);
+        for (int i = 0; i < 1_000; i++)
+        {
+            int from = random.nextInt(20_100) - 50;
+            int to = from + random.nextInt(20_100 - from);
+            Assert.assertEquals(expected.headMap(to), map.headMap(to));
+            Assert.assertEquals(expected.tailMap(from), map.tailMap(from));
+            SortedMap<Integer, String> subMap = map.subMap(from, to);
+            SortedMap<Integer, String> expectedSubMap = expected.subMap(from, to);
+            Assert.assertEquals(expectedSubMap, subMap);
+            Assert.assertEquals(FastList.newList(expectedSubMap.keySet()), FastList.newList(subMap.keySet()));
+            Assert.assertEquals(FastList.newList(expectedSubMap.values()), FastList.newList(subMap.values()));
+            if (!expectedSubMap.isEmpty())
+            {
+                Assert.assertEquals(expectedSubMap.firstKey(), subMap.firstKey());
+                Assert.assertEquals(expectedSubMap.lastKey(), subMap.lastKey());
+            }
+        }
+        Assert.assertThrows(IllegalArgumentException.class, () -> map.subMap(10, 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> map.subMap(10, 20).put(30, "30"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> map.subMap(10, 20).headMap(30));
+        Assert.assertThrows(NoSuchElementException.class, () -> map.subMap(3, 3).firstKey());
+        Assert.assertThrows(NoSuchElementException.class, () -> map.headMap(0).lastKey());
+        Verify.assertEmpty(map.headMap(0));
+    }
+
+    @Test
+    public void rangeViewsWriteThrough()
+    {
+        BTreeSortedMap<Integer, String> map = BTreeSortedMap.newMap();
+        Interval.oneTo(1_000).each(each -> map.put(each, String.valueOf(each)));
+        MutableSortedMap<Integer, String> subMap = map.subMap(100, 200);
+        Verify.assertSize(100, subMap);
+        subMap.put(150, "one fifty");
+        Assert.assertEquals("one fifty", map.get(150));
+        subMap.remove(120);
+        subMap.remove(500);
+        Assert.assertFalse(map.containsKey(120));
+        Assert.assertTrue(map.containsKey(500));
+        subMap.clear();
+        Verify.assertSize(900, map);
+        Verify.assertEmpty(subMap);
+        map.put(101, "101");
+        Assert.assertEquals(FastList.newListWith(101), subMap.keysView().toList());
+    }
+
+    @Test
+    public void iteratorRemove()
+    {
+        BTreeSortedMap<Integer, Integer> map = BTreeSortedMap.newMap();
+        Interval.oneTo(10_000).each(each -> map.put(each, each));
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            if (entry.getKey() % 3 != 0)
+            {
+                iterator.remove();
+            }
+            else
+            {
+                entry.setValue(-entry.getKey());
+            }
+        }
+        Assert.assertEquals(Interval.fromToBy(3, 9_999, 3), map.keysView().toList());
+        Assert.assertEquals(Interval.fromToBy(-3, -9_999, -3), map.valuesView().toList());
+        Assert.assertThrows(IllegalStateException.class, () -> map.iterator().remove());
+
+        Iterator<Integer> keys = map.keySet().iterator();
+        keys.next();
+        map.put(0, 0);
+        Assert.assertThrows(ConcurrentModificationException.class, keys::next);
+    }
+
+    @Test
+    public void takeAndDrop()
+    {
+        TreeSortedMap<Integer, String> expected = TreeSortedMap.newMap(Comparators.reverseNaturalOrder());
+        Interval.oneTo(5_000).each(each -> expected.put(each, String.valueOf(each)));
+        BTreeSortedMap<Integer, String> map = new BTreeSortedMap<>(expected);
+        for (int count = 0; count <= 5_100; count += 37)
+        {
+            MutableSortedMap<Integer, String> take = map.take(count);
+            MutableSortedMap<Integer, String> drop = map.drop(count);
+            Assert.assertEquals(expected.take(count), take);
+            Assert.assertEquals(expected.drop(count), drop);
+            Assert.assertEquals(expected.drop(count).keysView().toList(), drop.keysView().toList());
+            Assert.assertSame(expected.comparator(), take.comparator());
+            Assert.assertSame(expected.comparator(), drop.comparator());
+        }
+    }
+
+    @Test
+    public void serialization()
+    {
+        BTreeSortedMap<Integer, String> map = BTreeSortedMap.newMap(Comparators.reverseNaturalOrder());
+        Interval.oneTo(5_000).each(each -> map.put(each, String.valueOf(each)));
+        Verify.assertPostSerializedEqualsAndHashCode(map);
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.memory;
+
+import org.eclipse.collections.impl.bag.mutable.HashBag;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+import org.eclipse.collections.impl.multimap.list.FastListMultimap;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link MemoryFootprints}.
+ */
+public class MemoryFootprintsTest
+{
+    private static final ObjectLayout LAYOUT = ObjectLayout.COMPRESSED_OOPS;
+
+    @Test
+    public void objectLayout()
+    {
+        Assert.assertEquals(16L, LAYOUT.instanceBytes(Object.class));
+        Assert.assertEquals(16L, LAYOUT.instanceBytes(Integer.class));
+        Assert.assertEquals(24L, LAYOUT.instanceBytes(Long.class));
+        Assert.assertEquals(16L, LAYOUT.arrayBytes(Object.class, 0));
+        Assert.assertEquals(32L, LAYOUT.arrayBytes(int.class, 3));
+        Assert.assertEquals(40L, ObjectLayout.UNCOMPRESSED_OOPS.arrayBytes(Object.class, 2));
+        Assert.assertEquals(16L, ObjectLayout.JVM_32_BIT.arrayBytes(long.class, 0));
+    }
+
+    @Test
+    public void fastList()
+    {
+        FastList<Integer> list = FastList.newList(10);
+        list.addAll(FastList.newListWith(1000, 2000, 3000));
+        MemoryFootprint footprint = MemoryFootprints.of(list, LAYOUT);
+
+        Assert.assertEquals("FastList", footprint.getTypeName());
+        Assert.assertEquals(3, footprint.getSize());
+        Assert.assertEquals(10, footprint.getCapacity());
+        Assert.assertEquals(7, footprint.getWastedSlots());
+        Assert.assertEquals(0.3, footprint.getLoad(), 0.0);
+        Assert.assertEquals(LAYOUT.instanceBytes(FastList.class) + LAYOUT.arrayBytes(Object.class, 10), footprint.getShallowBytes());
+        Assert.assertEquals(footprint.getShallowBytes() + 3L * LAYOUT.instanceBytes(Integer.class), footprint.getDeepBytes());
+    }
+
+    @Test
+    public void sharedEmptyArrayIsNotCounted()
+    {
+        MemoryFootprint footprint = MemoryFootprints.of(FastList.newList(), LAYOUT);
+        Assert.assertEquals(LAYOUT.instanceBytes(FastList.class), footprint.getShallowBytes());
+        Assert.assertEquals(footprint.getShallowBytes(), footprint.getDeepBytes());
+        Assert.assertEquals(footprint.getShallowBytes(), footprint.getShallowBytesPerElement(), 0.0);
+    }
+
+    @Test
+    public void unifiedMap()
+    {
+        UnifiedMap<Integer, Integer> map = UnifiedMap.newMap();
+        Interval.oneTo(10).each(each -> map.put(each, each));
+        MemoryFootprint footprint = MemoryFootprints.of(map, LAYOUT);
+
+        Assert.assertEquals(10, footprint.getSize());
+        Assert.assertEquals(16, footprint.getCapacity());
+        Assert.assertEquals(10, footprint.getOccupiedSlots());
+        Assert.assertEquals(6, footprint.getWastedSlots());
+        Assert.assertEquals(0, footprint.getChainedBuckets());
+        Assert.assertEquals(0L, footprint.getSentinelBytes());
+        Assert.assertEquals(LAYOUT.instanceBytes(UnifiedMap.class) + LAYOUT.arrayBytes(Object.class, 32), footprint.getShallowBytes());
+    }
+
+    @Test
+    public void unifiedMapChains()
+    {
+        UnifiedMap<CollidingKey, String> map = UnifiedMap.newMap();
+        map.put(new CollidingKey(1), "1");
+        map.put(new CollidingKey(2), "2");
+        map.put(new CollidingKey(3), "3");
+        MemoryFootprint footprint = MemoryFootprints.of(map, LAYOUT);
+
+        Assert.assertEquals(map.getCollidingBuckets(), footprint.getChainedBuckets());
+        Assert.assertEquals(1, footprint.getChainedBuckets());
+        Assert.assertEquals(1, footprint.getOccupiedSlots());
+
+        // The marker pair in the table, plus a chain of four pairs holding three entries
+        long chainBytes = LAYOUT.arrayBytes(Object.class, 8);
+        Assert.assertEquals(8L + chainBytes - 24L, footprint.getSentinelBytes());
+        Assert.assertEquals(
+                LAYOUT.instanceBytes(UnifiedMap.class) + LAYOUT.arrayBytes(Object.class, 32) + chainBytes,
+                footprint.getShallowBytes());
+    }
+
+    @Test
+    public void nullKeySentinelIsNotCounted()
+    {
+        UnifiedMap<Integer, Integer> withNull = UnifiedMap.newWithKeysValues(null, 1);
+        UnifiedMap<Integer, Integer> withoutNull = UnifiedMap.newWithKeysValues(1000, 1);
+        MemoryFootprint nullFootprint = MemoryFootprints.of(withNull, LAYOUT);
+        MemoryFootprint footprint = MemoryFootprints.of(withoutNull, LAYOUT);
+        Assert.assertEquals(footprint.getShallowBytes(), nullFootprint.getShallowBytes());
+        Assert.assertEquals(footprint.getDeepBytes() - LAYOUT.instanceBytes(Integer.class), nullFootprint.getDeepBytes());
+    }
+
+    @Test
+    public void unifiedSetChains()
+    {
+        UnifiedSet<CollidingKey> set = UnifiedSet.newSet();
+        Interval.oneTo(5).each(each -> set.add(new CollidingKey(each)));
+        MemoryFootprint footprint = MemoryFootprints.of(set, LAYOUT);
+
+        Assert.assertEquals(5, footprint.getSize());
+        Assert.assertEquals(1, footprint.getOccupiedSlots());
+        Assert.assertEquals(1, footprint.getChainedBuckets());
+
+        // The table slot, plus two linked four-slot buckets holding five elements
+        long bucketBytes = 16L + 4L * LAYOUT.getReferenceBytes();
+        Assert.assertEquals(4L + 2L * bucketBytes - 20L, footprint.getSentinelBytes());
+        Assert.assertEquals(5L * LAYOUT.instanceBytes(CollidingKey.class), footprint.getDeepBytes() - footprint.getShallowBytes());
+    }
+
+    @Test
+    public void intObjectHashMapTombstones()
+    {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        Interval.fromTo(10, 19).each(each -> map.put(each, "value"));
+        MemoryFootprint before = MemoryFootprints.of(map, LAYOUT);
+        Assert.assertEquals(10, before.getOccupiedSlots());
+        Assert.assertEquals(before.getCapacity() - 10, before.getWastedSlots());
+        Assert.assertEquals(0L, before.getSentinelBytes());
+
+        Interval.fromTo(10, 14).each(map::remove);
+        map.put(0, "zero");
+        MemoryFootprint after = MemoryFootprints.of(map, LAYOUT);
+        Assert.assertEquals(6, after.getSize());
+        Assert.assertEquals(5, after.getOccupiedSlots());
+        Assert.assertTrue(after.getSentinelBytes() >= 5L * (4 + LAYOUT.getReferenceBytes()));
+        Assert.assertTrue(after.getDeepBytes() > after.getShallowBytes());
+    }
+
+    @Test
+    public void primitiveCollections()
+    {
+        IntHashSet set = IntHashSet.newSetWith(100, 200, 300);
+        MemoryFootprint setFootprint = MemoryFootprints.of(set, LAYOUT);
+        Assert.assertEquals(3, setFootprint.getOccupiedSlots());
+        Assert.assertEquals(setFootprint.getShallowBytes(), setFootprint.getDeepBytes());
+        Assert.assertTrue(setFootprint.getCapacity() >= 4);
+
+        IntArrayList list = new IntArrayList(8);
+        list.addAll(1, 2, 3);
+        MemoryFootprint listFootprint = MemoryFootprints.of(list, LAYOUT);
+        Assert.assertEquals(8, listFootprint.getCapacity());
+        Assert.assertEquals(5, listFootprint.getWastedSlots());
+        Assert.assertEquals(LAYOUT.instanceBytes(IntArrayList.class) + LAYOUT.arrayBytes(int.class, 8), listFootprint.getShallowBytes());
+    }
+
+    @Test
+    public void objectIntHashMapKeysAreElements()
+    {
+        ObjectIntHashMap<CollidingKey> map = ObjectIntHashMap.newWithKeysValues(new CollidingKey(1), 1, new CollidingKey(2), 2);
+        MemoryFootprint footprint = MemoryFootprints.of(map, LAYOUT);
+        Assert.assertEquals(2, footprint.getOccupiedSlots());
+        Assert.assertEquals(2L * LAYOUT.instanceBytes(CollidingKey.class), footprint.getDeepBytes() - footprint.getShallowBytes());
+    }
+
+    @Test
+    public void hashBag()
+    {
+        HashBag<CollidingKey> bag = HashBag.newBag();
+        CollidingKey key = new CollidingKey(1);
+        bag.addOccurrences(key, 5);
+        bag.add(new CollidingKey(2));
+        MemoryFootprint footprint = MemoryFootprints.of(bag, LAYOUT);
+        Assert.assertEquals(6, footprint.getSize());
+        Assert.assertEquals(2, footprint.getOccupiedSlots());
+        Assert.assertEquals(2L * LAYOUT.instanceBytes(CollidingKey.class), footprint.getDeepBytes() - footprint.getShallowBytes());
+    }
+
+    @Test
+    public void fastListMultimap()
+    {
+        FastListMultimap<CollidingKey, CollidingKey> multimap = FastListMultimap.newMultimap();
+        CollidingKey one = new CollidingKey(1);
+        CollidingKey two = new CollidingKey(2);
+        multimap.put(one, two);
+        multimap.put(one, one);
+        multimap.put(two, two);
+        MemoryFootprint footprint = MemoryFootprints.of(multimap, LAYOUT);
+        Assert.assertEquals(3, footprint.getSize());
+        Assert.assertEquals(1, footprint.getOccupiedSlots());
+        Assert.assertEquals(1, footprint.getChainedBuckets());
+        Assert.assertEquals(2L * LAYOUT.instanceBytes(CollidingKey.class), footprint.getDeepBytes() - footprint.getShallowBytes());
+        Assert.assertTrue(footprint.getShallowBytes() > 2L * LAYOUT.instanceBytes(FastList.class));
+    }
+
+    @Test
+    public void concurrentHashMap()
+    {
+        ConcurrentHashMap<CollidingKey, String> map = ConcurrentHashMap.newMap();
+        map.put(new CollidingKey(1), "1");
+        map.put(new CollidingKey(2), "2");
+        MemoryFootprint footprint = MemoryFootprints.of(map, LAYOUT);
+        Assert.assertEquals(2, footprint.getSize());
+        Assert.assertEquals(1, footprint.getOccupiedSlots());
+        Assert.assertEquals(1, footprint.getChainedBuckets());
+        Assert.assertTrue(footprint.getShallowBytes() > LAYOUT.arrayBytes(Object.class, footprint.getCapacity()));
+    }
+
+    @Test
+    public void currentLayout()
+    {
+        ObjectLayout layout = ObjectLayout.current();
+        Assert.assertTrue(layout.getReferenceBytes() == 4 || layout.getReferenceBytes() == 8);
+        MemoryFootprint footprint = MemoryFootprints.of(FastList.newListWith("a", "b"));
+        Assert.assertTrue(footprint.getDeepBytes() > footprint.getShallowBytes());
+        Assert.assertTrue(footprint.toString().startsWith("FastList{size=2, capacity=2"));
+    }
+
+    private static final class CollidingKey
+    {
+        private final int value;
+
+        private CollidingKey(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof CollidingKey && ((CollidingKey) other).value == this.value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 42;
+        }
+    }
+}
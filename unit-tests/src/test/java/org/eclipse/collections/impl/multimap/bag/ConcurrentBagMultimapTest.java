@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.multimap.bag;
+
+import org.eclipse.collections.api.multimap.MutableMultimap;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.bag.mutable.HashBag;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test of {@link ConcurrentBagMultimap}.
+ */
+public class ConcurrentBagMultimapTest extends AbstractMutableBagMultimapTestCase
+{
+    @Override
+    public <K, V> ConcurrentBagMultimap<K, V> newMultimap()
+    {
+        return ConcurrentBagMultimap.newMultimap();
+    }
+
+    @Override
+    public <K, V> ConcurrentBagMultimap<K, V> newMultimapWithKeyValue(K key, V value)
+    {
+        ConcurrentBagMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key, value);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentBagMultimap<K, V> newMultimapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        ConcurrentBagMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentBagMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3)
+    {
+        ConcurrentBagMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentBagMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        ConcurrentBagMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        mutableMultimap.put(key4, value4);
+        return mutableMultimap;
+    }
+
+    @SafeVarargs
+    @Override
+    public final <K, V> ConcurrentBagMultimap<K, V> newMultimap(Pair<K, V>... pairs)
+    {
+        return ConcurrentBagMultimap.newMultimap(pairs);
+    }
+
+    @Override
+    protected <K, V> ConcurrentBagMultimap<K, V> newMultimapFromPairs(Iterable<Pair<K, V>> inputIterable)
+    {
+        return ConcurrentBagMultimap.newMultimap(inputIterable);
+    }
+
+    @SafeVarargs
+    @Override
+    protected final <V> HashBag<V> createCollection(V... args)
+    {
+        return HashBag.newBagWith(args);
+    }
+
+    @Test
+    @Override
+    public void testToString()
+    {
+        super.testToString();
+
+        MutableMultimap<String, Integer> multimap =
+                this.newMultimapWithKeysValues("One", 1, "One", 2);
+        String toString = multimap.toString();
+        Assert.assertTrue("{One=[1, 2]}".equals(toString) || "{One=[2, 1]}".equals(toString));
+    }
+
+    @Test
+    public void concurrentPut()
+    {
+        ConcurrentBagMultimap<Integer, Integer> multimap = this.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> multimap.put(each % 10, each), 1);
+        Assert.assertEquals(10000, multimap.size());
+        Assert.assertEquals(10, multimap.sizeDistinct());
+        Interval.zeroTo(9).each(each -> Verify.assertSize(1000, multimap.get(each)));
+    }
+
+    @Test
+    public void concurrentPutAndRemove()
+    {
+        ConcurrentBagMultimap<Integer, Integer> multimap = this.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(10000), each ->
+        {
+            multimap.put(each % 10, each);
+            multimap.put(each % 10, -each);
+            Assert.assertTrue(multimap.remove(each % 10, -each));
+        }, 1);
+        Assert.assertEquals(10000, multimap.size());
+        Interval.zeroTo(9).each(each -> Verify.assertSize(1000, multimap.get(each)));
+
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> Assert.assertTrue(multimap.remove(each % 10, each)), 1);
+        Verify.assertEmpty(multimap);
+        Assert.assertEquals(0, multimap.sizeDistinct());
+    }
+
+    @Test
+    public void parallelGroupBy()
+    {
+        ConcurrentBagMultimap<Integer, Integer> multimap = this.newMultimap();
+        Assert.assertSame(multimap, ParallelIterate.groupBy(Interval.oneTo(10000), each -> each % 10, multimap, 100));
+        Assert.assertEquals(10000, multimap.size());
+        Assert.assertEquals(
+                Iterate.groupBy(Interval.oneTo(10000), each -> each % 10, HashBagMultimap.newMultimap()),
+                HashBagMultimap.newMultimap(multimap));
+    }
+
+    @Test
+    public void concurrentPutOccurrences()
+    {
+        ConcurrentBagMultimap<Integer, String> multimap = this.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> multimap.putOccurrences(each % 4, "a", 2), 1);
+        Assert.assertEquals(20000, multimap.size());
+        Interval.zeroTo(3).each(each -> Assert.assertEquals(5000, multimap.get(each).occurrencesOf("a")));
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.multimap.list;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.multimap.bag.HashBagMultimap;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test of {@link ConcurrentListMultimap}.
+ */
+public class ConcurrentListMultimapTest extends AbstractMutableListMultimapTestCase
+{
+    @Override
+    public <K, V> ConcurrentListMultimap<K, V> newMultimap()
+    {
+        return ConcurrentListMultimap.newMultimap();
+    }
+
+    @Override
+    public <K, V> ConcurrentListMultimap<K, V> newMultimapWithKeyValue(K key, V value)
+    {
+        ConcurrentListMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key, value);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentListMultimap<K, V> newMultimapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        ConcurrentListMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentListMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3)
+    {
+        ConcurrentListMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentListMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        ConcurrentListMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        mutableMultimap.put(key4, value4);
+        return mutableMultimap;
+    }
+
+    @SafeVarargs
+    @Override
+    public final <K, V> ConcurrentListMultimap<K, V> newMultimap(Pair<K, V>... pairs)
+    {
+        return ConcurrentListMultimap.newMultimap(pairs);
+    }
+
+    @Override
+    public <K, V> ConcurrentListMultimap<K, V> newMultimapFromPairs(Iterable<Pair<K, V>> inputIterable)
+    {
+        return ConcurrentListMultimap.newMultimap(inputIterable);
+    }
+
+    @SafeVarargs
+    @Override
+    protected final <V> FastList<V> createCollection(V... args)
+    {
+        return FastList.newListWith(args);
+    }
+
+    @Test
+    public void concurrentPut()
+    {
+        ConcurrentListMultimap<Integer, Integer> multimap = this.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> multimap.put(each % 10, each), 1);
+        Assert.assertEquals(10000, multimap.size());
+        Assert.assertEquals(10, multimap.sizeDistinct());
+        Interval.zeroTo(9).each(each -> Verify.assertSize(1000, multimap.get(each)));
+    }
+
+    @Test
+    public void concurrentPutAndRemove()
+    {
+        ConcurrentListMultimap<Integer, Integer> multimap = this.newMultimap();
+        ParallelIterate.forEach(Interval.oneTo(10000), each ->
+        {
+            multimap.put(each % 10, each);
+            multimap.put(each % 10, -each);
+            Assert.assertTrue(multimap.remove(each % 10, -each));
+        }, 1);
+        Assert.assertEquals(10000, multimap.size());
+        Interval.zeroTo(9).each(each -> Verify.assertSize(1000, multimap.get(each)));
+
+        ParallelIterate.forEach(Interval.oneTo(10000), each -> Assert.assertTrue(multimap.remove(each % 10, each)), 1);
+        Verify.assertEmpty(multimap);
+        Assert.assertEquals(0, multimap.sizeDistinct());
+    }
+
+    @Test
+    public void parallelGroupBy()
+    {
+        ConcurrentListMultimap<Integer, Integer> multimap = this.newMultimap();
+        Assert.assertSame(multimap, ParallelIterate.groupBy(Interval.oneTo(10000), each -> each % 10, multimap, 100));
+        Assert.assertEquals(10000, multimap.size());
+        Assert.assertEquals(
+                Iterate.groupBy(Interval.oneTo(10000), each -> each % 10, HashBagMultimap.newMultimap()),
+                HashBagMultimap.newMultimap(multimap));
+    }
+
+    @Test
+    public void putAllIsAtomicPerKey()
+    {
+        ConcurrentListMultimap<Integer, Integer> multimap = this.newMultimap();
+        ParallelIterate.forEach(
+                Interval.zeroTo(2999),
+                each -> multimap.putAll(each % 3, Interval.fromTo(each * 3, each * 3 + 2)),
+                1);
+        Assert.assertEquals(9000, multimap.size());
+        multimap.forEachKeyMutableList((key, values) ->
+        {
+            for (int i = 0; i < values.size(); i += 3)
+            {
+                Assert.assertEquals(values.get(i) + 1, values.get(i + 1).intValue());
+                Assert.assertEquals(values.get(i) + 2, values.get(i + 2).intValue());
+            }
+        });
+    }
+
+    @Test
+    public void readersSeeAPrefixOfAHotKey() throws InterruptedException
+    {
+        ConcurrentListMultimap<Integer, Integer> multimap = this.newMultimap();
+        Thread writer = new Thread(() ->
+        {
+            for (int i = 0; i < 100_000; i++)
+            {
+                multimap.put(0, i);
+            }
+        });
+        writer.start();
+        int lastSize = 0;
+        while (lastSize < 100_000)
+        {
+            MutableList<Integer> values = multimap.get(0);
+            int index = 0;
+            for (Integer each : values)
+            {
+                Assert.assertEquals(index++, each.intValue());
+            }
+            Assert.assertTrue(index >= lastSize);
+            lastSize = index;
+        }
+        writer.join();
+        Assert.assertEquals(Interval.zeroTo(99_999), multimap.get(0));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.parallel;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ParallelMergeSort}.
+ */
+public class ParallelMergeSortTest
+{
+    private static final Comparator<Pair<Integer, Integer>> BY_KEY = Comparators.byFunction(Pair::getOne);
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp()
+    {
+        this.executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * Returns pairs of a key with many duplicates and the original position, so that stability is observable.
+     */
+    private static Pair<Integer, Integer>[] randomPairs(Random random, int size, int distinctKeys)
+    {
+        Pair<Integer, Integer>[] pairs = new Pair[size];
+        for (int i = 0; i < size; i++)
+        {
+            pairs[i] = Tuples.pair(random.nextInt(distinctKeys), i);
+        }
+        return pairs;
+    }
+
+    @Test
+    public void sortIsStable()
+    {
+        Random random = new Random(42L);
+        int[] sizes = {0, 1, 2, 100, 9_999, 20_000, 100_003, 500_000};
+        for (int size : sizes)
+        {
+            Pair<Integer, Integer>[] array = ParallelMergeSortTest.randomPairs(random, size, 1_000);
+            Pair<Integer, Integer>[] expected = array.clone();
+            Arrays.sort(expected, BY_KEY);
+            ParallelMergeSort.sort(array, BY_KEY, this.executorService);
+            Assert.assertArrayEquals("Size: " + size, expected, array);
+        }
+    }
+
+    @Test
+    public void sortWithSmallForkSize()
+    {
+        Random random = new Random(7L);
+        for (int taskCount = 1; taskCount <= 9; taskCount++)
+        {
+            Pair<Integer, Integer>[] array = ParallelMergeSortTest.randomPairs(random, 1_000, 3);
+            Pair<Integer, Integer>[] expected = array.clone();
+            Arrays.sort(expected, 100, 900, BY_KEY);
+            ParallelMergeSort.sort(array, 100, 900, BY_KEY, 10, taskCount, this.executorService);
+            Assert.assertArrayEquals("Task count: " + taskCount, expected, array);
+        }
+    }
+
+    @Test
+    public void sortNaturalOrder()
+    {
+        Random random = new Random(3L);
+        Integer[] array = new Integer[200_000];
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = random.nextInt();
+        }
+        Integer[] expected = array.clone();
+        Arrays.sort(expected);
+        ParallelMergeSort.sort(array, null, this.executorService);
+        Assert.assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void sortSortedAndReversedInput()
+    {
+        Integer[] ascending = new Integer[100_000];
+        Integer[] descending = new Integer[100_000];
+        for (int i = 0; i < ascending.length; i++)
+        {
+            ascending[i] = i;
+            descending[i] = ascending.length - 1 - i;
+        }
+        Integer[] expected = ascending.clone();
+        ParallelMergeSort.sort(ascending, Comparators.naturalOrder(), this.executorService);
+        Assert.assertArrayEquals(expected, ascending);
+        ParallelMergeSort.sort(descending, Comparators.reverseNaturalOrder(), this.executorService);
+        Arrays.sort(expected, Comparators.reverseNaturalOrder());
+        Assert.assertArrayEquals(expected, descending);
+    }
+
+    @Test
+    public void mergeSortedRuns()
+    {
+        Random random = new Random(11L);
+        int[] runLengths = {0, 30_000, 5, 0, 12_000, 25_000, 1};
+        int[] runOffsets = new int[runLengths.length + 1];
+        for (int i = 0; i < runLengths.length; i++)
+        {
+            runOffsets[i + 1] = runOffsets[i] + runLengths[i];
+        }
+        Pair<Integer, Integer>[] array = ParallelMergeSortTest.randomPairs(random, runOffsets[runLengths.length], 50);
+        for (int i = 0; i < runLengths.length; i++)
+        {
+            Arrays.sort(array, runOffsets[i], runOffsets[i + 1], BY_KEY);
+        }
+        Pair<Integer, Integer>[] expected = array.clone();
+        Arrays.sort(expected, BY_KEY);
+        ParallelMergeSort.mergeSortedRuns(array, runOffsets, BY_KEY, this.executorService);
+        Assert.assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void comparatorFailureIsRethrown()
+    {
+        Integer[] array = new Integer[100_000];
+        Arrays.fill(array, 1);
+        array[77_777] = null;
+        RuntimeException exception = Assert.assertThrows(
+                RuntimeException.class,
+                () -> ParallelMergeSort.sort(array, Comparators.naturalOrder(), this.executorService));
+        Assert.assertNotNull(exception.getCause());
+    }
+
+    @Test
+    public void rangeCheck()
+    {
+        Integer[] array = {3, 2, 1};
+        Assert.assertThrows(IllegalArgumentException.class, () -> ParallelMergeSort.sort(array, 2, 1, null, this.executorService));
+        Assert.assertThrows(ArrayIndexOutOfBoundsException.class, () -> ParallelMergeSort.sort(array, -1, 1, null, this.executorService));
+        Assert.assertThrows(ArrayIndexOutOfBoundsException.class, () -> ParallelMergeSort.sort(array, 0, 4, null, this.executorService));
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.immutable;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.factory.Sets;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.set.mutable.UnifiedSet;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.utility.internal.ImmutableThresholds;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutableHashTrieSet}.
+ */
+public class ImmutableHashTrieSetTest extends AbstractImmutableUnifiedSetTestCase
+{
+    @Override
+    public ImmutableSet<Integer> newSet(Integer... elements)
+    {
+        return new ImmutableHashTrieSet<>(Arrays.asList(elements));
+    }
+
+    @Override
+    public ImmutableSet<Integer> newSetWith(int one, int two)
+    {
+        return this.newSet(one, two);
+    }
+
+    @Override
+    public ImmutableSet<Integer> newSetWith(int one, int two, int three)
+    {
+        return this.newSet(one, two, three);
+    }
+
+    @Override
+    public ImmutableSet<Integer> newSetWith(int... littleElements)
+    {
+        return new ImmutableHashTrieSet<>(Interval.fromTo(0, littleElements.length - 1).collect(i -> littleElements[i]));
+    }
+
+    @Test
+    public void factoryThreshold()
+    {
+        ImmutableSet<Integer> small = Sets.immutable.withAll(Interval.oneTo(ImmutableThresholds.PERSISTENT_SIZE - 1));
+        Verify.assertInstanceOf(ImmutableUnifiedSet.class, small);
+
+        ImmutableSet<Integer> large = Sets.immutable.withAll(Interval.oneTo(ImmutableThresholds.PERSISTENT_SIZE));
+        Verify.assertInstanceOf(ImmutableHashTrieSet.class, large);
+        Assert.assertSame(large, Sets.immutable.withAll(large));
+        Verify.assertInstanceOf(ImmutableHashTrieSet.class, UnifiedSet.newSet(Interval.oneTo(5_000)).toImmutable());
+
+        ImmutableSet<Integer> duplicates = Sets.immutable.withAll(Interval.oneTo(2_000).collect(each -> each % 10));
+        Verify.assertInstanceOf(ImmutableUnifiedSet.class, duplicates);
+        Assert.assertEquals(UnifiedSet.newSet(Interval.zeroTo(9)), duplicates);
+        Verify.assertInstanceOf(ImmutableSingletonSet.class, Sets.immutable.withAll(Interval.oneTo(2_000).collect(each -> 1)));
+    }
+
+    @Test
+    public void structuralSharing()
+    {
+        ImmutableSet<Integer> original = this.newSet(1, 2, 3, 4);
+        ImmutableSet<Integer> added = original.newWith(5);
+        ImmutableSet<Integer> removed = added.newWithout(2);
+
+        Assert.assertEquals(UnifiedSet.newSetWith(1, 2, 3, 4), original);
+        Assert.assertEquals(UnifiedSet.newSetWith(1, 2, 3, 4, 5), added);
+        Assert.assertEquals(UnifiedSet.newSetWith(1, 3, 4, 5), removed);
+
+        Assert.assertSame(original, original.newWith(1));
+        Assert.assertSame(original, original.newWithout(5));
+        Assert.assertSame(original, original.newWithAll(Interval.oneTo(3)));
+        Verify.assertEmpty(original.newWithoutAll(Interval.oneTo(4)));
+    }
+
+    @Test
+    public void setOperationsShareSubtrees()
+    {
+        ImmutableSet<Integer> large = new ImmutableHashTrieSet<>(Interval.oneTo(10_000));
+        ImmutableSet<Integer> subset = new ImmutableHashTrieSet<>(Interval.fromTo(100, 200));
+        ImmutableSet<Integer> disjoint = new ImmutableHashTrieSet<>(Interval.fromTo(20_000, 20_100));
+
+        Assert.assertSame(large, large.union(large));
+        Assert.assertSame(large, large.union(subset));
+        Assert.assertSame(large, large.intersect(large));
+        Assert.assertSame(large, large.difference(disjoint));
+        Assert.assertSame(subset, subset.intersect(large));
+        Verify.assertEmpty(large.difference(large));
+        Verify.assertEmpty(large.intersect(disjoint));
+
+        ImmutableSet<Integer> grown = large.newWith(-1);
+        Assert.assertEquals(large, grown.intersect(large));
+        Assert.assertEquals(Sets.immutable.with(-1), grown.difference(large));
+        Assert.assertEquals(Sets.immutable.with(-1), grown.symmetricDifference(large));
+        Assert.assertEquals(UnifiedSet.newSet(Interval.oneTo(10_000)).with(-1).withAll(Interval.fromTo(20_000, 20_100)), grown.union(disjoint));
+    }
+
+    @Test
+    public void randomOperations()
+    {
+        Random random = new Random(102030405060708090L);
+        MutableSet<Integer> expected = UnifiedSet.newSet();
+        ImmutableSet<Integer> set = new ImmutableHashTrieSet<>(UnifiedSet.newSet());
+        ImmutableSet<Integer> snapshot = set;
+        MutableSet<Integer> expectedSnapshot = UnifiedSet.newSet();
+        for (int i = 0; i < 20_000; i++)
+        {
+            int element = random.nextInt(3_000) * 0x10001;
+            if (random.nextInt(3) == 0)
+            {
+                expected.remove(element);
+                set = set.newWithout(element);
+            }
+            else
+            {
+                expected.add(element);
+                set = set.newWith(element);
+            }
+            if (i % 5_000 == 0)
+            {
+                snapshot = set;
+                expectedSnapshot = UnifiedSet.newSet(expected);
+            }
+        }
+        Assert.assertEquals(expected, set);
+        Assert.assertEquals(expected.hashCode(), set.hashCode());
+        Assert.assertEquals(expected, set.toSet());
+        Assert.assertEquals(expectedSnapshot, snapshot);
+    }
+
+    @Test
+    public void randomSetOperations()
+    {
+        Random random = new Random(42L);
+        for (int round = 0; round < 50; round++)
+        {
+            MutableSet<CollidingElement> left = UnifiedSet.newSet();
+            MutableSet<CollidingElement> right = UnifiedSet.newSet();
+            int range = 10 + random.nextInt(3_000);
+            int collisions = 1 + random.nextInt(range);
+            for (int i = random.nextInt(2_000); i > 0; i--)
+            {
+                int value = random.nextInt(range);
+                left.add(new CollidingElement(value, value % collisions));
+            }
+            for (int i = random.nextInt(2_000); i > 0; i--)
+            {
+                int value = random.nextInt(range);
+                right.add(new CollidingElement(value, value % collisions));
+            }
+            ImmutableSet<CollidingElement> leftTrie = new ImmutableHashTrieSet<>(left);
+            ImmutableSet<CollidingElement> rightTrie = new ImmutableHashTrieSet<>(right);
+
+            ImmutableSet<CollidingElement> union = leftTrie.union(rightTrie);
+            ImmutableSet<CollidingElement> intersect = leftTrie.intersect(rightTrie);
+            ImmutableSet<CollidingElement> difference = leftTrie.difference(rightTrie);
+            ImmutableSet<CollidingElement> symmetricDifference = leftTrie.symmetricDifference(rightTrie);
+            Assert.assertEquals(left.union(right), union);
+            Assert.assertEquals(left.intersect(right), intersect);
+            Assert.assertEquals(left.difference(right), difference);
+            Assert.assertEquals(left.symmetricDifference(right), symmetricDifference);
+            Assert.assertEquals(left.union(right), leftTrie.newWithAll(right));
+            Assert.assertEquals(left.difference(right), leftTrie.newWithoutAll(right));
+
+            // Removing every element only empties the results if their tries are canonical
+            Verify.assertEmpty(union.newWithoutAll(left).newWithoutAll(right.toList()));
+            Verify.assertEmpty(intersect.newWithoutAll(intersect.toList()));
+            Verify.assertEmpty(difference.newWithoutAll(difference.toList()));
+            Verify.assertEmpty(symmetricDifference.newWithoutAll(symmetricDifference.toList()));
+        }
+    }
+
+    @Test
+    public void nullElement()
+    {
+        ImmutableSet<Integer> set = new ImmutableHashTrieSet<>(Interval.oneTo(100)).newWith(null);
+        Verify.assertSize(101, set);
+        Assert.assertTrue(set.contains(null));
+        Assert.assertEquals(UnifiedSet.newSet(Interval.oneTo(100)).with((Integer) null), set);
+        Verify.assertSize(100, set.newWithout(null));
+    }
+
+    @Test
+    public void serialization()
+    {
+        ImmutableSet<Integer> set = new ImmutableHashTrieSet<>(Interval.oneTo(5_000));
+        ImmutableSet<Integer> deserialized = SerializeTestHelper.serializeDeserialize(set);
+        Verify.assertInstanceOf(ImmutableHashTrieSet.class, deserialized);
+        Verify.assertEqualsAndHashCode(set, deserialized);
+    }
+
+    private static final class CollidingElement
+    {
+        private final int value;
+        private final int hashCode;
+
+        private CollidingElement(int value, int hashCode)
+        {
+            this.value = value;
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof CollidingElement && ((CollidingElement) other).value == this.value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hashCode;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "CollidingElement(" + this.value + ')';
+        }
+    }
+}
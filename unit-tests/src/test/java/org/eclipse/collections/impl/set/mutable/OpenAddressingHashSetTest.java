@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.collections.impl.factory.Sets;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test suite for {@link OpenAddressingHashSet}.
+ */
+public class OpenAddressingHashSetTest extends AbstractMutableSetTestCase
+{
+    @Override
+    protected <T> OpenAddressingHashSet<T> newWith(T... littleElements)
+    {
+        return OpenAddressingHashSet.newSetWith(littleElements);
+    }
+
+    @Test
+    public void factory()
+    {
+        Verify.assertInstanceOf(OpenAddressingHashSet.class, Sets.mutable.emptyOpenAddressing());
+        Verify.assertInstanceOf(OpenAddressingHashSet.class, Sets.mutable.withInitialCapacityOpenAddressing(100));
+    }
+
+    @Test
+    public void addRemoveManyAgainstHashSet()
+    {
+        OpenAddressingHashSet<Long> set = OpenAddressingHashSet.newSet();
+        Set<Long> expected = new HashSet<>();
+        for (long i = 0; i < 20_000L; i++)
+        {
+            long element = i << 32;
+            Assert.assertEquals(expected.add(element), set.add(element));
+        }
+        for (long i = 0; i < 20_000L; i += 2)
+        {
+            long element = i << 32;
+            Assert.assertEquals(expected.remove(element), set.remove(element));
+        }
+        Assert.assertEquals(expected, set);
+        Assert.assertEquals(set, expected);
+        Assert.assertEquals(expected.hashCode(), set.hashCode());
+    }
+
+    @Test
+    public void trimToSize()
+    {
+        OpenAddressingHashSet<Integer> set = OpenAddressingHashSet.newSet(Interval.oneTo(1000));
+        int words = set.getSetMemoryUsedInWords();
+        set.removeAllIterable(Interval.oneTo(995));
+        Assert.assertTrue(set.trimToSize());
+        Assert.assertTrue(set.getSetMemoryUsedInWords() < words);
+        Assert.assertEquals(Interval.fromTo(996, 1000).toSet(), set);
+    }
+
+    @Test
+    public void serializationWithNull()
+    {
+        OpenAddressingHashSet<Integer> set = OpenAddressingHashSet.newSet(Interval.oneTo(100));
+        set.add(null);
+        Verify.assertEqualsAndHashCode(set, SerializeTestHelper.serializeDeserialize(set));
+    }
+}
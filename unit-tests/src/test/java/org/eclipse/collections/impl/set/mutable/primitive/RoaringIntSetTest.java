@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable.primitive;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.eclipse.collections.api.iterator.MutableIntIterator;
+import org.eclipse.collections.impl.list.primitive.IntInterval;
+import org.eclipse.collections.impl.memory.MemoryFootprints;
+import org.eclipse.collections.impl.memory.ObjectLayout;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link RoaringIntSet}.
+ */
+public class RoaringIntSetTest extends AbstractIntSetTestCase
+{
+    @Override
+    protected final RoaringIntSet classUnderTest()
+    {
+        return RoaringIntSet.newSetWith(1, 2, 3);
+    }
+
+    @Override
+    protected RoaringIntSet newWith(int... elements)
+    {
+        return RoaringIntSet.newSetWith(elements);
+    }
+
+    /**
+     * Returns a set with a sparse, a dense and a clustered region, so that it has array, bitmap and, once compacted,
+     * run containers, plus values at both ends of the int range.
+     */
+    private static IntHashSet mixedSet(Random random)
+    {
+        IntHashSet set = new IntHashSet();
+        set.addAll(Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, Integer.MAX_VALUE);
+        for (int i = 0; i < 2_000; i++)
+        {
+            set.add(random.nextInt());
+        }
+        for (int i = 0; i < 30_000; i++)
+        {
+            set.add(1 << 20 | random.nextInt(1 << 16));
+        }
+        int start = -5_000_000 + random.nextInt(1_000);
+        for (int i = 0; i < 100; i++)
+        {
+            int runStart = start + i * 1_000;
+            for (int value = runStart; value < runStart + random.nextInt(900); value++)
+            {
+                set.add(value);
+            }
+        }
+        return set;
+    }
+
+    @Test
+    public void randomOperationsMatchIntHashSet()
+    {
+        Random random = new Random(42L);
+        RoaringIntSet set = new RoaringIntSet();
+        IntHashSet expected = new IntHashSet();
+        for (int i = 0; i < 200_000; i++)
+        {
+            int value = random.nextBoolean() ? random.nextInt(300_000) - 100_000 : random.nextInt();
+            if (random.nextInt(3) == 0)
+            {
+                Assert.assertEquals(expected.remove(value), set.remove(value));
+            }
+            else
+            {
+                Assert.assertEquals(expected.add(value), set.add(value));
+            }
+        }
+        Assert.assertEquals(expected, set);
+        Assert.assertEquals(expected.hashCode(), set.hashCode());
+        Assert.assertArrayEquals(expected.toSortedArray(), set.toArray());
+        Assert.assertEquals(expected.min(), set.min());
+        Assert.assertEquals(expected.max(), set.max());
+        Assert.assertEquals(expected.sum(), set.sum());
+
+        set.compact();
+        Assert.assertEquals(expected, set);
+        for (int i = 0; i < 10_000; i++)
+        {
+            int value = random.nextInt(300_000) - 100_000;
+            Assert.assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    @Test
+    public void setOperationsMatchIntHashSet()
+    {
+        Random random = new Random(7L);
+        for (int round = 0; round < 4; round++)
+        {
+            IntHashSet left = RoaringIntSetTest.mixedSet(random);
+            IntHashSet right = RoaringIntSetTest.mixedSet(random);
+            RoaringIntSet roaringLeft = RoaringIntSet.newSet(left);
+            RoaringIntSet roaringRight = RoaringIntSet.newSet(right);
+            if (round % 2 == 1)
+            {
+                roaringLeft.compact();
+                roaringRight.compact();
+            }
+
+            IntHashSet intersection = left.select(right::contains);
+            Assert.assertEquals(intersection, roaringLeft.intersect(roaringRight));
+            Assert.assertEquals(intersection.size(), roaringLeft.andCardinality(roaringRight));
+            Assert.assertEquals(IntHashSet.newSet(left).withAll(right), roaringLeft.union(roaringRight));
+            Assert.assertEquals(left.reject(right::contains), roaringLeft.difference(roaringRight));
+            Assert.assertEquals(
+                    left.reject(right::contains).withAll(right.reject(left::contains)),
+                    roaringLeft.symmetricDifference(roaringRight));
+
+            RoaringIntSet inPlace = new RoaringIntSet(roaringLeft);
+            inPlace.xor(roaringRight);
+            inPlace.xor(roaringRight);
+            Assert.assertEquals(left, inPlace);
+            Assert.assertEquals(roaringLeft, inPlace);
+            Assert.assertNotEquals(roaringRight, inPlace);
+            inPlace.and(roaringLeft);
+            Assert.assertEquals(left, inPlace);
+            inPlace.andNot(roaringLeft);
+            Verify.assertEmpty(inPlace);
+            Assert.assertEquals(left, roaringLeft);
+            Assert.assertEquals(right, roaringRight);
+        }
+    }
+
+    @Test
+    public void rankAndValueAt()
+    {
+        Random random = new Random(3L);
+        IntHashSet expected = RoaringIntSetTest.mixedSet(random);
+        int[] sorted = expected.toSortedArray();
+        RoaringIntSet set = RoaringIntSet.newSet(expected);
+        for (int compact = 0; compact < 2; compact++)
+        {
+            for (int i = 0; i < 2_000; i++)
+            {
+                int index = random.nextInt(sorted.length);
+                Assert.assertEquals(sorted[index], set.valueAt(index));
+                Assert.assertEquals(index, set.rank(sorted[index]));
+                int value = random.nextInt();
+                int insertionPoint = Arrays.binarySearch(sorted, value);
+                Assert.assertEquals(insertionPoint >= 0 ? insertionPoint : -insertionPoint - 1, set.rank(value));
+            }
+            set.compact();
+        }
+        Assert.assertEquals(0L, set.rank(Integer.MIN_VALUE));
+        Assert.assertEquals(sorted.length - 1, set.rank(Integer.MAX_VALUE));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> set.valueAt(-1L));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> set.valueAt(sorted.length));
+        Assert.assertThrows(NoSuchElementException.class, () -> new RoaringIntSet().min());
+    }
+
+    @Test
+    public void iteratorRemoveAcrossContainers()
+    {
+        RoaringIntSet set = RoaringIntSet.newSet(IntInterval.fromTo(60_000, 80_000));
+        set.compact();
+        set.addAll(IntInterval.fromTo(1 << 20, (1 << 20) + 5_000));
+        MutableIntIterator iterator = set.intIterator();
+        int count = 0;
+        int previous = Integer.MIN_VALUE;
+        while (iterator.hasNext())
+        {
+            int next = iterator.next();
+            Assert.assertTrue(next > previous);
+            previous = next;
+            if (next % 3 != 0)
+            {
+                iterator.remove();
+            }
+            count++;
+        }
+        Assert.assertEquals(20_001 + 5_001, count);
+        Assert.assertTrue(set.allSatisfy(each -> each % 3 == 0));
+        Assert.assertEquals(6_667 + 1_667, set.size());
+        Assert.assertEquals(IntHashSet.newSet(set), SerializeTestHelper.serializeDeserialize(set));
+    }
+
+    @Test
+    public void compactClusteredIds()
+    {
+        Random random = new Random(11L);
+        IntHashSet hashSet = new IntHashSet();
+        RoaringIntSet set = new RoaringIntSet();
+        for (int i = 0; i < 1_000_000; i++)
+        {
+            // Half of the ids in a range of two million, plus long runs of consecutive ids
+            int value = i % 2 == 0 ? random.nextInt(2_000_000) : 10_000_000 + i;
+            hashSet.add(value);
+            set.add(value);
+        }
+        set.compact();
+        Assert.assertEquals(hashSet, set);
+        Assert.assertEquals(hashSet, SerializeTestHelper.serializeDeserialize(set));
+        long roaringBytes = MemoryFootprints.of(set, ObjectLayout.COMPRESSED_OOPS).getShallowBytes();
+        long hashSetBytes = MemoryFootprints.of(hashSet, ObjectLayout.COMPRESSED_OOPS).getShallowBytes();
+        Assert.assertTrue(roaringBytes + " " + hashSetBytes, roaringBytes * 10 < hashSetBytes);
+    }
+}
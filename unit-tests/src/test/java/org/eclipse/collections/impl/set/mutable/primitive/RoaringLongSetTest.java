@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.mutable.primitive;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link RoaringLongSet}.
+ */
+public class RoaringLongSetTest extends AbstractLongSetTestCase
+{
+    @Override
+    protected final RoaringLongSet classUnderTest()
+    {
+        return RoaringLongSet.newSetWith(1L, 2L, 3L);
+    }
+
+    @Override
+    protected RoaringLongSet newWith(long... elements)
+    {
+        return RoaringLongSet.newSetWith(elements);
+    }
+
+    /**
+     * Returns ids from a few clusters spread over the whole long range, each with a dense and a sparse part.
+     */
+    private static LongHashSet clusteredIds(Random random)
+    {
+        LongHashSet set = LongHashSet.newSetWith(Long.MIN_VALUE, -1L, 0L, Long.MAX_VALUE);
+        long[] bases = {Long.MIN_VALUE + 100_000L, -(1L << 40), 1L << 32, 1L << 62};
+        for (long base : bases)
+        {
+            for (int i = 0; i < 10_000; i++)
+            {
+                set.add(base + random.nextInt(20_000));
+                set.add(base + 1_000_000L + random.nextInt(1 << 24));
+            }
+        }
+        return set;
+    }
+
+    @Test
+    public void randomOperationsMatchLongHashSet()
+    {
+        Random random = new Random(42L);
+        RoaringLongSet set = new RoaringLongSet();
+        LongHashSet expected = new LongHashSet();
+        for (int i = 0; i < 200_000; i++)
+        {
+            long value = random.nextBoolean() ? (1L << 33) + random.nextInt(300_000) : random.nextLong();
+            if (random.nextInt(3) == 0)
+            {
+                Assert.assertEquals(expected.remove(value), set.remove(value));
+            }
+            else
+            {
+                Assert.assertEquals(expected.add(value), set.add(value));
+            }
+        }
+        Assert.assertEquals(expected, set);
+        Assert.assertEquals(expected.hashCode(), set.hashCode());
+        Assert.assertArrayEquals(expected.toSortedArray(), set.toArray());
+        Assert.assertEquals(expected.min(), set.min());
+        Assert.assertEquals(expected.max(), set.max());
+        set.compact();
+        Assert.assertEquals(expected, SerializeTestHelper.serializeDeserialize(set));
+    }
+
+    @Test
+    public void setOperationsMatchLongHashSet()
+    {
+        Random random = new Random(7L);
+        LongHashSet left = RoaringLongSetTest.clusteredIds(random);
+        LongHashSet right = RoaringLongSetTest.clusteredIds(random);
+        RoaringLongSet roaringLeft = RoaringLongSet.newSet(left);
+        RoaringLongSet roaringRight = RoaringLongSet.newSet(right);
+        roaringRight.compact();
+
+        LongHashSet intersection = left.select(right::contains);
+        Assert.assertEquals(intersection, roaringLeft.intersect(roaringRight));
+        Assert.assertEquals(intersection.size(), roaringLeft.andCardinality(roaringRight));
+        Assert.assertEquals(LongHashSet.newSet(left).withAll(right), roaringLeft.union(roaringRight));
+        Assert.assertEquals(left.reject(right::contains), roaringLeft.difference(roaringRight));
+        Assert.assertEquals(
+                left.reject(right::contains).withAll(right.reject(left::contains)),
+                roaringLeft.symmetricDifference(roaringRight));
+    }
+
+    @Test
+    public void rankAndValueAt()
+    {
+        Random random = new Random(3L);
+        LongHashSet expected = RoaringLongSetTest.clusteredIds(random);
+        long[] sorted = expected.toSortedArray();
+        RoaringLongSet set = RoaringLongSet.newSet(expected);
+        for (int i = 0; i < 2_000; i++)
+        {
+            int index = random.nextInt(sorted.length);
+            Assert.assertEquals(sorted[index], set.valueAt(index));
+            Assert.assertEquals(index, set.rank(sorted[index]));
+            long value = random.nextLong();
+            int insertionPoint = Arrays.binarySearch(sorted, value);
+            Assert.assertEquals(insertionPoint >= 0 ? insertionPoint : -insertionPoint - 1, set.rank(value));
+        }
+        Assert.assertEquals(Long.MIN_VALUE, set.valueAt(0L));
+        Assert.assertEquals(Long.MAX_VALUE, set.valueAt(sorted.length - 1));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> set.valueAt(sorted.length));
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.sorted.immutable;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.sorted.ImmutableSortedSet;
+import org.eclipse.collections.api.set.sorted.MutableSortedSet;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.block.factory.PrimitiveFunctions;
+import org.eclipse.collections.impl.factory.SortedSets;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.list.mutable.primitive.BooleanArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.ByteArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.CharArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.FloatArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.ShortArrayList;
+import org.eclipse.collections.impl.set.sorted.mutable.TreeSortedSet;
+import org.eclipse.collections.impl.test.SerializeTestHelper;
+import org.eclipse.collections.impl.test.Verify;
+import org.eclipse.collections.impl.utility.internal.ImmutableThresholds;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ImmutableBalancedTreeSet}.
+ */
+public class ImmutableBalancedTreeSetTest
+        extends AbstractImmutableSortedSetTestCase
+{
+    @Override
+    protected ImmutableSortedSet<Integer> classUnderTest()
+    {
+        return ImmutableBalancedTreeSet.newSetWith(1, 2, 3, 4);
+    }
+
+    @Override
+    protected ImmutableSortedSet<Integer> classUnderTest(Comparator<? super Integer> comparator)
+    {
+        return ImmutableBalancedTreeSet.newSetWith(comparator, 1, 2, 3, 4);
+    }
+
+    @Override
+    @Test
+    public void subSet()
+    {
+        SortedSet<Integer> set = this.classUnderTest().castToSortedSet();
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSetWith(2, 3), set.subSet(2, 4));
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSetWith(1, 2, 3, 4), set.subSet(0, 5));
+        Verify.assertEmpty(set.subSet(2, 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> set.subSet(3, 2));
+
+        SortedSet<Integer> reversed = this.classUnderTest(Comparators.reverseNaturalOrder()).castToSortedSet();
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSetWith(Comparators.reverseNaturalOrder(), 3, 2), reversed.subSet(3, 1));
+    }
+
+    @Override
+    @Test
+    public void headSet()
+    {
+        SortedSet<Integer> set = this.classUnderTest().castToSortedSet();
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSetWith(1, 2, 3), set.headSet(4));
+        Verify.assertEmpty(set.headSet(1));
+        Assert.assertSame(set, set.headSet(5));
+    }
+
+    @Override
+    @Test
+    public void tailSet()
+    {
+        SortedSet<Integer> set = this.classUnderTest().castToSortedSet();
+        Verify.assertSortedSetsEqual(TreeSortedSet.newSetWith(2, 3, 4), set.tailSet(2));
+        Verify.assertEmpty(set.tailSet(5));
+        Assert.assertSame(set, set.tailSet(1));
+    }
+
+    @Test
+    public void factoryThreshold()
+    {
+        Interval small = Interval.oneTo(ImmutableThresholds.PERSISTENT_SIZE - 1);
+        Interval large = Interval.oneTo(ImmutableThresholds.PERSISTENT_SIZE);
+        Verify.assertInstanceOf(ImmutableTreeSet.class, SortedSets.immutable.withAll(small));
+        Verify.assertInstanceOf(ImmutableTreeSet.class, TreeSortedSet.newSet(small).toImmutable());
+
+        ImmutableSortedSet<Integer> set = SortedSets.immutable.withAll(large);
+        Verify.assertInstanceOf(ImmutableBalancedTreeSet.class, set);
+        Assert.assertEquals(TreeSortedSet.newSet(large), set);
+        Assert.assertSame(set, SortedSets.immutable.withAll(set));
+        Verify.assertInstanceOf(ImmutableBalancedTreeSet.class, SortedSets.immutable.with(large.toArray()));
+        Verify.assertInstanceOf(ImmutableBalancedTreeSet.class, SortedSets.immutable.withAll(Comparators.reverseNaturalOrder(), large));
+        Verify.assertInstanceOf(ImmutableBalancedTreeSet.class, TreeSortedSet.newSet(large).toImmutable());
+        Verify.assertInstanceOf(ImmutableBalancedTreeSet.class, SortedSets.immutable.withAll(small).newWith(0));
+
+        MutableList<Integer> duplicates = Interval.oneTo(2_000).collect(each -> each % 10).toList();
+        ImmutableSortedSet<Integer> distinct = SortedSets.immutable.withAll(duplicates);
+        Verify.assertInstanceOf(ImmutableTreeSet.class, distinct);
+        Assert.assertEquals(TreeSortedSet.newSet(Interval.zeroTo(9)), distinct);
+        Verify.assertInstanceOf(ImmutableTreeSet.class, SortedSets.immutable.with(duplicates.toArray()));
+        ImmutableSortedSet<Integer> reversed = SortedSets.immutable.withAll(Comparators.reverseNaturalOrder(), duplicates);
+        Verify.assertInstanceOf(ImmutableTreeSet.class, reversed);
+        Assert.assertEquals(Interval.fromTo(9, 0), reversed.toList());
+    }
+
+    @Test
+    public void structuralSharing()
+    {
+        ImmutableSortedSet<Integer> original = this.classUnderTest();
+        ImmutableSortedSet<Integer> added = original.newWith(5);
+        ImmutableSortedSet<Integer> removed = added.newWithout(2);
+
+        Assert.assertEquals(TreeSortedSet.newSetWith(1, 2, 3, 4), original);
+        Assert.assertEquals(TreeSortedSet.newSetWith(1, 2, 3, 4, 5), added);
+        Assert.assertEquals(TreeSortedSet.newSetWith(1, 3, 4, 5), removed);
+
+        Assert.assertSame(original, original.newWith(1));
+        Assert.assertSame(original, original.newWithout(5));
+        Assert.assertSame(original, original.newWithAll(Interval.oneTo(3)));
+        Assert.assertSame(original, original.union(ImmutableBalancedTreeSet.newSetWith(2, 3)));
+        Assert.assertSame(original, original.intersect(added));
+        Assert.assertSame(original, original.difference(ImmutableBalancedTreeSet.newSetWith(0, 5)));
+        Assert.assertSame(original, original.take(4));
+        Assert.assertSame(original, original.drop(0));
+        Verify.assertEmpty(original.newWithoutAll(Interval.oneTo(4)));
+        Verify.assertEmpty(original.difference(original));
+    }
+
+    @Test
+    public void randomOperations()
+    {
+        Random random = new Random(102030405060708090L);
+        MutableSortedSet<Integer> expected = TreeSortedSet.newSet();
+        ImmutableSortedSet<Integer> set = ImmutableBalancedTreeSet.newSetWith();
+        ImmutableSortedSet<Integer> snapshot = set;
+        MutableSortedSet<Integer> expectedSnapshot = TreeSortedSet.newSet();
+        for (int i = 0; i < 20_000; i++)
+        {
+            int element = random.nextInt(3_000);
+            if (random.nextInt(3) == 0)
+            {
+                expected.remove(element);
+                set = set.newWithout(element);
+            }
+            else
+            {
+                expected.add(element);
+                set = set.newWith(element);
+            }
+            if (i % 5_000 == 0)
+            {
+                snapshot = set;
+                expectedSnapshot = TreeSortedSet.newSet(expected);
+            }
+        }
+        Assert.assertEquals(expected, set);
+        Assert.assertEquals(expected.hashCode(), set.hashCode());
+        Assert.assertEquals(expected.toList(), set.toList());
+        Assert.assertEquals(expectedSnapshot, snapshot);
+    }
+
+    @Test
+    public void randomSetOperations()
+    {
+        Random random = new Random(42L);
+        for (int round = 0; round < 50; round++)
+        {
+            MutableSortedSet<Integer> left = TreeSortedSet.newSet(Comparators.reverseNaturalOrder());
+            MutableSortedSet<Integer> right = TreeSortedSet.newSet(Comparators.reverseNaturalOrder());
+            int range = 10 + random.nextInt(5_000);
+            for (int i = random.nextInt(3_000); i > 0; i--)
+            {
+                left.add(random.nextInt(range));
+            }
+            for (int i = random.nextInt(3_000); i > 0; i--)
+            {
+                right.add(random.nextInt(range));
+            }
+            ImmutableSortedSet<Integer> leftTree = ImmutableBalancedTreeSet.newSet(left);
+            ImmutableSortedSet<Integer> rightTree = ImmutableBalancedTreeSet.newSet(right);
+
+            this.assertSetsEqual(left.union(right), leftTree.union(rightTree));
+            this.assertSetsEqual(left.intersect(right), leftTree.intersect(rightTree));
+            this.assertSetsEqual(left.difference(right), leftTree.difference(rightTree));
+            this.assertSetsEqual(left.symmetricDifference(right), leftTree.symmetricDifference(rightTree));
+            this.assertSetsEqual(left.union(right), leftTree.newWithAll(right));
+            this.assertSetsEqual(left.difference(right), leftTree.newWithoutAll(right));
+        }
+    }
+
+    private void assertSetsEqual(SortedSet<Integer> expected, ImmutableSortedSet<Integer> actual)
+    {
+        Assert.assertEquals(FastList.newList(expected), actual.toList());
+        Assert.assertSame(expected.comparator(), actual.comparator());
+    }
+
+    @Test
+    public void rangeViews()
+    {
+        TreeSet<Integer> expected = new TreeSet<>(Interval.fromToBy(0, 20_000, 2));
+        SortedSet<Integer> set = ImmutableBalancedTreeSet.<Integer>newSet(expected).castToSortedSet();
+
+        Random random = new Random(42L);
+        for (int i = 0; i < 1_000; i++)
+        {
+            int from = random.nextInt(20_100) - 50;
+            int to = from + random.nextInt(20_100 - from);
+            Assert.assertEquals(FastList.newList(expected.headSet(to)), FastList.newList(set.headSet(to)));
+            Assert.assertEquals(FastList.newList(expected.tailSet(from)), FastList.newList(set.tailSet(from)));
+            Assert.assertEquals(FastList.newList(expected.subSet(from, to)), FastList.newList(set.subSet(from, to)));
+        }
+    }
+
+    @Test
+    public void chainedRangeViewsOverEmptyRanges()
+    {
+        SortedSet<Integer> set = ImmutableBalancedTreeSet.newSetWith(2, 4, 6).castToSortedSet();
+        Verify.assertEmpty(set.headSet(1).headSet(0));
+        Verify.assertEmpty(set.headSet(1).tailSet(0));
+        Verify.assertEmpty(set.tailSet(7).subSet(8, 9));
+        Verify.assertEmpty(set.subSet(3, 3).headSet(5));
+
+        SortedSet<Integer> emptyReversed = ImmutableBalancedTreeSet.newSetWith(Comparators.reverseNaturalOrder(), 2, 4).castToSortedSet().headSet(4);
+        Verify.assertEmpty(emptyReversed);
+        Assert.assertSame(Comparators.reverseNaturalOrder(), emptyReversed.comparator());
+        Verify.assertEmpty(emptyReversed.tailSet(3));
+    }
+
+    @Test
+    public void withoutToEmptyThenNewWith()
+    {
+        ImmutableSortedSet<Integer> empty = ImmutableBalancedTreeSet.newSetWith(1, 2).newWithout(1).newWithout(2);
+        Verify.assertEmpty(empty);
+        Verify.assertInstanceOf(ImmutableBalancedTreeSet.class, empty);
+        Verify.assertEmpty(empty.castToSortedSet().headSet(3));
+        ImmutableSortedSet<Integer> refilled = empty.newWith(3).newWith(1);
+        Verify.assertInstanceOf(ImmutableBalancedTreeSet.class, refilled);
+        Assert.assertEquals(FastList.newListWith(1, 3), refilled.toList());
+
+        ImmutableSortedSet<Integer> reversed = ImmutableBalancedTreeSet.newSetWith(Comparators.reverseNaturalOrder(), 1).newWithout(1);
+        Verify.assertInstanceOf(ImmutableBalancedTreeSet.class, reversed);
+        Assert.assertEquals(FastList.newListWith(3, 1), reversed.newWith(1).newWith(3).toList());
+        Verify.assertInstanceOf(ImmutableBalancedTreeSet.class, ImmutableBalancedTreeSet.newSetWith(1, 2).drop(2));
+    }
+
+    @Test
+    public void indexedAccess()
+    {
+        MutableList<Integer> expected = Interval.fromTo(5_000, 1).toList();
+        ImmutableSortedSet<Integer> set = SortedSets.immutable.withAll(Comparators.reverseNaturalOrder(), Interval.oneTo(5_000));
+        for (int index = 0; index < 5_000; index += 37)
+        {
+            Assert.assertEquals(index, set.indexOf(expected.get(index)));
+            Assert.assertEquals(expected.take(index), set.take(index).toList());
+            Assert.assertEquals(expected.drop(index), set.drop(index).toList());
+
+            MutableList<Integer> range = FastList.newList();
+            set.forEach(index, Math.min(index + 100, 4_999), range::add);
+            Assert.assertEquals(expected.subList(index, Math.min(index + 101, 5_000)), range);
+        }
+        Assert.assertEquals(-1, set.indexOf(0));
+        Assert.assertEquals(-1, set.indexOf(null));
+    }
+
+    @Test
+    public void sequentialInsertion()
+    {
+        ImmutableSortedSet<Integer> ascending = ImmutableBalancedTreeSet.newSetWith();
+        for (int i = 0; i < 100_000; i++)
+        {
+            ascending = ascending.newWith(i);
+        }
+        Verify.assertSize(100_000, ascending);
+        Assert.assertEquals(Interval.zeroTo(99_999), ascending.toList());
+        Verify.assertEmpty(ascending.newWithoutAll(Interval.zeroTo(99_999)));
+    }
+
+    @Test
+    public void serialization()
+    {
+        ImmutableSortedSet<Integer> set = SortedSets.immutable.withAll(Comparators.reverseNaturalOrder(), Interval.oneTo(5_000));
+        ImmutableSortedSet<Integer> deserialized = SerializeTestHelper.serializeDeserialize(set);
+        Verify.assertInstanceOf(ImmutableBalancedTreeSet.class, deserialized);
+        Verify.assertEqualsAndHashCode(set, deserialized);
+        Assert.assertEquals(set.toList(), deserialized.toList());
+    }
+
+    @Override
+    @Test
+    public void collectBoolean()
+    {
+        ImmutableSortedSet<Integer> integers = this.classUnderTest(Collections.reverseOrder());
+        Assert.assertEquals(BooleanArrayList.newListWith(true, true, true, true), integers.collectBoolean(PrimitiveFunctions.integerIsPositive()));
+    }
+
+    @Override
+    @Test
+    public void collectByte()
+    {
+        ImmutableSortedSet<Integer> integers = this.classUnderTest(Collections.reverseOrder());
+        Assert.assertEquals(ByteArrayList.newListWith((byte) 4, (byte) 3, (byte) 2, (byte) 1), integers.collectByte(PrimitiveFunctions.unboxIntegerToByte()));
+    }
+
+    @Override
+    @Test
+    public void collectChar()
+    {
+        ImmutableSortedSet<Integer> integers = this.classUnderTest(Collections.reverseOrder());
+        Assert.assertEquals(CharArrayList.newListWith('D', 'C', 'B', 'A'), integers.collectChar(integer -> (char) (integer.intValue() + 64)));
+    }
+
+    @Override
+    @Test
+    public void collectDouble()
+    {
+        ImmutableSortedSet<Integer> integers = this.classUnderTest(Collections.reverseOrder());
+        Assert.assertEquals(DoubleArrayList.newListWith(4.0d, 3.0d, 2.0d, 1.0d), integers.collectDouble(PrimitiveFunctions.unboxIntegerToDouble()));
+    }
+
+    @Override
+    @Test
+    public void collectFloat()
+    {
+        ImmutableSortedSet<Integer> integers = this.classUnderTest(Collections.reverseOrder());
+        Assert.assertEquals(FloatArrayList.newListWith(4.0f, 3.0f, 2.0f, 1.0f), integers.collectFloat(PrimitiveFunctions.unboxIntegerToFloat()));
+    }
+
+    @Override
+    @Test
+    public void collectInt()
+    {
+        ImmutableSortedSet<Integer> integers = this.classUnderTest(Collections.reverseOrder());
+        Assert.assertEquals(IntArrayList.newListWith(4, 3, 2, 1), integers.collectInt(PrimitiveFunctions.unboxIntegerToInt()));
+    }
+
+    @Override
+    @Test
+    public void collectLong()
+    {
+        ImmutableSortedSet<Integer> integers = this.classUnderTest(Collections.reverseOrder());
+        Assert.assertEquals(LongArrayList.newListWith(4, 3, 2, 1), integers.collectLong(PrimitiveFunctions.unboxIntegerToLong()));
+    }
+
+    @Override
+    @Test
+    public void collectShort()
+    {
+        ImmutableSortedSet<Integer> integers = this.classUnderTest(Collections.reverseOrder());
+        Assert.assertEquals(ShortArrayList.newListWith((short) 4, (short) 3, (short) 2, (short) 1), integers.collectShort(PrimitiveFunctions.unboxIntegerToShort()));
+    }
+}
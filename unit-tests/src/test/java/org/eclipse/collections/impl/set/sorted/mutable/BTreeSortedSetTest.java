@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2022 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.impl.set.sorted.mutable;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.eclipse.collections.api.set.sorted.MutableSortedSet;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link BTreeSortedSet}.
+ */
+public class BTreeSortedSetTest extends AbstractSortedSetTestCase
+{
+    @Override
+    protected <T> BTreeSortedSet<T> newWith(T... elements)
+    {
+        return BTreeSortedSet.newSetWith(elements);
+    }
+
+    @Override
+    protected <T> BTreeSortedSet<T> newWith(Comparator<? super T> comparator, T... elements)
+    {
+        return BTreeSortedSet.newSetWith(comparator, elements);
+    }
+
+    @Override
+    @Test
+    public void asSynchronized()
+    {
+        Verify.assertInstanceOf(SynchronizedSortedSet.class, this.newWith().asSynchronized());
+    }
+
+    @Override
+    @Test
+    public void asUnmodifiable()
+    {
+        Verify.assertInstanceOf(UnmodifiableSortedSet.class, this.newWith().asUnmodifiable());
+    }
+
+    @Test
+    public void sortedSetConstructor()
+    {
+        SortedSet<String> setA = new TreeSet<>(FastList.newListWith("a", "c", "b", "d"));
+        Verify.assertSortedSetsEqual(setA, BTreeSortedSet.newSet(setA));
+        Verify.assertSortedSetsEqual(setA, new BTreeSortedSet<>(setA));
+
+        BTreeSortedSet<Integer> reversed = BTreeSortedSet.newSetWith(Collections.reverseOrder(), 1, 2, 3, 4, 5, 6);
+        BTreeSortedSet<Integer> copy = BTreeSortedSet.newSet(reversed);
+        Verify.assertSortedSetsEqual(reversed, copy);
+        Assert.assertEquals(Integer.valueOf(6), copy.first());
+    }
+
+    @Test
+    public void bulkLoad()
+    {
+        TreeSet<Integer> expected = new TreeSet<>(Comparators.reverseNaturalOrder());
+        Interval.oneTo(100_000).each(expected::add);
+        BTreeSortedSet<Integer> set = new BTreeSortedSet<>(expected);
+        Assert.assertSame(expected.comparator(), set.comparator());
+        Verify.assertSortedSetsEqual(expected, set);
+
+        BTreeSortedSet<Integer> addAll = BTreeSortedSet.newSet(Comparators.reverseNaturalOrder());
+        Assert.assertTrue(addAll.addAll(expected));
+        Verify.assertSortedSetsEqual(expected, addAll);
+        Assert.assertTrue(addAll.add(0));
+        Assert.assertFalse(addAll.add(50_000));
+        Assert.assertEquals(Integer.valueOf(0), addAll.last());
+    }
+
+    @Test
+    public void randomOperations()
+    {
+        Random random = new Random(102030405060708090L);
+        TreeSet<Integer> expected = new TreeSet<>();
+        BTreeSortedSet<Integer> set = BTreeSortedSet.newSet();
+        for (int i = 0; i < 200_000; i++)
+        {
+            int element = random.nextInt(20_000);
+            if (random.nextInt(3) == 0)
+            {
+                Assert.assertEquals(expected.remove(element), set.remove(element));
+            }
+            else
+            {
+                Assert.assertEquals(expected.add(element), set.add(element));
+            }
+        }
+        Verify.assertSortedSetsEqual(expected, set);
+        Assert.assertEquals(expected.hashCode(), set.hashCode());
+        Interval.zeroTo(19_999).each(each -> Assert.assertEquals(expected.remove(each), set.remove(each)));
+        Verify.assertEmpty(set);
+    }
+
+    @Test
+    public void rangeViews()
+    {
+        TreeSet<Integer> expected = new TreeSet<>(Interval.fromToBy(0, 20_000, 2));
+        BTreeSortedSet<Integer> set = new BTreeSortedSet<>(expected);
+
+        Random random = new Random(42L);
+        for (int i = 0; i < 1_000; i++)
+        {
+            int from = random.nextInt(20_100) - 50;
+            int to = from + random.nextInt(20_100 - from);
+            Verify.assertSortedSetsEqual(expected.headSet(to), set.headSet(to));
+            Verify.assertSortedSetsEqual(expected.tailSet(from), set.tailSet(from));
+            SortedSet<Integer> expectedSubSet = expected.subSet(from, to);
+            MutableSortedSet<Integer> subSet = set.subSet(from, to);
+            Verify.assertSortedSetsEqual(expectedSubSet, subSet);
+            if (!expectedSubSet.isEmpty())
+            {
+                Assert.assertEquals(expectedSubSet.first(), subSet.first());
+                Assert.assertEquals(expectedSubSet.last(), subSet.last());
+            }
+        }
+        Assert.assertThrows(IllegalArgumentException.class, () -> set.subSet(10, 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> set.subSet(10, 20).add(30));
+        Assert.assertThrows(NoSuchElementException.class, () -> set.headSet(0).last());
+
+        MutableSortedSet<Integer> subSet = set.subSet(100, 200);
+        Verify.assertSize(50, subSet);
+        subSet.remove(120);
+        subSet.add(121);
+        Assert.assertFalse(set.contains(120));
+        Assert.assertTrue(set.contains(121));
+        subSet.clear();
+        Verify.assertEmpty(subSet);
+        Verify.assertSize(10_001 - 50, set);
+    }
+
+    @Test
+    public void iteratorRemove()
+    {
+        BTreeSortedSet<Integer> set = BTreeSortedSet.newSet(Interval.oneTo(10_000));
+        Iterator<Integer> iterator = set.iterator();
+        while (iterator.hasNext())
+        {
+            if (iterator.next() % 3 != 0)
+            {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(Interval.fromToBy(3, 9_999, 3), set.toList());
+    }
+
+    @Test
+    public void indexOfAndRangeForEach()
+    {
+        BTreeSortedSet<Integer> set = BTreeSortedSet.newSet(Interval.fromToBy(0, 9_998, 2));
+        Assert.assertEquals(2_500, set.indexOf(5_000));
+        Assert.assertEquals(-1, set.indexOf(5_001));
+        Assert.assertEquals(Interval.fromToBy(200, 300, 2), set.drop(100).take(51).toList());
+        FastList<Integer> forEach = FastList.newList();
+        set.forEach(1_000, 1_002, forEach::add);
+        Assert.assertEquals(FastList.newListWith(2_000, 2_002, 2_004), forEach);
+    }
+
+    @Test
+    public void serialization()
+    {
+        MutableSortedSet<Integer> set = this.newWith(Comparators.reverseNaturalOrder(), 1, 2, 3, 4, 5);
+        Verify.assertPostSerializedEqualsAndHashCode(set);
+        Verify.assertPostSerializedEqualsAndHashCode(BTreeSortedSet.newSet(Interval.oneTo(5_000)));
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void detectLastIndex()
+    {
+        this.newWith(1, 2, 3).detectLastIndex(each -> each % 2 == 0);
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void reverseForEach()
+    {
+        this.newWith(1, 2, 3).reverseForEach(each -> Assert.fail("Should not be evaluated"));
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void reverseForEachWithIndex()
+    {
+        this.newWith(1, 2, 3).reverseForEachWithIndex((each, index) -> Assert.fail("Should not be evaluated"));
+    }
+
+    @Override
+    @Test(expected = UnsupportedOperationException.class)
+    public void toReversed()
+    {
+        this.newWith(1, 2, 3).toReversed();
+    }
+}